@@ -0,0 +1,55 @@
+package com.DarkBlue.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the engine's benchmarks with the GC profiler always on,
+ * so every report has allocation rates beside the throughput.
+ *
+ * Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark pattern]
+ *
+ * It must be run from the project directory, where the saved games are.
+ * Anything JMH's own launcher takes can be given, such as -rf json -rff baseline.json
+ * to keep a baseline to compare a later run against.
+ */
+public final class Benchmarks{
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args) throws RunnerException, CommandLineOptionException;
+
+    SYNOPSIS
+        public static void main(final String[] a_args) throws RunnerException, CommandLineOptionException;
+
+        String[] a_args ---------> JMH's command line options.
+
+    DESCRIPTION
+        This method runs the chosen benchmarks, or every one, with the GC profiler added.
+        Listing and help are left to JMH's own launcher.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args) throws RunnerException, CommandLineOptionException{
+        final CommandLineOptions OPTIONS = new CommandLineOptions(a_args);
+        if(OPTIONS.shouldHelp() || OPTIONS.shouldList() || OPTIONS.shouldListWithParams() || OPTIONS.shouldListProfilers() || OPTIONS.shouldListResultFormats()){
+            try{
+                org.openjdk.jmh.Main.main(a_args);
+            }catch(Exception e){
+                throw new RunnerException(e);
+            }
+            return;
+        }
+
+        new Runner(new OptionsBuilder().parent(OPTIONS).addProfiler(GCProfiler.class).build()).run();
+    }
+}
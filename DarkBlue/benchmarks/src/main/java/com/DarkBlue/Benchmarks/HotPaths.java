@@ -0,0 +1,178 @@
+package com.DarkBlue.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.IntMoveList;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Utilities.MoveEvaluation;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class measures the calls the search makes on every board it visits.
+ *
+ * One operation is one call on every saved position, so the scores of
+ * different benchmarks compare how much each call costs the search.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class HotPaths{
+
+    /**/
+    /*
+    NAME
+        public void GetDeepCopy(final Positions a_positions, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void GetDeepCopy(final Positions a_positions, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method copies every board, as every move does.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void GetDeepCopy(final Positions a_positions, final Blackhole a_blackhole){
+        for(final Board BOARD : a_positions.m_boards){
+            a_blackhole.consume(Board.GetDeepCopy(BOARD));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public void Refresh(final Positions a_positions, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void Refresh(final Positions a_positions, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method finds the pieces and moves of the side to move on a copy of every board.
+        Moves are only found once they are asked for, and only once for each board,
+        so they are counted on a new copy every time.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void Refresh(final Positions a_positions, final Blackhole a_blackhole){
+        for(int i = Utilities.ZERO; i < a_positions.m_boards.length; i++){
+            final Board COPY = Board.GetDeepCopy(a_positions.m_boards[i]);
+            a_positions.m_movers[i].Refresh(COPY);
+            a_blackhole.consume(a_positions.m_movers[i].HowManyMoves());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public void IsKingSafe(final Positions a_positions, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void IsKingSafe(final Positions a_positions, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method checks whether the king of the side to move is attacked on every board.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void IsKingSafe(final Positions a_positions, final Blackhole a_blackhole){
+        for(int i = Utilities.ZERO; i < a_positions.m_boards.length; i++){
+            a_blackhole.consume(MoveEvaluation.IsKingSafe(a_positions.m_boards[i], a_positions.m_kings[i].GetCurrentRow(), a_positions.m_kings[i].GetCurrentColumn(), a_positions.m_kings[i].GetColor()));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public void Evaluate(final Positions a_positions, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void Evaluate(final Positions a_positions, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method evaluates every board for the side to move.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void Evaluate(final Positions a_positions, final Blackhole a_blackhole){
+        for(final Board BOARD : a_positions.m_boards){
+            a_blackhole.consume(Minimax.Evaluate(BOARD, BOARD.WhoseTurnIsIt()));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public void Order(final Positions a_positions, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void Order(final Positions a_positions, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method orders the moves of the side to move on every board
+        into one list, as the search reuses one list for every board of a depth.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void Order(final Positions a_positions, final Blackhole a_blackhole){
+        final IntMoveList MOVES = new IntMoveList();
+        for(int i = Utilities.ZERO; i < a_positions.m_boards.length; i++){
+            a_blackhole.consume(Minimax.Order(a_positions.m_movers[i], MOVES).Size());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.DarkBlue.Benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This class counts the nodes a search benchmark visits, which JMH reports
+ * next to the score as one more result, in nodes per unit of time.
+ *
+ * The searches are deterministic, so the counter over the score is the
+ * number of nodes in one operation, and the gc.alloc.rate.norm of the GC profiler
+ * divided by that number is the number of bytes allocated per node.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Nodes{
+
+    public long m_nodes;
+
+    /**/
+    /*
+    NAME
+        public void Clear();
+
+    SYNOPSIS
+        public void Clear();
+
+        No parameters.
+
+    DESCRIPTION
+        This method starts every iteration from zero nodes.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Setup(Level.Iteration)
+    public void Clear(){
+        this.m_nodes = 0L;
+    }
+}
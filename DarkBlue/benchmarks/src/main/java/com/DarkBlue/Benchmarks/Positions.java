@@ -0,0 +1,110 @@
+package com.DarkBlue.Benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.GUI.DarkBlue;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds the positions every benchmark works on: the games saved
+ * by the GUI in its serialization directory, with both players ready to move.
+ *
+ * Files the engine cannot read, and positions without both kings or without
+ * a legal move, are left out, since some of the saved games are deliberately broken.
+ * Every thread gets its own players, since refreshing one changes it.
+ */
+@State(Scope.Thread)
+public class Positions{
+
+    Board[] m_boards;
+    Player[] m_white;
+    Player[] m_black;
+    Player[] m_movers;
+    King[] m_kings;
+
+    /**/
+    /*
+    NAME
+        public void Load() throws IOException;
+
+    SYNOPSIS
+        public void Load() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads every saved game once before the benchmarks start.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Setup(Level.Trial)
+    public void Load() throws IOException{
+        final Path DIRECTORY = Paths.get(DarkBlue.SERIAL_PATH);
+        final List<Path> FILES;
+        try(final Stream<Path> PATHS = Files.list(DIRECTORY)){
+            FILES = PATHS.filter(a_path -> a_path.toString().endsWith(".fen")).sorted().collect(Collectors.toList());
+        }
+
+        final List<Board> BOARDS = new ArrayList<>();
+        for(final Path FILE : FILES){
+            final List<String> LINES = Files.readAllLines(FILE, StandardCharsets.UTF_8);
+            if(LINES.isEmpty()){
+                continue;
+            }
+
+            try{
+                final SanPosition POSITION = new SanPosition(LINES.get(Utilities.ZERO).trim());
+                final Board BOARD = POSITION.GetBoard();
+                if(BOARD.GetKing(ChessColor.WHITE) != null && BOARD.GetKing(ChessColor.BLACK) != null && !POSITION.GetLegalMoves().isEmpty()){
+                    BOARDS.add(BOARD);
+                }
+            }catch(IllegalArgumentException e){
+                // A broken save, which the GUI would refuse as well
+            }
+        }
+
+        if(BOARDS.isEmpty()){
+            throw new IllegalStateException("No usable positions in " + DIRECTORY.toAbsolutePath());
+        }
+
+        final int COUNT = BOARDS.size();
+        this.m_boards = BOARDS.toArray(new Board[COUNT]);
+        this.m_white = new Player[COUNT];
+        this.m_black = new Player[COUNT];
+        this.m_movers = new Player[COUNT];
+        this.m_kings = new King[COUNT];
+
+        for(int i = Utilities.ZERO; i < COUNT; i++){
+            final Board BOARD = this.m_boards[i];
+            this.m_white[i] = new Human(ChessColor.WHITE, BOARD);
+            this.m_black[i] = new Human(ChessColor.BLACK, BOARD);
+            this.m_white[i].Refresh(BOARD);
+            this.m_black[i].Refresh(BOARD);
+            this.m_movers[i] = (BOARD.WhoseTurnIsIt().IsWhite() ? this.m_white[i] : this.m_black[i]);
+            this.m_kings[i] = BOARD.GetKing(BOARD.WhoseTurnIsIt());
+        }
+    }
+}
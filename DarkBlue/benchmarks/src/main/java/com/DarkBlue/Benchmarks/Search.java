@@ -0,0 +1,77 @@
+package com.DarkBlue.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class measures the whole search at fixed depths.
+ *
+ * One operation is a search of every saved position for the side to move,
+ * without a history, book, endgame tables, or transposition table, the way the GUI
+ * searches. Each operation takes seconds, so the iterations are fewer and longer than
+ * for the hot paths. Depth 3, the GUI's default, takes minutes per operation on every saved
+ * game and is left out unless asked for with -p m_depth=3.
+ *
+ * The nodes each operation visits are counted by Nodes, so the allocation the
+ * GC profiler reports per operation can be read per node as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class Search{
+
+    @Param({"1", "2"})
+    public int m_depth;
+
+    /**/
+    /*
+    NAME
+        public void MinimaxRoot(final Positions a_positions, final Nodes a_nodes, final Blackhole a_blackhole);
+
+    SYNOPSIS
+        public void MinimaxRoot(final Positions a_positions, final Nodes a_nodes, final Blackhole a_blackhole);
+
+        Positions a_positions ----> The saved positions.
+
+        Nodes a_nodes ------------> The count of the nodes searched.
+
+
+        Blackhole a_blackhole ----> Where the results go so they are not optimized away.
+
+    DESCRIPTION
+        This method searches every board to the depth being measured and counts the nodes it visits.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Benchmark
+    public void MinimaxRoot(final Positions a_positions, final Nodes a_nodes, final Blackhole a_blackhole){
+        final long START = Minimax.THREAD_NODES.get()[Utilities.ZERO];
+        for(int i = Utilities.ZERO; i < a_positions.m_boards.length; i++){
+            final Board BOARD = a_positions.m_boards[i];
+            a_blackhole.consume(Minimax.MinimaxRoot(this.m_depth, BOARD, a_positions.m_white[i], a_positions.m_black[i], true, BOARD.WhoseTurnIsIt(), null));
+        }
+        a_nodes.m_nodes += Minimax.THREAD_NODES.get()[Utilities.ZERO] - START;
+    }
+}
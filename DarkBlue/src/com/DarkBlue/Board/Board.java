@@ -9,18 +9,22 @@ import com.DarkBlue.Piece.Bishop;
 import com.DarkBlue.Piece.Queen;
 import com.DarkBlue.Piece.King;
 
-import com.DarkBlue.GUI.DarkBlue;
-
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Move.RegularMove;
 import com.DarkBlue.Move.AttackingMove;
 import com.DarkBlue.Move.CastlingMove;
 import com.DarkBlue.Move.EnPassantMove;
+import com.DarkBlue.Move.IntMove;
 
 import com.DarkBlue.Utilities.Utilities;
 import com.DarkBlue.Utilities.BoardUtilities;
 import com.DarkBlue.Utilities.Factory;
 import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Record.PackedMove;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This class represents a chessboard.
@@ -32,7 +36,13 @@ import com.DarkBlue.Utilities.ChessColor;
  * 
  * It also contains a flag representing whose turn it is,
  * as well as a lone Tile object representing a possible
- * en passant destination tile, if any.
+ * en passant destination tile, if any. Every board made by a pawn
+ * moving two tiles gets that tile from the move itself, so engines
+ * without the GUI find en passant captures the same way the GUI does.
+ * 
+ * Tiles and pieces never change, so boards share them. The legal moves of
+ * a piece depend on the board, so each board keeps the moves of its own pieces,
+ * found the first time anything asks for them. Copies never take them along.
  * 
  * Inspired by the Board class from Black Widow Chess by Amir Afghani,
  * https://github.com/amir650/BlackWidow-Chess
@@ -50,9 +60,15 @@ public final class Board{
     // Whose turn it is: White or black
     private final ChessColor m_whoseTurn;
     
-    // The en passant tile, used for serialization
+    // The tile a pawn that just moved two tiles passed over, or null
     private final Tile m_enPassantTile;
     
+    // The number of halfmoves made since the last capture or pawn movement
+    private final int m_halfmoves;
+    
+    // The legal moves of the piece on each tile, indexed by row * 8 + column, made when first asked for
+    private volatile AtomicReferenceArray<ArrayList<Move>> m_legalMoves;
+    
     public static final String WHITE_FILES = "  a b c d e f g h\n";
     public static final String BLACK_FILES = "  h g f e d c b a\n";
     
@@ -84,9 +100,56 @@ public final class Board{
         // Set whose turn it is
         this.m_whoseTurn = a_builder.WhoseTurnIsIt();
         
+        // Set the halfmove clock
+        this.m_halfmoves = a_builder.GetHalfmoves();
+        
         // Set the en passant tile, if any
-        if(DarkBlue.GetEnPassantTile() != null){
-            this.m_enPassantTile = this.m_boardObject[BoardUtilities.ToBoardRow(DarkBlue.GetEnPassantTile())][BoardUtilities.ToBoardColumn(DarkBlue.GetEnPassantTile())];
+        final Tile EN_PASSANT = a_builder.GetEnPassantTile();
+        if(EN_PASSANT != null){
+            this.m_enPassantTile = this.m_boardObject[EN_PASSANT.GetRow()][EN_PASSANT.GetColumn()];
+        }else{
+            this.m_enPassantTile = null;
+        }
+    }
+    
+    /**/
+    /*
+    NAME
+        private Board(final Board a_board, final Piece a_piece);
+    
+    SYNOPSIS
+        private Board(final Board a_board, final Piece a_piece);
+    
+        Board a_board ------> The Board whose tiles are shared.
+        
+        Piece a_piece ------> The piece that replaces whatever is on its tile.
+    
+    DESCRIPTION
+        This constructor backs Replace().
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    private Board(final Board a_board, final Piece a_piece){
+        final int ROW = a_piece.GetCurrentRow();
+        final int COLUMN = a_piece.GetCurrentColumn();
+        
+        this.m_boardObject = new Tile[Utilities.EIGHT][Utilities.EIGHT];
+        this.m_whoseTurn = a_board.m_whoseTurn;
+        this.m_halfmoves = a_board.m_halfmoves;
+        
+        for(int index = Utilities.ZERO; index < Utilities.EIGHT; index++){
+            System.arraycopy(a_board.m_boardObject[index], Utilities.ZERO, this.m_boardObject[index], Utilities.ZERO, Utilities.EIGHT);
+        }
+        
+        this.m_boardObject[ROW][COLUMN] = new Tile(a_board.m_boardObject[ROW][COLUMN].GetColor(), ROW, COLUMN, a_piece);
+        
+        // Keep the same en passant tile, looked up again in case it was the one replaced
+        if(a_board.m_enPassantTile != null){
+            this.m_enPassantTile = this.m_boardObject[a_board.m_enPassantTile.GetRow()][a_board.m_enPassantTile.GetColumn()];
         }else{
             this.m_enPassantTile = null;
         }
@@ -118,16 +181,19 @@ public final class Board{
         // Initialize the turn flag
         this.m_whoseTurn = a_board.m_whoseTurn;
         
+        // Copy the halfmove clock
+        this.m_halfmoves = a_board.m_halfmoves;
+        
         // Make new tiles one at a time
         for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){    
             final int ROW = index / Utilities.EIGHT;
             final int COLUMN = index % Utilities.EIGHT;
-            this.m_boardObject[ROW][COLUMN] = new Tile(a_board.m_boardObject[ROW][COLUMN]);
+            this.m_boardObject[ROW][COLUMN] = Tile.Copy(a_board.m_boardObject[ROW][COLUMN]);
         }
         
-        // Set the en passant tile if the engine has one
-        if(DarkBlue.GetEnPassantTile() != null){
-            this.m_enPassantTile = this.m_boardObject[BoardUtilities.ToBoardRow(DarkBlue.GetEnPassantTile())][BoardUtilities.ToBoardColumn(DarkBlue.GetEnPassantTile())];
+        // Copy the en passant tile, if any
+        if(a_board.m_enPassantTile != null){
+            this.m_enPassantTile = this.m_boardObject[a_board.m_enPassantTile.GetRow()][a_board.m_enPassantTile.GetColumn()];
         }else{
             this.m_enPassantTile = null;
         }
@@ -156,6 +222,32 @@ public final class Board{
         return this.m_whoseTurn;
     }
     
+    /**/
+    /*
+    NAME
+        public final int GetHalfmoves();
+    
+    SYNOPSIS
+        public final int GetHalfmoves();
+    
+        No parameters.
+    
+    DESCRIPTION
+        This method returns the halfmove clock of this board, i.e. how many
+        halfmoves have been made since the last capture or pawn movement.
+        Every board made by a move works out its own clock from the board before it,
+        so the search can apply the fifty-move rule without asking the GUI.
+    
+    RETURNS
+        int m_halfmoves: The halfmove clock.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final int GetHalfmoves(){
+        return this.m_halfmoves;
+    }
+    
     /**/
     /*
     NAME
@@ -225,8 +317,10 @@ public final class Board{
         No parameters.
     
     DESCRIPTION
-        This method returns the en passant tile,
-        or null if none got set.
+        This method returns the en passant tile, i.e. the tile
+        a pawn passed over if it moved two tiles on the last move,
+        whether or not any pawn can capture it there.
+        It is null if the last move was anything else.
     
     RETURNS
         Tile m_enPassantTile: The en passant tile.
@@ -266,7 +360,7 @@ public final class Board{
         for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
             final int ROW = index / Utilities.EIGHT;
             final int COLUMN = index % Utilities.EIGHT;
-            BOARD_DUPLICATE[ROW][COLUMN] = new Tile(a_builder.GetBuilderBoard()[ROW][COLUMN]);
+            BOARD_DUPLICATE[ROW][COLUMN] = Tile.Copy(a_builder.GetBuilderBoard()[ROW][COLUMN]);
         }
         
         // Return the array
@@ -385,13 +479,14 @@ public final class Board{
         Board a_board ------> The board to be copied.
     
     DESCRIPTION
-        This method creates a deep copy of the argument
-        Board object, meaning that all tiles and pieces
-        are separate from those of the argument.
+        This method creates a copy of the argument Board object
+        that can be changed without changing the argument.
+        Tiles and pieces never change, so they are shared,
+        except that kings that could castle are copied without their rights.
     
     RETURNS
         A new Board that is an exact copy of a_board.
-        The two are completely separate.
+        The two have separate arrays of tiles and separate legal moves.
     
     AUTHOR
         Ryan King
@@ -400,6 +495,135 @@ public final class Board{
         return new Board(a_board);
     }
     
+    /**/
+    /*
+    NAME
+        public final Board Replace(final Piece a_piece);
+    
+    SYNOPSIS
+        public final Board Replace(final Piece a_piece);
+    
+        Piece a_piece ------> The piece to put on the board.
+    
+    DESCRIPTION
+        This method returns a new board with the piece put on its tile exactly as it is.
+        Every other tile is shared with this board rather than copied,
+        since copying a king takes his castling rights away.
+        Boards are never changed once built, since they may have
+        found the moves of their pieces already, so this is how a piece gets replaced.
+    
+    RETURNS
+        Board: A new board with the piece on it, or this board if the piece is null.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final Board Replace(final Piece a_piece){
+        if(a_piece == null || !BoardUtilities.HasValidCoordinates(a_piece.GetCurrentRow(), a_piece.GetCurrentColumn())){
+            return this;
+        }
+        
+        return new Board(this, a_piece);
+    }
+    
+    /**/
+    /*
+    NAME
+        public final ArrayList<Move> GetLegalMoves(final int a_row, final int a_column);
+    
+    SYNOPSIS
+        public final ArrayList<Move> GetLegalMoves(final int a_row, final int a_column);
+    
+        int a_row ----------> The row of the piece.
+        
+        int a_column -------> The column of the piece.
+    
+    DESCRIPTION
+        This method returns the legal moves of the piece on a tile of this board,
+        finding them the first time they are asked for and keeping them afterward.
+        Two threads asking at once may both find them, but only one list is kept.
+        The list is shared by everyone who asks, so it must not be changed.
+    
+    RETURNS
+        ArrayList<Move>: The piece's legal moves, or an empty list
+        if the tile is empty or not on the board.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<Move> GetLegalMoves(final int a_row, final int a_column){
+        if(!BoardUtilities.HasValidCoordinates(a_row, a_column) || this.m_boardObject[a_row][a_column].IsEmpty()){
+            return new ArrayList<>();
+        }
+        
+        // Most boards in a search never have their moves asked for, so the array is made here
+        AtomicReferenceArray<ArrayList<Move>> legalMoves = this.m_legalMoves;
+        if(legalMoves == null){
+            synchronized(this){
+                if(this.m_legalMoves == null){
+                    this.m_legalMoves = new AtomicReferenceArray<>(Utilities.SIXTY_FOUR);
+                }
+                legalMoves = this.m_legalMoves;
+            }
+        }
+        
+        final int INDEX = a_row * Utilities.EIGHT + a_column;
+        final ArrayList<Move> MOVES = legalMoves.get(INDEX);
+        if(MOVES != null){
+            return MOVES;
+        }
+        
+        final ArrayList<Move> NEW_MOVES = new ArrayList<>();
+        this.m_boardObject[a_row][a_column].GetPiece().AddCurrentLegalMoves(this, NEW_MOVES);
+        legalMoves.compareAndSet(INDEX, null, NEW_MOVES);
+        return legalMoves.get(INDEX);
+    }
+    
+    /**/
+    /*
+    NAME
+        public final ArrayList<Move> GetCaptures(final int a_row, final int a_column);
+    
+    SYNOPSIS
+        public final ArrayList<Move> GetCaptures(final int a_row, final int a_column);
+    
+        int a_row ----------> The row of the piece.
+        
+        int a_column -------> The column of the piece.
+    
+    DESCRIPTION
+        This method returns the legal captures of the piece on a tile of this board.
+        If its legal moves were already found, the captures are taken from them;
+        otherwise only the captures are found, and nothing is kept.
+    
+    RETURNS
+        ArrayList<Move>: The piece's legal captures, or an empty list
+        if the tile is empty or not on the board.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<Move> GetCaptures(final int a_row, final int a_column){
+        final ArrayList<Move> CAPTURES = new ArrayList<>();
+        if(!BoardUtilities.HasValidCoordinates(a_row, a_column) || this.m_boardObject[a_row][a_column].IsEmpty()){
+            return CAPTURES;
+        }
+        
+        final AtomicReferenceArray<ArrayList<Move>> LEGAL_MOVES = this.m_legalMoves;
+        final ArrayList<Move> MOVES = (LEGAL_MOVES == null ? null : LEGAL_MOVES.get(a_row * Utilities.EIGHT + a_column));
+        if(MOVES == null){
+            this.m_boardObject[a_row][a_column].GetPiece().AddCurrentCaptures(this, CAPTURES);
+            return CAPTURES;
+        }
+        
+        for(final Move MOVE : MOVES){
+            if(MOVE.IsAttacking() || MOVE.IsEnPassant()){
+                CAPTURES.add(MOVE);
+            }
+        }
+        return CAPTURES;
+    }
+    
     /**/
     /*
     NAME
@@ -961,6 +1185,7 @@ public final class Board{
         This method returns an FEN string of the current board,
         excluding the number of halfmoves and fullmoves made during the game.
         The move clocks will be added in later when parsing during the actual game.
+        Callers that serialize often should use FenWriter directly with a reused builder.
     
     RETURNS
         String: The FEN string of this board excluding the move clocks.
@@ -970,234 +1195,18 @@ public final class Board{
     */
     @Override
     public final String toString(){
-        return SerializeBoardContents() + Utilities.SPACE + SerializeTurn() + Utilities.SPACE + SerializeCastlingRights() + Utilities.SPACE + SerializeEnPassantTile();
+        return FenWriter.Write(this, new StringBuilder(FenWriter.CAPACITY)).toString();
     }
     
     /**/
     /*
     NAME
-        private final String SerializeBoardContents();
+        private final void AdjustRooks(final Piece a_piece);
     
     SYNOPSIS
-        private final String SerializeBoardContents();
+        private final void AdjustRooks(final Piece a_piece);
     
-        No parameters.
-    
-    DESCRIPTION
-        This method returns an FEN string of the current board configuration.
-        White pieces are denoted with capital letters (P, R, N, B, Q, K) and
-        black pieces are denoted with lowercase letters (p, r, n, b, q, k).
-        The letters used are the standard notational letters used in English.
-        Consecutive empty tiles on the same row/rank are compiled into a number between 1 and 8. 
-        
-        For example, if a rank reads "R (blank) (blank) (blank) K (blank) (blank) R", 
-        the FEN serialization of this rank would give "R3K2R". An empty rank would just give "8".
-        Ranks are separated by forward slashes ("/").
-    
-    RETURNS
-        String board: The FEN string of this board.
-    
-    AUTHOR
-        Ryan King
-    */
-    private final String SerializeBoardContents(){
-        String board = Utilities.EMPTY_STRING;
-        
-        // Initialize the counter that will hold 
-        // the current number of empty tiles encountered in part of a row
-        int emptyTiles = Utilities.ZERO;
-        
-        // Add the contents of the board
-        for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
-            final int ROW = index / Utilities.EIGHT;
-            final int COLUMN = index % Utilities.EIGHT;
-        
-            // Count how many tiles are empty between pieces
-            if(this.m_boardObject[ROW][COLUMN].IsEmpty()){
-                emptyTiles++;
-            }else{
-                // Place the empty tile counter into the string once another occupied tile
-                // is found on the same row
-                if(emptyTiles > Utilities.ZERO){
-                    board += Integer.toString(emptyTiles);
-                    emptyTiles = Utilities.ZERO;
-                }
-                board += this.m_boardObject[ROW][COLUMN].GetPiece().GetIcon();
-            }
-        
-            // Add any empty tiles left over at the end
-            if(COLUMN == Utilities.SEVEN){
-                if(emptyTiles > Utilities.ZERO){
-                    board += Integer.toString(emptyTiles);
-                }
-                
-                // Add a row delimiter if necessary
-                if(ROW < Utilities.SEVEN){
-                    board += Utilities.FORWARD_SLASH;
-                }
-                
-                // Reset the empty tile counter
-                emptyTiles = Utilities.ZERO;
-            }
-        }
-        
-        return board;
-    }
-    
-    /**/
-    /*
-    NAME
-        private final String SerializeTurn();
-    
-    SYNOPSIS
-        private final String SerializeTurn();
-    
-        No parameters.
-    
-    DESCRIPTION
-        This method returns an FEN string of whose turn it is on the board,
-        either "b" or "w".
-    
-    RETURNS
-        String: "b" if it's black's turn or "w" if it's white's turn.
-    
-    AUTHOR
-        Ryan King
-    */
-    private final char SerializeTurn(){
-        return Character.toLowerCase(this.WhoseTurnIsIt().toString().charAt(Utilities.ZERO));
-    }
-    
-    /**/
-    /*
-    NAME
-        private final String SerializeCastlingRights();
-    
-    SYNOPSIS
-        private final String SerializeCastlingRights();
-    
-        No parameters.
-    
-    DESCRIPTION
-        This method returns an FEN string of castling rights for both sides.
-    
-    RETURNS
-        String: Some combination of the letters "KQkq" in that order
-        if any rights exist, otherwise "-".
-    
-    AUTHOR
-        Ryan King
-    */
-    private final String SerializeCastlingRights(){
-        // Get privileges for both sides separately
-        final String WHITE_CASTLING_RIGHTS = SerializeCastlingRightsForOneSide(this.GetKing(ChessColor.WHITE));
-        final String BLACK_CASTLING_RIGHTS = SerializeCastlingRightsForOneSide(this.GetKing(ChessColor.BLACK));
-        
-        // Add the castling privileges, if any
-        if(WHITE_CASTLING_RIGHTS.equals(Character.toString(Utilities.NO_RIGHTS_OR_TILE)) && BLACK_CASTLING_RIGHTS.equals(Character.toString(Utilities.NO_RIGHTS_OR_TILE))){
-            return Character.toString(Utilities.NO_RIGHTS_OR_TILE);
-        }else{
-            String rights = Utilities.EMPTY_STRING;
-            
-            if(!WHITE_CASTLING_RIGHTS.equals(Character.toString(Utilities.NO_RIGHTS_OR_TILE))){
-                rights += WHITE_CASTLING_RIGHTS;
-            }
-            
-            if(!BLACK_CASTLING_RIGHTS.equals(Character.toString(Utilities.NO_RIGHTS_OR_TILE))){
-                rights += BLACK_CASTLING_RIGHTS;
-            }
-            
-            return rights;
-        }
-    }
-    
-    /**/
-    /*
-    NAME
-        private final String SerializeCastlingRightsForOneSide(final King a_king);
-    
-    SYNOPSIS
-        private final String SerializeCastlingRightsForOneSide(final King a_king);
-    
-        King a_king --------------> The king whose castling rights must be serialized.
-    
-    DESCRIPTION
-        This method returns an FEN string of castling rights for one side.
-        If the king is white, it will return "KQ", "K", "Q", or "-".
-        If the king is black, it will return "kq", "k", "q", or "-".
-    
-    RETURNS
-        String: Some combination of the letters "KQ" for white 
-        or "kq" for black if any rights exist, otherwise "-".
-    
-    AUTHOR
-        Ryan King
-    */
-    private final String SerializeCastlingRightsForOneSide(final King a_king){
-        String castlingRights = Utilities.EMPTY_STRING;
-        
-        if(a_king == null){
-            return Utilities.EMPTY_STRING;
-        }
-        
-        // Assign helpful aliases to the required characters
-        final char KINGSIDE = (a_king.IsWhite() ? Utilities.WHITE_KING_ICON : Utilities.BLACK_KING_ICON);
-        final char QUEENSIDE = (a_king.IsWhite() ? Utilities.WHITE_QUEEN_ICON : Utilities.BLACK_QUEEN_ICON);
-
-        // Two checks per side to help get rid of erroneous castling rights
-        if(a_king.HasKingsideCastlingRook(this) && !a_king.HasMoved()){
-            castlingRights += KINGSIDE;
-        }
-        
-        if(a_king.HasQueensideCastlingRook(this) && !a_king.HasMoved()){
-            castlingRights += QUEENSIDE;
-        }
-        
-        // Return the proper string
-        if(!castlingRights.isBlank()){
-            return castlingRights;
-        }else{
-            return Character.toString(Utilities.NO_RIGHTS_OR_TILE);
-        }
-    }
-    
-    /**/
-    /*
-    NAME
-        private final String SerializeEnPassantTile();
-    
-    SYNOPSIS
-        private final String SerializeEnPassantTile();
-    
-        No parameters.
-    
-    DESCRIPTION
-        This method returns an FEN string of the en passant tile, if any.
-    
-    RETURNS
-        String: A lowercase letter from a-h followed by 3 or 6 
-        if an en passant tile exists, otherwise "-".
-    
-    AUTHOR
-        Ryan King
-    */
-    private final String SerializeEnPassantTile(){
-        if(this.m_enPassantTile != null){
-            return this.GetEnPassantTile().toString();
-        }else{
-            return Character.toString(Utilities.NO_RIGHTS_OR_TILE);
-        }
-    }
-    
-    /**/
-    /*
-    NAME
-        private final void AdjustRooks(final Move a_candidate);
-    
-    SYNOPSIS
-        private final void AdjustRooks(final Move a_candidate);
-    
-        Move a_candidate -------> The move that may change castling privileges.
+        Piece a_piece ----------> The piece that moved, which may change castling privileges.
     
     DESCRIPTION
         This method adjusts the castling rights of the king
@@ -1205,6 +1214,7 @@ public final class Board{
         This is meant to be used when a rook moves or 
         is captured and the king hasn't moved and thus 
         may lose castling rights to one side.
+        Moves of any other piece return before the king is looked for.
     
     RETURNS
         Nothing
@@ -1212,16 +1222,16 @@ public final class Board{
     AUTHOR
         Ryan King
     */
-    private final void AdjustRooks(final Move a_candidate){
-        // Null values do not constitute valid moves
-        if(a_candidate == null){
+    private final void AdjustRooks(final Piece a_piece){
+        // Only a rook on its first move can change castling privileges
+        if(a_piece == null || !a_piece.IsRook() || a_piece.HasMoved()){
             return;
         }
         
         // Get information about the old piece
-        final int OLD_ROW = a_candidate.GetPiece().GetCurrentRow();
-        final int OLD_COLUMN = a_candidate.GetPiece().GetCurrentColumn();
-        final ChessColor MOVER_COLOR = a_candidate.GetPiece().GetColor();
+        final int OLD_ROW = a_piece.GetCurrentRow();
+        final int OLD_COLUMN = a_piece.GetCurrentColumn();
+        final ChessColor MOVER_COLOR = a_piece.GetColor();
         
         // Find the affected king
         final King KING = this.GetKing(MOVER_COLOR);
@@ -1232,22 +1242,22 @@ public final class Board{
         // Use Boolean fields for determining castling rights
         final boolean KINGSIDE, QUEENSIDE;
         
-        // Determine different castling rights if the mover is a rook on its first move and the corresponding king is in his original spot and hasn't moved
-        if((a_candidate.GetPiece().IsRook() && !a_candidate.GetPiece().HasMoved()) && (KING.IsInOriginalSpot() && !KING.HasMoved())){
+        // Determine different castling rights if the corresponding king is in his original spot and hasn't moved
+        if(KING.IsInOriginalSpot() && !KING.HasMoved()){
             // Determine if white can kingside castle
-            if(a_candidate.GetPiece().IsWhite() && OLD_ROW == Utilities.SEVEN && OLD_COLUMN == Utilities.ZERO){
+            if(a_piece.IsWhite() && OLD_ROW == Utilities.SEVEN && OLD_COLUMN == Utilities.ZERO){
                 KINGSIDE = KING.CanKingsideCastleOnThisTurn(this);
                 QUEENSIDE = false;
             // Determine if white can queenside castle
-            }else if(a_candidate.GetPiece().IsWhite() && OLD_ROW == Utilities.SEVEN && OLD_COLUMN == Utilities.SEVEN){
+            }else if(a_piece.IsWhite() && OLD_ROW == Utilities.SEVEN && OLD_COLUMN == Utilities.SEVEN){
                 KINGSIDE = false;
                 QUEENSIDE = KING.CanQueensideCastleOnThisTurn(this);
             // Determine if black can kingside castle
-            }else if(a_candidate.GetPiece().IsBlack() && OLD_ROW == Utilities.ZERO && OLD_COLUMN == Utilities.ZERO){
+            }else if(a_piece.IsBlack() && OLD_ROW == Utilities.ZERO && OLD_COLUMN == Utilities.ZERO){
                 KINGSIDE = KING.CanKingsideCastleOnThisTurn(this);
                 QUEENSIDE = false;
             // Determine if black can queenside castle
-            }else if(a_candidate.GetPiece().IsBlack() && OLD_ROW == Utilities.ZERO && OLD_COLUMN == Utilities.SEVEN){
+            }else if(a_piece.IsBlack() && OLD_ROW == Utilities.ZERO && OLD_COLUMN == Utilities.SEVEN){
                 KINGSIDE = false;
                 QUEENSIDE = KING.CanQueensideCastleOnThisTurn(this);          
             }else{
@@ -1257,10 +1267,45 @@ public final class Board{
             
             // If the king has not moved, reset the king with adjusted castling privileges and 0 moves made
             // If the king has already moved, it does not matter if the rook has not moved because the king cannot castle
-            this.m_boardObject[KING_ROW][KING_COLUMN] = new Tile(TILE_COLOR, KING_ROW, KING_COLUMN, new King(MOVER_COLOR, KING_ROW, KING_COLUMN, KINGSIDE, QUEENSIDE));
+            this.m_boardObject[KING_ROW][KING_COLUMN] = new Tile(TILE_COLOR, KING_ROW, KING_COLUMN, King.GetShared(MOVER_COLOR, KING_ROW, KING_COLUMN, false, KINGSIDE, QUEENSIDE));
         }
     }
     
+    /**/
+    /*
+    NAME
+        public final Board Transition(final int a_move);
+    
+    SYNOPSIS
+        public final Board Transition(final int a_move);
+    
+        int a_move ---------------> A move packed by IntMove on this board.
+
+    DESCRIPTION
+        This method returns a new Board object with a packed move made,
+        the same board the Move object it stands for would make,
+        without that Move object ever being found or created.
+        Whether the move is legal is not checked, and a pawn
+        that reaches the last row is promoted afterward, as with any other move.
+    
+    RETURNS
+        Board: The Board once the move has been completed.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final Board Transition(final int a_move){
+        final int FROM = IntMove.From(a_move);
+        final Piece PIECE = this.m_boardObject[FROM / Utilities.EIGHT][FROM % Utilities.EIGHT].GetPiece();
+        
+        // There is nothing to move from an empty tile
+        if(PIECE == null){
+            return this;
+        }
+        
+        return GetDeepCopy(this).Make(PIECE, a_move);
+    }
+    
     /**/
     /*
     NAME
@@ -1286,31 +1331,7 @@ public final class Board{
             return this;
         }
         
-        // Preserve the old row and column
-        final int OLD_ROW = a_candidate.GetPiece().GetCurrentRow();
-        final int OLD_COLUMN = a_candidate.GetPiece().GetCurrentColumn();
-        
-        // Make note of the new row and column
-        final int NEW_ROW = a_candidate.GetNewRow();
-        final int NEW_COLUMN = a_candidate.GetNewColumn();
-
-        // Make note of the new and old tiles
-        final Tile NEW_TILE = this.m_boardObject[NEW_ROW][NEW_COLUMN];
-        final Tile OLD_TILE = this.m_boardObject[OLD_ROW][OLD_COLUMN];
-        
-        // Change castling privileges if this scenario eliminates them
-        AdjustRooks(a_candidate);
-                
-        // Set the moved Piece to the new Tile
-        this.m_boardObject[NEW_ROW][NEW_COLUMN] = new Tile(NEW_TILE.GetColor(), NEW_TILE.GetRow(), NEW_TILE.GetColumn(), Factory.MovedPieceFactory(a_candidate.GetPiece(), NEW_ROW, NEW_COLUMN));
-        // Remove the moved Piece from the old Tile
-        this.m_boardObject[OLD_ROW][OLD_COLUMN] = new Tile(OLD_TILE.GetColor(), OLD_TILE.GetRow(), OLD_TILE.GetColumn(), null);
-        
-        // Initialize a new BoardBuilder object with the configuration of the new Board
-        final BoardBuilder BUILDER = new BoardBuilder(this.m_boardObject, BoardUtilities.Reverse(this.WhoseTurnIsIt()));
-        
-        // Build the board
-        return BUILDER.Build();
+        return this.Make(a_candidate.GetPiece(), IntMove.FromMove(a_candidate, PackedMove.NO_PROMOTION));
     }
     
     /**/
@@ -1338,30 +1359,7 @@ public final class Board{
             return this;
         }
         
-        // Get the rows and columns of the source and destination tiles
-        final int OLD_ROW = a_candidate.GetPiece().GetCurrentRow();
-        final int OLD_COLUMN = a_candidate.GetPiece().GetCurrentColumn();
-        final int NEW_ROW = a_candidate.GetNewRow();
-        final int NEW_COLUMN = a_candidate.GetNewColumn();
-
-        // Find both source and destination tiles involved in this move
-        final Tile NEW_TILE = this.m_boardObject[NEW_ROW][NEW_COLUMN];
-        final Tile OLD_TILE = this.m_boardObject[OLD_ROW][OLD_COLUMN];
-        
-        // Adjust castling privileges for both sides
-        AdjustRooks(a_candidate);
-        
-        // Set the moved Piece to the new Tile
-        this.m_boardObject[NEW_ROW][NEW_COLUMN] = new Tile(NEW_TILE.GetColor(), NEW_TILE.GetRow(), NEW_TILE.GetColumn(), Factory.MovedPieceFactory(a_candidate.GetPiece(), NEW_ROW, NEW_COLUMN));
-        
-        // Remove the moved Piece from the old Tile
-        this.m_boardObject[OLD_ROW][OLD_COLUMN] = new Tile(OLD_TILE.GetColor(), OLD_TILE.GetRow(), OLD_TILE.GetColumn(), null);
-        
-        // Initialize a new BoardBuilder object with the configuration of the new Board
-        final BoardBuilder BUILDER = new BoardBuilder(this.m_boardObject, BoardUtilities.Reverse(this.WhoseTurnIsIt()));
-        
-        // Return the newly-moved board
-        return BUILDER.Build();
+        return this.Make(a_candidate.GetPiece(), IntMove.FromMove(a_candidate, PackedMove.NO_PROMOTION));
     }
     
     /**/
@@ -1389,47 +1387,7 @@ public final class Board{
             return this;
         }
         
-        // Preserve the king's old coordinates
-        final int OLD_KING_ROW = a_candidate.GetPiece().GetCurrentRow();
-        final int OLD_KING_COLUMN = a_candidate.GetPiece().GetCurrentColumn();
-        
-        // Grab the king's new coordinates
-        final int NEW_KING_ROW = a_candidate.GetNewRow();
-        final int NEW_KING_COLUMN = a_candidate.GetNewColumn();
-        
-        // Preserve the rook's old coordinates
-        final int OLD_ROOK_ROW = a_candidate.GetRookCurrentRow();
-        final int OLD_ROOK_COLUMN = a_candidate.GetRookCurrentColumn();
-        
-        // Grab the rook's new coordinates
-        final int NEW_ROOK_ROW = a_candidate.GetRookDestinationRow();
-        final int NEW_ROOK_COLUMN = a_candidate.GetRookDestinationColumn();
-        
-        // Find the king's old and new tiles
-        final Tile OLD_KING_TILE = this.m_boardObject[OLD_KING_ROW][OLD_KING_COLUMN];
-        final Tile NEW_KING_TILE = this.m_boardObject[NEW_KING_ROW][NEW_KING_COLUMN];
-        
-        // Find the rook's old and new tiles
-        final Tile OLD_ROOK_TILE = this.m_boardObject[OLD_ROOK_ROW][OLD_ROOK_COLUMN];
-        final Tile NEW_ROOK_TILE = this.m_boardObject[NEW_ROOK_ROW][NEW_ROOK_COLUMN];
-    
-        // Set the moved king to the new Tile
-        this.m_boardObject[NEW_KING_ROW][NEW_KING_COLUMN] = new Tile(NEW_KING_TILE.GetColor(), NEW_KING_TILE.GetRow(), NEW_KING_TILE.GetColumn(), Factory.MovedPieceFactory(a_candidate.GetPiece(), NEW_KING_ROW, NEW_KING_COLUMN));
-        
-        // Remove the moved king from the old Tile
-        this.m_boardObject[OLD_KING_ROW][OLD_KING_COLUMN] = new Tile(OLD_KING_TILE.GetColor(), OLD_KING_TILE.GetRow(), OLD_KING_TILE.GetColumn(), null);
-        
-        // Set the moved rook to the new Tile
-        this.m_boardObject[NEW_ROOK_ROW][NEW_ROOK_COLUMN] = new Tile(NEW_ROOK_TILE.GetColor(), NEW_ROOK_TILE.GetRow(), NEW_ROOK_TILE.GetColumn(), Factory.MovedPieceFactory(this.m_boardObject[OLD_ROOK_ROW][OLD_ROOK_COLUMN].GetPiece(), NEW_ROOK_ROW, NEW_ROOK_COLUMN));
-        
-        // Remove the moved rook from the old Tile
-        this.m_boardObject[OLD_ROOK_ROW][OLD_ROOK_COLUMN] = new Tile(OLD_ROOK_TILE.GetColor(), OLD_ROOK_TILE.GetRow(), OLD_ROOK_TILE.GetColumn(), null);
-        
-        // Initialize a new BoardBuilder object with the configuration of the new Board
-        final BoardBuilder BUILDER = new BoardBuilder(this.m_boardObject, BoardUtilities.Reverse(this.WhoseTurnIsIt()));            
-
-        // Return the newly-moved board
-        return BUILDER.Build();
+        return this.Make(a_candidate.GetPiece(), IntMove.FromMove(a_candidate, PackedMove.NO_PROMOTION));
     }
     
     /**/
@@ -1457,39 +1415,78 @@ public final class Board{
             return this;
         }
         
-        // Preserve the old coordinates of the moving pawn
-        final int OLD_ROW = a_candidate.GetPiece().GetCurrentRow();
-        final int OLD_COLUMN = a_candidate.GetPiece().GetCurrentColumn();
-        
-        // Get the coordinates where the moving pawn will move
-        final int NEW_ROW = a_candidate.GetNewRow();
-        final int NEW_COLUMN = a_candidate.GetNewColumn();
-        final int OLD_MOVES = a_candidate.GetPiece().HowManyMoves();
-        
-        // Get the coordinates of the captured pawn,
-        // which are different from the destination
-        // coordinates due to the nature of en passant
-        final int PAWN_ROW = a_candidate.GetCapturedPawnRow();
-        final int PAWN_COLUMN = a_candidate.GetCapturedPawnColumn();
+        return this.Make(a_candidate.GetPiece(), IntMove.FromMove(a_candidate, PackedMove.NO_PROMOTION));
+    }
+    
+    /**/
+    /*
+    NAME
+        private final Board Make(final Piece a_piece, final int a_move);
+    
+    SYNOPSIS
+        private final Board Make(final Piece a_piece, final int a_move);
+    
+        Piece a_piece ------------> The piece that moves, as it stands before the move.
+    
+        int a_move ---------------> The move, packed by IntMove.
 
-        // Find all tiles used in this move
-        final Tile NEW_TILE = this.m_boardObject[NEW_ROW][NEW_COLUMN];
-        final Tile OLD_TILE = this.m_boardObject[OLD_ROW][OLD_COLUMN];
-        final Tile PAWN_TILE = this.m_boardObject[PAWN_ROW][PAWN_COLUMN];
-              
+    DESCRIPTION
+        This method makes any kind of move on the tiles of this board, which must be
+        a copy nothing else uses, and builds the board for the other side from them.
+        The rook moves along with its king when castling, and the pawn
+        captured en passant is taken from beside the tile the capturing pawn moves to.
+        Captures and pawn moves reset the halfmove clock, and a pawn that moved two tiles
+        can be captured on the tile it passed over.
+    
+    RETURNS
+        Board: The Board once the move has been completed.
+    
+    AUTHOR
+        Ryan King
+    */
+    private final Board Make(final Piece a_piece, final int a_move){
+        // Get the rows and columns of the source and destination tiles
+        final int OLD_ROW = IntMove.From(a_move) / Utilities.EIGHT;
+        final int OLD_COLUMN = IntMove.From(a_move) % Utilities.EIGHT;
+        final int NEW_ROW = IntMove.To(a_move) / Utilities.EIGHT;
+        final int NEW_COLUMN = IntMove.To(a_move) % Utilities.EIGHT;
+        
+        if(IntMove.IsCastling(a_move)){
+            // The rook stays on the king's row
+            final int OLD_ROOK_COLUMN = CastlingMove.AssignRookCurrentColumn(NEW_COLUMN);
+            final int NEW_ROOK_COLUMN = CastlingMove.AssignRookDestinationColumn(NEW_COLUMN);
+            final Tile NEW_ROOK_TILE = this.m_boardObject[OLD_ROW][NEW_ROOK_COLUMN];
+            
+            // Set the moved rook to the new Tile and remove it from the old one
+            this.m_boardObject[OLD_ROW][NEW_ROOK_COLUMN] = new Tile(NEW_ROOK_TILE.GetColor(), OLD_ROW, NEW_ROOK_COLUMN, Factory.MovedPieceFactory(this.m_boardObject[OLD_ROW][OLD_ROOK_COLUMN].GetPiece(), OLD_ROW, NEW_ROOK_COLUMN));
+            this.m_boardObject[OLD_ROW][OLD_ROOK_COLUMN] = Tile.GetEmpty(OLD_ROW, OLD_ROOK_COLUMN);
+        }else if(IntMove.IsEnPassant(a_move)){
+            // The captured pawn stands beside the moving pawn, not on its destination
+            this.m_boardObject[OLD_ROW][NEW_COLUMN] = Tile.GetEmpty(OLD_ROW, NEW_COLUMN);
+        }else{
+            // Adjust castling privileges for both sides
+            AdjustRooks(a_piece);
+        }
+        
         // Set the moved Piece to the new Tile
-        this.m_boardObject[NEW_ROW][NEW_COLUMN] = new Tile(NEW_TILE.GetColor(), NEW_TILE.GetRow(), NEW_TILE.GetColumn(), Factory.MovedPieceFactory(a_candidate.GetPiece(), NEW_ROW, NEW_COLUMN));
+        final Tile NEW_TILE = this.m_boardObject[NEW_ROW][NEW_COLUMN];
+        this.m_boardObject[NEW_ROW][NEW_COLUMN] = new Tile(NEW_TILE.GetColor(), NEW_ROW, NEW_COLUMN, Factory.MovedPieceFactory(a_piece, NEW_ROW, NEW_COLUMN));
         
         // Remove the moved Piece from the old Tile
-        this.m_boardObject[OLD_ROW][OLD_COLUMN] = new Tile(OLD_TILE.GetColor(), OLD_TILE.GetRow(), OLD_TILE.GetColumn(), null);
-        
-        // Remove the captured Pawn from its Tile
-        this.m_boardObject[PAWN_ROW][PAWN_COLUMN] = new Tile(PAWN_TILE.GetColor(), PAWN_TILE.GetRow(), PAWN_TILE.GetColumn(), null);
+        this.m_boardObject[OLD_ROW][OLD_COLUMN] = Tile.GetEmpty(OLD_ROW, OLD_COLUMN);
         
         // Initialize a new BoardBuilder object with the configuration of the new Board
         final BoardBuilder BUILDER = new BoardBuilder(this.m_boardObject, BoardUtilities.Reverse(this.WhoseTurnIsIt()));
         
-        // Return the newly-moved board
+        // Captures and pawn moves reset the halfmove clock
+        BUILDER.SetHalfmoves(a_piece.IsPawn() || IntMove.IsCapture(a_move) ? Utilities.ZERO : this.m_halfmoves + Utilities.ONE);
+        
+        // A pawn that moved two tiles can be captured on the tile it passed over
+        if(a_piece.IsPawn() && Math.abs(NEW_ROW - OLD_ROW) == Utilities.TWO){
+            BUILDER.SetEnPassantTile((OLD_ROW + NEW_ROW) / Utilities.TWO, OLD_COLUMN);
+        }
+        
+        // Build the board
         return BUILDER.Build();
     }
     
@@ -1532,6 +1529,9 @@ public final class Board{
         // Initialize a new BoardBuilder object with the configuration of the new Board
         final BoardBuilder BUILDER = new BoardBuilder(this.m_boardObject, this.WhoseTurnIsIt());
         
+        // The pawn move that led here already set the halfmove clock
+        BUILDER.SetHalfmoves(this.m_halfmoves);
+        
         // Return the newly-moved board
         return BUILDER.Build();
     }
@@ -1548,6 +1548,8 @@ public final class Board{
     public static class BoardBuilder{
         private final Tile[][] m_builderBoard;
         private ChessColor m_whoseTurn;
+        private int m_halfmoves = Utilities.ZERO;
+        private Tile m_enPassantTile = null;
         
         /**/
         /*
@@ -1613,7 +1615,7 @@ public final class Board{
                 final int ROW = index / Utilities.EIGHT;
                 final int COLUMN = index % Utilities.EIGHT;
                 // Instantiate a new Tile with the given color and coordinates
-                this.m_builderBoard[ROW][COLUMN] = new Tile(a_copy[ROW][COLUMN]);
+                this.m_builderBoard[ROW][COLUMN] = Tile.Copy(a_copy[ROW][COLUMN]);
             }
         }
         
@@ -1642,56 +1644,12 @@ public final class Board{
                 final int ROW = index / Utilities.EIGHT;
                 final int COLUMN = index % Utilities.EIGHT;
                 
-                // Determine the proper color for each tile depending on where it is located and assign it accordingly                
-                this.m_builderBoard[ROW][COLUMN] = new Tile(AssignTileColor(ROW, COLUMN), ROW, COLUMN, null);
+                // Every board starts out with the shared empty tiles, which already know their colors
+                this.m_builderBoard[ROW][COLUMN] = Tile.GetEmpty(ROW, COLUMN);
                 
             }
         }
         
-        /**/
-        /*
-        NAME
-            private final ChessColor AssignTileColor(final int a_row, final int a_column);
-        
-        SYNOPSIS
-            private final ChessColor AssignTileColor(final int a_row, final int a_column);
-            
-            int a_row ----------------> The row the piece is resting on.
-            
-            int a_column -------------> The column the piece is resting on.
-        
-        DESCRIPTION
-            This method returns a tile color given the row and column.
-            This color is based off the tile's position on a chessboard.
-        
-        RETURNS
-            ChessColor: A new color based on the coordinates provided.
-        
-        AUTHOR
-            Ryan King
-        */
-        private final ChessColor AssignTileColor(final int a_row, final int a_column){
-            // Idiot proofing
-            if(!BoardUtilities.HasValidCoordinates(a_row, a_column)){
-                return null;
-            }
-            
-            // Find the proper color by examining both coordinates
-            if(a_row % Utilities.TWO == Utilities.ONE){
-                if(a_column % Utilities.TWO == Utilities.ONE){
-                    return ChessColor.WHITE;
-                }else{
-                    return ChessColor.BLACK;
-                }
-            }else{
-                if(a_column % Utilities.TWO == Utilities.ONE){
-                    return ChessColor.BLACK;
-                }else{
-                    return ChessColor.WHITE;
-                }
-            }
-        }
-        
         /**/
         /*
         NAME
@@ -1801,7 +1759,7 @@ public final class Board{
                 // Remove the piece from the tile if coordinates are valid
                 if(BoardUtilities.HasValidCoordinates(a_row, a_column)){
                     final Tile ORIGINAL = this.m_builderBoard[a_row][a_column];
-                    this.m_builderBoard[a_row][a_column] = new Tile(ORIGINAL.GetColor(), ORIGINAL.GetRow(), ORIGINAL.GetColumn(), null);
+                    this.m_builderBoard[a_row][a_column] = Tile.GetEmpty(ORIGINAL.GetRow(), ORIGINAL.GetColumn());
                 }
                 return this;
             }catch(Exception e){
@@ -1936,5 +1894,105 @@ public final class Board{
         public final ChessColor WhoseTurnIsIt(){
             return this.m_whoseTurn;
         }
+        
+        /**/
+        /*
+        NAME
+            public final BoardBuilder SetHalfmoves(final int a_halfmoves);
+        
+        SYNOPSIS
+            public final BoardBuilder SetHalfmoves(final int a_halfmoves);
+        
+            int a_halfmoves ----------> The number of halfmoves since the last capture or pawn movement.
+        
+        DESCRIPTION
+            This method returns the BoardBuilder object
+            and sets the halfmove clock of the board to be built.
+            Negative values are treated as 0.
+        
+        RETURNS
+            BoardBuilder this: The BoardBuilder object.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final BoardBuilder SetHalfmoves(final int a_halfmoves){
+            this.m_halfmoves = Math.max(Utilities.ZERO, a_halfmoves);
+            return this;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final int GetHalfmoves();
+        
+        SYNOPSIS
+            public final int GetHalfmoves();
+        
+            No parameters.
+        
+        DESCRIPTION
+            This method returns the halfmove clock of the board to be built.
+        
+        RETURNS
+            int m_halfmoves: The halfmove clock.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final int GetHalfmoves(){
+            return this.m_halfmoves;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final BoardBuilder SetEnPassantTile(final int a_row, final int a_column);
+        
+        SYNOPSIS
+            public final BoardBuilder SetEnPassantTile(final int a_row, final int a_column);
+        
+            int a_row ----------------> The row of the tile the pawn passed over.
+            
+            int a_column -------------> The column of the tile the pawn passed over.
+        
+        DESCRIPTION
+            This method returns the BoardBuilder object
+            and sets the en passant tile of the board to be built.
+            Invalid coordinates mean there is no such tile.
+        
+        RETURNS
+            BoardBuilder this: The BoardBuilder object.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final BoardBuilder SetEnPassantTile(final int a_row, final int a_column){
+            this.m_enPassantTile = (BoardUtilities.HasValidCoordinates(a_row, a_column) ? this.m_builderBoard[a_row][a_column] : null);
+            return this;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final Tile GetEnPassantTile();
+        
+        SYNOPSIS
+            public final Tile GetEnPassantTile();
+        
+            No parameters.
+        
+        DESCRIPTION
+            This method returns the en passant tile of the board to be built.
+        
+        RETURNS
+            Tile m_enPassantTile: The tile, or null if there is none.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final Tile GetEnPassantTile(){
+            return this.m_enPassantTile;
+        }
     }//End of BoardBuilder class
 }//End of Board class
\ No newline at end of file
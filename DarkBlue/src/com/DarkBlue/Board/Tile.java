@@ -12,6 +12,11 @@ import com.DarkBlue.Utilities.*;
  * Empty tiles have a piece pointer that points to null.
  * All tiles are immutable.
  * 
+ * Since an empty tile is nothing but its row, column, and color, every board
+ * shares the 64 empty tiles GetEmpty() returns rather than making its own.
+ * Pieces are immutable as well, so copying a board with Copy() shares every
+ * other tile too, and only makes a new one for a king that could castle.
+ * 
  * The color is determined through the tile's coordinates.
  * Though the color may look like a waste of space and bookkeeping,
  * it is useful for determining draws when both players have a king and bishop.
@@ -33,6 +38,18 @@ public final class Tile{
     // The piece currently on the tile
     private final Piece m_piece;
     
+    // The empty tiles every board shares, by row and column
+    private static final Tile[][] EMPTY = new Tile[Utilities.EIGHT][Utilities.EIGHT];
+    
+    static{
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                // a8 is row 0, column 0 and is white, as is every tile whose row and column add to an even number
+                EMPTY[row][column] = new Tile(((row + column) % Utilities.TWO == Utilities.ZERO ? ChessColor.WHITE : ChessColor.BLACK), row, column, null);
+            }
+        }
+    }
+    
     // Keep in mind that the array spots are reversed from the 
     // traditional notion of the chessboard.
     // For example, tile a1 has row 7, column 0.
@@ -95,6 +112,8 @@ public final class Tile{
     DESCRIPTION
         This copy constructor initializes a new Tile object
         based on the fields of the tile being passed in.
+        The piece is the shared one of its type, color, and tile
+        that has moved if the original has, and a king loses his castling rights.
     
     RETURNS
         Nothing
@@ -122,27 +141,79 @@ public final class Tile{
         
         // Assign the piece
         if(a_tile.IsOccupied()){
-            switch(a_tile.GetPiece().GetPieceType()){
-                case PAWN: this.m_piece = new Pawn(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                case ROOK: this.m_piece = new Rook(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                case KNIGHT: this.m_piece = new Knight(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                case BISHOP: this.m_piece = new Bishop(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                case QUEEN: this.m_piece = new Queen(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                case KING: this.m_piece = new King(a_tile.GetPiece(), a_tile.GetPiece().GetCurrentRow(), a_tile.GetPiece().GetCurrentColumn(), a_tile.GetPiece().HowManyMoves());
-                break;
-                default: this.m_piece = null;
-                break;
-            }
+            final Piece PIECE = a_tile.GetPiece();
+            this.m_piece = Piece.GetShared(PIECE.GetPieceType(), PIECE.GetColor(), PIECE.GetCurrentRow(), PIECE.GetCurrentColumn(), PIECE.HasMoved());
         }else{
             this.m_piece = null;
         }
     }
     
+    /**/
+    /*
+    NAME
+        public static Tile GetEmpty(final int a_row, final int a_column);
+    
+    SYNOPSIS
+        public static Tile GetEmpty(final int a_row, final int a_column);
+    
+        int a_row ----------------> The tile's row.
+        
+        int a_column -------------> The tile's column.
+    
+    DESCRIPTION
+        This method returns the empty tile at the given coordinates,
+        which is the same object for every board.
+        
+    RETURNS
+        Tile: The empty tile, or null if the coordinates are invalid.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static Tile GetEmpty(final int a_row, final int a_column){
+        // Idiot proofing
+        if(!BoardUtilities.HasValidCoordinates(a_row, a_column)){
+            return null;
+        }
+        
+        return EMPTY[a_row][a_column];
+    }
+    
+    /**/
+    /*
+    NAME
+        public static Tile Copy(final Tile a_tile);
+    
+    SYNOPSIS
+        public static Tile Copy(final Tile a_tile);
+    
+        Tile a_tile -------> The tile to be copied.
+    
+    DESCRIPTION
+        This method copies a tile for a new board.
+        Nothing on a tile can change, so the tile itself is shared instead,
+        unless it has a king that could castle. Copies of kings lose their
+        castling rights, as they do with the copy constructor.
+        
+    RETURNS
+        Tile: The shared empty tile, the same tile, or a new tile with the king.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static Tile Copy(final Tile a_tile){
+        // The copy constructor handles a null tile
+        if(a_tile == null){
+            return new Tile(a_tile);
+        }else if(a_tile.IsEmpty()){
+            return GetEmpty(a_tile.GetRow(), a_tile.GetColumn());
+        }else if(a_tile.GetPiece().IsKing() && (((King) a_tile.GetPiece()).CanKingsideCastle() || ((King) a_tile.GetPiece()).CanQueensideCastle())){
+            return new Tile(a_tile);
+        }
+        
+        return a_tile;
+    }
+    
     /**/
     /*
     NAME
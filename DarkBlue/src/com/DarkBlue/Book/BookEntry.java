@@ -0,0 +1,137 @@
+package com.DarkBlue.Book;
+
+/**
+ * This class holds one entry of a Polyglot opening book:
+ * a move that may be played from a position and how good it is.
+ */
+public final class BookEntry{
+
+    private final long m_key;
+    private final int m_move;
+    private final int m_weight;
+    private final int m_learn;
+
+    /**/
+    /*
+    NAME
+        public BookEntry(final long a_key, final int a_move, final int a_weight, final int a_learn);
+
+    SYNOPSIS
+        public BookEntry(final long a_key, final int a_move, final int a_weight, final int a_learn);
+
+        long a_key ---------------> The Polyglot key of the position.
+
+        int a_move ---------------> The move in Polyglot's 16-bit encoding.
+
+        int a_weight -------------> How often the move should be chosen, from 0 to 65535.
+
+        int a_learn --------------> The learning data, which this engine does not use.
+
+    DESCRIPTION
+        This constructor creates a book entry.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public BookEntry(final long a_key, final int a_move, final int a_weight, final int a_learn){
+        this.m_key = a_key;
+        this.m_move = a_move;
+        this.m_weight = a_weight;
+        this.m_learn = a_learn;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetKey();
+
+    SYNOPSIS
+        public final long GetKey();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the key of the position.
+
+    RETURNS
+        long m_key: The key.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetKey(){
+        return this.m_key;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetMove();
+
+    SYNOPSIS
+        public final int GetMove();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the move in Polyglot's encoding.
+
+    RETURNS
+        int m_move: The move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetMove(){
+        return this.m_move;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetWeight();
+
+    SYNOPSIS
+        public final int GetWeight();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the weight of the move.
+
+    RETURNS
+        int m_weight: The weight.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetWeight(){
+        return this.m_weight;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetLearn();
+
+    SYNOPSIS
+        public final int GetLearn();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the learning data of the entry.
+
+    RETURNS
+        int m_learn: The learning data.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetLearn(){
+        return this.m_learn;
+    }
+}
@@ -0,0 +1,498 @@
+package com.DarkBlue.Book;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Record.RecordPosition;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class reads an opening book in Polyglot's .bin format.
+ *
+ * The file is a list of 16-byte big-endian entries sorted by key:
+ *
+ *     u64   the Polyglot key of the position
+ *     u16   the move: to file in bits 0 to 2, to rank in bits 3 to 5, from file
+ *           in bits 6 to 8, from rank in bits 9 to 11, and the promotion in bits 12 to 14,
+ *           where 1 is a knight, 2 a bishop, 3 a rook, and 4 a queen
+ *     u16   the weight of the move
+ *     u32   learning data
+ *
+ * Castling is written as the king taking its own rook, so e1h1 is kingside castling.
+ *
+ * The whole file is memory-mapped once and every lookup is a binary search over
+ * the mapped entries, so looking up a position costs a few page reads at most and
+ * nothing is copied onto the heap. Lookups never change the buffer's position,
+ * so any number of threads may use the same book.
+ *
+ * A move is chosen either at random with a chance proportional to its weight,
+ * which gives the computer some variety, or as the move with the highest weight.
+ * The search asks the book set with SetActive() before it searches anything.
+ */
+public final class PolyglotBook{
+
+    public static final int ENTRY_SIZE = Utilities.SIXTEEN;
+
+    // The move of a position the book does not have, which no packed move can equal
+    public static final short NO_MOVE = (short) 0xFFFF;
+
+    // The promotions of Polyglot moves, indexed by the promotion bits
+    private static final int[] PROMOTIONS = {PackedMove.NO_PROMOTION, PackedMove.KNIGHT, PackedMove.BISHOP, PackedMove.ROOK, PackedMove.QUEEN};
+
+    private static volatile PolyglotBook m_active = null;
+
+    private final ByteBuffer m_entries;
+    private final int m_count;
+    private final PolyglotKeys m_keys;
+    private final boolean m_isBestOnly;
+    private final Random m_random;
+
+    /**/
+    /*
+    NAME
+        public PolyglotBook(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public PolyglotBook(final Path a_path) throws IOException;
+
+        Path a_path --------------> The book file.
+
+    DESCRIPTION
+        This constructor opens a book that picks moves at random by weight
+        and hashes positions with PolyglotKeys.GetDefault().
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PolyglotBook(final Path a_path) throws IOException{
+        this(a_path, PolyglotKeys.GetDefault(), false);
+    }
+
+    /**/
+    /*
+    NAME
+        public PolyglotBook(final Path a_path, final PolyglotKeys a_keys, final boolean a_isBestOnly) throws IOException;
+
+    SYNOPSIS
+        public PolyglotBook(final Path a_path, final PolyglotKeys a_keys, final boolean a_isBestOnly) throws IOException;
+
+        Path a_path --------------> The book file.
+
+        PolyglotKeys a_keys ------> The table the book was built with.
+
+        boolean a_isBestOnly -----> If the move with the highest weight should always be chosen.
+
+    DESCRIPTION
+        This constructor maps a book file into memory.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PolyglotBook(final Path a_path, final PolyglotKeys a_keys, final boolean a_isBestOnly) throws IOException{
+        if(a_path == null || a_keys == null){
+            throw new IllegalArgumentException("Invalid argument(s) to PolyglotBook constructor");
+        }
+
+        try(final FileChannel CHANNEL = FileChannel.open(a_path, StandardOpenOption.READ)){
+            final long SIZE = CHANNEL.size();
+            if(SIZE % ENTRY_SIZE != Utilities.ZERO){
+                throw new IOException(a_path + " is not a Polyglot book: its size is not a multiple of " + ENTRY_SIZE);
+            }else if(SIZE > Integer.MAX_VALUE){
+                throw new IOException(a_path + " is too large to map at once");
+            }
+
+            // The mapping stays valid after the channel is closed
+            this.m_entries = CHANNEL.map(FileChannel.MapMode.READ_ONLY, Utilities.ZERO, SIZE);
+            this.m_count = (int) (SIZE / ENTRY_SIZE);
+        }
+
+        this.m_keys = a_keys;
+        this.m_isBestOnly = a_isBestOnly;
+        this.m_random = new Random();
+    }
+
+    /**/
+    /*
+    NAME
+        public static PolyglotBook GetActive();
+
+    SYNOPSIS
+        public static PolyglotBook GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the book the computer plays from.
+
+    RETURNS
+        PolyglotBook m_active: The book, or null if there is none.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PolyglotBook GetActive(){
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final PolyglotBook a_book);
+
+    SYNOPSIS
+        public static void SetActive(final PolyglotBook a_book);
+
+        PolyglotBook a_book ------> The new book, or null to always search.
+
+    DESCRIPTION
+        This method sets the book the computer plays from.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetActive(final PolyglotBook a_book){
+        m_active = a_book;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetEntryCount();
+
+    SYNOPSIS
+        public final int GetEntryCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many entries the book has.
+
+    RETURNS
+        int m_count: The number of entries.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetEntryCount(){
+        return this.m_count;
+    }
+
+    /**/
+    /*
+    NAME
+        public final PolyglotKeys GetKeys();
+
+    SYNOPSIS
+        public final PolyglotKeys GetKeys();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the table the book hashes positions with.
+
+    RETURNS
+        PolyglotKeys m_keys: The table.
+
+    AUTHOR
+        Ryan King
+    */
+    public final PolyglotKeys GetKeys(){
+        return this.m_keys;
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<BookEntry> Probe(final long a_key);
+
+    SYNOPSIS
+        public final ArrayList<BookEntry> Probe(final long a_key);
+
+        long a_key ---------------> The Polyglot key of a position.
+
+    DESCRIPTION
+        This method finds every entry of a position.
+
+    RETURNS
+        ArrayList<BookEntry>: The entries in the order the book has them, which may be none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<BookEntry> Probe(final long a_key){
+        final ArrayList<BookEntry> ENTRIES = new ArrayList<>();
+
+        // Find the first entry whose key is not less than the one being looked for; keys are unsigned
+        int low = Utilities.ZERO, high = this.m_count;
+        while(low < high){
+            final int MIDDLE = (low + high) >>> Utilities.ONE;
+            if(Long.compareUnsigned(this.m_entries.getLong(MIDDLE * ENTRY_SIZE), a_key) < Utilities.ZERO){
+                low = MIDDLE + Utilities.ONE;
+            }else{
+                high = MIDDLE;
+            }
+        }
+
+        for(int i = low; i < this.m_count && this.m_entries.getLong(i * ENTRY_SIZE) == a_key; i++){
+            final int OFFSET = i * ENTRY_SIZE;
+            ENTRIES.add(new BookEntry(a_key, Short.toUnsignedInt(this.m_entries.getShort(OFFSET + Long.BYTES)),
+                Short.toUnsignedInt(this.m_entries.getShort(OFFSET + Long.BYTES + Short.BYTES)), this.m_entries.getInt(OFFSET + Long.BYTES + Short.BYTES * Utilities.TWO)));
+        }
+
+        return ENTRIES;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short Choose(final RecordPosition a_position);
+
+    SYNOPSIS
+        public final short Choose(final RecordPosition a_position);
+
+        RecordPosition a_position -> The position to find a move for.
+
+    DESCRIPTION
+        This method picks a book move for a position.
+
+    RETURNS
+        short: The move as a packed move, or NO_MOVE if the book does not have the position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short Choose(final RecordPosition a_position){
+        final BookEntry ENTRY = this.Select(this.Probe(this.m_keys.Hash(a_position)));
+        return (ENTRY == null ? NO_MOVE : ToPackedMove(ENTRY.GetMove(), a_position));
+    }
+
+    /**/
+    /*
+    NAME
+        public final Move Choose(final Board a_board, final Player a_player);
+
+    SYNOPSIS
+        public final Move Choose(final Board a_board, final Player a_player);
+
+        Board a_board ------------> The board of the game.
+
+        Player a_player ----------> The side to move, with its legal moves up to date.
+
+    DESCRIPTION
+        This method picks a book move for a board and finds it among the player's legal moves.
+        A book move that is not legal, which can only happen if the book was built with
+        another table of keys, is ignored. A pawn that reaches its last rank is promoted
+        the same way the GUI promotes any move of the computer's.
+
+    RETURNS
+        Move: The move, or null if the book does not have a legal move for the board.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Move Choose(final Board a_board, final Player a_player){
+        final BookEntry ENTRY = this.Select(this.Probe(this.m_keys.Hash(a_board)));
+        if(ENTRY == null){
+            return null;
+        }
+
+        final int FROM_ROW = Utilities.SEVEN - ((ENTRY.GetMove() >>> Utilities.NINE) & Utilities.SEVEN);
+        final int FROM_COLUMN = (ENTRY.GetMove() >>> Utilities.SIX) & Utilities.SEVEN;
+        final int TO_ROW = Utilities.SEVEN - ((ENTRY.GetMove() >>> Utilities.THREE) & Utilities.SEVEN);
+        int toColumn = ENTRY.GetMove() & Utilities.SEVEN;
+
+        final Piece PIECE = a_board.GetTile(FROM_ROW, FROM_COLUMN).GetPiece();
+        if(PIECE != null && PIECE.IsKing() && FROM_ROW == TO_ROW && Math.abs(toColumn - FROM_COLUMN) > Utilities.ONE){
+            toColumn = (toColumn > FROM_COLUMN ? Utilities.SIX : Utilities.TWO);
+        }
+
+        for(final Move MOVE : a_player.UglyMoves()){
+            if(MOVE.GetOldRow() == FROM_ROW && MOVE.GetOldColumn() == FROM_COLUMN && MOVE.GetNewRow() == TO_ROW && MOVE.GetNewColumn() == toColumn){
+                return MOVE;
+            }
+        }
+
+        return null;
+    }
+
+    /**/
+    /*
+    NAME
+        public static short ToPackedMove(final int a_move, final RecordPosition a_position);
+
+    SYNOPSIS
+        public static short ToPackedMove(final int a_move, final RecordPosition a_position);
+
+        int a_move ---------------> A move in Polyglot's encoding.
+
+        RecordPosition a_position -> The position the move is played from.
+
+    DESCRIPTION
+        This method converts a Polyglot move into a packed move,
+        turning a king that takes its own rook into a castling move.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static short ToPackedMove(final int a_move, final RecordPosition a_position){
+        final int FROM = (Utilities.SEVEN - ((a_move >>> Utilities.NINE) & Utilities.SEVEN)) * Utilities.EIGHT + ((a_move >>> Utilities.SIX) & Utilities.SEVEN);
+        int to = (Utilities.SEVEN - ((a_move >>> Utilities.THREE) & Utilities.SEVEN)) * Utilities.EIGHT + (a_move & Utilities.SEVEN);
+        final int PROMOTION = (a_move >>> 12) & Utilities.SEVEN;
+
+        if(IsCastling(FROM, to, a_position)){
+            to = FROM + (to > FROM ? Utilities.TWO : Utilities.NEGATIVE_TWO);
+        }
+
+        return PackedMove.Encode(FROM, to, PROMOTION < PROMOTIONS.length ? PROMOTIONS[PROMOTION] : PackedMove.NO_PROMOTION);
+    }
+
+    /**/
+    /*
+    NAME
+        public static int ToPolyglotMove(final short a_move, final RecordPosition a_position);
+
+    SYNOPSIS
+        public static int ToPolyglotMove(final short a_move, final RecordPosition a_position);
+
+        short a_move -------------> A packed move.
+
+        RecordPosition a_position -> The position the move is played from.
+
+    DESCRIPTION
+        This method converts a packed move into Polyglot's encoding,
+        writing castling as the king taking its own rook.
+
+    RETURNS
+        int: The move in Polyglot's encoding.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int ToPolyglotMove(final short a_move, final RecordPosition a_position){
+        final int FROM = PackedMove.From(a_move);
+        int to = PackedMove.To(a_move);
+
+        final byte CODE = a_position.GetTile(FROM);
+        if(CODE != FenParser.EMPTY && FenParser.TypeOf(CODE) == PieceType.KING && Math.abs(to - FROM) == Utilities.TWO){
+            to = (to > FROM ? FROM + Utilities.THREE : FROM - Utilities.FOUR);
+        }
+
+        int promotion = Utilities.ZERO;
+        for(int i = Utilities.ONE; i < PROMOTIONS.length; i++){
+            if(PROMOTIONS[i] == PackedMove.Promotion(a_move)){
+                promotion = i;
+            }
+        }
+
+        return (promotion << 12)
+            | ((Utilities.SEVEN - FROM / Utilities.EIGHT) << Utilities.NINE) | ((FROM % Utilities.EIGHT) << Utilities.SIX)
+            | ((Utilities.SEVEN - to / Utilities.EIGHT) << Utilities.THREE) | (to % Utilities.EIGHT);
+    }
+
+    /**/
+    /*
+    NAME
+        private BookEntry Select(final ArrayList<BookEntry> a_entries);
+
+    SYNOPSIS
+        private BookEntry Select(final ArrayList<BookEntry> a_entries);
+
+        ArrayList<BookEntry> a_entries -----> The entries of a position.
+
+    DESCRIPTION
+        This method picks one entry: the heaviest one, or one at random
+        with a chance proportional to its weight. Entries with no weight
+        are only picked if every entry has no weight.
+
+    RETURNS
+        BookEntry: The entry, or null if there are none.
+
+    AUTHOR
+        Ryan King
+    */
+    private BookEntry Select(final ArrayList<BookEntry> a_entries){
+        if(a_entries.isEmpty()){
+            return null;
+        }
+
+        BookEntry best = a_entries.get(Utilities.ZERO);
+        long total = Utilities.ZERO;
+        for(final BookEntry ENTRY : a_entries){
+            total += ENTRY.GetWeight();
+            if(ENTRY.GetWeight() > best.GetWeight()){
+                best = ENTRY;
+            }
+        }
+
+        if(this.m_isBestOnly || total == Utilities.ZERO){
+            return best;
+        }
+
+        long pick;
+        synchronized(this.m_random){
+            pick = (long) (this.m_random.nextDouble() * total);
+        }
+
+        for(final BookEntry ENTRY : a_entries){
+            pick -= ENTRY.GetWeight();
+            if(pick < Utilities.ZERO){
+                return ENTRY;
+            }
+        }
+
+        return best;
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsCastling(final int a_from, final int a_to, final RecordPosition a_position);
+
+    SYNOPSIS
+        private static boolean IsCastling(final int a_from, final int a_to, final RecordPosition a_position);
+
+        int a_from ---------------> The tile the move starts on.
+
+        int a_to -----------------> The tile the move ends on.
+
+        RecordPosition a_position -> The position the move is played from.
+
+    DESCRIPTION
+        This method determines if a Polyglot move is a king taking its own rook.
+
+    RETURNS
+        boolean: True if the move is castling, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsCastling(final int a_from, final int a_to, final RecordPosition a_position){
+        final byte KING = a_position.GetTile(a_from), ROOK = a_position.GetTile(a_to);
+        return KING != FenParser.EMPTY && ROOK != FenParser.EMPTY && FenParser.TypeOf(KING) == PieceType.KING
+            && FenParser.TypeOf(ROOK) == PieceType.ROOK && FenParser.ColorOf(KING) == FenParser.ColorOf(ROOK);
+    }
+}
@@ -0,0 +1,316 @@
+package com.DarkBlue.Book;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.DarkBlue.PGN.ParallelPgnReader;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.RecordPosition;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class builds a Polyglot opening book from games.
+ *
+ * Usage: PolyglotBookBuilder [-o book.bin] [-p plies] [-m games] [-t threads] [-k keys.txt] games.pgn...
+ *
+ * Every move played in the first plies of every game with a known result is counted
+ * with the points it earned the side that played it: 2 for a win, 1 for a draw, and
+ * 0 for a loss, which is how Polyglot weighs its own books. Moves played in fewer
+ * than the given number of games and moves that never scored are left out.
+ * Weights are scaled down to fit in 16 bits where a position needs it.
+ *
+ * The defaults are book.bin, 20 plies, 1 game, one thread per processor,
+ * and the keys of PolyglotKeys.GetDefault().
+ */
+public final class PolyglotBookBuilder{
+
+    public static final String DEFAULT_OUTPUT = "book.bin";
+    public static final int DEFAULT_PLIES = 20;
+    public static final int DEFAULT_MIN_GAMES = Utilities.ONE;
+
+    private static final int MAX_WEIGHT = 0xFFFF;
+
+    private final PolyglotKeys m_keys;
+    private final int m_maxPlies;
+
+    // The number of games and points of every move, by position key and Polyglot move
+    private final HashMap<Long, HashMap<Integer, long[]>> m_moves;
+
+    private long m_games;
+
+    /**/
+    /*
+    NAME
+        public PolyglotBookBuilder(final PolyglotKeys a_keys, final int a_maxPlies);
+
+    SYNOPSIS
+        public PolyglotBookBuilder(final PolyglotKeys a_keys, final int a_maxPlies);
+
+        PolyglotKeys a_keys ------> The table to hash positions with.
+
+        int a_maxPlies -----------> How many plies of every game go into the book.
+
+    DESCRIPTION
+        This constructor creates an empty builder.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PolyglotBookBuilder(final PolyglotKeys a_keys, final int a_maxPlies){
+        if(a_keys == null || a_maxPlies < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument(s) to PolyglotBookBuilder constructor");
+        }
+
+        this.m_keys = a_keys;
+        this.m_maxPlies = a_maxPlies;
+        this.m_moves = new HashMap<>();
+        this.m_games = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method builds a book from the command line.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        Path keys = null;
+        int plies = DEFAULT_PLIES;
+        int minGames = DEFAULT_MIN_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        final List<Path> INPUTS = new ArrayList<>();
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-o": output = Paths.get(a_args[++i]); break;
+                    case "-p": plies = Integer.parseInt(a_args[++i]); break;
+                    case "-m": minGames = Integer.parseInt(a_args[++i]); break;
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    case "-k": keys = Paths.get(a_args[++i]); break;
+                    default: INPUTS.add(Paths.get(a_args[i]));
+                }
+            }
+        }catch(ArrayIndexOutOfBoundsException | NumberFormatException e){
+            INPUTS.clear();
+        }
+
+        if(INPUTS.isEmpty()){
+            System.err.println("Usage: PolyglotBookBuilder [-o book.bin] [-p plies] [-m games] [-t threads] [-k keys.txt] games.pgn...");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final PolyglotBookBuilder BUILDER = new PolyglotBookBuilder(keys == null ? PolyglotKeys.GetDefault() : PolyglotKeys.Load(keys), plies);
+
+            for(final Path INPUT : INPUTS){
+                final long ERRORS = BUILDER.AddPgn(INPUT, threads);
+                System.out.println(INPUT + ": " + BUILDER.GetGameCount() + " games so far, " + ERRORS + " unreadable");
+            }
+
+            System.out.println("wrote " + BUILDER.Write(output, minGames) + " entries to " + output);
+        }catch(IOException | InterruptedException | IllegalArgumentException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Add(final GameRecord a_record);
+
+    SYNOPSIS
+        public final void Add(final GameRecord a_record);
+
+        GameRecord a_record ------> A game.
+
+    DESCRIPTION
+        This method counts the first moves of a game.
+        Games without a result are ignored, since their moves cannot be scored.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Add(final GameRecord a_record){
+        final int RESULT = a_record.GetResult();
+        if(RESULT == GameRecord.RESULT_UNKNOWN){
+            return;
+        }
+
+        final RecordPosition POSITION = a_record.Start();
+        final int PLIES = Math.min(this.m_maxPlies, a_record.GetMoveCount());
+
+        for(int ply = Utilities.ZERO; ply < PLIES; ply++){
+            final short MOVE = a_record.GetMove(ply);
+            final boolean IS_WHITE = POSITION.WhoseTurnIsIt().IsWhite();
+            final int POINTS = (RESULT == GameRecord.DRAW ? Utilities.ONE : ((RESULT == GameRecord.WHITE_WINS) == IS_WHITE ? Utilities.TWO : Utilities.ZERO));
+
+            final long[] COUNTS = this.m_moves.computeIfAbsent(this.m_keys.Hash(POSITION), key -> new HashMap<>())
+                .computeIfAbsent(PolyglotBook.ToPolyglotMove(MOVE, POSITION), move -> new long[Utilities.TWO]);
+            COUNTS[Utilities.ZERO]++;
+            COUNTS[Utilities.ONE] += POINTS;
+
+            if(!POSITION.Apply(MOVE)){
+                throw new IllegalArgumentException("Move " + (ply + Utilities.ONE) + " of a game cannot be played");
+            }
+        }
+
+        this.m_games++;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long AddPgn(final Path a_path, final int a_threads) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        public final long AddPgn(final Path a_path, final int a_threads) throws IOException, InterruptedException;
+
+        Path a_path --------------> A PGN file.
+
+        int a_threads ------------> The number of threads to read it with.
+
+    DESCRIPTION
+        This method counts the first moves of every game in a PGN file.
+        Only as many moves of each game as the book needs are replayed.
+
+    RETURNS
+        long: The number of games that could not be read.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long AddPgn(final Path a_path, final int a_threads) throws IOException, InterruptedException{
+        final long[] ERRORS = {Utilities.ZERO};
+
+        // ISO 8859-1 can decode any byte, so a stray character cannot stop the whole file
+        try(final Reader READER = Files.newBufferedReader(a_path, StandardCharsets.ISO_8859_1);
+            final ParallelPgnReader GAMES = new ParallelPgnReader(READER, a_threads, this.m_maxPlies)){
+            GAMES.ReadAll(game -> this.Add(game.GetRecord()), (number, message) -> ERRORS[Utilities.ZERO]++);
+            return ERRORS[Utilities.ZERO] + GAMES.GetSkippedGames();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetGameCount();
+
+    SYNOPSIS
+        public final long GetGameCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many games went into the book.
+
+    RETURNS
+        long m_games: The number of games.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetGameCount(){
+        return this.m_games;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Write(final Path a_path, final int a_minGames) throws IOException;
+
+    SYNOPSIS
+        public final int Write(final Path a_path, final int a_minGames) throws IOException;
+
+        Path a_path --------------> Where to write the book.
+
+        int a_minGames -----------> How many games a move must have been played in.
+
+    DESCRIPTION
+        This method writes the book, sorted by key as unsigned numbers
+        and then by weight from heaviest to lightest.
+
+    RETURNS
+        int: The number of entries written.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Write(final Path a_path, final int a_minGames) throws IOException{
+        final long[] KEYS = new long[this.m_moves.size()];
+        int size = Utilities.ZERO;
+        for(final long KEY : this.m_moves.keySet()){
+            KEYS[size++] = KEY;
+        }
+
+        // Polyglot compares keys as unsigned numbers, which flipping the sign bit turns into a signed sort
+        for(int i = Utilities.ZERO; i < KEYS.length; i++){
+            KEYS[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(KEYS);
+
+        int entries = Utilities.ZERO;
+        try(final DataOutputStream OUTPUT = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(a_path), 1 << 16))){
+            final List<long[]> MOVES = new ArrayList<>();
+
+            for(final long SORTED : KEYS){
+                final long KEY = SORTED ^ Long.MIN_VALUE;
+
+                MOVES.clear();
+                long heaviest = Utilities.ZERO;
+                for(final Map.Entry<Integer, long[]> MOVE : this.m_moves.get(KEY).entrySet()){
+                    final long[] COUNTS = MOVE.getValue();
+                    if(COUNTS[Utilities.ZERO] >= a_minGames && COUNTS[Utilities.ONE] > Utilities.ZERO){
+                        MOVES.add(new long[]{MOVE.getKey(), COUNTS[Utilities.ONE]});
+                        heaviest = Math.max(heaviest, COUNTS[Utilities.ONE]);
+                    }
+                }
+
+                MOVES.sort((a_first, a_second) -> Long.compare(a_second[Utilities.ONE], a_first[Utilities.ONE]));
+
+                for(final long[] MOVE : MOVES){
+                    final long WEIGHT = (heaviest > MAX_WEIGHT ? Math.max(Utilities.ONE, MOVE[Utilities.ONE] * MAX_WEIGHT / heaviest) : MOVE[Utilities.ONE]);
+                    OUTPUT.writeLong(KEY);
+                    OUTPUT.writeShort((int) MOVE[Utilities.ZERO]);
+                    OUTPUT.writeShort((int) WEIGHT);
+                    OUTPUT.writeInt(Utilities.ZERO);
+                    entries++;
+                }
+            }
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,364 @@
+package com.DarkBlue.EPD;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds one line of an EPD test suite: a position and what the
+ * engine should or should not play in it.
+ *
+ * A line is the first four fields of a FEN string followed by operations,
+ * each an opcode and its operands ended by a semicolon. The operations read are
+ * bm, the best moves, am, the moves to avoid, id, the name of the position, and
+ * hmvc and fmvn, the halfmove clock and move number, which are 0 and 1 otherwise.
+ * Moves are in algebraic notation and must be legal. Every other operation is ignored.
+ *
+ * A move solves the position if it is one of the best moves, when there are any,
+ * and none of the moves to avoid.
+ */
+public final class EpdPosition{
+
+    private final String m_id;
+    private final String m_fen;
+    private final short[] m_bestMoves;
+    private final short[] m_avoidMoves;
+
+    /**/
+    /*
+    NAME
+        public EpdPosition(final String a_line, final int a_number);
+
+    SYNOPSIS
+        public EpdPosition(final String a_line, final int a_number);
+
+        String a_line ------------> A line of an EPD file.
+
+        int a_number -------------> The line's number, which names it when it has no id.
+
+    DESCRIPTION
+        This constructor reads a line of an EPD file. It throws an
+        IllegalArgumentException if the position or any of its moves
+        cannot be read, or if it has neither best moves nor moves to avoid.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EpdPosition(final String a_line, final int a_number){
+        final String LINE = a_line.trim();
+
+        // The position is the first four fields
+        int end = Utilities.ZERO;
+        for(int field = Utilities.ZERO; field < Utilities.FOUR; field++){
+            while(end < LINE.length() && LINE.charAt(end) == ' '){
+                end++;
+            }
+            while(end < LINE.length() && LINE.charAt(end) != ' '){
+                end++;
+            }
+        }
+        final String BOARD = LINE.substring(Utilities.ZERO, end).trim();
+        if(BOARD.split(" +").length != Utilities.FOUR){
+            throw new IllegalArgumentException("Line " + a_number + " does not start with a position");
+        }
+
+        String id = "line " + a_number, halfmoves = "0", fullmoves = "1";
+        final List<String> BEST = new ArrayList<>(), AVOID = new ArrayList<>();
+
+        for(final String OPERATION : Operations(LINE.substring(end))){
+            final List<String> WORDS = Words(OPERATION);
+            if(WORDS.isEmpty()){
+                continue;
+            }
+
+            final List<String> OPERANDS = WORDS.subList(Utilities.ONE, WORDS.size());
+            switch(WORDS.get(Utilities.ZERO)){
+                case "bm": BEST.addAll(OPERANDS); break;
+                case "am": AVOID.addAll(OPERANDS); break;
+                case "id": id = (OPERANDS.isEmpty() ? id : OPERANDS.get(Utilities.ZERO)); break;
+                case "hmvc": halfmoves = (OPERANDS.isEmpty() ? halfmoves : OPERANDS.get(Utilities.ZERO)); break;
+                case "fmvn": fullmoves = (OPERANDS.isEmpty() ? fullmoves : OPERANDS.get(Utilities.ZERO)); break;
+                default: break;
+            }
+        }
+
+        if(BEST.isEmpty() && AVOID.isEmpty()){
+            throw new IllegalArgumentException(id + " has neither bm nor am");
+        }
+
+        this.m_id = id;
+        this.m_fen = BOARD + " " + halfmoves + " " + fullmoves;
+
+        final SanPosition POSITION = new SanPosition(this.m_fen);
+        this.m_bestMoves = Parse(POSITION, BEST, id);
+        this.m_avoidMoves = Parse(POSITION, AVOID, id);
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetId();
+
+    SYNOPSIS
+        public final String GetId();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the name of the position.
+
+    RETURNS
+        String m_id: The id operand, or the line number if there was none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetId(){
+        return this.m_id;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetFEN();
+
+    SYNOPSIS
+        public final String GetFEN();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the position.
+
+    RETURNS
+        String m_fen: The position as a FEN string.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetFEN(){
+        return this.m_fen;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsSolution(final short a_move);
+
+    SYNOPSIS
+        public final boolean IsSolution(final short a_move);
+
+        short a_move -------------> A packed move.
+
+    DESCRIPTION
+        This method checks a move against the best moves and the moves to avoid.
+
+    RETURNS
+        boolean: True if the move solves the position, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsSolution(final short a_move){
+        return (this.m_bestMoves.length == Utilities.ZERO || Contains(this.m_bestMoves, a_move)) && !Contains(this.m_avoidMoves, a_move);
+    }
+
+    /**/
+    /*
+    NAME
+        public final String Describe();
+
+    SYNOPSIS
+        public final String Describe();
+
+        No parameters.
+
+    DESCRIPTION
+        This method writes what the position asks for, in algebraic notation.
+
+    RETURNS
+        String: The bm and am operations, such as "bm Qxf7#" or "bm Nf3 Nc3; am Qh5".
+
+    AUTHOR
+        Ryan King
+    */
+    public final String Describe(){
+        final SanPosition POSITION = new SanPosition(this.m_fen);
+        final StringBuilder TEXT = new StringBuilder();
+
+        if(this.m_bestMoves.length > Utilities.ZERO){
+            TEXT.append("bm");
+            for(final short MOVE : this.m_bestMoves){
+                TEXT.append(' ').append(POSITION.ToSAN(MOVE));
+            }
+        }
+        if(this.m_avoidMoves.length > Utilities.ZERO){
+            TEXT.append(TEXT.length() == Utilities.ZERO ? "am" : "; am");
+            for(final short MOVE : this.m_avoidMoves){
+                TEXT.append(' ').append(POSITION.ToSAN(MOVE));
+            }
+        }
+
+        return TEXT.toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<String> Operations(final String a_text);
+
+    SYNOPSIS
+        private static List<String> Operations(final String a_text);
+
+        String a_text ------------> Everything after the position.
+
+    DESCRIPTION
+        This method splits the operations apart at the semicolons outside quotes.
+
+    RETURNS
+        List<String>: The operations, without their semicolons.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<String> Operations(final String a_text){
+        final List<String> OPERATIONS = new ArrayList<>();
+        boolean isQuoted = false;
+        int start = Utilities.ZERO;
+
+        for(int i = Utilities.ZERO; i < a_text.length(); i++){
+            if(a_text.charAt(i) == '"'){
+                isQuoted = !isQuoted;
+            }else if(a_text.charAt(i) == ';' && !isQuoted){
+                OPERATIONS.add(a_text.substring(start, i));
+                start = i + Utilities.ONE;
+            }
+        }
+        if(start < a_text.length()){
+            OPERATIONS.add(a_text.substring(start));
+        }
+
+        return OPERATIONS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<String> Words(final String a_operation);
+
+    SYNOPSIS
+        private static List<String> Words(final String a_operation);
+
+        String a_operation -------> An opcode and its operands.
+
+    DESCRIPTION
+        This method splits an operation into its opcode and operands,
+        keeping quoted operands whole and without their quotes.
+
+    RETURNS
+        List<String>: The opcode followed by the operands.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<String> Words(final String a_operation){
+        final List<String> WORDS = new ArrayList<>();
+        final StringBuilder WORD = new StringBuilder();
+        boolean isQuoted = false, isWord = false;
+
+        for(int i = Utilities.ZERO; i < a_operation.length(); i++){
+            final char CHARACTER = a_operation.charAt(i);
+            if(CHARACTER == '"'){
+                isQuoted = !isQuoted;
+                isWord = true;
+            }else if(Character.isWhitespace(CHARACTER) && !isQuoted){
+                if(isWord){
+                    WORDS.add(WORD.toString());
+                    WORD.setLength(Utilities.ZERO);
+                    isWord = false;
+                }
+            }else{
+                WORD.append(CHARACTER);
+                isWord = true;
+            }
+        }
+        if(isWord){
+            WORDS.add(WORD.toString());
+        }
+
+        return WORDS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static short[] Parse(final SanPosition a_position, final List<String> a_moves, final String a_id);
+
+    SYNOPSIS
+        private static short[] Parse(final SanPosition a_position, final List<String> a_moves, final String a_id);
+
+        SanPosition a_position ---> The position the moves are played in.
+
+        List<String> a_moves -----> The moves in algebraic notation.
+
+        String a_id --------------> The name of the position, for the message.
+
+    DESCRIPTION
+        This method finds the legal moves a list of algebraic notation describes.
+
+    RETURNS
+        short[]: The packed moves.
+
+    AUTHOR
+        Ryan King
+    */
+    private static short[] Parse(final SanPosition a_position, final List<String> a_moves, final String a_id){
+        final short[] MOVES = new short[a_moves.size()];
+
+        for(int i = Utilities.ZERO; i < MOVES.length; i++){
+            try{
+                MOVES[i] = a_position.Parse(a_moves.get(i));
+            }catch(IllegalArgumentException e){
+                throw new IllegalArgumentException(a_id + ": " + e.getMessage(), e);
+            }
+        }
+
+        return MOVES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean Contains(final short[] a_moves, final short a_move);
+
+    SYNOPSIS
+        private static boolean Contains(final short[] a_moves, final short a_move);
+
+        short[] a_moves ----------> The moves to look in.
+
+        short a_move -------------> The move to look for.
+
+    DESCRIPTION
+        This method looks for a move.
+
+    RETURNS
+        boolean: True if the move is there, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean Contains(final short[] a_moves, final short a_move){
+        for(final short MOVE : a_moves){
+            if(MOVE == a_move){
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
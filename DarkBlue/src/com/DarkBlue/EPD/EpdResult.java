@@ -0,0 +1,279 @@
+package com.DarkBlue.EPD;
+
+/**
+ * This class holds what the engine did with one position of a test suite.
+ *
+ * A position counts as solved at the first depth from which every depth the
+ * search finished played a solving move, and the time to solution is how long
+ * the search had taken when that depth finished. A search stopped before it
+ * finished its first depth is judged by the move it had found so far.
+ */
+public final class EpdResult{
+
+    private final EpdPosition m_position;
+    private final String m_move;
+    private final boolean m_isSolved;
+    private final int m_depth;
+    private final int m_solutionDepth;
+    private final long m_solutionMilliseconds;
+    private final long m_milliseconds;
+    private final long m_cpuMilliseconds;
+    private final long m_nodes;
+
+    /**/
+    /*
+    NAME
+        public EpdResult(final EpdPosition a_position, final String a_move, final boolean a_isSolved, final int a_depth, final int a_solutionDepth,
+                         final long a_solutionMilliseconds, final long a_milliseconds, final long a_cpuMilliseconds, final long a_nodes);
+
+    SYNOPSIS
+        public EpdResult(final EpdPosition a_position, final String a_move, final boolean a_isSolved, final int a_depth, final int a_solutionDepth,
+                         final long a_solutionMilliseconds, final long a_milliseconds, final long a_cpuMilliseconds, final long a_nodes);
+
+        EpdPosition a_position ---> The position searched.
+
+        String a_move ------------> The move played in algebraic notation, or "none".
+
+        boolean a_isSolved -------> If the move solves the position.
+
+        int a_depth --------------> The deepest depth finished.
+
+        int a_solutionDepth ------> The depth it was solved at, or -1.
+
+        long a_solutionMilliseconds -> The time to solution, or -1.
+
+        long a_milliseconds ------> How long the search took.
+
+        long a_cpuMilliseconds ---> How much CPU time the search took.
+
+        long a_nodes -------------> How many boards the search visited.
+
+    DESCRIPTION
+        This constructor creates a result.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EpdResult(final EpdPosition a_position, final String a_move, final boolean a_isSolved, final int a_depth, final int a_solutionDepth,
+                     final long a_solutionMilliseconds, final long a_milliseconds, final long a_cpuMilliseconds, final long a_nodes){
+        this.m_position = a_position;
+        this.m_move = a_move;
+        this.m_isSolved = a_isSolved;
+        this.m_depth = a_depth;
+        this.m_solutionDepth = a_solutionDepth;
+        this.m_solutionMilliseconds = a_solutionMilliseconds;
+        this.m_milliseconds = a_milliseconds;
+        this.m_cpuMilliseconds = a_cpuMilliseconds;
+        this.m_nodes = a_nodes;
+    }
+
+    /**/
+    /*
+    NAME
+        public final EpdPosition GetPosition();
+
+    SYNOPSIS
+        public final EpdPosition GetPosition();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the position searched.
+
+    RETURNS
+        EpdPosition m_position: The position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final EpdPosition GetPosition(){
+        return this.m_position;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetMove();
+
+    SYNOPSIS
+        public final String GetMove();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the move the engine played.
+
+    RETURNS
+        String m_move: The move in algebraic notation, or "none" if it found none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetMove(){
+        return this.m_move;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsSolved();
+
+    SYNOPSIS
+        public final boolean IsSolved();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns if the move played solves the position.
+
+    RETURNS
+        boolean m_isSolved: True if it does, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsSolved(){
+        return this.m_isSolved;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetDepth();
+
+    SYNOPSIS
+        public final int GetDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the deepest depth the search finished.
+
+    RETURNS
+        int m_depth: The depth, or 0 if it finished none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetDepth(){
+        return this.m_depth;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetSolutionDepth();
+
+    SYNOPSIS
+        public final int GetSolutionDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the depth the position was solved at.
+
+    RETURNS
+        int m_solutionDepth: The depth, or -1 if it was not solved.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetSolutionDepth(){
+        return this.m_solutionDepth;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetSolutionMilliseconds();
+
+    SYNOPSIS
+        public final long GetSolutionMilliseconds();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the time to solution.
+
+    RETURNS
+        long m_solutionMilliseconds: The time in milliseconds, or -1 if it was not solved.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetSolutionMilliseconds(){
+        return this.m_solutionMilliseconds;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetMilliseconds();
+
+    SYNOPSIS
+        public final long GetMilliseconds();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how long the whole search took.
+
+    RETURNS
+        long m_milliseconds: The time in milliseconds.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetMilliseconds(){
+        return this.m_milliseconds;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetCpuMilliseconds();
+
+    SYNOPSIS
+        public final long GetCpuMilliseconds();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how much CPU time the search took on its thread.
+
+    RETURNS
+        long m_cpuMilliseconds: The time in milliseconds.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetCpuMilliseconds(){
+        return this.m_cpuMilliseconds;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetNodes();
+
+    SYNOPSIS
+        public final long GetNodes();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many boards the search visited.
+
+    RETURNS
+        long m_nodes: The number of boards.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetNodes(){
+        return this.m_nodes;
+    }
+}
@@ -0,0 +1,617 @@
+package com.DarkBlue.EPD;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class runs the engine on a suite of EPD test positions and reports
+ * how many it solves, how fast, and with how many boards searched.
+ *
+ * Usage: EpdRunner [-t threads] [-d depth] [-m milliseconds] [-o results.json] [suite.epd]
+ *
+ * Every position is searched one depth at a time up to the given depth, 3 by default,
+ * and for no longer than the given time if there is one. The positions are split among
+ * the threads, one position per thread at a time, so a position is searched the same way
+ * however many threads there are, unless a time limit cuts it short. The suite is the
+ * tactics suite beside this class by default.
+ *
+ * A line is printed for every position, followed by the number solved and the number
+ * solved per CPU second, which compares versions on machines of any number of cores.
+ * With -o, the same results are written as JSON for tracking across versions.
+ * The computer always promotes to a queen, so a position whose best move is an
+ * underpromotion is never solved.
+ */
+public final class EpdRunner{
+
+    public static final String DEFAULT_SUITE = "src/com/DarkBlue/EPD/tactics.epd";
+    public static final int DEFAULT_DEPTH = Utilities.THREE;
+    public static final String NO_MOVE = "none";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int m_threads;
+    private final int m_depth;
+    private final long m_milliseconds;
+
+    /**/
+    /*
+    NAME
+        public EpdRunner(final int a_threads, final int a_depth, final long a_milliseconds);
+
+    SYNOPSIS
+        public EpdRunner(final int a_threads, final int a_depth, final long a_milliseconds);
+
+        int a_threads ------------> The number of positions to search at once.
+
+        int a_depth --------------> The deepest depth to search to.
+
+        long a_milliseconds ------> The longest a position may be searched, or 0 for no limit.
+
+    DESCRIPTION
+        This constructor creates a runner.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EpdRunner(final int a_threads, final int a_depth, final long a_milliseconds){
+        if(a_threads < Utilities.ONE || a_depth < Utilities.ONE || a_milliseconds < Utilities.ZERO){
+            throw new IllegalArgumentException("Invalid argument to EpdRunner constructor");
+        }
+
+        this.m_threads = a_threads;
+        this.m_depth = a_depth;
+        this.m_milliseconds = a_milliseconds;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method runs a suite and reports the results.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        int threads = Utilities.ONE, depth = DEFAULT_DEPTH;
+        long milliseconds = Utilities.ZERO;
+        String output = null, suite = DEFAULT_SUITE;
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    case "-d": depth = Integer.parseInt(a_args[++i]); break;
+                    case "-m": milliseconds = Long.parseLong(a_args[++i]); break;
+                    case "-o": output = a_args[++i]; break;
+                    default: suite = a_args[i];
+                }
+            }
+
+            if(threads < Utilities.ONE || depth < Utilities.ONE || milliseconds < Utilities.ZERO){
+                throw new IllegalArgumentException();
+            }
+        }catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+            System.err.println("Usage: EpdRunner [-t threads] [-d depth] [-m milliseconds] [-o results.json] [suite.epd]");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final EpdRunner RUNNER = new EpdRunner(threads, depth, milliseconds);
+            final List<EpdResult> RESULTS = RUNNER.Run(Read(Paths.get(suite)));
+            Report(RESULTS, System.out);
+
+            if(output != null){
+                try(final Writer WRITER = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)){
+                    WRITER.write(RUNNER.ToJSON(suite, RESULTS));
+                }
+            }
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static List<EpdPosition> Read(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public static List<EpdPosition> Read(final Path a_path) throws IOException;
+
+        Path a_path --------------> An EPD file.
+
+    DESCRIPTION
+        This method reads every position of a suite. Blank lines and
+        lines starting with # are skipped. It throws an IllegalArgumentException
+        naming the first line it cannot read.
+
+    RETURNS
+        List<EpdPosition>: The positions in the order of the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public static List<EpdPosition> Read(final Path a_path) throws IOException{
+        final List<EpdPosition> POSITIONS = new ArrayList<>();
+
+        try(final BufferedReader READER = Files.newBufferedReader(a_path, StandardCharsets.UTF_8)){
+            int number = Utilities.ZERO;
+            for(String line = READER.readLine(); line != null; line = READER.readLine()){
+                number++;
+                if(line.isBlank() || line.trim().startsWith("#")){
+                    continue;
+                }
+                POSITIONS.add(new EpdPosition(line, number));
+            }
+        }
+
+        return POSITIONS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final List<EpdResult> Run(final List<EpdPosition> a_positions) throws InterruptedException;
+
+    SYNOPSIS
+        public final List<EpdResult> Run(final List<EpdPosition> a_positions) throws InterruptedException;
+
+        List<EpdPosition> a_positions -> The positions to search.
+
+    DESCRIPTION
+        This method searches every position, as many at once as there are threads.
+
+    RETURNS
+        List<EpdResult>: The results in the order of the positions.
+
+    AUTHOR
+        Ryan King
+    */
+    public final List<EpdResult> Run(final List<EpdPosition> a_positions) throws InterruptedException{
+        final ExecutorService POOL = Executors.newFixedThreadPool(this.m_threads);
+        final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor();
+
+        final List<Callable<EpdResult>> TASKS = new ArrayList<>();
+        for(final EpdPosition POSITION : a_positions){
+            TASKS.add(() -> this.Solve(POSITION, TIMER));
+        }
+
+        try{
+            final List<EpdResult> RESULTS = new ArrayList<>();
+            for(final Future<EpdResult> FUTURE : POOL.invokeAll(TASKS)){
+                RESULTS.add(FUTURE.get());
+            }
+            return RESULTS;
+        }catch(ExecutionException e){
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }finally{
+            POOL.shutdownNow();
+            TIMER.shutdownNow();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static void Report(final List<EpdResult> a_results, final PrintStream a_output);
+
+    SYNOPSIS
+        public static void Report(final List<EpdResult> a_results, final PrintStream a_output);
+
+        List<EpdResult> a_results -> The results of a suite.
+
+        PrintStream a_output -----> Where to print them.
+
+    DESCRIPTION
+        This method prints a line for every position and the totals.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void Report(final List<EpdResult> a_results, final PrintStream a_output){
+        for(final EpdResult RESULT : a_results){
+            final EpdPosition POSITION = RESULT.GetPosition();
+            if(RESULT.IsSolved()){
+                a_output.printf("%s: %s solved at depth %d in %d ms, %d nodes%n", POSITION.GetId(), RESULT.GetMove(), RESULT.GetSolutionDepth(), RESULT.GetSolutionMilliseconds(), RESULT.GetNodes());
+            }else{
+                a_output.printf("%s: %s not solved (%s) at depth %d in %d ms, %d nodes%n", POSITION.GetId(), RESULT.GetMove(), POSITION.Describe(), RESULT.GetDepth(), RESULT.GetMilliseconds(), RESULT.GetNodes());
+            }
+        }
+
+        a_output.printf(Locale.ROOT, "solved %d of %d, %d nodes, %.3f CPU seconds, %.3f solved per CPU second%n", Solved(a_results), a_results.size(), Nodes(a_results), CpuSeconds(a_results), SolvedPerCpuSecond(a_results));
+    }
+
+    /**/
+    /*
+    NAME
+        public final String ToJSON(final String a_suite, final List<EpdResult> a_results);
+
+    SYNOPSIS
+        public final String ToJSON(final String a_suite, final List<EpdResult> a_results);
+
+        String a_suite -----------> The name of the suite.
+
+        List<EpdResult> a_results -> The results of the suite.
+
+    DESCRIPTION
+        This method writes the settings, the totals, and every result as one JSON object.
+        Times are in milliseconds, and -1 stands for a position never solved.
+
+    RETURNS
+        String: The JSON.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String ToJSON(final String a_suite, final List<EpdResult> a_results){
+        final StringBuilder JSON = new StringBuilder("{\n");
+        JSON.append("  \"suite\": ").append(Quote(a_suite)).append(",\n");
+        JSON.append("  \"depth\": ").append(this.m_depth).append(",\n");
+        JSON.append("  \"milliseconds\": ").append(this.m_milliseconds).append(",\n");
+        JSON.append("  \"threads\": ").append(this.m_threads).append(",\n");
+        JSON.append("  \"positions\": ").append(a_results.size()).append(",\n");
+        JSON.append("  \"solved\": ").append(Solved(a_results)).append(",\n");
+        JSON.append("  \"nodes\": ").append(Nodes(a_results)).append(",\n");
+        JSON.append("  \"cpu_seconds\": ").append(String.format(Locale.ROOT, "%.3f", CpuSeconds(a_results))).append(",\n");
+        JSON.append("  \"solved_per_cpu_second\": ").append(String.format(Locale.ROOT, "%.3f", SolvedPerCpuSecond(a_results))).append(",\n");
+        JSON.append("  \"results\": [");
+
+        for(int i = Utilities.ZERO; i < a_results.size(); i++){
+            final EpdResult RESULT = a_results.get(i);
+            JSON.append(i == Utilities.ZERO ? "\n" : ",\n");
+            JSON.append("    {\"id\": ").append(Quote(RESULT.GetPosition().GetId()));
+            JSON.append(", \"move\": ").append(Quote(RESULT.GetMove()));
+            JSON.append(", \"solved\": ").append(RESULT.IsSolved());
+            JSON.append(", \"depth\": ").append(RESULT.GetDepth());
+            JSON.append(", \"solution_depth\": ").append(RESULT.GetSolutionDepth());
+            JSON.append(", \"solution_ms\": ").append(RESULT.GetSolutionMilliseconds());
+            JSON.append(", \"ms\": ").append(RESULT.GetMilliseconds());
+            JSON.append(", \"cpu_ms\": ").append(RESULT.GetCpuMilliseconds());
+            JSON.append(", \"nodes\": ").append(RESULT.GetNodes()).append('}');
+        }
+
+        return JSON.append("\n  ]\n}\n").toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private EpdResult Solve(final EpdPosition a_position, final ScheduledExecutorService a_timer);
+
+    SYNOPSIS
+        private EpdResult Solve(final EpdPosition a_position, final ScheduledExecutorService a_timer);
+
+        EpdPosition a_position ---> The position to search.
+
+        ScheduledExecutorService a_timer -> What stops the search when its time is up.
+
+    DESCRIPTION
+        This method deepens the search of a position on the current thread
+        until it reaches the deepest depth or runs out of time.
+
+    RETURNS
+        EpdResult: What the search did.
+
+    AUTHOR
+        Ryan King
+    */
+    private EpdResult Solve(final EpdPosition a_position, final ScheduledExecutorService a_timer){
+        final SanPosition POSITION = new SanPosition(a_position.GetFEN());
+        final Board BOARD = POSITION.GetBoard();
+        final ChessColor TURN = BOARD.WhoseTurnIsIt();
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        final AtomicBoolean STOP = new AtomicBoolean();
+        Minimax.STOP.set(STOP);
+        final ScheduledFuture<?> ALARM = (this.m_milliseconds > Utilities.ZERO ? a_timer.schedule(() -> STOP.set(true), this.m_milliseconds, TimeUnit.MILLISECONDS) : null);
+
+        final long START = System.nanoTime();
+        final long CPU_START = CpuTime();
+        final long NODES_START = Minimax.THREAD_NODES.get()[Utilities.ZERO];
+
+        Move bestMove = null;
+        int depth = Utilities.ZERO, solutionDepth = Utilities.NEGATIVE_ONE;
+        long solutionTime = Utilities.NEGATIVE_ONE;
+
+        try{
+            while(depth < this.m_depth && !POSITION.GetLegalMoves().isEmpty()){
+                final Move MOVE = Minimax.MinimaxRoot(depth + Utilities.ONE, BOARD, WHITE, BLACK, true, TURN, null);
+
+                // Only finished depths count, unless none finished at all
+                if(STOP.get()){
+                    if(bestMove == null && MOVE != null && a_position.IsSolution(Pack(MOVE))){
+                        solutionDepth = depth + Utilities.ONE;
+                        solutionTime = System.nanoTime() - START;
+                    }
+                    bestMove = (bestMove == null ? MOVE : bestMove);
+                    break;
+                }
+
+                depth++;
+                bestMove = MOVE;
+
+                if(MOVE == null || !a_position.IsSolution(Pack(MOVE))){
+                    solutionDepth = Utilities.NEGATIVE_ONE;
+                    solutionTime = Utilities.NEGATIVE_ONE;
+                }else if(solutionDepth == Utilities.NEGATIVE_ONE){
+                    solutionDepth = depth;
+                    solutionTime = System.nanoTime() - START;
+                }
+            }
+        }finally{
+            if(ALARM != null){
+                ALARM.cancel(false);
+            }
+            Minimax.STOP.remove();
+        }
+
+        final long TIME = System.nanoTime() - START;
+        final long CPU_TIME = (CPU_START < Utilities.ZERO ? TIME : CpuTime() - CPU_START);
+        final long NODES = Minimax.THREAD_NODES.get()[Utilities.ZERO] - NODES_START;
+        final String SAN = (bestMove == null ? NO_MOVE : POSITION.ToSAN(Pack(bestMove)));
+
+        return new EpdResult(a_position, SAN, solutionDepth != Utilities.NEGATIVE_ONE, depth, solutionDepth,
+                             Milliseconds(solutionTime), Milliseconds(TIME), Milliseconds(CPU_TIME), NODES);
+    }
+
+    /**/
+    /*
+    NAME
+        private static short Pack(final Move a_move);
+
+    SYNOPSIS
+        private static short Pack(final Move a_move);
+
+        Move a_move --------------> A move the search returned.
+
+    DESCRIPTION
+        This method packs a move, promoting to a queen as the computer always does.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    private static short Pack(final Move a_move){
+        return PackedMove.FromMove(a_move, (SanPosition.IsPromotion(a_move) ? PackedMove.QUEEN : PackedMove.NO_PROMOTION));
+    }
+
+    /**/
+    /*
+    NAME
+        private static long CpuTime();
+
+    SYNOPSIS
+        private static long CpuTime();
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads how much CPU time the current thread has taken.
+
+    RETURNS
+        long: The time in nanoseconds, or -1 if the JVM cannot tell.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long CpuTime(){
+        return (THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : Utilities.NEGATIVE_ONE);
+    }
+
+    /**/
+    /*
+    NAME
+        private static long Milliseconds(final long a_nanoseconds);
+
+    SYNOPSIS
+        private static long Milliseconds(final long a_nanoseconds);
+
+        long a_nanoseconds -------> A time, or -1.
+
+    DESCRIPTION
+        This method converts a time to milliseconds, leaving -1 alone.
+
+    RETURNS
+        long: The time in milliseconds, or -1.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long Milliseconds(final long a_nanoseconds){
+        return (a_nanoseconds < Utilities.ZERO ? Utilities.NEGATIVE_ONE : a_nanoseconds / 1000000);
+    }
+
+    /**/
+    /*
+    NAME
+        public static int Solved(final List<EpdResult> a_results);
+
+    SYNOPSIS
+        public static int Solved(final List<EpdResult> a_results);
+
+        List<EpdResult> a_results -> The results of a suite.
+
+    DESCRIPTION
+        This method counts the positions solved.
+
+    RETURNS
+        int: The number solved.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Solved(final List<EpdResult> a_results){
+        int solved = Utilities.ZERO;
+        for(final EpdResult RESULT : a_results){
+            solved += (RESULT.IsSolved() ? Utilities.ONE : Utilities.ZERO);
+        }
+        return solved;
+    }
+
+    /**/
+    /*
+    NAME
+        private static long Nodes(final List<EpdResult> a_results);
+
+    SYNOPSIS
+        private static long Nodes(final List<EpdResult> a_results);
+
+        List<EpdResult> a_results -> The results of a suite.
+
+    DESCRIPTION
+        This method adds up the boards every search visited.
+
+    RETURNS
+        long: The number of boards.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long Nodes(final List<EpdResult> a_results){
+        long nodes = Utilities.ZERO;
+        for(final EpdResult RESULT : a_results){
+            nodes += RESULT.GetNodes();
+        }
+        return nodes;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double CpuSeconds(final List<EpdResult> a_results);
+
+    SYNOPSIS
+        private static double CpuSeconds(final List<EpdResult> a_results);
+
+        List<EpdResult> a_results -> The results of a suite.
+
+    DESCRIPTION
+        This method adds up the CPU time every search took.
+
+    RETURNS
+        double: The time in seconds.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double CpuSeconds(final List<EpdResult> a_results){
+        long milliseconds = Utilities.ZERO;
+        for(final EpdResult RESULT : a_results){
+            milliseconds += RESULT.GetCpuMilliseconds();
+        }
+        return milliseconds / 1000.0;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double SolvedPerCpuSecond(final List<EpdResult> a_results);
+
+    SYNOPSIS
+        private static double SolvedPerCpuSecond(final List<EpdResult> a_results);
+
+        List<EpdResult> a_results -> The results of a suite.
+
+    DESCRIPTION
+        This method divides the positions solved by the CPU time taken.
+
+    RETURNS
+        double: The positions solved per CPU second, or 0 if no time was taken.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double SolvedPerCpuSecond(final List<EpdResult> a_results){
+        final double SECONDS = CpuSeconds(a_results);
+        return (SECONDS == Utilities.ZERO ? Utilities.ZERO : Solved(a_results) / SECONDS);
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Quote(final String a_text);
+
+    SYNOPSIS
+        private static String Quote(final String a_text);
+
+        String a_text ------------> Any text.
+
+    DESCRIPTION
+        This method writes text as a JSON string.
+
+    RETURNS
+        String: The text in quotes, with quotes, backslashes, and control characters escaped.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Quote(final String a_text){
+        final StringBuilder QUOTED = new StringBuilder("\"");
+
+        for(int i = Utilities.ZERO; i < a_text.length(); i++){
+            final char CHARACTER = a_text.charAt(i);
+            if(CHARACTER == '"' || CHARACTER == '\\'){
+                QUOTED.append('\\').append(CHARACTER);
+            }else if(CHARACTER < ' '){
+                QUOTED.append(String.format("\\u%04x", (int) CHARACTER));
+            }else{
+                QUOTED.append(CHARACTER);
+            }
+        }
+
+        return QUOTED.append('"').toString();
+    }
+}
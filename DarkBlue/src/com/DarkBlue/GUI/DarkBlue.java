@@ -3,6 +3,8 @@ package com.DarkBlue.GUI;
 import com.DarkBlue.Board.Board;
 import com.DarkBlue.Board.Tile;
 import com.DarkBlue.Board.Board.BoardBuilder;
+import com.DarkBlue.Book.PolyglotBook;
+import com.DarkBlue.Move.LegalMoveSet;
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Piece.Piece;
 import com.DarkBlue.Piece.PieceType;
@@ -12,13 +14,20 @@ import com.DarkBlue.Player.Player;
 import com.DarkBlue.Player.Human;
 import com.DarkBlue.Player.Computer;
 import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.SearchStatistics;
+import com.DarkBlue.NNUE.Network;
+import com.DarkBlue.Tablebase.Tablebases;
 import com.DarkBlue.Testing.GameTest;
 import com.DarkBlue.Utilities.Utilities;
 import com.DarkBlue.Utilities.BoardUtilities;
 import com.DarkBlue.Utilities.ChessColor;
 import com.DarkBlue.Utilities.Factory;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
 import com.DarkBlue.Utilities.GameState;
 import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Zobrist;
 
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseAdapter;
@@ -39,8 +48,8 @@ import java.util.Calendar;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.Stack;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
@@ -73,6 +82,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * This class is the driver class for the entire program.
@@ -133,7 +144,7 @@ public final class DarkBlue extends JFrame{
     private static final long serialVersionUID = Utilities.ONE_LONG;
     
     // Headers for dialog boxes
-    public static final String TITLE = "Dark Blue";
+    public static final String TITLE = Utilities.TITLE;
     public static final String NEW_GAME = "New Game";
     public static final String LOAD_GAME = "Load Game";
     public static final String SAVE_GAME = "Save Game";
@@ -210,6 +221,8 @@ public final class DarkBlue extends JFrame{
     public static final String SERIAL_PATH = "src/com/DarkBlue/Serial/";
     public static final String UNICODE = "UTF-8";
     public static final String FILE_EXTENSION = ".fen";
+    public static final String BOOK_EXTENSION = ".bin";
+    public static final String STATISTICS_FLAG = "-statistics";
     
     // Options for color choice
     public static final Object WHITE = "White";
@@ -253,12 +266,6 @@ public final class DarkBlue extends JFrame{
     
     /* Fields for move evaluation and serialization */
 
-    // Tells if a serialized game can allow either king to castle on either side
-    private boolean m_canWhiteKingsideCastle = false;
-    private boolean m_canWhiteQueensideCastle = false;
-    private boolean m_canBlackKingsideCastle = false;
-    private boolean m_canBlackQueensideCastle = false;
-    
     // This gets appended to a move text area when one player gets promoted
     private String m_promotionString = null;
 
@@ -280,8 +287,11 @@ public final class DarkBlue extends JFrame{
     // The history of the game from move to move in the form of FEN strings
     private Stack<String> m_gameHistory;
     
-    // The number of times each board position has occurred during the game
-    private HashMap<String, Integer> m_positions;
+    // The Zobrist key of every board position that has occurred during the game
+    private PositionHistory m_positions;
+    
+    // Reused for every serialization so saving each move does not build throwaway strings
+    private final StringBuilder m_serial = new StringBuilder(FenWriter.CAPACITY);
     
     // The players described by color
     private Player m_white, m_black;
@@ -391,7 +401,7 @@ public final class DarkBlue extends JFrame{
         super(TITLE);
       
         // Initialize important final fields
-        this.m_positions = new HashMap<>();
+        this.m_positions = new PositionHistory();
         this.m_gameHistory = new Stack<>();
         
         // Initialize both colors to defaults
@@ -540,7 +550,7 @@ public final class DarkBlue extends JFrame{
         		this.m_board.GetTile(Utilities.SEVEN - (this.m_candidate.GetCurrentRow()), Utilities.SEVEN - (this.m_candidate.GetCurrentColumn())).LightUp();
         	}
         	// Highlight the tiles of every legal move; light up different tiles depending on the perspective of the board
-            for(final Move MOVE : this.m_candidate.GetCurrentLegalMoves()){
+            for(final Move MOVE : this.m_board.GetLegalMoves().GetMoves(this.m_candidate.GetCurrentRow(), this.m_candidate.GetCurrentColumn())){
             	if(m_humanPlayer.IsWhite()){
             		this.m_board.GetTile(MOVE.GetNewRow() + Utilities.ONE, MOVE.GetNewColumn() + Utilities.ONE).LightUp();
             	}else{
@@ -579,7 +589,7 @@ public final class DarkBlue extends JFrame{
         		this.m_board.GetTile(Utilities.SEVEN - (this.m_candidate.GetCurrentRow()), Utilities.SEVEN - (this.m_candidate.GetCurrentColumn())).Revert();
         	}
         	// Change the colors of every legal move; change different tiles depending on the perspective of the board
-            for(final Move MOVE : this.m_candidate.GetCurrentLegalMoves()){
+            for(final Move MOVE : this.m_board.GetLegalMoves().GetMoves(this.m_candidate.GetCurrentRow(), this.m_candidate.GetCurrentColumn())){
             	if(m_humanPlayer.IsWhite()){
             		this.m_board.GetTile(MOVE.GetNewRow() + Utilities.ONE, MOVE.GetNewColumn() + Utilities.ONE).Revert();
             	}else{
@@ -823,9 +833,8 @@ public final class DarkBlue extends JFrame{
     
     DESCRIPTION
         This method returns the piece that was
-        previously moved. This is more useful
-        outside of this class, especially for the
-        evaluation of en passant moves.
+        previously moved. Boards keep their own
+        en passant tiles, so the engine does not need it.
     
     RETURNS
         Piece m_previouslyMoved: The previously moved piece.
@@ -919,22 +928,12 @@ public final class DarkBlue extends JFrame{
         Ryan King
     */
     public final String Serialize(){
-    	// Initialize the serialization string
-    	String serial = this.m_board.GetBoard().toString();	
-    	    	
-    	// Add a space as a delimiter
-    	serial += Utilities.SPACE;
-    	
-    	// Add the current number of halfmoves (times white/black moved individually)
-    	serial += Integer.toString(this.m_currentHalfmoves);
+    	// Start over with the builder used for the previous serialization
+    	this.m_serial.setLength(Utilities.ZERO);
     	
-    	// Add a space as a delimiter
-    	serial += Utilities.SPACE;
-    	
-    	// Add the current number of fullmoves (times when black finished moving)
-    	serial += Integer.toString(this.m_fullmoves);
-    	
-    	return serial;
+    	// Write the board followed by the current number of halfmoves (times white/black moved individually)
+    	// and the current number of fullmoves (times when black finished moving)
+    	return FenWriter.Write(this.m_board.GetBoard(), this.m_currentHalfmoves, this.m_fullmoves, this.m_serial).toString();
     }
     
     /**/
@@ -1162,14 +1161,11 @@ public final class DarkBlue extends JFrame{
         // Determine if the next player to move is in check
         final Player MOVER = (m_board.WhoseTurnIsIt().IsWhite() ? this.m_white : this.m_black);
         final Player OPPONENT = (MOVER.IsWhite() ? this.m_black : this.m_white);
-        final GameState MOVER_STATE = GameUtilities.EvaluateGameState(MOVER, OPPONENT, this.m_board.GetBoard(), this.m_currentHalfmoves, null);
+        final GameState MOVER_STATE = GameUtilities.EvaluateGameState(this.m_board.GetLegalMoves(), MOVER, OPPONENT, this.m_currentHalfmoves, null);
         
         // If the mover is in check and is a human, show a warning message
-        if(MOVER_STATE == GameState.CHECK){
-            MOVER.GetKing().RemoveCastlingMoves();
-            if(MOVER.IsHuman()){
-                JOptionPane.showMessageDialog(this.m_menuBar, CHECK_MESSAGE, TITLE, JOptionPane.WARNING_MESSAGE);
-            }
+        if(MOVER_STATE == GameState.CHECK && MOVER.IsHuman()){
+            JOptionPane.showMessageDialog(this.m_menuBar, CHECK_MESSAGE, TITLE, JOptionPane.WARNING_MESSAGE);
         }
     }
     
@@ -1198,41 +1194,23 @@ public final class DarkBlue extends JFrame{
         https://github.com/amir650/BlackWidow-Chess/blob/master/src/com/chess/pgn/FenUtilities.java
     */
     private final void ParseFEN(final String a_FENString, final boolean a_isSerializedGame) throws Exception{
-        // PARTS will hold the six parts of the FEN string
-    	final String[] PARTS = a_FENString.split(Character.toString(Utilities.SPACE));
-		
-    	// BUILDER will be a template for building the new board
-		final BoardBuilder BUILDER = new BoardBuilder();
-		
-		// PARTS[0] represents the configuration of the board
-		final String[] BOARD = PARTS[Utilities.ZERO].split(Character.toString(Utilities.FORWARD_SLASH));
-		
-		// PARTS[1] determines whose turn it is
-		try{
-		    ParseTurn(PARTS[Utilities.ONE], BUILDER);
-		}catch(Exception e){
-		    throw e;
-		}
-		
-		// PARTS[2] determines which players have a king and rook that have not moved,
-		// but castling need not be feasible on the current turn
-		ParseCastlingRights(PARTS[Utilities.TWO]);
-		
-		// Set up the board
-		for(int i = Utilities.ZERO; i < BOARD.length; i++){
-			GameUtilities.ParseRank(i, BOARD[i], BUILDER);
-		}
-		
-		// PARTS[3] contains the destination tile of an en passant capture
-		ParseEnPassantTile(PARTS[Utilities.THREE], BUILDER);
-		
-		// PARTS[4] contains the number of halfmoves made since the last capture or pawn movement
-		// PARTS[5] contains the fullmove clock accumulated throughout the entire game
-		try{
-		    ParseMoveClocks(PARTS[Utilities.FOUR], PARTS[Utilities.FIVE]);
-		}catch(Exception e){
-		    throw e;
-		}
+        // Read every part of the string in a single pass
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_FENString)){
+            throw new Exception(PARSER.GetError() + " at offset " + PARSER.GetErrorOffset());
+        }
+        
+        // BUILDER holds the board configuration, whose turn it is,
+        // and which kings and rooks can still castle
+        final BoardBuilder BUILDER = PARSER.ToBuilder();
+        
+        // Set up the en passant tile, if any
+        ParseEnPassantTile(PARSER.HasEnPassantTile() ? BoardUtilities.ToAlgebraic(PARSER.GetEnPassantRow(), PARSER.GetEnPassantColumn()) : Character.toString(Utilities.NO_RIGHTS_OR_TILE), BUILDER);
+        
+        // Set the number of halfmoves made since the last capture or pawn movement
+        // and the fullmove clock accumulated throughout the entire game
+        this.m_currentHalfmoves = PARSER.GetHalfmoves();
+        this.m_fullmoves = PARSER.GetFullmoves();
 		
 		// Set the board configuration
 		this.m_board.SetBoard(BUILDER.Build());
@@ -1251,104 +1229,6 @@ public final class DarkBlue extends JFrame{
 		SetUpTextAreas(a_isSerializedGame);
     }
     
-    /**/
-    /*
-    NAME
-        private final void ParseTurn(final String a_turn, final BoardBuilder a_builder);
-    
-    SYNOPSIS
-        private final void ParseTurn(final String a_turn, final BoardBuilder a_builder);
-    
-        String a_turn -----------> The string representing whose turn it is.
-        
-        BoardBuilder a_builder --> The builder which contains information about the board.
-    
-    DESCRIPTION
-        This method parses a string with the letter "w" or "b"
-        into a turn flag for the board.
-        It throws an exception if it encounters a problem.
-    
-    RETURNS
-        Nothing
-    
-    AUTHOR
-        Ryan King
-    */
-    private final void ParseTurn(final String a_turn, final BoardBuilder a_builder) throws Exception{
-        if(a_turn.equalsIgnoreCase("w")){
-            a_builder.SetWhoseTurn(ChessColor.WHITE);
-        }else if(a_turn.equalsIgnoreCase("b")){
-            a_builder.SetWhoseTurn(ChessColor.BLACK);
-        }else{
-            throw new Exception("Invalid turn");
-        }
-    }
-    
-    /**/
-    /*
-    NAME
-        private final void ParseCastlingRights(final String a_rights);
-    
-    SYNOPSIS
-        private final void ParseCastlingRights(final String a_rights);
-    
-        String a_rights -----------> The string representing castling rights.
-
-    DESCRIPTION
-        This method parses a string with the letters "KQkq"
-        to determine castling rights for both sides.
-        No input validation is performed because the rights
-        have already been validated previously in the program.
-    
-    RETURNS
-        Nothing
-    
-    AUTHOR
-        Ryan King
-    */
-    private final void ParseCastlingRights(final String a_rights){
-        // Idiot proofing
-        if(a_rights == null || a_rights.isBlank()){
-            return;
-        }
-        
-        // No castling rights
-        if(a_rights.equals(Character.toString(Utilities.NO_RIGHTS_OR_TILE))){
-            this.m_canWhiteKingsideCastle = false;
-            this.m_canWhiteQueensideCastle = false;
-            this.m_canBlackKingsideCastle = false;
-            this.m_canBlackQueensideCastle = false;
-        }else{        
-            // White kingside castling rights
-            if(a_rights.contains(Character.toString(Utilities.WHITE_KING_BOARD_ICON))){
-                this.m_canWhiteKingsideCastle = true;
-            }else{
-                this.m_canWhiteKingsideCastle = false;
-            }
-        
-            // White queenside castling rights
-            if(a_rights.contains(Character.toString(Utilities.WHITE_QUEEN_BOARD_ICON))){
-                this.m_canWhiteQueensideCastle = true;
-            }else{
-                this.m_canWhiteQueensideCastle = false;
-            }
-        
-            // Black kingside castling rights
-            if(a_rights.contains(Character.toString(Utilities.BLACK_KING_BOARD_ICON))){
-                this.m_canBlackKingsideCastle = true;
-            }else{
-                this.m_canBlackKingsideCastle = false;
-            }
-        
-            // Black queenside castling rights
-            if(a_rights.contains(Character.toString(Utilities.BLACK_QUEEN_BOARD_ICON))){
-                this.m_canBlackQueensideCastle = true;
-            }else{
-                this.m_canBlackQueensideCastle = false;
-            }
-        }
-    }
-    
     /**/
     /*
     NAME
@@ -1399,42 +1279,6 @@ public final class DarkBlue extends JFrame{
         }
     }
     
-    /**/
-    /*
-    NAME
-        private final void ParseMoveClocks(final String a_halfmoves, final String a_fullmoves);
-    
-    SYNOPSIS
-        private final void ParseMoveClocks(final String a_halfmoves, final String a_fullmoves);
-    
-        String a_halfmoves -----------> The string representing the number of halfmoves made since the last capture or pawn movement.
-        
-        String a_fullmoves -----------> The string representing the number of times both white and black have moved during the entire game.
-
-    DESCRIPTION
-        This method parses the halfmove and fullmove clocks
-        into their respective fields.
-        Both numbers have been validated so no range checking is performed.
-        However, this can throw an exception if something goes wrong.
-    
-    RETURNS
-        Nothing
-    
-    AUTHOR
-        Ryan King
-    */
-    private final void ParseMoveClocks(final String a_halfmoves, final String a_fullmoves) throws Exception{
-        try{
-            // PARTS[4] contains the number of halfmoves that have occurred since the last capture or pawn movement
-            this.m_currentHalfmoves = Integer.parseInt(a_halfmoves);
-        
-            // PARTS[5] contains the number of fullmoves (a set of two moves made by both white and black) made during the entire game
-            this.m_fullmoves = Integer.parseInt(a_fullmoves);
-        }catch(Exception e){
-            throw e;
-        }
-    }
-    
     /**/
     /*
     NAME
@@ -1565,11 +1409,14 @@ public final class DarkBlue extends JFrame{
 		// Do not allow the user to interfere with the computer's move
 		this.m_menuBar.DisableTabs();
 
+		// Copy the positions here, since the game may change them while the search runs
+		final PositionHistory POSITIONS = new PositionHistory(m_positions);
+
     	this.m_worker = new SwingWorker<Move, Void>(){
     		
     		@Override
     		protected final Move doInBackground(){    			
-    			return Minimax.MinimaxRoot(m_depth, m_board.GetBoard(), m_white, m_black, true, m_computerPlayer.GetColor());
+    			return Search(m_depth, m_board.GetBoard(), m_white, m_black, m_computerPlayer.GetColor(), POSITIONS);
     		}
     		
     		@Override
@@ -1602,7 +1449,7 @@ public final class DarkBlue extends JFrame{
     				AppendMove(m_computerPlayer.GetColor());
     				
     				// Evaluate the game state
-    				m_gameState = GameUtilities.EvaluateGameState(m_humanPlayer, m_computerPlayer, m_board.GetBoard(), m_currentHalfmoves, m_positions);
+    				m_gameState = GameUtilities.EvaluateGameState(m_board.GetLegalMoves(), m_humanPlayer, m_computerPlayer, m_currentHalfmoves, m_positions);
         
     				// Keep track of the move clocks
     				UpdateMoveClocks();
@@ -1973,7 +1820,8 @@ public final class DarkBlue extends JFrame{
             this.m_computerPlayer = this.m_white;
         }
 
-        // Find all pieces on the board and initialize all legal moves
+        // Find all pieces on the board and initialize all legal moves for the new players
+        this.m_board.InvalidateLegalMoves();
         RefreshPlayers();
     }
     
@@ -1989,7 +1837,10 @@ public final class DarkBlue extends JFrame{
     
     DESCRIPTION
         This method refreshes the pieces
-        and legal moves of both players.
+        and legal moves of both players
+        and keeps the moves in the board's LegalMoveSet.
+        Nothing is done if the board has not changed
+        since the last time the players were refreshed.
     
     RETURNS
         Nothing
@@ -1998,8 +1849,13 @@ public final class DarkBlue extends JFrame{
         Ryan King
     */
     public final void RefreshPlayers(){
+        if(this.m_board.HasLegalMoves()){
+            return;
+        }
+        
         this.m_white.Refresh(this.m_board.GetBoard());
         this.m_black.Refresh(this.m_board.GetBoard());
+        this.m_board.SetLegalMoves(new LegalMoveSet(this.m_board.GetBoard(), this.m_white, this.m_black));
     }
     
     /**/
@@ -2112,13 +1968,17 @@ public final class DarkBlue extends JFrame{
     SYNOPSIS
         public static final void main(final String[] a_args);
     
-        String[] a_args ------> The array of command line arguments (None are needed for this program).
+        String[] a_args ------> The array of command line arguments, all optional: the path of a network file
+                                for the computer to evaluate with, the path of a Polyglot opening book ending in .bin,
+                                a directory of endgame tables, and -statistics to print what every search does.
     
     DESCRIPTION
         This method is the driver of the entire program. It starts by
         showing a human an empty chessboard. Once there, the human can
         click the "File" menu and go down to the "New Game" or "Load Game"
         tabs to start a game.
+        If a network cannot be loaded, the computer falls back to its positional tables,
+        and if a book or the endgame tables cannot be opened, the computer searches every move.
     
     RETURNS
         Nothing
@@ -2126,10 +1986,80 @@ public final class DarkBlue extends JFrame{
     AUTHOR
         Ryan King
     */
-    public static final void main(final String[] a_args){        
+    public static final void main(final String[] a_args){
+        for(final String ARGUMENT : a_args){
+            if(ARGUMENT.equals(STATISTICS_FLAG)){
+                SearchStatistics.SetActive(new SearchStatistics());
+                continue;
+            }else if(ARGUMENT.endsWith(BOOK_EXTENSION)){
+                try{
+                    PolyglotBook.SetActive(new PolyglotBook(Paths.get(ARGUMENT)));
+                }catch(IOException e){
+                    System.err.println("Could not open the book " + ARGUMENT + ": " + e.getMessage());
+                }
+                continue;
+            }else if(Files.isDirectory(Paths.get(ARGUMENT))){
+                try{
+                    Tablebases.SetActive(new Tablebases(Paths.get(ARGUMENT)));
+                }catch(IOException e){
+                    System.err.println("Could not open the endgame tables in " + ARGUMENT + ": " + e.getMessage());
+                }
+                continue;
+            }
+
+            try{
+                Network.SetActive(Network.Load(Paths.get(ARGUMENT)));
+            }catch(IOException e){
+                System.err.println("Could not load the network " + ARGUMENT + ": " + e.getMessage());
+            }
+        }
+        
     	DarkBlue.GetInstance();
     }
     
+    /**/
+    /*
+    NAME
+        private static final Move Search(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final ChessColor a_color, final PositionHistory a_history);
+    
+    SYNOPSIS
+        private static final Move Search(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final ChessColor a_color, final PositionHistory a_history);
+    
+        int a_depth --------------> The depth to search to.
+        
+        Board a_board ------------> The board to search.
+        
+        Player a_white -----------> The white player.
+        
+        Player a_black -----------> The black player.
+        
+        ChessColor a_color -------> The color of the player the move is for.
+        
+        PositionHistory a_history -> The positions of the game.
+    
+    DESCRIPTION
+        This method finds the best move for a player, and prints
+        what the search did if search statistics are active.
+    
+    RETURNS
+        Move: The best move.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static final Move Search(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final ChessColor a_color, final PositionHistory a_history){
+        final SearchStatistics STATISTICS = SearchStatistics.GetActive();
+        if(STATISTICS == null){
+            return Minimax.MinimaxRoot(a_depth, a_board, a_white, a_black, true, a_color, a_history);
+        }
+        
+        STATISTICS.Begin();
+        final Move MOVE = Minimax.MinimaxRoot(a_depth, a_board, a_white, a_black, true, a_color, a_history);
+        System.out.println(STATISTICS.End());
+        
+        return MOVE;
+    }
+    
     /**/
     /*
     NAME
@@ -2411,19 +2341,16 @@ public final class DarkBlue extends JFrame{
     /**/
     /*
     NAME
-        private final void RemoveCopy(final String a_old);
+        private final void RemoveCopy();
     
     SYNOPSIS
-        private final void RemoveCopy(final String a_old);
+        private final void RemoveCopy();
 
-        String a_old -------------> The old copy of the board to remove from the hash.
+        No parameters.
         
     DESCRIPTION
-        This method removes an undone board configuration from the hash.
-        If there are multiple occurrences of this board already recorded
-        in the hash, it will decrement that hash entry by one.
-        if there is only one copy of this board in the hash, 
-        the entire entry will be removed from the hash.
+        This method removes the newest board configuration from the position history
+        once it has been undone, so it no longer counts toward threefold repetition.
 
     RETURNS
         Nothing
@@ -2431,14 +2358,8 @@ public final class DarkBlue extends JFrame{
     AUTHOR
         Ryan King
     */
-    private final void RemoveCopy(final String a_old){
-        if(m_positions.containsKey(a_old)){
-            if(m_positions.get(a_old) <= Utilities.ONE){
-                m_positions.remove(a_old);                
-            }else{
-                m_positions.replace(a_old, m_positions.get(a_old) - Utilities.ONE);
-            }                   
-        }
+    private final void RemoveCopy(){
+        m_positions.Pop();
     }
     
     /**/
@@ -2466,10 +2387,9 @@ public final class DarkBlue extends JFrame{
     	if(m_gameHistory.size() >= Utilities.THREE){
     		for(int i = Utilities.ZERO; i < Utilities.TWO; i++){
     			// Remove each intermediate board from the game history
-    			final String HISTORY = m_gameHistory.pop();
-    			final String OLD = HISTORY.split(Character.toString(Utilities.SPACE))[Utilities.ZERO];
+    			m_gameHistory.pop();
     			
-    			RemoveCopy(OLD);
+    			RemoveCopy();
     		}
     		
     		// Record the old board without removing it from the history
@@ -2495,11 +2415,8 @@ public final class DarkBlue extends JFrame{
     			// Do not allow the observer to change players
     			this.m_isPreviouslySavedGame = true;
     			
-    			// Get only the configuration of the old board
-    			final String OLD = OLD_BOARD.split(Character.toString(Utilities.SPACE))[Utilities.ZERO];
-    			
-    			// Remove one copy of the board from the hash to prevent accidents regarding threefold repetition
-    			RemoveCopy(OLD);
+    			// Remove one copy of the board from the history to prevent accidents regarding threefold repetition
+    			RemoveCopy();
     			
     			// Check for any status changes
     			m_watcher.Observe();
@@ -2873,7 +2790,7 @@ public final class DarkBlue extends JFrame{
     			m_candidate = m_sourceTile.GetPiece();
             	
     			// Only highlight moves if the user clicked on a piece that is his/her color and has at least one legal move
-                if(m_sourceTile.IsOccupied() && m_candidate.GetColor().IsAlly(m_currentPlayer.GetColor()) && m_candidate.CanMove()){
+                if(m_sourceTile.IsOccupied() && m_candidate.GetColor().IsAlly(m_currentPlayer.GetColor()) && m_board.GetLegalMoves().CanMove(m_sourceTile.GetRow(), m_sourceTile.GetColumn())){
                     m_shouldHighlightLegalMoves = true;
                     m_menuBar.DisableUndo();
                 }else{
@@ -2899,7 +2816,7 @@ public final class DarkBlue extends JFrame{
                     m_menuBar.EnableUndo();
                 }else{
                 	// The player chose a place to move                	 
-                    if(Utilities.IsLegal(m_candidate, m_destinationTile.GetRow(), m_destinationTile.GetColumn())){
+                    if(m_board.GetLegalMoves().IsLegal(m_sourceTile.GetRow(), m_sourceTile.GetColumn(), m_destinationTile.GetRow(), m_destinationTile.GetColumn())){
                         PlayThrough();
                         m_menuBar.EnableUndo();
                     }else{
@@ -2940,7 +2857,7 @@ public final class DarkBlue extends JFrame{
                 JOptionPane.showMessageDialog(m_menuBar, EMPTY_TILE_ERROR, EMPTY_TILE_HEADER, JOptionPane.PLAIN_MESSAGE);
             }else if(m_sourceTile.IsOccupied() && m_candidate.GetColor().IsEnemy(m_currentPlayer.GetColor())){
                 JOptionPane.showMessageDialog(m_menuBar, WRONG_COLOR_ERROR, WRONG_COLOR_HEADER, JOptionPane.PLAIN_MESSAGE);
-            }else if(m_candidate.GetColor().IsAlly(m_currentPlayer.GetColor()) && !m_candidate.CanMove()){
+            }else if(m_candidate.GetColor().IsAlly(m_currentPlayer.GetColor()) && !m_board.GetLegalMoves().CanMove(m_sourceTile.GetRow(), m_sourceTile.GetColumn())){
                 JOptionPane.showMessageDialog(m_menuBar, NO_LEGAL_MOVES_ERROR, NO_LEGAL_MOVES_HEADER, JOptionPane.PLAIN_MESSAGE);
             }
         }
@@ -3127,6 +3044,9 @@ public final class DarkBlue extends JFrame{
         
         private final GUITile[][] m_tiles;
         private Board m_board;
+        
+        // The legal moves of both players on the board, or null until the players are refreshed on it
+        private LegalMoveSet m_legalMoves;
 
         /**/
         /*
@@ -3233,6 +3153,103 @@ public final class DarkBlue extends JFrame{
         */
         public final void SetBoard(final Board a_board){
             m_board = a_board;
+            m_legalMoves = null;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final LegalMoveSet GetLegalMoves();
+        
+        SYNOPSIS
+            public final LegalMoveSet GetLegalMoves();
+        
+            No parameters.
+        
+        DESCRIPTION
+            This method returns the legal moves of both players on the board,
+            refreshing the players first if they have not been refreshed on it.
+        
+        RETURNS
+            LegalMoveSet m_legalMoves: The legal moves.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final LegalMoveSet GetLegalMoves(){
+            RefreshPlayers();
+            return m_legalMoves;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final void SetLegalMoves(final LegalMoveSet a_legalMoves);
+        
+        SYNOPSIS
+            public final void SetLegalMoves(final LegalMoveSet a_legalMoves);
+        
+            LegalMoveSet a_legalMoves -> The legal moves of both players on the board.
+        
+        DESCRIPTION
+            This method keeps the legal moves found for the board
+            until the board changes.
+        
+        RETURNS
+            Nothing
+        
+        AUTHOR
+            Ryan King
+        */
+        public final void SetLegalMoves(final LegalMoveSet a_legalMoves){
+            m_legalMoves = a_legalMoves;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final boolean HasLegalMoves();
+        
+        SYNOPSIS
+            public final boolean HasLegalMoves();
+        
+            No parameters.
+        
+        DESCRIPTION
+            This method determines if the legal moves of the board are known.
+        
+        RETURNS
+            boolean: True if they are known, and false if the players must be refreshed.
+        
+        AUTHOR
+            Ryan King
+        */
+        public final boolean HasLegalMoves(){
+            return m_legalMoves != null;
+        }
+        
+        /**/
+        /*
+        NAME
+            public final void InvalidateLegalMoves();
+        
+        SYNOPSIS
+            public final void InvalidateLegalMoves();
+        
+            No parameters.
+        
+        DESCRIPTION
+            This method forgets the legal moves of the board, which
+            must be done when the players are replaced without replacing the board.
+        
+        RETURNS
+            Nothing
+        
+        AUTHOR
+            Ryan King
+        */
+        public final void InvalidateLegalMoves(){
+            m_legalMoves = null;
         }
         
         /**/
@@ -4001,7 +4018,7 @@ public final class DarkBlue extends JFrame{
             m_fullmoves = Utilities.ONE;
 
             // Reset the game history
-            m_positions.clear();
+            m_positions.Clear();
             m_gameHistory.clear();
                 
             // Reset mouse-driven fields
@@ -4329,7 +4346,8 @@ public final class DarkBlue extends JFrame{
             after the Help Me Move button is clicked.
             It uses the computer's own Minimax algorithm
             to determine the best course of action and displays
-            the results in a pop-up window.
+            the results in a pop-up window, unless the user
+            has only one legal move, which is suggested right away.
             Each string is custom-built for each unique move using
             a series of if statements.
         
@@ -4345,18 +4363,28 @@ public final class DarkBlue extends JFrame{
             https://github.com/amir650/BlackWidow-Chess/blob/master/src/com/chess/gui/Table.java
         */
         private final void HelpMeMoveClicked(){
+            // There is nothing to search for if only one move is legal
+            final List<Move> MOVES = m_board.GetLegalMoves().GetMoves(m_humanPlayer.GetColor());
+            if(MOVES.size() == Utilities.ONE){
+                JOptionPane.showMessageDialog(m_menuBar, ConstructHelpMessage(MOVES.get(Utilities.ZERO)), HELP, JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            
         	// Disable the File and Help menus
             DisableTabs();
         	
         	// Construct a new "Thinking..." dialog and set it up
     		SpawnThinkingDialog();
 
+    		// Copy the positions here, since the game may change them while the search runs
+    		final PositionHistory POSITIONS = new PositionHistory(m_positions);
+
     		// Execute Minimax from the human player's perspective
         	m_worker = new SwingWorker<Move, Void>(){
         		@Override
         		public final Move doInBackground(){
         		    // Find the best move from the current player's perspective
-        			return Minimax.MinimaxRoot(m_depth, m_board.GetBoard(), m_white, m_black, true, m_humanPlayer.GetColor());
+        			return Search(m_depth, m_board.GetBoard(), m_white, m_black, m_humanPlayer.GetColor(), POSITIONS);
         		}
         		
         		@Override
@@ -4976,11 +5004,8 @@ public final class DarkBlue extends JFrame{
 				return;
 			}
 			
-			// Refresh all moves for both players
+			// Refresh all moves for both players if the board has changed
             RefreshPlayers();
-			
-			// Record the position of the board
-			RecordBoard();
 				
 			// Determine who moved last
 			final ChessColor PREVIOUS = m_currentPlayer.GetColor();
@@ -4989,14 +5014,14 @@ public final class DarkBlue extends JFrame{
 			// See if the player moved a pawn to get promoted
 			CheckForPromotions(m_currentPlayer);
 			
-			// Refresh the moves again if any pawns got promoted
+			// Refresh the moves again if any pawns got promoted, which replaces the board
 			RefreshPlayers();
 
 			// Adjust the castling privileges of both players if necessary
 			AdjustCastlingRights(m_currentPlayer);
 			AdjustCastlingRights(OTHER);
 			
-			// Refresh the moves again if castling rights have changed
+			// Refresh the moves again if castling rights have changed, which replaces a king
 			RefreshPlayers();
 			
 			// Determine the right text area based on who moved
@@ -5008,8 +5033,11 @@ public final class DarkBlue extends JFrame{
 			// Save the FEN for undoing the move
 			m_gameHistory.push(SERIAL);
 			
+			// Record the position of the board now that promotions and castling rights are settled
+			RecordBoard();
+			
 			// Determine the state of the game
-			m_gameState = GameUtilities.EvaluateGameState(OTHER, m_currentPlayer, m_board.GetBoard(), m_currentHalfmoves, m_positions);
+			m_gameState = GameUtilities.EvaluateGameState(m_board.GetLegalMoves(), OTHER, m_currentPlayer, m_currentHalfmoves, m_positions);
 			
 			// Determine if a =Q/=R/=B/=N needs to be appended
 			AppendPromotion(AREA);
@@ -5341,9 +5369,6 @@ public final class DarkBlue extends JFrame{
 	        a_area.append(CHECK);
 	    }
 	    
-        // A king cannot castle when he is in check
-        a_other.GetKing().RemoveCastlingMoves();
-        
         // Warn the human player if s/he is in check
         if(a_other.IsHuman()){
             JOptionPane.showMessageDialog(m_menuBar, CHECK_MESSAGE, TITLE, JOptionPane.WARNING_MESSAGE);
@@ -5439,11 +5464,10 @@ public final class DarkBlue extends JFrame{
 	private final void AdjustCastlingRights(final Player a_player){
 	    // Idiot proofing
 	    if(a_player != null && !a_player.GetKing().HasMoved() && a_player.GetKing().IsInOriginalSpot()){
-	        // Gather all the fields of the opponent's king and his associated tile
+	        // Gather all the fields of the opponent's king
             final King KING = a_player.GetKing();
             final int KING_ROW = KING.GetCurrentRow();
             final int KING_COLUMN = KING.GetCurrentColumn();
-            final ChessColor KING_TILE_COLOR = m_board.GetBoard().GetTile(KING_ROW, KING_COLUMN).GetColor();
 
             // Find the true status of castling rights
             final boolean KINGSIDE = KING.HasKingsideCastlingRook(m_board.GetBoard());
@@ -5451,7 +5475,8 @@ public final class DarkBlue extends JFrame{
             
             // Make a new king if anything is different
             if(KINGSIDE != KING.CanKingsideCastle() || QUEENSIDE != KING.CanQueensideCastle()){
-                m_board.GetBoard().GetBoard()[KING_ROW][KING_COLUMN] = new Tile(KING_TILE_COLOR, KING_ROW, KING_COLUMN, new King(a_player.GetColor(), KING_ROW, KING_COLUMN, KINGSIDE, QUEENSIDE));
+                // Replace the board rather than the tile, since the board may have found the moves of its pieces already
+                m_board.SetBoard(m_board.GetBoard().Replace(King.GetShared(a_player.GetColor(), KING_ROW, KING_COLUMN, false, KINGSIDE, QUEENSIDE)));
             }
         }
 	}
@@ -5467,9 +5492,8 @@ public final class DarkBlue extends JFrame{
         No parameters.
     
     DESCRIPTION
-        This method records the FEN string of the current board
-        into the game history HashMap if the game was not the result
-        of an undo or a new game.
+        This method records the Zobrist key of the current board
+        and the current halfmove clock into the position history.
     
     RETURNS
         Nothing
@@ -5478,14 +5502,6 @@ public final class DarkBlue extends JFrame{
         Ryan King
     */
 	private final void RecordBoard(){
-	    // Get only the board configuration
-	    final String BOARD = m_board.GetBoard().toString().split(Character.toString(Utilities.SPACE))[Utilities.ZERO];
-	    
-	    // Place it into a new entry if one doesn't exist yet or increment an existing entry
-        if(!m_positions.containsKey(BOARD)){
-            m_positions.put(BOARD, Utilities.ONE);
-        }else{
-            m_positions.replace(BOARD, m_positions.get(BOARD) + Utilities.ONE);
-        }
+	    m_positions.Push(Zobrist.Hash(m_board.GetBoard()), m_currentHalfmoves);
 	}
 }
\ No newline at end of file
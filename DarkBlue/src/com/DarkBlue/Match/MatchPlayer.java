@@ -0,0 +1,167 @@
+package com.DarkBlue.Match;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.EvaluationWeights;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class is one side of a self-play match: a search depth and,
+ * optionally, evaluation weights of its own.
+ *
+ * A player is written as its depth, followed by a colon and the path
+ * of a weights file if it has one, e.g. "3" or "3:tuned.txt". A player
+ * without weights evaluates with the active ones. Weights are set on the
+ * searching thread only for the length of a search, so any number of games
+ * between players with different weights can be played at once.
+ */
+public final class MatchPlayer{
+
+    // What Choose() returns when it has no move, which no legal move packs into
+    public static final short NO_MOVE = (short) 0xFFFF;
+
+    private final String m_name;
+    private final int m_depth;
+    private final EvaluationWeights m_weights;
+
+    /**/
+    /*
+    NAME
+        public MatchPlayer(final String a_name, final int a_depth, final EvaluationWeights a_weights);
+
+    SYNOPSIS
+        public MatchPlayer(final String a_name, final int a_depth, final EvaluationWeights a_weights);
+
+        String a_name ------------> What the player is called in reports.
+
+        int a_depth --------------> How deep the player searches, at least 1.
+
+        EvaluationWeights a_weights -> The weights it evaluates with, or null for the active weights.
+
+    DESCRIPTION
+        This constructor creates a player.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public MatchPlayer(final String a_name, final int a_depth, final EvaluationWeights a_weights){
+        if(a_depth < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to MatchPlayer constructor");
+        }
+
+        this.m_name = a_name;
+        this.m_depth = a_depth;
+        this.m_weights = a_weights;
+    }
+
+    /**/
+    /*
+    NAME
+        public static MatchPlayer Parse(final String a_text) throws IOException;
+
+    SYNOPSIS
+        public static MatchPlayer Parse(final String a_text) throws IOException;
+
+        String a_text ------------> A player written as described above.
+
+    DESCRIPTION
+        This method reads a player and loads its weights, if it has any.
+        It throws an IllegalArgumentException if the depth cannot be read.
+
+    RETURNS
+        MatchPlayer: The player, named by the text.
+
+    AUTHOR
+        Ryan King
+    */
+    public static MatchPlayer Parse(final String a_text) throws IOException{
+        final int COLON = a_text.indexOf(':');
+        final String DEPTH = (COLON < Utilities.ZERO ? a_text : a_text.substring(Utilities.ZERO, COLON));
+        final EvaluationWeights WEIGHTS = (COLON < Utilities.ZERO ? null : EvaluationWeights.Load(Paths.get(a_text.substring(COLON + Utilities.ONE))));
+
+        try{
+            return new MatchPlayer(a_text, Integer.parseInt(DEPTH), WEIGHTS);
+        }catch(NumberFormatException e){
+            throw new IllegalArgumentException("Not a player: " + a_text);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetName();
+
+    SYNOPSIS
+        public final String GetName();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns what the player is called in reports.
+
+    RETURNS
+        String m_name: The name.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetName(){
+        return this.m_name;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short Choose(final SanPosition a_position, final PositionHistory a_history);
+
+    SYNOPSIS
+        public final short Choose(final SanPosition a_position, final PositionHistory a_history);
+
+        SanPosition a_position ---> The position to move in, which has a legal move.
+
+        PositionHistory a_history -> The positions of the game so far, ending with this one.
+
+    DESCRIPTION
+        This method searches for the player's move on the calling thread.
+        The computer always promotes to a queen.
+
+    RETURNS
+        short: The packed move, or NO_MOVE if the search was stopped before it found one.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short Choose(final SanPosition a_position, final PositionHistory a_history){
+        final Board BOARD = a_position.GetBoard();
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        final Move MOVE;
+        EvaluationWeights.SetThreadWeights(this.m_weights);
+        try{
+            MOVE = Minimax.MinimaxRoot(this.m_depth, BOARD, WHITE, BLACK, true, BOARD.WhoseTurnIsIt(), a_history);
+        }finally{
+            EvaluationWeights.SetThreadWeights(null);
+        }
+
+        if(MOVE == null){
+            return NO_MOVE;
+        }
+        return PackedMove.FromMove(MOVE, (SanPosition.IsPromotion(MOVE) ? PackedMove.QUEEN : PackedMove.NO_PROMOTION));
+    }
+}
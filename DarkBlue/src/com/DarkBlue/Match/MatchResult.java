@@ -0,0 +1,160 @@
+package com.DarkBlue.Match;
+
+/**
+ * This class holds the score of a match from the candidate's side,
+ * along with what the SPRT made of it when the match ended.
+ */
+public final class MatchResult{
+
+    private final long m_wins;
+    private final long m_draws;
+    private final long m_losses;
+    private final int m_decision;
+
+    /**/
+    /*
+    NAME
+        public MatchResult(final long a_wins, final long a_draws, final long a_losses, final int a_decision);
+
+    SYNOPSIS
+        public MatchResult(final long a_wins, final long a_draws, final long a_losses, final int a_decision);
+
+        long a_wins --------------> The candidate's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The candidate's losses.
+
+        int a_decision -----------> Sprt.ACCEPT_H0, Sprt.ACCEPT_H1, or Sprt.CONTINUE if every game was played first.
+
+    DESCRIPTION
+        This constructor creates a result.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public MatchResult(final long a_wins, final long a_draws, final long a_losses, final int a_decision){
+        this.m_wins = a_wins;
+        this.m_draws = a_draws;
+        this.m_losses = a_losses;
+        this.m_decision = a_decision;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetWins();
+
+    SYNOPSIS
+        public final long GetWins();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the games the candidate won.
+
+    RETURNS
+        long m_wins: The number of wins.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetWins(){
+        return this.m_wins;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetDraws();
+
+    SYNOPSIS
+        public final long GetDraws();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the games drawn.
+
+    RETURNS
+        long m_draws: The number of draws.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetDraws(){
+        return this.m_draws;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetLosses();
+
+    SYNOPSIS
+        public final long GetLosses();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the games the candidate lost.
+
+    RETURNS
+        long m_losses: The number of losses.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetLosses(){
+        return this.m_losses;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetGames();
+
+    SYNOPSIS
+        public final long GetGames();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the games that were finished and scored.
+
+    RETURNS
+        long: The number of games.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetGames(){
+        return this.m_wins + this.m_draws + this.m_losses;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetDecision();
+
+    SYNOPSIS
+        public final int GetDecision();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns what the SPRT decided.
+
+    RETURNS
+        int m_decision: Sprt.ACCEPT_H0, Sprt.ACCEPT_H1, or Sprt.CONTINUE if it decided nothing.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetDecision(){
+        return this.m_decision;
+    }
+}
@@ -0,0 +1,506 @@
+package com.DarkBlue.Match;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.GameRecordWriter;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.GameState;
+import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class plays a candidate engine against a baseline engine until an SPRT
+ * decides which hypothesis about their strength holds, or the games run out.
+ *
+ * Usage: MatchRunner [-g games] [-t threads] [-o games.dbgr] [-p plies] [-e0 elo0] [-e1 elo1] [-a alpha] [-b beta] openings candidate baseline
+ *
+ * The candidate and the baseline are written as a depth and an optional weights
+ * file, as in MatchPlayer. Every opening is played twice in a row with the colors
+ * swapped, so neither side gains from a lopsided opening. The openings file holds
+ * one FEN or EPD per line, and "startpos" stands for the standard start.
+ *
+ * Games are played on a fixed pool of threads, one game per thread, as many threads
+ * as there are cores by default. Every finished game is adjudicated by the rules,
+ * with a game that reaches the ply limit scored as a draw, then written to the
+ * compact game record format with -o and counted. Once the SPRT decides, the games
+ * still being played are stopped and thrown away. By default the test is of H0: 0 Elo
+ * against H1: 5 Elo, with alpha and beta of 0.05.
+ */
+public final class MatchRunner{
+
+    public static final int DEFAULT_GAMES = 20000;
+    public static final int DEFAULT_MAX_PLIES = 400;
+    public static final double DEFAULT_ELO0 = 0.0;
+    public static final double DEFAULT_ELO1 = 5.0;
+    public static final double DEFAULT_ALPHA = 0.05;
+    public static final double DEFAULT_BETA = 0.05;
+    public static final String START_POSITION = "startpos";
+
+    private final MatchPlayer m_candidate;
+    private final MatchPlayer m_baseline;
+    private final int m_threads;
+    private final int m_maxPlies;
+    private final Sprt m_sprt;
+
+    /**/
+    /*
+    NAME
+        public MatchRunner(final MatchPlayer a_candidate, final MatchPlayer a_baseline, final int a_threads, final int a_maxPlies, final Sprt a_sprt);
+
+    SYNOPSIS
+        public MatchRunner(final MatchPlayer a_candidate, final MatchPlayer a_baseline, final int a_threads, final int a_maxPlies, final Sprt a_sprt);
+
+        MatchPlayer a_candidate --> The engine being tested.
+
+        MatchPlayer a_baseline ---> The engine it is tested against.
+
+        int a_threads ------------> The number of games to play at once.
+
+        int a_maxPlies -----------> The number of plies after which a game is a draw.
+
+        Sprt a_sprt --------------> The test that ends the match.
+
+    DESCRIPTION
+        This constructor creates a runner.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public MatchRunner(final MatchPlayer a_candidate, final MatchPlayer a_baseline, final int a_threads, final int a_maxPlies, final Sprt a_sprt){
+        if(a_candidate == null || a_baseline == null || a_sprt == null || a_threads < Utilities.ONE || a_maxPlies < Utilities.ONE || a_maxPlies > GameRecord.MAX_MOVES){
+            throw new IllegalArgumentException("Invalid argument to MatchRunner constructor");
+        }
+
+        this.m_candidate = a_candidate;
+        this.m_baseline = a_baseline;
+        this.m_threads = a_threads;
+        this.m_maxPlies = a_maxPlies;
+        this.m_sprt = a_sprt;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method plays a match and prints its progress and result.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        int games = DEFAULT_GAMES, threads = Runtime.getRuntime().availableProcessors(), plies = DEFAULT_MAX_PLIES;
+        double elo0 = DEFAULT_ELO0, elo1 = DEFAULT_ELO1, alpha = DEFAULT_ALPHA, beta = DEFAULT_BETA;
+        String output = null;
+        final List<String> NAMES = new ArrayList<>();
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-g": games = Integer.parseInt(a_args[++i]); break;
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    case "-o": output = a_args[++i]; break;
+                    case "-p": plies = Integer.parseInt(a_args[++i]); break;
+                    case "-e0": elo0 = Double.parseDouble(a_args[++i]); break;
+                    case "-e1": elo1 = Double.parseDouble(a_args[++i]); break;
+                    case "-a": alpha = Double.parseDouble(a_args[++i]); break;
+                    case "-b": beta = Double.parseDouble(a_args[++i]); break;
+                    default: NAMES.add(a_args[i]);
+                }
+            }
+
+            if(NAMES.size() != Utilities.THREE || games < Utilities.ONE || threads < Utilities.ONE || plies < Utilities.ONE){
+                throw new IllegalArgumentException();
+            }
+        }catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+            System.err.println("Usage: MatchRunner [-g games] [-t threads] [-o games.dbgr] [-p plies] [-e0 elo0] [-e1 elo1] [-a alpha] [-b beta] openings candidate baseline");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final List<String> OPENINGS = ReadOpenings(Paths.get(NAMES.get(Utilities.ZERO)));
+            final MatchRunner RUNNER = new MatchRunner(MatchPlayer.Parse(NAMES.get(Utilities.ONE)), MatchPlayer.Parse(NAMES.get(Utilities.TWO)), threads, plies, new Sprt(elo0, elo1, alpha, beta));
+
+            final MatchResult RESULT;
+            if(output == null){
+                RESULT = RUNNER.Run(OPENINGS, games, null, System.out);
+            }else{
+                try(final GameRecordWriter WRITER = new GameRecordWriter(new BufferedOutputStream(Files.newOutputStream(Paths.get(output))), false)){
+                    RESULT = RUNNER.Run(OPENINGS, games, WRITER, System.out);
+                }
+            }
+
+            switch(RESULT.GetDecision()){
+                case Sprt.ACCEPT_H0: System.out.printf(Locale.ROOT, "H0 accepted: the candidate is not %.1f Elo stronger%n", elo1); break;
+                case Sprt.ACCEPT_H1: System.out.printf(Locale.ROOT, "H1 accepted: the candidate is %.1f Elo stronger%n", elo1); break;
+                default: System.out.println("no decision after " + RESULT.GetGames() + " games");
+            }
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static List<String> ReadOpenings(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public static List<String> ReadOpenings(final Path a_path) throws IOException;
+
+        Path a_path --------------> A file of openings.
+
+    DESCRIPTION
+        This method reads one opening per line. An EPD line, or a FEN without
+        its move counters, starts with a clock of 0 on move 1. Blank lines and
+        lines starting with # are skipped. It throws an IllegalArgumentException
+        naming the first line it cannot read, or if there are no openings.
+
+    RETURNS
+        List<String>: The openings as full FEN in the order of the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public static List<String> ReadOpenings(final Path a_path) throws IOException{
+        final List<String> OPENINGS = new ArrayList<>();
+
+        try(final BufferedReader READER = Files.newBufferedReader(a_path, StandardCharsets.UTF_8)){
+            int number = Utilities.ZERO;
+            for(String line = READER.readLine(); line != null; line = READER.readLine()){
+                number++;
+                if(line.isBlank() || line.trim().startsWith("#")){
+                    continue;
+                }
+
+                try{
+                    OPENINGS.add(ToFEN(line.trim()));
+                }catch(RuntimeException e){
+                    throw new IllegalArgumentException("Line " + number + " is not an opening: " + line);
+                }
+            }
+        }
+
+        if(OPENINGS.isEmpty()){
+            throw new IllegalArgumentException("There are no openings in " + a_path);
+        }
+        return OPENINGS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final MatchResult Run(final List<String> a_openings, final int a_games, final GameRecordWriter a_writer, final PrintStream a_progress)
+            throws IOException, InterruptedException;
+
+    SYNOPSIS
+        public final MatchResult Run(final List<String> a_openings, final int a_games, final GameRecordWriter a_writer, final PrintStream a_progress)
+            throws IOException, InterruptedException;
+
+        List<String> a_openings --> The openings as full FEN, used in turn.
+
+        int a_games --------------> The most games to play.
+
+        GameRecordWriter a_writer -> Where to write every game, or null.
+
+        PrintStream a_progress ---> Where to print a line after every game, or null.
+
+    DESCRIPTION
+        This method plays games as many at once as there are threads until the
+        SPRT decides or the games run out. Games are written in the order they finish.
+
+    RETURNS
+        MatchResult: The score from the candidate's side and the decision.
+
+    AUTHOR
+        Ryan King
+    */
+    public final MatchResult Run(final List<String> a_openings, final int a_games, final GameRecordWriter a_writer, final PrintStream a_progress)
+        throws IOException, InterruptedException{
+        final ExecutorService POOL = Executors.newFixedThreadPool(this.m_threads);
+        final CompletionService<PlayedGame> GAMES = new ExecutorCompletionService<>(POOL);
+        final AtomicBoolean STOP = new AtomicBoolean();
+
+        // Each pair of games plays one opening with the colors swapped
+        for(int i = Utilities.ZERO; i < a_games; i++){
+            final String FEN = a_openings.get((i / Utilities.TWO) % a_openings.size());
+            final boolean IS_CANDIDATE_WHITE = (i % Utilities.TWO == Utilities.ZERO);
+            GAMES.submit(() -> this.Play(FEN, IS_CANDIDATE_WHITE, STOP));
+        }
+
+        long wins = Utilities.ZERO, draws = Utilities.ZERO, losses = Utilities.ZERO;
+        int decision = Sprt.CONTINUE;
+
+        try{
+            for(int i = Utilities.ZERO; i < a_games && decision == Sprt.CONTINUE; i++){
+                final PlayedGame GAME = GAMES.take().get();
+                if(GAME == null){
+                    continue;
+                }
+
+                if(a_writer != null){
+                    a_writer.Write(GAME.m_record);
+                }
+
+                final int SCORE = GAME.CandidateScore();
+                wins += (SCORE > Utilities.ZERO ? Utilities.ONE : Utilities.ZERO);
+                draws += (SCORE == Utilities.ZERO ? Utilities.ONE : Utilities.ZERO);
+                losses += (SCORE < Utilities.ZERO ? Utilities.ONE : Utilities.ZERO);
+                decision = this.m_sprt.Decide(wins, draws, losses);
+
+                if(a_progress != null){
+                    a_progress.printf(Locale.ROOT, "game %d: +%d =%d -%d, Elo %.1f +/- %.1f, LLR %.2f (%.2f, %.2f)%n", wins + draws + losses, wins, draws, losses,
+                                      Sprt.Elo(wins, draws, losses), Sprt.EloError(wins, draws, losses), this.m_sprt.LogLikelihoodRatio(wins, draws, losses),
+                                      this.m_sprt.GetLowerBound(), this.m_sprt.GetUpperBound());
+                }
+            }
+        }catch(ExecutionException e){
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }finally{
+            STOP.set(true);
+            POOL.shutdownNow();
+        }
+
+        return new MatchResult(wins, draws, losses, decision);
+    }
+
+    /**/
+    /*
+    NAME
+        private PlayedGame Play(final String a_fen, final boolean a_isCandidateWhite, final AtomicBoolean a_stop);
+
+    SYNOPSIS
+        private PlayedGame Play(final String a_fen, final boolean a_isCandidateWhite, final AtomicBoolean a_stop);
+
+        String a_fen -------------> The opening.
+
+        boolean a_isCandidateWhite -> If the candidate plays white.
+
+        AtomicBoolean a_stop -----> What stops the match.
+
+    DESCRIPTION
+        This method plays one game on the current thread.
+
+    RETURNS
+        PlayedGame: The finished game, or null if the match was stopped first.
+
+    AUTHOR
+        Ryan King
+    */
+    private PlayedGame Play(final String a_fen, final boolean a_isCandidateWhite, final AtomicBoolean a_stop){
+        if(a_stop.get()){
+            return null;
+        }
+
+        final MatchPlayer WHITE = (a_isCandidateWhite ? this.m_candidate : this.m_baseline);
+        final MatchPlayer BLACK = (a_isCandidateWhite ? this.m_baseline : this.m_candidate);
+        final SanPosition POSITION = new SanPosition(a_fen);
+        final PositionHistory HISTORY = new PositionHistory();
+        HISTORY.Push(Zobrist.Hash(POSITION.GetBoard()), POSITION.GetBoard().GetHalfmoves());
+        final GameRecord RECORD = new GameRecord(a_fen);
+
+        int result = Adjudicate(POSITION, HISTORY);
+        Minimax.STOP.set(a_stop);
+        try{
+            while(result == GameRecord.RESULT_UNKNOWN){
+                if(RECORD.GetMoveCount() == this.m_maxPlies){
+                    result = GameRecord.DRAW;
+                    break;
+                }
+
+                final short MOVE = (POSITION.GetBoard().WhoseTurnIsIt().IsWhite() ? WHITE : BLACK).Choose(POSITION, HISTORY);
+                if(a_stop.get()){
+                    return null;
+                }else if(MOVE == MatchPlayer.NO_MOVE){
+                    throw new IllegalStateException("No move was found in " + POSITION.ToFEN());
+                }
+
+                POSITION.Play(MOVE);
+                RECORD.Add(MOVE);
+                HISTORY.Push(Zobrist.Hash(POSITION.GetBoard()), POSITION.GetBoard().GetHalfmoves());
+                result = Adjudicate(POSITION, HISTORY);
+            }
+        }finally{
+            Minimax.STOP.remove();
+        }
+
+        RECORD.SetResult(result);
+        return new PlayedGame(RECORD, a_isCandidateWhite);
+    }
+
+    /**/
+    /*
+    NAME
+        public static int Adjudicate(final SanPosition a_position, final PositionHistory a_history);
+
+    SYNOPSIS
+        public static int Adjudicate(final SanPosition a_position, final PositionHistory a_history);
+
+        SanPosition a_position ---> The position after the latest move.
+
+        PositionHistory a_history -> The positions of the game so far, ending with this one.
+
+    DESCRIPTION
+        This method decides by the rules whether the game is over,
+        from the side of the player to move.
+
+    RETURNS
+        int: GameRecord.WHITE_WINS or GameRecord.BLACK_WINS after checkmate,
+             GameRecord.DRAW after any draw, and GameRecord.RESULT_UNKNOWN otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Adjudicate(final SanPosition a_position, final PositionHistory a_history){
+        final Board BOARD = a_position.GetBoard();
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        final boolean IS_WHITE_TO_MOVE = BOARD.WhoseTurnIsIt().IsWhite();
+        final GameState STATE = GameUtilities.EvaluateGameState((IS_WHITE_TO_MOVE ? WHITE : BLACK), (IS_WHITE_TO_MOVE ? BLACK : WHITE), BOARD, BOARD.GetHalfmoves(), a_history);
+
+        switch(STATE){
+            case CHECKMATE: return (IS_WHITE_TO_MOVE ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+            case STALEMATE:
+            case INSUFFICIENT_MATERIAL:
+            case FIFTY_MOVE_RULE:
+            case THREEFOLD_REPETITION: return GameRecord.DRAW;
+            default: return GameRecord.RESULT_UNKNOWN;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static String ToFEN(final String a_line);
+
+    SYNOPSIS
+        private static String ToFEN(final String a_line);
+
+        String a_line ------------> A line of the openings file.
+
+    DESCRIPTION
+        This method completes an opening to a full FEN and checks that it can be played.
+
+    RETURNS
+        String: The FEN.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String ToFEN(final String a_line){
+        if(a_line.equals(START_POSITION)){
+            return GameRecord.STARTING_FEN;
+        }
+
+        final String[] FIELDS = a_line.split("\\s+");
+        final boolean HAS_COUNTERS = (FIELDS.length >= Utilities.SIX && FIELDS[Utilities.FOUR].matches("\\d+") && FIELDS[Utilities.FIVE].matches("\\d+"));
+        final String FEN = String.join(" ", FIELDS[Utilities.ZERO], FIELDS[Utilities.ONE], FIELDS[Utilities.TWO], FIELDS[Utilities.THREE])
+                         + (HAS_COUNTERS ? " " + FIELDS[Utilities.FOUR] + " " + FIELDS[Utilities.FIVE] : " 0 1");
+
+        new SanPosition(FEN);
+        return FEN;
+    }
+
+    /**
+     * This class is a finished game along with the side the candidate played,
+     * which the record itself does not keep.
+     */
+    private static final class PlayedGame{
+
+        private final GameRecord m_record;
+        private final boolean m_isCandidateWhite;
+
+        /**/
+        /*
+        NAME
+            private PlayedGame(final GameRecord a_record, final boolean a_isCandidateWhite);
+
+        SYNOPSIS
+            private PlayedGame(final GameRecord a_record, final boolean a_isCandidateWhite);
+
+            GameRecord a_record --------> A game with its result.
+
+            boolean a_isCandidateWhite -> If the candidate played white.
+
+        DESCRIPTION
+            This constructor creates a finished game.
+
+        RETURNS
+            Nothing
+
+        AUTHOR
+            Ryan King
+        */
+        private PlayedGame(final GameRecord a_record, final boolean a_isCandidateWhite){
+            this.m_record = a_record;
+            this.m_isCandidateWhite = a_isCandidateWhite;
+        }
+
+        /**/
+        /*
+        NAME
+            private int CandidateScore();
+
+        SYNOPSIS
+            private int CandidateScore();
+
+            No parameters.
+
+        DESCRIPTION
+            This method scores the game from the candidate's side.
+
+        RETURNS
+            int: 1 for a win, 0 for a draw, and -1 for a loss.
+
+        AUTHOR
+            Ryan King
+        */
+        private int CandidateScore(){
+            switch(this.m_record.GetResult()){
+                case GameRecord.WHITE_WINS: return (this.m_isCandidateWhite ? Utilities.ONE : Utilities.NEGATIVE_ONE);
+                case GameRecord.BLACK_WINS: return (this.m_isCandidateWhite ? Utilities.NEGATIVE_ONE : Utilities.ONE);
+                default: return Utilities.ZERO;
+            }
+        }
+    }
+}
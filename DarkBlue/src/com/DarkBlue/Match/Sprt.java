@@ -0,0 +1,361 @@
+package com.DarkBlue.Match;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class decides whether one engine is stronger than another from as few
+ * games as it can, with a sequential probability ratio test.
+ *
+ * The test weighs two hypotheses against each other: H0, that the first engine
+ * is elo0 Elo stronger than the second, and H1, that it is elo1 Elo stronger.
+ * After every game the log-likelihood ratio of the results so far is compared with
+ * two bounds set by the false positive rate alpha and the false negative rate beta:
+ * once it falls below the lower bound H0 is accepted, and once it rises above the upper one
+ * H1 is, and until then more games are needed.
+ *
+ * The ratio is the usual normal approximation over wins, draws, and losses,
+ * with Elo on the logistic scale, so draws count as half a point and make the
+ * results less noisy rather than being thrown away.
+ */
+public final class Sprt{
+
+    public static final int CONTINUE = Utilities.ZERO;
+    public static final int ACCEPT_H0 = Utilities.ONE;
+    public static final int ACCEPT_H1 = Utilities.TWO;
+
+    // The normal quantile for a two-sided 95% confidence interval
+    private static final double Z_95 = 1.959964;
+
+    private final double m_elo0;
+    private final double m_elo1;
+    private final double m_lowerBound;
+    private final double m_upperBound;
+
+    /**/
+    /*
+    NAME
+        public Sprt(final double a_elo0, final double a_elo1, final double a_alpha, final double a_beta);
+
+    SYNOPSIS
+        public Sprt(final double a_elo0, final double a_elo1, final double a_alpha, final double a_beta);
+
+        double a_elo0 ------------> The Elo difference of H0.
+
+        double a_elo1 ------------> The Elo difference of H1, more than that of H0.
+
+        double a_alpha -----------> The chance of accepting H1 when H0 is true, between 0 and 1.
+
+        double a_beta ------------> The chance of accepting H0 when H1 is true, between 0 and 1.
+
+    DESCRIPTION
+        This constructor sets up a test.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Sprt(final double a_elo0, final double a_elo1, final double a_alpha, final double a_beta){
+        if(!(a_elo1 > a_elo0) || !(a_alpha > Utilities.ZERO && a_alpha < Utilities.ONE) || !(a_beta > Utilities.ZERO && a_beta < Utilities.ONE)){
+            throw new IllegalArgumentException("Invalid argument to Sprt constructor");
+        }
+
+        this.m_elo0 = a_elo0;
+        this.m_elo1 = a_elo1;
+        this.m_lowerBound = Math.log(a_beta / (Utilities.ONE - a_alpha));
+        this.m_upperBound = Math.log((Utilities.ONE - a_beta) / a_alpha);
+    }
+
+    /**/
+    /*
+    NAME
+        public final double LogLikelihoodRatio(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        public final double LogLikelihoodRatio(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses.
+
+    DESCRIPTION
+        This method weighs the results for H1 against H0.
+
+    RETURNS
+        double: The log-likelihood ratio, which is 0 until there are both wins and losses or draws
+                to tell the results' spread from.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double LogLikelihoodRatio(final long a_wins, final long a_draws, final long a_losses){
+        final double GAMES = a_wins + a_draws + a_losses;
+        final double VARIANCE = Variance(a_wins, a_draws, a_losses);
+        if(GAMES == Utilities.ZERO || VARIANCE == Utilities.ZERO){
+            return Utilities.ZERO;
+        }
+
+        final double SCORE = Score(a_wins, a_draws, a_losses);
+        final double SCORE0 = ExpectedScore(this.m_elo0);
+        final double SCORE1 = ExpectedScore(this.m_elo1);
+
+        return (SCORE1 - SCORE0) * (Utilities.TWO * SCORE - SCORE0 - SCORE1) / (Utilities.TWO * VARIANCE / GAMES);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Decide(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        public final int Decide(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses.
+
+    DESCRIPTION
+        This method compares the log-likelihood ratio with the bounds.
+
+    RETURNS
+        int: ACCEPT_H0, ACCEPT_H1, or CONTINUE if more games are needed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Decide(final long a_wins, final long a_draws, final long a_losses){
+        final double RATIO = this.LogLikelihoodRatio(a_wins, a_draws, a_losses);
+
+        if(RATIO <= this.m_lowerBound){
+            return ACCEPT_H0;
+        }else if(RATIO >= this.m_upperBound){
+            return ACCEPT_H1;
+        }
+        return CONTINUE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetLowerBound();
+
+    SYNOPSIS
+        public final double GetLowerBound();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the ratio at or below which H0 is accepted.
+
+    RETURNS
+        double m_lowerBound: The bound, which is negative.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetLowerBound(){
+        return this.m_lowerBound;
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetUpperBound();
+
+    SYNOPSIS
+        public final double GetUpperBound();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the ratio at or above which H1 is accepted.
+
+    RETURNS
+        double m_upperBound: The bound, which is positive.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetUpperBound(){
+        return this.m_upperBound;
+    }
+
+    /**/
+    /*
+    NAME
+        public static double Elo(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        public static double Elo(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses.
+
+    DESCRIPTION
+        This method estimates how much stronger the first engine is from its score.
+
+    RETURNS
+        double: The Elo difference, which is infinite if either engine scored every point,
+                and 0 if no games were played.
+
+    AUTHOR
+        Ryan King
+    */
+    public static double Elo(final long a_wins, final long a_draws, final long a_losses){
+        if(a_wins + a_draws + a_losses == Utilities.ZERO){
+            return Utilities.ZERO;
+        }
+
+        return EloOf(Score(a_wins, a_draws, a_losses));
+    }
+
+    /**/
+    /*
+    NAME
+        public static double EloError(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        public static double EloError(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses.
+
+    DESCRIPTION
+        This method finds how far the true Elo difference may be from the estimate,
+        with 95% confidence, as half the width of the interval around the score.
+
+    RETURNS
+        double: The margin of error, which is infinite when the interval reaches a score of 0 or 1.
+
+    AUTHOR
+        Ryan King
+    */
+    public static double EloError(final long a_wins, final long a_draws, final long a_losses){
+        final long GAMES = a_wins + a_draws + a_losses;
+        if(GAMES == Utilities.ZERO){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final double SCORE = Score(a_wins, a_draws, a_losses);
+        final double MARGIN = Z_95 * Math.sqrt(Variance(a_wins, a_draws, a_losses) / GAMES);
+
+        return (EloOf(Math.min(Utilities.ONE, SCORE + MARGIN)) - EloOf(Math.max(Utilities.ZERO, SCORE - MARGIN))) / Utilities.TWO;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Score(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        private static double Score(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses, with at least one game in all.
+
+    DESCRIPTION
+        This method finds the share of the points the first engine scored.
+
+    RETURNS
+        double: The score from 0 to 1.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Score(final long a_wins, final long a_draws, final long a_losses){
+        return (a_wins + a_draws / 2.0) / (a_wins + a_draws + a_losses);
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Variance(final long a_wins, final long a_draws, final long a_losses);
+
+    SYNOPSIS
+        private static double Variance(final long a_wins, final long a_draws, final long a_losses);
+
+        long a_wins --------------> The first engine's wins.
+
+        long a_draws -------------> The draws.
+
+        long a_losses ------------> The first engine's losses.
+
+    DESCRIPTION
+        This method finds how much the score of a single game varies.
+
+    RETURNS
+        double: The variance, or 0 if no games were played.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Variance(final long a_wins, final long a_draws, final long a_losses){
+        final double GAMES = a_wins + a_draws + a_losses;
+        if(GAMES == Utilities.ZERO){
+            return Utilities.ZERO;
+        }
+
+        final double SCORE = Score(a_wins, a_draws, a_losses);
+        return (a_wins * Math.pow(Utilities.ONE - SCORE, Utilities.TWO) + a_draws * Math.pow(0.5 - SCORE, Utilities.TWO) + a_losses * Math.pow(SCORE, Utilities.TWO)) / GAMES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double ExpectedScore(final double a_elo);
+
+    SYNOPSIS
+        private static double ExpectedScore(final double a_elo);
+
+        double a_elo -------------> An Elo difference.
+
+    DESCRIPTION
+        This method finds the score the stronger engine is expected to make.
+
+    RETURNS
+        double: The score from 0 to 1.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double ExpectedScore(final double a_elo){
+        return Utilities.ONE / (Utilities.ONE + Math.pow(Utilities.TEN, -a_elo / 400));
+    }
+
+    /**/
+    /*
+    NAME
+        private static double EloOf(final double a_score);
+
+    SYNOPSIS
+        private static double EloOf(final double a_score);
+
+        double a_score -----------> A score from 0 to 1.
+
+    DESCRIPTION
+        This method finds the Elo difference a score is expected from.
+
+    RETURNS
+        double: The Elo difference.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double EloOf(final double a_score){
+        return 400 * Math.log10(a_score / (Utilities.ONE - a_score));
+    }
+}
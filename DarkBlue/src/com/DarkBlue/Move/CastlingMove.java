@@ -138,23 +138,24 @@ public final class CastlingMove extends Move{
     /**/
     /*
     NAME
-        private static final int AssignRookDestinationColumn(final int a_kingDestinationColumn);
+        public static final int AssignRookDestinationColumn(final int a_kingDestinationColumn);
     
     SYNOPSIS
-        private static final int AssignRookDestinationColumn(final int a_kingDestinationColumn);
+        public static final int AssignRookDestinationColumn(final int a_kingDestinationColumn);
     
         int a_kingDestinationColumn --------> The king's destination column.
     
     DESCRIPTION
         This method determines the destination column of the rook using the king's destination column.
+        Boards making a packed castling move find the rook with it too.
     
     RETURNS
-         Nothing
+         int: The column the rook moves to.
     
     AUTHOR
         Ryan King
     */
-    private static final int AssignRookDestinationColumn(final int a_kingDestinationColumn){
+    public static final int AssignRookDestinationColumn(final int a_kingDestinationColumn){
         if(a_kingDestinationColumn == Utilities.SIX){
             return Utilities.FIVE;
         }else{
@@ -165,10 +166,10 @@ public final class CastlingMove extends Move{
     /**/
     /*
     NAME
-        private static final int AssignRookCurrentColumn(final int a_kingDestinationColumn);
+        public static final int AssignRookCurrentColumn(final int a_kingDestinationColumn);
     
     SYNOPSIS
-        private static final int AssignRookCurrentColumn(final int a_kingDestinationColumn);
+        public static final int AssignRookCurrentColumn(final int a_kingDestinationColumn);
     
         int a_kingDestinationColumn --------> The king's destination column.
     
@@ -176,12 +177,12 @@ public final class CastlingMove extends Move{
         This method determines the current column of the rook using the king's destination column.
     
     RETURNS
-         Nothing
+         int: The column the rook moves from.
     
     AUTHOR
         Ryan King
     */
-    protected static final int AssignRookCurrentColumn(final int a_kingDestinationColumn){
+    public static final int AssignRookCurrentColumn(final int a_kingDestinationColumn){
         if(a_kingDestinationColumn == Utilities.SIX){
             return Utilities.SEVEN;
         }else{
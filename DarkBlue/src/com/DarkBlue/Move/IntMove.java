@@ -0,0 +1,407 @@
+package com.DarkBlue.Move;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This interface packs a move into 32 bits, so the search can keep its lists of
+ * moves as arrays of ints instead of lists of Move objects, each of which holds on
+ * to the board it was made on.
+ *
+ * The low 16 bits are laid out exactly as in a PackedMove: bits 0 to 5 hold the tile
+ * the piece moves from, bits 6 to 11 the tile it moves to, and bits 12 to 14 what a pawn
+ * promotes to, where a tile is row * 8 + column and row 0 is the eighth rank.
+ * Bits 16 to 18 hold the type of the piece moving and bits 19 to 21 the type of the piece
+ * it captures, each as one more than its ordinal so that 0 means none. Bits 22 to 24 are
+ * the flags WHITE, CASTLING, and EN_PASSANT.
+ *
+ * Board.Transition() makes a packed move on the board it came from, which is how
+ * the search makes its moves. ToMove() finds the Move object of that board,
+ * which remains the view of a move the GUI and the notation work with.
+ */
+public interface IntMove{
+
+    public static final int NONE = Utilities.ZERO;
+
+    public static final int PIECE_SHIFT = Utilities.SIXTEEN;
+    public static final int CAPTURED_SHIFT = 19;
+    public static final int TYPE_MASK = 0x7;
+
+    // The flags, already in place
+    public static final int WHITE = 1 << 22;
+    public static final int CASTLING = 1 << 23;
+    public static final int EN_PASSANT = 1 << 24;
+
+    // The part of a move that is the same as a PackedMove
+    public static final int PACKED_MASK = 0x7FFF;
+
+    /**/
+    /*
+    NAME
+        public static int Encode(final int a_from, final int a_to, final PieceType a_piece, final PieceType a_captured, final int a_flags, final int a_promotion);
+
+    SYNOPSIS
+        public static int Encode(final int a_from, final int a_to, final PieceType a_piece, final PieceType a_captured, final int a_flags, final int a_promotion);
+
+        int a_from ---------------> The tile the piece moves from.
+
+        int a_to -----------------> The tile the piece moves to.
+
+        PieceType a_piece --------> The type of the piece moving.
+
+        PieceType a_captured -----> The type of the piece captured, or null if there is none.
+
+        int a_flags --------------> Any of WHITE, CASTLING, and EN_PASSANT or'd together.
+
+        int a_promotion ----------> One of the promotions of PackedMove.
+
+    DESCRIPTION
+        This method packs a move.
+
+    RETURNS
+        int: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Encode(final int a_from, final int a_to, final PieceType a_piece, final PieceType a_captured, final int a_flags, final int a_promotion){
+        return PackedMove.Encode(a_from, a_to, a_promotion) & PACKED_MASK
+             | (a_piece.ordinal() + Utilities.ONE) << PIECE_SHIFT
+             | (a_captured == null ? NONE : a_captured.ordinal() + Utilities.ONE) << CAPTURED_SHIFT
+             | a_flags & (WHITE | CASTLING | EN_PASSANT);
+    }
+
+    /**/
+    /*
+    NAME
+        public static int FromMove(final Move a_move, final int a_promotion);
+
+    SYNOPSIS
+        public static int FromMove(final Move a_move, final int a_promotion);
+
+        Move a_move --------------> The move to pack.
+
+        int a_promotion ----------> What the pawn was promoted to afterward, or PackedMove.NO_PROMOTION.
+
+    DESCRIPTION
+        This method packs one of the engine's moves. Promotion is a separate step
+        after the move in this engine, so the caller says what the pawn became.
+
+    RETURNS
+        int: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int FromMove(final Move a_move, final int a_promotion){
+        final Piece PIECE = a_move.GetPiece();
+        final int FLAGS = (PIECE.IsWhite() ? WHITE : NONE) | (a_move.IsCastling() ? CASTLING : NONE) | (a_move.IsEnPassant() ? EN_PASSANT : NONE);
+
+        return Encode(a_move.GetOldRow() * Utilities.EIGHT + a_move.GetOldColumn(), a_move.GetNewRow() * Utilities.EIGHT + a_move.GetNewColumn(),
+                      PIECE.GetPieceType(), (a_move.HasVictim() ? a_move.GetVictim().GetPieceType() : null), FLAGS, a_promotion);
+    }
+
+    /**/
+    /*
+    NAME
+        public static Move ToMove(final int a_move, final Board a_board);
+
+    SYNOPSIS
+        public static Move ToMove(final int a_move, final Board a_board);
+
+        int a_move ---------------> A packed move.
+
+        Board a_board ------------> The board the move was packed on, whose legal moves are known.
+
+    DESCRIPTION
+        This method finds the Move object a packed move stands for
+        among the legal moves of the piece on its first tile.
+
+    RETURNS
+        Move: The move, or null if the piece there has no such move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Move ToMove(final int a_move, final Board a_board){
+        final int FROM = From(a_move);
+        final int TO = To(a_move);
+        final Tile TILE = a_board.GetTile(FROM / Utilities.EIGHT, FROM % Utilities.EIGHT);
+        if(TILE.IsEmpty()){
+            return null;
+        }
+
+        for(final Move MOVE : TILE.GetPiece().GetCurrentLegalMoves(a_board)){
+            if(MOVE.GetNewRow() * Utilities.EIGHT + MOVE.GetNewColumn() == TO){
+                return MOVE;
+            }
+        }
+        return null;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int From(final int a_move);
+
+    SYNOPSIS
+        public static int From(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the tile a move starts on.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int From(final int a_move){
+        return a_move & PackedMove.TILE_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int To(final int a_move);
+
+    SYNOPSIS
+        public static int To(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the tile a move ends on.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int To(final int a_move){
+        return (a_move >>> PackedMove.TO_SHIFT) & PackedMove.TILE_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static PieceType Piece(final int a_move);
+
+    SYNOPSIS
+        public static PieceType Piece(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the type of the piece moving.
+
+    RETURNS
+        PieceType: The type.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PieceType Piece(final int a_move){
+        return Type((a_move >>> PIECE_SHIFT) & TYPE_MASK);
+    }
+
+    /**/
+    /*
+    NAME
+        public static PieceType Captured(final int a_move);
+
+    SYNOPSIS
+        public static PieceType Captured(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the type of the piece captured.
+
+    RETURNS
+        PieceType: The type, or null if nothing is captured.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PieceType Captured(final int a_move){
+        return Type((a_move >>> CAPTURED_SHIFT) & TYPE_MASK);
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsCapture(final int a_move);
+
+    SYNOPSIS
+        public static boolean IsCapture(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method determines if a move captures anything, en passant included.
+
+    RETURNS
+        boolean: True if the move captures a piece, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsCapture(final int a_move){
+        return ((a_move >>> CAPTURED_SHIFT) & TYPE_MASK) != NONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsWhite(final int a_move);
+
+    SYNOPSIS
+        public static boolean IsWhite(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method determines if white makes a move.
+
+    RETURNS
+        boolean: True if the piece moving is white, and false if it is black.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsWhite(final int a_move){
+        return (a_move & WHITE) != NONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsCastling(final int a_move);
+
+    SYNOPSIS
+        public static boolean IsCastling(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method determines if a move is castling.
+
+    RETURNS
+        boolean: True if the move is castling, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsCastling(final int a_move){
+        return (a_move & CASTLING) != NONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsEnPassant(final int a_move);
+
+    SYNOPSIS
+        public static boolean IsEnPassant(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method determines if a move is an en passant capture.
+
+    RETURNS
+        boolean: True if the move is en passant, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsEnPassant(final int a_move){
+        return (a_move & EN_PASSANT) != NONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int Promotion(final int a_move);
+
+    SYNOPSIS
+        public static int Promotion(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks what a move promotes to.
+
+    RETURNS
+        int: One of the promotions of PackedMove.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Promotion(final int a_move){
+        return (a_move >>> PackedMove.PROMOTION_SHIFT) & PackedMove.PROMOTION_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static short ToPacked(final int a_move);
+
+    SYNOPSIS
+        public static short ToPacked(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method drops everything a game record does not need from a move.
+
+    RETURNS
+        short: The move as a PackedMove.
+
+    AUTHOR
+        Ryan King
+    */
+    public static short ToPacked(final int a_move){
+        return (short)(a_move & PACKED_MASK);
+    }
+
+    /**/
+    /*
+    NAME
+        private static PieceType Type(final int a_type);
+
+    SYNOPSIS
+        private static PieceType Type(final int a_type);
+
+        int a_type ---------------> A piece type as packed, one more than its ordinal.
+
+    DESCRIPTION
+        This method unpacks a piece type.
+
+    RETURNS
+        PieceType: The type, or null if a_type is NONE.
+
+    AUTHOR
+        Ryan King
+    */
+    private static PieceType Type(final int a_type){
+        // A switch rather than PieceType.values(), which copies the array every time
+        switch(a_type){
+            case Utilities.ONE:    return PieceType.PAWN;
+            case Utilities.TWO:    return PieceType.ROOK;
+            case Utilities.THREE:  return PieceType.KNIGHT;
+            case Utilities.FOUR:   return PieceType.BISHOP;
+            case Utilities.FIVE:   return PieceType.QUEEN;
+            case Utilities.SIX:    return PieceType.KING;
+            default:               return null;
+        }
+    }
+}
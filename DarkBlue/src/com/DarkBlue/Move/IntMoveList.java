@@ -0,0 +1,276 @@
+package com.DarkBlue.Move;
+
+import java.util.Arrays;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class is a list of moves packed by IntMove, kept in an array of ints
+ * that only ever grows, so a list that is cleared and filled again for every
+ * board of a search allocates nothing once it is big enough.
+ *
+ * It is not thread-safe; the search keeps one for every depth on every thread.
+ */
+public final class IntMoveList{
+
+    // Enough for every position that comes up in practice; 218 is the most known
+    public static final int DEFAULT_CAPACITY = Utilities.SIXTY_FOUR;
+
+    private int[] m_moves;
+    private int m_size;
+
+    /**/
+    /*
+    NAME
+        public IntMoveList();
+
+    SYNOPSIS
+        public IntMoveList();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates an empty list with room for DEFAULT_CAPACITY moves.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public IntMoveList(){
+        this.m_moves = new int[DEFAULT_CAPACITY];
+        this.m_size = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Add(final int a_move);
+
+    SYNOPSIS
+        public final void Add(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method adds a move to the end of the list, making room if there is none.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Add(final int a_move){
+        if(this.m_size == this.m_moves.length){
+            this.m_moves = Arrays.copyOf(this.m_moves, this.m_moves.length * Utilities.TWO);
+        }
+        this.m_moves[this.m_size++] = a_move;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean AddIfAbsent(final int a_move);
+
+    SYNOPSIS
+        public final boolean AddIfAbsent(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method adds a move to the end of the list unless it is already in it.
+
+    RETURNS
+        boolean: True if the move was added, and false if it was already there.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean AddIfAbsent(final int a_move){
+        if(this.Contains(a_move)){
+            return false;
+        }
+
+        this.Add(a_move);
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Get(final int a_index);
+
+    SYNOPSIS
+        public final int Get(final int a_index);
+
+        int a_index --------------> Where the move is in the list.
+
+    DESCRIPTION
+        This method returns a move. It throws an IndexOutOfBoundsException
+        if there is no move at the index.
+
+    RETURNS
+        int: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Get(final int a_index){
+        if(a_index < Utilities.ZERO || a_index >= this.m_size){
+            throw new IndexOutOfBoundsException("Index " + a_index + " out of bounds for " + this.m_size + " moves");
+        }
+        return this.m_moves[a_index];
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Swap(final int a_first, final int a_second);
+
+    SYNOPSIS
+        public final void Swap(final int a_first, final int a_second);
+
+        int a_first --------------> Where one move is in the list.
+
+        int a_second -------------> Where the other move is in the list.
+
+    DESCRIPTION
+        This method swaps two moves, which lets a list be picked from best first
+        without sorting what is never picked. It throws an IndexOutOfBoundsException
+        if there is no move at either index.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Swap(final int a_first, final int a_second){
+        final int FIRST = this.Get(a_first);
+        this.m_moves[a_first] = this.Get(a_second);
+        this.m_moves[a_second] = FIRST;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Contains(final int a_move);
+
+    SYNOPSIS
+        public final boolean Contains(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method looks for a move from the start of the list. The lists
+        of one board are short enough that this beats any hashing.
+
+    RETURNS
+        boolean: True if the move is in the list, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Contains(final int a_move){
+        for(int i = Utilities.ZERO; i < this.m_size; i++){
+            if(this.m_moves[i] == a_move){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Size();
+
+    SYNOPSIS
+        public final int Size();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many moves are in the list.
+
+    RETURNS
+        int m_size: The number of moves.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Size(){
+        return this.m_size;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsEmpty();
+
+    SYNOPSIS
+        public final boolean IsEmpty();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the list has no moves.
+
+    RETURNS
+        boolean: True if the list is empty, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsEmpty(){
+        return this.m_size == Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Clear();
+
+    SYNOPSIS
+        public final void Clear();
+
+        No parameters.
+
+    DESCRIPTION
+        This method empties the list but keeps its room for the next moves.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Clear(){
+        this.m_size = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int[] ToArray();
+
+    SYNOPSIS
+        public final int[] ToArray();
+
+        No parameters.
+
+    DESCRIPTION
+        This method copies the moves out of the list.
+
+    RETURNS
+        int[]: The moves in order, in an array of their own.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int[] ToArray(){
+        return Arrays.copyOf(this.m_moves, this.m_size);
+    }
+}
@@ -0,0 +1,369 @@
+package com.DarkBlue.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Utilities.BoardUtilities;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.MoveEvaluation;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds every legal move of both players on one board,
+ * found once and never changed afterward, along with whether each king is safe.
+ *
+ * The GUI keeps one for the board it shows and asks it everything a click,
+ * the highlighting, and the check, checkmate, and stalemate messages need,
+ * instead of finding the moves of both players again every time. It is made
+ * again only when the board changes.
+ *
+ * Every list it hands out is unmodifiable.
+ */
+public final class LegalMoveSet{
+
+    private final Board m_board;
+
+    // The moves of each player, white first
+    private final List<Move> m_whiteMoves;
+    private final List<Move> m_blackMoves;
+
+    // The moves of the piece on every tile, indexed by row * 8 + column
+    private final List<List<Move>> m_tileMoves;
+
+    private final boolean m_isWhiteKingSafe;
+    private final boolean m_isBlackKingSafe;
+
+    /**/
+    /*
+    NAME
+        public LegalMoveSet(final Board a_board, final Player a_white, final Player a_black);
+
+    SYNOPSIS
+        public LegalMoveSet(final Board a_board, final Player a_white, final Player a_black);
+
+        Board a_board ------------> The board the moves are made on.
+
+        Player a_white -----------> The white player, refreshed on the board.
+
+        Player a_black -----------> The black player, refreshed on the board.
+
+    DESCRIPTION
+        This constructor collects the legal moves of every piece of both players.
+        A player without a king, which only happens on an empty board, is counted as safe.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public LegalMoveSet(final Board a_board, final Player a_white, final Player a_black){
+        final ArrayList<List<Move>> TILE_MOVES = new ArrayList<>(Utilities.SIXTY_FOUR);
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            TILE_MOVES.add(Collections.emptyList());
+        }
+
+        this.m_board = a_board;
+        this.m_whiteMoves = Collect(a_board, a_white, TILE_MOVES);
+        this.m_blackMoves = Collect(a_board, a_black, TILE_MOVES);
+        this.m_tileMoves = Collections.unmodifiableList(TILE_MOVES);
+        this.m_isWhiteKingSafe = IsKingSafe(a_board, a_white);
+        this.m_isBlackKingSafe = IsKingSafe(a_board, a_black);
+    }
+
+    /**/
+    /*
+    NAME
+        public final Board GetBoard();
+
+    SYNOPSIS
+        public final Board GetBoard();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the board the moves are made on.
+
+    RETURNS
+        Board m_board: The board.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Board GetBoard(){
+        return this.m_board;
+    }
+
+    /**/
+    /*
+    NAME
+        public final List<Move> GetMoves(final ChessColor a_color);
+
+    SYNOPSIS
+        public final List<Move> GetMoves(final ChessColor a_color);
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method returns every legal move of a player.
+
+    RETURNS
+        List<Move>: The moves, which cannot be changed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final List<Move> GetMoves(final ChessColor a_color){
+        return (a_color.IsWhite() ? this.m_whiteMoves : this.m_blackMoves);
+    }
+
+    /**/
+    /*
+    NAME
+        public final List<Move> GetMoves(final int a_row, final int a_column);
+
+    SYNOPSIS
+        public final List<Move> GetMoves(final int a_row, final int a_column);
+
+        int a_row ----------------> The row of the tile.
+
+        int a_column -------------> The column of the tile.
+
+    DESCRIPTION
+        This method returns the legal moves of the piece on a tile.
+
+    RETURNS
+        List<Move>: The moves, which cannot be changed and are empty
+        if the tile is empty or not on the board.
+
+    AUTHOR
+        Ryan King
+    */
+    public final List<Move> GetMoves(final int a_row, final int a_column){
+        if(!BoardUtilities.HasValidCoordinates(a_row, a_column)){
+            return Collections.emptyList();
+        }
+        return this.m_tileMoves.get(a_row * Utilities.EIGHT + a_column);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean CanMove(final int a_row, final int a_column);
+
+    SYNOPSIS
+        public final boolean CanMove(final int a_row, final int a_column);
+
+        int a_row ----------------> The row of the tile.
+
+        int a_column -------------> The column of the tile.
+
+    DESCRIPTION
+        This method determines if the piece on a tile has any legal moves.
+
+    RETURNS
+        boolean: True if the piece can move, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean CanMove(final int a_row, final int a_column){
+        return !this.GetMoves(a_row, a_column).isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsLegal(final int a_row, final int a_column, final int a_newRow, final int a_newColumn);
+
+    SYNOPSIS
+        public final boolean IsLegal(final int a_row, final int a_column, final int a_newRow, final int a_newColumn);
+
+        int a_row ----------------> The row the piece is on.
+
+        int a_column -------------> The column the piece is on.
+
+        int a_newRow -------------> The row the piece wants to move to.
+
+        int a_newColumn ----------> The column the piece wants to move to.
+
+    DESCRIPTION
+        This method determines if the piece on a tile can move to another.
+
+    RETURNS
+        boolean: True if the move is legal, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsLegal(final int a_row, final int a_column, final int a_newRow, final int a_newColumn){
+        for(final Move MOVE : this.GetMoves(a_row, a_column)){
+            if(MOVE.GetNewRow() == a_newRow && MOVE.GetNewColumn() == a_newColumn){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsInCheck(final ChessColor a_color);
+
+    SYNOPSIS
+        public final boolean IsInCheck(final ChessColor a_color);
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method determines if a player's king is threatened
+        but the player has a legal move, as Player.IsInCheck() does.
+
+    RETURNS
+        boolean: True if the player is in check, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsInCheck(final ChessColor a_color){
+        return !this.IsKingSafe(a_color) && !this.GetMoves(a_color).isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsInCheckmate(final ChessColor a_color);
+
+    SYNOPSIS
+        public final boolean IsInCheckmate(final ChessColor a_color);
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method determines if a player's king is threatened
+        and the player has no legal moves, as Player.IsInCheckmate() does.
+
+    RETURNS
+        boolean: True if the player is in checkmate, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsInCheckmate(final ChessColor a_color){
+        return !this.IsKingSafe(a_color) && this.GetMoves(a_color).isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsInStalemate(final ChessColor a_color);
+
+    SYNOPSIS
+        public final boolean IsInStalemate(final ChessColor a_color);
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method determines if a player's king is safe
+        but the player has no legal moves, as Player.IsInStalemate() does.
+
+    RETURNS
+        boolean: True if the player is in stalemate, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsInStalemate(final ChessColor a_color){
+        return this.IsKingSafe(a_color) && this.GetMoves(a_color).isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsKingSafe(final ChessColor a_color);
+
+    SYNOPSIS
+        public final boolean IsKingSafe(final ChessColor a_color);
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method determines if a player's king was safe on the board.
+
+    RETURNS
+        boolean: True if no enemy piece threatens the king, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsKingSafe(final ChessColor a_color){
+        return (a_color.IsWhite() ? this.m_isWhiteKingSafe : this.m_isBlackKingSafe);
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<Move> Collect(final Board a_board, final Player a_player, final ArrayList<List<Move>> a_tileMoves);
+
+    SYNOPSIS
+        private static List<Move> Collect(final Board a_board, final Player a_player, final ArrayList<List<Move>> a_tileMoves);
+
+        Board a_board ------------> The board the moves are made on.
+
+        Player a_player ----------> The player whose moves are collected.
+
+        ArrayList<List<Move>> a_tileMoves -> The moves of every tile, filled in for the player's pieces.
+
+    DESCRIPTION
+        This method copies the legal moves of every piece of a player,
+        so nothing done to the lists of the board afterward changes them.
+
+    RETURNS
+        List<Move>: Every move of the player, which cannot be changed.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<Move> Collect(final Board a_board, final Player a_player, final ArrayList<List<Move>> a_tileMoves){
+        final ArrayList<Move> MOVES = new ArrayList<>();
+
+        for(final Piece PIECE : a_player.GetActivePieces()){
+            final List<Move> PIECE_MOVES = Collections.unmodifiableList(new ArrayList<>(PIECE.GetCurrentLegalMoves(a_board)));
+            a_tileMoves.set(PIECE.GetCurrentRow() * Utilities.EIGHT + PIECE.GetCurrentColumn(), PIECE_MOVES);
+            MOVES.addAll(PIECE_MOVES);
+        }
+
+        return Collections.unmodifiableList(MOVES);
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsKingSafe(final Board a_board, final Player a_player);
+
+    SYNOPSIS
+        private static boolean IsKingSafe(final Board a_board, final Player a_player);
+
+        Board a_board ------------> The board the king is on.
+
+        Player a_player ----------> The player whose king is checked.
+
+    DESCRIPTION
+        This method determines if a player's king is safe, counting a missing king as safe.
+
+    RETURNS
+        boolean: True if the king is safe, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsKingSafe(final Board a_board, final Player a_player){
+        final King KING = a_player.GetKing();
+        return KING == null || MoveEvaluation.IsKingSafe(a_board, KING.GetCurrentRow(), KING.GetCurrentColumn(), KING.GetColor());
+    }
+}
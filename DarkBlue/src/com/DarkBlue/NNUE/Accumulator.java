@@ -0,0 +1,231 @@
+package com.DarkBlue.NNUE;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.CastlingMove;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds the hidden layer pre-activations of a network
+ * for one board, once from white's point of view and once from black's.
+ *
+ * An accumulator can be computed from scratch with Refresh(), but the
+ * point of having one is Update(), which derives the accumulator of the
+ * board after a move from the accumulator of the board before it by
+ * switching off the features the move removed and switching on the ones it added.
+ * Only a king move forces its own side's perspective to be recomputed,
+ * since every feature of that perspective is relative to the king.
+ */
+public final class Accumulator{
+
+    // Values indexed by the perspective's color and then by hidden neuron
+    private final short[][] m_values;
+
+    // The board these values describe
+    private Board m_board;
+
+    /**/
+    /*
+    NAME
+        public Accumulator(final int a_hidden);
+
+    SYNOPSIS
+        public Accumulator(final int a_hidden);
+
+        int a_hidden -------------> The size of the network's hidden layer.
+
+    DESCRIPTION
+        This constructor allocates an empty accumulator that describes no board yet.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Accumulator(final int a_hidden){
+        this.m_values = new short[ChessColor.values().length][a_hidden];
+        this.m_board = null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short[] GetValues(final ChessColor a_perspective);
+
+    SYNOPSIS
+        public final short[] GetValues(final ChessColor a_perspective);
+
+        ChessColor a_perspective -> The side whose point of view is wanted.
+
+    DESCRIPTION
+        This method returns one perspective of the accumulator.
+
+    RETURNS
+        short[]: The hidden layer pre-activations from that side's point of view.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short[] GetValues(final ChessColor a_perspective){
+        return this.m_values[a_perspective.ordinal()];
+    }
+
+    /**/
+    /*
+    NAME
+        public final Board GetBoard();
+
+    SYNOPSIS
+        public final Board GetBoard();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the board this accumulator currently describes.
+
+    RETURNS
+        Board m_board: The board, or null if the accumulator has never been filled.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Board GetBoard(){
+        return this.m_board;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Invalidate();
+
+    SYNOPSIS
+        public final void Invalidate();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets which board the accumulator describes so it will be refreshed before its next use.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Invalidate(){
+        this.m_board = null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Refresh(final Network a_network, final Board a_board);
+
+    SYNOPSIS
+        public final void Refresh(final Network a_network, final Board a_board);
+
+        Network a_network --------> The network whose weights are used.
+
+        Board a_board ------------> The board to describe.
+
+    DESCRIPTION
+        This method recomputes both perspectives from scratch.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Refresh(final Network a_network, final Board a_board){
+        for(final ChessColor PERSPECTIVE : ChessColor.values()){
+            a_network.Reset(this.GetValues(PERSPECTIVE), PERSPECTIVE, a_board);
+        }
+        this.m_board = a_board;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Update(final Network a_network, final Accumulator a_parent, final int a_move, final Board a_result);
+
+    SYNOPSIS
+        public final void Update(final Network a_network, final Accumulator a_parent, final int a_move, final Board a_result);
+
+        Network a_network --------> The network whose weights are used.
+
+        Accumulator a_parent -----> An up-to-date accumulator of the board the move was made on.
+
+        int a_move ---------------> The move that was made, packed by IntMove.
+
+        Board a_result -----------> The board after the move.
+
+    DESCRIPTION
+        This method copies the parent accumulator and applies the move to it.
+        The moving piece is switched off on its old tile and on on its new tile,
+        a captured piece (including one captured en passant) is switched off, and
+        the rook of a castling move is moved along with its king. If the moving piece
+        is a king, its own side's perspective is recomputed from a_result instead.
+        The pieces involved are read from the parent's board.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Update(final Network a_network, final Accumulator a_parent, final int a_move, final Board a_result){
+        final Board BOARD = a_parent.GetBoard();
+        final int FROM = IntMove.From(a_move);
+        final int TO = IntMove.To(a_move);
+        final Piece MOVER = BOARD.GetTile(FROM / Utilities.EIGHT, FROM % Utilities.EIGHT).GetPiece();
+
+        // The pawn captured en passant stands beside the tile the capturing pawn moves to
+        final int VICTIM_SQUARE = (IntMove.IsEnPassant(a_move) ? FROM - FROM % Utilities.EIGHT + TO % Utilities.EIGHT : TO);
+        final Piece VICTIM = (IntMove.IsCapture(a_move) || IntMove.IsEnPassant(a_move) ? BOARD.GetTile(VICTIM_SQUARE / Utilities.EIGHT, VICTIM_SQUARE % Utilities.EIGHT).GetPiece() : null);
+
+        for(final ChessColor PERSPECTIVE : ChessColor.values()){
+            final short[] VALUES = this.GetValues(PERSPECTIVE);
+
+            // Every feature of this side depends on where its king is, so start over if it moved
+            if(MOVER.IsKing() && MOVER.GetColor() == PERSPECTIVE){
+                a_network.Reset(VALUES, PERSPECTIVE, a_result);
+                continue;
+            }
+
+            final Piece KING = a_result.GetKing(PERSPECTIVE);
+            if(KING == null){
+                a_network.Reset(VALUES, PERSPECTIVE, a_result);
+                continue;
+            }
+            final int KING_SQUARE = KING.GetCurrentRow() * Utilities.EIGHT + KING.GetCurrentColumn();
+
+            System.arraycopy(a_parent.GetValues(PERSPECTIVE), Utilities.ZERO, VALUES, Utilities.ZERO, VALUES.length);
+
+            // Kings are not features, so only move the piece if it is not one
+            if(!MOVER.IsKing()){
+                a_network.Subtract(VALUES, Network.FeatureIndex(PERSPECTIVE, KING_SQUARE, MOVER, FROM));
+                a_network.Add(VALUES, Network.FeatureIndex(PERSPECTIVE, KING_SQUARE, MOVER, TO));
+            }
+
+            // Remove the captured piece from wherever it was standing
+            if(VICTIM != null){
+                a_network.Subtract(VALUES, Network.FeatureIndex(PERSPECTIVE, KING_SQUARE, VICTIM, VICTIM_SQUARE));
+            }
+
+            // The rook moves too when castling
+            if(IntMove.IsCastling(a_move)){
+                final int ROOK_FROM = FROM - FROM % Utilities.EIGHT + CastlingMove.AssignRookCurrentColumn(TO % Utilities.EIGHT);
+                final int ROOK_TO = FROM - FROM % Utilities.EIGHT + CastlingMove.AssignRookDestinationColumn(TO % Utilities.EIGHT);
+                final Piece ROOK = BOARD.GetTile(ROOK_FROM / Utilities.EIGHT, ROOK_FROM % Utilities.EIGHT).GetPiece();
+                a_network.Subtract(VALUES, Network.FeatureIndex(PERSPECTIVE, KING_SQUARE, ROOK, ROOK_FROM));
+                a_network.Add(VALUES, Network.FeatureIndex(PERSPECTIVE, KING_SQUARE, ROOK, ROOK_TO));
+            }
+        }
+
+        this.m_board = a_result;
+    }
+}
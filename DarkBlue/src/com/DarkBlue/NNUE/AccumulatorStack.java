@@ -0,0 +1,159 @@
+package com.DarkBlue.NNUE;
+
+import java.util.ArrayList;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Utilities.ChessColor;
+
+/**
+ * This class keeps one accumulator per remaining search depth
+ * so that the minimax search can update accumulators incrementally
+ * as it walks down the tree.
+ *
+ * Minimax.Recurse() makes a move at depth d by building the transitional
+ * board and then calls Track(d, ...), which updates the accumulator in slot d - 1
+ * from the one in slot d. Slots are simply overwritten when the search comes back
+ * up and tries another move, so nothing has to be undone and alpha-beta cutoffs can
+ * return at any time. A slot whose board does not match the board being asked about,
+ * e.g. after a promotion replaced the board, is refreshed from scratch.
+ *
+ * Each thread has its own stack, so concurrent searches never share accumulators.
+ * When no network is active every method returns immediately.
+ */
+public final class AccumulatorStack{
+
+    private static final ThreadLocal<AccumulatorStack> STACKS = ThreadLocal.withInitial(AccumulatorStack::new);
+
+    private final ArrayList<Accumulator> m_slots = new ArrayList<>();
+    private Network m_network = null;
+    private Accumulator m_scratch = null;
+
+    /**/
+    /*
+    NAME
+        private AccumulatorStack();
+
+    SYNOPSIS
+        private AccumulatorStack();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates an empty stack. Slots are allocated on demand.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private AccumulatorStack(){
+    }
+
+    /**/
+    /*
+    NAME
+        private Accumulator Slot(final Network a_network, final int a_depth);
+
+    SYNOPSIS
+        private Accumulator Slot(final Network a_network, final int a_depth);
+
+        Network a_network --------> The active network.
+
+        int a_depth --------------> The remaining search depth the slot belongs to.
+
+    DESCRIPTION
+        This method returns the accumulator for a depth, throwing every slot away
+        first if a different network has been activated since they were allocated.
+
+    RETURNS
+        Accumulator: The accumulator of the given depth.
+
+    AUTHOR
+        Ryan King
+    */
+    private Accumulator Slot(final Network a_network, final int a_depth){
+        if(this.m_network != a_network){
+            this.m_slots.clear();
+            this.m_scratch = new Accumulator(a_network.GetHiddenSize());
+            this.m_network = a_network;
+        }
+        while(this.m_slots.size() <= a_depth){
+            this.m_slots.add(new Accumulator(a_network.GetHiddenSize()));
+        }
+        return this.m_slots.get(a_depth);
+    }
+
+    /**/
+    /*
+    NAME
+        public static void Track(final int a_depth, final Board a_parent, final int a_move, final Board a_child);
+
+    SYNOPSIS
+        public static void Track(final int a_depth, final Board a_parent, final int a_move, final Board a_child);
+
+        int a_depth --------------> The remaining search depth of the parent board.
+
+        Board a_parent -----------> The board the move was made on.
+
+        int a_move ---------------> The move that was made, packed by IntMove.
+
+        Board a_child ------------> The board after the move.
+
+    DESCRIPTION
+        This method brings the accumulator of the child board up to date
+        by updating it from the parent's accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void Track(final int a_depth, final Board a_parent, final int a_move, final Board a_child){
+        final Network NETWORK = Network.GetActive();
+        if(NETWORK == null || a_depth < 1){
+            return;
+        }
+
+        final AccumulatorStack STACK = STACKS.get();
+        final Accumulator PARENT = STACK.Slot(NETWORK, a_depth);
+        if(PARENT.GetBoard() != a_parent){
+            PARENT.Refresh(NETWORK, a_parent);
+        }
+        STACK.Slot(NETWORK, a_depth - 1).Update(NETWORK, PARENT, a_move, a_child);
+    }
+
+    /**/
+    /*
+    NAME
+        public static double Evaluate(final Network a_network, final Board a_board);
+
+    SYNOPSIS
+        public static double Evaluate(final Network a_network, final Board a_board);
+
+        Network a_network --------> The active network.
+
+        Board a_board ------------> The board to evaluate.
+
+    DESCRIPTION
+        This method evaluates a board with the network, using the accumulator
+        of the deepest slot if it describes this board and a freshly computed one otherwise.
+
+    RETURNS
+        double: The evaluation of the board from white's point of view.
+
+    AUTHOR
+        Ryan King
+    */
+    public static double Evaluate(final Network a_network, final Board a_board){
+        final AccumulatorStack STACK = STACKS.get();
+        Accumulator accumulator = STACK.Slot(a_network, 0);
+        if(accumulator.GetBoard() != a_board){
+            accumulator = STACK.m_scratch;
+            accumulator.Refresh(a_network, a_board);
+        }
+        final ChessColor TURN = a_board.WhoseTurnIsIt();
+        return a_network.Evaluate(accumulator, TURN);
+    }
+}
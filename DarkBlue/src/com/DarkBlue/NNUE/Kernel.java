@@ -0,0 +1,94 @@
+package com.DarkBlue.NNUE;
+
+/**
+ * This interface contains the arithmetic the neural network
+ * evaluator spends nearly all of its time in.
+ *
+ * Two implementations exist: ScalarKernel, which uses plain loops
+ * written so that the JIT compiler can vectorize them on its own, and
+ * VectorKernel, which uses the incubating Java Vector API. VectorKernel is
+ * built separately from vector/src so that this source tree compiles without
+ * the module. The network picks the vector version when that class and the
+ * jdk.incubator.vector module are both present and falls back on the scalar
+ * version otherwise.
+ */
+public interface Kernel{
+
+    /**/
+    /*
+    NAME
+        public abstract void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public abstract void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being added starts.
+
+    DESCRIPTION
+        This method adds one feature's column of weights to the accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public abstract void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    /**/
+    /*
+    NAME
+        public abstract void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public abstract void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being removed starts.
+
+    DESCRIPTION
+        This method subtracts one feature's column of weights from the accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public abstract void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    /**/
+    /*
+    NAME
+        public abstract int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+    SYNOPSIS
+        public abstract int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+        short[] a_us ---------------> The accumulator from the point of view of the side to move.
+
+        short[] a_them -------------> The accumulator from the point of view of the other side.
+
+        short[] a_output -----------> The output weights; the first half belong to a_us and the second to a_them.
+
+        int a_clip -----------------> The ceiling of the clipped ReLU activation.
+
+    DESCRIPTION
+        This method clamps both accumulators between 0 and a_clip and
+        returns their dot product with the output weights.
+
+    RETURNS
+        int: The raw output of the network before its bias and scaling.
+
+    AUTHOR
+        Ryan King
+    */
+    public abstract int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+}
@@ -0,0 +1,500 @@
+package com.DarkBlue.NNUE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds an efficiently updatable neural network (NNUE)
+ * that can stand in for the positional tables in Minimax.Evaluate().
+ *
+ * The input layer uses king-relative piece-square features: from each side's
+ * point of view, every piece other than a king is described by where that side's
+ * own king stands, the piece's type, whether it is friendly or hostile, and the tile
+ * it stands on. Black's point of view is flipped vertically so both sides share
+ * the same weights. That gives 64 x 10 x 64 = 40960 inputs per side.
+ *
+ * The inputs feed one hidden layer whose pre-activations are kept in an
+ * Accumulator of 16-bit integers. Since a move only changes a couple of features,
+ * an accumulator is updated by adding and subtracting a few columns of weights
+ * rather than being recomputed. The hidden layer of the side to move is concatenated
+ * with the hidden layer of the other side, clamped by a clipped ReLU, and reduced
+ * to a single number by the output layer.
+ *
+ * Networks are read from a little-endian binary file laid out as follows:
+ *
+ * int     Magic number 0x4E4E4244 ("DBNN")
+ * int     Format version (1)
+ * int     Hidden layer size H
+ * int     Clipped ReLU ceiling
+ * int     Output divisor; the raw output divided by this is in the same units as Minimax.Evaluate()
+ * short   H hidden biases
+ * short   40960 x H feature weights, feature by feature
+ * short   2H output weights, the side to move's half first
+ * int     Output bias
+ *
+ * Save() writes a network back out in the same layout.
+ *
+ * Nothing changes unless a network is loaded with SetActive(Load(path)).
+ */
+public final class Network{
+
+    // Symbolic constants
+    public static final int MAGIC = 0x4E4E4244;
+    public static final int VERSION = Utilities.ONE;
+    public static final int PIECE_FEATURES = Utilities.TEN;
+    public static final int INPUTS = Utilities.SIXTY_FOUR * PIECE_FEATURES * Utilities.SIXTY_FOUR;
+
+    private static final int HEADER_BYTES = Utilities.FIVE * Integer.BYTES;
+    private static final int VERTICAL_FLIP = 56;
+
+    // The vector kernel lives in a separate class so that it is only loaded if it can be
+    private static final String VECTOR_KERNEL = "com.DarkBlue.NNUE.VectorKernel";
+    private static final Kernel KERNEL = ChooseKernel();
+
+    // The network currently used by the engine, or null to use the positional tables
+    private static volatile Network m_active = null;
+
+    private final int m_hidden;
+    private final int m_clip;
+    private final int m_divisor;
+    private final short[] m_biases;
+    private final short[] m_featureWeights;
+    private final short[] m_outputWeights;
+    private final int m_outputBias;
+
+    /**/
+    /*
+    NAME
+        public Network(final int a_hidden, final int a_clip, final int a_divisor, final short[] a_biases, final short[] a_featureWeights, final short[] a_outputWeights, final int a_outputBias);
+
+    SYNOPSIS
+        public Network(final int a_hidden, final int a_clip, final int a_divisor, final short[] a_biases, final short[] a_featureWeights, final short[] a_outputWeights, final int a_outputBias);
+
+        int a_hidden ------------------> The size of the hidden layer.
+
+        int a_clip --------------------> The ceiling of the clipped ReLU.
+
+        int a_divisor -----------------> What the raw output is divided by to get an evaluation.
+
+        short[] a_biases --------------> The hidden biases.
+
+        short[] a_featureWeights ------> The feature weights, feature by feature.
+
+        short[] a_outputWeights -------> The output weights.
+
+        int a_outputBias --------------> The output bias.
+
+    DESCRIPTION
+        This constructor creates a network from its raw parameters.
+        An IllegalArgumentException is thrown if their sizes do not agree.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Network(final int a_hidden, final int a_clip, final int a_divisor, final short[] a_biases, final short[] a_featureWeights, final short[] a_outputWeights, final int a_outputBias){
+        if(a_hidden < Utilities.ONE || a_clip < Utilities.ONE || a_clip > Short.MAX_VALUE || a_divisor == Utilities.ZERO
+                || a_biases == null || a_biases.length != a_hidden
+                || a_featureWeights == null || a_featureWeights.length != (long)INPUTS * a_hidden
+                || a_outputWeights == null || a_outputWeights.length != Utilities.TWO * a_hidden){
+            throw new IllegalArgumentException("Invalid argument(s) to Network constructor");
+        }
+        this.m_hidden = a_hidden;
+        this.m_clip = a_clip;
+        this.m_divisor = a_divisor;
+        this.m_biases = a_biases;
+        this.m_featureWeights = a_featureWeights;
+        this.m_outputWeights = a_outputWeights;
+        this.m_outputBias = a_outputBias;
+    }
+
+    /**/
+    /*
+    NAME
+        public static Network Load(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public static Network Load(final Path a_path) throws IOException;
+
+        Path a_path --------------> The network file.
+
+    DESCRIPTION
+        This method maps a network file into memory and copies its parameters
+        into primitive arrays. An IOException is thrown if the file cannot be
+        read, has the wrong magic number or version, or has the wrong size.
+
+    RETURNS
+        Network: The network found in the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Network Load(final Path a_path) throws IOException{
+        try(final FileChannel CHANNEL = FileChannel.open(a_path, StandardOpenOption.READ)){
+            final long SIZE = CHANNEL.size();
+            if(SIZE < HEADER_BYTES){
+                throw new IOException(a_path + " is too small to be a network");
+            }
+
+            final MappedByteBuffer BUFFER = CHANNEL.map(FileChannel.MapMode.READ_ONLY, Utilities.ZERO, SIZE);
+            BUFFER.order(ByteOrder.LITTLE_ENDIAN);
+
+            if(BUFFER.getInt() != MAGIC || BUFFER.getInt() != VERSION){
+                throw new IOException(a_path + " is not a version " + VERSION + " DarkBlue network");
+            }
+
+            final int HIDDEN = BUFFER.getInt();
+            final int CLIP = BUFFER.getInt();
+            final int DIVISOR = BUFFER.getInt();
+
+            final long EXPECTED = HEADER_BYTES + ((long)HIDDEN + (long)INPUTS * HIDDEN + Utilities.TWO * (long)HIDDEN) * Short.BYTES + Integer.BYTES;
+            if(HIDDEN < Utilities.ONE || SIZE != EXPECTED){
+                throw new IOException(a_path + " has " + SIZE + " bytes but a hidden layer of " + HIDDEN + " needs " + EXPECTED);
+            }
+
+            final short[] BIASES = new short[HIDDEN];
+            final short[] FEATURE_WEIGHTS = new short[INPUTS * HIDDEN];
+            final short[] OUTPUT_WEIGHTS = new short[Utilities.TWO * HIDDEN];
+
+            BUFFER.asShortBuffer().get(BIASES);
+            BUFFER.position(BUFFER.position() + HIDDEN * Short.BYTES);
+            BUFFER.asShortBuffer().get(FEATURE_WEIGHTS);
+            BUFFER.position(BUFFER.position() + INPUTS * HIDDEN * Short.BYTES);
+            BUFFER.asShortBuffer().get(OUTPUT_WEIGHTS);
+            BUFFER.position(BUFFER.position() + Utilities.TWO * HIDDEN * Short.BYTES);
+            final int OUTPUT_BIAS = BUFFER.getInt();
+
+            try{
+                return new Network(HIDDEN, CLIP, DIVISOR, BIASES, FEATURE_WEIGHTS, OUTPUT_WEIGHTS, OUTPUT_BIAS);
+            }catch(IllegalArgumentException e){
+                throw new IOException(a_path + " has an invalid header", e);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Save(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public final void Save(final Path a_path) throws IOException;
+
+        Path a_path --------------> The file to write, which is replaced if it exists.
+
+    DESCRIPTION
+        This method writes the network in the layout Load() reads.
+        An IOException is thrown if the file cannot be written.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Save(final Path a_path) throws IOException{
+        final long SIZE = HEADER_BYTES + ((long)this.m_hidden + (long)INPUTS * this.m_hidden + Utilities.TWO * (long)this.m_hidden) * Short.BYTES + Integer.BYTES;
+        final ByteBuffer BUFFER = ByteBuffer.allocate((int)SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        BUFFER.putInt(MAGIC).putInt(VERSION).putInt(this.m_hidden).putInt(this.m_clip).putInt(this.m_divisor);
+        for(final short[] VALUES : new short[][]{this.m_biases, this.m_featureWeights, this.m_outputWeights}){
+            BUFFER.asShortBuffer().put(VALUES);
+            BUFFER.position(BUFFER.position() + VALUES.length * Short.BYTES);
+        }
+        BUFFER.putInt(this.m_outputBias);
+        BUFFER.flip();
+
+        try(final FileChannel CHANNEL = FileChannel.open(a_path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+            while(BUFFER.hasRemaining()){
+                CHANNEL.write(BUFFER);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static Kernel ChooseKernel();
+
+    SYNOPSIS
+        private static Kernel ChooseKernel();
+
+        No parameters.
+
+    DESCRIPTION
+        This method tries to load the Vector API kernel and
+        falls back on the scalar kernel if the module is unavailable.
+
+    RETURNS
+        Kernel: The fastest kernel this JVM can run.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Kernel ChooseKernel(){
+        try{
+            return (Kernel)Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        }catch(ReflectiveOperationException | LinkageError e){
+            return new ScalarKernel();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static Kernel GetKernel();
+
+    SYNOPSIS
+        public static Kernel GetKernel();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the kernel every network uses on this JVM.
+
+    RETURNS
+        Kernel KERNEL: Either a VectorKernel or a ScalarKernel.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Kernel GetKernel(){
+        return KERNEL;
+    }
+
+    /**/
+    /*
+    NAME
+        public static Network GetActive();
+
+    SYNOPSIS
+        public static Network GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the network the engine evaluates boards with.
+
+    RETURNS
+        Network m_active: The active network, or null if the positional tables are in use.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Network GetActive(){
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final Network a_network);
+
+    SYNOPSIS
+        public static void SetActive(final Network a_network);
+
+        Network a_network --------> The new network, or null to go back to the positional tables.
+
+    DESCRIPTION
+        This method changes the network the engine evaluates boards with.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetActive(final Network a_network){
+        m_active = a_network;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetHiddenSize();
+
+    SYNOPSIS
+        public final int GetHiddenSize();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the size of the hidden layer.
+
+    RETURNS
+        int m_hidden: The number of hidden neurons per perspective.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetHiddenSize(){
+        return this.m_hidden;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int FeatureIndex(final ChessColor a_perspective, final int a_kingSquare, final Piece a_piece, final int a_square);
+
+    SYNOPSIS
+        public static int FeatureIndex(final ChessColor a_perspective, final int a_kingSquare, final Piece a_piece, final int a_square);
+
+        ChessColor a_perspective --> The side whose point of view is used.
+
+        int a_kingSquare ----------> The square of that side's king, row * 8 + column.
+
+        Piece a_piece -------------> A piece other than a king.
+
+        int a_square --------------> The square of the piece, row * 8 + column.
+
+    DESCRIPTION
+        This method returns the input feature describing a piece from one side's point of view.
+
+    RETURNS
+        int: The feature index from 0 to 40959.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int FeatureIndex(final ChessColor a_perspective, final int a_kingSquare, final Piece a_piece, final int a_square){
+        final int FLIP = (a_perspective.IsWhite() ? Utilities.ZERO : VERTICAL_FLIP);
+        final int RELATION = (a_piece.GetColor() == a_perspective ? Utilities.ZERO : Utilities.ONE);
+        final int PIECE = a_piece.GetPieceType().ordinal() * Utilities.TWO + RELATION;
+        return ((a_kingSquare ^ FLIP) * PIECE_FEATURES + PIECE) * Utilities.SIXTY_FOUR + (a_square ^ FLIP);
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Reset(final short[] a_values, final ChessColor a_perspective, final Board a_board);
+
+    SYNOPSIS
+        public final void Reset(final short[] a_values, final ChessColor a_perspective, final Board a_board);
+
+        short[] a_values ---------> One perspective of an accumulator.
+
+        ChessColor a_perspective -> The side whose point of view is used.
+
+        Board a_board ------------> The board to read the pieces from.
+
+    DESCRIPTION
+        This method recomputes one perspective of an accumulator from scratch:
+        the hidden biases plus the column of every piece other than the kings.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Reset(final short[] a_values, final ChessColor a_perspective, final Board a_board){
+        System.arraycopy(this.m_biases, Utilities.ZERO, a_values, Utilities.ZERO, this.m_hidden);
+
+        // A board without this side's king has no features to speak of
+        final Piece KING = a_board.GetKing(a_perspective);
+        if(KING == null){
+            return;
+        }
+        final int KING_SQUARE = KING.GetCurrentRow() * Utilities.EIGHT + KING.GetCurrentColumn();
+
+        for(int square = Utilities.ZERO; square < Utilities.SIXTY_FOUR; square++){
+            final Piece PIECE = a_board.GetTile(square / Utilities.EIGHT, square % Utilities.EIGHT).GetPiece();
+            if(PIECE != null && PIECE.GetPieceType() != PieceType.KING){
+                this.Add(a_values, FeatureIndex(a_perspective, KING_SQUARE, PIECE, square));
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Add(final short[] a_values, final int a_feature);
+
+    SYNOPSIS
+        public final void Add(final short[] a_values, final int a_feature);
+
+        short[] a_values ---------> One perspective of an accumulator.
+
+        int a_feature ------------> The feature being switched on.
+
+    DESCRIPTION
+        This method adds a feature's column of weights to one perspective of an accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Add(final short[] a_values, final int a_feature){
+        KERNEL.Add(a_values, this.m_featureWeights, a_feature * this.m_hidden);
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Subtract(final short[] a_values, final int a_feature);
+
+    SYNOPSIS
+        public final void Subtract(final short[] a_values, final int a_feature);
+
+        short[] a_values ---------> One perspective of an accumulator.
+
+        int a_feature ------------> The feature being switched off.
+
+    DESCRIPTION
+        This method subtracts a feature's column of weights from one perspective of an accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Subtract(final short[] a_values, final int a_feature){
+        KERNEL.Subtract(a_values, this.m_featureWeights, a_feature * this.m_hidden);
+    }
+
+    /**/
+    /*
+    NAME
+        public final double Evaluate(final Accumulator a_accumulator, final ChessColor a_sideToMove);
+
+    SYNOPSIS
+        public final double Evaluate(final Accumulator a_accumulator, final ChessColor a_sideToMove);
+
+        Accumulator a_accumulator ------> An up-to-date accumulator of the board being evaluated.
+
+        ChessColor a_sideToMove --------> The side whose turn it is.
+
+    DESCRIPTION
+        This method runs the output layer of the network.
+        The network itself scores the board for the side to move;
+        the score is negated when black is to move so that the result is always from white's point of view.
+
+    RETURNS
+        double: The evaluation of the board from white's point of view.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double Evaluate(final Accumulator a_accumulator, final ChessColor a_sideToMove){
+        final short[] US = a_accumulator.GetValues(a_sideToMove);
+        final short[] THEM = a_accumulator.GetValues(a_sideToMove.IsWhite() ? ChessColor.BLACK : ChessColor.WHITE);
+        final double SCORE = (double)(KERNEL.Forward(US, THEM, this.m_outputWeights, this.m_clip) + this.m_outputBias) / this.m_divisor;
+        return (a_sideToMove.IsWhite() ? SCORE : -SCORE);
+    }
+}
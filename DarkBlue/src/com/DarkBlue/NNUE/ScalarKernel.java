@@ -0,0 +1,112 @@
+package com.DarkBlue.NNUE;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class is the portable implementation of the network's arithmetic.
+ *
+ * Every loop runs over a fixed-width primitive array with no branches
+ * or method calls inside it, which lets HotSpot's superword optimization
+ * turn them into SIMD instructions on its own on most machines.
+ */
+public final class ScalarKernel implements Kernel{
+
+    /**/
+    /*
+    NAME
+        public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being added starts.
+
+    DESCRIPTION
+        This method adds one feature's column of weights to the accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset){
+        for(int i = Utilities.ZERO; i < a_accumulator.length; i++){
+            a_accumulator[i] += a_weights[a_offset + i];
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being removed starts.
+
+    DESCRIPTION
+        This method subtracts one feature's column of weights from the accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset){
+        for(int i = Utilities.ZERO; i < a_accumulator.length; i++){
+            a_accumulator[i] -= a_weights[a_offset + i];
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+    SYNOPSIS
+        public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+        short[] a_us ---------------> The accumulator from the point of view of the side to move.
+
+        short[] a_them -------------> The accumulator from the point of view of the other side.
+
+        short[] a_output -----------> The output weights; the first half belong to a_us and the second to a_them.
+
+        int a_clip -----------------> The ceiling of the clipped ReLU activation.
+
+    DESCRIPTION
+        This method clamps both accumulators between 0 and a_clip and
+        returns their dot product with the output weights.
+
+    RETURNS
+        int sum: The raw output of the network before its bias and scaling.
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip){
+        final int HIDDEN = a_us.length;
+        int sum = Utilities.ZERO;
+        for(int i = Utilities.ZERO; i < HIDDEN; i++){
+            sum += Math.min(a_clip, Math.max(Utilities.ZERO, a_us[i])) * a_output[i];
+        }
+        for(int i = Utilities.ZERO; i < HIDDEN; i++){
+            sum += Math.min(a_clip, Math.max(Utilities.ZERO, a_them[i])) * a_output[HIDDEN + i];
+        }
+        return sum;
+    }
+}
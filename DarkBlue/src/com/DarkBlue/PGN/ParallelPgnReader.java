@@ -0,0 +1,222 @@
+package com.DarkBlue.PGN;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class reads a PGN file with several threads.
+ *
+ * The calling thread splits the file into games, which is cheap, and hands
+ * each game's text to a pool of workers that replay its moves, which is not.
+ * Games are delivered to the caller in the order they appear in the file.
+ * At most WINDOW_PER_THREAD games per worker are in flight at any time, so
+ * memory stays bounded no matter how large the file is.
+ */
+public final class ParallelPgnReader implements Closeable{
+
+    public static final int WINDOW_PER_THREAD = Utilities.FOUR;
+
+    private final PgnReader m_reader;
+    private final int m_threads;
+    private final ExecutorService m_pool;
+    private final int m_maxPlies;
+
+    /**/
+    /*
+    NAME
+        public ParallelPgnReader(final Reader a_reader, final int a_threads);
+
+    SYNOPSIS
+        public ParallelPgnReader(final Reader a_reader, final int a_threads);
+
+        Reader a_reader ----------> The text to read from.
+
+        int a_threads ------------> The number of worker threads.
+
+    DESCRIPTION
+        This constructor creates a reader and its worker pool.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public ParallelPgnReader(final Reader a_reader, final int a_threads){
+        this(a_reader, a_threads, GameRecord.MAX_MOVES);
+    }
+
+    /**/
+    /*
+    NAME
+        public ParallelPgnReader(final Reader a_reader, final int a_threads, final int a_maxPlies);
+
+    SYNOPSIS
+        public ParallelPgnReader(final Reader a_reader, final int a_threads, final int a_maxPlies);
+
+        Reader a_reader ----------> The text to read from.
+
+        int a_threads ------------> The number of worker threads.
+
+        int a_maxPlies -----------> The most moves of each game to replay.
+
+    DESCRIPTION
+        This constructor creates a reader that only replays the first moves of every game.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public ParallelPgnReader(final Reader a_reader, final int a_threads, final int a_maxPlies){
+        if(a_reader == null || a_threads < Utilities.ONE || a_maxPlies < Utilities.ZERO){
+            throw new IllegalArgumentException("Invalid argument(s) to ParallelPgnReader constructor");
+        }
+
+        this.m_reader = new PgnReader(a_reader);
+        this.m_threads = a_threads;
+        this.m_pool = Executors.newFixedThreadPool(a_threads);
+        this.m_maxPlies = a_maxPlies;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long ReadAll(final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        public final long ReadAll(final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws IOException, InterruptedException;
+
+        Consumer<PgnGame> a_games ---------------> Receives every game that was read successfully.
+
+        BiConsumer<Long, String> a_errors -------> Receives the number and error message of every game that could not be read.
+
+    DESCRIPTION
+        This method reads every remaining game in the file. Both consumers
+        are only called from the calling thread, in file order.
+        Games are numbered from 1.
+
+    RETURNS
+        long: The number of games read successfully.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long ReadAll(final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws IOException, InterruptedException{
+        final ArrayDeque<Future<PgnGame>> WINDOW = new ArrayDeque<>(this.m_threads * WINDOW_PER_THREAD);
+        long number = Utilities.ZERO, read = Utilities.ZERO;
+
+        final int MAX_PLIES = this.m_maxPlies;
+        String text;
+        while((text = this.m_reader.NextText()) != null){
+            final String TEXT = text;
+            WINDOW.add(this.m_pool.submit(() -> PgnReader.Parse(TEXT, MAX_PLIES)));
+
+            if(WINDOW.size() >= this.m_threads * WINDOW_PER_THREAD){
+                read += Deliver(WINDOW.poll(), ++number, a_games, a_errors);
+            }
+        }
+
+        while(!WINDOW.isEmpty()){
+            read += Deliver(WINDOW.poll(), ++number, a_games, a_errors);
+        }
+
+        return read;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetSkippedGames();
+
+    SYNOPSIS
+        public final long GetSkippedGames();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many games were too long to read.
+        Skipped games are not numbered.
+
+    RETURNS
+        long: The number of skipped games.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetSkippedGames(){
+        return this.m_reader.GetSkippedGames();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void close() throws IOException;
+
+    SYNOPSIS
+        public final void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops the worker pool and closes the underlying reader.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void close() throws IOException{
+        this.m_pool.shutdownNow();
+        this.m_reader.close();
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Deliver(final Future<PgnGame> a_future, final long a_number, final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws InterruptedException;
+
+    SYNOPSIS
+        private static int Deliver(final Future<PgnGame> a_future, final long a_number, final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws InterruptedException;
+
+        Future<PgnGame> a_future ----------------> The game being parsed.
+
+        long a_number ---------------------------> The number of the game in the file.
+
+        Consumer<PgnGame> a_games ---------------> Receives the game if it was read successfully.
+
+        BiConsumer<Long, String> a_errors -------> Receives the error message otherwise.
+
+    DESCRIPTION
+        This method waits for a game to be parsed and hands it to the caller.
+
+    RETURNS
+        int: 1 if the game was read successfully, and 0 otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Deliver(final Future<PgnGame> a_future, final long a_number, final Consumer<PgnGame> a_games, final BiConsumer<Long, String> a_errors) throws InterruptedException{
+        try{
+            a_games.accept(a_future.get());
+            return Utilities.ONE;
+        }catch(ExecutionException e){
+            a_errors.accept(a_number, String.valueOf(e.getCause().getMessage()));
+            return Utilities.ZERO;
+        }
+    }
+}
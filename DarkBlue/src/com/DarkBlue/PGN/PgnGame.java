@@ -0,0 +1,184 @@
+package com.DarkBlue.PGN;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds one game read from or written to a PGN file:
+ * its tag pairs in the order they appeared, and its moves and result
+ * as a GameRecord. Comments, variations, and annotations are not kept.
+ */
+public final class PgnGame{
+
+    // The tags every PGN game must have, in the order they have to be written
+    public static final String[] SEVEN_TAG_ROSTER = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+
+    public static final String FEN_TAG = "FEN";
+    public static final String SET_UP_TAG = "SetUp";
+    public static final String RESULT_TAG = "Result";
+
+    private final LinkedHashMap<String, String> m_tags;
+    private final GameRecord m_record;
+
+    /**/
+    /*
+    NAME
+        public PgnGame(final GameRecord a_record);
+
+    SYNOPSIS
+        public PgnGame(final GameRecord a_record);
+
+        GameRecord a_record ------> The moves and result of the game.
+
+    DESCRIPTION
+        This constructor creates a game with no tags.
+        The Result tag is always written from the record.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PgnGame(final GameRecord a_record){
+        this.m_tags = new LinkedHashMap<>();
+        this.m_record = a_record;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetTag(final String a_name);
+
+    SYNOPSIS
+        public final String GetTag(final String a_name);
+
+        String a_name ------------> The name of the tag.
+
+    DESCRIPTION
+        This method returns the value of a tag.
+
+    RETURNS
+        String: The value, or null if the game does not have the tag.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetTag(final String a_name){
+        if(a_name.equals(RESULT_TAG)){
+            return GameRecord.RESULTS[this.m_record.GetResult()];
+        }
+        return this.m_tags.get(a_name);
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetTag(final String a_name, final String a_value);
+
+    SYNOPSIS
+        public final void SetTag(final String a_name, final String a_value);
+
+        String a_name ------------> The name of the tag.
+
+        String a_value -----------> The value of the tag, or null to remove it.
+
+    DESCRIPTION
+        This method sets a tag. Setting the Result tag sets the result of the record.
+        The FEN and SetUp tags come from the record's starting position and cannot be set.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetTag(final String a_name, final String a_value){
+        if(a_name.equals(RESULT_TAG)){
+            this.m_record.SetResult(ParseResult(a_value));
+        }else if(a_name.equals(FEN_TAG) || a_name.equals(SET_UP_TAG)){
+            return;
+        }else if(a_value == null){
+            this.m_tags.remove(a_name);
+        }else{
+            this.m_tags.put(a_name, a_value);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final Map<String, String> GetTags();
+
+    SYNOPSIS
+        public final Map<String, String> GetTags();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns every tag other than Result, FEN, and SetUp.
+
+    RETURNS
+        Map<String, String> m_tags: The tags in the order they were set, which must not be changed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Map<String, String> GetTags(){
+        return this.m_tags;
+    }
+
+    /**/
+    /*
+    NAME
+        public final GameRecord GetRecord();
+
+    SYNOPSIS
+        public final GameRecord GetRecord();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the moves and result of the game.
+
+    RETURNS
+        GameRecord m_record: The record.
+
+    AUTHOR
+        Ryan King
+    */
+    public final GameRecord GetRecord(){
+        return this.m_record;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int ParseResult(final String a_result);
+
+    SYNOPSIS
+        public static int ParseResult(final String a_result);
+
+        String a_result ----------> A result as PGN writes it.
+
+    DESCRIPTION
+        This method converts a PGN result into a GameRecord result.
+
+    RETURNS
+        int: The result, or GameRecord.RESULT_UNKNOWN for anything that is not a known result.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int ParseResult(final String a_result){
+        for(int i = GameRecord.RESULTS.length - Utilities.ONE; i > GameRecord.RESULT_UNKNOWN; i--){
+            if(GameRecord.RESULTS[i].equals(a_result)){
+                return i;
+            }
+        }
+        return GameRecord.RESULT_UNKNOWN;
+    }
+}
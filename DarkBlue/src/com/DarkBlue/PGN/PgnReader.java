@@ -0,0 +1,498 @@
+package com.DarkBlue.PGN;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class reads games from a PGN file one at a time.
+ *
+ * Reading is split in two so the expensive part can run on other threads:
+ * NextText() only finds where each game starts and ends and returns its text,
+ * and Parse() turns that text into a game by replaying every move. Only one game
+ * is held in memory at a time, so files of any size can be read. A game longer than
+ * MAX_GAME_LENGTH characters is skipped rather than read into memory, and counted.
+ *
+ * A game ends where the next tag section starts. Comments in braces or after a
+ * semicolon, variations in parentheses, numeric annotation glyphs, and lines
+ * starting with % are skipped.
+ */
+public final class PgnReader implements Closeable{
+
+    public static final int MAX_GAME_LENGTH = 1 << 20;
+
+    private final BufferedReader m_reader;
+    private final StringBuilder m_text;
+
+    // The tag line that ended the previous game and starts the next one
+    private String m_nextLine;
+
+    private long m_skipped;
+
+    /**/
+    /*
+    NAME
+        public PgnReader(final Reader a_reader);
+
+    SYNOPSIS
+        public PgnReader(final Reader a_reader);
+
+        Reader a_reader ----------> The text to read from.
+
+    DESCRIPTION
+        This constructor creates a reader positioned at the first game.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PgnReader(final Reader a_reader){
+        this.m_reader = (a_reader instanceof BufferedReader ? (BufferedReader) a_reader : new BufferedReader(a_reader, 1 << 16));
+        this.m_text = new StringBuilder();
+        this.m_nextLine = null;
+        this.m_skipped = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String NextText() throws IOException;
+
+    SYNOPSIS
+        public final String NextText() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads the text of the next game without parsing its moves.
+
+    RETURNS
+        String: The tag pairs and movetext of the next game, or null at the end of the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String NextText() throws IOException{
+        while(true){
+            this.m_text.setLength(Utilities.ZERO);
+            boolean inComment = false, inMovetext = false, tooLong = false;
+
+            String line = this.m_nextLine;
+            this.m_nextLine = null;
+            if(line == null){
+                line = this.m_reader.readLine();
+            }
+
+            for(; line != null; line = this.m_reader.readLine()){
+                if(!inComment){
+                    if(line.startsWith("%")){
+                        continue;
+                    }
+
+                    final boolean IS_TAG = line.trim().startsWith("[");
+                    if(IS_TAG && inMovetext){
+                        this.m_nextLine = line;
+                        break;
+                    }else if(!IS_TAG && !line.trim().isEmpty()){
+                        inMovetext = true;
+                    }
+                }
+
+                inComment = EndsInComment(line, inComment);
+
+                if(!tooLong && this.m_text.length() + line.length() >= MAX_GAME_LENGTH){
+                    tooLong = true;
+                    this.m_text.setLength(Utilities.ZERO);
+                }
+                if(!tooLong){
+                    this.m_text.append(line).append('\n');
+                }
+            }
+
+            if(tooLong){
+                this.m_skipped++;
+                continue;
+            }
+
+            return (line == null && this.m_text.toString().trim().isEmpty() ? null : this.m_text.toString());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final PgnGame Next() throws IOException;
+
+    SYNOPSIS
+        public final PgnGame Next() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads and parses the next game.
+
+    RETURNS
+        PgnGame: The next game, or null at the end of the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public final PgnGame Next() throws IOException{
+        final String TEXT = this.NextText();
+        return (TEXT == null ? null : Parse(TEXT));
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetSkippedGames();
+
+    SYNOPSIS
+        public final long GetSkippedGames();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many games were too long to read.
+
+    RETURNS
+        long m_skipped: The number of skipped games.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetSkippedGames(){
+        return this.m_skipped;
+    }
+
+    /**/
+    /*
+    NAME
+        public static PgnGame Parse(final String a_text);
+
+    SYNOPSIS
+        public static PgnGame Parse(final String a_text);
+
+        String a_text ------------> The text of one game, as NextText() returns it.
+
+    DESCRIPTION
+        This method reads the tags of a game and replays its moves.
+        The Result tag decides the result; the result at the end of
+        the movetext is only used if there is no such tag.
+
+    RETURNS
+        PgnGame: The game.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PgnGame Parse(final String a_text){
+        return Parse(a_text, GameRecord.MAX_MOVES);
+    }
+
+    /**/
+    /*
+    NAME
+        public static PgnGame Parse(final String a_text, final int a_maxPlies);
+
+    SYNOPSIS
+        public static PgnGame Parse(final String a_text, final int a_maxPlies);
+
+        String a_text ------------> The text of one game, as NextText() returns it.
+
+        int a_maxPlies -----------> The most moves to replay.
+
+    DESCRIPTION
+        This method reads a game the same way the method above does, but only
+        replays its first moves, which is all an opening book needs.
+        The rest of the movetext is still read for its result but not checked.
+
+    RETURNS
+        PgnGame: The game, with no more than a_maxPlies moves.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PgnGame Parse(final String a_text, final int a_maxPlies){
+        final int LENGTH = a_text.length();
+        final LinkedHashMap<String, String> TAGS = new LinkedHashMap<>();
+        int i = SkipWhitespace(a_text, Utilities.ZERO);
+
+        // The tag section
+        while(i < LENGTH && a_text.charAt(i) == '['){
+            final int NAME_START = SkipWhitespace(a_text, i + Utilities.ONE);
+            int nameEnd = NAME_START;
+            while(nameEnd < LENGTH && (Character.isLetterOrDigit(a_text.charAt(nameEnd)) || a_text.charAt(nameEnd) == '_')){
+                nameEnd++;
+            }
+
+            int quote = SkipWhitespace(a_text, nameEnd);
+            if(nameEnd == NAME_START || quote >= LENGTH || a_text.charAt(quote) != '"'){
+                throw new IllegalArgumentException("Malformed tag at character " + i);
+            }
+
+            final StringBuilder VALUE = new StringBuilder();
+            int j = quote + Utilities.ONE;
+            for(; j < LENGTH && a_text.charAt(j) != '"'; j++){
+                if(a_text.charAt(j) == '\\' && j + Utilities.ONE < LENGTH){
+                    j++;
+                }
+                VALUE.append(a_text.charAt(j));
+            }
+
+            final int CLOSE = SkipWhitespace(a_text, j + Utilities.ONE);
+            if(j >= LENGTH || CLOSE >= LENGTH || a_text.charAt(CLOSE) != ']'){
+                throw new IllegalArgumentException("Malformed tag at character " + i);
+            }
+
+            TAGS.put(a_text.substring(NAME_START, nameEnd), VALUE.toString());
+            i = SkipWhitespace(a_text, CLOSE + Utilities.ONE);
+        }
+
+        final String FEN = TAGS.get(PgnGame.FEN_TAG);
+        final GameRecord RECORD;
+        final SanPosition POSITION;
+        try{
+            RECORD = new GameRecord(FEN != null ? FEN : GameRecord.STARTING_FEN);
+            POSITION = new SanPosition(RECORD.GetStartingFEN());
+        }catch(IllegalArgumentException e){
+            throw new IllegalArgumentException("Invalid FEN tag: " + e.getMessage());
+        }
+
+        final PgnGame GAME = new PgnGame(RECORD);
+        for(final Map.Entry<String, String> TAG : TAGS.entrySet()){
+            GAME.SetTag(TAG.getKey(), TAG.getValue());
+        }
+
+        // The movetext
+        String termination = null;
+        while(i < LENGTH){
+            final char C = a_text.charAt(i);
+
+            if(Character.isWhitespace(C)){
+                i++;
+            }else if(C == '{'){
+                final int CLOSE = a_text.indexOf('}', i);
+                i = (CLOSE < Utilities.ZERO ? LENGTH : CLOSE + Utilities.ONE);
+            }else if(C == ';'){
+                final int NEWLINE = a_text.indexOf('\n', i);
+                i = (NEWLINE < Utilities.ZERO ? LENGTH : NEWLINE + Utilities.ONE);
+            }else if(C == '('){
+                i = SkipVariation(a_text, i);
+            }else{
+                int end = i;
+                while(end < LENGTH && !Character.isWhitespace(a_text.charAt(end)) && "{;()".indexOf(a_text.charAt(end)) < Utilities.ZERO){
+                    end++;
+                }
+
+                final String TOKEN = a_text.substring(i, end);
+                i = end;
+
+                if(TOKEN.charAt(Utilities.ZERO) == '$' || TOKEN.equals(SanPosition.EN_PASSANT_SUFFIX)){
+                    continue;
+                }else if(PgnGame.ParseResult(TOKEN) != GameRecord.RESULT_UNKNOWN || TOKEN.equals(GameRecord.RESULTS[GameRecord.RESULT_UNKNOWN])){
+                    termination = TOKEN;
+                    continue;
+                }
+
+                // Move numbers may be written with or without a space before the move
+                int start = Utilities.ZERO;
+                while(start < TOKEN.length() && Character.isDigit(TOKEN.charAt(start))){
+                    start++;
+                }
+                if(start < TOKEN.length() && TOKEN.charAt(start) == '.'){
+                    while(start < TOKEN.length() && TOKEN.charAt(start) == '.'){
+                        start++;
+                    }
+                }else{
+                    start = Utilities.ZERO;
+                }
+
+                if(start == TOKEN.length() || RECORD.GetMoveCount() >= a_maxPlies){
+                    continue;
+                }
+
+                final String SAN = TOKEN.substring(start);
+                try{
+                    final short MOVE = POSITION.Parse(SAN);
+                    POSITION.Play(MOVE);
+                    RECORD.Add(MOVE);
+                }catch(IllegalArgumentException e){
+                    throw new IllegalArgumentException("Move " + (RECORD.GetMoveCount() + Utilities.ONE) + " of game " + Describe(GAME) + ": " + e.getMessage());
+                }
+            }
+        }
+
+        if(!TAGS.containsKey(PgnGame.RESULT_TAG) && termination != null){
+            RECORD.SetResult(PgnGame.ParseResult(termination));
+        }
+
+        return GAME;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void close() throws IOException;
+
+    SYNOPSIS
+        public final void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method closes the underlying reader.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void close() throws IOException{
+        this.m_reader.close();
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean EndsInComment(final String a_line, final boolean a_inComment);
+
+    SYNOPSIS
+        private static boolean EndsInComment(final String a_line, final boolean a_inComment);
+
+        String a_line ------------> A line of the file.
+
+        boolean a_inComment ------> If the line starts inside a brace comment.
+
+    DESCRIPTION
+        This method follows brace comments through a line, so a line inside
+        a comment that happens to start with [ does not start a new game.
+
+    RETURNS
+        boolean: True if the line ends inside a brace comment, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean EndsInComment(final String a_line, final boolean a_inComment){
+        boolean inComment = a_inComment;
+
+        for(int i = Utilities.ZERO; i < a_line.length(); i++){
+            final char C = a_line.charAt(i);
+            if(inComment){
+                inComment = C != '}';
+            }else if(C == '{'){
+                inComment = true;
+            }else if(C == ';'){
+                break;
+            }
+        }
+
+        return inComment;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int SkipVariation(final String a_text, final int a_start);
+
+    SYNOPSIS
+        private static int SkipVariation(final String a_text, final int a_start);
+
+        String a_text ------------> The text of a game.
+
+        int a_start --------------> The index of the opening parenthesis.
+
+    DESCRIPTION
+        This method skips a variation, along with any variations and comments inside it.
+
+    RETURNS
+        int: The index just after the closing parenthesis, or the end of the text.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int SkipVariation(final String a_text, final int a_start){
+        int depth = Utilities.ZERO;
+
+        for(int i = a_start; i < a_text.length(); i++){
+            final char C = a_text.charAt(i);
+            if(C == '{'){
+                final int CLOSE = a_text.indexOf('}', i);
+                i = (CLOSE < Utilities.ZERO ? a_text.length() : CLOSE);
+            }else if(C == ';'){
+                final int NEWLINE = a_text.indexOf('\n', i);
+                i = (NEWLINE < Utilities.ZERO ? a_text.length() : NEWLINE);
+            }else if(C == '('){
+                depth++;
+            }else if(C == ')' && --depth == Utilities.ZERO){
+                return i + Utilities.ONE;
+            }
+        }
+
+        return a_text.length();
+    }
+
+    /**/
+    /*
+    NAME
+        private static int SkipWhitespace(final String a_text, final int a_start);
+
+    SYNOPSIS
+        private static int SkipWhitespace(final String a_text, final int a_start);
+
+        String a_text ------------> The text.
+
+        int a_start --------------> Where to start.
+
+    DESCRIPTION
+        This method skips whitespace.
+
+    RETURNS
+        int: The index of the first character that is not whitespace, or the end of the text.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int SkipWhitespace(final String a_text, final int a_start){
+        int i = a_start;
+        while(i < a_text.length() && Character.isWhitespace(a_text.charAt(i))){
+            i++;
+        }
+        return i;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Describe(final PgnGame a_game);
+
+    SYNOPSIS
+        private static String Describe(final PgnGame a_game);
+
+        PgnGame a_game -----------> The game being read.
+
+    DESCRIPTION
+        This method names a game by its players for error messages.
+
+    RETURNS
+        String: The players, or "?" if the tags do not say.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Describe(final PgnGame a_game){
+        final String WHITE = a_game.GetTag("White"), BLACK = a_game.GetTag("Black");
+        return (WHITE == null && BLACK == null ? "?" : WHITE + " - " + BLACK);
+    }
+}
@@ -0,0 +1,295 @@
+package com.DarkBlue.PGN;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class writes games to a PGN file in export format: the seven tag roster
+ * first, then any other tags, then the moves in standard algebraic notation,
+ * with no line longer than 79 characters.
+ *
+ * Format() only needs the game, so games can be formatted on other threads
+ * and written in order afterward.
+ */
+public final class PgnWriter implements Closeable, Flushable{
+
+    public static final int MAX_LINE_LENGTH = 79;
+
+    private final Writer m_writer;
+    private final StringBuilder m_text;
+
+    /**/
+    /*
+    NAME
+        public PgnWriter(final Writer a_writer);
+
+    SYNOPSIS
+        public PgnWriter(final Writer a_writer);
+
+        Writer a_writer ----------> Where to write the games.
+
+    DESCRIPTION
+        This constructor creates a writer.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PgnWriter(final Writer a_writer){
+        this.m_writer = (a_writer instanceof BufferedWriter ? a_writer : new BufferedWriter(a_writer, 1 << 16));
+        this.m_text = new StringBuilder();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Write(final PgnGame a_game) throws IOException;
+
+    SYNOPSIS
+        public final void Write(final PgnGame a_game) throws IOException;
+
+        PgnGame a_game -----------> The game to write.
+
+    DESCRIPTION
+        This method writes a game followed by a blank line.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Write(final PgnGame a_game) throws IOException{
+        this.m_text.setLength(Utilities.ZERO);
+        Format(a_game, this.m_text);
+        this.m_writer.append(this.m_text);
+    }
+
+    /**/
+    /*
+    NAME
+        public static StringBuilder Format(final PgnGame a_game, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public static StringBuilder Format(final PgnGame a_game, final StringBuilder a_builder);
+
+        PgnGame a_game -----------> The game to format.
+
+        StringBuilder a_builder --> Where to append the game.
+
+    DESCRIPTION
+        This method appends a game in export format, followed by a blank line.
+        Missing roster tags are written as "?", or "????.??.??" for the date.
+        Games that do not start from the standard position get SetUp and FEN tags.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static StringBuilder Format(final PgnGame a_game, final StringBuilder a_builder){
+        final GameRecord RECORD = a_game.GetRecord();
+
+        for(final String NAME : PgnGame.SEVEN_TAG_ROSTER){
+            final String VALUE = a_game.GetTag(NAME);
+            AppendTag(NAME, VALUE != null ? VALUE : (NAME.equals("Date") ? "????.??.??" : "?"), a_builder);
+        }
+
+        if(!RECORD.GetStartingFEN().equals(GameRecord.STARTING_FEN)){
+            AppendTag(PgnGame.SET_UP_TAG, "1", a_builder);
+            AppendTag(PgnGame.FEN_TAG, RECORD.GetStartingFEN(), a_builder);
+        }
+
+        for(final Map.Entry<String, String> TAG : a_game.GetTags().entrySet()){
+            if(!IsRosterTag(TAG.getKey())){
+                AppendTag(TAG.getKey(), TAG.getValue(), a_builder);
+            }
+        }
+
+        a_builder.append('\n');
+
+        // The movetext
+        final SanPosition POSITION = new SanPosition(RECORD.GetStartingFEN());
+        final StringBuilder TOKEN = new StringBuilder();
+        int lineStart = a_builder.length();
+
+        for(int i = Utilities.ZERO; i < RECORD.GetMoveCount(); i++){
+            TOKEN.setLength(Utilities.ZERO);
+            if(POSITION.WhoseTurnIsIt().IsWhite()){
+                TOKEN.append(POSITION.GetFullmoves()).append(". ");
+            }else if(i == Utilities.ZERO){
+                TOKEN.append(POSITION.GetFullmoves()).append("... ");
+            }
+            POSITION.PlayAndAppend(RECORD.GetMove(i), TOKEN);
+
+            lineStart = AppendToken(TOKEN, lineStart, a_builder);
+        }
+
+        TOKEN.setLength(Utilities.ZERO);
+        TOKEN.append(GameRecord.RESULTS[RECORD.GetResult()]);
+        AppendToken(TOKEN, lineStart, a_builder);
+
+        return a_builder.append("\n\n");
+    }
+
+    /**/
+    /*
+    NAME
+        public final void flush() throws IOException;
+
+    SYNOPSIS
+        public final void flush() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method writes out any buffered games.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void flush() throws IOException{
+        this.m_writer.flush();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void close() throws IOException;
+
+    SYNOPSIS
+        public final void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method writes out any buffered games and closes the underlying writer.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void close() throws IOException{
+        this.m_writer.close();
+    }
+
+    /**/
+    /*
+    NAME
+        private static int AppendToken(final CharSequence a_token, final int a_lineStart, final StringBuilder a_builder);
+
+    SYNOPSIS
+        private static int AppendToken(final CharSequence a_token, final int a_lineStart, final StringBuilder a_builder);
+
+        CharSequence a_token -----> The text to append, which is kept on one line.
+
+        int a_lineStart ----------> Where the current line starts in the builder.
+
+        StringBuilder a_builder --> Where to append the text.
+
+    DESCRIPTION
+        This method appends movetext, starting a new line
+        if the current one would grow too long.
+
+    RETURNS
+        int: Where the current line starts after appending.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int AppendToken(final CharSequence a_token, final int a_lineStart, final StringBuilder a_builder){
+        int lineStart = a_lineStart;
+
+        if(a_builder.length() > lineStart){
+            if(a_builder.length() - lineStart + Utilities.ONE + a_token.length() > MAX_LINE_LENGTH){
+                a_builder.append('\n');
+                lineStart = a_builder.length();
+            }else{
+                a_builder.append(' ');
+            }
+        }
+
+        a_builder.append(a_token);
+        return lineStart;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void AppendTag(final String a_name, final String a_value, final StringBuilder a_builder);
+
+    SYNOPSIS
+        private static void AppendTag(final String a_name, final String a_value, final StringBuilder a_builder);
+
+        String a_name ------------> The name of the tag.
+
+        String a_value -----------> The value of the tag.
+
+        StringBuilder a_builder --> Where to append the tag.
+
+    DESCRIPTION
+        This method appends a tag pair, escaping quotes and backslashes in its value.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void AppendTag(final String a_name, final String a_value, final StringBuilder a_builder){
+        a_builder.append('[').append(a_name).append(" \"");
+        for(int i = Utilities.ZERO; i < a_value.length(); i++){
+            final char C = a_value.charAt(i);
+            if(C == '"' || C == '\\'){
+                a_builder.append('\\');
+            }
+            a_builder.append(C);
+        }
+        a_builder.append("\"]\n");
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsRosterTag(final String a_name);
+
+    SYNOPSIS
+        private static boolean IsRosterTag(final String a_name);
+
+        String a_name ------------> The name of a tag.
+
+    DESCRIPTION
+        This method determines if a tag belongs to the seven tag roster.
+
+    RETURNS
+        boolean: True if the tag has already been written with the roster, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsRosterTag(final String a_name){
+        for(final String NAME : PgnGame.SEVEN_TAG_ROSTER){
+            if(NAME.equals(a_name)){
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,896 @@
+package com.DarkBlue.PGN;
+
+import java.util.ArrayList;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.EnPassantMove;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Record.RecordPosition;
+import com.DarkBlue.Utilities.BoardUtilities;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Factory;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.MoveEvaluation;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class follows a game one move at a time and reads and writes
+ * its moves in standard algebraic notation (SAN).
+ *
+ * The legal moves come from the same players the search uses, en passant
+ * captures included, since every board knows its own en passant tile.
+ * A RecordPosition is kept alongside the board for the move clocks and the FEN string.
+ *
+ * Written SAN follows the PGN standard: pieces are named by uppercase letters,
+ * a move is disambiguated by file, then rank, then both, only when another piece
+ * of the same kind can also reach the tile, castling is written with the letter O,
+ * and check and checkmate are marked with + and #. Reading is more lenient: castling
+ * with zeros, a missing = before the promoted piece, an "e.p." suffix, annotation
+ * symbols, and missing or wrong check marks are all accepted.
+ */
+public final class SanPosition{
+
+    public static final String KINGSIDE_CASTLE = "O-O";
+    public static final String QUEENSIDE_CASTLE = "O-O-O";
+    public static final String EN_PASSANT_SUFFIX = "e.p.";
+
+    private static final String PROMOTION_LETTERS = " QRBN";
+
+    private Board m_board;
+    private final RecordPosition m_position;
+
+    // The legal moves of the side to move, worked out the first time they are needed
+    private ArrayList<Move> m_legalMoves;
+
+    /**/
+    /*
+    NAME
+        public SanPosition();
+
+    SYNOPSIS
+        public SanPosition();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor sets up the starting position.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SanPosition(){
+        this(GameRecord.STARTING_FEN);
+    }
+
+    /**/
+    /*
+    NAME
+        public SanPosition(final String a_fen);
+
+    SYNOPSIS
+        public SanPosition(final String a_fen);
+
+        String a_fen -------------> The position to start from.
+
+    DESCRIPTION
+        This constructor sets up a position from a FEN string.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SanPosition(final String a_fen){
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_fen)){
+            throw new IllegalArgumentException(PARSER.GetError() + " at offset " + PARSER.GetErrorOffset() + " of " + a_fen);
+        }
+
+        this.m_board = PARSER.ToBoard();
+        this.m_position = new RecordPosition();
+        this.m_position.Load(PARSER);
+        this.RestoreCastlingRights();
+        this.m_legalMoves = null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<Move> GetLegalMoves();
+
+    SYNOPSIS
+        public final ArrayList<Move> GetLegalMoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns every legal move of the side to move, en passant captures included.
+        A pawn that reaches its last rank still needs to be told what to promote to,
+        which is what the promotion of a packed move is for.
+
+    RETURNS
+        ArrayList<Move> m_legalMoves: The legal moves, which must not be changed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<Move> GetLegalMoves(){
+        if(this.m_legalMoves != null){
+            return this.m_legalMoves;
+        }
+
+        final ChessColor TURN = this.m_board.WhoseTurnIsIt();
+        final Player MOVER = new Human(TURN, this.m_board);
+        MOVER.Refresh(this.m_board);
+
+        // The board has its own en passant tile, so the player finds en passant captures too
+        final ArrayList<Move> MOVES = new ArrayList<>(MOVER.UglyMoves());
+
+        this.m_legalMoves = MOVES;
+        return MOVES;
+    }
+
+    /**/
+    /*
+    NAME
+        public final Move Find(final short a_move);
+
+    SYNOPSIS
+        public final Move Find(final short a_move);
+
+        short a_move -------------> A packed move.
+
+    DESCRIPTION
+        This method finds the legal move that goes between the same two tiles as a packed move.
+
+    RETURNS
+        Move: The legal move, or null if the packed move is not legal here.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Move Find(final short a_move){
+        final int FROM = PackedMove.From(a_move), TO = PackedMove.To(a_move);
+
+        for(final Move MOVE : this.GetLegalMoves()){
+            if(Tile(MOVE.GetOldRow(), MOVE.GetOldColumn()) == FROM && Tile(MOVE.GetNewRow(), MOVE.GetNewColumn()) == TO){
+                return (IsPromotion(MOVE) == (PackedMove.Promotion(a_move) != PackedMove.NO_PROMOTION) ? MOVE : null);
+            }
+        }
+
+        return null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Play(final short a_move);
+
+    SYNOPSIS
+        public final void Play(final short a_move);
+
+        short a_move -------------> The packed move to play.
+
+    DESCRIPTION
+        This method plays a legal move, promoting the pawn if the move says to.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Play(final short a_move){
+        final Move MOVE = this.Find(a_move);
+        if(MOVE == null){
+            throw new IllegalArgumentException(PackedMove.Append(a_move, new StringBuilder()) + " is not legal in " + this.ToFEN());
+        }
+
+        Board board = MOVE.GetTransitionalBoard();
+        final int PROMOTION = PackedMove.Promotion(a_move);
+        if(PROMOTION != PackedMove.NO_PROMOTION){
+            board = ((Pawn) board.GetTile(MOVE.GetNewRow(), MOVE.GetNewColumn()).GetPiece()).Promote(board, PROMOTION - Utilities.ONE);
+        }
+
+        this.m_position.Apply(a_move);
+        this.m_board = board;
+        this.m_legalMoves = null;
+        this.RestoreCastlingRights();
+    }
+
+    /**/
+    /*
+    NAME
+        public final short Parse(final String a_san);
+
+    SYNOPSIS
+        public final short Parse(final String a_san);
+
+        String a_san -------------> A move in algebraic notation.
+
+    DESCRIPTION
+        This method finds the legal move a piece of algebraic notation describes.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short Parse(final String a_san){
+        int end = a_san.length();
+
+        // Check marks, annotations, and the en passant suffix say nothing about which move it is
+        while(end > Utilities.ZERO && "+#!?".indexOf(a_san.charAt(end - Utilities.ONE)) >= Utilities.ZERO){
+            end--;
+        }
+        if(end >= Utilities.FOUR && a_san.startsWith(EN_PASSANT_SUFFIX, end - Utilities.FOUR)){
+            end -= Utilities.FOUR;
+        }
+        while(end > Utilities.ZERO && Character.isWhitespace(a_san.charAt(end - Utilities.ONE))){
+            end--;
+        }
+
+        final String SAN = a_san.substring(Utilities.ZERO, end);
+
+        if(SAN.equals(KINGSIDE_CASTLE) || SAN.equals(Utilities.KINGSIDE_CASTLE)){
+            return this.Castle(Utilities.TWO, a_san);
+        }else if(SAN.equals(QUEENSIDE_CASTLE) || SAN.equals(Utilities.QUEENSIDE_CASTLE)){
+            return this.Castle(Utilities.NEGATIVE_TWO, a_san);
+        }
+
+        // Find what a pawn promotes to, with or without the =
+        int promotion = PackedMove.NO_PROMOTION;
+        if(end >= Utilities.THREE && PROMOTION_LETTERS.indexOf(SAN.charAt(end - Utilities.ONE)) > Utilities.ZERO && Character.isDigit(SAN.charAt(end - Utilities.TWO - (SAN.charAt(end - Utilities.TWO) == '=' ? Utilities.ONE : Utilities.ZERO)))){
+            promotion = PROMOTION_LETTERS.indexOf(SAN.charAt(end - Utilities.ONE));
+            end -= (SAN.charAt(end - Utilities.TWO) == '=' ? Utilities.TWO : Utilities.ONE);
+        }
+
+        if(end < Utilities.TWO){
+            throw new IllegalArgumentException("Not a move: " + a_san);
+        }
+
+        final int COLUMN = SAN.charAt(end - Utilities.TWO) - Utilities.A;
+        final int ROW = Utilities.EIGHT - (SAN.charAt(end - Utilities.ONE) - '0');
+        if(!BoardUtilities.HasValidCoordinates(ROW, COLUMN)){
+            throw new IllegalArgumentException("Not a move: " + a_san);
+        }
+
+        int start = Utilities.ZERO;
+        PieceType type = PieceType.PAWN;
+        if(end > Utilities.TWO && "NBRQK".indexOf(SAN.charAt(Utilities.ZERO)) >= Utilities.ZERO){
+            type = TypeOf(SAN.charAt(Utilities.ZERO));
+            start = Utilities.ONE;
+        }
+
+        // Whatever is left between the piece and the destination narrows down where it came from
+        int fromRow = Utilities.NEGATIVE_ONE, fromColumn = Utilities.NEGATIVE_ONE;
+        for(int i = start; i < end - Utilities.TWO; i++){
+            final char C = SAN.charAt(i);
+            if(C >= 'a' && C <= 'h'){
+                fromColumn = C - Utilities.A;
+            }else if(C >= '1' && C <= '8'){
+                fromRow = Utilities.EIGHT - (C - '0');
+            }else if(C != 'x' && C != ':' && C != '-'){
+                throw new IllegalArgumentException("Not a move: " + a_san);
+            }
+        }
+
+        Move found = null;
+        for(final Move MOVE : this.GetLegalMoves()){
+            if(MOVE.GetPiece().GetPieceType() != type || MOVE.GetNewRow() != ROW || MOVE.GetNewColumn() != COLUMN
+                || (fromRow >= Utilities.ZERO && MOVE.GetOldRow() != fromRow) || (fromColumn >= Utilities.ZERO && MOVE.GetOldColumn() != fromColumn)){
+                continue;
+            }
+
+            // A pawn that moves straight ahead is always named by its destination alone
+            if(type == PieceType.PAWN && fromColumn < Utilities.ZERO && MOVE.GetOldColumn() != COLUMN){
+                continue;
+            }
+
+            if(found != null){
+                throw new IllegalArgumentException(a_san + " is ambiguous in " + this.ToFEN());
+            }
+            found = MOVE;
+        }
+
+        if(found == null){
+            throw new IllegalArgumentException(a_san + " is not legal in " + this.ToFEN());
+        }else if(IsPromotion(found) != (promotion != PackedMove.NO_PROMOTION)){
+            throw new IllegalArgumentException(a_san + (promotion == PackedMove.NO_PROMOTION ? " does not say what to promote to" : " is not a promotion"));
+        }
+
+        return PackedMove.FromMove(found, promotion);
+    }
+
+    /**/
+    /*
+    NAME
+        public final StringBuilder Append(final short a_move, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public final StringBuilder Append(final short a_move, final StringBuilder a_builder);
+
+        short a_move -------------> A legal packed move.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes a move in standard algebraic notation without playing it.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public final StringBuilder Append(final short a_move, final StringBuilder a_builder){
+        final SanPosition NEXT = this.Copy();
+        return NEXT.PlayAndAppend(a_move, this, a_builder);
+    }
+
+    /**/
+    /*
+    NAME
+        public final StringBuilder PlayAndAppend(final short a_move, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public final StringBuilder PlayAndAppend(final short a_move, final StringBuilder a_builder);
+
+        short a_move -------------> A legal packed move.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes a move in standard algebraic notation and plays it.
+        The legal moves of the next position, which tell check from checkmate,
+        are kept for the move after, so writing a game costs no more than playing it.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public final StringBuilder PlayAndAppend(final short a_move, final StringBuilder a_builder){
+        return this.PlayAndAppend(a_move, null, a_builder);
+    }
+
+    /**/
+    /*
+    NAME
+        public final String ToSAN(final short a_move);
+
+    SYNOPSIS
+        public final String ToSAN(final short a_move);
+
+        short a_move -------------> A legal packed move.
+
+    DESCRIPTION
+        This method writes a move in standard algebraic notation without playing it.
+
+    RETURNS
+        String: The move in algebraic notation.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String ToSAN(final short a_move){
+        return this.Append(a_move, new StringBuilder()).toString();
+    }
+
+    /**/
+    /*
+    NAME
+        public final SanPosition Copy();
+
+    SYNOPSIS
+        public final SanPosition Copy();
+
+        No parameters.
+
+    DESCRIPTION
+        This method copies the position. Boards are never changed once
+        they are built, so the copy shares this position's board.
+
+    RETURNS
+        SanPosition: The copy.
+
+    AUTHOR
+        Ryan King
+    */
+    public final SanPosition Copy(){
+        return new SanPosition(this);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsInCheck();
+
+    SYNOPSIS
+        public final boolean IsInCheck();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the side to move is in check.
+
+    RETURNS
+        boolean: True if the king of the side to move is attacked, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsInCheck(){
+        final King KING = this.m_board.GetKing(this.m_board.WhoseTurnIsIt());
+        return KING != null && !MoveEvaluation.IsKingSafe(this.m_board, KING.GetCurrentRow(), KING.GetCurrentColumn(), KING.GetColor());
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsCheckmate();
+
+    SYNOPSIS
+        public final boolean IsCheckmate();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the side to move has been checkmated.
+
+    RETURNS
+        boolean: True if the side to move is in check and has no legal move, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsCheckmate(){
+        return this.IsInCheck() && this.GetLegalMoves().isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsStalemate();
+
+    SYNOPSIS
+        public final boolean IsStalemate();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the side to move has been stalemated.
+
+    RETURNS
+        boolean: True if the side to move is not in check and has no legal move, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsStalemate(){
+        return !this.IsInCheck() && this.GetLegalMoves().isEmpty();
+    }
+
+    /**/
+    /*
+    NAME
+        public final Board GetBoard();
+
+    SYNOPSIS
+        public final Board GetBoard();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the board of the position.
+
+    RETURNS
+        Board m_board: The board.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Board GetBoard(){
+        return this.m_board;
+    }
+
+    /**/
+    /*
+    NAME
+        public final ChessColor WhoseTurnIsIt();
+
+    SYNOPSIS
+        public final ChessColor WhoseTurnIsIt();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the side to move.
+
+    RETURNS
+        ChessColor: The side to move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ChessColor WhoseTurnIsIt(){
+        return this.m_position.WhoseTurnIsIt();
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetFullmoves();
+
+    SYNOPSIS
+        public final int GetFullmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the fullmove clock, which is the number written before white's moves.
+
+    RETURNS
+        int: The fullmove clock.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetFullmoves(){
+        return this.m_position.GetFullmoves();
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Hash();
+
+    SYNOPSIS
+        public final long Hash();
+
+        No parameters.
+
+    DESCRIPTION
+        This method computes the Zobrist key of the position. Unlike Zobrist.Hash()
+        of the board alone, it tells positions with different en passant tiles apart.
+
+    RETURNS
+        long: The key, which ignores both move clocks.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Hash(){
+        return this.m_position.Hash();
+    }
+
+    /**/
+    /*
+    NAME
+        public final String ToFEN();
+
+    SYNOPSIS
+        public final String ToFEN();
+
+        No parameters.
+
+    DESCRIPTION
+        This method writes the position as a FEN string.
+
+    RETURNS
+        String: The position, en passant tile and move clocks included.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String ToFEN(){
+        return this.m_position.Write(new StringBuilder(FenWriter.CAPACITY)).toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private void RestoreCastlingRights();
+
+    SYNOPSIS
+        private void RestoreCastlingRights();
+
+        No parameters.
+
+    DESCRIPTION
+        This method gives the kings back the castling rights the position says they have.
+        Every board a move builds copies its kings without their castling rights,
+        which the GUI restores after every move the same way.
+        The kings are put on a new board instead of the old one.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void RestoreCastlingRights(){
+        final int RIGHTS = this.m_position.GetCastlingRights();
+
+        for(final ChessColor COLOR : ChessColor.values()){
+            final King KING = this.m_board.GetKing(COLOR);
+            if(KING == null || !KING.IsInOriginalSpot()){
+                continue;
+            }
+
+            final boolean KINGSIDE = (RIGHTS & (COLOR.IsWhite() ? FenParser.WHITE_KINGSIDE : FenParser.BLACK_KINGSIDE)) != Utilities.ZERO;
+            final boolean QUEENSIDE = (RIGHTS & (COLOR.IsWhite() ? FenParser.WHITE_QUEENSIDE : FenParser.BLACK_QUEENSIDE)) != Utilities.ZERO;
+
+            if((KINGSIDE || QUEENSIDE) && (KINGSIDE != KING.CanKingsideCastle() || QUEENSIDE != KING.CanQueensideCastle())){
+                // Boards are never changed once built, so a new one holds the new king
+                this.m_board = this.m_board.Replace(King.GetShared(COLOR, KING.GetCurrentRow(), KING.GetCurrentColumn(), false, KINGSIDE, QUEENSIDE));
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private SanPosition(final SanPosition a_position);
+
+    SYNOPSIS
+        private SanPosition(final SanPosition a_position);
+
+        SanPosition a_position ---> The position to copy.
+
+    DESCRIPTION
+        This copy constructor backs Copy().
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private SanPosition(final SanPosition a_position){
+        this.m_board = a_position.m_board;
+        this.m_position = new RecordPosition();
+        this.m_position.Load(a_position.m_position);
+        this.m_legalMoves = a_position.m_legalMoves;
+    }
+
+    /**/
+    /*
+    NAME
+        private StringBuilder PlayAndAppend(final short a_move, final SanPosition a_before, final StringBuilder a_builder);
+
+    SYNOPSIS
+        private StringBuilder PlayAndAppend(final short a_move, final SanPosition a_before, final StringBuilder a_builder);
+
+        short a_move -------------> A legal packed move.
+
+        SanPosition a_before -----> The position the legal moves come from, or null for this one.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes a move, plays it, and marks it as check or checkmate.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    private StringBuilder PlayAndAppend(final short a_move, final SanPosition a_before, final StringBuilder a_builder){
+        final SanPosition BEFORE = (a_before == null ? this : a_before);
+        final Move MOVE = BEFORE.Find(a_move);
+        if(MOVE == null){
+            throw new IllegalArgumentException(PackedMove.Append(a_move, new StringBuilder()) + " is not legal in " + BEFORE.ToFEN());
+        }
+
+        final Piece PIECE = MOVE.GetPiece();
+        final int NEW_ROW = MOVE.GetNewRow(), NEW_COLUMN = MOVE.GetNewColumn();
+
+        if(PIECE.IsKing() && Math.abs(NEW_COLUMN - MOVE.GetOldColumn()) == Utilities.TWO){
+            a_builder.append(NEW_COLUMN > MOVE.GetOldColumn() ? KINGSIDE_CASTLE : QUEENSIDE_CASTLE);
+        }else{
+            final boolean IS_CAPTURE = MOVE instanceof EnPassantMove || BEFORE.m_board.GetTile(NEW_ROW, NEW_COLUMN).IsOccupied();
+
+            if(PIECE.IsPawn()){
+                if(IS_CAPTURE){
+                    a_builder.append((char) (Utilities.A + MOVE.GetOldColumn()));
+                }
+            }else{
+                a_builder.append(Character.toUpperCase(PIECE.GetIcon()));
+                BEFORE.AppendDisambiguation(MOVE, a_builder);
+            }
+
+            if(IS_CAPTURE){
+                a_builder.append('x');
+            }
+            a_builder.append(BoardUtilities.ToAlgebraic(NEW_ROW, NEW_COLUMN));
+
+            final int PROMOTION = PackedMove.Promotion(a_move);
+            if(PROMOTION != PackedMove.NO_PROMOTION){
+                a_builder.append('=').append(PROMOTION_LETTERS.charAt(PROMOTION));
+            }
+        }
+
+        this.Play(a_move);
+
+        if(this.IsInCheck()){
+            a_builder.append(this.GetLegalMoves().isEmpty() ? '#' : '+');
+        }
+
+        return a_builder;
+    }
+
+    /**/
+    /*
+    NAME
+        private void AppendDisambiguation(final Move a_move, final StringBuilder a_builder);
+
+    SYNOPSIS
+        private void AppendDisambiguation(final Move a_move, final StringBuilder a_builder);
+
+        Move a_move --------------> A legal move of a piece that is not a pawn.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes the file, the rank, or both of the tile a piece moves from
+        when another piece of the same kind could also move to the same tile.
+        The file is used if it tells them apart, then the rank, and then both.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void AppendDisambiguation(final Move a_move, final StringBuilder a_builder){
+        boolean ambiguous = false, sameColumn = false, sameRow = false;
+
+        for(final Move OTHER : this.GetLegalMoves()){
+            if(OTHER == a_move || OTHER.GetPiece().GetPieceType() != a_move.GetPiece().GetPieceType()
+                || OTHER.GetNewRow() != a_move.GetNewRow() || OTHER.GetNewColumn() != a_move.GetNewColumn()
+                || (OTHER.GetOldRow() == a_move.GetOldRow() && OTHER.GetOldColumn() == a_move.GetOldColumn())){
+                continue;
+            }
+
+            ambiguous = true;
+            sameColumn |= OTHER.GetOldColumn() == a_move.GetOldColumn();
+            sameRow |= OTHER.GetOldRow() == a_move.GetOldRow();
+        }
+
+        if(!ambiguous){
+            return;
+        }
+
+        if(!sameColumn){
+            a_builder.append((char) (Utilities.A + a_move.GetOldColumn()));
+        }else if(!sameRow){
+            a_builder.append((char) ('0' + Utilities.EIGHT - a_move.GetOldRow()));
+        }else{
+            a_builder.append(BoardUtilities.ToAlgebraic(a_move.GetOldRow(), a_move.GetOldColumn()));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private short Castle(final int a_columns, final String a_san);
+
+    SYNOPSIS
+        private short Castle(final int a_columns, final String a_san);
+
+        int a_columns ------------> How many columns the king moves: 2 to castle kingside and -2 queenside.
+
+        String a_san -------------> The notation being parsed, for the error message.
+
+    DESCRIPTION
+        This method finds the legal castling move to one side.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    private short Castle(final int a_columns, final String a_san){
+        for(final Move MOVE : this.GetLegalMoves()){
+            if(MOVE.GetPiece().IsKing() && MOVE.GetNewColumn() - MOVE.GetOldColumn() == a_columns && MOVE.GetNewRow() == MOVE.GetOldRow()){
+                return PackedMove.FromMove(MOVE, PackedMove.NO_PROMOTION);
+            }
+        }
+        throw new IllegalArgumentException(a_san + " is not legal in " + this.ToFEN());
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsPromotion(final Move a_move);
+
+    SYNOPSIS
+        public static boolean IsPromotion(final Move a_move);
+
+        Move a_move --------------> A legal move.
+
+    DESCRIPTION
+        This method determines if a move takes a pawn to its last rank.
+
+    RETURNS
+        boolean: True if the pawn has to be promoted after the move, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsPromotion(final Move a_move){
+        return a_move.GetPiece().IsPawn() && (a_move.GetNewRow() == Utilities.ZERO || a_move.GetNewRow() == Utilities.SEVEN);
+    }
+
+    /**/
+    /*
+    NAME
+        private static PieceType TypeOf(final char a_letter);
+
+    SYNOPSIS
+        private static PieceType TypeOf(final char a_letter);
+
+        char a_letter ------------> One of N, B, R, Q, or K.
+
+    DESCRIPTION
+        This method returns the kind of piece a SAN letter names.
+
+    RETURNS
+        PieceType: The kind of piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private static PieceType TypeOf(final char a_letter){
+        switch(a_letter){
+            case Utilities.WHITE_KNIGHT_ICON: return PieceType.KNIGHT;
+            case Utilities.WHITE_BISHOP_ICON: return PieceType.BISHOP;
+            case Utilities.WHITE_ROOK_ICON:   return PieceType.ROOK;
+            case Utilities.WHITE_QUEEN_ICON:  return PieceType.QUEEN;
+            default:                          return PieceType.KING;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Tile(final int a_row, final int a_column);
+
+    SYNOPSIS
+        private static int Tile(final int a_row, final int a_column);
+
+        int a_row ----------------> The row.
+
+        int a_column -------------> The column.
+
+    DESCRIPTION
+        This method numbers a tile the way packed moves do.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Tile(final int a_row, final int a_column){
+        return a_row * Utilities.EIGHT + a_column;
+    }
+}
@@ -0,0 +1,449 @@
+package com.DarkBlue.Perft;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class counts the leaves of the tree of legal moves to a given depth,
+ * which checks move generation against known counts and measures how fast it is.
+ *
+ * Usage: Perft [-t threads] [-c megabytes] [-d] depth [fen]
+ *        Perft [-t threads] [-c megabytes] -s [most leaves]
+ *
+ * The first form counts one position, the starting position by default, and with -d
+ * also prints the count below every move, which narrows a wrong count down to a move.
+ * The second form checks every reference position of PerftPosition at every depth
+ * with no more leaves than given, a million by default, and exits with status 1 if any count
+ * is wrong. Both print how many leaves were counted per second.
+ *
+ * The moves are the same legal moves the GUI and the game records use, and every
+ * promotion counts as four moves. The last ply is not played: the leaves below a
+ * position one ply from the end are just its legal moves. With -c, the counts of
+ * positions reached again by other orders of moves are taken from a PerftCache of that
+ * many megabytes, and with -t, the moves of the root are split among that many threads.
+ */
+public final class Perft{
+
+    private static final long DEFAULT_MOST_LEAVES = 1_000_000;
+
+    private final int m_threads;
+    private final PerftCache m_cache;
+
+    /**/
+    /*
+    NAME
+        public Perft(final int a_threads, final PerftCache a_cache);
+
+    SYNOPSIS
+        public Perft(final int a_threads, final PerftCache a_cache);
+
+        int a_threads ------------> The number of threads to split the root moves among.
+
+        PerftCache a_cache -------> The cache of counts, or null to count every position.
+
+    DESCRIPTION
+        This constructor creates a counter.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Perft(final int a_threads, final PerftCache a_cache){
+        if(a_threads < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to Perft constructor");
+        }
+
+        this.m_threads = a_threads;
+        this.m_cache = a_cache;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method counts a position or checks the reference positions.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        int threads = Utilities.ONE, megabytes = Utilities.ZERO;
+        boolean isDivide = false, isSuite = false;
+        final List<String> REST = new ArrayList<>();
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    case "-c": megabytes = Integer.parseInt(a_args[++i]); break;
+                    case "-d": isDivide = true; break;
+                    case "-s": isSuite = true; break;
+                    default: REST.add(a_args[i]);
+                }
+            }
+
+            if(threads < Utilities.ONE || megabytes < Utilities.ZERO || (!isSuite && REST.isEmpty())){
+                throw new IllegalArgumentException();
+            }
+        }catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+            System.err.println("Usage: Perft [-t threads] [-c megabytes] [-d] depth [fen]");
+            System.err.println("       Perft [-t threads] [-c megabytes] -s [most leaves]");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final Perft PERFT = new Perft(threads, (megabytes > Utilities.ZERO ? new PerftCache(megabytes) : null));
+
+            if(isSuite){
+                final long MOST_LEAVES = (REST.isEmpty() ? DEFAULT_MOST_LEAVES : Long.parseLong(REST.get(Utilities.ZERO)));
+                if(PERFT.CheckReference(MOST_LEAVES, System.out) > Utilities.ZERO){
+                    System.exit(Utilities.ONE);
+                }
+                return;
+            }
+
+            final int DEPTH = Integer.parseInt(REST.get(Utilities.ZERO));
+            final SanPosition POSITION = new SanPosition(REST.size() > Utilities.ONE ? String.join(" ", REST.subList(Utilities.ONE, REST.size())) : GameRecord.STARTING_FEN);
+
+            final long START = System.nanoTime();
+            long leaves = Utilities.ZERO;
+            if(isDivide){
+                for(final Map.Entry<String, Long> ENTRY : PERFT.Divide(POSITION, DEPTH).entrySet()){
+                    System.out.println(ENTRY.getKey() + ": " + ENTRY.getValue());
+                    leaves += ENTRY.getValue();
+                }
+                System.out.println();
+            }else{
+                leaves = PERFT.Count(POSITION, DEPTH);
+            }
+            final long ELAPSED = System.nanoTime() - START;
+
+            System.out.println("Nodes: " + leaves);
+            System.out.printf("Time: %.3f s%n", ELAPSED / 1e9);
+            System.out.println("NPS: " + NodesPerSecond(leaves, ELAPSED));
+        }catch(InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Count(final SanPosition a_position, final int a_depth) throws InterruptedException;
+
+    SYNOPSIS
+        public final long Count(final SanPosition a_position, final int a_depth) throws InterruptedException;
+
+        SanPosition a_position ---> The position to count from, which is not changed.
+
+        int a_depth --------------> How many plies to count to.
+
+    DESCRIPTION
+        This method counts the leaves of the tree of legal moves.
+
+    RETURNS
+        long: The number of leaves.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Count(final SanPosition a_position, final int a_depth) throws InterruptedException{
+        if(a_depth < Utilities.ZERO){
+            throw new IllegalArgumentException("Invalid depth " + a_depth);
+        }else if(a_depth == Utilities.ZERO){
+            return Utilities.ONE;
+        }else if(a_depth == Utilities.ONE){
+            return Moves(a_position).length;
+        }
+
+        long leaves = Utilities.ZERO;
+        for(final long COUNT : this.Divide(a_position, a_depth).values()){
+            leaves += COUNT;
+        }
+        return leaves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final LinkedHashMap<String, Long> Divide(final SanPosition a_position, final int a_depth) throws InterruptedException;
+
+    SYNOPSIS
+        public final LinkedHashMap<String, Long> Divide(final SanPosition a_position, final int a_depth) throws InterruptedException;
+
+        SanPosition a_position ---> The position to count from, which is not changed.
+
+        int a_depth --------------> How many plies to count to, at least 1.
+
+    DESCRIPTION
+        This method counts the leaves below every legal move of a position,
+        with the moves split among the threads.
+
+    RETURNS
+        LinkedHashMap<String, Long>: The count below every move, keyed by the move in coordinate notation.
+
+    AUTHOR
+        Ryan King
+    */
+    public final LinkedHashMap<String, Long> Divide(final SanPosition a_position, final int a_depth) throws InterruptedException{
+        if(a_depth < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid depth " + a_depth);
+        }
+
+        final short[] MOVES = Moves(a_position);
+        final List<Callable<Long>> TASKS = new ArrayList<>();
+        for(final short MOVE : MOVES){
+            TASKS.add(() -> {
+                final SanPosition CHILD = a_position.Copy();
+                CHILD.Play(MOVE);
+                return this.Leaves(CHILD, a_depth - Utilities.ONE);
+            });
+        }
+
+        final List<Long> RESULTS = new ArrayList<>();
+        if(this.m_threads == Utilities.ONE){
+            for(final Callable<Long> TASK : TASKS){
+                RESULTS.add(Call(TASK));
+            }
+        }else{
+            final ExecutorService POOL = Executors.newFixedThreadPool(this.m_threads);
+            try{
+                for(final Future<Long> FUTURE : POOL.invokeAll(TASKS)){
+                    RESULTS.add(FUTURE.get());
+                }
+            }catch(ExecutionException e){
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }finally{
+                POOL.shutdownNow();
+            }
+        }
+
+        final LinkedHashMap<String, Long> COUNTS = new LinkedHashMap<>();
+        for(int i = Utilities.ZERO; i < MOVES.length; i++){
+            COUNTS.put(PackedMove.Append(MOVES[i], new StringBuilder()).toString(), RESULTS.get(i));
+        }
+        return COUNTS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int CheckReference(final long a_mostLeaves, final PrintStream a_output) throws InterruptedException;
+
+    SYNOPSIS
+        public final int CheckReference(final long a_mostLeaves, final PrintStream a_output) throws InterruptedException;
+
+        long a_mostLeaves --------> The largest known count to check.
+
+        PrintStream a_output -----> Where to print every count and how fast it was found.
+
+    DESCRIPTION
+        This method counts every reference position at every depth whose known count
+        is no larger than given, and compares the counts with the known ones.
+
+    RETURNS
+        int: The number of counts that were wrong.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int CheckReference(final long a_mostLeaves, final PrintStream a_output) throws InterruptedException{
+        int wrong = Utilities.ZERO;
+        long total = Utilities.ZERO, elapsed = Utilities.ZERO;
+
+        for(final PerftPosition REFERENCE : PerftPosition.REFERENCE){
+            final SanPosition POSITION = new SanPosition(REFERENCE.GetFEN());
+
+            for(int depth = REFERENCE.GetFirstDepth(); depth <= REFERENCE.GetLastDepth() && REFERENCE.GetCount(depth) <= a_mostLeaves; depth++){
+                final long START = System.nanoTime();
+                final long LEAVES = this.Count(POSITION, depth);
+                final long TIME = System.nanoTime() - START;
+                final boolean IS_RIGHT = LEAVES == REFERENCE.GetCount(depth);
+
+                a_output.printf("%s, depth %d: %d leaves, %d per second%s%n", REFERENCE.GetName(), depth, LEAVES, NodesPerSecond(LEAVES, TIME), (IS_RIGHT ? "" : ", expected " + REFERENCE.GetCount(depth)));
+                wrong += (IS_RIGHT ? Utilities.ZERO : Utilities.ONE);
+                total += LEAVES;
+                elapsed += TIME;
+            }
+        }
+
+        a_output.println(total + " leaves, " + NodesPerSecond(total, elapsed) + " per second, " + wrong + " wrong");
+        return wrong;
+    }
+
+    /**/
+    /*
+    NAME
+        private long Leaves(final SanPosition a_position, final int a_depth);
+
+    SYNOPSIS
+        private long Leaves(final SanPosition a_position, final int a_depth);
+
+        SanPosition a_position ---> The position to count from.
+
+        int a_depth --------------> How many plies to count to.
+
+    DESCRIPTION
+        This method counts the leaves below a position on the current thread.
+        One ply from the end, the legal moves are counted instead of played.
+
+    RETURNS
+        long: The number of leaves.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Leaves(final SanPosition a_position, final int a_depth){
+        if(a_depth == Utilities.ZERO){
+            return Utilities.ONE;
+        }else if(a_depth == Utilities.ONE){
+            return Moves(a_position).length;
+        }
+
+        final long KEY = (this.m_cache == null ? Utilities.ZERO : a_position.Hash());
+        if(this.m_cache != null){
+            final long CACHED = this.m_cache.Get(KEY, a_depth);
+            if(CACHED >= Utilities.ZERO){
+                return CACHED;
+            }
+        }
+
+        long leaves = Utilities.ZERO;
+        for(final short MOVE : Moves(a_position)){
+            final SanPosition CHILD = a_position.Copy();
+            CHILD.Play(MOVE);
+            leaves += this.Leaves(CHILD, a_depth - Utilities.ONE);
+        }
+
+        if(this.m_cache != null){
+            this.m_cache.Put(KEY, a_depth, leaves);
+        }
+        return leaves;
+    }
+
+    /**/
+    /*
+    NAME
+        private static short[] Moves(final SanPosition a_position);
+
+    SYNOPSIS
+        private static short[] Moves(final SanPosition a_position);
+
+        SanPosition a_position ---> The position to move from.
+
+    DESCRIPTION
+        This method packs every legal move of a position, with a move
+        for each of the four pieces a pawn can promote to.
+
+    RETURNS
+        short[]: The packed moves.
+
+    AUTHOR
+        Ryan King
+    */
+    private static short[] Moves(final SanPosition a_position){
+        final ArrayList<Move> LEGAL = a_position.GetLegalMoves();
+
+        int count = LEGAL.size();
+        for(final Move MOVE : LEGAL){
+            if(SanPosition.IsPromotion(MOVE)){
+                count += Utilities.THREE;
+            }
+        }
+
+        final short[] MOVES = new short[count];
+        int next = Utilities.ZERO;
+        for(final Move MOVE : LEGAL){
+            if(SanPosition.IsPromotion(MOVE)){
+                for(int promotion = PackedMove.QUEEN; promotion <= PackedMove.KNIGHT; promotion++){
+                    MOVES[next++] = PackedMove.FromMove(MOVE, promotion);
+                }
+            }else{
+                MOVES[next++] = PackedMove.FromMove(MOVE, PackedMove.NO_PROMOTION);
+            }
+        }
+
+        return MOVES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static long Call(final Callable<Long> a_task);
+
+    SYNOPSIS
+        private static long Call(final Callable<Long> a_task);
+
+        Callable<Long> a_task ----> A count below one root move.
+
+    DESCRIPTION
+        This method runs a count on the current thread.
+
+    RETURNS
+        long: The count.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long Call(final Callable<Long> a_task){
+        try{
+            return a_task.call();
+        }catch(RuntimeException e){
+            throw e;
+        }catch(Exception e){
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static long NodesPerSecond(final long a_leaves, final long a_nanoseconds);
+
+    SYNOPSIS
+        private static long NodesPerSecond(final long a_leaves, final long a_nanoseconds);
+
+        long a_leaves ------------> The number of leaves counted.
+
+        long a_nanoseconds -------> How long it took.
+
+    DESCRIPTION
+        This method converts a count and a duration into a speed.
+
+    RETURNS
+        long: The number of leaves per second.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long NodesPerSecond(final long a_leaves, final long a_nanoseconds){
+        return (long) (a_leaves * 1e9 / Math.max(Utilities.ONE, a_nanoseconds));
+    }
+}
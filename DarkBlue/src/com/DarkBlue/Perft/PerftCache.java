@@ -0,0 +1,149 @@
+package com.DarkBlue.Perft;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class remembers how many leaves perft found below positions it has already counted,
+ * since the same position is reached by many orders of the same moves.
+ *
+ * Every entry takes two longs: the position's key, mixed with the depth it was counted to,
+ * exclusive-ored with the count, and the count. An entry only matches when both longs were
+ * written together, so any number of threads may look up and store at once without locks,
+ * and an entry torn by two threads writing it at the same time simply never matches.
+ * A new entry always replaces the old one in its slot.
+ */
+public final class PerftCache{
+
+    // Mixes the depth into the key, since a position has a different count at every depth
+    private static final long DEPTH_KEY = 0x9E3779B97F4A7C15L;
+
+    private final long[] m_entries;
+    private final int m_mask;
+    private final LongAdder m_hits;
+
+    /**/
+    /*
+    NAME
+        public PerftCache(final int a_megabytes);
+
+    SYNOPSIS
+        public PerftCache(final int a_megabytes);
+
+        int a_megabytes ----------> The most memory the cache may take, at least 1.
+
+    DESCRIPTION
+        This constructor creates an empty cache with the largest power of two
+        of entries that fits in the memory it is given.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PerftCache(final int a_megabytes){
+        if(a_megabytes < Utilities.ONE || a_megabytes > Utilities.ONE << Utilities.TEN){
+            throw new IllegalArgumentException("Invalid argument to PerftCache constructor");
+        }
+
+        // Each entry is two longs, or 16 bytes
+        final long ENTRIES = Long.highestOneBit(((long) a_megabytes << 20) / (Long.BYTES * Utilities.TWO));
+        this.m_entries = new long[(int) ENTRIES * Utilities.TWO];
+        this.m_mask = (int) ENTRIES - Utilities.ONE;
+        this.m_hits = new LongAdder();
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Get(final long a_key, final int a_depth);
+
+    SYNOPSIS
+        public final long Get(final long a_key, final int a_depth);
+
+        long a_key ---------------> The Zobrist key of the position.
+
+        int a_depth --------------> The depth to count to.
+
+    DESCRIPTION
+        This method looks up the count of a position.
+
+    RETURNS
+        long: The count, or -1 if it is not known.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Get(final long a_key, final int a_depth){
+        final long KEY = a_key ^ (a_depth * DEPTH_KEY);
+        final int SLOT = ((int) KEY & this.m_mask) * Utilities.TWO;
+        final long COUNT = this.m_entries[SLOT + Utilities.ONE];
+
+        if(COUNT == Utilities.ZERO || (this.m_entries[SLOT] ^ COUNT) != KEY){
+            return Utilities.NEGATIVE_ONE;
+        }
+
+        this.m_hits.increment();
+        return COUNT;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Put(final long a_key, final int a_depth, final long a_count);
+
+    SYNOPSIS
+        public final void Put(final long a_key, final int a_depth, final long a_count);
+
+        long a_key ---------------> The Zobrist key of the position.
+
+        int a_depth --------------> The depth it was counted to.
+
+        long a_count -------------> The number of leaves found.
+
+    DESCRIPTION
+        This method remembers the count of a position. Counts of zero
+        are not worth remembering, since they are found at once.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Put(final long a_key, final int a_depth, final long a_count){
+        if(a_count == Utilities.ZERO){
+            return;
+        }
+
+        final long KEY = a_key ^ (a_depth * DEPTH_KEY);
+        final int SLOT = ((int) KEY & this.m_mask) * Utilities.TWO;
+        this.m_entries[SLOT] = KEY ^ a_count;
+        this.m_entries[SLOT + Utilities.ONE] = a_count;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetHits();
+
+    SYNOPSIS
+        public final long GetHits();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many lookups have found a count so far.
+
+    RETURNS
+        long: The number of hits.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetHits(){
+        return this.m_hits.sum();
+    }
+}
@@ -0,0 +1,252 @@
+package com.DarkBlue.Perft;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds a position whose perft counts are known, for checking move generation.
+ *
+ * The first six are the positions from the Chess Programming Wiki's perft results page,
+ * with every count up to about four million leaves. The starting position and Kiwipete
+ * cover castling, checks, and pins in ordinary play, position 3 the en passant capture
+ * that would expose a king along a rank, and positions 4 and 5 promotions, captures onto the
+ * promotion rank, and castling out of reach of attacked tiles. The rest are the edge cases of
+ * Martin Sedlak's perft suite, each known at a single depth.
+ */
+public final class PerftPosition{
+
+    public static final PerftPosition[] REFERENCE = {
+        new PerftPosition("start", GameRecord.STARTING_FEN, 20, 400, 8902, 197281, 4865609),
+        new PerftPosition("Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 48, 2039, 97862, 4085603),
+        new PerftPosition("position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14, 191, 2812, 43238, 674624),
+        new PerftPosition("position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1", 6, 264, 9467, 422333),
+        new PerftPosition("position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44, 1486, 62379, 2103487),
+        new PerftPosition("position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46, 2079, 89890, 3894594),
+        new PerftPosition("illegal en passant 1", "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1", 6, 1134888),
+        new PerftPosition("illegal en passant 2", "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1", 6, 1015133),
+        new PerftPosition("en passant gives check", "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1", 6, 1440467),
+        new PerftPosition("short castling gives check", "5k2/8/8/8/8/8/8/4K2R w K - 0 1", 6, 661072),
+        new PerftPosition("long castling gives check", "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1", 6, 803711),
+        new PerftPosition("castling rights", "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1", 4, 1274206),
+        new PerftPosition("castling prevented", "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1", 4, 1720476),
+        new PerftPosition("promote out of check", "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1", 6, 3821001),
+        new PerftPosition("discovered check", "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1", 5, 1004658),
+        new PerftPosition("promote to give check", "4k3/1P6/8/8/8/8/K7/8 w - - 0 1", 6, 217342),
+        new PerftPosition("underpromote to give check", "8/P1k5/K7/8/8/8/8/8 w - - 0 1", 6, 92683),
+        new PerftPosition("self stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1", 6, 2217),
+        new PerftPosition("stalemate and checkmate 1", "8/k1P5/8/1K6/8/8/8/8 w - - 0 1", 7, 567584),
+        new PerftPosition("stalemate and checkmate 2", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1", 4, 23527)
+    };
+
+    private final String m_name;
+    private final String m_fen;
+    private final int m_firstDepth;
+    private final long[] m_counts;
+
+    /**/
+    /*
+    NAME
+        private PerftPosition(final String a_name, final String a_fen, final long... a_counts);
+
+    SYNOPSIS
+        private PerftPosition(final String a_name, final String a_fen, final long... a_counts);
+
+        String a_name ------------> What the position is known as.
+
+        String a_fen -------------> The position.
+
+        long... a_counts ---------> The counts from depth 1 upward.
+
+    DESCRIPTION
+        This constructor creates a position known at every depth from 1.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private PerftPosition(final String a_name, final String a_fen, final long... a_counts){
+        this(a_name, a_fen, Utilities.ONE, a_counts);
+    }
+
+    /**/
+    /*
+    NAME
+        private PerftPosition(final String a_name, final String a_fen, final int a_depth, final long a_count);
+
+    SYNOPSIS
+        private PerftPosition(final String a_name, final String a_fen, final int a_depth, final long a_count);
+
+        String a_name ------------> What the position is known as.
+
+        String a_fen -------------> The position.
+
+        int a_depth --------------> The only depth the count is known at.
+
+        long a_count -------------> The count.
+
+    DESCRIPTION
+        This constructor creates a position known at a single depth.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private PerftPosition(final String a_name, final String a_fen, final int a_depth, final long a_count){
+        this(a_name, a_fen, a_depth, new long[]{a_count});
+    }
+
+    /**/
+    /*
+    NAME
+        private PerftPosition(final String a_name, final String a_fen, final int a_firstDepth, final long[] a_counts);
+
+    SYNOPSIS
+        private PerftPosition(final String a_name, final String a_fen, final int a_firstDepth, final long[] a_counts);
+
+        String a_name ------------> What the position is known as.
+
+        String a_fen -------------> The position.
+
+        int a_firstDepth ---------> The depth of the first count.
+
+        long[] a_counts ----------> The counts from that depth upward.
+
+    DESCRIPTION
+        This constructor backs the other two.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private PerftPosition(final String a_name, final String a_fen, final int a_firstDepth, final long[] a_counts){
+        this.m_name = a_name;
+        this.m_fen = a_fen;
+        this.m_firstDepth = a_firstDepth;
+        this.m_counts = a_counts;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetName();
+
+    SYNOPSIS
+        public final String GetName();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns what the position is known as.
+
+    RETURNS
+        String m_name: The name.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetName(){
+        return this.m_name;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetFEN();
+
+    SYNOPSIS
+        public final String GetFEN();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the position.
+
+    RETURNS
+        String m_fen: The position as a FEN string.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetFEN(){
+        return this.m_fen;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetFirstDepth();
+
+    SYNOPSIS
+        public final int GetFirstDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the shallowest depth whose count is known.
+
+    RETURNS
+        int m_firstDepth: The depth.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetFirstDepth(){
+        return this.m_firstDepth;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetLastDepth();
+
+    SYNOPSIS
+        public final int GetLastDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the deepest depth whose count is known.
+
+    RETURNS
+        int: The depth.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetLastDepth(){
+        return this.m_firstDepth + this.m_counts.length - Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetCount(final int a_depth);
+
+    SYNOPSIS
+        public final long GetCount(final int a_depth);
+
+        int a_depth --------------> A depth from GetFirstDepth() to GetLastDepth().
+
+    DESCRIPTION
+        This method returns the known count at a depth.
+
+    RETURNS
+        long: The number of leaves.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetCount(final int a_depth){
+        if(a_depth < this.m_firstDepth || a_depth > this.GetLastDepth()){
+            throw new IllegalArgumentException("The count of " + this.m_name + " is not known at depth " + a_depth);
+        }
+
+        return this.m_counts[a_depth - this.m_firstDepth];
+    }
+}
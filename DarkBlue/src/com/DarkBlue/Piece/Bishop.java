@@ -18,18 +18,6 @@ import com.DarkBlue.Board.Board;
  */
 public class Bishop extends Piece{
     
-    // The down and right moves usable on this turn only
-    private final ArrayList<Move> m_currentDownAndRightMoves;
-    
-    // The up and right moves usable on this turn only
-    private final ArrayList<Move> m_currentUpAndRightMoves;
-    
-    // The up and left moves usable on this turn only
-    private final ArrayList<Move> m_currentUpAndLeftMoves;
-    
-    // The down and left moves usable on this turn only
-    private final ArrayList<Move> m_currentDownAndLeftMoves;
-    
     /**/
     /*
     NAME
@@ -47,9 +35,6 @@ public class Bishop extends Piece{
     DESCRIPTION
         This constructor constructs a new Bishop object by calling the Piece 
         superclass constructor and filling in the specific fields.
-        
-        ArrayLists that contain all and current legal moves are also instantiated, to be
-        populated later.
     
     RETURNS
         Nothing
@@ -59,11 +44,6 @@ public class Bishop extends Piece{
     */
     public Bishop(final ChessColor a_color, final int a_currentRow, final int a_currentColumn){
         super(a_color, a_currentRow, a_currentColumn);
-        
-        this.m_currentDownAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndLeftMoves = new ArrayList<>();
-        this.m_currentDownAndLeftMoves = new ArrayList<>();
     }
     
     /**/
@@ -94,31 +74,22 @@ public class Bishop extends Piece{
     */
     public Bishop(final Piece a_piece, final int a_newRow, final int a_newColumn, final int a_moves){
         super(a_piece, a_newRow, a_newColumn, a_moves);
-        final Bishop CANDIDATE = (Bishop) a_piece;
-        
-        this.m_currentDownAndRightMoves = new ArrayList<>();        
-        this.m_currentUpAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndLeftMoves = new ArrayList<>();
-        this.m_currentDownAndLeftMoves = new ArrayList<>();
-        
-        this.m_currentDownAndRightMoves.addAll(CANDIDATE.GetCurrentDownAndRightMoves());
-        this.m_currentUpAndRightMoves.addAll(CANDIDATE.GetCurrentUpAndRightMoves());
-        this.m_currentUpAndLeftMoves.addAll(CANDIDATE.GetCurrentUpAndLeftMoves());
-        this.m_currentDownAndLeftMoves.addAll(CANDIDATE.GetCurrentDownAndLeftMoves());
     }
     
     /**/
     /*
     NAME
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board: The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the current legal moves to the list, one direction at a time, taking into account which
         tiles the piece can actually visit on this turn. For example, no tile occurring after an
         opposing piece or on and after a friendly piece can be visited. Also, this piece
         may not have any legal moves if the king is in check and the piece can't help him.
@@ -130,26 +101,41 @@ public class Bishop extends Piece{
         Ryan King
     */
     @Override
-    public final void AddCurrentLegalMoves(final Board a_board){
-        // Clear out all legal moves
-        this.m_currentLegalMoves.clear();
-        
-        this.m_currentDownAndRightMoves.clear();
-        this.m_currentUpAndRightMoves.clear();
-        this.m_currentUpAndLeftMoves.clear();
-        this.m_currentDownAndLeftMoves.clear();
-        
-        // Add all new legal moves in each direction
-        this.m_currentDownAndRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
-        this.m_currentUpAndRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
-        this.m_currentUpAndLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
-        this.m_currentDownAndLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
+    public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
+    }
+    
+    /**/
+    /*
+    NAME
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
         
-        // Compile these moves into the main ArrayList
-        this.m_currentLegalMoves.addAll(m_currentDownAndRightMoves);
-        this.m_currentLegalMoves.addAll(m_currentUpAndRightMoves);
-        this.m_currentLegalMoves.addAll(m_currentUpAndLeftMoves);
-        this.m_currentLegalMoves.addAll(m_currentDownAndLeftMoves);
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the current legal captures to the list, one direction at a time.
+        Only the first piece in each direction can be captured.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
     }
     
     /**/
@@ -379,92 +365,92 @@ public class Bishop extends Piece{
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownAndRightMoves();
+        public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownAndRightMoves();
+        public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down and right moves ArrayList.    
+        This method returns the current down and right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownAndRightMoves: The current down and right moves.
+        ArrayList<Move>: The current down and right moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentDownAndRightMoves(){
-        return this.m_currentDownAndRightMoves;
+    public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpAndRightMoves();
+        public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpAndRightMoves();
+        public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up and right moves ArrayList.    
+        This method returns the current up and right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpAndRightMoves: The current up and right moves.
+        ArrayList<Move>: The current up and right moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpAndRightMoves(){
-        return this.m_currentUpAndRightMoves;
+    public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpAndLeftMoves();
+        public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpAndLeftMoves();
+        public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up and left moves ArrayList.    
+        This method returns the current up and left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpAndLeftMoves: The current up and left moves.
+        ArrayList<Move>: The current up and left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpAndLeftMoves(){
-        return this.m_currentUpAndLeftMoves;
+    public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownAndLeftMoves();
+        public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownAndLeftMoves();
+        public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down and left moves ArrayList.    
+        This method returns the current down and left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownAndLeftMoves: The current down and left moves.
+        ArrayList<Move>: The current down and left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentDownAndLeftMoves(){
-        return this.m_currentDownAndLeftMoves;
+    public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES);
     }
 }
\ No newline at end of file
@@ -80,7 +80,6 @@ import java.util.ArrayList;
  */
 public final class King extends Piece{
     
-    private final ArrayList<Move> m_currentCastlingMoves;
     private final boolean m_canKingsideCastle;
     private final boolean m_canQueensideCastle;
     
@@ -105,9 +104,6 @@ public final class King extends Piece{
     DESCRIPTION
         This constructor constructs a new King object by calling the Piece 
         superclass constructor and filling in the specific fields.
-        
-        ArrayLists that contain all and current legal moves are also instantiated, to be
-        populated later.
     
     RETURNS
         Nothing
@@ -116,10 +112,8 @@ public final class King extends Piece{
         Ryan King
     */
     public King(final ChessColor a_color, final int a_currentRow, final int a_currentColumn, final boolean a_canKingsideCastle, final boolean a_canQueensideCastle){
-        
         super(a_color, a_currentRow, a_currentColumn);
         
-        this.m_currentCastlingMoves = new ArrayList<>();
         this.m_canKingsideCastle = a_canKingsideCastle;
         this.m_canQueensideCastle = a_canQueensideCastle;
     }
@@ -153,11 +147,6 @@ public final class King extends Piece{
     */
     public King(final Piece a_piece, final int a_newRow, final int a_newColumn, final int a_moves){
         super(a_piece, a_newRow, a_newColumn, a_moves);
-        King candidate = (King) a_piece;
-        
-        this.m_currentCastlingMoves = new ArrayList<>();
-        
-        this.m_currentCastlingMoves.addAll(candidate.m_currentCastlingMoves);
         
         this.m_canKingsideCastle = false;
         this.m_canQueensideCastle = false;
@@ -166,15 +155,17 @@ public final class King extends Piece{
     /**/
     /*
     NAME
-        public void AddCurrentLegalMoves(final Board a_board);
+        public void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public void AddCurrentLegalMoves(final Board a_board);
+        public void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ----> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the current legal moves to the list, taking into account which
         tiles the piece can actually visit on this turn. For example, no tile occurring after an
         opposing piece or on and after a friendly piece can be visited. This piece
         cannot give check, but can help give checkmate. No piece can be taken if it is protected
@@ -188,25 +179,40 @@ public final class King extends Piece{
         Ryan King
     */
     @Override
-    public final void AddCurrentLegalMoves(final Board a_board){
-        // Clear out the legal moves to prepare for new evaluation
-        this.m_currentLegalMoves.clear();
-        this.m_currentCastlingMoves.clear();
-
+    public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
         // Add the current moves in the king's spectrum
-        this.m_currentLegalMoves.addAll(MoveEvaluation.AddCurrentSpectrumMoves(this, a_board, MoveEvaluation.KING_MOVES));      
-        
-        // Evaluate castling moves if the king has not moved and is not in check
-        if(!this.HasMoved() && this.m_currentColumn == Utilities.FOUR
-                && (this.IsWhite() && this.m_currentRow == Utilities.SEVEN) || (this.IsBlack() && this.m_currentRow == Utilities.ZERO)
-                && (this.m_canKingsideCastle || this.m_canQueensideCastle) && MoveEvaluation.IsKingSafe(a_board, this.m_currentRow, this.m_currentColumn, this.m_color)){
-            this.AddCurrentCastlingMoves(a_board);
-        }
+        a_moves.addAll(MoveEvaluation.AddCurrentSpectrumMoves(this, a_board, MoveEvaluation.KING_MOVES));
         
         // Add the castling moves if there are any
-        if(!this.m_currentCastlingMoves.isEmpty()){
-            this.m_currentLegalMoves.addAll(this.m_currentCastlingMoves);
-        }
+        a_moves.addAll(this.GetCurrentCastlingMoves(a_board));
+    }
+    
+    /**/
+    /*
+    NAME
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the current legal captures to the list, only trying
+        the tiles in reach that have pieces on them.
+        A king never captures by castling.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentSpectrumCaptures(this, a_board, MoveEvaluation.KING_MOVES));
     }
     
     /**/
@@ -436,15 +442,17 @@ public final class King extends Piece{
     /**/
     /*
     NAME
-        public final void AddCurrentCastlingMoves(final Board a_board);
+        private final void AddCurrentCastlingMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public final void AddCurrentCastlingMoves(final Board a_board);
+        private final void AddCurrentCastlingMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ----> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current castling move array, taking into account 
+        This method adds the current castling moves to the list, taking into account 
         the state of the king on this turn. The rules of castling apply:
         
             1. The king must not have moved or castled before.
@@ -456,7 +464,7 @@ public final class King extends Piece{
             4. The king must not castle into check, through check, or in order to escape check.
             This does not apply if the rook is threatened at any point during the castling.
             
-        If all of those statements are true, the move is deemed legal and is added to its ArrayList.
+        If all of those statements are true, the move is deemed legal and is added to the list.
     
     RETURNS
         Nothing
@@ -464,7 +472,7 @@ public final class King extends Piece{
     AUTHOR
         Ryan King
     */
-    private final void AddCurrentCastlingMoves(final Board a_board){
+    private final void AddCurrentCastlingMoves(final Board a_board, final ArrayList<Move> a_moves){
         // Check to see if the king is in his original spot and has not moved before
         if((this.IsWhite() && this.m_currentRow == Utilities.SEVEN && this.m_currentColumn == Utilities.FOUR) 
                 || (this.IsBlack() && this.m_currentRow == Utilities.ZERO && this.m_currentColumn == Utilities.FOUR)
@@ -481,7 +489,7 @@ public final class King extends Piece{
                 final CastlingMove CASTLE = new CastlingMove(this, KING_DESTINATION_ROW, kingDestinationColumn, a_board);    
                 
                 // Add the move to the list
-                m_currentCastlingMoves.add(CASTLE);
+                a_moves.add(CASTLE);
             }  
             
             if(this.CanQueensideCastleOnThisTurn(a_board)){                
@@ -491,43 +499,13 @@ public final class King extends Piece{
                 final CastlingMove CASTLE = new CastlingMove(this, KING_DESTINATION_ROW, kingDestinationColumn, a_board);    
                 
                 // Add the move to the list
-                m_currentCastlingMoves.add(CASTLE);
+                a_moves.add(CASTLE);
             }
         }else{
             return;
         }
     }
     
-    /**/
-    /*
-    NAME
-        public final void RemoveCastlingMoves();
-    
-    SYNOPSIS
-        public final void RemoveCastlingMoves();
-    
-        No parameters.
-    
-    DESCRIPTION
-        This method removes all castling moves from both the
-        king's castling move array as well as its current legal move array.
-    
-    RETURNS
-        Nothing
-    
-    AUTHOR
-        Ryan King
-    */
-    public final void RemoveCastlingMoves(){
-        this.m_currentCastlingMoves.clear();
-        
-        for(final Move MOVE : this.m_currentLegalMoves){
-            if(MOVE.IsCastling()){
-                this.m_currentLegalMoves.remove(MOVE);
-            }
-        }
-    }
-    
     /**/
     /*
     NAME
@@ -782,23 +760,67 @@ public final class King extends Piece{
     /**/
     /*
     NAME
-        public ArrayList<CastlingMove> GetCurrentCastlingMoves();
+        public final ArrayList<Move> GetCurrentCastlingMoves(final Board a_board);
     
     SYNOPSIS
-        public ArrayList<CastlingMove> GetCurrentCastlingMoves();
+        public final ArrayList<Move> GetCurrentCastlingMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ----> The chessboard which contains the current game.
     
     DESCRIPTION
         This method returns the ArrayList of current castling moves.
+        The king cannot castle if he has moved, is not in his original spot,
+        has no castling rights left, or is in check.
+    
+    RETURNS
+        ArrayList<Move>: The array of current castling moves.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<Move> GetCurrentCastlingMoves(final Board a_board){
+        final ArrayList<Move> CASTLING_MOVES = new ArrayList<>();
+        
+        // Evaluate castling moves if the king has not moved and is not in check
+        if(!this.HasMoved() && this.IsInOriginalSpot()
+                && (this.m_canKingsideCastle || this.m_canQueensideCastle) && MoveEvaluation.IsKingSafe(a_board, this.m_currentRow, this.m_currentColumn, this.m_color)){
+            this.AddCurrentCastlingMoves(a_board, CASTLING_MOVES);
+        }
+        
+        return CASTLING_MOVES;
+    }
+    
+    /**/
+    /*
+    NAME
+        public static King GetShared(final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_canKingsideCastle, final boolean a_canQueensideCastle);
+    
+    SYNOPSIS
+        public static King GetShared(final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_canKingsideCastle, final boolean a_canQueensideCastle);
+    
+        ChessColor a_color -------------> The king's color.
+        
+        int a_row ----------------------> The king's row.
+        
+        int a_column -------------------> The king's column.
+        
+        boolean a_hasMoved -------------> If the king has moved.
+        
+        boolean a_canKingsideCastle ----> If the king can kingside castle.
+        
+        boolean a_canQueensideCastle ---> If the king can queenside castle.
+    
+    DESCRIPTION
+        This method returns the king every board shares with these castling rights.
+        A king that has moved cannot castle, no matter what rights are passed in.
     
     RETURNS
-        ArrayList<CastlingMove> m_currentCastlingMoves: The array of current castling moves.
+        King: The shared king, or null if any argument is invalid.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentCastlingMoves(){
-        return m_currentCastlingMoves;
+    public static King GetShared(final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_canKingsideCastle, final boolean a_canQueensideCastle){
+        return (King) Piece.GetShared(PieceType.KING, a_color, a_row, a_column, a_hasMoved, a_canKingsideCastle, a_canQueensideCastle);
     }
 }
\ No newline at end of file
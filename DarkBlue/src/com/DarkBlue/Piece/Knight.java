@@ -4,6 +4,9 @@ import com.DarkBlue.Utilities.Utilities;
 import com.DarkBlue.Utilities.MoveEvaluation;
 import com.DarkBlue.Utilities.ChessColor;
 import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+
+import java.util.ArrayList;
 
 /**
  * This class represents a knight.
@@ -85,15 +88,17 @@ public final class Knight extends Piece{
     /**/
     /*
     NAME
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ---> The chessboard which contains the current game state.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the current legal moves to the list, taking into account which
         tiles the piece can actually visit on this turn. For example, no tile with a
         friendly piece can be visited. Also, this piece
         may not have any legal moves if the king is in check and the piece can't help him.
@@ -105,12 +110,36 @@ public final class Knight extends Piece{
         Ryan King
     */
     @Override
-    public final void AddCurrentLegalMoves(final Board a_board){
-        // Clear out the legal moves from the previous turn
-        this.m_currentLegalMoves.clear();
-
+    public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
         // Add the moves that are currently deemed legal
-        this.m_currentLegalMoves.addAll(MoveEvaluation.AddCurrentSpectrumMoves(this, a_board, MoveEvaluation.KNIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentSpectrumMoves(this, a_board, MoveEvaluation.KNIGHT_MOVES));
+    }
+    
+    /**/
+    /*
+    NAME
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the current legal captures to the list, only trying
+        the tiles in reach that have pieces on them.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentSpectrumCaptures(this, a_board, MoveEvaluation.KNIGHT_MOVES));
     }
     
     /**/
@@ -5,14 +5,12 @@ import javax.swing.JOptionPane;
 
 import com.DarkBlue.Player.Minimax;
 import com.DarkBlue.Move.Move;
-import com.DarkBlue.Move.Delta;
 import com.DarkBlue.Utilities.Utilities;
 import com.DarkBlue.Utilities.MoveEvaluation;
 import com.DarkBlue.Utilities.BoardUtilities;
 import com.DarkBlue.Utilities.ChessColor;
 import com.DarkBlue.Utilities.Factory;
 import com.DarkBlue.Board.Board;
-import com.DarkBlue.GUI.DarkBlue;
 
 /**
  * This represents a chess piece that can move one tile in front if it is not blocked, 
@@ -39,10 +37,6 @@ import com.DarkBlue.GUI.DarkBlue;
  */
 public final class Pawn extends Piece{
     
-    private final ArrayList<Move> m_currentRegularMoves;
-    private final ArrayList<Move> m_currentAttackingMoves;
-    private final ArrayList<Move> m_currentEnPassantMoves;
-    
     private static final String PROMOTION = "Promote pawn to:";
     
     /**/
@@ -62,9 +56,6 @@ public final class Pawn extends Piece{
     DESCRIPTION
         This constructor constructs a new Pawn object by calling the Piece 
         superclass constructor and filling in the specific fields.
-        
-        ArrayLists that contain all and current legal moves are also instantiated, to be
-        populated later.
     
     RETURNS
         Nothing
@@ -73,12 +64,7 @@ public final class Pawn extends Piece{
         Ryan King
     */
     public Pawn(final ChessColor a_color, final int a_currentRow, final int a_currentColumn){
-
         super(a_color, a_currentRow, a_currentColumn);
-        
-        this.m_currentRegularMoves = new ArrayList<>();
-        this.m_currentAttackingMoves = new ArrayList<>();
-        this.m_currentEnPassantMoves = new ArrayList<>();
     }
     
     /**/
@@ -110,29 +96,22 @@ public final class Pawn extends Piece{
     */
     public Pawn(final Piece a_piece, final int a_newRow, final int a_newColumn, final int a_moves){
         super(a_piece, a_newRow, a_newColumn, a_moves);
-        final Pawn CANDIDATE = (Pawn) a_piece;
-        
-        this.m_currentRegularMoves = new ArrayList<>();        
-        this.m_currentAttackingMoves = new ArrayList<>();
-        this.m_currentEnPassantMoves = new ArrayList<>();
-        
-        this.m_currentRegularMoves.addAll(CANDIDATE.GetCurrentRegularMoves());
-        this.m_currentAttackingMoves.addAll(CANDIDATE.GetCurrentAttackingMoves());
-        this.m_currentEnPassantMoves.addAll(CANDIDATE.GetCurrentEnPassantMoves());
     }
     
     /**/
     /*
     NAME
-        public void AddCurrentLegalMoves(final Board a_board);
+        public void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public void AddCurrentLegalMoves(final Board a_board);
+        public void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ---> The chessboard which contains the current game state.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the regular, attacking, and en passant moves to the list, taking into account which
         tiles the piece can actually visit on this turn. For example, no movement would be
         allowed to a tile if a piece is blocking it or diagonally if no non-king enemy piece exists. 
         Also, this piece may not have any legal moves if the king is in check and the piece can't help him.
@@ -144,43 +123,38 @@ public final class Pawn extends Piece{
         Ryan King
     */
     @Override
-    public void AddCurrentLegalMoves(final Board a_board){
-        // Clear the main and specific ArrayLists of moves
-        this.m_currentLegalMoves.clear();
-        
-        this.m_currentRegularMoves.clear();
-        this.m_currentAttackingMoves.clear();
-        this.m_currentEnPassantMoves.clear();
-
-        // Instantiate aliases for Delta arrays for regular and attacking move checking
-        final Delta[] REGULAR_MOVES, ATTACKING_MOVES;
-        
-        // Determine the proper arrays to check,
-        // since a pawn's direction is based on its color
-        if(this.IsWhite()){
-            REGULAR_MOVES = MoveEvaluation.WHITE_REGULAR_MOVES;
-            ATTACKING_MOVES = MoveEvaluation.WHITE_ATTACKING_MOVES;
-        }else{
-            REGULAR_MOVES = MoveEvaluation.BLACK_REGULAR_MOVES;
-            ATTACKING_MOVES = MoveEvaluation.BLACK_ATTACKING_MOVES;
-        }
-        
-        // Add the pawn's regular and attacking moves, if any
-        this.m_currentRegularMoves.addAll(MoveEvaluation.AddCurrentRegularMoves(this, a_board, REGULAR_MOVES));
-        this.m_currentAttackingMoves.addAll(MoveEvaluation.AddCurrentAttackingMoves(this, a_board, ATTACKING_MOVES));
-        
-        // Determine if the pawn is on the proper rank to add en passant moves
-        if((this.IsWhite() && this.m_currentRow == Utilities.THREE) 
-                || (this.IsBlack() && this.m_currentRow == Utilities.FOUR)){
-            this.m_currentEnPassantMoves.addAll(MoveEvaluation.AddCurrentEnPassantMoves(this, a_board));
-        }
+    public void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(this.GetCurrentRegularMoves(a_board));
+        a_moves.addAll(this.GetCurrentAttackingMoves(a_board));
+        a_moves.addAll(this.GetCurrentEnPassantMoves(a_board));
+    }
+    
+    /**/
+    /*
+    NAME
+        public void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
         
-        // Add all of the previously calculated moves to the current legal moves ArrayList
-        this.m_currentLegalMoves.addAll(m_currentRegularMoves);
-
-        this.m_currentLegalMoves.addAll(m_currentAttackingMoves);
-
-        this.m_currentLegalMoves.addAll(m_currentEnPassantMoves);
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the attacking and en passant moves to the list,
+        leaving out the regular moves, even those that promote.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(this.GetCurrentAttackingMoves(a_board));
+        a_moves.addAll(this.GetCurrentEnPassantMoves(a_board));
     }
     
     /**/
@@ -410,73 +384,79 @@ public final class Pawn extends Piece{
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentRegularMoves();
+        public final ArrayList<Move> GetCurrentRegularMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentRegularMoves();
+        public final ArrayList<Move> GetCurrentRegularMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game state.
     
     DESCRIPTION
         This method returns the ArrayList of regular moves.
     
     RETURNS
-        m_currentRegularMoves: An ArrayList containing this pawn's regular moves
+        ArrayList<Move>: An ArrayList containing this pawn's regular moves
         for the current turn.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentRegularMoves(){
-        return this.m_currentRegularMoves;
+    public final ArrayList<Move> GetCurrentRegularMoves(final Board a_board){
+        // A pawn's direction is based on its color
+        return MoveEvaluation.AddCurrentRegularMoves(this, a_board, (this.IsWhite() ? MoveEvaluation.WHITE_REGULAR_MOVES : MoveEvaluation.BLACK_REGULAR_MOVES));
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentAttackingMoves();
+        public final ArrayList<Move> GetCurrentAttackingMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentAttackingMoves();
+        public final ArrayList<Move> GetCurrentAttackingMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game state.
     
     DESCRIPTION
         This method returns the ArrayList of attacking moves.
     
     RETURNS
-        m_currentAttackingMoves: An ArrayList containing this pawn's attacking moves
+        ArrayList<Move>: An ArrayList containing this pawn's attacking moves
         for the current turn.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentAttackingMoves(){
-        return this.m_currentAttackingMoves;
+    public final ArrayList<Move> GetCurrentAttackingMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentAttackingMoves(this, a_board, (this.IsWhite() ? MoveEvaluation.WHITE_ATTACKING_MOVES : MoveEvaluation.BLACK_ATTACKING_MOVES));
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentEnPassantMoves();
+        public final ArrayList<Move> GetCurrentEnPassantMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentEnPassantMoves();
+        public final ArrayList<Move> GetCurrentEnPassantMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game state.
     
     DESCRIPTION
         This method returns the ArrayList of en passant moves.
     
     RETURNS
-        m_currentEnPassantMoves: An ArrayList containing this pawn's en passant moves
+        ArrayList<Move>: An ArrayList containing this pawn's en passant moves
         for the current turn.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentEnPassantMoves(){
-        return this.m_currentEnPassantMoves;
+    public final ArrayList<Move> GetCurrentEnPassantMoves(final Board a_board){
+        // Determine if the pawn is on the proper rank to add en passant moves
+        if((this.IsWhite() && this.m_currentRow == Utilities.THREE) 
+                || (this.IsBlack() && this.m_currentRow == Utilities.FOUR)){
+            return MoveEvaluation.AddCurrentEnPassantMoves(this, a_board);
+        }
+        return new ArrayList<>();
     }
 
     /**/
@@ -531,7 +511,7 @@ public final class Pawn extends Piece{
             while(true){
             
                 // Determine which piece the user wants to promote this pawn to
-                buttonInt = JOptionPane.showOptionDialog(null, PROMOTION, DarkBlue.TITLE, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, OPTIONS, null);
+                buttonInt = JOptionPane.showOptionDialog(null, PROMOTION, Utilities.TITLE, JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, OPTIONS, null);
 
                 // Only break out if the user chose a piece
                 if(buttonInt != JOptionPane.CLOSED_OPTION){
@@ -1,7 +1,7 @@
 package com.DarkBlue.Piece;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Utilities.Utilities;
@@ -16,12 +16,18 @@ import com.DarkBlue.Board.Tile;
  * 
  * No concrete assumptions are made about this piece.
  * The only fields that every piece needs are a color,
- * a row, a column, the number of moves it has made, and an
- * ArrayList of legal moves for the current turn.
+ * a row, a column, and the number of moves it has made.
  * 
  * Identity as a certain type of piece, special
  * types of moves, etc. are all handled in each subclass.
  * 
+ * Pieces are immutable, so every board can share them. GetShared() returns
+ * the one piece of each type and color on each tile that has or has not moved,
+ * with the castling rights of a king as well, and moving or copying a piece goes through it.
+ * A piece's legal moves depend on the board it is on, so the board keeps them
+ * and finds them the first time anything asks for them. The search
+ * never finds the moves of pieces it does not look at.
+ * 
  * Partially inspired by the Piece class in Black Widow Chess by Amir Afghani:
  * https://github.com/amir650/BlackWidow-Chess
  * 
@@ -41,8 +47,8 @@ public abstract class Piece{
     // How many times has the piece moved?
     protected final int m_moves;
     
-    // All the legal moves usable for the current turn only
-    protected final ArrayList<Move> m_currentLegalMoves;
+    // The pieces every board shares, by type, color, tile, whether they have moved, and a king's castling rights
+    private static final AtomicReferenceArray<Piece> SHARED = new AtomicReferenceArray<>(PieceType.values().length * Utilities.TWO * Utilities.SIXTY_FOUR * Utilities.EIGHT);
     
     /* Constructors and all concrete methods. */
     
@@ -94,7 +100,6 @@ public abstract class Piece{
         
         // Set other final fields
         this.m_moves = Utilities.ZERO;
-        this.m_currentLegalMoves = new ArrayList<>();
     }
     
     // The copy constructor.
@@ -118,6 +123,7 @@ public abstract class Piece{
         This copy constructor initializes most of the universal fields for a Piece of any type.
         It sets all of the specific fields not set in the regular constructor, as this assumes
         the caller is passing in a fully fleshed-out Piece object.
+        Nothing about a piece changes, so GetShared() is usually all that is needed instead.
             
     RETURNS
         Nothing
@@ -153,8 +159,6 @@ public abstract class Piece{
         }
         
         this.m_moves = a_moves;
-        this.m_currentLegalMoves = new ArrayList<>();
-        this.m_currentLegalMoves.addAll(a_piece.GetCurrentLegalMoves());
     }
     
     // Accessors for every field.
@@ -231,25 +235,185 @@ public abstract class Piece{
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentLegalMoves();
+        public static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentLegalMoves();
+        public static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved);
     
-        No parameters.
+        PieceType a_type ---------> The piece's type.
+        
+        ChessColor a_color -------> The piece's color.
+        
+        int a_row ----------------> The piece's row.
+        
+        int a_column -------------> The piece's column.
+        
+        boolean a_hasMoved -------> If the piece has moved.
+    
+    DESCRIPTION
+        This method returns the piece every board shares for the given type, color, tile,
+        and whether it has moved, making it the first time it is asked for.
+        A king returned by this method cannot castle; King.GetShared() returns one that can.
+    
+    RETURNS
+        Piece: The shared piece, or null if any argument is invalid.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved){
+        return GetShared(a_type, a_color, a_row, a_column, a_hasMoved, false, false);
+    }
+    
+    /**/
+    /*
+    NAME
+        static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside);
+    
+    SYNOPSIS
+        static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside);
+    
+        PieceType a_type ---------> The piece's type.
+        
+        ChessColor a_color -------> The piece's color.
+        
+        int a_row ----------------> The piece's row.
+        
+        int a_column -------------> The piece's column.
+        
+        boolean a_hasMoved -------> If the piece has moved.
+        
+        boolean a_kingside -------> If a king that has not moved can kingside castle.
+        
+        boolean a_queenside ------> If a king that has not moved can queenside castle.
+    
+    DESCRIPTION
+        This method backs both GetShared() methods. Only a king that has not moved
+        can castle, so the castling rights are ignored for every other piece.
+        Two threads asking for a new piece at once may both make it, but only one is kept.
+    
+    RETURNS
+        Piece: The shared piece, or null if any argument is invalid.
+    
+    AUTHOR
+        Ryan King
+    */
+    static Piece GetShared(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside){
+        // Idiot proofing
+        if(a_type == null || a_color == null || !BoardUtilities.HasValidCoordinates(a_row, a_column)){
+            return null;
+        }
+        
+        final boolean CAN_CASTLE = (a_type == PieceType.KING && !a_hasMoved);
+        final boolean KINGSIDE = CAN_CASTLE && a_kingside;
+        final boolean QUEENSIDE = CAN_CASTLE && a_queenside;
+        
+        int index = a_type.ordinal() * Utilities.TWO + (a_color.IsWhite() ? Utilities.ZERO : Utilities.ONE);
+        index = index * Utilities.SIXTY_FOUR + a_row * Utilities.EIGHT + a_column;
+        index = index * Utilities.EIGHT + (a_hasMoved ? Utilities.FOUR : Utilities.ZERO) + (KINGSIDE ? Utilities.TWO : Utilities.ZERO) + (QUEENSIDE ? Utilities.ONE : Utilities.ZERO);
+        
+        final Piece PIECE = SHARED.get(index);
+        if(PIECE != null){
+            return PIECE;
+        }
+        
+        SHARED.compareAndSet(index, null, Create(a_type, a_color, a_row, a_column, a_hasMoved, KINGSIDE, QUEENSIDE));
+        return SHARED.get(index);
+    }
+    
+    /**/
+    /*
+    NAME
+        private static Piece Create(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside);
+    
+    SYNOPSIS
+        private static Piece Create(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside);
+    
+        PieceType a_type ---------> The piece's type.
+        
+        ChessColor a_color -------> The piece's color.
+        
+        int a_row ----------------> The piece's row.
+        
+        int a_column -------------> The piece's column.
+        
+        boolean a_hasMoved -------> If the piece has moved.
+        
+        boolean a_kingside -------> If a king can kingside castle.
+        
+        boolean a_queenside ------> If a king can queenside castle.
+    
+    DESCRIPTION
+        This method makes a new piece for GetShared().
+        A piece that has moved is counted as having moved once.
+    
+    RETURNS
+        Piece: The new piece.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static Piece Create(final PieceType a_type, final ChessColor a_color, final int a_row, final int a_column, final boolean a_hasMoved, final boolean a_kingside, final boolean a_queenside){
+        final int MOVES = (a_hasMoved ? Utilities.ONE : Utilities.ZERO);
+        
+        switch(a_type){
+            case PAWN: return new Pawn(new Pawn(a_color, a_row, a_column), a_row, a_column, MOVES);
+            case ROOK: return new Rook(new Rook(a_color, a_row, a_column), a_row, a_column, MOVES);
+            case KNIGHT: return new Knight(new Knight(a_color, a_row, a_column), a_row, a_column, MOVES);
+            case BISHOP: return new Bishop(new Bishop(a_color, a_row, a_column), a_row, a_column, MOVES);
+            case QUEEN: return new Queen(new Queen(a_color, a_row, a_column), a_row, a_column, MOVES);
+            default: return (a_hasMoved ? new King(new King(a_color, a_row, a_column, false, false), a_row, a_column, MOVES) : new King(a_color, a_row, a_column, a_kingside, a_queenside));
+        }
+    }
+    
+    /**/
+    /*
+    NAME
+        public final ArrayList<Move> GetCurrentLegalMoves(final Board a_board);
+    
+    SYNOPSIS
+        public final ArrayList<Move> GetCurrentLegalMoves(final Board a_board);
+    
+        Board a_board ---> The board the piece is on.
     
     DESCRIPTION
         This method returns the ArrayList of all this piece's
-        legal moves usable on the current turn.
+        legal moves on the board, which the board finds
+        the first time anyone asks for them and keeps afterward.
+        The list must not be changed.
     
     RETURNS
-        ArrayList<Move> m_currentLegalMoves: All of the piece's legal moves for the current turn.
+        ArrayList<Move>: All of the piece's legal moves on the board.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentLegalMoves(){
-        return this.m_currentLegalMoves;
+    public final ArrayList<Move> GetCurrentLegalMoves(final Board a_board){
+        return a_board.GetLegalMoves(this.m_currentRow, this.m_currentColumn);
+    }
+    
+    /**/
+    /*
+    NAME
+        public final ArrayList<Move> GetCurrentCaptures(final Board a_board);
+    
+    SYNOPSIS
+        public final ArrayList<Move> GetCurrentCaptures(final Board a_board);
+    
+        Board a_board ---> The board the piece is on.
+    
+    DESCRIPTION
+        This method returns the legal captures of this piece on the board,
+        without finding its other moves if the board has not found them yet.
+    
+    RETURNS
+        ArrayList<Move>: The piece's legal captures on the board.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<Move> GetCurrentCaptures(final Board a_board){
+        return a_board.GetCaptures(this.m_currentRow, this.m_currentColumn);
     }
     
     /**/
@@ -264,6 +428,7 @@ public abstract class Piece{
     
     DESCRIPTION
         This method returns how many moves this piece has made.
+        Shared pieces count no further than one, which is all HasMoved() needs.
     
     RETURNS
         int m_moves: The number of times this piece has moved.
@@ -278,12 +443,12 @@ public abstract class Piece{
     /**/
     /*
     NAME
-        public final boolean CanMove();
+        public final boolean CanMove(final Board a_board);
     
     SYNOPSIS
-        public final boolean CanMove();
+        public final boolean CanMove(final Board a_board);
         
-        No parameters.
+        Board a_board ---> The board the piece is on.
     
     DESCRIPTION
         This method returns if this piece is able to move
@@ -297,8 +462,8 @@ public abstract class Piece{
     AUTHOR
         Ryan King
     */
-    public final boolean CanMove(){
-        return this.m_currentLegalMoves.size() > Utilities.ZERO;    
+    public final boolean CanMove(final Board a_board){
+        return this.GetCurrentLegalMoves(a_board).size() > Utilities.ZERO;    
     }
     
     /**/
@@ -529,16 +694,18 @@ public abstract class Piece{
     /**/
     /*
     NAME
-        public abstract void AddCurrentLegalMoves(final Board a_board);
+        public abstract void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public abstract void AddCurrentLegalMoves(final Board a_board);
+        public abstract void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board --------> The current state of the game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
         This method adds all the moves that are legal
-        on the current turn only. Since every piece, even of the same type and color,
+        on the current turn only to the list. Since every piece, even of the same type and color,
         are in different spots and have different conditions (i.e., blocking a
         king that's in check) as well as methods of moving
         (e.g. a bishop moves diagonally whereas a rook moves horizontally), 
@@ -550,7 +717,32 @@ public abstract class Piece{
     AUTHOR
         Ryan King
     */
-    public abstract void AddCurrentLegalMoves(final Board a_board);
+    public abstract void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
+    
+    /**/
+    /*
+    NAME
+        public abstract void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public abstract void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board --------> The current state of the game.
+        
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds only the legal moves that capture a piece,
+        including en passant, to the list. They are the same captures
+        AddCurrentLegalMoves() adds, found without trying the moves to empty tiles.
+            
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    public abstract void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
     
     /**/
     /*
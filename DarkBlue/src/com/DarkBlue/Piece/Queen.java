@@ -20,31 +20,7 @@ import java.util.ArrayList;
  */
 public final class Queen extends Piece{
     
-    // The down moves usable on this turn only
-    private final ArrayList<Move> m_currentDownMoves;
-        
-    // The up moves usable on this turn only
-    private final ArrayList<Move> m_currentUpMoves;
-        
-    // The right moves usable on this turn only
-    private final ArrayList<Move> m_currentRightMoves;
-        
-    // The left moves usable on this turn only
-    private final ArrayList<Move> m_currentLeftMoves;
-    
-    // The down and right moves usable on this turn only
-    private final ArrayList<Move> m_currentDownAndRightMoves;
-        
-    // The up and right moves usable on this turn only
-    private final ArrayList<Move> m_currentUpAndRightMoves;
-        
-    // The up and left moves usable on this turn only
-    private final ArrayList<Move> m_currentUpAndLeftMoves;
-        
-    // The down and left moves usable on this turn only
-    private final ArrayList<Move> m_currentDownAndLeftMoves;
-    
-    /**/
+            /**/
     /*
     NAME
         public Queen(final ChessColor a_color, final int a_currentRow, final int a_currentColumn);
@@ -61,9 +37,6 @@ public final class Queen extends Piece{
     DESCRIPTION
         This constructor constructs a new Queen object by calling the Piece 
         superclass constructor and filling in the specific fields.
-        
-        ArrayLists that contain all and current legal moves are also instantiated, to be
-        populated later.
     
     RETURNS
         Nothing
@@ -73,16 +46,6 @@ public final class Queen extends Piece{
     */
     public Queen(final ChessColor a_color, final int a_currentRow, final int a_currentColumn){
         super(a_color, a_currentRow, a_currentColumn);
-        
-        this.m_currentDownMoves = new ArrayList<>();
-        this.m_currentUpMoves = new ArrayList<>();
-        this.m_currentRightMoves = new ArrayList<>();
-        this.m_currentLeftMoves = new ArrayList<>();
-        
-        this.m_currentDownAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndLeftMoves = new ArrayList<>();
-        this.m_currentDownAndLeftMoves = new ArrayList<>();
     }
     
     /**/
@@ -114,43 +77,22 @@ public final class Queen extends Piece{
     */
     public Queen(final Piece a_piece, final int a_newRow, final int a_newColumn, final int a_moves){
         super(a_piece, a_newRow, a_newColumn, a_moves);
-        final Queen CANDIDATE = (Queen) a_piece;
-               
-        // Initialize the ArrayLists
-        this.m_currentDownMoves = new ArrayList<>();
-        this.m_currentUpMoves = new ArrayList<>();
-        this.m_currentRightMoves = new ArrayList<>();
-        this.m_currentLeftMoves = new ArrayList<>();
-        
-        this.m_currentDownAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndRightMoves = new ArrayList<>();
-        this.m_currentUpAndLeftMoves = new ArrayList<>();
-        this.m_currentDownAndLeftMoves = new ArrayList<>();
-        
-        // Add all moves from the original piece
-        this.m_currentDownMoves.addAll(CANDIDATE.m_currentDownMoves);
-        this.m_currentUpMoves.addAll(CANDIDATE.m_currentUpMoves);
-        this.m_currentRightMoves.addAll(CANDIDATE.m_currentRightMoves);
-        this.m_currentLeftMoves.addAll(CANDIDATE.m_currentLeftMoves);
-        
-        this.m_currentDownAndRightMoves.addAll(CANDIDATE.m_currentDownAndRightMoves);
-        this.m_currentUpAndRightMoves.addAll(CANDIDATE.m_currentUpAndRightMoves);
-        this.m_currentUpAndLeftMoves.addAll(CANDIDATE.m_currentUpAndLeftMoves);
-        this.m_currentDownAndLeftMoves.addAll(CANDIDATE.m_currentDownAndLeftMoves);
     }
     
     /**/
     /*
     NAME
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ---> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the current legal moves to the list, one direction at a time, taking into account which
         tiles the piece can actually visit on this turn. For example, no tile occurring after an
         opposing piece or on and after a friendly piece can be visited. Also, this piece
         may not have any legal moves if the king is in check and the piece can't help him.
@@ -162,41 +104,49 @@ public final class Queen extends Piece{
         Ryan King
     */
     @Override
-    public final void AddCurrentLegalMoves(final Board a_board){
-        // Clear out all the legal moves from the previous turn
-        this.m_currentLegalMoves.clear();
-        
-        this.m_currentDownMoves.clear();
-        this.m_currentUpMoves.clear();
-        this.m_currentRightMoves.clear();
-        this.m_currentLeftMoves.clear();
-        
-        this.m_currentDownAndRightMoves.clear();
-        this.m_currentUpAndRightMoves.clear();
-        this.m_currentUpAndLeftMoves.clear();
-        this.m_currentDownAndLeftMoves.clear();
-
-        // Add the new legal moves for this turn in all eight directions
-        this.m_currentDownMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES));
-        this.m_currentUpMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES));
-        this.m_currentRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES));
-        this.m_currentLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES));
-        
-        this.m_currentDownAndRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
-        this.m_currentUpAndRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
-        this.m_currentUpAndLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
-        this.m_currentDownAndLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
-        
-        // Place the new moves into the generic current legal moves ArrayList
-        this.m_currentLegalMoves.addAll(this.m_currentDownMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentUpMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentRightMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentLeftMoves);
+    public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
+    }
+    
+    /**/
+    /*
+    NAME
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
         
-        this.m_currentLegalMoves.addAll(this.m_currentDownAndRightMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentUpAndRightMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentUpAndLeftMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentDownAndLeftMoves);
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the current legal captures to the list, one direction at a time.
+        Only the first piece in each direction can be captured.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES));
     }
     
     /**/
@@ -426,184 +376,184 @@ public final class Queen extends Piece{
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownMoves();
+        public final ArrayList<Move> GetCurrentDownMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownMoves();
+        public final ArrayList<Move> GetCurrentDownMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down moves ArrayList.    
+        This method returns the current down moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownMoves: The current down moves.
+        ArrayList<Move>: The current down moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentDownMoves(){
-        return this.m_currentDownMoves;
+    public final ArrayList<Move> GetCurrentDownMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpMoves();
+        public final ArrayList<Move> GetCurrentUpMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpMoves();
+        public final ArrayList<Move> GetCurrentUpMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up moves ArrayList.    
+        This method returns the current up moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpMoves: The current up moves.
+        ArrayList<Move>: The current up moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpMoves(){
-        return this.m_currentUpMoves;
+    public final ArrayList<Move> GetCurrentUpMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentRightMoves();
+        public final ArrayList<Move> GetCurrentRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentRightMoves();
+        public final ArrayList<Move> GetCurrentRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current right moves ArrayList.    
+        This method returns the current right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentRightMoves: The current right moves.
+        ArrayList<Move>: The current right moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentRightMoves(){
-        return this.m_currentRightMoves;
+    public final ArrayList<Move> GetCurrentRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentLeftMoves();
+        public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentLeftMoves();
+        public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current left moves ArrayList.    
+        This method returns the current left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentLeftMoves: The current left moves.
+        ArrayList<Move>: The current left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentLeftMoves(){
-        return this.m_currentLeftMoves;
+    public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownAndRightMoves();
+        public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownAndRightMoves();
+        public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down and right moves ArrayList.    
+        This method returns the current down and right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownAndRightMoves: The current down and right moves.
+        ArrayList<Move>: The current down and right moves.
     
     AUTHOR
         Ryan King
     */    
-    public final ArrayList<Move> GetCurrentDownAndRightMoves(){
-        return this.m_currentDownAndRightMoves;
+    public final ArrayList<Move> GetCurrentDownAndRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpAndRightMoves();
+        public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpAndRightMoves();
+        public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up and right moves ArrayList.    
+        This method returns the current up and right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpAndRightMoves: The current up and right moves.
+        ArrayList<Move>: The current up and right moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpAndRightMoves(){
-        return this.m_currentUpAndRightMoves;
+    public final ArrayList<Move> GetCurrentUpAndRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpAndLeftMoves();
+        public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpAndLeftMoves();
+        public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up and left moves ArrayList.    
+        This method returns the current up and left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpAndLeftMoves: The current up and left moves.
+        ArrayList<Move>: The current up and left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpAndLeftMoves(){
-        return this.m_currentUpAndLeftMoves;
+    public final ArrayList<Move> GetCurrentUpAndLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_AND_LEFT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownAndLeftMoves();
+        public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownAndLeftMoves();
+        public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down and left moves ArrayList.    
+        This method returns the current down and left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownAndLeftMoves: The current down and left moves.
+        ArrayList<Move>: The current down and left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentDownAndLeftMoves(){
-        return this.m_currentDownAndLeftMoves;
+    public final ArrayList<Move> GetCurrentDownAndLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_AND_LEFT_MOVES);
     }
 }
\ No newline at end of file
@@ -18,18 +18,6 @@ import java.util.ArrayList;
  */
 public final class Rook extends Piece{
     
-    // The down moves usable on this turn only
-    private final ArrayList<Move> m_currentDownMoves;
-    
-    // The up moves usable on this turn only
-    private final ArrayList<Move> m_currentUpMoves;
-    
-    // The right moves usable on this turn only
-    private final ArrayList<Move> m_currentRightMoves;
-    
-    // The left moves usable on this turn only
-    private final ArrayList<Move> m_currentLeftMoves;
-    
     /**/
     /*
     NAME
@@ -47,9 +35,6 @@ public final class Rook extends Piece{
     DESCRIPTION
         This constructor constructs a new Rook object by calling the Piece 
         superclass constructor and filling in the specific fields.
-        
-        ArrayLists that contain all and current legal moves are also instantiated, to be
-        populated later.
     
     RETURNS
         Nothing
@@ -58,13 +43,7 @@ public final class Rook extends Piece{
         Ryan King
     */
     public Rook(final ChessColor a_color, final int a_currentRow, final int a_currentColumn){
-        
         super(a_color, a_currentRow, a_currentColumn);
-        
-        this.m_currentDownMoves = new ArrayList<>();
-        this.m_currentUpMoves = new ArrayList<>();
-        this.m_currentRightMoves = new ArrayList<>();
-        this.m_currentLeftMoves = new ArrayList<>();
     }
     
     /**/
@@ -95,34 +74,23 @@ public final class Rook extends Piece{
         Ryan King
     */
     public Rook(final Piece a_piece, final int a_newRow, final int a_newColumn, final int a_moves){
-        super(a_piece, a_newRow, a_newColumn, a_moves);    
-        final Rook CANDIDATE = (Rook) a_piece;
-        
-        // Initialize ArrayLists
-        this.m_currentDownMoves = new ArrayList<>();
-        this.m_currentUpMoves = new ArrayList<>();
-        this.m_currentRightMoves = new ArrayList<>();
-        this.m_currentLeftMoves = new ArrayList<>();
-        
-        // Add the moves from the original piece
-        this.m_currentDownMoves.addAll(CANDIDATE.m_currentDownMoves);
-        this.m_currentUpMoves.addAll(CANDIDATE.m_currentUpMoves);
-        this.m_currentRightMoves.addAll(CANDIDATE.m_currentRightMoves);
-        this.m_currentLeftMoves.addAll(CANDIDATE.m_currentLeftMoves);
+        super(a_piece, a_newRow, a_newColumn, a_moves);
     }
     
     /**/
     /*
     NAME
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
     SYNOPSIS
-        public final void AddCurrentLegalMoves(final Board a_board);
+        public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves);
     
         Board a_board ---> The chessboard which contains the current game.
+        
+        ArrayList<Move> a_moves -> The list the moves are added to.
     
     DESCRIPTION
-        This method populates the current legal move array, taking into account which
+        This method adds the current legal moves to the list, one direction at a time, taking into account which
         tiles the piece can actually visit on this turn. For example, no tile occurring after an
         opposing piece or on and after a friendly piece can be visited. Also, this piece
         may not have any legal moves if the king is in check and the piece can't help him.
@@ -134,26 +102,41 @@ public final class Rook extends Piece{
         Ryan King
     */
     @Override
-    public final void AddCurrentLegalMoves(final Board a_board){
-        // Clear out all old moves
-        this.m_currentLegalMoves.clear();
-        
-        this.m_currentDownMoves.clear();
-        this.m_currentUpMoves.clear();
-        this.m_currentRightMoves.clear();
-        this.m_currentLeftMoves.clear();
-
-        // Calculate new moves and add them to their respective directions
-        this.m_currentDownMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES));
-        this.m_currentUpMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES));
-        this.m_currentRightMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES));
-        this.m_currentLeftMoves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES));
+    public final void AddCurrentLegalMoves(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES));
+    }
+    
+    /**/
+    /*
+    NAME
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+    SYNOPSIS
+        public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves);
+    
+        Board a_board ---> The chessboard which contains the current game.
         
-        // Add the contents of the directional ArrayLists to the main legal move ArrayList
-        this.m_currentLegalMoves.addAll(this.m_currentDownMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentUpMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentRightMoves);
-        this.m_currentLegalMoves.addAll(this.m_currentLeftMoves);
+        ArrayList<Move> a_moves -> The list the captures are added to.
+    
+    DESCRIPTION
+        This method adds the current legal captures to the list, one direction at a time.
+        Only the first piece in each direction can be captured.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void AddCurrentCaptures(final Board a_board, final ArrayList<Move> a_moves){
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.DOWN_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.UP_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.RIGHT_MOVES));
+        a_moves.addAll(MoveEvaluation.AddCurrentDirectionalCaptures(this, a_board, MoveEvaluation.LEFT_MOVES));
     }
     
     /**/
@@ -383,92 +366,92 @@ public final class Rook extends Piece{
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentDownMoves();
+        public final ArrayList<Move> GetCurrentDownMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentDownMoves();
+        public final ArrayList<Move> GetCurrentDownMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current down moves ArrayList.    
+        This method returns the current down moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentDownMoves: The current down moves.
+        ArrayList<Move>: The current down moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentDownMoves(){
-        return this.m_currentDownMoves;
+    public final ArrayList<Move> GetCurrentDownMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.DOWN_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentUpMoves();
+        public final ArrayList<Move> GetCurrentUpMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentUpMoves();
+        public final ArrayList<Move> GetCurrentUpMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current up moves ArrayList.    
+        This method returns the current up moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentUpMoves: The current up moves.
+        ArrayList<Move>: The current up moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentUpMoves(){
-        return this.m_currentUpMoves;
+    public final ArrayList<Move> GetCurrentUpMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.UP_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentRightMoves();
+        public final ArrayList<Move> GetCurrentRightMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentRightMoves();
+        public final ArrayList<Move> GetCurrentRightMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current right moves ArrayList.    
+        This method returns the current right moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentRightMoves: The current right moves.
+        ArrayList<Move>: The current right moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentRightMoves(){
-        return this.m_currentRightMoves;
+    public final ArrayList<Move> GetCurrentRightMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.RIGHT_MOVES);
     }
     
     /**/
     /*
     NAME
-        public final ArrayList<Move> GetCurrentLeftMoves();
+        public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board);
     
     SYNOPSIS
-        public final ArrayList<Move> GetCurrentLeftMoves();
+        public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board);
     
-        No parameters.
+        Board a_board ---> The chessboard which contains the current game.
     
     DESCRIPTION
-        This method returns the current left moves ArrayList.    
+        This method returns the current left moves on the board.
     
     RETURNS
-        ArrayList<Move> this.m_currentLeftMoves: The current left moves.
+        ArrayList<Move>: The current left moves.
     
     AUTHOR
         Ryan King
     */
-    public final ArrayList<Move> GetCurrentLeftMoves(){
-        return this.m_currentLeftMoves;
+    public final ArrayList<Move> GetCurrentLeftMoves(final Board a_board){
+        return MoveEvaluation.AddCurrentDirectionalMoves(this, a_board, MoveEvaluation.LEFT_MOVES);
     }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import com.DarkBlue.Utilities.Utilities;
 import com.DarkBlue.Utilities.ChessColor;
 import com.DarkBlue.Board.Board;
 import com.DarkBlue.Move.Move;
-import com.DarkBlue.GUI.DarkBlue;
 
 /**
  * This class represents a computer player. The computer player selects its move
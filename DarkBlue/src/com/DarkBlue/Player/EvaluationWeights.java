@@ -0,0 +1,694 @@
+package com.DarkBlue.Player;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds every number the minimax evaluation uses:
+ * the material value of each piece type and one positional table
+ * per piece type and color.
+ *
+ * The default weights are copied straight out of the arrays found in
+ * the Minimax interface, so an engine that never loads a weights file
+ * evaluates every board exactly the way it always has.
+ *
+ * Weights can be saved to and loaded from a plain text file.
+ * Every material value takes up one line, e.g. "PAWN_VALUE 10.0", and
+ * every table takes up a header line, e.g. "WHITE_PAWN_POSITIONS",
+ * followed by eight lines of eight numbers each. Blank lines and lines
+ * starting with '#' are ignored. This is the format the Texel tuner writes.
+ *
+ * Tables are indexed the same way Minimax.GetAbsoluteValue() indexes them
+ * so that a tuned table can be pasted back into the Minimax interface as is.
+ *
+ * Each piece type also has a mobility weight, e.g. "KNIGHT_MOBILITY 0.4",
+ * earned for every tile one of its pieces could move to, and a king zone weight,
+ * e.g. "QUEEN_KING_ZONE 2.5", earned for every such tile next to the enemy king.
+ * These are counted by Minimax.EvaluateLeaf() rather than looked up in a table,
+ * so they are not part of ToVector() and the Texel tuner leaves them as they are.
+ */
+public final class EvaluationWeights{
+
+    // Symbolic constants
+    public static final int PIECE_TYPES = PieceType.values().length;
+    public static final int COLORS = ChessColor.values().length;
+    public static final int TABLE_SIZE = Utilities.SIXTY_FOUR;
+
+    // The total number of individual weights in one set
+    public static final int SIZE = PIECE_TYPES + COLORS * PIECE_TYPES * TABLE_SIZE;
+
+    private static final String VALUE_SUFFIX = "_VALUE";
+    private static final String POSITIONS_SUFFIX = "_POSITIONS";
+    private static final String MOBILITY_SUFFIX = "_MOBILITY";
+    private static final String KING_ZONE_SUFFIX = "_KING_ZONE";
+    private static final char COMMENT = '#';
+
+    // The weights currently used by the engine
+    private static volatile EvaluationWeights m_active = GetDefault();
+
+    // Weights that searches on one thread use in place of the active ones, such as one side's in a self-play match,
+    // and whether any thread has ever had its own, so the engine only looks them up once one has
+    private static final ThreadLocal<EvaluationWeights> m_threadWeights = new ThreadLocal<>();
+    private static volatile boolean m_hasThreadWeights = false;
+
+    // Material values indexed by piece type
+    private final double[] m_material;
+
+    // Positional tables indexed by color, piece type, and finally the tile as [a_y][a_x]
+    private final double[][][][] m_positions;
+
+    // Mobility weights indexed by piece type
+    private final double[] m_mobility;
+
+    // King zone attack weights indexed by piece type
+    private final double[] m_kingZone;
+
+    /**/
+    /*
+    NAME
+        private EvaluationWeights();
+
+    SYNOPSIS
+        private EvaluationWeights();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates a set of weights where every value is 0.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private EvaluationWeights(){
+        this.m_material = new double[PIECE_TYPES];
+        this.m_positions = new double[COLORS][PIECE_TYPES][Utilities.EIGHT][Utilities.EIGHT];
+        this.m_mobility = new double[PIECE_TYPES];
+        this.m_kingZone = new double[PIECE_TYPES];
+    }
+
+    /**/
+    /*
+    NAME
+        public EvaluationWeights(final EvaluationWeights a_weights);
+
+    SYNOPSIS
+        public EvaluationWeights(final EvaluationWeights a_weights);
+
+        EvaluationWeights a_weights ------> The weights to be copied.
+
+    DESCRIPTION
+        This copy constructor creates a deep copy of a_weights.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EvaluationWeights(final EvaluationWeights a_weights){
+        this();
+        this.SetVector(a_weights.ToVector());
+        System.arraycopy(a_weights.m_mobility, Utilities.ZERO, this.m_mobility, Utilities.ZERO, PIECE_TYPES);
+        System.arraycopy(a_weights.m_kingZone, Utilities.ZERO, this.m_kingZone, Utilities.ZERO, PIECE_TYPES);
+    }
+
+    /**/
+    /*
+    NAME
+        public static EvaluationWeights GetDefault();
+
+    SYNOPSIS
+        public static EvaluationWeights GetDefault();
+
+        No parameters.
+
+    DESCRIPTION
+        This method builds the weights that are hard-coded into the Minimax interface.
+        Tables that are shared by both colors there, i.e. those for the queen and knight,
+        are copied once for each color here so they can be tuned independently.
+
+    RETURNS
+        EvaluationWeights: The default weights.
+
+    AUTHOR
+        Ryan King
+    */
+    public static EvaluationWeights GetDefault(){
+        final EvaluationWeights WEIGHTS = new EvaluationWeights();
+
+        WEIGHTS.m_material[PieceType.PAWN.ordinal()] = Minimax.PAWN_VALUE;
+        WEIGHTS.m_material[PieceType.ROOK.ordinal()] = Minimax.ROOK_VALUE;
+        WEIGHTS.m_material[PieceType.KNIGHT.ordinal()] = Minimax.BISHOP_OR_KNIGHT_VALUE;
+        WEIGHTS.m_material[PieceType.BISHOP.ordinal()] = Minimax.BISHOP_OR_KNIGHT_VALUE;
+        WEIGHTS.m_material[PieceType.QUEEN.ordinal()] = Minimax.QUEEN_VALUE;
+        WEIGHTS.m_material[PieceType.KING.ordinal()] = Minimax.KING_VALUE;
+
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.PAWN, Minimax.WHITE_PAWN_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.PAWN, Minimax.BLACK_PAWN_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.ROOK, Minimax.WHITE_ROOK_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.ROOK, Minimax.BLACK_ROOK_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.KNIGHT, Minimax.KNIGHT_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.KNIGHT, Minimax.KNIGHT_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.BISHOP, Minimax.WHITE_BISHOP_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.BISHOP, Minimax.BLACK_BISHOP_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.QUEEN, Minimax.QUEEN_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.QUEEN, Minimax.QUEEN_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.WHITE, PieceType.KING, Minimax.WHITE_KING_POSITIONS);
+        WEIGHTS.CopyTable(ChessColor.BLACK, PieceType.KING, Minimax.BLACK_KING_POSITIONS);
+
+        System.arraycopy(Minimax.MOBILITY_VALUES, Utilities.ZERO, WEIGHTS.m_mobility, Utilities.ZERO, PIECE_TYPES);
+        System.arraycopy(Minimax.KING_ZONE_VALUES, Utilities.ZERO, WEIGHTS.m_kingZone, Utilities.ZERO, PIECE_TYPES);
+
+        return WEIGHTS;
+    }
+
+    /**/
+    /*
+    NAME
+        private void CopyTable(final ChessColor a_color, final PieceType a_type, final double[][] a_table);
+
+    SYNOPSIS
+        private void CopyTable(final ChessColor a_color, final PieceType a_type, final double[][] a_table);
+
+        ChessColor a_color -------> The color the table belongs to.
+
+        PieceType a_type ---------> The piece type the table belongs to.
+
+        double[][] a_table -------> The table to copy.
+
+    DESCRIPTION
+        This method copies the first eight rows of a positional table from the Minimax interface.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void CopyTable(final ChessColor a_color, final PieceType a_type, final double[][] a_table){
+        for(int y = Utilities.ZERO; y < Utilities.EIGHT; y++){
+            System.arraycopy(a_table[y], Utilities.ZERO, this.m_positions[a_color.ordinal()][a_type.ordinal()][y], Utilities.ZERO, Utilities.EIGHT);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static EvaluationWeights GetActive();
+
+    SYNOPSIS
+        public static EvaluationWeights GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the weights the engine currently evaluates boards with
+        on the calling thread.
+
+    RETURNS
+        EvaluationWeights: The thread's own weights if it has any, and the active weights otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static EvaluationWeights GetActive(){
+        if(m_hasThreadWeights){
+            final EvaluationWeights THREAD_WEIGHTS = m_threadWeights.get();
+            if(THREAD_WEIGHTS != null){
+                return THREAD_WEIGHTS;
+            }
+        }
+
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetThreadWeights(final EvaluationWeights a_weights);
+
+    SYNOPSIS
+        public static void SetThreadWeights(final EvaluationWeights a_weights);
+
+        EvaluationWeights a_weights ------> The weights for the calling thread, or null to use the active weights again.
+
+    DESCRIPTION
+        This method changes the weights the engine evaluates boards with on the calling thread only,
+        so that searches with different weights can run side by side.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetThreadWeights(final EvaluationWeights a_weights){
+        if(a_weights == null){
+            m_threadWeights.remove();
+            return;
+        }
+
+        m_threadWeights.set(a_weights);
+        m_hasThreadWeights = true;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final EvaluationWeights a_weights);
+
+    SYNOPSIS
+        public static void SetActive(final EvaluationWeights a_weights);
+
+        EvaluationWeights a_weights ------> The new weights, or null to restore the defaults.
+
+    DESCRIPTION
+        This method changes the weights the engine evaluates boards with.
+        Searches already in progress may see either set of weights.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetActive(final EvaluationWeights a_weights){
+        m_active = (a_weights == null ? GetDefault() : a_weights);
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetValue(final Piece a_piece, final int a_x, final int a_y);
+
+    SYNOPSIS
+        public final double GetValue(final Piece a_piece, final int a_x, final int a_y);
+
+        Piece a_piece --------------> The piece to evaluate.
+
+        int a_x --------------------> The first coordinate passed into Minimax.GetAbsoluteValue().
+
+        int a_y --------------------> The second coordinate passed into Minimax.GetAbsoluteValue().
+
+    DESCRIPTION
+        This method returns the material value of the piece plus the
+        value its positional table gives it, read as table[a_y][a_x].
+
+    RETURNS
+        double: The absolute value of the piece on its tile.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetValue(final Piece a_piece, final int a_x, final int a_y){
+        final int TYPE = a_piece.GetPieceType().ordinal();
+        return this.m_material[TYPE] + this.m_positions[a_piece.GetColor().ordinal()][TYPE][a_y][a_x];
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetMobility(final PieceType a_type);
+
+    SYNOPSIS
+        public final double GetMobility(final PieceType a_type);
+
+        PieceType a_type ---------> The type of the piece that has the moves.
+
+    DESCRIPTION
+        This method returns what one tile a piece of the given type could move to is worth.
+
+    RETURNS
+        double: The mobility weight of the piece type.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetMobility(final PieceType a_type){
+        return this.m_mobility[a_type.ordinal()];
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetKingZone(final PieceType a_type);
+
+    SYNOPSIS
+        public final double GetKingZone(final PieceType a_type);
+
+        PieceType a_type ---------> The type of the attacking piece.
+
+    DESCRIPTION
+        This method returns what one tile next to the enemy king
+        that a piece of the given type could move to is worth.
+
+    RETURNS
+        double: The king zone weight of the piece type.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetKingZone(final PieceType a_type){
+        return this.m_kingZone[a_type.ordinal()];
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean HasActivityTerms();
+
+    SYNOPSIS
+        public final boolean HasActivityTerms();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if any mobility or king zone weight is nonzero,
+        which lets the evaluation skip looking at move lists altogether otherwise.
+
+    RETURNS
+        boolean: True if the evaluation needs to count moves, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean HasActivityTerms(){
+        for(int i = Utilities.ZERO; i < PIECE_TYPES; i++){
+            if(this.m_mobility[i] != Utilities.ZERO || this.m_kingZone[i] != Utilities.ZERO){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        public final EvaluationWeights WithoutActivityTerms();
+
+    SYNOPSIS
+        public final EvaluationWeights WithoutActivityTerms();
+
+        No parameters.
+
+    DESCRIPTION
+        This method copies these weights with every mobility and king zone weight set to 0.
+
+    RETURNS
+        EvaluationWeights WEIGHTS: The copy, which evaluates with material and tables only.
+
+    AUTHOR
+        Ryan King
+    */
+    public final EvaluationWeights WithoutActivityTerms(){
+        final EvaluationWeights WEIGHTS = new EvaluationWeights(this);
+        Arrays.fill(WEIGHTS.m_mobility, Utilities.ZERO);
+        Arrays.fill(WEIGHTS.m_kingZone, Utilities.ZERO);
+        return WEIGHTS;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int MaterialIndex(final PieceType a_type);
+
+    SYNOPSIS
+        public static int MaterialIndex(final PieceType a_type);
+
+        PieceType a_type ---------> The piece type.
+
+    DESCRIPTION
+        This method returns where the material value of the
+        given piece type lives inside the flat weight vector.
+
+    RETURNS
+        int: The index of the material value.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int MaterialIndex(final PieceType a_type){
+        return a_type.ordinal();
+    }
+
+    /**/
+    /*
+    NAME
+        public static int PositionIndex(final ChessColor a_color, final PieceType a_type, final int a_x, final int a_y);
+
+    SYNOPSIS
+        public static int PositionIndex(final ChessColor a_color, final PieceType a_type, final int a_x, final int a_y);
+
+        ChessColor a_color -------> The piece's color.
+
+        PieceType a_type ---------> The piece's type.
+
+        int a_x ------------------> The first coordinate passed into Minimax.GetAbsoluteValue().
+
+        int a_y ------------------> The second coordinate passed into Minimax.GetAbsoluteValue().
+
+    DESCRIPTION
+        This method returns where the positional value of the given
+        piece on the given tile lives inside the flat weight vector.
+
+    RETURNS
+        int: The index of the positional value.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int PositionIndex(final ChessColor a_color, final PieceType a_type, final int a_x, final int a_y){
+        return PIECE_TYPES + (a_color.ordinal() * PIECE_TYPES + a_type.ordinal()) * TABLE_SIZE + a_y * Utilities.EIGHT + a_x;
+    }
+
+    /**/
+    /*
+    NAME
+        public final double[] ToVector();
+
+    SYNOPSIS
+        public final double[] ToVector();
+
+        No parameters.
+
+    DESCRIPTION
+        This method flattens every weight into one array
+        laid out according to MaterialIndex() and PositionIndex().
+
+    RETURNS
+        double[] VECTOR: The flattened weights.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double[] ToVector(){
+        final double[] VECTOR = new double[SIZE];
+        System.arraycopy(this.m_material, Utilities.ZERO, VECTOR, Utilities.ZERO, PIECE_TYPES);
+        for(final ChessColor COLOR : ChessColor.values()){
+            for(final PieceType TYPE : PieceType.values()){
+                for(int y = Utilities.ZERO; y < Utilities.EIGHT; y++){
+                    System.arraycopy(this.m_positions[COLOR.ordinal()][TYPE.ordinal()][y], Utilities.ZERO, VECTOR, PositionIndex(COLOR, TYPE, Utilities.ZERO, y), Utilities.EIGHT);
+                }
+            }
+        }
+        return VECTOR;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetVector(final double[] a_vector);
+
+    SYNOPSIS
+        public final void SetVector(final double[] a_vector);
+
+        double[] a_vector --------> The flattened weights.
+
+    DESCRIPTION
+        This method replaces every weight with the ones found in a flattened array.
+        It is the inverse of ToVector().
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetVector(final double[] a_vector){
+        if(a_vector == null || a_vector.length != SIZE){
+            throw new IllegalArgumentException("Expected " + SIZE + " weights");
+        }
+        System.arraycopy(a_vector, Utilities.ZERO, this.m_material, Utilities.ZERO, PIECE_TYPES);
+        for(final ChessColor COLOR : ChessColor.values()){
+            for(final PieceType TYPE : PieceType.values()){
+                for(int y = Utilities.ZERO; y < Utilities.EIGHT; y++){
+                    System.arraycopy(a_vector, PositionIndex(COLOR, TYPE, Utilities.ZERO, y), this.m_positions[COLOR.ordinal()][TYPE.ordinal()][y], Utilities.ZERO, Utilities.EIGHT);
+                }
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static EvaluationWeights Load(final Path a_path) throws IOException;
+
+    SYNOPSIS
+        public static EvaluationWeights Load(final Path a_path) throws IOException;
+
+        Path a_path --------------> The weights file to read.
+
+    DESCRIPTION
+        This method reads a weights file in the format described above.
+        Any value the file leaves out keeps its default.
+        An IOException is thrown if the file cannot be read or has a malformed line.
+
+    RETURNS
+        EvaluationWeights: The weights found in the file.
+
+    AUTHOR
+        Ryan King
+    */
+    public static EvaluationWeights Load(final Path a_path) throws IOException{
+        final EvaluationWeights WEIGHTS = GetDefault();
+
+        try(final BufferedReader READER = Files.newBufferedReader(a_path, StandardCharsets.UTF_8)){
+            String line;
+            int lineNumber = Utilities.ZERO;
+            while((line = READER.readLine()) != null){
+                lineNumber++;
+                line = line.trim();
+
+                // Skip over comments and blank lines
+                if(line.isEmpty() || line.charAt(Utilities.ZERO) == COMMENT){
+                    continue;
+                }
+
+                final String[] PARTS = line.split("\\s+");
+
+                try{
+                    if(PARTS[Utilities.ZERO].endsWith(VALUE_SUFFIX) && PARTS.length == Utilities.TWO){
+                        // This is a material value, e.g. "QUEEN_VALUE 90.0"
+                        final PieceType TYPE = PieceType.valueOf(PARTS[Utilities.ZERO].substring(Utilities.ZERO, PARTS[Utilities.ZERO].length() - VALUE_SUFFIX.length()));
+                        WEIGHTS.m_material[TYPE.ordinal()] = Double.parseDouble(PARTS[Utilities.ONE]);
+                    }else if(PARTS[Utilities.ZERO].endsWith(MOBILITY_SUFFIX) && PARTS.length == Utilities.TWO){
+                        // This is a mobility weight, e.g. "KNIGHT_MOBILITY 0.4"
+                        final PieceType TYPE = PieceType.valueOf(PARTS[Utilities.ZERO].substring(Utilities.ZERO, PARTS[Utilities.ZERO].length() - MOBILITY_SUFFIX.length()));
+                        WEIGHTS.m_mobility[TYPE.ordinal()] = Double.parseDouble(PARTS[Utilities.ONE]);
+                    }else if(PARTS[Utilities.ZERO].endsWith(KING_ZONE_SUFFIX) && PARTS.length == Utilities.TWO){
+                        // This is a king zone weight, e.g. "QUEEN_KING_ZONE 2.5"
+                        final PieceType TYPE = PieceType.valueOf(PARTS[Utilities.ZERO].substring(Utilities.ZERO, PARTS[Utilities.ZERO].length() - KING_ZONE_SUFFIX.length()));
+                        WEIGHTS.m_kingZone[TYPE.ordinal()] = Double.parseDouble(PARTS[Utilities.ONE]);
+                    }else if(PARTS[Utilities.ZERO].endsWith(POSITIONS_SUFFIX) && PARTS.length == Utilities.ONE){
+                        // This is a table header, e.g. "WHITE_KNIGHT_POSITIONS", followed by eight rows
+                        final String[] NAME = PARTS[Utilities.ZERO].split("_");
+                        final ChessColor COLOR = ChessColor.valueOf(NAME[Utilities.ZERO]);
+                        final PieceType TYPE = PieceType.valueOf(NAME[Utilities.ONE]);
+
+                        for(int y = Utilities.ZERO; y < Utilities.EIGHT; y++){
+                            final String ROW = READER.readLine();
+                            lineNumber++;
+                            if(ROW == null){
+                                throw new IOException("Unexpected end of file in " + a_path + " at line " + lineNumber);
+                            }
+                            final String[] CELLS = ROW.trim().split("\\s+");
+                            if(CELLS.length != Utilities.EIGHT){
+                                throw new IOException("Expected eight values in " + a_path + " at line " + lineNumber);
+                            }
+                            for(int x = Utilities.ZERO; x < Utilities.EIGHT; x++){
+                                WEIGHTS.m_positions[COLOR.ordinal()][TYPE.ordinal()][y][x] = Double.parseDouble(CELLS[x]);
+                            }
+                        }
+                    }else{
+                        throw new IOException("Unrecognized entry in " + a_path + " at line " + lineNumber);
+                    }
+                }catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+                    throw new IOException("Malformed entry in " + a_path + " at line " + lineNumber, e);
+                }
+            }
+        }
+
+        return WEIGHTS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Save(final Path a_path, final String a_comment) throws IOException;
+
+    SYNOPSIS
+        public final void Save(final Path a_path, final String a_comment) throws IOException;
+
+        Path a_path --------------> The weights file to write.
+
+        String a_comment ---------> A comment to write at the top of the file, or null for none.
+
+    DESCRIPTION
+        This method writes every weight to a file in the format described above.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Save(final Path a_path, final String a_comment) throws IOException{
+        try(final BufferedWriter WRITER = Files.newBufferedWriter(a_path, StandardCharsets.UTF_8)){
+            if(a_comment != null){
+                WRITER.write(COMMENT + " " + a_comment);
+                WRITER.newLine();
+            }
+
+            // Write the material values first
+            for(final PieceType TYPE : PieceType.values()){
+                WRITER.write(TYPE.name() + VALUE_SUFFIX + " " + this.m_material[TYPE.ordinal()]);
+                WRITER.newLine();
+            }
+
+            // Then the mobility and king zone weights
+            WRITER.newLine();
+            for(final PieceType TYPE : PieceType.values()){
+                WRITER.write(TYPE.name() + MOBILITY_SUFFIX + " " + this.m_mobility[TYPE.ordinal()]);
+                WRITER.newLine();
+            }
+            for(final PieceType TYPE : PieceType.values()){
+                WRITER.write(TYPE.name() + KING_ZONE_SUFFIX + " " + this.m_kingZone[TYPE.ordinal()]);
+                WRITER.newLine();
+            }
+
+            // Write every table afterward
+            for(final ChessColor COLOR : ChessColor.values()){
+                for(final PieceType TYPE : PieceType.values()){
+                    WRITER.newLine();
+                    WRITER.write(COLOR.name() + "_" + TYPE.name() + POSITIONS_SUFFIX);
+                    WRITER.newLine();
+                    for(int y = Utilities.ZERO; y < Utilities.EIGHT; y++){
+                        final StringBuilder ROW = new StringBuilder();
+                        for(int x = Utilities.ZERO; x < Utilities.EIGHT; x++){
+                            if(x > Utilities.ZERO){
+                                ROW.append(Utilities.SPACE);
+                            }
+                            ROW.append(String.format(Locale.ROOT, "%.2f", this.m_positions[COLOR.ordinal()][TYPE.ordinal()][y][x]));
+                        }
+                        WRITER.write(ROW.toString());
+                        WRITER.newLine();
+                    }
+                }
+            }
+        }
+    }
+}
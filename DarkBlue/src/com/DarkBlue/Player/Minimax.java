@@ -1,22 +1,38 @@
 package com.DarkBlue.Player;
 
 import com.DarkBlue.Board.Board;
-import com.DarkBlue.GUI.DarkBlue;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Book.PolyglotBook;
 import com.DarkBlue.Utilities.BoardUtilities;
 import com.DarkBlue.Utilities.ChessColor;
 import com.DarkBlue.Utilities.Factory;
+import com.DarkBlue.Utilities.GameUtilities;
 import com.DarkBlue.Utilities.MoveEvaluation;
 import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Zobrist;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Move.IntMoveList;
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Move.RegularMove;
+import com.DarkBlue.Piece.King;
 import com.DarkBlue.Piece.Pawn;
 import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
 import com.DarkBlue.Move.AttackingMove;
 import com.DarkBlue.Move.CastlingMove;
 import com.DarkBlue.Move.EnPassantMove;
+import com.DarkBlue.NNUE.AccumulatorStack;
+import com.DarkBlue.NNUE.Network;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Tablebase.EndgameTable;
+import com.DarkBlue.Tablebase.Tablebases;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 
 /**
  * This interface is the bread and butter of the computer player.
@@ -35,7 +51,7 @@ import java.util.LinkedHashSet;
  * lower and upper bounds that can be checked in order to get rid of irrelevant
  * moves that will not change the state of the board much from what has already been discovered.
  * 
- * All moves are sorted when they are taken from each player. Sorted order is as follows:
+ * The moves of the root are sorted when they are taken from the player. Sorted order is as follows:
  * 
  * 1. Moves that put the opponent into checkmate
  * 2. Moves that put the opponent into check
@@ -43,6 +59,10 @@ import java.util.LinkedHashSet;
  * 4. Regular moves
  * 5. En passant moves
  * 
+ * Below the root, where most boards are cut off after a move or two, a MovePicker hands
+ * out the moves in stages instead: the move from the transposition table, captures,
+ * killer moves, and then the rest, so moves past a cutoff are never sorted or found.
+ * 
  * Help taken from the simple chess AI guide by Lauri Hartikka at JSFiddle.
  * Specific links are located here and in the bibliography.
  */
@@ -55,6 +75,37 @@ public interface Minimax{
 	public static final double QUEEN_VALUE = 90;
 	public static final double KING_VALUE = 900;
 	
+	// What a won endgame table position is worth, minus one for every ply until mate
+	public static final double TABLEBASE_WIN = KING_VALUE * Utilities.TEN;
+	
+	// Mobility and king zone weights indexed by PieceType, i.e. pawn, rook, knight, bishop, queen, king
+	public static final double[] MOBILITY_VALUES = {0, 0.2, 0.4, 0.3, 0.1, 0};
+	public static final double[] KING_ZONE_VALUES = {0.5, 1.5, 1, 1, 2.5, 0};
+	
+	// The number of boards Recurse() has visited, which benchmarks read to find nodes per second
+	public static final LongAdder NODES = new LongAdder();
+	
+	// The number of boards Recurse() has visited on this thread, for tools that search many positions at once
+	public static final ThreadLocal<long[]> THREAD_NODES = ThreadLocal.withInitial(() -> new long[Utilities.ONE]);
+	
+	// The game's positions followed by those on the line currently being searched, one history per searching thread
+	public static final ThreadLocal<PositionHistory> SEARCH_HISTORY = ThreadLocal.withInitial(PositionHistory::new);
+	
+	// The flag that stops the search, one per searching thread, though threads searching together may share one
+	public static final ThreadLocal<AtomicBoolean> STOP = ThreadLocal.withInitial(AtomicBoolean::new);
+	
+	// The value of the move MinimaxRoot() last returned on this thread, from the point of view of the player it searched for
+	public static final ThreadLocal<Double> ROOT_VALUE = new ThreadLocal<>();
+	
+	// The ordered moves of every depth being searched on this thread, indexed by the depth left and refilled for every board
+	public static final ThreadLocal<IntMoveList[]> MOVE_LISTS = ThreadLocal.withInitial(() -> new IntMoveList[Utilities.ZERO]);
+	
+	// The move pickers of every depth below the root on this thread, indexed by the depth left, which keep their killers between boards
+	public static final ThreadLocal<MovePicker[]> MOVE_PICKERS = ThreadLocal.withInitial(() -> new MovePicker[Utilities.ZERO]);
+	
+	// The pieces EvaluateLeaf() finds while it sweeps the board on this thread, whose activity it counts once both kings are found
+	public static final ThreadLocal<Piece[]> LEAF_PIECES = ThreadLocal.withInitial(() -> new Piece[Utilities.SIXTY_FOUR]);
+	
 	// Minimax evaluation arrays for all pieces
     // Source for all arrays: https://jsfiddle.net/q76uzxwe/1/
     public static final double[][] WHITE_KING_POSITIONS = {
@@ -170,6 +221,73 @@ public interface Minimax{
 
 	/**/
     /*
+    NAME
+        public static Move MinimaxRoot(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final boolean a_isMaximizer, final ChessColor a_callerColor, final PositionHistory a_history);
+    
+    SYNOPSIS
+        public static Move MinimaxRoot(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final boolean a_isMaximizer, final ChessColor a_callerColor, final PositionHistory a_history);
+    
+    	int a_depth --------------> The AI search depth.
+    
+        Board a_board ------------> The board to evaluate.
+        
+        Player a_white -----------> The white player.
+        
+        Player a_black -----------> The black player.
+        
+        boolean a_isMaximizer ----> If the computer player is the maximizing player.
+        
+        ChessColor a_callerColor -> The color of the player the search is for.
+        
+        PositionHistory a_history -> The positions of the game so far, or null if they are unknown.
+       
+    DESCRIPTION
+        This method searches for the best possible move the same way the method below does,
+        but also scores any line that repeats a position of the game or of the line itself as a draw.
+        If an opening book is active and has a move for the board, that move is played without searching,
+        and the same goes for the active endgame tables.
+        The history passed in is copied and never changed.
+
+    RETURNS
+        Move: The computer's best possible move.
+    
+    AUTHOR
+        Ryan King
+    */
+	public static Move MinimaxRoot(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final boolean a_isMaximizer, final ChessColor a_callerColor, final PositionHistory a_history){
+		// Play straight from the opening book when it knows the position
+		final PolyglotBook BOOK = PolyglotBook.GetActive();
+		if(BOOK != null){
+			final Move BOOK_MOVE = BOOK.Choose(a_board, (a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black));
+			if(BOOK_MOVE != null){
+				return BOOK_MOVE;
+			}
+		}
+		
+		// Play straight from the endgame tables when every move leads to a position they know
+		final Tablebases TABLEBASES = Tablebases.GetActive();
+		if(TABLEBASES != null){
+			final Move TABLEBASE_MOVE = TABLEBASES.Choose(a_board, (a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black));
+			if(TABLEBASE_MOVE != null){
+				return TABLEBASE_MOVE;
+			}
+		}
+		
+		final PositionHistory HISTORY = (a_history == null ? new PositionHistory() : new PositionHistory(a_history));
+		
+		// Make sure the board being searched is the newest position in the history
+		final long KEY = Zobrist.Hash(a_board);
+		if(HISTORY.Size() == Utilities.ZERO || HISTORY.Peek() != KEY){
+			HISTORY.Push(KEY, a_board.GetHalfmoves());
+		}
+		
+		SEARCH_HISTORY.set(HISTORY);
+		
+		return MinimaxRoot(a_depth, a_board, a_white, a_black, a_isMaximizer, a_callerColor);
+	}
+	
+	/**/
+    /*
     NAME
         public static Move MinimaxRoot(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final boolean a_isMaximizer);
     
@@ -190,6 +308,7 @@ public interface Minimax{
         This method searches for the best possible move out of the pool of possible moves for the computer player.
         It maximizes and minimizes the board recursively depending on who's moving.
         If a move is found that places the opponent's king in checkmate, it will break out immediately and return that move.
+        If the search is stopped, the best move among those searched in full is returned, which is null if there were none.
 
     RETURNS
         Move bestMove: The computer's best possible move.
@@ -201,17 +320,44 @@ public interface Minimax{
 	public static Move MinimaxRoot(final int a_depth, final Board a_board, final Player a_white, final Player a_black, final boolean a_isMaximizer, final ChessColor a_callerColor){
 		// bestMove will hold the best move found by the board evaluation
 		Move bestMove = null;
+		
+		// Searches started without a history only know about the board itself
+		final PositionHistory HISTORY = SEARCH_HISTORY.get();
+		if(HISTORY.Size() == Utilities.ZERO || HISTORY.Peek() != Zobrist.Hash(a_board)){
+			HISTORY.Clear();
+			HISTORY.Push(Zobrist.Hash(a_board), a_board.GetHalfmoves());
+		}
+		final int MARK = HISTORY.Size();
+		
+		// Killers from another search are from boards that are nowhere near this one
+		for(final MovePicker PICKER : MOVE_PICKERS.get()){
+			if(PICKER != null){
+				PICKER.ClearKillers();
+			}
+		}
+
+		// Count the root and time the depth when statistics are being kept
+		final SearchStatistics STATISTICS = SearchStatistics.GetActive();
+		if(STATISTICS != null){
+			STATISTICS.Root(a_depth);
+		}
 
 		// Order the moves so the best ones come first (e.g. checkmate, check, attacks, castling, etc.)
-		final ArrayList<Move> MOVES = Minimax.Sort((a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black));
+		final IntMoveList MOVES = Minimax.Order((a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black), MovesAt(a_depth));
 		
 		// Set default values for our variables
 		double currentValue = Utilities.ZERO;
 		double bestValue = Integer.MIN_VALUE;
 		
-		for(final Move MOVE : MOVES){
+		for(int index = Utilities.ZERO; index < MOVES.Size(); index++){
+			final int MOVE = MOVES.Get(index);
+			
 			// This will hold the board after the move has been made
-			final Board RESULT = MOVE.GetTransitionalBoard();
+			final Board RESULT = a_board.Transition(MOVE);
+			
+			// Keep the network's accumulators and the position history in step with the search
+			AccumulatorStack.Track(a_depth, a_board, MOVE, RESULT);
+			Remember(MARK, RESULT);
 			
 			// These new players will be evaluated independently of the ones passed in
 			final Player WHITE = new Human(ChessColor.WHITE, RESULT);
@@ -222,19 +368,30 @@ public interface Minimax{
 			
 			// Recursively search for the best value
 			currentValue = Recurse(a_depth - Utilities.ONE, RESULT, WHITE, BLACK, Integer.MIN_VALUE, Integer.MAX_VALUE, !a_isMaximizer, a_callerColor);
+			
+			// The value of a move whose search was stopped means nothing
+			if(STOP.get().get()){
+				break;
+			}
 
 			// Update the value if the next one found is better; update the move accordingly
 			if(currentValue >= bestValue){
 				bestValue = currentValue;
-				bestMove = MOVE;
+				bestMove = IntMove.ToMove(MOVE, a_board);
 				
 				// Stop evaluating if the move places the opponent into checkmate
 				if(bestMove.PlacesOpponentIntoCheckmate()){
-					return bestMove;
+					break;
 				}
 			}
 		}
-				
+		
+		ROOT_VALUE.set(bestValue);
+		
+		if(STATISTICS != null){
+			STATISTICS.Iteration(a_depth);
+		}
+		
 		return bestMove;		
 	}
 	
@@ -264,6 +421,9 @@ public interface Minimax{
         This method searches for the best possible board value from the pool of possible moves for the computer player.
         It maximizes and minimizes the board recursively depending on who's moving.
         This uses alpha-beta pruning, so moves that are determined to give a value lower than alpha or higher than beta will be ignored.
+        If a transposition table is active, boards it already knows well enough are not searched again,
+        and the move it found best on the others is searched first.
+        If search statistics are active, everything it does is counted in them.
 
     RETURNS
         double bestValue: The best board evaluation found.
@@ -273,13 +433,117 @@ public interface Minimax{
         Modifications written specifically for this engine by Ryan King.
     */
 	public static double Recurse(final int a_depth, final Board a_board, final Player a_white, final Player a_black, double a_alpha, double a_beta, final boolean a_isMaximizer, final ChessColor a_callerColor){
+		NODES.increment();
+		THREAD_NODES.get()[Utilities.ZERO]++;
+		
+		final SearchStatistics STATISTICS = SearchStatistics.GetActive();
+		if(STATISTICS != null){
+			STATISTICS.Node(a_depth);
+		}
+		
+		// A stopped search unwinds as quickly as it can; its caller throws away whatever it returns
+		if(STOP.get().get()){
+			return Utilities.ZERO;
+		}
+		
+		// A position that already occurred is a draw, since neither side could do better by repeating it,
+		// and so are positions past the fifty-move rule and those nobody can checkmate from
+		final PositionHistory HISTORY = SEARCH_HISTORY.get();
+		if(HISTORY.IsRepetition() || GameUtilities.IsDrawByFiftyMoveRule(a_board.GetHalfmoves()) || GameUtilities.IsDrawByInsufficientMaterial(GameUtilities.MaterialSignature(a_board))){
+			return Utilities.ZERO;
+		}
+		
+		// The endgame tables know the outcome of small enough positions exactly
+		final Tablebases TABLEBASES = Tablebases.GetActive();
+		if(TABLEBASES != null && a_board.PieceCount() <= TABLEBASES.GetProbeLimit()){
+			final int VALUE = TABLEBASES.Probe(a_board);
+			if(VALUE != Tablebases.NOT_FOUND){
+				return TablebaseScore(VALUE, a_board.WhoseTurnIsIt(), a_callerColor);
+			}
+		}
+		
 		// Base case: The search depth is as deep as it can go
 		if(a_depth == Utilities.ZERO){
-		    return -Evaluate(a_board, a_callerColor);
+			if(STATISTICS != null){
+				STATISTICS.Leaf();
+			}
+		    return -EvaluateLeaf(a_board, a_callerColor);
+		}
+		
+		// A board already searched at least this deep may not need searching again
+		final TranspositionTable TABLE = TranspositionTable.GetActive();
+		if(TABLE == null){
+			return Expand(a_depth, a_board, a_white, a_black, a_alpha, a_beta, a_isMaximizer, a_callerColor, IntMove.NONE);
+		}
+		
+		final long KEY = TranspositionTable.Key(a_board, a_callerColor);
+		final double STORED = TABLE.Probe(KEY, a_depth, a_alpha, a_beta);
+		if(STATISTICS != null){
+			STATISTICS.Probe(!Double.isNaN(STORED));
+		}
+		if(!Double.isNaN(STORED)){
+			return STORED;
 		}
+		
+		// Whatever was stored, the move found best last time is the one to try first
+		final double VALUE = Expand(a_depth, a_board, a_white, a_black, a_alpha, a_beta, a_isMaximizer, a_callerColor, TABLE.ProbeMove(KEY));
+		
+		// A stopped search returns made-up values that must not be remembered
+		if(!STOP.get().get()){
+			TABLE.Store(KEY, a_depth, VALUE, a_alpha, a_beta, PickerAt(a_depth).GetBest());
+		}
+		
+		return VALUE;
+	}
+	
+	/**/
+    /*
+    NAME
+        private static double Expand(final int a_depth, final Board a_board, final Player a_white, final Player a_black, double a_alpha, double a_beta, final boolean a_isMaximizer, final ChessColor a_callerColor, final int a_hashMove);
+    
+    SYNOPSIS
+        private static double Expand(final int a_depth, final Board a_board, final Player a_white, final Player a_black, double a_alpha, double a_beta, final boolean a_isMaximizer, final ChessColor a_callerColor, final int a_hashMove);
+    
+    	int a_depth --------------> The AI search depth, which is more than zero.
+    
+        Board a_board ------------> The board to evaluate.
+        
+        Player a_white -----------> The white player.
+        
+        Player a_black -----------> The black player.
+        
+        double a_alpha -----------> The best value for the maximizer.
+        
+        double a_beta ------------> The best value for the minimizer.
+        
+        boolean a_isMaximizer ----> If the player is the maximizing player.
+        
+        ChessColor a_callerColor -> The color of the player the search is for.
+        
+        int a_hashMove -----------> The move the transposition table found best, or IntMove.NONE.
+       
+    DESCRIPTION
+        This method searches every move of a board for Recurse(),
+        once it has found that the board cannot be scored without searching.
+        The moves come from the depth's MovePicker, which is told about the
+        move that raises the best value and about quiet moves that cause cutoffs.
 
-		// This will hold the current player's moves
-		final ArrayList<Move> MOVES = Minimax.Sort((a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black));
+    RETURNS
+        double bestValue: The best board evaluation found.
+    
+    AUTHOR
+    	Lauri Hartikka, A step-by-step guide to building a simple chess AI, https://jsfiddle.net/q76uzxwe/1/
+        Modifications written specifically for this engine by Ryan King.
+    */
+	private static double Expand(final int a_depth, final Board a_board, final Player a_white, final Player a_black, double a_alpha, double a_beta, final boolean a_isMaximizer, final ChessColor a_callerColor, final int a_hashMove){
+		final int MARK = SEARCH_HISTORY.get().Size();
+		
+		// This will hand out the current player's moves a stage at a time, from a picker no deeper board uses
+		final MovePicker PICKER = PickerAt(a_depth);
+		PICKER.Begin(a_board, (a_board.WhoseTurnIsIt().IsWhite() ? a_white : a_black), a_hashMove);
+		
+		// Where the move being searched came in the picker's order
+		int index = Utilities.NEGATIVE_ONE;
 		
 		// bestValue will hold the current best board evaluation
 		double bestValue;
@@ -288,9 +552,16 @@ public interface Minimax{
 			// All values found will be higher than this
 			bestValue = a_alpha;
 			
-			for(final Move MOVE : MOVES){
+			for(int move = PICKER.Next(); move != IntMove.NONE; move = PICKER.Next()){
+				final int MOVE = move;
+				index++;
+				
 				// Make a deep copy of the board with the move made on it
-				final Board RESULT = MOVE.GetTransitionalBoard();
+				final Board RESULT = a_board.Transition(MOVE);
+				
+				// Keep the network's accumulators and the position history in step with the search
+				AccumulatorStack.Track(a_depth, a_board, MOVE, RESULT);
+				Remember(MARK, RESULT);
 				
 				// Initialize temporary players to determine evaluations on this board
 				final Player WHITE = new Human(ChessColor.WHITE, RESULT);
@@ -308,7 +579,11 @@ public interface Minimax{
 				// Evaluate the move as normal if no promotion can be made
 				if(PROMOTED_PAWN == null){
 					// Find the highest value recursively
-					bestValue = Math.max(bestValue, Recurse(a_depth - Utilities.ONE, RESULT, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor));
+					final double VALUE = Recurse(a_depth - Utilities.ONE, RESULT, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor);
+					if(VALUE > bestValue){
+						bestValue = VALUE;
+						PICKER.SetBest(MOVE);
+					}
 				
 					// Keep track of the boundaries
 					a_alpha = Math.max(a_alpha, bestValue);
@@ -316,24 +591,29 @@ public interface Minimax{
 					// Change the pawn to a promoted piece and then continue evaluating
 					for(int i = Utilities.ZERO; i < Utilities.FOUR; i++){
 						final Board PROMOTION = PROMOTED_PAWN.Promote(RESULT, i);
+						Remember(MARK, PROMOTION);
 						
 						WHITE.Refresh(PROMOTION);
 						BLACK.Refresh(PROMOTION);
 						
 						// Find the highest value recursively
-						bestValue = Math.max(bestValue, Recurse(a_depth - Utilities.ONE, PROMOTION, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor));
+						final double VALUE = Recurse(a_depth - Utilities.ONE, PROMOTION, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor);
+						if(VALUE > bestValue){
+							bestValue = VALUE;
+							PICKER.SetBest(MOVE);
+						}
 					
 						// Keep track of the boundaries
 						a_alpha = Math.max(a_alpha, bestValue);
 						
 						if(a_beta <= a_alpha){
-							return bestValue;
+							return Cutoff(PICKER, MOVE, index, bestValue);
 						}
 					}
 				}
 				// Discontinue evaluating if the lower bound is worse
 				if(a_beta <= a_alpha){
-					return bestValue;
+					return Cutoff(PICKER, MOVE, index, bestValue);
 				}
 			}
 			
@@ -342,9 +622,16 @@ public interface Minimax{
 			// All values found will be lower than this
 			bestValue = a_beta;
 			
-			for(final Move MOVE : MOVES){
+			for(int move = PICKER.Next(); move != IntMove.NONE; move = PICKER.Next()){
+				final int MOVE = move;
+				index++;
+				
 				// Make a deep copy of the board with the move made on it
-				final Board RESULT = MOVE.GetTransitionalBoard();
+				final Board RESULT = a_board.Transition(MOVE);
+				
+				// Keep the network's accumulators and the position history in step with the search
+				AccumulatorStack.Track(a_depth, a_board, MOVE, RESULT);
+				Remember(MARK, RESULT);
 				
 				// Initialize temporary players to determine evaluations on this board
 				final Player WHITE = new Human(ChessColor.WHITE, RESULT);
@@ -362,7 +649,11 @@ public interface Minimax{
 				// Evaluate the move as normal if no promotion can be made
 				if(PROMOTED_PAWN == null){
 					// Find the lowest value recursively
-					bestValue = Math.min(bestValue, Recurse(a_depth - Utilities.ONE, RESULT, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor));
+					final double VALUE = Recurse(a_depth - Utilities.ONE, RESULT, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor);
+					if(VALUE < bestValue){
+						bestValue = VALUE;
+						PICKER.SetBest(MOVE);
+					}
 				
 					// Keep track of the boundaries
 					a_beta = Math.min(a_beta, bestValue);
@@ -370,25 +661,30 @@ public interface Minimax{
 					// Change the pawn to a promoted piece and then continue evaluating
 					for(int i = Utilities.ZERO; i < Utilities.FOUR; i++){
 						final Board PROMOTION = PROMOTED_PAWN.Promote(RESULT, i);
+						Remember(MARK, PROMOTION);
 						
 						WHITE.Refresh(PROMOTION);
 						BLACK.Refresh(PROMOTION);
 						
 						// Find the lowest value recursively
-						bestValue = Math.min(bestValue, Recurse(a_depth - Utilities.ONE, PROMOTION, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor));
+						final double VALUE = Recurse(a_depth - Utilities.ONE, PROMOTION, WHITE, BLACK, a_alpha, a_beta, !a_isMaximizer, a_callerColor);
+						if(VALUE < bestValue){
+							bestValue = VALUE;
+							PICKER.SetBest(MOVE);
+						}
 					
 						// Keep track of the boundaries
 						a_beta = Math.min(a_beta, bestValue);
 						
 						if(a_beta <= a_alpha){
-							return bestValue;
+							return Cutoff(PICKER, MOVE, index, bestValue);
 						}
 					}
 				}
 				
 				// Discontinue evaluating if the lower bound is worse
 				if(a_beta <= a_alpha){
-					return bestValue;
+					return Cutoff(PICKER, MOVE, index, bestValue);
 				}
 			}
 			
@@ -398,6 +694,80 @@ public interface Minimax{
 	
 	/**/
     /*
+    NAME
+        private static double Cutoff(final MovePicker a_picker, final int a_move, final int a_index, final double a_value);
+    
+    SYNOPSIS
+        private static double Cutoff(final MovePicker a_picker, final int a_move, final int a_index, final double a_value);
+    
+    	MovePicker a_picker ------> The picker the move came from.
+    	
+    	int a_move ---------------> The move that caused the cutoff, packed by IntMove.
+    	
+    	int a_index --------------> Where the move that caused the cutoff was in the picker's order.
+    
+        double a_value -----------> The value Expand() returns.
+       
+    DESCRIPTION
+        This method makes the move a killer if it is quiet,
+        and counts the cutoff when statistics are being kept.
+
+    RETURNS
+        double a_value: The value it was given.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static double Cutoff(final MovePicker a_picker, final int a_move, final int a_index, final double a_value){
+		a_picker.AddKiller(a_move);
+		
+		final SearchStatistics STATISTICS = SearchStatistics.GetActive();
+		if(STATISTICS != null){
+			STATISTICS.Cutoff(a_index);
+		}
+		
+		return a_value;
+	}
+	
+	/**/
+    /*
+    NAME
+        public static double TablebaseScore(final int a_value, final ChessColor a_turn, final ChessColor a_callerColor);
+    
+    SYNOPSIS
+        public static double TablebaseScore(final int a_value, final ChessColor a_turn, final ChessColor a_callerColor);
+    
+        int a_value --------------> A value from the endgame tables, from the side to move's point of view.
+        
+        ChessColor a_turn --------> The side to move.
+        
+        ChessColor a_callerColor -> The color of the player the search is for.
+      
+    DESCRIPTION
+        This method turns a value from the endgame tables into a score the search can compare.
+        Wins are worth more than any material and sooner mates are worth more than later ones.
+
+    RETURNS
+        double: The score for the caller, following the same sign convention as Recurse().
+    
+    AUTHOR
+        Ryan King
+    */
+	public static double TablebaseScore(final int a_value, final ChessColor a_turn, final ChessColor a_callerColor){
+		final double SCORE;
+		if(EndgameTable.IsWin(a_value)){
+			SCORE = TABLEBASE_WIN - EndgameTable.GetDistance(a_value);
+		}else if(EndgameTable.IsLoss(a_value)){
+			SCORE = -TABLEBASE_WIN + EndgameTable.GetDistance(a_value);
+		}else{
+			SCORE = Utilities.ZERO;
+		}
+		
+		return (a_turn == a_callerColor ? SCORE : -SCORE);
+	}
+	
+	/**/
+    /*
     NAME
         public static double Evaluate(final Board a_board);
     
@@ -417,6 +787,96 @@ public interface Minimax{
         Modifications written specifically for this engine by Ryan King.
     */
 	public static double Evaluate(final Board a_board, final ChessColor a_callerColor){
+		return Sweep(a_board, a_callerColor, false);
+	}
+	
+	/**/
+    /*
+    NAME
+        private static void Remember(final int a_mark, final Board a_result);
+    
+    SYNOPSIS
+        private static void Remember(final int a_mark, final Board a_result);
+    
+        int a_mark ---------------> The size of the search history when the parent board was the newest position.
+        
+        Board a_result -----------> The board after the move being searched.
+      
+    DESCRIPTION
+        This method replaces whatever the previous sibling left in the search history
+        with a_result. Cutoffs can return from a child search at any time,
+        so going back to the parent's size here saves having to pop on every one of them.
+        The board's halfmove clock bounds how far back the repetition check will look.
+
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+	private static void Remember(final int a_mark, final Board a_result){
+		final PositionHistory HISTORY = SEARCH_HISTORY.get();
+		HISTORY.Truncate(a_mark);
+		HISTORY.Push(Zobrist.Hash(a_result), a_result.GetHalfmoves());
+	}
+	
+	/**/
+    /*
+    NAME
+        public static double EvaluateLeaf(final Board a_board, final ChessColor a_callerColor);
+    
+    SYNOPSIS
+        public static double EvaluateLeaf(final Board a_board, final ChessColor a_callerColor);
+    
+        Board a_board ------------> The board at the bottom of the search.
+        
+        ChessColor a_callerColor -> The color of the player who called the search.
+      
+    DESCRIPTION
+        This method evaluates a board the search goes no deeper from.
+        Along with what Evaluate() finds, every tile a piece could move to earns its type's mobility weight,
+        and every one of those next to the enemy king earns its type's king zone weight.
+        Both are counted in the same sweep over the board that finds the pieces' values,
+        reading the tiles each piece attacks from the tables in MoveEvaluation,
+        so no moves are found and the board is not looked over a second time.
+        A move that would leave its own king in check still counts, and castling does not.
+        Nothing is counted while a network is evaluating, since the network sees activity on its own.
+
+    RETURNS
+        double: The evaluation, following the same sign convention as Evaluate().
+    
+    AUTHOR
+        Ryan King
+    */
+	public static double EvaluateLeaf(final Board a_board, final ChessColor a_callerColor){
+		return Sweep(a_board, a_callerColor, true);
+	}
+	
+	/**/
+    /*
+    NAME
+        private static double Sweep(final Board a_board, final ChessColor a_callerColor, final boolean a_isLeaf);
+    
+    SYNOPSIS
+        private static double Sweep(final Board a_board, final ChessColor a_callerColor, final boolean a_isLeaf);
+    
+        Board a_board ------------> The board to evaluate.
+        
+        ChessColor a_callerColor -> The color of the player who called the search.
+        
+        boolean a_isLeaf ---------> If the activity of the pieces is counted too.
+      
+    DESCRIPTION
+        This method goes over every tile of the board once for Evaluate() and EvaluateLeaf().
+
+    RETURNS
+        double evaluation: The evaluation.
+    
+    AUTHOR
+    	Lauri Hartikka, A step-by-step guide to building a simple chess AI, https://jsfiddle.net/q76uzxwe/1/
+        Modifications written specifically for this engine by Ryan King.
+    */
+	private static double Sweep(final Board a_board, final ChessColor a_callerColor, final boolean a_isLeaf){
 		double evaluation = Utilities.ZERO;
 		
 		// Null arguments do not return any value of significance
@@ -424,6 +884,20 @@ public interface Minimax{
 		    return evaluation;
 		}
 		
+		// Use the network instead of the tables if one has been loaded
+		final Network NETWORK = Network.GetActive();
+		if(NETWORK != null){
+		    final double WHITE_SCORE = AccumulatorStack.Evaluate(NETWORK, a_board);
+		    return (a_callerColor.IsWhite() ? -WHITE_SCORE : WHITE_SCORE);
+		}
+		
+		// Activity is only counted when there is something to count
+		final EvaluationWeights WEIGHTS = EvaluationWeights.GetActive();
+		final boolean IS_COUNTED = a_isLeaf && WEIGHTS.HasActivityTerms();
+		final Piece[] PIECES = (IS_COUNTED ? LEAF_PIECES.get() : null);
+		int pieces = Utilities.ZERO;
+		long whiteZone = Utilities.ZERO, blackZone = Utilities.ZERO;
+		
 		// Evaluate every tile of the board
 		for(int i = Utilities.ZERO; i < Utilities.SIXTY_FOUR; i++){
 			final int ROW = i / Utilities.EIGHT;
@@ -438,9 +912,230 @@ public interface Minimax{
 			final Piece PIECE = a_board.GetTile(ROW, COLUMN).GetPiece();
 			
 			evaluation += GetPieceValue(PIECE, ROW, COLUMN, a_callerColor);
+			
+			// Remember the piece for its activity, which needs the enemy king to be found first
+			if(IS_COUNTED){
+				PIECES[pieces++] = PIECE;
+				
+				if(PIECE.IsKing()){
+					if(PIECE.IsWhite()){
+						whiteZone = MoveEvaluation.KING_ZONES[i];
+					}else{
+						blackZone = MoveEvaluation.KING_ZONES[i];
+					}
+				}
+			}
+		}
+		
+		double activity = Utilities.ZERO;
+		for(int i = Utilities.ZERO; i < pieces; i++){
+			final Piece PIECE = PIECES[i];
+			final double ACTIVITY = Activity(a_board, PIECE, (PIECE.IsWhite() ? blackZone : whiteZone), WEIGHTS);
+			
+			// The caller's own activity counts against the evaluation, as its material does
+			activity += (PIECE.GetColor().IsEnemy(a_callerColor) ? ACTIVITY : -ACTIVITY);
+		}
+		
+		return evaluation + activity;
+	}
+	
+	
+	/**/
+    /*
+    NAME
+        private static double Activity(final Board a_board, final Piece a_piece, final long a_enemyZone, final EvaluationWeights a_weights);
+    
+    SYNOPSIS
+        private static double Activity(final Board a_board, final Piece a_piece, final long a_enemyZone, final EvaluationWeights a_weights);
+    
+        Board a_board ------------> The board the piece is on.
+        
+        Piece a_piece ------------> The piece whose tiles are counted.
+        
+        long a_enemyZone ---------> The tiles around the enemy king, or none if there is no king.
+        
+        EvaluationWeights a_weights -> The weights of every piece type.
+      
+    DESCRIPTION
+        This method adds up the mobility and king zone weights of one piece,
+        as described in EvaluateLeaf(). The king's directions hold the four
+        diagonals at even indices and the four straight lines at odd ones,
+        so bishops and rooks take every other one and queens take them all.
+
+    RETURNS
+        double: The activity of the piece.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static double Activity(final Board a_board, final Piece a_piece, final long a_enemyZone, final EvaluationWeights a_weights){
+		final PieceType TYPE = a_piece.GetPieceType();
+		final int TILE = a_piece.GetCurrentRow() * Utilities.EIGHT + a_piece.GetCurrentColumn();
+		final double MOBILITY = a_weights.GetMobility(TYPE);
+		final double KING_ZONE = (a_enemyZone == Utilities.ZERO ? Utilities.ZERO : a_weights.GetKingZone(TYPE));
+		
+		if(MOBILITY == Utilities.ZERO && KING_ZONE == Utilities.ZERO){
+			return Utilities.ZERO;
+		}
+		
+		switch(TYPE){
+			case PAWN: return PawnActivity(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE);
+			case KNIGHT: return Reach(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE, MoveEvaluation.KNIGHT_ATTACKS[TILE], Utilities.ZERO, Utilities.ONE);
+			case BISHOP: return Reach(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE, MoveEvaluation.SLIDING_ATTACKS[TILE], Utilities.ZERO, Utilities.TWO);
+			case ROOK: return Reach(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE, MoveEvaluation.SLIDING_ATTACKS[TILE], Utilities.ONE, Utilities.TWO);
+			case QUEEN: return Reach(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE, MoveEvaluation.SLIDING_ATTACKS[TILE], Utilities.ZERO, Utilities.ONE);
+			default: return Reach(a_board, a_piece, a_enemyZone, MOBILITY, KING_ZONE, MoveEvaluation.KING_ATTACKS[TILE], Utilities.ZERO, Utilities.ONE);
+		}
+	}
+	
+	/**/
+    /*
+    NAME
+        private static double Reach(final Board a_board, final Piece a_piece, final long a_enemyZone, final double a_mobility, final double a_kingZone, final int[][] a_attacks, final int a_first, final int a_step);
+    
+    SYNOPSIS
+        private static double Reach(final Board a_board, final Piece a_piece, final long a_enemyZone, final double a_mobility, final double a_kingZone, final int[][] a_attacks, final int a_first, final int a_step);
+    
+        Board a_board ------------> The board the piece is on.
+        
+        Piece a_piece ------------> The piece whose tiles are counted.
+        
+        long a_enemyZone ---------> The tiles around the enemy king.
+        
+        double a_mobility --------> What each tile is worth.
+        
+        double a_kingZone --------> What each tile next to the enemy king is worth.
+        
+        int[][] a_attacks --------> The tiles the piece attacks from its tile on an empty board, by direction.
+        
+        int a_first --------------> The index of the first direction used.
+        
+        int a_step ---------------> How many directions to skip ahead each time.
+      
+    DESCRIPTION
+        This method reads the piece's tiles in each of its directions until it
+        meets an ally or takes an enemy. Kings are never taken, so their tiles do not count.
+
+    RETURNS
+        double activity: The activity of the piece.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static double Reach(final Board a_board, final Piece a_piece, final long a_enemyZone, final double a_mobility, final double a_kingZone, final int[][] a_attacks, final int a_first, final int a_step){
+		final Tile[][] TILES = a_board.GetBoard();
+		double activity = Utilities.ZERO;
+		
+		for(int index = a_first; index < a_attacks.length; index += a_step){
+			for(final int TILE_INDEX : a_attacks[index]){
+				final Tile TILE = TILES[TILE_INDEX / Utilities.EIGHT][TILE_INDEX % Utilities.EIGHT];
+				
+				if(TILE.IsOccupied() && (TILE.GetPiece().GetColor().IsAlly(a_piece.GetColor()) || TILE.GetPiece().IsKing())){
+					break;
+				}
+				
+				activity += a_mobility + (IsInZone(a_enemyZone, TILE_INDEX) ? a_kingZone : Utilities.ZERO);
+				
+				if(TILE.IsOccupied()){
+					break;
+				}
+			}
+		}
+		
+		return activity;
+	}
+	
+	/**/
+    /*
+    NAME
+        private static double PawnActivity(final Board a_board, final Piece a_pawn, final long a_enemyZone, final double a_mobility, final double a_kingZone);
+    
+    SYNOPSIS
+        private static double PawnActivity(final Board a_board, final Piece a_pawn, final long a_enemyZone, final double a_mobility, final double a_kingZone);
+    
+        Board a_board ------------> The board the pawn is on.
+        
+        Piece a_pawn -------------> The pawn whose tiles are counted.
+        
+        long a_enemyZone ---------> The tiles around the enemy king.
+        
+        double a_mobility --------> What each tile is worth.
+        
+        double a_kingZone --------> What each capture next to the enemy king is worth.
+      
+    DESCRIPTION
+        This method counts the pushes and captures of a pawn, including en passant.
+        A pawn still on its starting row can push two tiles if both are empty.
+        Pawns only threaten the king with their captures, so their pushes never earn the king zone weight.
+
+    RETURNS
+        double activity: The activity of the pawn.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static double PawnActivity(final Board a_board, final Piece a_pawn, final long a_enemyZone, final double a_mobility, final double a_kingZone){
+		final int DIRECTION = (a_pawn.IsWhite() ? Utilities.NEGATIVE_ONE : Utilities.ONE);
+		final int START = (a_pawn.IsWhite() ? Utilities.SIX : Utilities.ONE);
+		final int ROW = a_pawn.GetCurrentRow() + DIRECTION;
+		final int COLUMN = a_pawn.GetCurrentColumn();
+		final Tile EN_PASSANT = a_board.GetEnPassantTile();
+		double activity = Utilities.ZERO;
+		
+		if(!BoardUtilities.HasValidCoordinates(ROW, COLUMN)){
+			return activity;
 		}
 		
-		return evaluation;
+		// Pushes
+		if(a_board.GetTile(ROW, COLUMN).IsEmpty()){
+			activity += a_mobility;
+			
+			if(a_pawn.GetCurrentRow() == START && a_board.GetTile(ROW + DIRECTION, COLUMN).IsEmpty()){
+				activity += a_mobility;
+			}
+		}
+		
+		// Captures
+		for(int side = Utilities.NEGATIVE_ONE; side <= Utilities.ONE; side += Utilities.TWO){
+			if(!BoardUtilities.HasValidCoordinates(ROW, COLUMN + side)){
+				continue;
+			}
+			
+			final Tile TILE = a_board.GetTile(ROW, COLUMN + side);
+			final boolean IS_CAPTURE = (TILE.IsOccupied() && TILE.GetPiece().GetColor().IsEnemy(a_pawn.GetColor()) && !TILE.GetPiece().IsKing());
+			final boolean IS_EN_PASSANT = (EN_PASSANT != null && EN_PASSANT.GetRow() == ROW && EN_PASSANT.GetColumn() == COLUMN + side);
+			
+			if(IS_CAPTURE || IS_EN_PASSANT){
+				activity += a_mobility + (IsInZone(a_enemyZone, ROW * Utilities.EIGHT + COLUMN + side) ? a_kingZone : Utilities.ZERO);
+			}
+		}
+		
+		return activity;
+	}
+	
+	/**/
+    /*
+    NAME
+        private static boolean IsInZone(final long a_zone, final int a_tile);
+    
+    SYNOPSIS
+        private static boolean IsInZone(final long a_zone, final int a_tile);
+    
+        long a_zone --------------> The tiles around a king, one bit for each.
+        
+        int a_tile ---------------> The tile, as row * 8 + column.
+      
+    DESCRIPTION
+        This method determines if a tile is one of the tiles around a king.
+
+    RETURNS
+        boolean: True if the tile touches the king, and false otherwise.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static boolean IsInZone(final long a_zone, final int a_tile){
+		return ((a_zone >>> a_tile) & 1L) != Utilities.ZERO;
 	}
 	
 	/**/
@@ -513,66 +1208,151 @@ public interface Minimax{
 			return Utilities.ZERO;
 		}
 		
-		// Check for the piece type
-	    if(a_piece.IsPawn()){
-	        return PAWN_VALUE + (a_piece.IsWhite() ? Minimax.WHITE_PAWN_POSITIONS[a_y][a_x] : Minimax.BLACK_PAWN_POSITIONS[a_y][a_x]);
-	    }else if(a_piece.IsRook()){
-	        return ROOK_VALUE + (a_piece.IsWhite() ? Minimax.WHITE_ROOK_POSITIONS[a_y][a_x] : Minimax.BLACK_ROOK_POSITIONS[a_y][a_x]);
-	    }else if(a_piece.IsKnight()){
-	        return BISHOP_OR_KNIGHT_VALUE + Minimax.KNIGHT_POSITIONS[a_y][a_x];
-	    }else if(a_piece.IsBishop()){
-	        return BISHOP_OR_KNIGHT_VALUE + (a_piece.IsWhite() ? Minimax.WHITE_BISHOP_POSITIONS[a_y][a_x] : Minimax.BLACK_BISHOP_POSITIONS[a_y][a_x]);
-	    }else if(a_piece.IsQueen()){
-	        return QUEEN_VALUE + Minimax.QUEEN_POSITIONS[a_y][a_x];
-	    }else if(a_piece.IsKing()){
-	        return KING_VALUE + (a_piece.IsWhite() ? Minimax.WHITE_KING_POSITIONS[a_y][a_x] : Minimax.BLACK_KING_POSITIONS[a_y][a_x]);
-	    }
-	        
-	    // Just in case the checks above were not enough
-	    return Utilities.ZERO;
+		// Look the value up in the weights the engine is currently using,
+		// which are the arrays above unless a tuned weights file was loaded
+		return EvaluationWeights.GetActive().GetValue(a_piece, a_x, a_y);
 	}
 	
 	/**/
     /*
     NAME
-        public static ArrayList<Move> Sort(final Player a_player);
+        public static IntMoveList Order(final Player a_player, final IntMoveList a_moves);
     
     SYNOPSIS
-        public static ArrayList<Move> Sort(final Player a_player);
+        public static IntMoveList Order(final Player a_player, final IntMoveList a_moves);
     
     	Player a_player ----------> The current player.
+    	
+    	IntMoveList a_moves ------> The list to fill, whose moves are thrown away first.
        
     DESCRIPTION
-        This method sorts the ArrayList of moves by ascending "priority", that is,
+        This method sorts the player's moves by ascending "priority", that is,
         moves that put the opponent's king into checkmate or check are placed first,
         as they are the most important.
         Attacking moves go next, then castling moves, then regular moves.
+        Every move is placed once, where it first fits, and is not tested any further.
+        The moves are packed by IntMove and found again with IntMove.ToMove().
 
     RETURNS
-        ArrayList<Move> SORTED_MOVES: The list of sorted moves.
+        IntMoveList a_moves: The list of sorted moves.
     
     AUTHOR
         Ryan King
     */
-	public static ArrayList<Move> Sort(final Player a_player){
-		// MOVES will contain the moves the player can make on this turn
-		final ArrayList<Move> MOVES = new ArrayList<>();
-
+	public static IntMoveList Order(final Player a_player, final IntMoveList a_moves){
+		a_moves.Clear();
+		
 		// Add the moves in order of priority
-		MOVES.addAll(a_player.CheckmateMoves());
-		MOVES.addAll(a_player.CheckMoves());
-		MOVES.addAll(a_player.AttackingMoves());
-		MOVES.addAll(a_player.CastlingMoves());
-		MOVES.addAll(a_player.RegularMoves());
-		MOVES.addAll(a_player.EnPassantMoves());
+		Place(a_player, a_moves, Move::PlacesOpponentIntoCheckmate);
+		Place(a_player, a_moves, Move::PlacesOpponentIntoCheck);
+		Place(a_player, a_moves, Move::IsAttacking);
+		Place(a_player, a_moves, Move::IsCastling);
+		Place(a_player, a_moves, Move::IsRegular);
+		Place(a_player, a_moves, Move::IsEnPassant);
 		
-		// Get rid of duplicates in the list
-		final LinkedHashSet<Move> SET = new LinkedHashSet<>(MOVES);
+		return a_moves;
+	}
+	
+	/**/
+    /*
+    NAME
+        private static void Place(final Player a_player, final IntMoveList a_moves, final Predicate<Move> a_kind);
+    
+    SYNOPSIS
+        private static void Place(final Player a_player, final IntMoveList a_moves, final Predicate<Move> a_kind);
+    
+    	Player a_player ----------> The current player.
+    	
+    	IntMoveList a_moves ------> The moves placed so far.
+    	
+    	Predicate<Move> a_kind ---> What the moves to place next have in common.
+       
+    DESCRIPTION
+        This method adds every move of the player's of the given kind to the list,
+        skipping those already placed without testing them.
+
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+	private static void Place(final Player a_player, final IntMoveList a_moves, final Predicate<Move> a_kind){
+		for(final Piece PIECE : a_player.GetActivePieces()){
+			for(final Move MOVE : PIECE.GetCurrentLegalMoves(a_player.GetBoard())){
+				final int PACKED = IntMove.FromMove(MOVE, PackedMove.NO_PROMOTION);
+				if(!a_moves.Contains(PACKED) && a_kind.test(MOVE)){
+					a_moves.Add(PACKED);
+				}
+			}
+		}
+	}
+	
+	/**/
+    /*
+    NAME
+        private static IntMoveList MovesAt(final int a_depth);
+    
+    SYNOPSIS
+        private static IntMoveList MovesAt(final int a_depth);
+    
+    	int a_depth --------------> The depth left to search.
+       
+    DESCRIPTION
+        This method returns this thread's list of moves for the depth,
+        making room for deeper searches than any before.
+        A board searches its moves from the list of its depth, and every board
+        below it has less depth left, so no list is refilled while it is in use.
+
+    RETURNS
+        IntMoveList: The list.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static IntMoveList MovesAt(final int a_depth){
+		IntMoveList[] lists = MOVE_LISTS.get();
+		if(a_depth >= lists.length){
+			lists = Arrays.copyOf(lists, a_depth + Utilities.ONE);
+			MOVE_LISTS.set(lists);
+		}
 		
-		// Make a new list with no duplicates
-		final ArrayList<Move> SORTED_MOVES = new ArrayList<>(SET);
+		if(lists[a_depth] == null){
+			lists[a_depth] = new IntMoveList();
+		}
+		return lists[a_depth];
+	}
+	
+	/**/
+    /*
+    NAME
+        private static MovePicker PickerAt(final int a_depth);
+    
+    SYNOPSIS
+        private static MovePicker PickerAt(final int a_depth);
+    
+    	int a_depth --------------> The depth left to search.
+       
+    DESCRIPTION
+        This method returns this thread's move picker for the depth,
+        making room for deeper searches than any before, as MovesAt() does for lists.
+
+    RETURNS
+        MovePicker: The picker.
+    
+    AUTHOR
+        Ryan King
+    */
+	private static MovePicker PickerAt(final int a_depth){
+		MovePicker[] pickers = MOVE_PICKERS.get();
+		if(a_depth >= pickers.length){
+			pickers = Arrays.copyOf(pickers, a_depth + Utilities.ONE);
+			MOVE_PICKERS.set(pickers);
+		}
 		
-		// Return the list with no duplicates
-		return SORTED_MOVES;
+		if(pickers[a_depth] == null){
+			pickers[a_depth] = new MovePicker();
+		}
+		return pickers[a_depth];
 	}
 }
\ No newline at end of file
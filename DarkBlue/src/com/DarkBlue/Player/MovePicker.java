@@ -0,0 +1,565 @@
+package com.DarkBlue.Player;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Move.IntMoveList;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class hands the search the moves of one board a few at a time, in stages:
+ * first the move the transposition table found best there, then captures with the
+ * most valuable victim and least valuable attacker first, then the killer moves,
+ * which are quiet moves that caused a cutoff at the same depth before, and then
+ * every other move. Nothing past the stage the search is in is looked at, so a
+ * board cut off by its first move never has its other moves sorted, and one cut
+ * off by the move from the table never has the moves of its other pieces found.
+ * The captures are found without the quiet moves, so a board cut off by a capture
+ * or a killer move never finds its quiet moves at all.
+ *
+ * Every move is handed out once, packed by IntMove, for the search to make with
+ * Board.Transition(). The moves from the table and the killers are found again
+ * on the board with IntMove.ToMove(), so they are only tried when they are legal on this board.
+ *
+ * It is not thread-safe; the search keeps one for every depth on every thread.
+ */
+public final class MovePicker{
+
+    public static final int KILLERS = Utilities.TWO;
+
+    // The stages, in order
+    private static final int HASH_MOVE = Utilities.ZERO;
+    private static final int CAPTURES = Utilities.ONE;
+    private static final int KILLER_MOVES = Utilities.TWO;
+    private static final int QUIET_MOVES = Utilities.THREE;
+    private static final int DONE = Utilities.FOUR;
+
+    // The moves of the stage the picker is in, and those already handed out
+    private final IntMoveList m_moves;
+    private final IntMoveList m_tried;
+
+    // The last quiet moves that caused a cutoff, newest first
+    private final int[] m_killers;
+
+    private Board m_board;
+    private Player m_player;
+    private int m_hashMove;
+    private int m_stage;
+    private int m_index;
+    private int m_best;
+
+    /**/
+    /*
+    NAME
+        public MovePicker();
+
+    SYNOPSIS
+        public MovePicker();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates a picker with no board and no killers.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public MovePicker(){
+        this.m_moves = new IntMoveList();
+        this.m_tried = new IntMoveList();
+        this.m_killers = new int[KILLERS];
+        this.m_stage = DONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Begin(final Board a_board, final Player a_player, final int a_hashMove);
+
+    SYNOPSIS
+        public final void Begin(final Board a_board, final Player a_player, final int a_hashMove);
+
+        Board a_board ------------> The board whose moves are picked.
+
+        Player a_player ----------> The player to move, refreshed on the board.
+
+        int a_hashMove -----------> The move the transposition table found best, or IntMove.NONE.
+
+    DESCRIPTION
+        This method starts picking the moves of a board, keeping the killers.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Begin(final Board a_board, final Player a_player, final int a_hashMove){
+        this.m_board = a_board;
+        this.m_player = a_player;
+        this.m_hashMove = a_hashMove;
+        this.m_stage = HASH_MOVE;
+        this.m_index = Utilities.ZERO;
+        this.m_best = IntMove.NONE;
+        this.m_moves.Clear();
+        this.m_tried.Clear();
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Next();
+
+    SYNOPSIS
+        public final int Next();
+
+        No parameters.
+
+    DESCRIPTION
+        This method hands out the next move, going on to the next stage
+        once the one it is in has no moves left.
+
+    RETURNS
+        int: The next move packed by IntMove, or IntMove.NONE once every move has been handed out.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Next(){
+        while(this.m_stage != DONE){
+            switch(this.m_stage){
+                case HASH_MOVE:
+                    this.Advance(CAPTURES);
+                    if(this.m_hashMove != IntMove.NONE){
+                        final int MOVE = this.Find(this.m_hashMove);
+                        if(MOVE != IntMove.NONE){
+                            return this.Try(MOVE);
+                        }
+                    }
+                    break;
+                case CAPTURES:
+                    if(this.m_index == Utilities.ZERO && this.m_moves.IsEmpty()){
+                        this.Collect(true);
+                    }
+                    while(this.m_index < this.m_moves.Size()){
+                        this.SelectBestCapture();
+                        final int PACKED = this.m_moves.Get(this.m_index++);
+                        if(!this.m_tried.Contains(PACKED)){
+                            return this.Try(PACKED);
+                        }
+                    }
+                    this.Advance(KILLER_MOVES);
+                    break;
+                case KILLER_MOVES:
+                    while(this.m_index < KILLERS){
+                        final int KILLER = this.m_killers[this.m_index++];
+                        final int MOVE = (KILLER == IntMove.NONE ? IntMove.NONE : this.Find(KILLER));
+                        if(MOVE != IntMove.NONE && !IsCapture(MOVE) && !this.m_tried.Contains(MOVE)){
+                            return this.Try(MOVE);
+                        }
+                    }
+                    this.Advance(QUIET_MOVES);
+                    break;
+                case QUIET_MOVES:
+                    if(this.m_index == Utilities.ZERO && this.m_moves.IsEmpty()){
+                        this.Collect(false);
+                    }
+                    while(this.m_index < this.m_moves.Size()){
+                        final int PACKED = this.m_moves.Get(this.m_index++);
+                        if(!this.m_tried.Contains(PACKED)){
+                            return this.Try(PACKED);
+                        }
+                    }
+                    this.Advance(DONE);
+                    break;
+                default:
+                    this.Advance(DONE);
+                    break;
+            }
+        }
+
+        return IntMove.NONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void AddKiller(final int a_move);
+
+    SYNOPSIS
+        public final void AddKiller(final int a_move);
+
+        int a_move ---------------> A move that caused a cutoff, packed by IntMove.
+
+    DESCRIPTION
+        This method remembers a quiet move that caused a cutoff, so it is tried early
+        on the next board of this depth. Captures are tried early anyway and are not kept.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void AddKiller(final int a_move){
+        if(a_move == IntMove.NONE || IsCapture(a_move)){
+            return;
+        }
+
+        if(this.m_killers[Utilities.ZERO] != a_move){
+            System.arraycopy(this.m_killers, Utilities.ZERO, this.m_killers, Utilities.ONE, KILLERS - Utilities.ONE);
+            this.m_killers[Utilities.ZERO] = a_move;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void ClearKillers();
+
+    SYNOPSIS
+        public final void ClearKillers();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets the killers, which a new search calls for,
+        as the same depth is a different distance from the root there.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void ClearKillers(){
+        for(int i = Utilities.ZERO; i < KILLERS; i++){
+            this.m_killers[i] = IntMove.NONE;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetBest(final int a_move);
+
+    SYNOPSIS
+        public final void SetBest(final int a_move);
+
+        int a_move ---------------> The move that raised the best value found on the board, packed by IntMove.
+
+    DESCRIPTION
+        This method remembers the best move so far, for the transposition table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetBest(final int a_move){
+        this.m_best = a_move;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetBest();
+
+    SYNOPSIS
+        public final int GetBest();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the best move found since Begin().
+
+    RETURNS
+        int m_best: The move packed by IntMove, or IntMove.NONE if no move raised the value.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetBest(){
+        return this.m_best;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Advance(final int a_stage);
+
+    SYNOPSIS
+        private void Advance(final int a_stage);
+
+        int a_stage --------------> The stage to go on to.
+
+    DESCRIPTION
+        This method goes on to a stage with nothing collected for it yet.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Advance(final int a_stage){
+        this.m_stage = a_stage;
+        this.m_index = Utilities.ZERO;
+        this.m_moves.Clear();
+    }
+
+    /**/
+    /*
+    NAME
+        private int Find(final int a_move);
+
+    SYNOPSIS
+        private int Find(final int a_move);
+
+        int a_move ---------------> A move packed on some board, possibly another.
+
+    DESCRIPTION
+        This method finds a move on this board that starts and ends on the same
+        tiles, as long as it belongs to the player to move.
+
+    RETURNS
+        int: The move packed on this board, or IntMove.NONE if the player has no such move.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Find(final int a_move){
+        final Move MOVE = IntMove.ToMove(a_move, this.m_board);
+        return (MOVE != null && MOVE.GetPiece().GetColor() == this.m_player.GetColor() ? Pack(MOVE) : IntMove.NONE);
+    }
+
+    /**/
+    /*
+    NAME
+        private int Try(final int a_move);
+
+    SYNOPSIS
+        private int Try(final int a_move);
+
+        int a_move ---------------> The move about to be handed out, packed by IntMove.
+
+    DESCRIPTION
+        This method remembers that a move was handed out, so no later stage hands it out again.
+
+    RETURNS
+        int a_move: The move it was given.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Try(final int a_move){
+        this.m_tried.Add(a_move);
+        return a_move;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Collect(final boolean a_isCapture);
+
+    SYNOPSIS
+        private void Collect(final boolean a_isCapture);
+
+        boolean a_isCapture ------> True to collect the captures, and false for the quiet moves.
+
+    DESCRIPTION
+        This method packs the player's captures or quiet moves into the list for the stage.
+        The captures are found on their own, so a board cut off by a capture or a killer move
+        never finds its quiet moves; those come from the legal moves of every piece, which the board keeps.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Collect(final boolean a_isCapture){
+        for(final Piece PIECE : this.m_player.GetActivePieces()){
+            if(a_isCapture){
+                for(final Move MOVE : PIECE.GetCurrentCaptures(this.m_board)){
+                    this.m_moves.Add(Pack(MOVE));
+                }
+                continue;
+            }
+            
+            for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
+                if(!IsCapture(MOVE)){
+                    this.m_moves.Add(Pack(MOVE));
+                }
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void SelectBestCapture();
+
+    SYNOPSIS
+        private void SelectBestCapture();
+
+        No parameters.
+
+    DESCRIPTION
+        This method swaps the best capture not yet handed out to the front of
+        the rest, so captures are only put in order as far as they are picked.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void SelectBestCapture(){
+        int best = this.m_index;
+        for(int i = this.m_index + Utilities.ONE; i < this.m_moves.Size(); i++){
+            if(Score(this.m_moves.Get(i)) > Score(this.m_moves.Get(best))){
+                best = i;
+            }
+        }
+
+        if(best != this.m_index){
+            this.m_moves.Swap(best, this.m_index);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Score(final int a_move);
+
+    SYNOPSIS
+        private static int Score(final int a_move);
+
+        int a_move ---------------> A capture packed by IntMove.
+
+    DESCRIPTION
+        This method scores a capture by its victim first and its attacker second.
+
+    RETURNS
+        int: The score, which is higher for captures to try earlier.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Score(final int a_move){
+        // En passant only ever takes a pawn
+        final PieceType VICTIM = (IntMove.IsEnPassant(a_move) ? PieceType.PAWN : IntMove.Captured(a_move));
+        return Rank(VICTIM) * Utilities.EIGHT - Rank(IntMove.Piece(a_move));
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Rank(final PieceType a_type);
+
+    SYNOPSIS
+        private static int Rank(final PieceType a_type);
+
+        PieceType a_type ---------> The type of a piece.
+
+    DESCRIPTION
+        This method ranks the types of pieces from the least valuable to the most.
+
+    RETURNS
+        int: The rank, from 1 for a pawn to 6 for a king, or 0 for null.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Rank(final PieceType a_type){
+        if(a_type == null){
+            return Utilities.ZERO;
+        }
+
+        switch(a_type){
+            case PAWN:    return Utilities.ONE;
+            case KNIGHT:  return Utilities.TWO;
+            case BISHOP:  return Utilities.THREE;
+            case ROOK:    return Utilities.FOUR;
+            case QUEEN:   return Utilities.FIVE;
+            default:      return Utilities.SIX;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsCapture(final Move a_move);
+
+    SYNOPSIS
+        private static boolean IsCapture(final Move a_move);
+
+        Move a_move --------------> The move to check.
+
+    DESCRIPTION
+        This method determines if a move takes a piece.
+
+    RETURNS
+        boolean: True if the move attacks or captures en passant, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsCapture(final Move a_move){
+        return a_move.IsAttacking() || a_move.IsEnPassant();
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsCapture(final int a_move);
+
+    SYNOPSIS
+        private static boolean IsCapture(final int a_move);
+
+        int a_move ---------------> The move to check, packed by IntMove.
+
+    DESCRIPTION
+        This method determines if a packed move takes a piece.
+
+    RETURNS
+        boolean: True if the move attacks or captures en passant, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsCapture(final int a_move){
+        return IntMove.IsCapture(a_move) || IntMove.IsEnPassant(a_move);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Pack(final Move a_move);
+
+    SYNOPSIS
+        private static int Pack(final Move a_move);
+
+        Move a_move --------------> The move to pack.
+
+    DESCRIPTION
+        This method packs a move the way every stage compares them.
+
+    RETURNS
+        int: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Pack(final Move a_move){
+        return IntMove.FromMove(a_move, PackedMove.NO_PROMOTION);
+    }
+}
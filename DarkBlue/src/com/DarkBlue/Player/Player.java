@@ -38,6 +38,9 @@ public abstract class Player{
     
     // The pieces this player has captured, which starts at 0
     protected final ArrayList<Piece> m_capturedPieces;
+    
+    // The board the active pieces were found on, which keeps their legal moves
+    private Board m_board;
 
     /**/
     /*
@@ -132,7 +135,7 @@ public abstract class Player{
         
         // Add up the number of moves every piece has
         for(int index = Utilities.ZERO; index < this.m_activePieces.size(); index++){
-            total += this.m_activePieces.get(index).GetCurrentLegalMoves().size();
+            total += this.m_activePieces.get(index).GetCurrentLegalMoves(this.m_board).size();
         }
         
         // Return this grand total
@@ -307,7 +310,8 @@ public abstract class Player{
     DESCRIPTION
         This method initializes all of one side's Pieces
         at the start of the game and links them to the ones
-        that are placed on the Board.
+        that are placed on the Board. The board is kept
+        for finding their legal moves.
     
     RETURNS
         Nothing
@@ -319,6 +323,7 @@ public abstract class Player{
         // Clear out the pieces to avoid errors
         this.m_activePieces.clear();
         this.m_king = null;
+        this.m_board = a_board;
         
         // Look through every spot on the board
         for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
@@ -466,8 +471,9 @@ public abstract class Player{
     
     DESCRIPTION
         This method initializes all the currently legal moves
-        of every active piece by calling each of their
-        AddCurrentLegalMoves() methods in a for loop.    
+        of every active piece by remembering the board they are on.
+        The board only finds the moves of a piece the first time they are asked for,
+        so those of pieces nobody looks at are never found.
     
     RETURNS
         Nothing
@@ -476,10 +482,31 @@ public abstract class Player{
         Ryan King
     */
     public final void InitializeCurrentLegalMoves(final Board a_board){
-        for(int index = Utilities.ZERO; index < m_activePieces.size(); index++){
-            final Piece PIECE = this.m_activePieces.get(index);
-            PIECE.AddCurrentLegalMoves(a_board);
-        }
+        this.m_board = a_board;
+    }
+    
+    /**/
+    /*
+    NAME
+        public final Board GetBoard();
+    
+    SYNOPSIS
+        public final Board GetBoard();
+    
+        No parameters.
+    
+    DESCRIPTION
+        This method returns the board the player's pieces
+        were last found on, which keeps their legal moves.
+    
+    RETURNS
+        Board m_board: The board, or null if the pieces were never found.
+    
+    AUTHOR
+        Ryan King
+    */
+    public final Board GetBoard(){
+        return this.m_board;
     }
     
     /**/
@@ -952,7 +979,7 @@ public abstract class Player{
         
         for(final Piece PIECE : this.m_activePieces){
             // Get every move
-            UGLY_MOVES.addAll(PIECE.GetCurrentLegalMoves());
+            UGLY_MOVES.addAll(PIECE.GetCurrentLegalMoves(this.m_board));
         }
         return UGLY_MOVES;
     }
@@ -985,7 +1012,7 @@ public abstract class Player{
         for(final Piece PIECE : this.m_activePieces){
             
             // Find every possible move
-            for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+            for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
                 if(MOVE.IsAttacking()){
                     ATTACKING_MOVES.add(MOVE);
                 }
@@ -1026,7 +1053,7 @@ public abstract class Player{
         	}
         	
         	// Find every possible move
-        	for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+        	for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
         	    if(MOVE.IsCastling()){
         	        CASTLING_MOVES.add(MOVE);
         	    }
@@ -1062,7 +1089,7 @@ public abstract class Player{
         for(final Piece PIECE : this.m_activePieces){
             
             // Find every possible move
-            for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+            for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
                 if(MOVE.IsRegular()){
                     REGULAR_MOVES.add(MOVE);
                 }
@@ -1100,7 +1127,7 @@ public abstract class Player{
         for(final Piece PIECE : this.m_activePieces){
             
             // Only add the move if it is of the proper type
-            for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+            for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
                 if(MOVE.PlacesOpponentIntoCheck()){
                     CHECK_MOVES.add(MOVE);
                 }
@@ -1138,7 +1165,7 @@ public abstract class Player{
         for(final Piece PIECE : this.m_activePieces){
            
             // Only add the move if it is of the proper type
-            for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+            for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
                 if(MOVE.PlacesOpponentIntoCheckmate()){
                     CHECKMATE_MOVES.add(MOVE);
                 }
@@ -1179,7 +1206,7 @@ public abstract class Player{
         	}
         	
         	// Find all possible moves
-        	for(final Move MOVE : PIECE.GetCurrentLegalMoves()){
+        	for(final Move MOVE : PIECE.GetCurrentLegalMoves(this.m_board)){
         	    
         	    // Only add the move if it is of the proper type
         		if(MOVE.IsEnPassant()){
@@ -0,0 +1,597 @@
+package com.DarkBlue.Player;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class counts what the search does, so move ordering and the transposition
+ * table can be tuned by their numbers rather than by guessing.
+ *
+ * It counts the boards searched, the leaves scored without searching further,
+ * the probes and hits of the transposition table, and the alpha-beta cutoffs,
+ * apart from those caused by the first move searched, whose share shows how well
+ * the moves are ordered. The boards are also counted by the depth left to search,
+ * which gives the branching factor at every depth, and every depth deepened to is
+ * timed. The engine has no quiescence search, so the leaves are the boards it
+ * scores where one would start.
+ *
+ * Nothing is counted unless a SearchStatistics is set with SetActive(), which also
+ * shows it through JMX; otherwise the search pays one read of a volatile field per board.
+ * Whoever starts a search calls Begin() on its thread and End() when it is done,
+ * which returns one line of key=value pairs to log. Only depths the starting thread
+ * searches are timed, so helper threads add to the counts but not to the iterations.
+ */
+public final class SearchStatistics implements SearchStatisticsMBean{
+
+    public static final String OBJECT_NAME = "com.DarkBlue:type=SearchStatistics";
+
+    // The deepest depth counted on its own; deeper boards count toward this depth
+    public static final int MAX_DEPTH = Utilities.SIXTY_FOUR;
+
+    private static volatile SearchStatistics m_active = null;
+
+    private final LongAdder m_nodes;
+    private final LongAdder m_leaves;
+    private final LongAdder m_probes;
+    private final LongAdder m_hits;
+    private final LongAdder m_cutoffs;
+    private final LongAdder m_firstMoveCutoffs;
+    private final AtomicLongArray m_nodesByDepth;
+    private final AtomicLong m_searches;
+
+    // The depths timed so far, each as its depth, boards, and nanoseconds
+    private final ArrayList<long[]> m_iterations;
+
+    private volatile Thread m_owner;
+    private volatile long m_start;
+    private volatile long m_end;
+    private volatile String m_lastSearch;
+
+    // Where the depth being timed started
+    private long m_iterationStart;
+    private long m_iterationNodes;
+
+    /**/
+    /*
+    NAME
+        public SearchStatistics();
+
+    SYNOPSIS
+        public SearchStatistics();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates statistics with nothing counted.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SearchStatistics(){
+        this.m_nodes = new LongAdder();
+        this.m_leaves = new LongAdder();
+        this.m_probes = new LongAdder();
+        this.m_hits = new LongAdder();
+        this.m_cutoffs = new LongAdder();
+        this.m_firstMoveCutoffs = new LongAdder();
+        this.m_nodesByDepth = new AtomicLongArray(MAX_DEPTH + Utilities.ONE);
+        this.m_searches = new AtomicLong();
+        this.m_iterations = new ArrayList<>();
+        this.m_owner = null;
+        this.m_start = System.nanoTime();
+        this.m_end = this.m_start;
+        this.m_lastSearch = "";
+    }
+
+    /**/
+    /*
+    NAME
+        public static SearchStatistics GetActive();
+
+    SYNOPSIS
+        public static SearchStatistics GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the statistics the search counts into.
+
+    RETURNS
+        SearchStatistics m_active: The statistics, or null if the search counts nothing.
+
+    AUTHOR
+        Ryan King
+    */
+    public static SearchStatistics GetActive(){
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final SearchStatistics a_statistics);
+
+    SYNOPSIS
+        public static void SetActive(final SearchStatistics a_statistics);
+
+        SearchStatistics a_statistics -> The statistics to count into, or null to count nothing.
+
+    DESCRIPTION
+        This method sets the statistics the search counts into and shows them through JMX
+        in place of any shown before. Statistics that cannot be shown are still counted.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static synchronized void SetActive(final SearchStatistics a_statistics){
+        m_active = a_statistics;
+
+        try{
+            final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName NAME = new ObjectName(OBJECT_NAME);
+            if(SERVER.isRegistered(NAME)){
+                SERVER.unregisterMBean(NAME);
+            }
+            if(a_statistics != null){
+                SERVER.registerMBean(a_statistics, NAME);
+            }
+        }catch(JMException e){
+            System.err.println("Could not show the search statistics through JMX: " + e.getMessage());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Begin();
+
+    SYNOPSIS
+        public final synchronized void Begin();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets the last search and starts counting a new one,
+        whose depths are timed on the calling thread.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Begin(){
+        this.reset();
+        this.m_owner = Thread.currentThread();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized String End();
+
+    SYNOPSIS
+        public final synchronized String End();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops timing the search and describes it.
+
+    RETURNS
+        String: The search's counts as one line of key=value pairs.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized String End(){
+        this.m_end = System.nanoTime();
+        this.m_owner = null;
+        this.m_searches.incrementAndGet();
+
+        final StringBuilder LINE = new StringBuilder("search");
+        LINE.append(" nodes=").append(this.getNodes());
+        LINE.append(" leaves=").append(this.getLeaves());
+        LINE.append(" time_ms=").append(this.getElapsedMilliseconds());
+        LINE.append(" nps=").append(this.getNodesPerSecond());
+        LINE.append(" tt_probes=").append(this.getTranspositionProbes());
+        LINE.append(" tt_hits=").append(this.getTranspositionHits());
+        LINE.append(" tt_hit_rate=").append(Format(this.getTranspositionHitRate()));
+        LINE.append(" cutoffs=").append(this.getCutoffs());
+        LINE.append(" first_move_cutoffs=").append(this.getFirstMoveCutoffs());
+        LINE.append(" first_move_cutoff_rate=").append(Format(this.getFirstMoveCutoffRate()));
+        LINE.append(" branching=").append(this.getBranchingFactors());
+        LINE.append(" iterations=").append(this.getIterations());
+
+        this.m_lastSearch = LINE.toString();
+        return this.m_lastSearch;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Root(final int a_depth);
+
+    SYNOPSIS
+        public final void Root(final int a_depth);
+
+        int a_depth --------------> The depth the root is searched to.
+
+    DESCRIPTION
+        This method counts the board a depth of the search starts from,
+        and starts timing that depth if the search's own thread is searching it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Root(final int a_depth){
+        this.m_nodesByDepth.incrementAndGet(Math.min(a_depth, MAX_DEPTH));
+
+        if(Thread.currentThread() == this.m_owner){
+            this.m_iterationStart = System.nanoTime();
+            this.m_iterationNodes = this.m_nodes.sum();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Iteration(final int a_depth);
+
+    SYNOPSIS
+        public final void Iteration(final int a_depth);
+
+        int a_depth --------------> The depth just searched.
+
+    DESCRIPTION
+        This method times a depth of the search if the search's own thread searched it.
+        Depths that were stopped are timed too, since they took the time all the same.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Iteration(final int a_depth){
+        if(Thread.currentThread() != this.m_owner){
+            return;
+        }
+
+        final long[] ITERATION = {a_depth, this.m_nodes.sum() - this.m_iterationNodes, System.nanoTime() - this.m_iterationStart};
+        synchronized(this){
+            this.m_iterations.add(ITERATION);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Node(final int a_depth);
+
+    SYNOPSIS
+        public final void Node(final int a_depth);
+
+        int a_depth --------------> The depth left to search below the board.
+
+    DESCRIPTION
+        This method counts a board the search visited.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Node(final int a_depth){
+        this.m_nodes.increment();
+        this.m_nodesByDepth.incrementAndGet(Math.min(a_depth, MAX_DEPTH));
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Leaf();
+
+    SYNOPSIS
+        public final void Leaf();
+
+        No parameters.
+
+    DESCRIPTION
+        This method counts a board scored by the evaluation at the bottom of the search.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Leaf(){
+        this.m_leaves.increment();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Probe(final boolean a_isHit);
+
+    SYNOPSIS
+        public final void Probe(final boolean a_isHit);
+
+        boolean a_isHit ----------> If the table's value was used.
+
+    DESCRIPTION
+        This method counts a probe of the transposition table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Probe(final boolean a_isHit){
+        this.m_probes.increment();
+        if(a_isHit){
+            this.m_hits.increment();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Cutoff(final int a_index);
+
+    SYNOPSIS
+        public final void Cutoff(final int a_index);
+
+        int a_index --------------> Where the move that caused it was in the sorted moves.
+
+    DESCRIPTION
+        This method counts a cutoff.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Cutoff(final int a_index){
+        this.m_cutoffs.increment();
+        if(a_index == Utilities.ZERO){
+            this.m_firstMoveCutoffs.increment();
+        }
+    }
+
+    @Override
+    public final long getSearches(){
+        return this.m_searches.get();
+    }
+
+    @Override
+    public final long getNodes(){
+        return this.m_nodes.sum();
+    }
+
+    @Override
+    public final long getLeaves(){
+        return this.m_leaves.sum();
+    }
+
+    @Override
+    public final long getNodesPerSecond(){
+        return this.getNodes() * 1000 / Math.max(Utilities.ONE, this.getElapsedMilliseconds());
+    }
+
+    @Override
+    public final long getElapsedMilliseconds(){
+        final long END = (this.m_owner != null ? System.nanoTime() : this.m_end);
+        return (END - this.m_start) / 1000000;
+    }
+
+    @Override
+    public final long getTranspositionProbes(){
+        return this.m_probes.sum();
+    }
+
+    @Override
+    public final long getTranspositionHits(){
+        return this.m_hits.sum();
+    }
+
+    @Override
+    public final double getTranspositionHitRate(){
+        return Rate(this.getTranspositionHits(), this.getTranspositionProbes());
+    }
+
+    @Override
+    public final long getCutoffs(){
+        return this.m_cutoffs.sum();
+    }
+
+    @Override
+    public final long getFirstMoveCutoffs(){
+        return this.m_firstMoveCutoffs.sum();
+    }
+
+    @Override
+    public final double getFirstMoveCutoffRate(){
+        return Rate(this.getFirstMoveCutoffs(), this.getCutoffs());
+    }
+
+    /**/
+    /*
+    NAME
+        public final String getBranchingFactors();
+
+    SYNOPSIS
+        public final String getBranchingFactors();
+
+        No parameters.
+
+    DESCRIPTION
+        This method finds how many boards were searched below each board at every depth,
+        from the deepest down, as depth:factor pairs separated by commas.
+        A board with nothing below it, such as one the transposition table knew,
+        counts as having no moves.
+
+    RETURNS
+        String: The branching factors, or an empty string if nothing was searched.
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final String getBranchingFactors(){
+        final StringBuilder FACTORS = new StringBuilder();
+
+        for(int depth = MAX_DEPTH; depth > Utilities.ZERO; depth--){
+            final long NODES = this.m_nodesByDepth.get(depth);
+            if(NODES == Utilities.ZERO){
+                continue;
+            }
+            FACTORS.append(FACTORS.length() == Utilities.ZERO ? "" : ",");
+            FACTORS.append(depth).append(':').append(Format(Rate(this.m_nodesByDepth.get(depth - Utilities.ONE), NODES)));
+        }
+
+        return FACTORS.toString();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized String getIterations();
+
+    SYNOPSIS
+        public final synchronized String getIterations();
+
+        No parameters.
+
+    DESCRIPTION
+        This method lists the depths timed, as depth:nodes:milliseconds triples separated by commas.
+
+    RETURNS
+        String: The depths, or an empty string if none were timed.
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final synchronized String getIterations(){
+        final StringBuilder ITERATIONS = new StringBuilder();
+
+        for(final long[] ITERATION : this.m_iterations){
+            ITERATIONS.append(ITERATIONS.length() == Utilities.ZERO ? "" : ",");
+            ITERATIONS.append(ITERATION[Utilities.ZERO]).append(':').append(ITERATION[Utilities.ONE]).append(':').append(ITERATION[Utilities.TWO] / 1000000);
+        }
+
+        return ITERATIONS.toString();
+    }
+
+    @Override
+    public final String getLastSearch(){
+        return this.m_lastSearch;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void reset();
+
+    SYNOPSIS
+        public final synchronized void reset();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets everything counted so far, except how many searches ended.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final synchronized void reset(){
+        this.m_nodes.reset();
+        this.m_leaves.reset();
+        this.m_probes.reset();
+        this.m_hits.reset();
+        this.m_cutoffs.reset();
+        this.m_firstMoveCutoffs.reset();
+        for(int i = Utilities.ZERO; i < this.m_nodesByDepth.length(); i++){
+            this.m_nodesByDepth.set(i, Utilities.ZERO);
+        }
+        this.m_iterations.clear();
+        this.m_start = System.nanoTime();
+        this.m_end = this.m_start;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Rate(final long a_part, final long a_whole);
+
+    SYNOPSIS
+        private static double Rate(final long a_part, final long a_whole);
+
+        long a_part --------------> The part.
+
+        long a_whole -------------> The whole.
+
+    DESCRIPTION
+        This method divides one count by another.
+
+    RETURNS
+        double: The quotient, or 0 if the whole is 0.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Rate(final long a_part, final long a_whole){
+        return (a_whole == Utilities.ZERO ? Utilities.ZERO : (double) a_part / a_whole);
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Format(final double a_value);
+
+    SYNOPSIS
+        private static String Format(final double a_value);
+
+        double a_value -----------> A rate or factor.
+
+    DESCRIPTION
+        This method writes a number with two decimals whatever the locale.
+
+    RETURNS
+        String: The number.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Format(final double a_value){
+        return String.format(Locale.ROOT, "%.2f", a_value);
+    }
+}
@@ -0,0 +1,42 @@
+package com.DarkBlue.Player;
+
+/**
+ * This interface is what JMX shows of the search statistics, under the name
+ * com.DarkBlue:type=SearchStatistics, to JConsole, VisualVM, or any other JMX client.
+ *
+ * JMX only finds attributes through methods named the JavaBeans way,
+ * so these are named getX() rather than GetX() like the rest of the engine.
+ * Every attribute is of the search going on, or of the last one if none is.
+ */
+public interface SearchStatisticsMBean{
+
+    public long getSearches();
+
+    public long getNodes();
+
+    public long getLeaves();
+
+    public long getNodesPerSecond();
+
+    public long getElapsedMilliseconds();
+
+    public long getTranspositionProbes();
+
+    public long getTranspositionHits();
+
+    public double getTranspositionHitRate();
+
+    public long getCutoffs();
+
+    public long getFirstMoveCutoffs();
+
+    public double getFirstMoveCutoffRate();
+
+    public String getBranchingFactors();
+
+    public String getIterations();
+
+    public String getLastSearch();
+
+    public void reset();
+}
@@ -0,0 +1,378 @@
+package com.DarkBlue.Player;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class remembers the values the search found for the boards it visited,
+ * so a board reached again by another order of the same moves, or by a deeper
+ * search of the same position, does not have to be searched again.
+ *
+ * Every entry takes two longs: the board's key exclusive-ored with its data, and the data,
+ * which holds the value as a float, the depth it was searched to, whether the value is
+ * exact or only a bound, and the move found best there as the low bits of a PackedMove,
+ * which the search tries first the next time it comes to the board. A key only matches when both longs were written together, so any
+ * number of threads may probe and store at once without locks; an entry torn by two threads
+ * writing it at the same time simply never matches. A new entry replaces an older one
+ * in its slot unless the older one is for the same board and was searched deeper.
+ *
+ * Values are from the point of view of the player the search is for, so that color
+ * is part of the key. The search probes the table set with SetActive(), if any.
+ */
+public final class TranspositionTable{
+
+    public static final int DEFAULT_MEGABYTES = Utilities.SIXTEEN;
+    public static final int MAX_MEGABYTES = 1 << Utilities.TEN;
+
+    private static final int EXACT = Utilities.ZERO;
+    private static final int LOWER = Utilities.ONE;
+    private static final int UPPER = Utilities.TWO;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 48;
+    private static final long BOUND_MASK = 0x3;
+    private static final long BYTE_MASK = 0xFF;
+
+    // Sets the keys of searches for black apart from those for white
+    private static final long BLACK_CALLER = 0xD1B54A32D192ED03L;
+
+    // How many slots Hashfull() samples
+    private static final int SAMPLE = 1000;
+
+    private static volatile TranspositionTable m_active = null;
+
+    private final long[] m_entries;
+    private final int m_mask;
+    private final int m_megabytes;
+
+    /**/
+    /*
+    NAME
+        public TranspositionTable(final int a_megabytes);
+
+    SYNOPSIS
+        public TranspositionTable(final int a_megabytes);
+
+        int a_megabytes ----------> The most memory the table may take, from 1 to MAX_MEGABYTES.
+
+    DESCRIPTION
+        This constructor creates an empty table with the largest power of two
+        of entries that fits in the memory it is given.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public TranspositionTable(final int a_megabytes){
+        if(a_megabytes < Utilities.ONE || a_megabytes > MAX_MEGABYTES){
+            throw new IllegalArgumentException("Invalid argument to TranspositionTable constructor");
+        }
+
+        // Each entry is two longs, or 16 bytes
+        final long ENTRIES = Long.highestOneBit(((long) a_megabytes << 20) / (Long.BYTES * Utilities.TWO));
+        this.m_entries = new long[(int) ENTRIES * Utilities.TWO];
+        this.m_mask = (int) ENTRIES - Utilities.ONE;
+        this.m_megabytes = a_megabytes;
+    }
+
+    /**/
+    /*
+    NAME
+        public static TranspositionTable GetActive();
+
+    SYNOPSIS
+        public static TranspositionTable GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the table the search uses.
+
+    RETURNS
+        TranspositionTable m_active: The table, or null if the search has none.
+
+    AUTHOR
+        Ryan King
+    */
+    public static TranspositionTable GetActive(){
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final TranspositionTable a_table);
+
+    SYNOPSIS
+        public static void SetActive(final TranspositionTable a_table);
+
+        TranspositionTable a_table -> The table to use, or null to search without one.
+
+    DESCRIPTION
+        This method sets the table the search uses.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetActive(final TranspositionTable a_table){
+        m_active = a_table;
+    }
+
+    /**/
+    /*
+    NAME
+        public static long Key(final Board a_board, final ChessColor a_callerColor);
+
+    SYNOPSIS
+        public static long Key(final Board a_board, final ChessColor a_callerColor);
+
+        Board a_board ------------> The board being searched.
+
+        ChessColor a_callerColor -> The color of the player the search is for.
+
+    DESCRIPTION
+        This method finds the key of a board in the table.
+
+    RETURNS
+        long: The key.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long Key(final Board a_board, final ChessColor a_callerColor){
+        return Zobrist.Hash(a_board) ^ (a_callerColor.IsWhite() ? Utilities.ZERO : BLACK_CALLER);
+    }
+
+    /**/
+    /*
+    NAME
+        public final double Probe(final long a_key, final int a_depth, final double a_alpha, final double a_beta);
+
+    SYNOPSIS
+        public final double Probe(final long a_key, final int a_depth, final double a_alpha, final double a_beta);
+
+        long a_key ---------------> The key of the board.
+
+        int a_depth --------------> How deep the board is about to be searched.
+
+        double a_alpha -----------> The best value for the maximizer so far.
+
+        double a_beta ------------> The best value for the minimizer so far.
+
+    DESCRIPTION
+        This method looks a board up. A value is only returned if it was searched
+        at least as deep and it decides the search between alpha and beta on its own.
+
+    RETURNS
+        double: The value, or NaN if the board must be searched.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double Probe(final long a_key, final int a_depth, final double a_alpha, final double a_beta){
+        final int SLOT = ((int) a_key & this.m_mask) * Utilities.TWO;
+        final long DATA = this.m_entries[SLOT + Utilities.ONE];
+
+        if((this.m_entries[SLOT] ^ DATA) != a_key || DATA == Utilities.ZERO || Depth(DATA) < a_depth){
+            return Double.NaN;
+        }
+
+        final double VALUE = Float.intBitsToFloat((int) DATA);
+        switch((int) ((DATA >>> BOUND_SHIFT) & BOUND_MASK)){
+            case EXACT:
+                return VALUE;
+            case LOWER:
+                return (VALUE >= a_beta ? VALUE : Double.NaN);
+            case UPPER:
+                return (VALUE <= a_alpha ? VALUE : Double.NaN);
+            default:
+                return Double.NaN;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Store(final long a_key, final int a_depth, final double a_value, final double a_alpha, final double a_beta, final int a_move);
+
+    SYNOPSIS
+        public final void Store(final long a_key, final int a_depth, final double a_value, final double a_alpha, final double a_beta, final int a_move);
+
+        long a_key ---------------> The key of the board.
+
+        int a_depth --------------> How deep the board was searched.
+
+        double a_value -----------> The value the search returned.
+
+        double a_alpha -----------> The alpha the search started with.
+
+        double a_beta ------------> The beta the search started with.
+
+        int a_move ---------------> The move found best, packed by IntMove, or IntMove.NONE.
+
+    DESCRIPTION
+        This method remembers the value of a board. A value at or below alpha is only
+        an upper bound, and one at or above beta is only a lower bound. A board searched
+        again without finding a best move keeps the one found before.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Store(final long a_key, final int a_depth, final double a_value, final double a_alpha, final double a_beta, final int a_move){
+        final int SLOT = ((int) a_key & this.m_mask) * Utilities.TWO;
+        final long OLD = this.m_entries[SLOT + Utilities.ONE];
+        final boolean IS_SAME = (this.m_entries[SLOT] ^ OLD) == a_key;
+
+        if(IS_SAME && Depth(OLD) > a_depth){
+            return;
+        }
+
+        final int BOUND = (a_value <= a_alpha ? UPPER : (a_value >= a_beta ? LOWER : EXACT));
+        final long MOVE = (a_move != IntMove.NONE ? a_move & IntMove.PACKED_MASK : (IS_SAME ? (OLD >>> MOVE_SHIFT) & IntMove.PACKED_MASK : IntMove.NONE));
+        final long DATA = (Float.floatToIntBits((float) a_value) & 0xFFFFFFFFL) | ((long) Math.min(a_depth, (int) BYTE_MASK) << DEPTH_SHIFT) | ((long) BOUND << BOUND_SHIFT) | (MOVE << MOVE_SHIFT);
+
+        this.m_entries[SLOT] = a_key ^ DATA;
+        this.m_entries[SLOT + Utilities.ONE] = DATA;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int ProbeMove(final long a_key);
+
+    SYNOPSIS
+        public final int ProbeMove(final long a_key);
+
+        long a_key ---------------> The key of the board.
+
+    DESCRIPTION
+        This method looks up the move found best on a board,
+        however shallow the search that found it was.
+
+    RETURNS
+        int: The tiles and promotion of the move as in IntMove, or IntMove.NONE if there is none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int ProbeMove(final long a_key){
+        final int SLOT = ((int) a_key & this.m_mask) * Utilities.TWO;
+        final long DATA = this.m_entries[SLOT + Utilities.ONE];
+
+        if((this.m_entries[SLOT] ^ DATA) != a_key || DATA == Utilities.ZERO){
+            return IntMove.NONE;
+        }
+        return (int) ((DATA >>> MOVE_SHIFT) & IntMove.PACKED_MASK);
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Clear();
+
+    SYNOPSIS
+        public final void Clear();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets every board, which a new game calls for.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Clear(){
+        java.util.Arrays.fill(this.m_entries, Utilities.ZERO);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Hashfull();
+
+    SYNOPSIS
+        public final int Hashfull();
+
+        No parameters.
+
+    DESCRIPTION
+        This method estimates how full the table is from its first slots.
+
+    RETURNS
+        int: The number of slots in use per thousand.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Hashfull(){
+        final int SLOTS = Math.min(SAMPLE, this.m_mask + Utilities.ONE);
+        int used = Utilities.ZERO;
+        for(int slot = Utilities.ZERO; slot < SLOTS; slot++){
+            if(this.m_entries[slot * Utilities.TWO + Utilities.ONE] != Utilities.ZERO){
+                used++;
+            }
+        }
+        return used * SAMPLE / SLOTS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetMegabytes();
+
+    SYNOPSIS
+        public final int GetMegabytes();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the memory the table was given.
+
+    RETURNS
+        int m_megabytes: The size in megabytes.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetMegabytes(){
+        return this.m_megabytes;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Depth(final long a_data);
+
+    SYNOPSIS
+        private static int Depth(final long a_data);
+
+        long a_data --------------> The data of an entry.
+
+    DESCRIPTION
+        This method unpacks the depth an entry was searched to.
+
+    RETURNS
+        int: The depth.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Depth(final long a_data){
+        return (int) ((a_data >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+}
@@ -0,0 +1,1147 @@
+package com.DarkBlue.Record;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class stores games on disk and finds every game that reached a position.
+ *
+ * Games are appended to a game file in the format GameRecordWriter writes, without keys,
+ * and are read back through memory-mapped buffers. A second file with the same name plus
+ * ".idx" holds one 24-byte entry for every position of every game, sorted by Zobrist key:
+ *
+ *     i64   the key of the position
+ *     i64   the offset of the game in the game file
+ *     i64   the ply in the upper 32 bits, the result in bits 16 to 23,
+ *           and the move played from the position in the lowest 16 bits
+ *
+ * The index starts with "DBGI", a version byte, three unused bytes, the number of
+ * entries, and how many bytes of the game file it covers, so finding a position
+ * is a binary search over the mapped entries. Games added since the last Flush()
+ * are kept in memory and only show up in searches after the next one, which merges
+ * them into a new index file and swaps it in.
+ *
+ * If the program stops between appending a game and flushing the index, the games
+ * past the end of what the index covers are indexed again when the database is
+ * opened, and a partly written game at the very end of the file is cut off.
+ */
+public final class GameDatabase implements Closeable{
+
+    public static final String INDEX_SUFFIX = ".idx";
+
+    public static final byte[] INDEX_MAGIC = {'D', 'B', 'G', 'I'};
+    public static final int INDEX_VERSION = Utilities.ONE;
+    public static final int INDEX_HEADER_SIZE = 24;
+    public static final int ENTRY_SIZE = 24;
+
+    // The move of the last position of a game, which no packed move can equal since bit 15 is set
+    public static final short NO_MOVE = (short) 0xFFFF;
+
+    // The largest record GameRecord.Encode() can write: a full-length FEN, the most moves, and their keys
+    public static final int MAX_RECORD_SIZE = GameRecord.HEADER_SIZE + Utilities.ONE + GameRecord.MAX_FEN_LENGTH + Utilities.TWO
+        + GameRecord.MAX_MOVES * Short.BYTES + (GameRecord.MAX_MOVES + Utilities.ONE) * Long.BYTES;
+
+    // The game file is mapped in pieces this large, each overlapping the next by one record
+    private static final long GAME_SEGMENT_SIZE = 1L << 30;
+
+    // The index is mapped in pieces of this many entries
+    private static final int INDEX_SEGMENT_SHIFT = 25;
+    private static final long INDEX_SEGMENT_MASK = (1L << INDEX_SEGMENT_SHIFT) - Utilities.ONE;
+
+    // The number of unflushed entries that triggers a flush on its own
+    private static final int PENDING_LIMIT = 1 << 20;
+
+    private static final int PLY_SHIFT = 32;
+    private static final int RESULT_SHIFT = Utilities.SIXTEEN;
+
+    private final Path m_indexPath;
+    private final FileChannel m_games;
+    private long m_gameSize;
+
+    private MappedByteBuffer[] m_gameSegments;
+    private long m_mappedGameSize;
+
+    private MappedByteBuffer[] m_indexSegments;
+    private long m_entries;
+    private long m_indexed;
+
+    private long[] m_pendingKeys;
+    private long[] m_pendingOffsets;
+    private long[] m_pendingDetails;
+    private int m_pendingSize;
+
+    private ByteBuffer m_buffer;
+
+    /**/
+    /*
+    NAME
+        public GameDatabase(final Path a_gameFile) throws IOException;
+
+    SYNOPSIS
+        public GameDatabase(final Path a_gameFile) throws IOException;
+
+        Path a_gameFile ----------> The game file, which is created if it does not exist.
+
+    DESCRIPTION
+        This constructor opens a database. The index is rebuilt if it is missing
+        or does not belong to the game file, and brought up to date if the game file
+        has grown since the index was last written.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameDatabase(final Path a_gameFile) throws IOException{
+        this.m_indexPath = a_gameFile.resolveSibling(a_gameFile.getFileName() + INDEX_SUFFIX);
+        this.m_games = FileChannel.open(a_gameFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.m_pendingKeys = new long[Utilities.SIXTY_FOUR];
+        this.m_pendingOffsets = new long[Utilities.SIXTY_FOUR];
+        this.m_pendingDetails = new long[Utilities.SIXTY_FOUR];
+        this.m_pendingSize = Utilities.ZERO;
+        this.m_buffer = ByteBuffer.allocate(4096);
+
+        try{
+            this.m_gameSize = this.m_games.size();
+            if(this.m_gameSize == Utilities.ZERO){
+                final ByteBuffer HEADER = ByteBuffer.allocate(GameRecordWriter.FILE_HEADER_SIZE);
+                HEADER.put(GameRecordWriter.MAGIC).put((byte) GameRecordWriter.VERSION).flip();
+                this.m_games.write(HEADER, Utilities.ZERO);
+                this.m_gameSize = GameRecordWriter.FILE_HEADER_SIZE;
+            }
+
+            this.MapGames();
+            GameRecordReader.CheckHeader(this.m_gameSegments[Utilities.ZERO].duplicate());
+
+            if(!this.MapIndex()){
+                this.m_indexSegments = new MappedByteBuffer[Utilities.ZERO];
+                this.m_entries = Utilities.ZERO;
+                this.m_indexed = GameRecordWriter.FILE_HEADER_SIZE;
+            }
+
+            this.IndexTail();
+            this.Flush();
+        }catch(IOException | RuntimeException e){
+            this.m_games.close();
+            throw e;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized long Add(final GameRecord a_record) throws IOException;
+
+    SYNOPSIS
+        public final synchronized long Add(final GameRecord a_record) throws IOException;
+
+        GameRecord a_record ------> The game to store.
+
+    DESCRIPTION
+        This method appends a game to the game file and remembers its positions
+        for the next Flush(), which happens on its own once enough have piled up.
+
+    RETURNS
+        long: The offset of the game in the game file.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized long Add(final GameRecord a_record) throws IOException{
+        final int SIZE = a_record.EncodedSize(false);
+        if(SIZE > this.m_buffer.capacity()){
+            this.m_buffer = ByteBuffer.allocate(Math.max(SIZE, this.m_buffer.capacity() * Utilities.TWO));
+        }
+
+        this.m_buffer.clear();
+        a_record.Encode(this.m_buffer, false);
+        this.m_buffer.flip();
+
+        final long OFFSET = this.m_gameSize;
+        while(this.m_buffer.hasRemaining()){
+            this.m_games.write(this.m_buffer, OFFSET + this.m_buffer.position());
+        }
+        this.m_gameSize += SIZE;
+
+        this.Remember(a_record, OFFSET);
+
+        if(this.m_pendingSize >= PENDING_LIMIT){
+            this.Flush();
+        }
+
+        return OFFSET;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Flush() throws IOException;
+
+    SYNOPSIS
+        public final synchronized void Flush() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method makes every added game searchable. The game file is forced to disk
+        first, so the index never points past what has been written, and then the new
+        positions are merged with the old index into a new file that replaces it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Flush() throws IOException{
+        if(this.m_pendingSize == Utilities.ZERO && this.m_indexed == this.m_gameSize){
+            return;
+        }
+
+        this.m_games.force(false);
+        Sort(this.m_pendingKeys, this.m_pendingOffsets, this.m_pendingDetails, Utilities.ZERO, this.m_pendingSize - Utilities.ONE);
+
+        final Path TEMPORARY = this.m_indexPath.resolveSibling(this.m_indexPath.getFileName() + ".tmp");
+        final long ENTRIES = this.m_entries + this.m_pendingSize;
+
+        try(final DataOutputStream OUT = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(TEMPORARY), 1 << 16))){
+            OUT.write(INDEX_MAGIC);
+            OUT.writeByte(INDEX_VERSION);
+            OUT.write(new byte[Utilities.THREE]);
+            OUT.writeLong(ENTRIES);
+            OUT.writeLong(this.m_gameSize);
+
+            long old = Utilities.ZERO;
+            int pending = Utilities.ZERO;
+            while(old < this.m_entries || pending < this.m_pendingSize){
+                final boolean TAKE_OLD = pending == this.m_pendingSize
+                    || (old < this.m_entries && Compare(this.EntryKey(old), this.EntryOffset(old), this.EntryDetails(old),
+                        this.m_pendingKeys[pending], this.m_pendingOffsets[pending], this.m_pendingDetails[pending]) <= Utilities.ZERO);
+
+                if(TAKE_OLD){
+                    OUT.writeLong(this.EntryKey(old));
+                    OUT.writeLong(this.EntryOffset(old));
+                    OUT.writeLong(this.EntryDetails(old));
+                    old++;
+                }else{
+                    OUT.writeLong(this.m_pendingKeys[pending]);
+                    OUT.writeLong(this.m_pendingOffsets[pending]);
+                    OUT.writeLong(this.m_pendingDetails[pending]);
+                    pending++;
+                }
+            }
+        }
+
+        try{
+            Files.move(TEMPORARY, this.m_indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(AtomicMoveNotSupportedException e){
+            Files.move(TEMPORARY, this.m_indexPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        this.m_pendingSize = Utilities.ZERO;
+        this.MapGames();
+        if(!this.MapIndex()){
+            throw new IOException("The index just written cannot be read back: " + this.m_indexPath);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<PositionMatch> Find(final long a_key);
+
+    SYNOPSIS
+        public final ArrayList<PositionMatch> Find(final long a_key);
+
+        long a_key ---------------> The Zobrist key of the position.
+
+    DESCRIPTION
+        This method finds every game that reached a position. A game that reached
+        the position more than once is listed once, at the first time it got there.
+
+    RETURNS
+        ArrayList<PositionMatch> matches: The games, in the order they were added.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized ArrayList<PositionMatch> Find(final long a_key){
+        final ArrayList<PositionMatch> MATCHES = new ArrayList<>();
+        long previousOffset = Utilities.NEGATIVE_ONE;
+
+        for(long i = this.LowerBound(a_key); i < this.m_entries && this.EntryKey(i) == a_key; i++){
+            final long OFFSET = this.EntryOffset(i);
+            if(OFFSET == previousOffset){
+                continue;
+            }
+            previousOffset = OFFSET;
+
+            final long DETAILS = this.EntryDetails(i);
+            MATCHES.add(new PositionMatch(OFFSET, Ply(DETAILS), Move(DETAILS), Result(DETAILS)));
+        }
+
+        return MATCHES;
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<PositionMatch> Find(final Board a_board);
+
+    SYNOPSIS
+        public final ArrayList<PositionMatch> Find(final Board a_board);
+
+        Board a_board ------------> The position to look for.
+
+    DESCRIPTION
+        This method finds every game that reached the position on a board.
+
+    RETURNS
+        ArrayList<PositionMatch> matches: The games, in the order they were added.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<PositionMatch> Find(final Board a_board){
+        return this.Find(Zobrist.Hash(a_board));
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<PositionMatch> Find(final String a_fen);
+
+    SYNOPSIS
+        public final ArrayList<PositionMatch> Find(final String a_fen);
+
+        String a_fen -------------> The position to look for as a FEN string.
+
+    DESCRIPTION
+        This method finds every game that reached a position. The move clocks are ignored.
+
+    RETURNS
+        ArrayList<PositionMatch> matches: The games, in the order they were added.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<PositionMatch> Find(final String a_fen){
+        return this.Find(Hash(a_fen));
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized ArrayList<MoveStatistics> GetStatistics(final long a_key);
+
+    SYNOPSIS
+        public final synchronized ArrayList<MoveStatistics> GetStatistics(final long a_key);
+
+        long a_key ---------------> The Zobrist key of the position.
+
+    DESCRIPTION
+        This method counts which moves were played from a position and how those games ended.
+        Each game counts once, for the move it played the first time it reached the position.
+
+    RETURNS
+        ArrayList<MoveStatistics> statistics: One entry per move, the most played first.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized ArrayList<MoveStatistics> GetStatistics(final long a_key){
+        final ArrayList<MoveStatistics> STATISTICS = new ArrayList<>();
+        long previousOffset = Utilities.NEGATIVE_ONE;
+
+        for(long i = this.LowerBound(a_key); i < this.m_entries && this.EntryKey(i) == a_key; i++){
+            final long OFFSET = this.EntryOffset(i);
+            if(OFFSET == previousOffset){
+                continue;
+            }
+            previousOffset = OFFSET;
+
+            final long DETAILS = this.EntryDetails(i);
+            final short MOVE = Move(DETAILS);
+
+            MoveStatistics statistics = null;
+            for(final MoveStatistics CANDIDATE : STATISTICS){
+                if(CANDIDATE.GetMove() == MOVE){
+                    statistics = CANDIDATE;
+                    break;
+                }
+            }
+            if(statistics == null){
+                statistics = new MoveStatistics(MOVE);
+                STATISTICS.add(statistics);
+            }
+            statistics.Add(Result(DETAILS));
+        }
+
+        STATISTICS.sort((a_first, a_second) -> Integer.compare(a_second.GetGames(), a_first.GetGames()));
+
+        return STATISTICS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final ArrayList<MoveStatistics> GetStatistics(final Board a_board);
+
+    SYNOPSIS
+        public final ArrayList<MoveStatistics> GetStatistics(final Board a_board);
+
+        Board a_board ------------> The position to look up.
+
+    DESCRIPTION
+        This method counts which moves were played from the position on a board.
+
+    RETURNS
+        ArrayList<MoveStatistics> statistics: One entry per move, the most played first.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ArrayList<MoveStatistics> GetStatistics(final Board a_board){
+        return this.GetStatistics(Zobrist.Hash(a_board));
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized GameRecord ReadGame(final long a_offset) throws IOException;
+
+    SYNOPSIS
+        public final synchronized GameRecord ReadGame(final long a_offset) throws IOException;
+
+        long a_offset ------------> The offset of the game, as Add() or a PositionMatch gives it.
+
+    DESCRIPTION
+        This method reads a game from the mapped game file.
+
+    RETURNS
+        GameRecord: The game.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized GameRecord ReadGame(final long a_offset) throws IOException{
+        if(a_offset < GameRecordWriter.FILE_HEADER_SIZE || a_offset >= this.m_gameSize){
+            throw new IOException("No game at offset " + a_offset);
+        }else if(a_offset >= this.m_mappedGameSize){
+            this.MapGames();
+        }
+
+        return GameRecord.Decode(this.GameBuffer(a_offset));
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetFEN(final PositionMatch a_match) throws IOException;
+
+    SYNOPSIS
+        public final String GetFEN(final PositionMatch a_match) throws IOException;
+
+        PositionMatch a_match ----> A game found by Find().
+
+    DESCRIPTION
+        This method replays a game up to the position that was searched for,
+        so the GUI can load it the same way it loads a saved game.
+
+    RETURNS
+        String: The position as a FEN string, move clocks included.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetFEN(final PositionMatch a_match) throws IOException{
+        final GameRecord RECORD = this.ReadGame(a_match.GetOffset());
+        final RecordPosition POSITION = RECORD.Start();
+
+        for(int i = Utilities.ZERO; i < a_match.GetPly(); i++){
+            RECORD.Play(POSITION, i);
+        }
+
+        return POSITION.Write(new StringBuilder(FenWriter.CAPACITY)).toString();
+    }
+
+    /**/
+    /*
+    NAME
+        public final Board GetBoard(final PositionMatch a_match) throws IOException;
+
+    SYNOPSIS
+        public final Board GetBoard(final PositionMatch a_match) throws IOException;
+
+        PositionMatch a_match ----> A game found by Find().
+
+    DESCRIPTION
+        This method builds the board of the position that was searched for.
+        The en passant tile and the move clocks are not part of a Board,
+        so use GetFEN() when they are needed.
+
+    RETURNS
+        Board: The position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Board GetBoard(final PositionMatch a_match) throws IOException{
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(this.GetFEN(a_match))){
+            throw new IOException("Game at offset " + a_match.GetOffset() + " replays to an invalid position: " + PARSER.GetError());
+        }
+        return PARSER.ToBoard();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized long GetEntryCount();
+
+    SYNOPSIS
+        public final synchronized long GetEntryCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many positions are in the index.
+
+    RETURNS
+        long m_entries: The number of searchable positions.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized long GetEntryCount(){
+        return this.m_entries;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized long GetGameFileSize();
+
+    SYNOPSIS
+        public final synchronized long GetGameFileSize();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the size of the game file.
+
+    RETURNS
+        long m_gameSize: The size in bytes.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized long GetGameFileSize(){
+        return this.m_gameSize;
+    }
+
+    /**/
+    /*
+    NAME
+        public static long Hash(final String a_fen);
+
+    SYNOPSIS
+        public static long Hash(final String a_fen);
+
+        String a_fen -------------> A position as a FEN string.
+
+    DESCRIPTION
+        This method computes the key the index files a position under.
+
+    RETURNS
+        long: The Zobrist key of the position.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long Hash(final String a_fen){
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_fen)){
+            throw new IllegalArgumentException(PARSER.GetError() + " at offset " + PARSER.GetErrorOffset());
+        }
+
+        final RecordPosition POSITION = new RecordPosition();
+        POSITION.Load(PARSER);
+        return POSITION.Hash();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void close() throws IOException;
+
+    SYNOPSIS
+        public final synchronized void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method flushes the index and closes the game file.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final synchronized void close() throws IOException{
+        try{
+            this.Flush();
+        }finally{
+            this.m_games.close();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void IndexTail() throws IOException;
+
+    SYNOPSIS
+        private void IndexTail() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads the games the index does not cover yet and remembers their positions.
+        A game that cannot be read ends the scan, and the game file is cut off there,
+        since only the last append can have been interrupted.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void IndexTail() throws IOException{
+        long offset = this.m_indexed;
+
+        while(offset < this.m_gameSize){
+            final GameRecord RECORD;
+            final ByteBuffer BUFFER = this.GameBuffer(offset);
+            final int START = BUFFER.position();
+            try{
+                RECORD = GameRecord.Decode(BUFFER);
+            }catch(IOException e){
+                this.m_games.truncate(offset);
+                this.m_gameSize = offset;
+                this.MapGames();
+                break;
+            }
+
+            this.Remember(RECORD, offset);
+            offset += BUFFER.position() - START;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Remember(final GameRecord a_record, final long a_offset);
+
+    SYNOPSIS
+        private void Remember(final GameRecord a_record, final long a_offset);
+
+        GameRecord a_record ------> A game in the game file.
+
+        long a_offset ------------> Where the game is stored.
+
+    DESCRIPTION
+        This method adds an entry for every position of a game to the unflushed entries.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Remember(final GameRecord a_record, final long a_offset){
+        final long[] KEYS = (a_record.GetKeys() != null ? a_record.GetKeys() : a_record.ComputeKeys());
+        final int NEEDED = this.m_pendingSize + KEYS.length;
+
+        if(NEEDED > this.m_pendingKeys.length){
+            final int CAPACITY = Math.max(NEEDED, this.m_pendingKeys.length * Utilities.TWO);
+            this.m_pendingKeys = Arrays.copyOf(this.m_pendingKeys, CAPACITY);
+            this.m_pendingOffsets = Arrays.copyOf(this.m_pendingOffsets, CAPACITY);
+            this.m_pendingDetails = Arrays.copyOf(this.m_pendingDetails, CAPACITY);
+        }
+
+        for(int ply = Utilities.ZERO; ply < KEYS.length; ply++){
+            final short MOVE = (ply < a_record.GetMoveCount() ? a_record.GetMove(ply) : NO_MOVE);
+            this.m_pendingKeys[this.m_pendingSize] = KEYS[ply];
+            this.m_pendingOffsets[this.m_pendingSize] = a_offset;
+            this.m_pendingDetails[this.m_pendingSize] = (long) ply << PLY_SHIFT | (long) a_record.GetResult() << RESULT_SHIFT | (MOVE & 0xFFFF);
+            this.m_pendingSize++;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void MapGames() throws IOException;
+
+    SYNOPSIS
+        private void MapGames() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method maps the whole game file. Each piece reaches one record past its
+        nominal end, so every game lies entirely within the piece its offset falls in.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void MapGames() throws IOException{
+        final int COUNT = (int) ((this.m_gameSize + GAME_SEGMENT_SIZE - Utilities.ONE) / GAME_SEGMENT_SIZE);
+        this.m_gameSegments = new MappedByteBuffer[COUNT];
+
+        for(int i = Utilities.ZERO; i < COUNT; i++){
+            final long START = i * GAME_SEGMENT_SIZE;
+            final long SIZE = Math.min(this.m_gameSize - START, GAME_SEGMENT_SIZE + MAX_RECORD_SIZE);
+            this.m_gameSegments[i] = this.m_games.map(FileChannel.MapMode.READ_ONLY, START, SIZE);
+        }
+
+        this.m_mappedGameSize = this.m_gameSize;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean MapIndex() throws IOException;
+
+    SYNOPSIS
+        private boolean MapIndex() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method maps the index file if it exists and belongs to the game file.
+
+    RETURNS
+        boolean: True if the index was mapped, and false if it has to be rebuilt.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean MapIndex() throws IOException{
+        if(!Files.isRegularFile(this.m_indexPath)){
+            return false;
+        }
+
+        try(final FileChannel INDEX = FileChannel.open(this.m_indexPath, StandardOpenOption.READ)){
+            final long SIZE = INDEX.size();
+            if(SIZE < INDEX_HEADER_SIZE){
+                return false;
+            }
+
+            final MappedByteBuffer HEADER = INDEX.map(FileChannel.MapMode.READ_ONLY, Utilities.ZERO, INDEX_HEADER_SIZE);
+            for(final byte B : INDEX_MAGIC){
+                if(HEADER.get() != B){
+                    return false;
+                }
+            }
+
+            final int VERSION = HEADER.get() & 0xFF;
+            HEADER.position(Utilities.EIGHT);
+            final long ENTRIES = HEADER.getLong();
+            final long INDEXED = HEADER.getLong();
+
+            if(VERSION != INDEX_VERSION || ENTRIES < Utilities.ZERO || INDEXED > this.m_gameSize
+                || INDEXED < GameRecordWriter.FILE_HEADER_SIZE || SIZE != INDEX_HEADER_SIZE + ENTRIES * ENTRY_SIZE){
+                return false;
+            }
+
+            final long PER_SEGMENT = INDEX_SEGMENT_MASK + Utilities.ONE;
+            final int COUNT = (int) ((ENTRIES + PER_SEGMENT - Utilities.ONE) / PER_SEGMENT);
+            final MappedByteBuffer[] SEGMENTS = new MappedByteBuffer[COUNT];
+
+            for(int i = Utilities.ZERO; i < COUNT; i++){
+                final long FIRST = i * PER_SEGMENT;
+                final long LENGTH = Math.min(PER_SEGMENT, ENTRIES - FIRST) * ENTRY_SIZE;
+                SEGMENTS[i] = INDEX.map(FileChannel.MapMode.READ_ONLY, INDEX_HEADER_SIZE + FIRST * ENTRY_SIZE, LENGTH);
+            }
+
+            this.m_indexSegments = SEGMENTS;
+            this.m_entries = ENTRIES;
+            this.m_indexed = INDEXED;
+        }
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        private ByteBuffer GameBuffer(final long a_offset);
+
+    SYNOPSIS
+        private ByteBuffer GameBuffer(final long a_offset);
+
+        long a_offset ------------> An offset in the game file.
+
+    DESCRIPTION
+        This method returns a view of the mapped game file positioned at an offset.
+
+    RETURNS
+        ByteBuffer: A buffer of its own, so reading it does not move any other.
+
+    AUTHOR
+        Ryan King
+    */
+    private ByteBuffer GameBuffer(final long a_offset){
+        final int SEGMENT = (int) (a_offset / GAME_SEGMENT_SIZE);
+        final ByteBuffer BUFFER = this.m_gameSegments[SEGMENT].duplicate();
+        BUFFER.position((int) (a_offset - SEGMENT * GAME_SEGMENT_SIZE));
+        return BUFFER;
+    }
+
+    /**/
+    /*
+    NAME
+        private long LowerBound(final long a_key);
+
+    SYNOPSIS
+        private long LowerBound(final long a_key);
+
+        long a_key ---------------> A Zobrist key.
+
+    DESCRIPTION
+        This method binary searches the index for the first entry of a key.
+
+    RETURNS
+        long: The index of the first entry whose key is not less than a_key.
+
+    AUTHOR
+        Ryan King
+    */
+    private long LowerBound(final long a_key){
+        long low = Utilities.ZERO, high = this.m_entries;
+
+        while(low < high){
+            final long MIDDLE = (low + high) >>> Utilities.ONE;
+            if(this.EntryKey(MIDDLE) < a_key){
+                low = MIDDLE + Utilities.ONE;
+            }else{
+                high = MIDDLE;
+            }
+        }
+
+        return low;
+    }
+
+    /**/
+    /*
+    NAME
+        private long EntryKey(final long a_entry);
+
+    SYNOPSIS
+        private long EntryKey(final long a_entry);
+
+        long a_entry -------------> The index of an entry.
+
+    DESCRIPTION
+        This method reads the key of an entry.
+
+    RETURNS
+        long: The key.
+
+    AUTHOR
+        Ryan King
+    */
+    private long EntryKey(final long a_entry){
+        return this.EntryField(a_entry, Utilities.ZERO);
+    }
+
+    /**/
+    /*
+    NAME
+        private long EntryOffset(final long a_entry);
+
+    SYNOPSIS
+        private long EntryOffset(final long a_entry);
+
+        long a_entry -------------> The index of an entry.
+
+    DESCRIPTION
+        This method reads the game offset of an entry.
+
+    RETURNS
+        long: The offset.
+
+    AUTHOR
+        Ryan King
+    */
+    private long EntryOffset(final long a_entry){
+        return this.EntryField(a_entry, Long.BYTES);
+    }
+
+    /**/
+    /*
+    NAME
+        private long EntryDetails(final long a_entry);
+
+    SYNOPSIS
+        private long EntryDetails(final long a_entry);
+
+        long a_entry -------------> The index of an entry.
+
+    DESCRIPTION
+        This method reads the ply, result, and next move of an entry.
+
+    RETURNS
+        long: The packed details.
+
+    AUTHOR
+        Ryan King
+    */
+    private long EntryDetails(final long a_entry){
+        return this.EntryField(a_entry, Long.BYTES * Utilities.TWO);
+    }
+
+    /**/
+    /*
+    NAME
+        private long EntryField(final long a_entry, final int a_field);
+
+    SYNOPSIS
+        private long EntryField(final long a_entry, final int a_field);
+
+        long a_entry -------------> The index of an entry.
+
+        int a_field --------------> The byte offset of the field within the entry.
+
+    DESCRIPTION
+        This method reads one field of an entry from the mapped index.
+
+    RETURNS
+        long: The field.
+
+    AUTHOR
+        Ryan King
+    */
+    private long EntryField(final long a_entry, final int a_field){
+        final MappedByteBuffer SEGMENT = this.m_indexSegments[(int) (a_entry >>> INDEX_SEGMENT_SHIFT)];
+        return SEGMENT.getLong((int) (a_entry & INDEX_SEGMENT_MASK) * ENTRY_SIZE + a_field);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Ply(final long a_details);
+
+    SYNOPSIS
+        private static int Ply(final long a_details);
+
+        long a_details -----------> The packed details of an entry.
+
+    DESCRIPTION
+        This method unpacks the ply of an entry.
+
+    RETURNS
+        int: The ply.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Ply(final long a_details){
+        return (int) (a_details >>> PLY_SHIFT);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Result(final long a_details);
+
+    SYNOPSIS
+        private static int Result(final long a_details);
+
+        long a_details -----------> The packed details of an entry.
+
+    DESCRIPTION
+        This method unpacks the result of an entry.
+
+    RETURNS
+        int: The result.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Result(final long a_details){
+        return (int) (a_details >>> RESULT_SHIFT) & 0xFF;
+    }
+
+    /**/
+    /*
+    NAME
+        private static short Move(final long a_details);
+
+    SYNOPSIS
+        private static short Move(final long a_details);
+
+        long a_details -----------> The packed details of an entry.
+
+    DESCRIPTION
+        This method unpacks the next move of an entry.
+
+    RETURNS
+        short: The packed move, or NO_MOVE.
+
+    AUTHOR
+        Ryan King
+    */
+    private static short Move(final long a_details){
+        return (short) a_details;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Compare(final long a_key1, final long a_offset1, final long a_details1, final long a_key2, final long a_offset2, final long a_details2);
+
+    SYNOPSIS
+        private static int Compare(final long a_key1, final long a_offset1, final long a_details1, final long a_key2, final long a_offset2, final long a_details2);
+
+        long a_key1, a_offset1, a_details1 -> The first entry.
+
+        long a_key2, a_offset2, a_details2 -> The second entry.
+
+    DESCRIPTION
+        This method orders entries by key, then by game, then by ply.
+
+    RETURNS
+        int: A negative number, zero, or a positive number as the first entry
+        comes before, with, or after the second.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Compare(final long a_key1, final long a_offset1, final long a_details1, final long a_key2, final long a_offset2, final long a_details2){
+        if(a_key1 != a_key2){
+            return Long.compare(a_key1, a_key2);
+        }else if(a_offset1 != a_offset2){
+            return Long.compare(a_offset1, a_offset2);
+        }
+        return Long.compare(a_details1, a_details2);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Sort(final long[] a_keys, final long[] a_offsets, final long[] a_details, int a_low, int a_high);
+
+    SYNOPSIS
+        private static void Sort(final long[] a_keys, final long[] a_offsets, final long[] a_details, int a_low, int a_high);
+
+        long[] a_keys, a_offsets, a_details -> The entries, one field per array.
+
+        int a_low ----------------> The first entry to sort.
+
+        int a_high ---------------> The last entry to sort.
+
+    DESCRIPTION
+        This method sorts entries in place with quicksort, keeping the three arrays in step.
+        It recurses into the smaller half only, so the stack stays shallow.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Sort(final long[] a_keys, final long[] a_offsets, final long[] a_details, int a_low, int a_high){
+        while(a_high - a_low > Utilities.SIXTEEN){
+            final int MIDDLE = (a_low + a_high) >>> Utilities.ONE;
+            final long KEY = a_keys[MIDDLE], OFFSET = a_offsets[MIDDLE], DETAILS = a_details[MIDDLE];
+            int i = a_low, j = a_high;
+
+            while(i <= j){
+                while(Compare(a_keys[i], a_offsets[i], a_details[i], KEY, OFFSET, DETAILS) < Utilities.ZERO){
+                    i++;
+                }
+                while(Compare(a_keys[j], a_offsets[j], a_details[j], KEY, OFFSET, DETAILS) > Utilities.ZERO){
+                    j--;
+                }
+                if(i <= j){
+                    Swap(a_keys, a_offsets, a_details, i++, j--);
+                }
+            }
+
+            if(j - a_low < a_high - i){
+                Sort(a_keys, a_offsets, a_details, a_low, j);
+                a_low = i;
+            }else{
+                Sort(a_keys, a_offsets, a_details, i, a_high);
+                a_high = j;
+            }
+        }
+
+        // Insertion sort finishes short runs faster than partitioning them
+        for(int i = a_low + Utilities.ONE; i <= a_high; i++){
+            for(int j = i; j > a_low && Compare(a_keys[j - Utilities.ONE], a_offsets[j - Utilities.ONE], a_details[j - Utilities.ONE], a_keys[j], a_offsets[j], a_details[j]) > Utilities.ZERO; j--){
+                Swap(a_keys, a_offsets, a_details, j - Utilities.ONE, j);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Swap(final long[] a_keys, final long[] a_offsets, final long[] a_details, final int a_first, final int a_second);
+
+    SYNOPSIS
+        private static void Swap(final long[] a_keys, final long[] a_offsets, final long[] a_details, final int a_first, final int a_second);
+
+        long[] a_keys, a_offsets, a_details -> The entries, one field per array.
+
+        int a_first --------------> One entry.
+
+        int a_second -------------> The other entry.
+
+    DESCRIPTION
+        This method swaps two entries.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Swap(final long[] a_keys, final long[] a_offsets, final long[] a_details, final int a_first, final int a_second){
+        final long KEY = a_keys[a_first], OFFSET = a_offsets[a_first], DETAILS = a_details[a_first];
+        a_keys[a_first] = a_keys[a_second];
+        a_offsets[a_first] = a_offsets[a_second];
+        a_details[a_first] = a_details[a_second];
+        a_keys[a_second] = KEY;
+        a_offsets[a_second] = OFFSET;
+        a_details[a_second] = DETAILS;
+    }
+}
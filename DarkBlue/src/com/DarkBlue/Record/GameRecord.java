@@ -0,0 +1,665 @@
+package com.DarkBlue.Record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class stores a game as its starting position, the packed moves
+ * that were played from it, and its result, instead of one FEN string per move.
+ *
+ * A game of 100 moves takes a little over 200 bytes this way instead of the
+ * 6,000 or so its FEN strings take, and every position can still be rebuilt
+ * exactly, clocks and all, by replaying the moves. The Zobrist key of every position
+ * can be stored alongside the moves so games can be searched by position without
+ * replaying them.
+ *
+ * Each record is encoded as follows, with every number big-endian:
+ *
+ *     u32   the number of bytes that follow
+ *     u8    flags: bit 0 if keys are stored, bit 1 if the game starts from the standard position
+ *     u8    the result
+ *     u8    the length of the starting FEN string, and its ASCII text; left out if bit 1 is set
+ *     u16   the number of moves, followed by that many packed moves
+ *     i64   one key for each position, from the start through the final position; only if bit 0 is set
+ */
+public final class GameRecord{
+
+    public static final int RESULT_UNKNOWN = Utilities.ZERO;
+    public static final int WHITE_WINS = Utilities.ONE;
+    public static final int BLACK_WINS = Utilities.TWO;
+    public static final int DRAW = Utilities.THREE;
+
+    // The result as it is written at the end of a PGN game, indexed by the constants above
+    public static final String[] RESULTS = {"*", "1-0", "0-1", "1/2-1/2"};
+
+    public static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    public static final int FLAG_KEYS = Utilities.ONE;
+    public static final int FLAG_STANDARD_START = Utilities.TWO;
+
+    // A u16 move count and a u8 FEN length bound the size of a record
+    public static final int MAX_MOVES = 0xFFFF;
+    public static final int MAX_FEN_LENGTH = 0xFF;
+
+    // The u32 length, the flags, and the result
+    public static final int HEADER_SIZE = Utilities.SIX;
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final String m_startingFEN;
+    private short[] m_moves;
+    private int m_size;
+    private int m_result;
+
+    // The keys read from an encoded record, if it had any
+    private long[] m_keys;
+
+    /**/
+    /*
+    NAME
+        public GameRecord(final String a_startingFEN);
+
+    SYNOPSIS
+        public GameRecord(final String a_startingFEN);
+
+        String a_startingFEN -----> The position the game starts from.
+
+    DESCRIPTION
+        This constructor creates a record with no moves and an unknown result.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameRecord(final String a_startingFEN){
+        if(!new FenParser().Parse(a_startingFEN)){
+            throw new IllegalArgumentException("Invalid starting FEN: " + a_startingFEN);
+        }else if(a_startingFEN.trim().length() > MAX_FEN_LENGTH){
+            throw new IllegalArgumentException("Starting FEN is too long: " + a_startingFEN);
+        }
+
+        this.m_startingFEN = a_startingFEN.trim();
+        this.m_moves = new short[INITIAL_CAPACITY];
+        this.m_size = Utilities.ZERO;
+        this.m_result = RESULT_UNKNOWN;
+        this.m_keys = null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Add(final short a_move);
+
+    SYNOPSIS
+        public final void Add(final short a_move);
+
+        short a_move -------------> The packed move that was played.
+
+    DESCRIPTION
+        This method adds a move to the end of the game, growing the record if needed.
+        Any keys read along with the record no longer match and are dropped.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Add(final short a_move){
+        if(this.m_size == MAX_MOVES){
+            throw new IllegalStateException("A record cannot hold more than " + MAX_MOVES + " moves");
+        }else if(this.m_size == this.m_moves.length){
+            this.m_moves = Arrays.copyOf(this.m_moves, this.m_size * Utilities.TWO);
+        }
+        this.m_moves[this.m_size++] = a_move;
+        this.m_keys = null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Truncate(final int a_size);
+
+    SYNOPSIS
+        public final void Truncate(final int a_size);
+
+        int a_size ---------------> The number of moves to keep.
+
+    DESCRIPTION
+        This method forgets every move after the first a_size, which is how an undo is recorded.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Truncate(final int a_size){
+        final int SIZE = Math.max(Utilities.ZERO, Math.min(this.m_size, a_size));
+        if(SIZE != this.m_size){
+            this.m_size = SIZE;
+            this.m_keys = null;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final short GetMove(final int a_index);
+
+    SYNOPSIS
+        public final short GetMove(final int a_index);
+
+        int a_index --------------> The index of the move, starting from 0.
+
+    DESCRIPTION
+        This method returns a move of the game.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short GetMove(final int a_index){
+        if(a_index < Utilities.ZERO || a_index >= this.m_size){
+            throw new IndexOutOfBoundsException("Move " + a_index + " of " + this.m_size);
+        }
+        return this.m_moves[a_index];
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetMoveCount();
+
+    SYNOPSIS
+        public final int GetMoveCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many moves have been played.
+
+    RETURNS
+        int m_size: The number of moves.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetMoveCount(){
+        return this.m_size;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetStartingFEN();
+
+    SYNOPSIS
+        public final String GetStartingFEN();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the position the game starts from.
+
+    RETURNS
+        String m_startingFEN: The starting FEN string.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetStartingFEN(){
+        return this.m_startingFEN;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetResult();
+
+    SYNOPSIS
+        public final int GetResult();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the result of the game.
+
+    RETURNS
+        int m_result: One of RESULT_UNKNOWN, WHITE_WINS, BLACK_WINS, or DRAW.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetResult(){
+        return this.m_result;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetResult(final int a_result);
+
+    SYNOPSIS
+        public final void SetResult(final int a_result);
+
+        int a_result -------------> One of RESULT_UNKNOWN, WHITE_WINS, BLACK_WINS, or DRAW.
+
+    DESCRIPTION
+        This method records the result of the game.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetResult(final int a_result){
+        if(a_result < RESULT_UNKNOWN || a_result > DRAW){
+            throw new IllegalArgumentException("Invalid result: " + a_result);
+        }
+        this.m_result = a_result;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long[] GetKeys();
+
+    SYNOPSIS
+        public final long[] GetKeys();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the keys that were stored with the record when it was decoded.
+
+    RETURNS
+        long[] m_keys: One key per position, or null if none were stored or the moves have changed since.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long[] GetKeys(){
+        return this.m_keys;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long[] ComputeKeys();
+
+    SYNOPSIS
+        public final long[] ComputeKeys();
+
+        No parameters.
+
+    DESCRIPTION
+        This method replays the game and computes the Zobrist key of every position.
+
+    RETURNS
+        long[] keys: GetMoveCount() + 1 keys, from the starting position through the final one.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long[] ComputeKeys(){
+        final long[] KEYS = new long[this.m_size + Utilities.ONE];
+        final RecordPosition POSITION = this.Start();
+
+        KEYS[Utilities.ZERO] = POSITION.Hash();
+        for(int i = Utilities.ZERO; i < this.m_size; i++){
+            this.Play(POSITION, i);
+            KEYS[i + Utilities.ONE] = POSITION.Hash();
+        }
+
+        return KEYS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final List<String> ToPositions();
+
+    SYNOPSIS
+        public final List<String> ToPositions();
+
+        No parameters.
+
+    DESCRIPTION
+        This method replays the game and writes every position as a FEN string.
+
+    RETURNS
+        List<String> positions: GetMoveCount() + 1 FEN strings, from the starting position through the final one.
+
+    AUTHOR
+        Ryan King
+    */
+    public final List<String> ToPositions(){
+        final List<String> POSITIONS = new ArrayList<>(this.m_size + Utilities.ONE);
+        final RecordPosition POSITION = this.Start();
+        final StringBuilder BUILDER = new StringBuilder(FenWriter.CAPACITY);
+
+        POSITIONS.add(POSITION.Write(BUILDER).toString());
+        for(int i = Utilities.ZERO; i < this.m_size; i++){
+            this.Play(POSITION, i);
+            BUILDER.setLength(Utilities.ZERO);
+            POSITIONS.add(POSITION.Write(BUILDER).toString());
+        }
+
+        return POSITIONS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final RecordPosition Start();
+
+    SYNOPSIS
+        public final RecordPosition Start();
+
+        No parameters.
+
+    DESCRIPTION
+        This method creates the starting position of the game,
+        which Play() can then move forward one move at a time.
+
+    RETURNS
+        RecordPosition: The starting position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final RecordPosition Start(){
+        final FenParser PARSER = new FenParser();
+        PARSER.Parse(this.m_startingFEN);
+        final RecordPosition POSITION = new RecordPosition();
+        POSITION.Load(PARSER);
+        return POSITION;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Play(final RecordPosition a_position, final int a_index);
+
+    SYNOPSIS
+        public final void Play(final RecordPosition a_position, final int a_index);
+
+        RecordPosition a_position -> The position before the move.
+
+        int a_index --------------> The index of the move to play.
+
+    DESCRIPTION
+        This method plays one move of the game on a position.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Play(final RecordPosition a_position, final int a_index){
+        if(!a_position.Apply(this.GetMove(a_index))){
+            throw new IllegalStateException("Move " + (a_index + Utilities.ONE) + " cannot be played in this position");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static GameRecord FromPositions(final List<String> a_positions);
+
+    SYNOPSIS
+        public static GameRecord FromPositions(final List<String> a_positions);
+
+        List<String> a_positions -> Every position of a game as a FEN string, starting with the first one.
+
+    DESCRIPTION
+        This method converts a game stored as one FEN string per move into a record.
+        The move between each pair of positions is worked out and replayed, and the
+        replayed position must match the next FEN string exactly, clocks included.
+
+    RETURNS
+        GameRecord: The record of the game, with an unknown result.
+
+    AUTHOR
+        Ryan King
+    */
+    public static GameRecord FromPositions(final List<String> a_positions){
+        if(a_positions.isEmpty()){
+            throw new IllegalArgumentException("A game needs at least one position");
+        }
+
+        final GameRecord RECORD = new GameRecord(a_positions.get(Utilities.ZERO));
+        final FenParser PARSER = new FenParser();
+        final RecordPosition CURRENT = RECORD.Start();
+        final RecordPosition NEXT = new RecordPosition();
+
+        for(int i = Utilities.ONE; i < a_positions.size(); i++){
+            if(!PARSER.Parse(a_positions.get(i))){
+                throw new IllegalArgumentException("Position " + i + ": " + PARSER.GetError());
+            }
+            NEXT.Load(PARSER);
+
+            final short MOVE = CURRENT.Diff(NEXT);
+            if(MOVE < Utilities.ZERO || !CURRENT.Apply(MOVE) || !CURRENT.IsSamePosition(NEXT)){
+                throw new IllegalArgumentException("Position " + i + " does not follow from the one before it by a single move");
+            }
+            RECORD.Add(MOVE);
+        }
+
+        return RECORD;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int EncodedSize(final boolean a_withKeys);
+
+    SYNOPSIS
+        public final int EncodedSize(final boolean a_withKeys);
+
+        boolean a_withKeys -------> If the keys of every position will be stored.
+
+    DESCRIPTION
+        This method computes how many bytes Encode() will write.
+
+    RETURNS
+        int: The size of the encoded record, including its length prefix.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int EncodedSize(final boolean a_withKeys){
+        int size = HEADER_SIZE + Utilities.TWO + this.m_size * Short.BYTES;
+
+        if(!this.IsStandardStart()){
+            size += Utilities.ONE + this.m_startingFEN.length();
+        }
+
+        if(a_withKeys){
+            size += (this.m_size + Utilities.ONE) * Long.BYTES;
+        }
+
+        return size;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Encode(final ByteBuffer a_buffer, final boolean a_withKeys);
+
+    SYNOPSIS
+        public final void Encode(final ByteBuffer a_buffer, final boolean a_withKeys);
+
+        ByteBuffer a_buffer ------> The buffer to write to, which needs EncodedSize() bytes left.
+
+        boolean a_withKeys -------> If the keys of every position should be stored.
+
+    DESCRIPTION
+        This method writes the record in the format described at the top of this file.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Encode(final ByteBuffer a_buffer, final boolean a_withKeys){
+        final boolean STANDARD = this.IsStandardStart();
+        final int FLAGS = (a_withKeys ? FLAG_KEYS : Utilities.ZERO) | (STANDARD ? FLAG_STANDARD_START : Utilities.ZERO);
+
+        a_buffer.putInt(this.EncodedSize(a_withKeys) - Integer.BYTES);
+        a_buffer.put((byte) FLAGS);
+        a_buffer.put((byte) this.m_result);
+
+        if(!STANDARD){
+            a_buffer.put((byte) this.m_startingFEN.length());
+            for(int i = Utilities.ZERO; i < this.m_startingFEN.length(); i++){
+                a_buffer.put((byte) this.m_startingFEN.charAt(i));
+            }
+        }
+
+        a_buffer.putShort((short) this.m_size);
+        for(int i = Utilities.ZERO; i < this.m_size; i++){
+            a_buffer.putShort(this.m_moves[i]);
+        }
+
+        if(a_withKeys){
+            final long[] KEYS = (this.m_keys != null ? this.m_keys : this.ComputeKeys());
+            for(final long KEY : KEYS){
+                a_buffer.putLong(KEY);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static GameRecord Decode(final ByteBuffer a_buffer) throws IOException;
+
+    SYNOPSIS
+        public static GameRecord Decode(final ByteBuffer a_buffer) throws IOException;
+
+        ByteBuffer a_buffer ------> The buffer to read from, positioned at the length prefix of a record.
+
+    DESCRIPTION
+        This method reads a record written by Encode(). The buffer is left
+        just after the record. Every move is replayed to make sure it can be played.
+
+    RETURNS
+        GameRecord: The record that was read.
+
+    AUTHOR
+        Ryan King
+    */
+    public static GameRecord Decode(final ByteBuffer a_buffer) throws IOException{
+        if(a_buffer.remaining() < HEADER_SIZE){
+            throw new IOException("Truncated record header");
+        }
+
+        final int LENGTH = a_buffer.getInt();
+        if(LENGTH < HEADER_SIZE - Integer.BYTES + Utilities.TWO || LENGTH > a_buffer.remaining()){
+            throw new IOException("Invalid record length " + LENGTH);
+        }
+
+        final int END = a_buffer.position() + LENGTH;
+        final int FLAGS = a_buffer.get() & 0xFF;
+        final int RESULT = a_buffer.get() & 0xFF;
+
+        if((FLAGS & ~(FLAG_KEYS | FLAG_STANDARD_START)) != Utilities.ZERO){
+            throw new IOException("Unknown record flags " + FLAGS);
+        }else if(RESULT > DRAW){
+            throw new IOException("Invalid result " + RESULT);
+        }
+
+        final String FEN;
+        if((FLAGS & FLAG_STANDARD_START) != Utilities.ZERO){
+            FEN = STARTING_FEN;
+        }else{
+            final int FEN_LENGTH = a_buffer.get() & 0xFF;
+            if(a_buffer.position() + FEN_LENGTH > END){
+                throw new IOException("Truncated starting FEN");
+            }
+            final byte[] TEXT = new byte[FEN_LENGTH];
+            a_buffer.get(TEXT);
+            FEN = new String(TEXT, StandardCharsets.US_ASCII);
+            if(!new FenParser().Parse(FEN)){
+                throw new IOException("Invalid starting FEN: " + FEN);
+            }
+        }
+
+        if(a_buffer.position() + Utilities.TWO > END){
+            throw new IOException("Truncated move count");
+        }
+
+        final int MOVES = a_buffer.getShort() & 0xFFFF;
+        final boolean KEYS = (FLAGS & FLAG_KEYS) != Utilities.ZERO;
+        final int EXPECTED = MOVES * Short.BYTES + (KEYS ? (MOVES + Utilities.ONE) * Long.BYTES : Utilities.ZERO);
+        if(END - a_buffer.position() != EXPECTED){
+            throw new IOException("Record length does not match its " + MOVES + " moves");
+        }
+
+        final GameRecord RECORD = new GameRecord(FEN);
+        RECORD.m_moves = new short[Math.max(INITIAL_CAPACITY, MOVES)];
+        for(int i = Utilities.ZERO; i < MOVES; i++){
+            RECORD.m_moves[i] = a_buffer.getShort();
+        }
+        RECORD.m_size = MOVES;
+        RECORD.m_result = RESULT;
+
+        // Replaying catches corrupt moves now instead of whenever the positions are first needed
+        final RecordPosition POSITION = RECORD.Start();
+        for(int i = Utilities.ZERO; i < MOVES; i++){
+            if(!POSITION.Apply(RECORD.m_moves[i])){
+                throw new IOException("Move " + (i + Utilities.ONE) + " cannot be played");
+            }
+        }
+
+        if(KEYS){
+            RECORD.m_keys = new long[MOVES + Utilities.ONE];
+            for(int i = Utilities.ZERO; i <= MOVES; i++){
+                RECORD.m_keys[i] = a_buffer.getLong();
+            }
+        }
+
+        return RECORD;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsStandardStart();
+
+    SYNOPSIS
+        private boolean IsStandardStart();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the game starts from the standard position,
+        in which case its FEN string is left out of the encoded record.
+
+    RETURNS
+        boolean: True if the game starts from the standard position, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsStandardStart(){
+        return this.m_startingFEN.equals(STARTING_FEN);
+    }
+}
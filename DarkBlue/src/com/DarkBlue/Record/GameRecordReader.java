@@ -0,0 +1,151 @@
+package com.DarkBlue.Record;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class reads the game records GameRecordWriter writes, one at a time.
+ */
+public final class GameRecordReader implements Closeable{
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final DataInputStream m_stream;
+    private ByteBuffer m_buffer;
+
+    /**/
+    /*
+    NAME
+        public GameRecordReader(final InputStream a_stream) throws IOException;
+
+    SYNOPSIS
+        public GameRecordReader(final InputStream a_stream) throws IOException;
+
+        InputStream a_stream -----> The stream to read from.
+
+    DESCRIPTION
+        This constructor reads and checks the file header.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameRecordReader(final InputStream a_stream) throws IOException{
+        this.m_stream = new DataInputStream(a_stream);
+        this.m_buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+        final byte[] HEADER = new byte[GameRecordWriter.FILE_HEADER_SIZE];
+        this.m_stream.readFully(HEADER);
+        CheckHeader(ByteBuffer.wrap(HEADER));
+    }
+
+    /**/
+    /*
+    NAME
+        public final GameRecord Next() throws IOException;
+
+    SYNOPSIS
+        public final GameRecord Next() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads the next game from the stream.
+
+    RETURNS
+        GameRecord: The next game, or null if the stream ended cleanly after the last one.
+
+    AUTHOR
+        Ryan King
+    */
+    public final GameRecord Next() throws IOException{
+        final int LENGTH;
+        try{
+            LENGTH = this.m_stream.readInt();
+        }catch(EOFException e){
+            return null;
+        }
+
+        if(LENGTH < Utilities.ZERO){
+            throw new IOException("Invalid record length " + LENGTH);
+        }else if(LENGTH + Integer.BYTES > this.m_buffer.capacity()){
+            this.m_buffer = ByteBuffer.allocate(Math.max(LENGTH + Integer.BYTES, this.m_buffer.capacity() * Utilities.TWO));
+        }
+
+        this.m_buffer.clear();
+        this.m_buffer.putInt(LENGTH);
+        this.m_stream.readFully(this.m_buffer.array(), Integer.BYTES, LENGTH);
+        this.m_buffer.limit(Integer.BYTES + LENGTH);
+        this.m_buffer.position(Utilities.ZERO);
+
+        return GameRecord.Decode(this.m_buffer);
+    }
+
+    /**/
+    /*
+    NAME
+        public static void CheckHeader(final ByteBuffer a_buffer) throws IOException;
+
+    SYNOPSIS
+        public static void CheckHeader(final ByteBuffer a_buffer) throws IOException;
+
+        ByteBuffer a_buffer ------> The buffer to read from, positioned at the start of the file.
+
+    DESCRIPTION
+        This method reads the magic number and version at the start of a record file.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void CheckHeader(final ByteBuffer a_buffer) throws IOException{
+        if(a_buffer.remaining() < GameRecordWriter.FILE_HEADER_SIZE){
+            throw new IOException("Truncated file header");
+        }
+
+        for(final byte B : GameRecordWriter.MAGIC){
+            if(a_buffer.get() != B){
+                throw new IOException("Not a game record file");
+            }
+        }
+
+        final int VERSION = a_buffer.get() & 0xFF;
+        if(VERSION != GameRecordWriter.VERSION){
+            throw new IOException("Unsupported game record version " + VERSION);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void close() throws IOException;
+
+    SYNOPSIS
+        public final void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method closes the underlying stream.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void close() throws IOException{
+        this.m_stream.close();
+    }
+}
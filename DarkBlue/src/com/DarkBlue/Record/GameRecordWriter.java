@@ -0,0 +1,144 @@
+package com.DarkBlue.Record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class writes game records to a stream one after another.
+ *
+ * The stream starts with the four bytes "DBGR" and a version byte,
+ * followed by records in the format GameRecord describes. Records are
+ * encoded into one buffer that is reused and only grows for unusually long games.
+ */
+public final class GameRecordWriter implements Closeable{
+
+    public static final byte[] MAGIC = {'D', 'B', 'G', 'R'};
+    public static final int VERSION = Utilities.ONE;
+
+    // The magic number and the version
+    public static final int FILE_HEADER_SIZE = Utilities.FIVE;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final OutputStream m_stream;
+    private final boolean m_withKeys;
+    private ByteBuffer m_buffer;
+    private long m_written;
+
+    /**/
+    /*
+    NAME
+        public GameRecordWriter(final OutputStream a_stream, final boolean a_withKeys) throws IOException;
+
+    SYNOPSIS
+        public GameRecordWriter(final OutputStream a_stream, final boolean a_withKeys) throws IOException;
+
+        OutputStream a_stream ----> The stream to write to.
+
+        boolean a_withKeys -------> If the Zobrist key of every position should be stored with each game.
+
+    DESCRIPTION
+        This constructor writes the file header.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameRecordWriter(final OutputStream a_stream, final boolean a_withKeys) throws IOException{
+        this.m_stream = a_stream;
+        this.m_withKeys = a_withKeys;
+        this.m_buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+        this.m_stream.write(MAGIC);
+        this.m_stream.write(VERSION);
+        this.m_written = FILE_HEADER_SIZE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Write(final GameRecord a_record) throws IOException;
+
+    SYNOPSIS
+        public final long Write(final GameRecord a_record) throws IOException;
+
+        GameRecord a_record ------> The game to write.
+
+    DESCRIPTION
+        This method appends a game to the stream.
+
+    RETURNS
+        long: The offset of the record from the start of the stream,
+        which is where a database index points to find it again.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Write(final GameRecord a_record) throws IOException{
+        final int SIZE = a_record.EncodedSize(this.m_withKeys);
+        if(SIZE > this.m_buffer.capacity()){
+            this.m_buffer = ByteBuffer.allocate(Math.max(SIZE, this.m_buffer.capacity() * Utilities.TWO));
+        }
+
+        this.m_buffer.clear();
+        a_record.Encode(this.m_buffer, this.m_withKeys);
+        this.m_stream.write(this.m_buffer.array(), Utilities.ZERO, this.m_buffer.position());
+
+        final long OFFSET = this.m_written;
+        this.m_written += SIZE;
+        return OFFSET;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetBytesWritten();
+
+    SYNOPSIS
+        public final long GetBytesWritten();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many bytes have been written, including the file header.
+
+    RETURNS
+        long m_written: The number of bytes written.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetBytesWritten(){
+        return this.m_written;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void close() throws IOException;
+
+    SYNOPSIS
+        public final void close() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method closes the underlying stream.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void close() throws IOException{
+        this.m_stream.close();
+    }
+}
@@ -0,0 +1,160 @@
+package com.DarkBlue.Record;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class counts how the games in a GameDatabase went
+ * after one particular move was played from a position.
+ */
+public final class MoveStatistics{
+
+    private final short m_move;
+    private final int[] m_results;
+    private int m_games;
+
+    /**/
+    /*
+    NAME
+        public MoveStatistics(final short a_move);
+
+    SYNOPSIS
+        public MoveStatistics(final short a_move);
+
+        short a_move -------------> The packed move, or GameDatabase.NO_MOVE for games that ended in the position.
+
+    DESCRIPTION
+        This constructor creates statistics with no games.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public MoveStatistics(final short a_move){
+        this.m_move = a_move;
+        this.m_results = new int[GameRecord.RESULTS.length];
+        this.m_games = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Add(final int a_result);
+
+    SYNOPSIS
+        public final void Add(final int a_result);
+
+        int a_result -------------> The result of one more game, as a GameRecord result.
+
+    DESCRIPTION
+        This method counts one more game.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Add(final int a_result){
+        this.m_results[a_result]++;
+        this.m_games++;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short GetMove();
+
+    SYNOPSIS
+        public final short GetMove();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the move these statistics are for.
+
+    RETURNS
+        short m_move: The packed move, or GameDatabase.NO_MOVE.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short GetMove(){
+        return this.m_move;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetGames();
+
+    SYNOPSIS
+        public final int GetGames();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many games played the move.
+
+    RETURNS
+        int m_games: The number of games.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetGames(){
+        return this.m_games;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetGames(final int a_result);
+
+    SYNOPSIS
+        public final int GetGames(final int a_result);
+
+        int a_result -------------> One of the GameRecord result constants.
+
+    DESCRIPTION
+        This method returns how many games that played the move ended a given way.
+
+    RETURNS
+        int: The number of games with that result.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetGames(final int a_result){
+        return this.m_results[a_result];
+    }
+
+    /**/
+    /*
+    NAME
+        public final double GetScore();
+
+    SYNOPSIS
+        public final double GetScore();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the share of points white scored in the games
+        with a known result, counting a draw as half a point.
+
+    RETURNS
+        double: The score from 0 to 1, or 0.5 if no game has a known result.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double GetScore(){
+        final int DECIDED = this.m_games - this.m_results[GameRecord.RESULT_UNKNOWN];
+        if(DECIDED == Utilities.ZERO){
+            return 0.5;
+        }
+        return (this.m_results[GameRecord.WHITE_WINS] + 0.5 * this.m_results[GameRecord.DRAW]) / DECIDED;
+    }
+}
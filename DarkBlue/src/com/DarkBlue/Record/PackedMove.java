@@ -0,0 +1,270 @@
+package com.DarkBlue.Record;
+
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This interface packs a move into 16 bits for compact game records.
+ *
+ * Bits 0 to 5 hold the tile the piece moves from and bits 6 to 11 the tile
+ * it moves to, where a tile is row * 8 + column and row 0 is the eighth rank,
+ * the same numbering Zobrist and the NNUE features use. Bits 12 to 14 hold the
+ * piece a pawn promotes to, if any, and bit 15 is always clear.
+ *
+ * Nothing else is needed to replay a move: castling is a king moving two columns,
+ * and an en passant capture is a pawn moving diagonally onto an empty tile.
+ */
+public interface PackedMove{
+
+    // What a pawn promotes to; one more than the button index Factory.PromotedPieceFactory() takes
+    public static final int NO_PROMOTION = Utilities.ZERO;
+    public static final int QUEEN = Utilities.ONE;
+    public static final int ROOK = Utilities.TWO;
+    public static final int BISHOP = Utilities.THREE;
+    public static final int KNIGHT = Utilities.FOUR;
+
+    public static final int TO_SHIFT = Utilities.SIX;
+    public static final int PROMOTION_SHIFT = 12;
+    public static final int TILE_MASK = 0x3F;
+    public static final int PROMOTION_MASK = 0x7;
+
+    /**/
+    /*
+    NAME
+        public static short Encode(final int a_from, final int a_to, final int a_promotion);
+
+    SYNOPSIS
+        public static short Encode(final int a_from, final int a_to, final int a_promotion);
+
+        int a_from ---------------> The tile the piece moves from.
+
+        int a_to -----------------> The tile the piece moves to.
+
+        int a_promotion ----------> One of NO_PROMOTION, QUEEN, ROOK, BISHOP, or KNIGHT.
+
+    DESCRIPTION
+        This method packs a move.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static short Encode(final int a_from, final int a_to, final int a_promotion){
+        return (short)((a_from & TILE_MASK) | (a_to & TILE_MASK) << TO_SHIFT | (a_promotion & PROMOTION_MASK) << PROMOTION_SHIFT);
+    }
+
+    /**/
+    /*
+    NAME
+        public static short FromMove(final Move a_move, final int a_promotion);
+
+    SYNOPSIS
+        public static short FromMove(final Move a_move, final int a_promotion);
+
+        Move a_move --------------> The move the engine or the user made.
+
+        int a_promotion ----------> What the pawn was promoted to afterward, or NO_PROMOTION.
+
+    DESCRIPTION
+        This method packs one of the engine's moves. Promotion is a separate step
+        after the move in this engine, so the caller says what the pawn became.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static short FromMove(final Move a_move, final int a_promotion){
+        return Encode(a_move.GetOldRow() * Utilities.EIGHT + a_move.GetOldColumn(), a_move.GetNewRow() * Utilities.EIGHT + a_move.GetNewColumn(), a_promotion);
+    }
+
+    /**/
+    /*
+    NAME
+        public static int From(final short a_move);
+
+    SYNOPSIS
+        public static int From(final short a_move);
+
+        short a_move -------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the tile a move starts on.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int From(final short a_move){
+        return a_move & TILE_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int To(final short a_move);
+
+    SYNOPSIS
+        public static int To(final short a_move);
+
+        short a_move -------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the tile a move ends on.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int To(final short a_move){
+        return (a_move >>> TO_SHIFT) & TILE_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int Promotion(final short a_move);
+
+    SYNOPSIS
+        public static int Promotion(final short a_move);
+
+        short a_move -------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks what a move promotes to.
+
+    RETURNS
+        int: One of NO_PROMOTION, QUEEN, ROOK, BISHOP, or KNIGHT.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Promotion(final short a_move){
+        return (a_move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+    }
+
+    /**/
+    /*
+    NAME
+        public static StringBuilder Append(final short a_move, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public static StringBuilder Append(final short a_move, final StringBuilder a_builder);
+
+        short a_move -------------> A packed move.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes a move as its two tiles followed by the lowercase
+        letter of the promoted piece, if any, e.g. "e2e4" or "e7e8q".
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static StringBuilder Append(final short a_move, final StringBuilder a_builder){
+        AppendTile(From(a_move), a_builder);
+        AppendTile(To(a_move), a_builder);
+        final int PROMOTION = Promotion(a_move);
+        if(PROMOTION != NO_PROMOTION){
+            a_builder.append(" qrbn".charAt(PROMOTION));
+        }
+        return a_builder;
+    }
+
+    /**/
+    /*
+    NAME
+        public static short Parse(final String a_move);
+
+    SYNOPSIS
+        public static short Parse(final String a_move);
+
+        String a_move ------------> A move written the way Append() writes it, e.g. "e2e4" or "e7e8q".
+
+    DESCRIPTION
+        This method reads a move back from its two tiles and promotion letter.
+        Whether the move is legal anywhere is left to the caller.
+
+    RETURNS
+        short: The packed move.
+
+    AUTHOR
+        Ryan King
+    */
+    public static short Parse(final String a_move){
+        final int LENGTH = a_move.length();
+        final int PROMOTION = (LENGTH == Utilities.FIVE ? " qrbn".indexOf(Character.toLowerCase(a_move.charAt(Utilities.FOUR))) : NO_PROMOTION);
+        if((LENGTH != Utilities.FOUR && LENGTH != Utilities.FIVE) || (LENGTH == Utilities.FIVE && PROMOTION < QUEEN)){
+            throw new IllegalArgumentException("Invalid move " + a_move);
+        }
+
+        return Encode(ParseTile(a_move, Utilities.ZERO), ParseTile(a_move, Utilities.TWO), PROMOTION);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int ParseTile(final String a_move, final int a_offset);
+
+    SYNOPSIS
+        private static int ParseTile(final String a_move, final int a_offset);
+
+        String a_move ------------> The move being read.
+
+        int a_offset -------------> Where the tile's file letter is.
+
+    DESCRIPTION
+        This method reads a tile in algebraic notation.
+
+    RETURNS
+        int: The tile, from 0 to 63.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int ParseTile(final String a_move, final int a_offset){
+        final int COLUMN = a_move.charAt(a_offset) - Utilities.A;
+        final int RANK = a_move.charAt(a_offset + Utilities.ONE) - '0';
+        if(COLUMN < Utilities.ZERO || COLUMN >= Utilities.EIGHT || RANK < Utilities.ONE || RANK > Utilities.EIGHT){
+            throw new IllegalArgumentException("Invalid move " + a_move);
+        }
+
+        return (Utilities.EIGHT - RANK) * Utilities.EIGHT + COLUMN;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void AppendTile(final int a_tile, final StringBuilder a_builder);
+
+    SYNOPSIS
+        private static void AppendTile(final int a_tile, final StringBuilder a_builder);
+
+        int a_tile ---------------> The tile, from 0 to 63.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method writes a tile in algebraic notation.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void AppendTile(final int a_tile, final StringBuilder a_builder){
+        a_builder.append((char)(Utilities.A + a_tile % Utilities.EIGHT)).append((char)('0' + Utilities.EIGHT - a_tile / Utilities.EIGHT));
+    }
+}
@@ -0,0 +1,138 @@
+package com.DarkBlue.Record;
+
+/**
+ * This class describes one game in a GameDatabase that reached a position:
+ * where the game is stored, at which ply it reached the position,
+ * what was played next, and how the game ended.
+ */
+public final class PositionMatch{
+
+    private final long m_offset;
+    private final int m_ply;
+    private final short m_nextMove;
+    private final int m_result;
+
+    /**/
+    /*
+    NAME
+        public PositionMatch(final long a_offset, final int a_ply, final short a_nextMove, final int a_result);
+
+    SYNOPSIS
+        public PositionMatch(final long a_offset, final int a_ply, final short a_nextMove, final int a_result);
+
+        long a_offset ------------> The offset of the game in the game file.
+
+        int a_ply ----------------> How many moves into the game the position was reached.
+
+        short a_nextMove ---------> The packed move played from the position, or GameDatabase.NO_MOVE.
+
+        int a_result -------------> The result of the game, as a GameRecord result.
+
+    DESCRIPTION
+        This constructor creates a new match.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PositionMatch(final long a_offset, final int a_ply, final short a_nextMove, final int a_result){
+        this.m_offset = a_offset;
+        this.m_ply = a_ply;
+        this.m_nextMove = a_nextMove;
+        this.m_result = a_result;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetOffset();
+
+    SYNOPSIS
+        public final long GetOffset();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns where the game is stored, which GameDatabase.ReadGame() takes.
+
+    RETURNS
+        long m_offset: The offset of the game in the game file.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetOffset(){
+        return this.m_offset;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetPly();
+
+    SYNOPSIS
+        public final int GetPly();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many moves into the game the position was reached.
+
+    RETURNS
+        int m_ply: The ply, where 0 is the starting position of the game.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetPly(){
+        return this.m_ply;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short GetNextMove();
+
+    SYNOPSIS
+        public final short GetNextMove();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the move played from the position.
+
+    RETURNS
+        short m_nextMove: The packed move, or GameDatabase.NO_MOVE if the game ended there.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short GetNextMove(){
+        return this.m_nextMove;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetResult();
+
+    SYNOPSIS
+        public final int GetResult();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how the game ended.
+
+    RETURNS
+        int m_result: One of the GameRecord result constants.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetResult(){
+        return this.m_result;
+    }
+}
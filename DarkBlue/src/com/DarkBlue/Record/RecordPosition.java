@@ -0,0 +1,542 @@
+package com.DarkBlue.Record;
+
+import java.util.Arrays;
+
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class holds a position in the primitive form FenParser produces
+ * and plays packed moves on it, which is all a game record needs to
+ * turn its moves back into positions.
+ *
+ * Moves are applied without checking if they are legal; records only contain
+ * moves that were legal when they were played. The side effects of a move follow
+ * the rules the engine writes FEN strings by: a pawn that advances two tiles always
+ * leaves an en passant tile behind, a castling right is lost once its king or rook
+ * moves or the rook is captured, the halfmove clock restarts after a capture or a
+ * pawn move, and the fullmove clock goes up after black moves.
+ *
+ * The position does not depend on the GUI in any way, unlike Board,
+ * whose en passant tile comes from the running game.
+ */
+public final class RecordPosition{
+
+    // The castling right that is lost when the piece on each corner moves or is captured
+    private static final int A8 = Utilities.ZERO, H8 = Utilities.SEVEN, A1 = 56, H1 = 63;
+
+    private final byte[] m_tiles = new byte[Utilities.SIXTY_FOUR];
+    private ChessColor m_turn;
+    private int m_castling;
+    private int m_enPassant;
+    private int m_halfmoves;
+    private int m_fullmoves;
+
+    /**/
+    /*
+    NAME
+        public RecordPosition();
+
+    SYNOPSIS
+        public RecordPosition();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates an empty board with white to move.
+        Load() fills it with a real position.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public RecordPosition(){
+        this.m_turn = ChessColor.WHITE;
+        this.m_castling = Utilities.ZERO;
+        this.m_enPassant = Utilities.NEGATIVE_ONE;
+        this.m_halfmoves = Utilities.ZERO;
+        this.m_fullmoves = Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Load(final FenParser a_parser);
+
+    SYNOPSIS
+        public final void Load(final FenParser a_parser);
+
+        FenParser a_parser -------> A parser whose last parse succeeded.
+
+    DESCRIPTION
+        This method copies the position the parser just read.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Load(final FenParser a_parser){
+        a_parser.CopyTiles(this.m_tiles);
+        this.m_turn = a_parser.WhoseTurnIsIt();
+        this.m_castling = a_parser.GetCastlingRights();
+        this.m_enPassant = (a_parser.HasEnPassantTile() ? a_parser.GetEnPassantRow() * Utilities.EIGHT + a_parser.GetEnPassantColumn() : Utilities.NEGATIVE_ONE);
+        this.m_halfmoves = a_parser.GetHalfmoves();
+        this.m_fullmoves = a_parser.GetFullmoves();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Load(final RecordPosition a_position);
+
+    SYNOPSIS
+        public final void Load(final RecordPosition a_position);
+
+        RecordPosition a_position -> The position to copy.
+
+    DESCRIPTION
+        This method makes this position a copy of another one.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Load(final RecordPosition a_position){
+        System.arraycopy(a_position.m_tiles, Utilities.ZERO, this.m_tiles, Utilities.ZERO, Utilities.SIXTY_FOUR);
+        this.m_turn = a_position.m_turn;
+        this.m_castling = a_position.m_castling;
+        this.m_enPassant = a_position.m_enPassant;
+        this.m_halfmoves = a_position.m_halfmoves;
+        this.m_fullmoves = a_position.m_fullmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Apply(final short a_move);
+
+    SYNOPSIS
+        public final boolean Apply(final short a_move);
+
+        short a_move -------------> The packed move to play.
+
+    DESCRIPTION
+        This method plays a move for the side to move.
+        Nothing changes if there is no piece of that side on the starting tile,
+        or if a promotion is asked of a piece that is not a pawn.
+
+    RETURNS
+        boolean: True if the move was played, and false if it could not be.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Apply(final short a_move){
+        final int FROM = PackedMove.From(a_move);
+        final int TO = PackedMove.To(a_move);
+        final int PROMOTION = PackedMove.Promotion(a_move);
+        final byte MOVER = this.m_tiles[FROM];
+
+        if(MOVER == FenParser.EMPTY || FenParser.ColorOf(MOVER) != this.m_turn || FROM == TO){
+            return false;
+        }
+
+        final PieceType TYPE = FenParser.TypeOf(MOVER);
+        if(PROMOTION != PackedMove.NO_PROMOTION && (TYPE != PieceType.PAWN || PROMOTION > PackedMove.KNIGHT)){
+            return false;
+        }
+
+        final boolean IS_CAPTURE = this.m_tiles[TO] != FenParser.EMPTY;
+        final int FROM_COLUMN = FROM % Utilities.EIGHT, TO_COLUMN = TO % Utilities.EIGHT;
+        final int EN_PASSANT = this.m_enPassant;
+
+        this.m_tiles[TO] = MOVER;
+        this.m_tiles[FROM] = FenParser.EMPTY;
+        this.m_enPassant = Utilities.NEGATIVE_ONE;
+        this.m_halfmoves = (IS_CAPTURE || TYPE == PieceType.PAWN ? Utilities.ZERO : this.m_halfmoves + Utilities.ONE);
+
+        if(TYPE == PieceType.KING){
+            // The rook comes along when the king moves two columns
+            if(TO_COLUMN - FROM_COLUMN == Utilities.TWO){
+                this.m_tiles[TO - Utilities.ONE] = this.m_tiles[TO + Utilities.ONE];
+                this.m_tiles[TO + Utilities.ONE] = FenParser.EMPTY;
+            }else if(FROM_COLUMN - TO_COLUMN == Utilities.TWO){
+                this.m_tiles[TO + Utilities.ONE] = this.m_tiles[TO - Utilities.TWO];
+                this.m_tiles[TO - Utilities.TWO] = FenParser.EMPTY;
+            }
+            this.m_castling &= (this.m_turn.IsWhite() ? ~(FenParser.WHITE_KINGSIDE | FenParser.WHITE_QUEENSIDE) : ~(FenParser.BLACK_KINGSIDE | FenParser.BLACK_QUEENSIDE));
+        }else if(TYPE == PieceType.PAWN){
+            // A diagonal step onto an empty tile captures the pawn beside it
+            if(FROM_COLUMN != TO_COLUMN && !IS_CAPTURE && TO == EN_PASSANT){
+                this.m_tiles[FROM - FROM_COLUMN + TO_COLUMN] = FenParser.EMPTY;
+            }
+
+            // A pawn that advances two tiles can be captured en passant on the tile it skipped
+            if(Math.abs(TO - FROM) == Utilities.SIXTEEN){
+                this.m_enPassant = (FROM + TO) / Utilities.TWO;
+            }
+
+            if(PROMOTION != PackedMove.NO_PROMOTION){
+                this.m_tiles[TO] = PromotedCode(this.m_turn, PROMOTION);
+            }
+        }
+
+        this.m_castling &= ~(CornerRight(FROM) | CornerRight(TO));
+
+        if(this.m_turn.IsBlack()){
+            this.m_fullmoves++;
+        }
+        this.m_turn = (this.m_turn.IsWhite() ? ChessColor.BLACK : ChessColor.WHITE);
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        public final short Diff(final RecordPosition a_next);
+
+    SYNOPSIS
+        public final short Diff(final RecordPosition a_next);
+
+        RecordPosition a_next ----> The position one move after this one.
+
+    DESCRIPTION
+        This method works out which move turned this position into a_next
+        by looking at which tiles of the side to move were emptied and filled.
+        It is used to turn a game stored as one FEN string per move into a record.
+
+    RETURNS
+        short: The packed move, or -1 if no single move of the side to move explains the difference.
+
+    AUTHOR
+        Ryan King
+    */
+    public final short Diff(final RecordPosition a_next){
+        int from = Utilities.NEGATIVE_ONE, to = Utilities.NEGATIVE_ONE;
+        int kingFrom = Utilities.NEGATIVE_ONE, kingTo = Utilities.NEGATIVE_ONE;
+        int vacated = Utilities.ZERO, filled = Utilities.ZERO;
+
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            final byte BEFORE = this.m_tiles[tile], AFTER = a_next.m_tiles[tile];
+            if(BEFORE == AFTER){
+                continue;
+            }
+
+            final boolean WAS_MINE = BEFORE != FenParser.EMPTY && FenParser.ColorOf(BEFORE) == this.m_turn;
+            final boolean IS_MINE = AFTER != FenParser.EMPTY && FenParser.ColorOf(AFTER) == this.m_turn;
+
+            if(WAS_MINE && !IS_MINE){
+                vacated++;
+                from = tile;
+                if(FenParser.TypeOf(BEFORE) == PieceType.KING){
+                    kingFrom = tile;
+                }
+            }else if(IS_MINE){
+                filled++;
+                to = tile;
+                if(FenParser.TypeOf(AFTER) == PieceType.KING){
+                    kingTo = tile;
+                }
+            }
+        }
+
+        // Castling empties and fills two tiles each; the king's move is the one recorded
+        if(kingFrom >= Utilities.ZERO && kingTo >= Utilities.ZERO){
+            from = kingFrom;
+            to = kingTo;
+        }else if(vacated != Utilities.ONE || filled != Utilities.ONE){
+            return Utilities.NEGATIVE_ONE;
+        }
+
+        int promotion = PackedMove.NO_PROMOTION;
+        if(FenParser.TypeOf(this.m_tiles[from]) == PieceType.PAWN && FenParser.TypeOf(a_next.m_tiles[to]) != PieceType.PAWN){
+            switch(FenParser.TypeOf(a_next.m_tiles[to])){
+                case QUEEN:  promotion = PackedMove.QUEEN;
+                break;
+                case ROOK:   promotion = PackedMove.ROOK;
+                break;
+                case BISHOP: promotion = PackedMove.BISHOP;
+                break;
+                case KNIGHT: promotion = PackedMove.KNIGHT;
+                break;
+                default: return Utilities.NEGATIVE_ONE;
+            }
+        }
+
+        return PackedMove.Encode(from, to, promotion);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsSamePosition(final RecordPosition a_other);
+
+    SYNOPSIS
+        public final boolean IsSamePosition(final RecordPosition a_other);
+
+        RecordPosition a_other ---> The position to compare with.
+
+    DESCRIPTION
+        This method compares every field of two positions, including both clocks.
+
+    RETURNS
+        boolean: True if both positions would be written as the same FEN string, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsSamePosition(final RecordPosition a_other){
+        return Arrays.equals(this.m_tiles, a_other.m_tiles) && this.m_turn == a_other.m_turn && this.m_castling == a_other.m_castling
+            && this.m_enPassant == a_other.m_enPassant && this.m_halfmoves == a_other.m_halfmoves && this.m_fullmoves == a_other.m_fullmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Hash();
+
+    SYNOPSIS
+        public final long Hash();
+
+        No parameters.
+
+    DESCRIPTION
+        This method computes the Zobrist key of the position.
+
+    RETURNS
+        long: The key, which ignores both move clocks.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Hash(){
+        return Zobrist.Hash(this.m_tiles, this.m_turn, this.m_castling, this.m_enPassant);
+    }
+
+    /**/
+    /*
+    NAME
+        public final StringBuilder Write(final StringBuilder a_builder);
+
+    SYNOPSIS
+        public final StringBuilder Write(final StringBuilder a_builder);
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method appends the position as a six-field FEN string.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public final StringBuilder Write(final StringBuilder a_builder){
+        return FenWriter.Write(this.m_tiles, this.m_turn, this.m_castling, this.m_enPassant, this.m_halfmoves, this.m_fullmoves, a_builder);
+    }
+
+    /**/
+    /*
+    NAME
+        public final byte GetTile(final int a_tile);
+
+    SYNOPSIS
+        public final byte GetTile(final int a_tile);
+
+        int a_tile ---------------> The tile, from 0 to 63.
+
+    DESCRIPTION
+        This method returns what stands on a tile.
+
+    RETURNS
+        byte: The FenParser code of the piece, or FenParser.EMPTY.
+
+    AUTHOR
+        Ryan King
+    */
+    public final byte GetTile(final int a_tile){
+        return this.m_tiles[a_tile];
+    }
+
+    /**/
+    /*
+    NAME
+        public final ChessColor WhoseTurnIsIt();
+
+    SYNOPSIS
+        public final ChessColor WhoseTurnIsIt();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the side to move.
+
+    RETURNS
+        ChessColor m_turn: The side to move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ChessColor WhoseTurnIsIt(){
+        return this.m_turn;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetCastlingRights();
+
+    SYNOPSIS
+        public final int GetCastlingRights();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the castling rights.
+
+    RETURNS
+        int m_castling: The rights as FenParser castling bits.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetCastlingRights(){
+        return this.m_castling;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetEnPassantTile();
+
+    SYNOPSIS
+        public final int GetEnPassantTile();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the en passant tile.
+
+    RETURNS
+        int m_enPassant: The tile, or -1 if there is none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetEnPassantTile(){
+        return this.m_enPassant;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetHalfmoves();
+
+    SYNOPSIS
+        public final int GetHalfmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the halfmove clock.
+
+    RETURNS
+        int m_halfmoves: The number of halfmoves since the last capture or pawn move.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetHalfmoves(){
+        return this.m_halfmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetFullmoves();
+
+    SYNOPSIS
+        public final int GetFullmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the fullmove clock.
+
+    RETURNS
+        int m_fullmoves: The fullmove clock.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetFullmoves(){
+        return this.m_fullmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int CornerRight(final int a_tile);
+
+    SYNOPSIS
+        private static int CornerRight(final int a_tile);
+
+        int a_tile ---------------> A tile a piece left or arrived on.
+
+    DESCRIPTION
+        This method returns the castling right that depends on the rook of a corner.
+
+    RETURNS
+        int: The castling bit of that corner, or 0 if the tile is not a corner.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int CornerRight(final int a_tile){
+        switch(a_tile){
+            case A8: return FenParser.BLACK_QUEENSIDE;
+            case H8: return FenParser.BLACK_KINGSIDE;
+            case A1: return FenParser.WHITE_QUEENSIDE;
+            case H1: return FenParser.WHITE_KINGSIDE;
+            default: return Utilities.ZERO;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static byte PromotedCode(final ChessColor a_color, final int a_promotion);
+
+    SYNOPSIS
+        private static byte PromotedCode(final ChessColor a_color, final int a_promotion);
+
+        ChessColor a_color -------> The color of the promoting pawn.
+
+        int a_promotion ----------> One of PackedMove.QUEEN, ROOK, BISHOP, or KNIGHT.
+
+    DESCRIPTION
+        This method returns the FenParser code of the piece a pawn promotes to.
+
+    RETURNS
+        byte: The code of the new piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private static byte PromotedCode(final ChessColor a_color, final int a_promotion){
+        final char LETTER = " QRBN".charAt(a_promotion);
+        return FenParser.Code(a_color.IsWhite() ? LETTER : Character.toLowerCase(LETTER));
+    }
+}
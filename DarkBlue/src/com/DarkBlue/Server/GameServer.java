@@ -0,0 +1,533 @@
+package com.DarkBlue.Server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class serves games against the engine to any number of people at once
+ * over HTTP on the local machine.
+ *
+ * Usage: GameServer [-p port] [-t threads] [-s sessions] [-i idle minutes]
+ *
+ * Every game is a GameSession, and every search is run by one shared SearchScheduler
+ * with as many threads as there are cores by default, which is shown through JMX.
+ * A game's priority decides whose searches go first when every thread is busy.
+ * A request never waits on a search: a move is answered as soon as it is played,
+ * and the engine's reply shows up in the game once it is found. Sessions that see no move for the idle time, 30 minutes by
+ * default, are closed and forgotten, and no more than the given number of sessions,
+ * 10000 by default, are kept at once.
+ *
+ *     POST   /games?color=white&depth=4&ms=1000&priority=0&fen=...  starts a game, every parameter optional
+ *     GET    /games/{id}                                            shows a game
+ *     POST   /games/{id}/move?move=e2e4                             plays a move in UCI or algebraic notation
+ *     DELETE /games/{id}                                            resigns and forgets a game
+ *
+ * Every answer is a game as JSON, or an error as {"error": "..."} with the status
+ * 400 for a bad request, 404 for an unknown game, 409 for a move out of turn or after
+ * the end, and 503 when there is no room for another game.
+ */
+public final class GameServer{
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_SESSIONS = 10000;
+    public static final long DEFAULT_IDLE_MINUTES = 30;
+    public static final int DEFAULT_DEPTH = Utilities.FOUR;
+    public static final long DEFAULT_MILLISECONDS = 1000;
+
+    private static final String GAMES = "/games";
+
+    // The requests are only ever answered from memory, so a few threads serve any number of them
+    private static final int REQUEST_THREADS = Utilities.FOUR;
+
+    private final Map<Long, GameSession> m_sessions;
+    private final AtomicLong m_nextId;
+    private final SearchScheduler m_searches;
+    private final int m_maxSessions;
+    private final long m_idleMilliseconds;
+
+    private final HttpServer m_server;
+    private final ExecutorService m_requests;
+    private final ScheduledExecutorService m_sweeper;
+
+    /**/
+    /*
+    NAME
+        public GameServer(final int a_port, final int a_threads, final int a_maxSessions, final long a_idleMinutes) throws IOException;
+
+    SYNOPSIS
+        public GameServer(final int a_port, final int a_threads, final int a_maxSessions, final long a_idleMinutes) throws IOException;
+
+        int a_port ---------------> The port to listen on, or 0 for any free port.
+
+        int a_threads ------------> The most searches to run at once.
+
+        int a_maxSessions --------> The most games to keep at once.
+
+        long a_idleMinutes -------> How long a game may go without a move before it is forgotten.
+
+    DESCRIPTION
+        This constructor starts listening on the loopback address.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameServer(final int a_port, final int a_threads, final int a_maxSessions, final long a_idleMinutes) throws IOException{
+        if(a_port < Utilities.ZERO || a_maxSessions < Utilities.ONE || a_idleMinutes < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to GameServer constructor");
+        }
+
+        this.m_sessions = new ConcurrentHashMap<>();
+        this.m_nextId = new AtomicLong();
+        this.m_searches = new SearchScheduler(a_threads);
+        SearchScheduler.Show(this.m_searches);
+        this.m_maxSessions = a_maxSessions;
+        this.m_idleMilliseconds = TimeUnit.MINUTES.toMillis(a_idleMinutes);
+
+        this.m_requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+        this.m_server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), a_port), Utilities.ZERO);
+        this.m_server.setExecutor(this.m_requests);
+        this.m_server.createContext(GAMES, this::Handle);
+        this.m_server.start();
+
+        this.m_sweeper = Executors.newSingleThreadScheduledExecutor();
+        this.m_sweeper.scheduleWithFixedDelay(this::Sweep, Utilities.ONE, Utilities.ONE, TimeUnit.MINUTES);
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method serves games until the program is killed.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        int port = DEFAULT_PORT, threads = Runtime.getRuntime().availableProcessors(), sessions = DEFAULT_SESSIONS;
+        long idle = DEFAULT_IDLE_MINUTES;
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-p": port = Integer.parseInt(a_args[++i]); break;
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    case "-s": sessions = Integer.parseInt(a_args[++i]); break;
+                    case "-i": idle = Long.parseLong(a_args[++i]); break;
+                    default: throw new IllegalArgumentException();
+                }
+            }
+
+            if(port < Utilities.ZERO || threads < Utilities.ONE || sessions < Utilities.ONE || idle < Utilities.ONE){
+                throw new IllegalArgumentException();
+            }
+        }catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e){
+            System.err.println("Usage: GameServer [-p port] [-t threads] [-s sessions] [-i idle minutes]");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final GameServer SERVER = new GameServer(port, threads, sessions, idle);
+            System.out.println("serving games on http://localhost:" + SERVER.GetPort() + GAMES);
+        }catch(IOException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetPort();
+
+    SYNOPSIS
+        public final int GetPort();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the port the server listens on.
+
+    RETURNS
+        int: The port.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetPort(){
+        return this.m_server.getAddress().getPort();
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetSessionCount();
+
+    SYNOPSIS
+        public final int GetSessionCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many games are being kept.
+
+    RETURNS
+        int: The number of sessions.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetSessionCount(){
+        return this.m_sessions.size();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Stop();
+
+    SYNOPSIS
+        public final void Stop();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops listening, closes every game, and stops every thread.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Stop(){
+        this.m_server.stop(Utilities.ZERO);
+        this.m_sweeper.shutdownNow();
+        this.m_requests.shutdownNow();
+
+        for(final GameSession SESSION : this.m_sessions.values()){
+            SESSION.Close();
+        }
+        this.m_sessions.clear();
+        this.m_searches.Shutdown();
+    }
+
+    /**/
+    /*
+    NAME
+        private void Handle(final HttpExchange a_exchange) throws IOException;
+
+    SYNOPSIS
+        private void Handle(final HttpExchange a_exchange) throws IOException;
+
+        HttpExchange a_exchange --> A request and its answer.
+
+    DESCRIPTION
+        This method answers one request as described above.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Handle(final HttpExchange a_exchange) throws IOException{
+        final String METHOD = a_exchange.getRequestMethod();
+        final String[] PATH = a_exchange.getRequestURI().getPath().substring(GAMES.length()).split("/");
+        final Map<String, String> QUERY = Query(a_exchange.getRequestURI().getRawQuery());
+
+        try{
+            // The path splits into "", then the id, then the action
+            if(PATH.length <= Utilities.ONE){
+                if(!METHOD.equals("POST")){
+                    Answer(a_exchange, 405, Error("Games are started with POST"));
+                    return;
+                }
+
+                final GameSession SESSION = this.Start(QUERY);
+                if(SESSION == null){
+                    Answer(a_exchange, 503, Error("There is no room for another game"));
+                }else{
+                    Answer(a_exchange, 201, SESSION.ToJSON());
+                }
+                return;
+            }
+
+            final GameSession SESSION = (PATH[Utilities.ONE].matches("\\d{1,18}") ? this.m_sessions.get(Long.parseLong(PATH[Utilities.ONE])) : null);
+            if(SESSION == null || PATH.length > Utilities.THREE){
+                Answer(a_exchange, 404, Error("There is no such game"));
+                return;
+            }
+
+            final String ACTION = (PATH.length == Utilities.THREE ? PATH[Utilities.TWO] : "");
+            if(ACTION.isEmpty() && METHOD.equals("GET")){
+                Answer(a_exchange, 200, SESSION.ToJSON());
+            }else if(ACTION.isEmpty() && METHOD.equals("DELETE")){
+                SESSION.Close();
+                this.m_sessions.remove(SESSION.GetId());
+                Answer(a_exchange, 200, SESSION.ToJSON());
+            }else if(ACTION.equals("move") && METHOD.equals("POST")){
+                SESSION.Play(Require(QUERY, "move"));
+                this.Think(SESSION);
+                Answer(a_exchange, 200, SESSION.ToJSON());
+            }else{
+                Answer(a_exchange, 405, Error(METHOD + " is not allowed here"));
+            }
+        }catch(IllegalStateException e){
+            Answer(a_exchange, 409, Error(e.getMessage()));
+        }catch(IllegalArgumentException e){
+            Answer(a_exchange, 400, Error(e.getMessage()));
+        }catch(RuntimeException e){
+            Answer(a_exchange, 500, Error(e.getMessage()));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private GameSession Start(final Map<String, String> a_query);
+
+    SYNOPSIS
+        private GameSession Start(final Map<String, String> a_query);
+
+        Map<String, String> a_query -> The parameters of the request.
+
+    DESCRIPTION
+        This method starts a game and, if the engine moves first, its first search.
+        It throws an IllegalArgumentException if a parameter cannot be read.
+
+    RETURNS
+        GameSession: The new session, or null if there are already as many as are allowed.
+
+    AUTHOR
+        Ryan King
+    */
+    private GameSession Start(final Map<String, String> a_query){
+        final String COLOR = a_query.getOrDefault("color", "white");
+        if(!COLOR.equals("white") && !COLOR.equals("black")){
+            throw new IllegalArgumentException("The color must be white or black");
+        }
+
+        final GameSession SESSION = new GameSession(this.m_nextId.incrementAndGet(), a_query.getOrDefault("fen", GameRecord.STARTING_FEN),
+                                                    (COLOR.equals("white") ? ChessColor.WHITE : ChessColor.BLACK),
+                                                    Integer.parseInt(a_query.getOrDefault("depth", String.valueOf(DEFAULT_DEPTH))),
+                                                    Long.parseLong(a_query.getOrDefault("ms", String.valueOf(DEFAULT_MILLISECONDS))),
+                                                    Integer.parseInt(a_query.getOrDefault("priority", String.valueOf(Utilities.ZERO))));
+
+        // Counting and adding are not done together, so the limit may be passed by a request or two at once
+        if(this.m_sessions.size() >= this.m_maxSessions){
+            return null;
+        }
+
+        this.m_sessions.put(SESSION.GetId(), SESSION);
+        this.Think(SESSION);
+        return SESSION;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Think(final GameSession a_session);
+
+    SYNOPSIS
+        private void Think(final GameSession a_session);
+
+        GameSession a_session ----> A session that may need the engine to move.
+
+    DESCRIPTION
+        This method submits a search for the session if it is the engine's turn
+        and no search is waiting or running for it already, and does nothing otherwise.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Think(final GameSession a_session){
+        final SearchTask SEARCH = a_session.BeginSearch();
+        if(SEARCH != null){
+            this.m_searches.Submit(SEARCH);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Sweep();
+
+    SYNOPSIS
+        private void Sweep();
+
+        No parameters.
+
+    DESCRIPTION
+        This method closes and forgets every game that has gone without a move
+        for the idle time and is not waiting on the engine.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Sweep(){
+        final long NOW = System.currentTimeMillis();
+
+        for(final GameSession SESSION : this.m_sessions.values()){
+            if(!SESSION.IsThinking() && NOW - SESSION.GetLastActive() >= this.m_idleMilliseconds){
+                SESSION.Close();
+                this.m_sessions.remove(SESSION.GetId());
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static Map<String, String> Query(final String a_query);
+
+    SYNOPSIS
+        private static Map<String, String> Query(final String a_query);
+
+        String a_query -----------> The encoded query of a request, or null.
+
+    DESCRIPTION
+        This method decodes the parameters of a request.
+
+    RETURNS
+        Map<String, String>: Every parameter by name.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Map<String, String> Query(final String a_query){
+        final Map<String, String> PARAMETERS = new HashMap<>();
+        if(a_query == null || a_query.isEmpty()){
+            return PARAMETERS;
+        }
+
+        for(final String PAIR : a_query.split("&")){
+            final int EQUALS = PAIR.indexOf('=');
+            final String NAME = (EQUALS < Utilities.ZERO ? PAIR : PAIR.substring(Utilities.ZERO, EQUALS));
+            final String VALUE = (EQUALS < Utilities.ZERO ? "" : PAIR.substring(EQUALS + Utilities.ONE));
+            PARAMETERS.put(URLDecoder.decode(NAME, StandardCharsets.UTF_8), URLDecoder.decode(VALUE, StandardCharsets.UTF_8));
+        }
+        return PARAMETERS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Require(final Map<String, String> a_query, final String a_name);
+
+    SYNOPSIS
+        private static String Require(final Map<String, String> a_query, final String a_name);
+
+        Map<String, String> a_query -> The parameters of a request.
+
+        String a_name ------------> The parameter that must be there.
+
+    DESCRIPTION
+        This method reads a parameter, throwing an IllegalArgumentException if it is missing.
+
+    RETURNS
+        String: The parameter.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Require(final Map<String, String> a_query, final String a_name){
+        final String VALUE = a_query.get(a_name);
+        if(VALUE == null || VALUE.isEmpty()){
+            throw new IllegalArgumentException("The " + a_name + " is missing");
+        }
+        return VALUE;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Error(final String a_message);
+
+    SYNOPSIS
+        private static String Error(final String a_message);
+
+        String a_message ---------> What went wrong.
+
+    DESCRIPTION
+        This method writes an error as JSON.
+
+    RETURNS
+        String: The JSON.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Error(final String a_message){
+        return "{\"error\": \"" + String.valueOf(a_message).replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Answer(final HttpExchange a_exchange, final int a_status, final String a_json) throws IOException;
+
+    SYNOPSIS
+        private static void Answer(final HttpExchange a_exchange, final int a_status, final String a_json) throws IOException;
+
+        HttpExchange a_exchange --> The request to answer.
+
+        int a_status -------------> The HTTP status.
+
+        String a_json ------------> The body.
+
+    DESCRIPTION
+        This method sends an answer and ends the exchange.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Answer(final HttpExchange a_exchange, final int a_status, final String a_json) throws IOException{
+        final byte[] BODY = (a_json + "\n").getBytes(StandardCharsets.UTF_8);
+        a_exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        a_exchange.sendResponseHeaders(a_status, BODY.length);
+
+        try(final OutputStream OUTPUT = a_exchange.getResponseBody()){
+            OUTPUT.write(BODY);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.DarkBlue.Server;
+
+import com.DarkBlue.Match.MatchRunner;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class holds everything about one game between a person and the engine,
+ * which the GUI keeps in fields of its own for its single game: the board,
+ * the positions for repetitions, the moves, and whose turn it is.
+ *
+ * A session owns no thread. It only changes when the person moves, when its
+ * search ends, or when it is closed, so a server can hold thousands of sessions
+ * waiting on their players for the cost of their boards. Its search is run for
+ * it by a SearchScheduler on a copy of the game, and the move that search finds is only
+ * played if the search was not stopped in the meantime. Every method is synchronized.
+ */
+public final class GameSession{
+
+    private final long m_id;
+    private final ChessColor m_humanColor;
+    private final int m_depth;
+    private final long m_milliseconds;
+    private final int m_priority;
+
+    private final SanPosition m_position;
+    private final PositionHistory m_history;
+    private final GameRecord m_record;
+    private final StringBuilder m_moves;
+
+    private int m_result;
+
+    // The search being run for this session, or null if none is
+    private SearchTask m_search;
+
+    private long m_lastActive;
+
+    /**/
+    /*
+    NAME
+        public GameSession(final long a_id, final String a_fen, final ChessColor a_humanColor, final int a_depth, final long a_milliseconds, final int a_priority);
+
+    SYNOPSIS
+        public GameSession(final long a_id, final String a_fen, final ChessColor a_humanColor, final int a_depth, final long a_milliseconds, final int a_priority);
+
+        long a_id ----------------> What the session is known by.
+
+        String a_fen -------------> The position the game starts from.
+
+        ChessColor a_humanColor --> The color the person plays.
+
+        int a_depth --------------> The deepest the engine searches, at least 1.
+
+        long a_milliseconds ------> The longest the engine thinks about a move, at least 1.
+
+        int a_priority -----------> How urgent the engine's searches are; higher runs first.
+
+    DESCRIPTION
+        This constructor starts a game. It throws an IllegalArgumentException
+        if the position cannot be played.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public GameSession(final long a_id, final String a_fen, final ChessColor a_humanColor, final int a_depth, final long a_milliseconds, final int a_priority){
+        if(a_humanColor == null || a_depth < Utilities.ONE || a_milliseconds < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to GameSession constructor");
+        }
+
+        this.m_id = a_id;
+        this.m_humanColor = a_humanColor;
+        this.m_depth = a_depth;
+        this.m_milliseconds = a_milliseconds;
+        this.m_priority = a_priority;
+
+        this.m_position = new SanPosition(a_fen);
+        this.m_history = new PositionHistory();
+        this.m_history.Push(Zobrist.Hash(this.m_position.GetBoard()), this.m_position.GetBoard().GetHalfmoves());
+        this.m_record = new GameRecord(a_fen);
+        this.m_moves = new StringBuilder();
+
+        this.m_result = MatchRunner.Adjudicate(this.m_position, this.m_history);
+        this.m_lastActive = System.currentTimeMillis();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Play(final String a_move);
+
+    SYNOPSIS
+        public final synchronized void Play(final String a_move);
+
+        String a_move ------------> The person's move in UCI or algebraic notation.
+
+    DESCRIPTION
+        This method plays the person's move. It throws an IllegalStateException
+        if it is not the person's turn, and an IllegalArgumentException if the move is not legal.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Play(final String a_move){
+        if(this.m_result != GameRecord.RESULT_UNKNOWN){
+            throw new IllegalStateException("The game is over");
+        }else if(this.m_position.WhoseTurnIsIt() != this.m_humanColor){
+            throw new IllegalStateException("It is not your turn");
+        }
+
+        final short MOVE = (a_move.matches("[a-h][1-8][a-h][1-8][qrbn]?") ? PackedMove.Parse(a_move) : this.m_position.Parse(a_move));
+        this.Apply(MOVE);
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Close();
+
+    SYNOPSIS
+        public final synchronized void Close();
+
+        No parameters.
+
+    DESCRIPTION
+        This method ends the game, stopping any search, with the person
+        resigning if the game was not already over.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Close(){
+        if(this.m_search != null){
+            this.m_search.Cancel();
+            this.m_search = null;
+        }
+
+        if(this.m_result == GameRecord.RESULT_UNKNOWN){
+            this.m_result = (this.m_humanColor.IsWhite() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+        }
+        this.m_lastActive = System.currentTimeMillis();
+    }
+
+    /**/
+    /*
+    NAME
+        final synchronized SearchTask BeginSearch();
+
+    SYNOPSIS
+        final synchronized SearchTask BeginSearch();
+
+        No parameters.
+
+    DESCRIPTION
+        This method marks the session as searching if it is the engine's turn
+        and no search is being run for it yet. The search works on a copy of the game
+        and plays the move it finds through EndSearch() once it is done.
+
+    RETURNS
+        SearchTask: The search to schedule, or null if none should be run.
+
+    AUTHOR
+        Ryan King
+    */
+    final synchronized SearchTask BeginSearch(){
+        if(this.m_result != GameRecord.RESULT_UNKNOWN || this.m_search != null || this.m_position.WhoseTurnIsIt() == this.m_humanColor){
+            return null;
+        }
+
+        this.m_search = new SearchTask(this.m_position.Copy(), new PositionHistory(this.m_history), this.m_depth, this.m_milliseconds, this.m_priority){
+            @Override
+            protected void Done(final Move a_move){
+                EndSearch(this, a_move);
+            }
+        };
+        return this.m_search;
+    }
+
+    /**/
+    /*
+    NAME
+        final synchronized void EndSearch(final SearchTask a_search, final Move a_move);
+
+    SYNOPSIS
+        final synchronized void EndSearch(final SearchTask a_search, final Move a_move);
+
+        SearchTask a_search ------> The search BeginSearch() returned.
+
+        Move a_move --------------> The move found, or null if the search failed.
+
+    DESCRIPTION
+        This method plays the engine's move, unless the session was closed during the search.
+        A failed search leaves it the engine's turn, so another search can be begun.
+        The computer always promotes to a queen.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    final synchronized void EndSearch(final SearchTask a_search, final Move a_move){
+        if(this.m_search != a_search){
+            return;
+        }
+
+        this.m_search = null;
+        if(a_move != null){
+            this.Apply(PackedMove.FromMove(a_move, (SanPosition.IsPromotion(a_move) ? PackedMove.QUEEN : PackedMove.NO_PROMOTION)));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetId();
+
+    SYNOPSIS
+        public final long GetId();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns what the session is known by.
+
+    RETURNS
+        long m_id: The id.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetId(){
+        return this.m_id;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetDepth();
+
+    SYNOPSIS
+        public final int GetDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the deepest the engine searches in this game.
+
+    RETURNS
+        int m_depth: The depth.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetDepth(){
+        return this.m_depth;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetMilliseconds();
+
+    SYNOPSIS
+        public final long GetMilliseconds();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the longest the engine thinks about a move in this game.
+
+    RETURNS
+        long m_milliseconds: The time in milliseconds.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetMilliseconds(){
+        return this.m_milliseconds;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized int GetResult();
+
+    SYNOPSIS
+        public final synchronized int GetResult();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how the game ended.
+
+    RETURNS
+        int m_result: One of the results of GameRecord, RESULT_UNKNOWN while the game goes on.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized int GetResult(){
+        return this.m_result;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized boolean IsThinking();
+
+    SYNOPSIS
+        public final synchronized boolean IsThinking();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns if a search is being run for the session.
+
+    RETURNS
+        boolean: True if one is, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized boolean IsThinking(){
+        return this.m_search != null;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized long GetLastActive();
+
+    SYNOPSIS
+        public final synchronized long GetLastActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns when either side last moved.
+
+    RETURNS
+        long m_lastActive: The time in milliseconds since the epoch.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized long GetLastActive(){
+        return this.m_lastActive;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized GameRecord ToRecord();
+
+    SYNOPSIS
+        public final synchronized GameRecord ToRecord();
+
+        No parameters.
+
+    DESCRIPTION
+        This method copies the game so far into a record.
+
+    RETURNS
+        GameRecord: The record, with the result if the game is over.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized GameRecord ToRecord(){
+        final GameRecord RECORD = new GameRecord(this.m_record.GetStartingFEN());
+        for(int i = Utilities.ZERO; i < this.m_record.GetMoveCount(); i++){
+            RECORD.Add(this.m_record.GetMove(i));
+        }
+        RECORD.SetResult(this.m_result);
+        return RECORD;
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized String ToJSON();
+
+    SYNOPSIS
+        public final synchronized String ToJSON();
+
+        No parameters.
+
+    DESCRIPTION
+        This method writes the state of the game as one JSON object.
+
+    RETURNS
+        String: The JSON.
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized String ToJSON(){
+        final StringBuilder JSON = new StringBuilder("{");
+        JSON.append("\"id\": ").append(this.m_id);
+        JSON.append(", \"fen\": \"").append(this.m_position.ToFEN()).append('"');
+        JSON.append(", \"moves\": \"").append(this.m_moves).append('"');
+        JSON.append(", \"human\": \"").append(this.m_humanColor.IsWhite() ? "white" : "black").append('"');
+        JSON.append(", \"turn\": \"").append(this.m_position.WhoseTurnIsIt().IsWhite() ? "white" : "black").append('"');
+        JSON.append(", \"thinking\": ").append(this.m_search != null);
+        JSON.append(", \"result\": \"").append(GameRecord.RESULTS[this.m_result]).append('"');
+        return JSON.append('}').toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private void Apply(final short a_move);
+
+    SYNOPSIS
+        private void Apply(final short a_move);
+
+        short a_move -------------> A packed move for the side to move.
+
+    DESCRIPTION
+        This method plays a move and adjudicates the game after it.
+        It throws an IllegalArgumentException if the move is not legal.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Apply(final short a_move){
+        if(this.m_position.Find(a_move) == null){
+            throw new IllegalArgumentException(PackedMove.Append(a_move, new StringBuilder()) + " is not legal in " + this.m_position.ToFEN());
+        }
+
+        final String SAN = this.m_position.ToSAN(a_move);
+        this.m_position.Play(a_move);
+        this.m_history.Push(Zobrist.Hash(this.m_position.GetBoard()), this.m_position.GetBoard().GetHalfmoves());
+        this.m_record.Add(a_move);
+        this.m_moves.append(this.m_moves.length() == Utilities.ZERO ? "" : " ").append(SAN);
+
+        this.m_result = MatchRunner.Adjudicate(this.m_position, this.m_history);
+        this.m_lastActive = System.currentTimeMillis();
+    }
+}
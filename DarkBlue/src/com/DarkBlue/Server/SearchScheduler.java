@@ -0,0 +1,411 @@
+package com.DarkBlue.Server;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class runs the searches of every session of a server on a fixed number
+ * of threads, so however many games are going on, only that many searches
+ * take CPU at once and the rest wait their turn.
+ *
+ * Waiting searches are kept in order of priority, then of the least time left
+ * on their clocks, then of when they were submitted, and a free thread always
+ * takes the first. A search runs one depth at a time, and between depths it is
+ * set aside for the first waiting search if that one comes before it, so an urgent
+ * search waits at most one depth of another. A search set aside keeps what it found
+ * and goes on from the next depth when a thread is free. Only time spent searching
+ * counts against a search's clock, so one set aside loses none of its time.
+ *
+ * Searches of equal priority and time run one after another rather than in turns,
+ * as a search that has started has less time left than one that has not. The number
+ * of searches waiting and running, how many were set aside, and how long they waited
+ * can be read here or through JMX once the scheduler is shown with Show().
+ */
+public final class SearchScheduler implements SearchSchedulerMBean{
+
+    public static final String OBJECT_NAME = "com.DarkBlue:type=SearchScheduler";
+
+    // The scheduler shown through JMX, or null if none is
+    private static SearchScheduler m_shown = null;
+
+    private static final Comparator<SearchTask> ORDER = Comparator.comparingInt((SearchTask a_task) -> -a_task.GetPriority())
+                                                                  .thenComparingLong(SearchTask::GetRemaining)
+                                                                  .thenComparingLong(a_task -> a_task.m_sequence);
+
+    private final ScheduledExecutorService m_timer;
+
+    // Everything below is guarded by this scheduler
+    private final PriorityQueue<SearchTask> m_queue;
+    private boolean m_isShutdown;
+    private int m_running;
+    private long m_sequence;
+    private long m_submitted;
+    private long m_completed;
+    private long m_preemptions;
+    private long m_waits;
+    private long m_totalWait;
+    private long m_maxWait;
+
+    /**/
+    /*
+    NAME
+        public SearchScheduler(final int a_threads);
+
+    SYNOPSIS
+        public SearchScheduler(final int a_threads);
+
+        int a_threads ------------> The most searches to run at once.
+
+    DESCRIPTION
+        This constructor starts the threads, which do not keep the program alive.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SearchScheduler(final int a_threads){
+        if(a_threads < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to SearchScheduler constructor");
+        }
+
+        this.m_queue = new PriorityQueue<>(ORDER);
+        this.m_timer = Executors.newSingleThreadScheduledExecutor(a_task -> {
+            final Thread THREAD = new Thread(a_task, "search scheduler timer");
+            THREAD.setDaemon(true);
+            return THREAD;
+        });
+
+        for(int i = Utilities.ZERO; i < a_threads; i++){
+            final Thread WORKER = new Thread(this::Work, "scheduled search " + (i + Utilities.ONE));
+            WORKER.setDaemon(true);
+            WORKER.start();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static synchronized void Show(final SearchScheduler a_scheduler);
+
+    SYNOPSIS
+        public static synchronized void Show(final SearchScheduler a_scheduler);
+
+        SearchScheduler a_scheduler -> The scheduler to show, or null to show none.
+
+    DESCRIPTION
+        This method shows the scheduler through JMX in place of any shown before.
+        A scheduler that cannot be shown still runs.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static synchronized void Show(final SearchScheduler a_scheduler){
+        m_shown = a_scheduler;
+
+        try{
+            final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName NAME = new ObjectName(OBJECT_NAME);
+            if(SERVER.isRegistered(NAME)){
+                SERVER.unregisterMBean(NAME);
+            }
+            if(a_scheduler != null){
+                SERVER.registerMBean(a_scheduler, NAME);
+            }
+        }catch(JMException e){
+            System.err.println("Could not show the search scheduler through JMX: " + e.getMessage());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Submit(final SearchTask a_task);
+
+    SYNOPSIS
+        public final synchronized void Submit(final SearchTask a_task);
+
+        SearchTask a_task --------> A search that has not been submitted before.
+
+    DESCRIPTION
+        This method queues the search. It throws an IllegalStateException
+        if the scheduler has been shut down.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Submit(final SearchTask a_task){
+        if(this.m_isShutdown){
+            throw new IllegalStateException("The search scheduler has been shut down");
+        }
+
+        a_task.m_sequence = this.m_sequence++;
+        this.m_submitted++;
+        a_task.m_queuedAt = System.nanoTime();
+        this.m_queue.add(a_task);
+        this.notify();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Shutdown();
+
+    SYNOPSIS
+        public final void Shutdown();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops taking searches, stops those waiting without running them,
+        and hides the scheduler from JMX if it is shown. Searches already running
+        finish their depth on their own.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Shutdown(){
+        synchronized(this){
+            this.m_isShutdown = true;
+            for(final SearchTask TASK : this.m_queue){
+                TASK.Cancel();
+            }
+            this.m_queue.clear();
+            this.notifyAll();
+        }
+        this.m_timer.shutdownNow();
+
+        synchronized(SearchScheduler.class){
+            if(m_shown == this){
+                Show(null);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Work();
+
+    SYNOPSIS
+        private void Work();
+
+        No parameters.
+
+    DESCRIPTION
+        This method runs searches on a worker thread until the scheduler is shut down.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Work(){
+        SearchTask task;
+        while((task = this.Take()) != null){
+            this.Run(task);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private synchronized SearchTask Take();
+
+    SYNOPSIS
+        private synchronized SearchTask Take();
+
+        No parameters.
+
+    DESCRIPTION
+        This method waits for a search and takes the first off the queue,
+        counting how long it waited and that it is running.
+
+    RETURNS
+        SearchTask: The search, or null once the scheduler is shut down.
+
+    AUTHOR
+        Ryan King
+    */
+    private synchronized SearchTask Take(){
+        while(this.m_queue.isEmpty() && !this.m_isShutdown){
+            try{
+                this.wait();
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        if(this.m_isShutdown){
+            return null;
+        }
+
+        final SearchTask TASK = this.m_queue.poll();
+        final long WAIT = System.nanoTime() - TASK.m_queuedAt;
+        this.m_waits++;
+        this.m_totalWait += WAIT;
+        this.m_maxWait = Math.max(this.m_maxWait, WAIT);
+        this.m_running++;
+        return TASK;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Run(final SearchTask a_task);
+
+    SYNOPSIS
+        private void Run(final SearchTask a_task);
+
+        SearchTask a_task --------> The search taken off the queue.
+
+    DESCRIPTION
+        This method deepens the search until it is over or set aside for another.
+        The search is stopped once the time left on its clock runs out.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Run(final SearchTask a_task){
+        boolean isOver = false;
+
+        while(!isOver){
+            ScheduledFuture<?> alarm = null;
+            try{
+                alarm = this.m_timer.schedule(a_task::TimeUp, Math.max(Utilities.ONE, a_task.GetRemaining()), TimeUnit.NANOSECONDS);
+                isOver = a_task.Step();
+            }catch(RejectedExecutionException e){
+                // The scheduler was shut down, so the search ends with what it has
+                a_task.Cancel();
+                isOver = true;
+            }catch(RuntimeException e){
+                System.err.println("A scheduled search failed: " + e.getMessage());
+                isOver = true;
+            }finally{
+                if(alarm != null){
+                    alarm.cancel(false);
+                }
+            }
+
+            if(!isOver && this.Preempt(a_task)){
+                return;
+            }
+        }
+
+        try{
+            a_task.Finish();
+        }catch(RuntimeException e){
+            System.err.println("A scheduled search could not be finished: " + e.getMessage());
+        }finally{
+            synchronized(this){
+                this.m_running--;
+                this.m_completed++;
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private synchronized boolean Preempt(final SearchTask a_task);
+
+    SYNOPSIS
+        private synchronized boolean Preempt(final SearchTask a_task);
+
+        SearchTask a_task --------> A running search between two depths.
+
+    DESCRIPTION
+        This method puts the search back on the queue if the first waiting search comes before it.
+
+    RETURNS
+        boolean: True if the search was set aside, and false if it should go on.
+
+    AUTHOR
+        Ryan King
+    */
+    private synchronized boolean Preempt(final SearchTask a_task){
+        final SearchTask NEXT = this.m_queue.peek();
+        if(NEXT == null || ORDER.compare(NEXT, a_task) >= Utilities.ZERO){
+            return false;
+        }
+
+        a_task.m_queuedAt = System.nanoTime();
+        this.m_queue.add(a_task);
+        this.m_running--;
+        this.m_preemptions++;
+        this.notify();
+        return true;
+    }
+
+    @Override
+    public final synchronized int getQueueDepth(){
+        return this.m_queue.size();
+    }
+
+    @Override
+    public final synchronized int getRunning(){
+        return this.m_running;
+    }
+
+    @Override
+    public final synchronized long getSubmitted(){
+        return this.m_submitted;
+    }
+
+    @Override
+    public final synchronized long getCompleted(){
+        return this.m_completed;
+    }
+
+    @Override
+    public final synchronized long getPreemptions(){
+        return this.m_preemptions;
+    }
+
+    @Override
+    public final synchronized double getMeanWaitMilliseconds(){
+        return (this.m_waits == Utilities.ZERO ? 0.0 : (double) this.m_totalWait / this.m_waits / 1000000.0);
+    }
+
+    @Override
+    public final synchronized long getMaxWaitMilliseconds(){
+        return this.m_maxWait / 1000000;
+    }
+
+    @Override
+    public final synchronized void reset(){
+        this.m_submitted = Utilities.ZERO;
+        this.m_completed = Utilities.ZERO;
+        this.m_preemptions = Utilities.ZERO;
+        this.m_waits = Utilities.ZERO;
+        this.m_totalWait = Utilities.ZERO;
+        this.m_maxWait = Utilities.ZERO;
+    }
+}
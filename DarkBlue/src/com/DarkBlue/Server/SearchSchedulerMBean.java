@@ -0,0 +1,29 @@
+package com.DarkBlue.Server;
+
+/**
+ * This interface is what JMX shows of a server's search scheduler, under the name
+ * com.DarkBlue:type=SearchScheduler, to JConsole, VisualVM, or any other JMX client.
+ *
+ * JMX only finds attributes through methods named the JavaBeans way,
+ * so these are named getX() rather than GetX() like the rest of the engine.
+ * A wait is counted every time a search is taken off the queue, so a search
+ * set aside for a more urgent one waits again before it is picked up.
+ */
+public interface SearchSchedulerMBean{
+
+    public int getQueueDepth();
+
+    public int getRunning();
+
+    public long getSubmitted();
+
+    public long getCompleted();
+
+    public long getPreemptions();
+
+    public double getMeanWaitMilliseconds();
+
+    public long getMaxWaitMilliseconds();
+
+    public void reset();
+}
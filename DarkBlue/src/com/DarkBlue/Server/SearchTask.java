@@ -0,0 +1,312 @@
+package com.DarkBlue.Server;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class is one search for the computer's move, run by a SearchScheduler,
+ * in the same shape as the SwingWorker the GUI searches with: the scheduler does
+ * the work in the background, and Done() is handed the move once it is found.
+ *
+ * Unlike a SwingWorker, the work is done one depth at a time, and the task may
+ * be set aside between depths for a more urgent one and picked up later by any
+ * thread, so it keeps everything it needs between depths: its own copy of the
+ * position, the deepest depth finished, and the time it has used. Only time spent
+ * searching counts against its clock, not time spent waiting.
+ *
+ * Only finished depths count, unless none finished at all, as in the UCI front end.
+ * A task stopped before it found anything plays the first legal move, and a task with
+ * no legal move hands Done() null. The computer always promotes to a queen.
+ */
+public abstract class SearchTask{
+
+    private final SanPosition m_position;
+    private final PositionHistory m_history;
+    private final Player m_white;
+    private final Player m_black;
+    private final int m_depth;
+    private final long m_budget;
+    private final int m_priority;
+
+    // Raised when the time is up or the task is cancelled
+    private final AtomicBoolean m_stop;
+
+    // Only written by the thread running the task, but read by any
+    private volatile int m_nextDepth;
+    private volatile long m_used;
+    private Move m_bestMove;
+
+    // Set by the scheduler: the order the task was submitted in and when it last joined the queue
+    long m_sequence;
+    long m_queuedAt;
+
+    /**/
+    /*
+    NAME
+        public SearchTask(final SanPosition a_position, final PositionHistory a_history, final int a_depth, final long a_milliseconds, final int a_priority);
+
+    SYNOPSIS
+        public SearchTask(final SanPosition a_position, final PositionHistory a_history, final int a_depth, final long a_milliseconds, final int a_priority);
+
+        SanPosition a_position ---> The position to search, which the task keeps and the caller must not change.
+
+        PositionHistory a_history -> The positions of the game, which the task keeps as well.
+
+        int a_depth --------------> The deepest to search, at least 1.
+
+        long a_milliseconds ------> The longest to search, at least 1.
+
+        int a_priority -----------> How urgent the search is; higher runs first.
+
+    DESCRIPTION
+        This constructor creates a task that has not searched anything yet.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SearchTask(final SanPosition a_position, final PositionHistory a_history, final int a_depth, final long a_milliseconds, final int a_priority){
+        if(a_position == null || a_depth < Utilities.ONE || a_milliseconds < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to SearchTask constructor");
+        }
+
+        final Board BOARD = a_position.GetBoard();
+        this.m_position = a_position;
+        this.m_history = a_history;
+        this.m_white = new Human(ChessColor.WHITE, BOARD);
+        this.m_black = new Human(ChessColor.BLACK, BOARD);
+        this.m_white.Refresh(BOARD);
+        this.m_black.Refresh(BOARD);
+
+        this.m_depth = a_depth;
+        this.m_budget = a_milliseconds * 1000000;
+        this.m_priority = a_priority;
+        this.m_stop = new AtomicBoolean();
+        this.m_nextDepth = Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        protected abstract void Done(final Move a_move);
+
+    SYNOPSIS
+        protected abstract void Done(final Move a_move);
+
+        Move a_move --------------> The move found, or null if there is no legal move.
+
+    DESCRIPTION
+        This method is called once, on the scheduler's thread, when the search is over.
+        Anything that must happen on another thread, such as the GUI's, must be handed to it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    protected abstract void Done(final Move a_move);
+
+    /**/
+    /*
+    NAME
+        public final void Cancel();
+
+    SYNOPSIS
+        public final void Cancel();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops the search at once if it is running, or as soon as
+        it is picked up if it is waiting. Done() is still called.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Cancel(){
+        this.m_stop.set(true);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetPriority();
+
+    SYNOPSIS
+        public final int GetPriority();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how urgent the search is.
+
+    RETURNS
+        int m_priority: The priority; higher runs first.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetPriority(){
+        return this.m_priority;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetRemaining();
+
+    SYNOPSIS
+        public final long GetRemaining();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how much of its time the task has left.
+
+    RETURNS
+        long: The time left in nanoseconds, which is never below 0.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetRemaining(){
+        return Math.max(Utilities.ZERO, this.m_budget - this.m_used);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetDepthFinished();
+
+    SYNOPSIS
+        public final int GetDepthFinished();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the deepest depth the task has finished.
+
+    RETURNS
+        int: The depth, or 0 if it has finished none.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetDepthFinished(){
+        return this.m_nextDepth - Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        final boolean Step();
+
+    SYNOPSIS
+        final boolean Step();
+
+        No parameters.
+
+    DESCRIPTION
+        This method searches one depth deeper on the calling thread. The scheduler
+        must raise the flag through TimeUp() if the time left runs out meanwhile,
+        and must not run the task on two threads at once.
+
+    RETURNS
+        boolean: True if the search is over, and false if there are depths left to search.
+
+    AUTHOR
+        Ryan King
+    */
+    final boolean Step(){
+        if(this.m_stop.get() || this.m_nextDepth > this.m_depth || this.m_position.GetLegalMoves().isEmpty()){
+            return true;
+        }
+
+        final Board BOARD = this.m_position.GetBoard();
+        final long START = System.nanoTime();
+        Minimax.STOP.set(this.m_stop);
+        try{
+            Minimax.ROOT_VALUE.remove();
+            final Move MOVE = Minimax.MinimaxRoot(this.m_nextDepth, BOARD, this.m_white, this.m_black, true, BOARD.WhoseTurnIsIt(), this.m_history);
+
+            if(this.m_stop.get()){
+                this.m_bestMove = (this.m_bestMove == null ? MOVE : this.m_bestMove);
+                return true;
+            }
+
+            this.m_bestMove = MOVE;
+            this.m_nextDepth++;
+
+            // A move from the opening book or the endgame tables is played without searching any deeper
+            return Minimax.ROOT_VALUE.get() == null || this.m_nextDepth > this.m_depth;
+        }finally{
+            this.m_used += System.nanoTime() - START;
+            Minimax.STOP.remove();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        final void TimeUp();
+
+    SYNOPSIS
+        final void TimeUp();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops the search because its time has run out.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    final void TimeUp(){
+        this.m_stop.set(true);
+    }
+
+    /**/
+    /*
+    NAME
+        final void Finish();
+
+    SYNOPSIS
+        final void Finish();
+
+        No parameters.
+
+    DESCRIPTION
+        This method hands the move found to Done().
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    final void Finish(){
+        Move move = this.m_bestMove;
+        if(move == null && !this.m_position.GetLegalMoves().isEmpty()){
+            move = this.m_position.GetLegalMoves().get(Utilities.ZERO);
+        }
+        this.Done(move);
+    }
+}
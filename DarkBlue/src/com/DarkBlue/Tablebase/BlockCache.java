@@ -0,0 +1,245 @@
+package com.DarkBlue.Tablebase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class keeps the most recently used blocks of endgame tables decoded.
+ *
+ * Decoding a block costs far more than looking a value up in it, and the positions
+ * a search reaches are close to one another, so a few blocks serve most probes.
+ * When the cache is full, the block that went the longest without a probe is dropped.
+ * One cache is shared by every table of a Tablebases, so the memory it takes is the
+ * same no matter how many tables are loaded. Any number of threads may use it;
+ * a block two threads miss at the same time is simply decoded twice.
+ */
+public final class BlockCache{
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final LinkedHashMap<Long, byte[]> m_blocks;
+    private final int m_capacity;
+    private final LongAdder m_hits;
+    private final LongAdder m_misses;
+
+    /**/
+    /*
+    NAME
+        public BlockCache(final int a_capacity);
+
+    SYNOPSIS
+        public BlockCache(final int a_capacity);
+
+        int a_capacity -----------> The most blocks to keep.
+
+    DESCRIPTION
+        This constructor creates an empty cache.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public BlockCache(final int a_capacity){
+        if(a_capacity < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument to BlockCache constructor");
+        }
+
+        this.m_capacity = a_capacity;
+        this.m_hits = new LongAdder();
+        this.m_misses = new LongAdder();
+
+        // Access order puts the block probed last at the end, so the eldest one is the least recently used
+        this.m_blocks = new LinkedHashMap<Long, byte[]>(a_capacity * Utilities.TWO, 0.75f, true){
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> a_eldest){
+                return this.size() > BlockCache.this.m_capacity;
+            }
+        };
+    }
+
+    /**/
+    /*
+    NAME
+        public final byte[] Get(final int a_table, final int a_block);
+
+    SYNOPSIS
+        public final byte[] Get(final int a_table, final int a_block);
+
+        int a_table --------------> The number of the table.
+
+        int a_block --------------> The number of the block in the table.
+
+    DESCRIPTION
+        This method looks a decoded block up and marks it as just used.
+
+    RETURNS
+        byte[]: The decoded block, or null if it is not in the cache.
+
+    AUTHOR
+        Ryan King
+    */
+    public final byte[] Get(final int a_table, final int a_block){
+        final byte[] BLOCK;
+        synchronized(this.m_blocks){
+            BLOCK = this.m_blocks.get(Key(a_table, a_block));
+        }
+
+        (BLOCK == null ? this.m_misses : this.m_hits).increment();
+        return BLOCK;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Put(final int a_table, final int a_block, final byte[] a_values);
+
+    SYNOPSIS
+        public final void Put(final int a_table, final int a_block, final byte[] a_values);
+
+        int a_table --------------> The number of the table.
+
+        int a_block --------------> The number of the block in the table.
+
+        byte[] a_values ----------> The decoded block, which must not be changed afterward.
+
+    DESCRIPTION
+        This method adds a decoded block, dropping the least recently used one if the cache is full.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Put(final int a_table, final int a_block, final byte[] a_values){
+        synchronized(this.m_blocks){
+            this.m_blocks.put(Key(a_table, a_block), a_values);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetSize();
+
+    SYNOPSIS
+        public final int GetSize();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many blocks are in the cache.
+
+    RETURNS
+        int: The number of blocks.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetSize(){
+        synchronized(this.m_blocks){
+            return this.m_blocks.size();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetCapacity();
+
+    SYNOPSIS
+        public final int GetCapacity();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the most blocks the cache keeps.
+
+    RETURNS
+        int m_capacity: The capacity.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetCapacity(){
+        return this.m_capacity;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetHits();
+
+    SYNOPSIS
+        public final long GetHits();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many lookups found their block.
+
+    RETURNS
+        long: The number of hits.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetHits(){
+        return this.m_hits.sum();
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetMisses();
+
+    SYNOPSIS
+        public final long GetMisses();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many lookups had to decode their block.
+
+    RETURNS
+        long: The number of misses.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetMisses(){
+        return this.m_misses.sum();
+    }
+
+    /**/
+    /*
+    NAME
+        private static long Key(final int a_table, final int a_block);
+
+    SYNOPSIS
+        private static long Key(final int a_table, final int a_block);
+
+        int a_table --------------> The number of the table.
+
+        int a_block --------------> The number of the block in the table.
+
+    DESCRIPTION
+        This method packs a table and block number into one key.
+
+    RETURNS
+        long: The key.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long Key(final int a_table, final int a_block){
+        return ((long) a_table << 32) | (a_block & 0xFFFFFFFFL);
+    }
+}
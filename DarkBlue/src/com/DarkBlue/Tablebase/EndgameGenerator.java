@@ -0,0 +1,1596 @@
+package com.DarkBlue.Tablebase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.DarkBlue.Move.Delta;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.MoveEvaluation;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class builds endgame tables by retrograde analysis.
+ *
+ * Usage: EndgameGenerator [-o directory] [-t threads] table...
+ *
+ * Every index of a table is looked at once to find the checkmates and the
+ * moves that capture or promote, which leave the table and are looked up in the
+ * smaller tables built before it. From then on the table is solved one ply at a time:
+ * every position that is mated in d plies is unmoved, and the positions it came from
+ * win in d + 1, and every position that wins in d plies is unmoved, and the positions
+ * it came from lose in d + 1 if every one of their moves is now known to lose.
+ * Whatever is left when no more positions are found is a draw.
+ *
+ * Each ply is split into ranges of indices that the worker threads solve on their own.
+ * A position is only ever written with the value it has on that ply, so two threads
+ * that reach it at once write the same thing.
+ *
+ * The moves are made with the engine's own move tables from MoveEvaluation,
+ * on the squares of the pieces alone, since a table holds far more positions than
+ * Board objects could be built for. As in the tables themselves, nobody can castle
+ * or capture en passant. The smaller tables a table needs are built first
+ * into the same directory if they are not already there.
+ *
+ * Tables are written bit-packed and uncompressed, so the search probes them
+ * with a single read of the file instead of decoding blocks into a cache.
+ */
+public final class EndgameGenerator{
+
+    public static final String DEFAULT_OUTPUT = "tablebases";
+
+    private static final int CHUNKS_PER_THREAD = Utilities.SIXTEEN;
+    private static final int MAX_MOVES = 256;
+
+    // What a pawn can promote to; a move holds one more than its place here, or 0 if it does not promote
+    private static final PieceType[] PROMOTIONS = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+    private static final String PROMOTION_LETTERS = "QRBN";
+    private static final String LETTERS = "KQRBNP";
+
+    // The stronger side's pawns move toward the eighth rank, which is 8 squares up when a1 is 0
+    private static final int UP = Utilities.EIGHT;
+
+    // Where each piece can go from every square, with a1 as 0
+    private static final int[][] KING_STEPS = Steps(MoveEvaluation.KING_MOVES);
+    private static final int[][] KNIGHT_STEPS = Steps(MoveEvaluation.KNIGHT_MOVES);
+    private static final int[][] STRONG_PAWN_CAPTURES = Steps(MoveEvaluation.WHITE_ATTACKING_MOVES);
+    private static final int[][] WEAK_PAWN_CAPTURES = Steps(MoveEvaluation.BLACK_ATTACKING_MOVES);
+    private static final int[][][] ROOK_RAYS = Rays(MoveEvaluation.UP_MOVES, MoveEvaluation.DOWN_MOVES, MoveEvaluation.LEFT_MOVES, MoveEvaluation.RIGHT_MOVES);
+    private static final int[][][] BISHOP_RAYS = Rays(MoveEvaluation.UP_AND_LEFT_MOVES, MoveEvaluation.UP_AND_RIGHT_MOVES, MoveEvaluation.DOWN_AND_LEFT_MOVES, MoveEvaluation.DOWN_AND_RIGHT_MOVES);
+
+    private static final long[] KING_ATTACKS = Masks(KING_STEPS);
+    private static final long[] KNIGHT_ATTACKS = Masks(KNIGHT_STEPS);
+    private static final long[] STRONG_PAWN_ATTACKS = Masks(STRONG_PAWN_CAPTURES);
+    private static final long[] WEAK_PAWN_ATTACKS = Masks(WEAK_PAWN_CAPTURES);
+
+    private final EndgameMaterial m_material;
+    private final Tablebases m_smaller;
+    private final int m_threads;
+    private final int m_weakKing;
+
+    // The value of every index so far, where 0 means a draw or not known yet
+    private final byte[] m_values;
+
+    // The ply on which an index is decided by the moves that leave the table, or 0 if there is none
+    private final byte[] m_pending;
+    private final AtomicInteger m_lastPending;
+
+    /**/
+    /*
+    NAME
+        public EndgameGenerator(final EndgameMaterial a_material, final Tablebases a_smaller, final int a_threads);
+
+    SYNOPSIS
+        public EndgameGenerator(final EndgameMaterial a_material, final Tablebases a_smaller, final int a_threads);
+
+        EndgameMaterial a_material -> The table to build.
+
+        Tablebases a_smaller -----> Every table a capture or promotion can lead to.
+
+        int a_threads ------------> The number of worker threads.
+
+    DESCRIPTION
+        This constructor creates a generator for one table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EndgameGenerator(final EndgameMaterial a_material, final Tablebases a_smaller, final int a_threads){
+        if(a_material == null || a_smaller == null || a_threads < Utilities.ONE || a_material.GetSize() > Integer.MAX_VALUE - Utilities.EIGHT){
+            throw new IllegalArgumentException("Invalid argument(s) to EndgameGenerator constructor");
+        }
+
+        this.m_material = a_material;
+        this.m_smaller = a_smaller;
+        this.m_threads = a_threads;
+        this.m_values = new byte[(int) a_material.GetSize()];
+        this.m_pending = new byte[this.m_values.length];
+        this.m_lastPending = new AtomicInteger();
+
+        int weakKing = Utilities.ZERO;
+        while(a_material.IsStrong(weakKing)){
+            weakKing++;
+        }
+        this.m_weakKing = weakKing;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method builds the tables named on the command line.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        int threads = Runtime.getRuntime().availableProcessors();
+        final List<String> NAMES = new ArrayList<>();
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-o": output = Paths.get(a_args[++i]); break;
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    default: NAMES.add(a_args[i]);
+                }
+            }
+        }catch(ArrayIndexOutOfBoundsException | NumberFormatException e){
+            NAMES.clear();
+        }
+
+        if(NAMES.isEmpty() || threads < Utilities.ONE){
+            System.err.println("Usage: EndgameGenerator [-o directory] [-t threads] table...");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            for(final String NAME : NAMES){
+                Build(output, EndgameMaterial.Of(NAME), threads);
+            }
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static Path Build(final Path a_directory, final EndgameMaterial a_material, final int a_threads) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        public static Path Build(final Path a_directory, final EndgameMaterial a_material, final int a_threads) throws IOException, InterruptedException;
+
+        Path a_directory ---------> Where the tables are kept.
+
+        EndgameMaterial a_material -> The table to build.
+
+        int a_threads ------------> The number of worker threads.
+
+    DESCRIPTION
+        This method builds a table into a directory, along with every smaller
+        table it needs that is not there yet. A table already in the directory is kept.
+
+    RETURNS
+        Path: The file of the table, or null if the table is always a draw and needs none.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Path Build(final Path a_directory, final EndgameMaterial a_material, final int a_threads) throws IOException, InterruptedException{
+        if(Tablebases.IsDrawn(a_material.GetName())){
+            return null;
+        }
+
+        final Path FILE = a_directory.resolve(a_material.GetName() + EndgameTable.EXTENSION);
+        if(Files.exists(FILE)){
+            return FILE;
+        }
+
+        for(final String NAME : Smaller(a_material)){
+            Build(a_directory, EndgameMaterial.Of(NAME), a_threads);
+        }
+
+        Files.createDirectories(a_directory);
+        final long START = System.nanoTime();
+        final byte[] VALUES = new EndgameGenerator(a_material, new Tablebases(a_directory), a_threads).Generate();
+
+        // Written under another name first, so a table that is cut short is never loaded
+        final Path PARTIAL = a_directory.resolve(a_material.GetName() + ".partial");
+        EndgameTableWriter.WritePacked(PARTIAL, a_material, VALUES);
+        Files.move(PARTIAL, FILE, StandardCopyOption.REPLACE_EXISTING);
+
+        int longest = Utilities.ZERO;
+        for(final byte VALUE : VALUES){
+            if(EndgameTable.IsWin(VALUE)){
+                longest = Math.max(longest, VALUE);
+            }
+        }
+
+        System.out.printf("%s: %d indices, longest win %d plies, %.1f s%n", a_material.GetName(), VALUES.length, longest, (System.nanoTime() - START) / 1e9);
+        return FILE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final byte[] Generate() throws InterruptedException;
+
+    SYNOPSIS
+        public final byte[] Generate() throws InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method solves every index of the table.
+
+    RETURNS
+        byte[]: The value of every index, as EndgameTable describes.
+
+    AUTHOR
+        Ryan King
+    */
+    public final byte[] Generate() throws InterruptedException{
+        final ExecutorService POOL = Executors.newFixedThreadPool(this.m_threads);
+
+        try{
+            this.Run(POOL, this::Initialize);
+
+            for(int ply = Utilities.ONE; ; ply++){
+                final int PLY = ply;
+                long found = this.Run(POOL, (a_from, a_to, a_workspace) -> this.Resolve(PLY, a_from, a_to));
+                found += this.Run(POOL, (a_from, a_to, a_workspace) -> this.Unmove(PLY, a_from, a_to, a_workspace));
+
+                // Nothing new on this ply means nothing to unmove on the next, so only the pending positions are left
+                if(found == Utilities.ZERO && this.m_lastPending.get() <= ply){
+                    break;
+                }
+            }
+        }finally{
+            POOL.shutdown();
+        }
+
+        return this.m_values;
+    }
+
+    /**/
+    /*
+    NAME
+        private long Run(final ExecutorService a_pool, final Pass a_pass) throws InterruptedException;
+
+    SYNOPSIS
+        private long Run(final ExecutorService a_pool, final Pass a_pass) throws InterruptedException;
+
+        ExecutorService a_pool ---> The worker threads.
+
+        Pass a_pass --------------> The work to do on each range of indices.
+
+    DESCRIPTION
+        This method splits the indices into ranges, gives them to the workers,
+        and waits until every range is done.
+
+    RETURNS
+        long: The number of positions the ranges decided.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Run(final ExecutorService a_pool, final Pass a_pass) throws InterruptedException{
+        final int SIZE = this.m_values.length;
+        final int CHUNK = SIZE / (this.m_threads * CHUNKS_PER_THREAD) + Utilities.ONE;
+        final List<Callable<Long>> TASKS = new ArrayList<>();
+
+        for(int from = Utilities.ZERO; from < SIZE; from += CHUNK){
+            final int FROM = from, TO = Math.min(SIZE, from + CHUNK);
+            TASKS.add(() -> a_pass.Run(FROM, TO, new Workspace(this.m_material.GetPieceCount())));
+        }
+
+        long found = Utilities.ZERO;
+        try{
+            for(final Future<Long> RESULT : a_pool.invokeAll(TASKS)){
+                found += RESULT.get();
+            }
+        }catch(ExecutionException e){
+            throw (e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause()));
+        }
+
+        return found;
+    }
+
+    /**/
+    /*
+    NAME
+        private long Initialize(final int a_from, final int a_to, final Workspace a_workspace);
+
+    SYNOPSIS
+        private long Initialize(final int a_from, final int a_to, final Workspace a_workspace);
+
+        int a_from ---------------> The first index of the range.
+
+        int a_to -----------------> One past the last index of the range.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method marks the indices that hold no legal position, finds every checkmate,
+        and looks up every move that leaves the table. A position that can capture or promote
+        into a win is decided on the ply of its fastest such win, and one whose every move
+        leaves the table and loses is decided on the ply of its slowest loss.
+
+    RETURNS
+        long: The number of checkmates.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Initialize(final int a_from, final int a_to, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        long mates = Utilities.ZERO;
+
+        for(int index = a_from; index < a_to; index++){
+            final boolean STRONG_TO_MOVE = this.m_material.Decode(index, SQUARES);
+            if(!this.Load(index, STRONG_TO_MOVE, a_workspace)){
+                this.m_values[index] = EndgameTable.INVALID;
+                continue;
+            }
+
+            final int COUNT = this.Moves(STRONG_TO_MOVE, a_workspace);
+            if(COUNT == Utilities.ZERO){
+                if(this.IsInCheck(STRONG_TO_MOVE, a_workspace)){
+                    this.m_values[index] = EndgameTable.Loss(Utilities.ZERO);
+                    mates++;
+                }
+                continue;
+            }
+
+            int win = Utilities.ZERO, loss = Utilities.ZERO;
+            boolean isLost = true;
+
+            for(int i = Utilities.ZERO; i < COUNT; i++){
+                final int MOVE = a_workspace.m_moves[i];
+                if(!this.Leaves(MOVE, a_workspace)){
+                    isLost = false;
+                    continue;
+                }
+
+                final int VALUE = this.Probe(MOVE, STRONG_TO_MOVE, a_workspace);
+                if(EndgameTable.IsLoss(VALUE)){
+                    final int DISTANCE = EndgameTable.GetDistance(VALUE) + Utilities.ONE;
+                    win = (win == Utilities.ZERO ? DISTANCE : Math.min(win, DISTANCE));
+                }else if(EndgameTable.IsWin(VALUE)){
+                    loss = Math.max(loss, EndgameTable.GetDistance(VALUE) + Utilities.ONE);
+                }else{
+                    isLost = false;
+                }
+            }
+
+            if(win > Utilities.ZERO){
+                this.Pend(index, win);
+            }else if(isLost){
+                this.Pend(index, loss);
+            }
+        }
+
+        return mates;
+    }
+
+    /**/
+    /*
+    NAME
+        private long Resolve(final int a_ply, final int a_from, final int a_to);
+
+    SYNOPSIS
+        private long Resolve(final int a_ply, final int a_from, final int a_to);
+
+        int a_ply ----------------> The ply being solved.
+
+        int a_from ---------------> The first index of the range.
+
+        int a_to -----------------> One past the last index of the range.
+
+    DESCRIPTION
+        This method decides the positions whose value was waiting for this ply.
+        Wins always take an odd number of plies and losses an even number.
+
+    RETURNS
+        long: The number of positions decided.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Resolve(final int a_ply, final int a_from, final int a_to){
+        long found = Utilities.ZERO;
+
+        for(int index = a_from; index < a_to; index++){
+            if(this.m_values[index] == EndgameTable.DRAW && (this.m_pending[index] & 0xFF) == a_ply){
+                this.m_values[index] = (a_ply % Utilities.TWO == Utilities.ONE ? EndgameTable.Win(a_ply) : EndgameTable.Loss(a_ply));
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    /**/
+    /*
+    NAME
+        private long Unmove(final int a_ply, final int a_from, final int a_to, final Workspace a_workspace);
+
+    SYNOPSIS
+        private long Unmove(final int a_ply, final int a_from, final int a_to, final Workspace a_workspace);
+
+        int a_ply ----------------> The ply being solved.
+
+        int a_from ---------------> The first index of the range.
+
+        int a_to -----------------> One past the last index of the range.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method unmoves every position of the range decided on the ply before.
+        A position the side to move loses makes every position it came from a win.
+        A position the side to move wins makes a position it came from a loss once
+        every move of that position is known to lose.
+
+    RETURNS
+        long: The number of positions decided.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Unmove(final int a_ply, final int a_from, final int a_to, final Workspace a_workspace){
+        final boolean IS_WIN = (a_ply % Utilities.TWO == Utilities.ONE);
+        final byte SOURCE = (IS_WIN ? EndgameTable.Loss(a_ply - Utilities.ONE) : EndgameTable.Win(a_ply - Utilities.ONE));
+        final byte RESULT = (IS_WIN ? EndgameTable.Win(a_ply) : EndgameTable.Loss(a_ply));
+        final int[] SQUARES = a_workspace.m_squares;
+        long found = Utilities.ZERO;
+
+        for(int index = a_from; index < a_to; index++){
+            if(this.m_values[index] != SOURCE){
+                continue;
+            }
+
+            final boolean STRONG_TO_MOVE = this.m_material.Decode(index, SQUARES);
+            this.Load(index, STRONG_TO_MOVE, a_workspace);
+
+            final int COUNT = this.Unmoves(STRONG_TO_MOVE, a_workspace);
+            for(int i = Utilities.ZERO; i < COUNT; i++){
+                final int PREVIOUS = a_workspace.m_unmoves[i];
+                if(this.m_values[PREVIOUS] != EndgameTable.DRAW){
+                    continue;
+                }
+
+                if(IS_WIN){
+                    this.m_values[PREVIOUS] = RESULT;
+                    found++;
+                }else{
+                    final int LOSS = this.Verify(PREVIOUS, a_workspace);
+                    if(LOSS == a_ply){
+                        this.m_values[PREVIOUS] = RESULT;
+                        found++;
+                    }else if(LOSS > a_ply){
+                        // A capture or promotion loses more slowly than anything in the table
+                        this.Pend(PREVIOUS, LOSS);
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**/
+    /*
+    NAME
+        private int Verify(final int a_index, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int Verify(final int a_index, final Workspace a_workspace);
+
+        int a_index --------------> The index of a position that is not decided yet.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method checks if every move of a position is known to lose.
+        The position is loaded over the one in the workspace, whose predecessors are already found.
+
+    RETURNS
+        int: The plies until the side to move is mated, or -1 if a move is not known to lose.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Verify(final int a_index, final Workspace a_workspace){
+        final boolean STRONG_TO_MOVE = this.m_material.Decode(a_index, a_workspace.m_squares);
+        this.Load(a_index, STRONG_TO_MOVE, a_workspace);
+
+        int loss = Utilities.ZERO;
+        final int COUNT = this.Moves(STRONG_TO_MOVE, a_workspace);
+        for(int i = Utilities.ZERO; i < COUNT && loss >= Utilities.ZERO; i++){
+            final int MOVE = a_workspace.m_moves[i];
+            final int VALUE = (this.Leaves(MOVE, a_workspace) ? this.Probe(MOVE, STRONG_TO_MOVE, a_workspace) : this.m_values[this.Successor(MOVE, STRONG_TO_MOVE, a_workspace)]);
+            loss = (EndgameTable.IsWin(VALUE) ? Math.max(loss, EndgameTable.GetDistance(VALUE) + Utilities.ONE) : Utilities.NEGATIVE_ONE);
+        }
+
+        return (COUNT == Utilities.ZERO ? Utilities.NEGATIVE_ONE : loss);
+    }
+
+    /**/
+    /*
+    NAME
+        private void Pend(final int a_index, final int a_ply);
+
+    SYNOPSIS
+        private void Pend(final int a_index, final int a_ply);
+
+        int a_index --------------> The index of a position.
+
+        int a_ply ----------------> The ply the position is decided on.
+
+    DESCRIPTION
+        This method puts off deciding a position until a later ply.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Pend(final int a_index, final int a_ply){
+        if(a_ply > EndgameTable.MAX_DISTANCE){
+            throw new IllegalStateException(this.m_material.GetName() + " has a mate too long to store");
+        }
+
+        this.m_pending[a_index] = (byte) a_ply;
+        this.m_lastPending.accumulateAndGet(a_ply, Math::max);
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean Load(final int a_index, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private boolean Load(final int a_index, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        int a_index --------------> The index whose squares were just decoded.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space, whose squares hold the position.
+
+    DESCRIPTION
+        This method puts the pieces on the board and checks that the index holds a legal position:
+        no two pieces share a square, no pawn is on the first or last rank, the position
+        turns back into the same index, and the side that just moved is not in check.
+
+    RETURNS
+        boolean: True if the position is legal, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean Load(final int a_index, final boolean a_isStrongToMove, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        final byte[] BOARD = a_workspace.m_board;
+        Arrays.fill(BOARD, (byte) Utilities.ZERO);
+
+        for(int i = Utilities.ZERO; i < SQUARES.length; i++){
+            final int RANK = SQUARES[i] >> Utilities.THREE;
+            if(BOARD[SQUARES[i]] != Utilities.ZERO || (this.m_material.GetPieceType(i) == PieceType.PAWN && (RANK == Utilities.ZERO || RANK == Utilities.SEVEN))){
+                return false;
+            }
+            BOARD[SQUARES[i]] = (byte) (i + Utilities.ONE);
+        }
+
+        System.arraycopy(SQUARES, Utilities.ZERO, a_workspace.m_copy, Utilities.ZERO, SQUARES.length);
+        if(this.m_material.Index(a_workspace.m_copy, a_isStrongToMove) != a_index){
+            return false;
+        }
+
+        return !this.IsInCheck(!a_isStrongToMove, a_workspace);
+    }
+
+    /**/
+    /*
+    NAME
+        private int Moves(final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int Moves(final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method finds every legal move of the side to move. A move holds
+        the number of the piece, the square it goes to, and what it promotes to.
+
+    RETURNS
+        int: The number of moves, which are in the workspace's moves.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Moves(final boolean a_isStrongToMove, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        final byte[] BOARD = a_workspace.m_board;
+        final int[] MOVES = a_workspace.m_moves;
+        int count = Utilities.ZERO;
+
+        for(int piece = Utilities.ZERO; piece < SQUARES.length; piece++){
+            if(this.m_material.IsStrong(piece) != a_isStrongToMove){
+                continue;
+            }
+
+            final int FROM = SQUARES[piece];
+            switch(this.m_material.GetPieceType(piece)){
+                case KING:
+                    count = this.AddSteps(piece, KING_STEPS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    break;
+                case KNIGHT:
+                    count = this.AddSteps(piece, KNIGHT_STEPS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    break;
+                case ROOK:
+                    count = this.AddRays(piece, ROOK_RAYS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    break;
+                case BISHOP:
+                    count = this.AddRays(piece, BISHOP_RAYS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    break;
+                case QUEEN:
+                    count = this.AddRays(piece, ROOK_RAYS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    count = this.AddRays(piece, BISHOP_RAYS[FROM], a_isStrongToMove, MOVES, count, a_workspace);
+                    break;
+                case PAWN:
+                    final int FORWARD = (a_isStrongToMove ? UP : -UP);
+                    final int START_RANK = (a_isStrongToMove ? Utilities.ONE : Utilities.SIX);
+                    if(BOARD[FROM + FORWARD] == Utilities.ZERO){
+                        count = this.AddPawn(piece, FROM + FORWARD, a_isStrongToMove, MOVES, count, a_workspace);
+                        if((FROM >> Utilities.THREE) == START_RANK && BOARD[FROM + FORWARD + FORWARD] == Utilities.ZERO){
+                            count = this.AddPawn(piece, FROM + FORWARD + FORWARD, a_isStrongToMove, MOVES, count, a_workspace);
+                        }
+                    }
+                    for(final int TO : (a_isStrongToMove ? STRONG_PAWN_CAPTURES : WEAK_PAWN_CAPTURES)[FROM]){
+                        if(this.IsCapture(TO, a_isStrongToMove, BOARD)){
+                            count = this.AddPawn(piece, TO, a_isStrongToMove, MOVES, count, a_workspace);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private int AddSteps(final int a_piece, final int[] a_targets, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int AddSteps(final int a_piece, final int[] a_targets, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+        int a_piece --------------> The number of the piece that moves.
+
+        int[] a_targets ----------> The squares the piece can step to.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        int[] a_moves ------------> The moves found so far.
+
+        int a_count --------------> The number of moves found so far.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method adds the legal moves of a king or knight.
+
+    RETURNS
+        int: The number of moves found so far.
+
+    AUTHOR
+        Ryan King
+    */
+    private int AddSteps(final int a_piece, final int[] a_targets, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace){
+        int count = a_count;
+        for(final int TO : a_targets){
+            if((a_workspace.m_board[TO] == Utilities.ZERO || this.IsCapture(TO, a_isStrongToMove, a_workspace.m_board)) && this.IsLegal(a_piece, TO, a_isStrongToMove, a_workspace)){
+                a_moves[count++] = Move(a_piece, TO, Utilities.ZERO);
+            }
+        }
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private int AddRays(final int a_piece, final int[][] a_rays, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int AddRays(final int a_piece, final int[][] a_rays, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+        int a_piece --------------> The number of the piece that moves.
+
+        int[][] a_rays -----------> The squares the piece can slide along, nearest first.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        int[] a_moves ------------> The moves found so far.
+
+        int a_count --------------> The number of moves found so far.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method adds the legal moves of a rook, bishop, or queen.
+
+    RETURNS
+        int: The number of moves found so far.
+
+    AUTHOR
+        Ryan King
+    */
+    private int AddRays(final int a_piece, final int[][] a_rays, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace){
+        int count = a_count;
+        for(final int[] RAY : a_rays){
+            for(final int TO : RAY){
+                final boolean IS_EMPTY = (a_workspace.m_board[TO] == Utilities.ZERO);
+                if((IS_EMPTY || this.IsCapture(TO, a_isStrongToMove, a_workspace.m_board)) && this.IsLegal(a_piece, TO, a_isStrongToMove, a_workspace)){
+                    a_moves[count++] = Move(a_piece, TO, Utilities.ZERO);
+                }
+                if(!IS_EMPTY){
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private int AddPawn(final int a_piece, final int a_to, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int AddPawn(final int a_piece, final int a_to, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace);
+
+        int a_piece --------------> The number of the pawn.
+
+        int a_to -----------------> The square it goes to.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        int[] a_moves ------------> The moves found so far.
+
+        int a_count --------------> The number of moves found so far.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method adds a legal pawn move, once for every promotion if it reaches the last rank.
+
+    RETURNS
+        int: The number of moves found so far.
+
+    AUTHOR
+        Ryan King
+    */
+    private int AddPawn(final int a_piece, final int a_to, final boolean a_isStrongToMove, final int[] a_moves, final int a_count, final Workspace a_workspace){
+        if(!this.IsLegal(a_piece, a_to, a_isStrongToMove, a_workspace)){
+            return a_count;
+        }
+
+        int count = a_count;
+        final int RANK = a_to >> Utilities.THREE;
+        if(RANK == Utilities.ZERO || RANK == Utilities.SEVEN){
+            for(int promotion = Utilities.ONE; promotion <= PROMOTIONS.length; promotion++){
+                a_moves[count++] = Move(a_piece, a_to, promotion);
+            }
+        }else{
+            a_moves[count++] = Move(a_piece, a_to, Utilities.ZERO);
+        }
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private int Unmoves(final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int Unmoves(final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method finds the index of every position the side that just moved could have
+        reached this one from without capturing or promoting, which are the only
+        moves that stay inside the table.
+
+    RETURNS
+        int: The number of positions, whose indices are in the workspace's unmoves.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Unmoves(final boolean a_isStrongToMove, final Workspace a_workspace){
+        final boolean MOVER = !a_isStrongToMove;
+        final int[] SQUARES = a_workspace.m_squares;
+        final byte[] BOARD = a_workspace.m_board;
+        final int[] TARGETS = a_workspace.m_targets;
+        int count = Utilities.ZERO;
+
+        for(int piece = Utilities.ZERO; piece < SQUARES.length; piece++){
+            if(this.m_material.IsStrong(piece) != MOVER){
+                continue;
+            }
+
+            final int FROM = SQUARES[piece];
+            int targets = Utilities.ZERO;
+            switch(this.m_material.GetPieceType(piece)){
+                case KING:
+                    targets = Empty(KING_STEPS[FROM], BOARD, TARGETS, targets);
+                    break;
+                case KNIGHT:
+                    targets = Empty(KNIGHT_STEPS[FROM], BOARD, TARGETS, targets);
+                    break;
+                case ROOK:
+                    targets = Empty(ROOK_RAYS[FROM], BOARD, TARGETS, targets);
+                    break;
+                case BISHOP:
+                    targets = Empty(BISHOP_RAYS[FROM], BOARD, TARGETS, targets);
+                    break;
+                case QUEEN:
+                    targets = Empty(ROOK_RAYS[FROM], BOARD, TARGETS, targets);
+                    targets = Empty(BISHOP_RAYS[FROM], BOARD, TARGETS, targets);
+                    break;
+                case PAWN:
+                    // A pawn came from one square back, or two if it is on the square a first move reaches
+                    final int BACK = (MOVER ? -UP : UP);
+                    final int RANK = (FROM + BACK) >> Utilities.THREE;
+                    if(RANK > Utilities.ZERO && RANK < Utilities.SEVEN && BOARD[FROM + BACK] == Utilities.ZERO){
+                        TARGETS[targets++] = FROM + BACK;
+                        if(RANK == (MOVER ? Utilities.TWO : Utilities.FIVE) && BOARD[FROM + BACK + BACK] == Utilities.ZERO){
+                            TARGETS[targets++] = FROM + BACK + BACK;
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            for(int i = Utilities.ZERO; i < targets; i++){
+                final int TO = TARGETS[i];
+                SQUARES[piece] = TO;
+                BOARD[FROM] = Utilities.ZERO;
+                BOARD[TO] = (byte) (piece + Utilities.ONE);
+
+                // The side to move now could not have been left in check
+                if(!this.IsInCheck(a_isStrongToMove, a_workspace)){
+                    System.arraycopy(SQUARES, Utilities.ZERO, a_workspace.m_copy, Utilities.ZERO, SQUARES.length);
+                    a_workspace.m_unmoves[count++] = (int) this.m_material.Index(a_workspace.m_copy, MOVER);
+                }
+
+                BOARD[TO] = Utilities.ZERO;
+                BOARD[FROM] = (byte) (piece + Utilities.ONE);
+                SQUARES[piece] = FROM;
+            }
+        }
+
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsLegal(final int a_piece, final int a_to, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private boolean IsLegal(final int a_piece, final int a_to, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        int a_piece --------------> The number of the piece that moves.
+
+        int a_to -----------------> The square it goes to.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space.
+
+    DESCRIPTION
+        This method makes a move, checks that it does not leave the mover's king in check, and takes it back.
+
+    RETURNS
+        boolean: True if the move is legal, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsLegal(final int a_piece, final int a_to, final boolean a_isStrongToMove, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        final byte[] BOARD = a_workspace.m_board;
+        final int FROM = SQUARES[a_piece];
+        final byte CAPTURED = BOARD[a_to];
+
+        SQUARES[a_piece] = a_to;
+        BOARD[FROM] = Utilities.ZERO;
+        BOARD[a_to] = (byte) (a_piece + Utilities.ONE);
+
+        final int KING = SQUARES[a_isStrongToMove ? Utilities.ZERO : this.m_weakKing];
+        final boolean IS_LEGAL = !this.IsAttacked(KING, !a_isStrongToMove, CAPTURED - Utilities.ONE, a_workspace);
+
+        BOARD[a_to] = CAPTURED;
+        BOARD[FROM] = (byte) (a_piece + Utilities.ONE);
+        SQUARES[a_piece] = FROM;
+        return IS_LEGAL;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsInCheck(final boolean a_isStrong, final Workspace a_workspace);
+
+    SYNOPSIS
+        private boolean IsInCheck(final boolean a_isStrong, final Workspace a_workspace);
+
+        boolean a_isStrong -------> If the stronger side's king is the one to look at.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method determines if a king is attacked.
+
+    RETURNS
+        boolean: True if the king is in check, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsInCheck(final boolean a_isStrong, final Workspace a_workspace){
+        return this.IsAttacked(a_workspace.m_squares[a_isStrong ? Utilities.ZERO : this.m_weakKing], !a_isStrong, Utilities.NEGATIVE_ONE, a_workspace);
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsAttacked(final int a_square, final boolean a_byStrong, final int a_captured, final Workspace a_workspace);
+
+    SYNOPSIS
+        private boolean IsAttacked(final int a_square, final boolean a_byStrong, final int a_captured, final Workspace a_workspace);
+
+        int a_square -------------> The square to look at.
+
+        boolean a_byStrong -------> If the stronger side's pieces are the attackers.
+
+        int a_captured -----------> The number of a piece that was just captured, or -1.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method determines if any piece of a side attacks a square.
+
+    RETURNS
+        boolean: True if the square is attacked, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsAttacked(final int a_square, final boolean a_byStrong, final int a_captured, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        final long TARGET = 1L << a_square;
+
+        for(int piece = Utilities.ZERO; piece < SQUARES.length; piece++){
+            if(piece == a_captured || this.m_material.IsStrong(piece) != a_byStrong){
+                continue;
+            }
+
+            final int FROM = SQUARES[piece];
+            switch(this.m_material.GetPieceType(piece)){
+                case KING:
+                    if((KING_ATTACKS[FROM] & TARGET) != Utilities.ZERO){
+                        return true;
+                    }
+                    break;
+                case KNIGHT:
+                    if((KNIGHT_ATTACKS[FROM] & TARGET) != Utilities.ZERO){
+                        return true;
+                    }
+                    break;
+                case PAWN:
+                    if(((a_byStrong ? STRONG_PAWN_ATTACKS : WEAK_PAWN_ATTACKS)[FROM] & TARGET) != Utilities.ZERO){
+                        return true;
+                    }
+                    break;
+                case ROOK:
+                    if(Slides(ROOK_RAYS[FROM], a_square, a_workspace.m_board)){
+                        return true;
+                    }
+                    break;
+                case BISHOP:
+                    if(Slides(BISHOP_RAYS[FROM], a_square, a_workspace.m_board)){
+                        return true;
+                    }
+                    break;
+                case QUEEN:
+                    if(Slides(ROOK_RAYS[FROM], a_square, a_workspace.m_board) || Slides(BISHOP_RAYS[FROM], a_square, a_workspace.m_board)){
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsCapture(final int a_to, final boolean a_isStrongToMove, final byte[] a_board);
+
+    SYNOPSIS
+        private boolean IsCapture(final int a_to, final boolean a_isStrongToMove, final byte[] a_board);
+
+        int a_to -----------------> The square a piece goes to.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        byte[] a_board -----------> The number of the piece on every square plus one, or 0 if it is empty.
+
+    DESCRIPTION
+        This method determines if a square holds an enemy piece other than the king.
+
+    RETURNS
+        boolean: True if moving there captures, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsCapture(final int a_to, final boolean a_isStrongToMove, final byte[] a_board){
+        final int PIECE = a_board[a_to] - Utilities.ONE;
+        return PIECE >= Utilities.ZERO && this.m_material.IsStrong(PIECE) != a_isStrongToMove && this.m_material.GetPieceType(PIECE) != PieceType.KING;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean Leaves(final int a_move, final Workspace a_workspace);
+
+    SYNOPSIS
+        private boolean Leaves(final int a_move, final Workspace a_workspace);
+
+        int a_move ---------------> A legal move.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method determines if a move captures or promotes, which takes it out of the table.
+
+    RETURNS
+        boolean: True if the move leaves the table, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean Leaves(final int a_move, final Workspace a_workspace){
+        return Promotion(a_move) != Utilities.ZERO || a_workspace.m_board[To(a_move)] != Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        private int Successor(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int Successor(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        int a_move ---------------> A legal move that stays in the table.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method finds the index of the position after a move.
+
+    RETURNS
+        int: The index.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Successor(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace){
+        final int[] COPY = a_workspace.m_copy;
+        System.arraycopy(a_workspace.m_squares, Utilities.ZERO, COPY, Utilities.ZERO, COPY.length);
+        COPY[Piece(a_move)] = To(a_move);
+        return (int) this.m_material.Index(COPY, !a_isStrongToMove);
+    }
+
+    /**/
+    /*
+    NAME
+        private int Probe(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+    SYNOPSIS
+        private int Probe(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace);
+
+        int a_move ---------------> A legal move that captures or promotes.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+        Workspace a_workspace ----> The worker's scratch space, which holds the position.
+
+    DESCRIPTION
+        This method looks up the position after a move in the smaller tables.
+
+    RETURNS
+        int: The value from the point of view of the side to move after the move.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Probe(final int a_move, final boolean a_isStrongToMove, final Workspace a_workspace){
+        final int[] SQUARES = a_workspace.m_squares;
+        final byte[] TILES = a_workspace.m_tiles;
+        final int MOVED = Piece(a_move), TO = To(a_move), PROMOTION = Promotion(a_move);
+        final int CAPTURED = a_workspace.m_board[TO] - Utilities.ONE;
+        Arrays.fill(TILES, (byte) Utilities.ZERO);
+
+        for(int piece = Utilities.ZERO; piece < SQUARES.length; piece++){
+            if(piece == CAPTURED){
+                continue;
+            }
+
+            final PieceType TYPE = (piece == MOVED && PROMOTION != Utilities.ZERO ? PROMOTIONS[PROMOTION - Utilities.ONE] : this.m_material.GetPieceType(piece));
+            final int SQUARE = (piece == MOVED ? TO : SQUARES[piece]);
+
+            // The stronger side is white, and tile 0 is a8
+            TILES[SQUARE ^ 56] = (byte) (Utilities.ONE + (this.m_material.IsStrong(piece) ? Utilities.ZERO : Utilities.SIX) + TYPE.ordinal());
+        }
+
+        final int VALUE = this.m_smaller.Probe(TILES, (a_isStrongToMove ? ChessColor.BLACK : ChessColor.WHITE));
+        if(VALUE == Tablebases.NOT_FOUND){
+            throw new IllegalStateException(this.m_material.GetName() + " needs " + EndgameMaterial.NameOf(TILES) + ", which is missing");
+        }
+        return VALUE;
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<String> Smaller(final EndgameMaterial a_material);
+
+    SYNOPSIS
+        private static List<String> Smaller(final EndgameMaterial a_material);
+
+        EndgameMaterial a_material -> A table.
+
+    DESCRIPTION
+        This method names every table one capture or promotion leads to.
+
+    RETURNS
+        List<String>: The names.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<String> Smaller(final EndgameMaterial a_material){
+        final String NAME = a_material.GetName();
+        final int SEPARATOR = NAME.indexOf(EndgameMaterial.SEPARATOR);
+        final String[] SIDES = {NAME.substring(Utilities.ZERO, SEPARATOR), NAME.substring(SEPARATOR + Utilities.ONE)};
+        final LinkedHashSet<String> NAMES = new LinkedHashSet<>();
+
+        for(int side = Utilities.ZERO; side < SIDES.length; side++){
+            final String SIDE = SIDES[side], OTHER = SIDES[Utilities.ONE - side];
+
+            // The king is always first and never leaves
+            for(int i = Utilities.ONE; i < SIDE.length(); i++){
+                final String REST = SIDE.substring(Utilities.ZERO, i) + SIDE.substring(i + Utilities.ONE);
+                NAMES.add(REST + EndgameMaterial.SEPARATOR + OTHER);
+
+                if(SIDE.charAt(i) == LETTERS.charAt(LETTERS.length() - Utilities.ONE)){
+                    for(int promotion = Utilities.ZERO; promotion < PROMOTION_LETTERS.length(); promotion++){
+                        NAMES.add(Order(REST + PROMOTION_LETTERS.charAt(promotion)) + EndgameMaterial.SEPARATOR + OTHER);
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(NAMES);
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Order(final String a_side);
+
+    SYNOPSIS
+        private static String Order(final String a_side);
+
+        String a_side ------------> The letters of one side's pieces, in any order.
+
+    DESCRIPTION
+        This method puts the letters of one side's pieces in the order KQRBNP.
+
+    RETURNS
+        String: The letters in order.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Order(final String a_side){
+        final StringBuilder SIDE = new StringBuilder(a_side.length());
+        for(int i = Utilities.ZERO; i < LETTERS.length(); i++){
+            for(int j = Utilities.ZERO; j < a_side.length(); j++){
+                if(a_side.charAt(j) == LETTERS.charAt(i)){
+                    SIDE.append(LETTERS.charAt(i));
+                }
+            }
+        }
+        return SIDE.toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Empty(final int[] a_targets, final byte[] a_board, final int[] a_found, final int a_count);
+
+    SYNOPSIS
+        private static int Empty(final int[] a_targets, final byte[] a_board, final int[] a_found, final int a_count);
+
+        int[] a_targets ----------> The squares a piece can step to.
+
+        byte[] a_board -----------> The number of the piece on every square plus one, or 0 if it is empty.
+
+        int[] a_found ------------> The empty squares found so far.
+
+        int a_count --------------> The number of empty squares found so far.
+
+    DESCRIPTION
+        This method adds the empty squares a king or knight can step to.
+
+    RETURNS
+        int: The number of empty squares found so far.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Empty(final int[] a_targets, final byte[] a_board, final int[] a_found, final int a_count){
+        int count = a_count;
+        for(final int TO : a_targets){
+            if(a_board[TO] == Utilities.ZERO){
+                a_found[count++] = TO;
+            }
+        }
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Empty(final int[][] a_rays, final byte[] a_board, final int[] a_found, final int a_count);
+
+    SYNOPSIS
+        private static int Empty(final int[][] a_rays, final byte[] a_board, final int[] a_found, final int a_count);
+
+        int[][] a_rays -----------> The squares a piece can slide along, nearest first.
+
+        byte[] a_board -----------> The number of the piece on every square plus one, or 0 if it is empty.
+
+        int[] a_found ------------> The empty squares found so far.
+
+        int a_count --------------> The number of empty squares found so far.
+
+    DESCRIPTION
+        This method adds the empty squares a sliding piece reaches before it is blocked.
+
+    RETURNS
+        int: The number of empty squares found so far.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Empty(final int[][] a_rays, final byte[] a_board, final int[] a_found, final int a_count){
+        int count = a_count;
+        for(final int[] RAY : a_rays){
+            for(final int TO : RAY){
+                if(a_board[TO] != Utilities.ZERO){
+                    break;
+                }
+                a_found[count++] = TO;
+            }
+        }
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean Slides(final int[][] a_rays, final int a_square, final byte[] a_board);
+
+    SYNOPSIS
+        private static boolean Slides(final int[][] a_rays, final int a_square, final byte[] a_board);
+
+        int[][] a_rays -----------> The squares a piece can slide along, nearest first.
+
+        int a_square -------------> The square to reach.
+
+        byte[] a_board -----------> The number of the piece on every square plus one, or 0 if it is empty.
+
+    DESCRIPTION
+        This method determines if a sliding piece reaches a square before it is blocked.
+
+    RETURNS
+        boolean: True if the square is reached, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean Slides(final int[][] a_rays, final int a_square, final byte[] a_board){
+        for(final int[] RAY : a_rays){
+            for(final int TO : RAY){
+                if(TO == a_square){
+                    return true;
+                }
+                if(a_board[TO] != Utilities.ZERO){
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int[][] Steps(final Delta[] a_deltas);
+
+    SYNOPSIS
+        private static int[][] Steps(final Delta[] a_deltas);
+
+        Delta[] a_deltas ---------> The moves of a piece, as MoveEvaluation lists them.
+
+    DESCRIPTION
+        This method finds every square a piece can step to from every square.
+        A delta counts rows down from the eighth rank, so it is subtracted from the rank.
+
+    RETURNS
+        int[][]: The squares reached from every square, where a1 is 0.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int[][] Steps(final Delta[] a_deltas){
+        final int[][] STEPS = new int[Utilities.SIXTY_FOUR][];
+        final int[] FOUND = new int[a_deltas.length];
+
+        for(int square = Utilities.ZERO; square < Utilities.SIXTY_FOUR; square++){
+            int count = Utilities.ZERO;
+            for(final Delta DELTA : a_deltas){
+                final int RANK = (square >> Utilities.THREE) - DELTA.GetRowDelta(), FILE = (square & Utilities.SEVEN) + DELTA.GetColumnDelta();
+                if(RANK >= Utilities.ZERO && RANK < Utilities.EIGHT && FILE >= Utilities.ZERO && FILE < Utilities.EIGHT){
+                    FOUND[count++] = RANK * Utilities.EIGHT + FILE;
+                }
+            }
+            STEPS[square] = Arrays.copyOf(FOUND, count);
+        }
+
+        return STEPS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int[][][] Rays(final Delta[]... a_directions);
+
+    SYNOPSIS
+        private static int[][][] Rays(final Delta[]... a_directions);
+
+        Delta[]... a_directions --> The moves of a piece in each direction, nearest first.
+
+    DESCRIPTION
+        This method finds every square a sliding piece passes in each direction from every square.
+
+    RETURNS
+        int[][][]: The squares passed from every square in each direction, nearest first.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int[][][] Rays(final Delta[]... a_directions){
+        final int[][][] RAYS = new int[Utilities.SIXTY_FOUR][a_directions.length][];
+        for(int direction = Utilities.ZERO; direction < a_directions.length; direction++){
+            // Steps() keeps the order of the deltas, and a ray ends at the edge, so the steps of one direction are its ray
+            final int[][] STEPS = Steps(a_directions[direction]);
+            for(int square = Utilities.ZERO; square < Utilities.SIXTY_FOUR; square++){
+                RAYS[square][direction] = STEPS[square];
+            }
+        }
+        return RAYS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static long[] Masks(final int[][] a_steps);
+
+    SYNOPSIS
+        private static long[] Masks(final int[][] a_steps);
+
+        int[][] a_steps ----------> The squares reached from every square.
+
+    DESCRIPTION
+        This method turns the squares reached from every square into one bit per square.
+
+    RETURNS
+        long[]: The squares reached from every square as bits.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long[] Masks(final int[][] a_steps){
+        final long[] MASKS = new long[a_steps.length];
+        for(int square = Utilities.ZERO; square < a_steps.length; square++){
+            for(final int TO : a_steps[square]){
+                MASKS[square] |= 1L << TO;
+            }
+        }
+        return MASKS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Move(final int a_piece, final int a_to, final int a_promotion);
+
+    SYNOPSIS
+        private static int Move(final int a_piece, final int a_to, final int a_promotion);
+
+        int a_piece --------------> The number of the piece that moves.
+
+        int a_to -----------------> The square it goes to.
+
+        int a_promotion ----------> One more than the place of the promotion in PROMOTIONS, or 0.
+
+    DESCRIPTION
+        This method packs a move into an int.
+
+    RETURNS
+        int: The move.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Move(final int a_piece, final int a_to, final int a_promotion){
+        return (a_piece << Utilities.NINE) | (a_to << Utilities.THREE) | a_promotion;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Piece(final int a_move);
+
+    SYNOPSIS
+        private static int Piece(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the number of the piece that moves.
+
+    RETURNS
+        int: The number of the piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Piece(final int a_move){
+        return a_move >> Utilities.NINE;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int To(final int a_move);
+
+    SYNOPSIS
+        private static int To(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks the square a move goes to.
+
+    RETURNS
+        int: The square.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int To(final int a_move){
+        return (a_move >> Utilities.THREE) & (Utilities.SIXTY_FOUR - Utilities.ONE);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Promotion(final int a_move);
+
+    SYNOPSIS
+        private static int Promotion(final int a_move);
+
+        int a_move ---------------> A packed move.
+
+    DESCRIPTION
+        This method unpacks what a move promotes to.
+
+    RETURNS
+        int: One more than the place of the promotion in PROMOTIONS, or 0.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Promotion(final int a_move){
+        return a_move & Utilities.SEVEN;
+    }
+
+    /**
+     * The work one thread does on a range of indices.
+     */
+    private interface Pass{
+        long Run(final int a_from, final int a_to, final Workspace a_workspace);
+    }
+
+    /**
+     * The arrays one thread works in, so nothing is allocated per position.
+     */
+    private static final class Workspace{
+        private final int[] m_squares;
+        private final int[] m_copy;
+        private final byte[] m_board = new byte[Utilities.SIXTY_FOUR];
+        private final byte[] m_tiles = new byte[Utilities.SIXTY_FOUR];
+        private final int[] m_moves = new int[MAX_MOVES];
+        private final int[] m_unmoves = new int[MAX_MOVES];
+        private final int[] m_targets = new int[MAX_MOVES];
+
+        private Workspace(final int a_pieces){
+            this.m_squares = new int[a_pieces];
+            this.m_copy = new int[a_pieces];
+        }
+    }
+}
@@ -0,0 +1,801 @@
+package com.DarkBlue.Tablebase;
+
+import java.util.Arrays;
+
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class describes the pieces of one endgame table and
+ * turns the positions with those pieces into indices and back.
+ *
+ * A table is named after its pieces the way Syzygy names its files: the stronger
+ * side's pieces, a v, and the weaker side's pieces, each in the order KQRBNP,
+ * e.g. KQvK or KBNvK. The stronger side has the most material by the usual
+ * 9, 5, 3, 3, 1 values, with ties going to the side with the earlier piece in
+ * that order. Inside the table the stronger side is always white; a position
+ * where it is black is looked up with its ranks mirrored and its colors swapped.
+ *
+ * An index is built from the squares of the pieces, counting a1 as 0 and h8 as 63,
+ * in the order of the name, and then the side to move:
+ *
+ *     ((slot * 64 + square 1) * 64 + square 2 ...) * 2 + (the stronger side to move ? 0 : 1)
+ *
+ * The slot is where the stronger king stands once the board is turned so that it
+ * stands as close to a1 as possible. Without pawns the board can be mirrored across
+ * the middle files, the middle ranks, and the a1-h8 diagonal, which leaves 10 slots
+ * in the triangle a1-d1-d4. Pawns only allow the files to be mirrored, which leaves the
+ * 32 tiles of files a to d. When both sides have the same pieces, the side to move is
+ * taken as the stronger one.
+ *
+ * Every position has exactly one index. Pieces of the same kind are taken in the order
+ * of their squares, and a board with the stronger king on the diagonal, which stays in
+ * its slot when mirrored across it, is turned whichever way gives the smaller index.
+ * Indices that no position turns into, such as those with two pieces on the same square,
+ * a pawn on the first or last rank, or the other order of two pieces of the same kind,
+ * exist but hold no position.
+ *
+ * Positions are passed around as 64 FenParser piece codes in the order
+ * RecordPosition keeps them, where tile 0 is a8 and tile 63 is h1.
+ */
+public final class EndgameMaterial{
+
+    // The order pieces are named and indexed in
+    private static final PieceType[] ORDER = {PieceType.KING, PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT, PieceType.PAWN};
+    private static final String LETTERS = "KQRBNP";
+    private static final int[] VALUES = {0, 9, 5, 3, 3, 1};
+
+    // Where each type comes in that order, indexed by PieceType
+    private static final int[] ORDER_OF = {5, 2, 4, 3, 1, 0};
+
+    public static final char SEPARATOR = 'v';
+
+    private static final int PAWNLESS_SLOTS = Utilities.TEN;
+    private static final int PAWN_SLOTS = 32;
+
+    // The slot of every square the stronger king can be turned onto, and the square of every slot
+    private static final int[] PAWNLESS_SLOT = new int[Utilities.SIXTY_FOUR];
+    private static final int[] PAWNLESS_SQUARE = new int[PAWNLESS_SLOTS];
+
+    static{
+        Arrays.fill(PAWNLESS_SLOT, Utilities.NEGATIVE_ONE);
+        int slot = Utilities.ZERO;
+        for(int rank = Utilities.ZERO; rank < Utilities.FOUR; rank++){
+            for(int file = rank; file < Utilities.FOUR; file++){
+                PAWNLESS_SLOT[rank * Utilities.EIGHT + file] = slot;
+                PAWNLESS_SQUARE[slot++] = rank * Utilities.EIGHT + file;
+            }
+        }
+    }
+
+    private final String m_name;
+
+    // The type of every piece in index order, and whether it belongs to the stronger side
+    private final PieceType[] m_types;
+    private final boolean[] m_isStrong;
+    private final boolean m_hasPawns;
+    private final boolean m_isSymmetric;
+    private final long m_size;
+
+    /**/
+    /*
+    NAME
+        private EndgameMaterial(final String a_strong, final String a_weak);
+
+    SYNOPSIS
+        private EndgameMaterial(final String a_strong, final String a_weak);
+
+        String a_strong ----------> The letters of the stronger side's pieces, in the order KQRBNP.
+
+        String a_weak ------------> The letters of the weaker side's pieces, in the same order.
+
+    DESCRIPTION
+        This constructor creates the description of a table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private EndgameMaterial(final String a_strong, final String a_weak){
+        this.m_name = a_strong + SEPARATOR + a_weak;
+        this.m_types = new PieceType[a_strong.length() + a_weak.length()];
+        this.m_isStrong = new boolean[this.m_types.length];
+
+        boolean hasPawns = false;
+        for(int i = Utilities.ZERO; i < this.m_types.length; i++){
+            this.m_isStrong[i] = i < a_strong.length();
+            this.m_types[i] = ORDER[LETTERS.indexOf(this.m_isStrong[i] ? a_strong.charAt(i) : a_weak.charAt(i - a_strong.length()))];
+            hasPawns |= this.m_types[i] == PieceType.PAWN;
+        }
+
+        this.m_hasPawns = hasPawns;
+        this.m_isSymmetric = a_strong.equals(a_weak);
+
+        long size = (hasPawns ? PAWN_SLOTS : PAWNLESS_SLOTS);
+        for(int i = Utilities.ONE; i < this.m_types.length; i++){
+            size *= Utilities.SIXTY_FOUR;
+        }
+        this.m_size = size * Utilities.TWO;
+    }
+
+    /**/
+    /*
+    NAME
+        public static EndgameMaterial Of(final String a_name);
+
+    SYNOPSIS
+        public static EndgameMaterial Of(final String a_name);
+
+        String a_name ------------> A name such as KQvK, with either side first.
+
+    DESCRIPTION
+        This method parses the name of a table. The sides
+        are put in order, so KvKQ describes the same table as KQvK.
+
+    RETURNS
+        EndgameMaterial: The description of the table.
+
+    AUTHOR
+        Ryan King
+    */
+    public static EndgameMaterial Of(final String a_name){
+        final int SEPARATOR_INDEX = (a_name == null ? Utilities.NEGATIVE_ONE : a_name.indexOf(SEPARATOR));
+        if(SEPARATOR_INDEX < Utilities.ZERO){
+            throw new IllegalArgumentException("Invalid endgame table name: " + a_name);
+        }
+
+        final String FIRST = a_name.substring(Utilities.ZERO, SEPARATOR_INDEX), SECOND = a_name.substring(SEPARATOR_INDEX + Utilities.ONE);
+        if(!IsSide(FIRST) || !IsSide(SECOND)){
+            throw new IllegalArgumentException("Invalid endgame table name: " + a_name);
+        }
+
+        return (Compare(FIRST, SECOND) >= Utilities.ZERO ? new EndgameMaterial(FIRST, SECOND) : new EndgameMaterial(SECOND, FIRST));
+    }
+
+    /**/
+    /*
+    NAME
+        public static EndgameMaterial Of(final byte[] a_tiles);
+
+    SYNOPSIS
+        public static EndgameMaterial Of(final byte[] a_tiles);
+
+        byte[] a_tiles -----------> The 64 piece codes of a position.
+
+    DESCRIPTION
+        This method describes the table a position belongs to.
+
+    RETURNS
+        EndgameMaterial: The description of the table.
+
+    AUTHOR
+        Ryan King
+    */
+    public static EndgameMaterial Of(final byte[] a_tiles){
+        return Of(Side(a_tiles, ChessColor.WHITE) + SEPARATOR + Side(a_tiles, ChessColor.BLACK));
+    }
+
+    /**/
+    /*
+    NAME
+        public static String NameOf(final byte[] a_tiles);
+
+    SYNOPSIS
+        public static String NameOf(final byte[] a_tiles);
+
+        byte[] a_tiles -----------> The 64 piece codes of a position.
+
+    DESCRIPTION
+        This method names the table a position belongs to without
+        creating its description, which the probes in the search rely on.
+
+    RETURNS
+        String: The name of the table.
+
+    AUTHOR
+        Ryan King
+    */
+    public static String NameOf(final byte[] a_tiles){
+        final String WHITE = Side(a_tiles, ChessColor.WHITE), BLACK = Side(a_tiles, ChessColor.BLACK);
+        return (Compare(WHITE, BLACK) >= Utilities.ZERO ? WHITE + SEPARATOR + BLACK : BLACK + SEPARATOR + WHITE);
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Index(final byte[] a_tiles, final ChessColor a_turn);
+
+    SYNOPSIS
+        public final long Index(final byte[] a_tiles, final ChessColor a_turn);
+
+        byte[] a_tiles -----------> The 64 piece codes of a position with this table's pieces.
+
+        ChessColor a_turn --------> The side to move.
+
+    DESCRIPTION
+        This method finds the index of a position.
+
+    RETURNS
+        long: The index, or -1 if the position does not have this table's pieces.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Index(final byte[] a_tiles, final ChessColor a_turn){
+        // Only swap the colors when black is the stronger side; with the same pieces on both sides, white is taken here
+        final ChessColor STRONG = (this.m_isSymmetric || Side(a_tiles, ChessColor.WHITE).equals(this.m_name.substring(Utilities.ZERO, this.m_name.indexOf(SEPARATOR))) ? ChessColor.WHITE : ChessColor.BLACK);
+        final int[] SQUARES = new int[this.m_types.length];
+        final boolean[] USED = new boolean[Utilities.SIXTY_FOUR];
+
+        for(int i = Utilities.ZERO; i < this.m_types.length; i++){
+            final ChessColor COLOR = (this.m_isStrong[i] ? STRONG : (STRONG.IsWhite() ? ChessColor.BLACK : ChessColor.WHITE));
+            final byte CODE = (byte) (Utilities.ONE + COLOR.ordinal() * Utilities.SIX + this.m_types[i].ordinal());
+
+            SQUARES[i] = Utilities.NEGATIVE_ONE;
+            for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+                if(a_tiles[tile] == CODE && !USED[tile]){
+                    USED[tile] = true;
+                    // Tile 0 is a8, so flipping the rank bits gives a1 = 0, and black as the stronger side is mirrored back
+                    SQUARES[i] = (STRONG.IsWhite() ? tile ^ 56 : tile);
+                    break;
+                }
+            }
+
+            if(SQUARES[i] < Utilities.ZERO){
+                return Utilities.NEGATIVE_ONE;
+            }
+        }
+
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            if(a_tiles[tile] != FenParser.EMPTY && !USED[tile]){
+                return Utilities.NEGATIVE_ONE;
+            }
+        }
+
+        return this.Index(SQUARES, a_turn == STRONG);
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Index(final int[] a_squares, final boolean a_isStrongToMove);
+
+    SYNOPSIS
+        public final long Index(final int[] a_squares, final boolean a_isStrongToMove);
+
+        int[] a_squares ----------> The square of every piece in the order of the name, where a1 is 0.
+
+        boolean a_isStrongToMove -> If the stronger side is to move.
+
+    DESCRIPTION
+        This method turns the board so the stronger king is in its slot and finds the index.
+        The squares are changed to match the turned board, and if both sides have the same
+        pieces and the weaker side is to move, the colors are swapped first.
+
+    RETURNS
+        long: The index.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Index(final int[] a_squares, final boolean a_isStrongToMove){
+        boolean isStrongToMove = a_isStrongToMove;
+
+        // With the same pieces on both sides, the side to move takes the stronger side's place
+        if(this.m_isSymmetric && !isStrongToMove){
+            final int HALF = a_squares.length / Utilities.TWO;
+            for(int i = Utilities.ZERO; i < HALF; i++){
+                final int STRONG = a_squares[i];
+                a_squares[i] = a_squares[i + HALF] ^ 56;
+                a_squares[i + HALF] = STRONG ^ 56;
+            }
+            isStrongToMove = true;
+        }
+
+        final int KING = a_squares[Utilities.ZERO];
+        final int FILE_FLIP = ((KING & Utilities.SEVEN) > Utilities.THREE ? Utilities.SEVEN : Utilities.ZERO);
+        final int RANK_FLIP = (!this.m_hasPawns && (KING >> Utilities.THREE) > Utilities.THREE ? 56 : Utilities.ZERO);
+
+        for(int i = Utilities.ZERO; i < a_squares.length; i++){
+            a_squares[i] ^= FILE_FLIP | RANK_FLIP;
+        }
+
+        // Past the diagonal, swap every piece's rank and file
+        if(!this.m_hasPawns && (a_squares[Utilities.ZERO] >> Utilities.THREE) > (a_squares[Utilities.ZERO] & Utilities.SEVEN)){
+            for(int i = Utilities.ZERO; i < a_squares.length; i++){
+                a_squares[i] = Transpose(a_squares[i]);
+            }
+        }
+
+        this.Sort(a_squares);
+        long index = this.Pack(a_squares);
+
+        // On the diagonal, the king stays put when the board is mirrored across it, so both ways are tried
+        if(!this.m_hasPawns && (a_squares[Utilities.ZERO] >> Utilities.THREE) == (a_squares[Utilities.ZERO] & Utilities.SEVEN)){
+            final int[] MIRROR = new int[a_squares.length];
+            for(int i = Utilities.ZERO; i < a_squares.length; i++){
+                MIRROR[i] = Transpose(a_squares[i]);
+            }
+
+            this.Sort(MIRROR);
+            final long MIRROR_INDEX = this.Pack(MIRROR);
+            if(MIRROR_INDEX < index){
+                System.arraycopy(MIRROR, Utilities.ZERO, a_squares, Utilities.ZERO, MIRROR.length);
+                index = MIRROR_INDEX;
+            }
+        }
+
+        return index * Utilities.TWO + (isStrongToMove ? Utilities.ZERO : Utilities.ONE);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Decode(final long a_index, final int[] a_squares);
+
+    SYNOPSIS
+        public final boolean Decode(final long a_index, final int[] a_squares);
+
+        long a_index -------------> An index of this table.
+
+        int[] a_squares ----------> Receives the square of every piece in the order of the name.
+
+    DESCRIPTION
+        This method finds the squares of the position an index stands for,
+        as seen on the turned board with the stronger side as white.
+
+    RETURNS
+        boolean: True if the stronger side is to move, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Decode(final long a_index, final int[] a_squares){
+        long rest = a_index / Utilities.TWO;
+
+        for(int i = a_squares.length - Utilities.ONE; i > Utilities.ZERO; i--){
+            a_squares[i] = (int) (rest % Utilities.SIXTY_FOUR);
+            rest /= Utilities.SIXTY_FOUR;
+        }
+
+        final int SLOT = (int) rest;
+        a_squares[Utilities.ZERO] = (this.m_hasPawns ? (SLOT / Utilities.FOUR) * Utilities.EIGHT + SLOT % Utilities.FOUR : PAWNLESS_SQUARE[SLOT]);
+
+        return a_index % Utilities.TWO == Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Place(final long a_index, final byte[] a_tiles);
+
+    SYNOPSIS
+        public final boolean Place(final long a_index, final byte[] a_tiles);
+
+        long a_index -------------> An index of this table.
+
+        byte[] a_tiles -----------> Receives the 64 piece codes of the position.
+
+    DESCRIPTION
+        This method sets up the position an index stands for, with the stronger side as white.
+
+    RETURNS
+        boolean: False if two pieces share a square or a pawn is on the first or last rank,
+        so no position has this index, and true otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Place(final long a_index, final byte[] a_tiles){
+        final int[] SQUARES = new int[this.m_types.length];
+        this.Decode(a_index, SQUARES);
+        Arrays.fill(a_tiles, FenParser.EMPTY);
+
+        for(int i = Utilities.ZERO; i < SQUARES.length; i++){
+            final int TILE = SQUARES[i] ^ 56;
+            final int RANK = SQUARES[i] >> Utilities.THREE;
+
+            if(a_tiles[TILE] != FenParser.EMPTY || (this.m_types[i] == PieceType.PAWN && (RANK == Utilities.ZERO || RANK == Utilities.SEVEN))){
+                return false;
+            }
+
+            a_tiles[TILE] = (byte) (Utilities.ONE + (this.m_isStrong[i] ? Utilities.ZERO : Utilities.SIX) + this.m_types[i].ordinal());
+        }
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetName();
+
+    SYNOPSIS
+        public final String GetName();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the name of the table.
+
+    RETURNS
+        String m_name: The name, e.g. KQvK.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetName(){
+        return this.m_name;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetPieceCount();
+
+    SYNOPSIS
+        public final int GetPieceCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many pieces the table's positions have, kings included.
+
+    RETURNS
+        int: The number of pieces.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetPieceCount(){
+        return this.m_types.length;
+    }
+
+    /**/
+    /*
+    NAME
+        public final PieceType GetPieceType(final int a_piece);
+
+    SYNOPSIS
+        public final PieceType GetPieceType(final int a_piece);
+
+        int a_piece --------------> The number of a piece in the order of the name.
+
+    DESCRIPTION
+        This method returns the type of a piece.
+
+    RETURNS
+        PieceType: The type.
+
+    AUTHOR
+        Ryan King
+    */
+    public final PieceType GetPieceType(final int a_piece){
+        return this.m_types[a_piece];
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsStrong(final int a_piece);
+
+    SYNOPSIS
+        public final boolean IsStrong(final int a_piece);
+
+        int a_piece --------------> The number of a piece in the order of the name.
+
+    DESCRIPTION
+        This method determines if a piece belongs to the stronger side.
+
+    RETURNS
+        boolean: True if the piece is the stronger side's, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsStrong(final int a_piece){
+        return this.m_isStrong[a_piece];
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean HasPawns();
+
+    SYNOPSIS
+        public final boolean HasPawns();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the table has pawns, which
+        decides how the board may be turned.
+
+    RETURNS
+        boolean m_hasPawns: True if there are pawns, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean HasPawns(){
+        return this.m_hasPawns;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsSymmetric();
+
+    SYNOPSIS
+        public final boolean IsSymmetric();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if both sides have the same pieces. Such a table
+        only holds positions with the stronger side to move.
+
+    RETURNS
+        boolean m_isSymmetric: True if both sides have the same pieces, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsSymmetric(){
+        return this.m_isSymmetric;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetSize();
+
+    SYNOPSIS
+        public final long GetSize();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many indices the table has.
+
+    RETURNS
+        long m_size: The number of indices.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetSize(){
+        return this.m_size;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Side(final byte[] a_tiles, final ChessColor a_color);
+
+    SYNOPSIS
+        private static String Side(final byte[] a_tiles, final ChessColor a_color);
+
+        byte[] a_tiles -----------> The 64 piece codes of a position.
+
+        ChessColor a_color -------> The side whose pieces to name.
+
+    DESCRIPTION
+        This method names one side's pieces in the order KQRBNP.
+
+    RETURNS
+        String: The letters of the pieces.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Side(final byte[] a_tiles, final ChessColor a_color){
+        final int[] COUNTS = new int[ORDER.length];
+        for(final byte CODE : a_tiles){
+            if(CODE != FenParser.EMPTY && FenParser.ColorOf(CODE) == a_color){
+                COUNTS[ORDER_OF[FenParser.TypeOf(CODE).ordinal()]]++;
+            }
+        }
+
+        final StringBuilder SIDE = new StringBuilder(Utilities.EIGHT);
+        for(int i = Utilities.ZERO; i < ORDER.length; i++){
+            for(int count = Utilities.ZERO; count < COUNTS[i]; count++){
+                SIDE.append(LETTERS.charAt(i));
+            }
+        }
+
+        return SIDE.toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean IsSide(final String a_side);
+
+    SYNOPSIS
+        private static boolean IsSide(final String a_side);
+
+        String a_side ------------> The letters of one side's pieces.
+
+    DESCRIPTION
+        This method checks that a side has one king, named first,
+        and its other pieces in the order KQRBNP.
+
+    RETURNS
+        boolean: True if the side is written correctly, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsSide(final String a_side){
+        if(a_side.isEmpty() || a_side.charAt(Utilities.ZERO) != LETTERS.charAt(Utilities.ZERO)){
+            return false;
+        }
+
+        int previous = Utilities.ONE;
+        for(int i = Utilities.ONE; i < a_side.length(); i++){
+            final int ORDER_INDEX = LETTERS.indexOf(a_side.charAt(i));
+            if(ORDER_INDEX < previous){
+                return false;
+            }
+            previous = ORDER_INDEX;
+        }
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Compare(final String a_first, final String a_second);
+
+    SYNOPSIS
+        private static int Compare(final String a_first, final String a_second);
+
+        String a_first -----------> The letters of one side's pieces.
+
+        String a_second ----------> The letters of the other side's pieces.
+
+    DESCRIPTION
+        This method decides which side is the stronger one: the side
+        with more material, or else the side with the earlier piece in the order KQRBNP,
+        or else the side with more pieces.
+
+    RETURNS
+        int: A positive number if the first side is stronger, a negative number
+        if the second side is, and 0 if both sides have the same pieces.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Compare(final String a_first, final String a_second){
+        final int VALUE = Value(a_first) - Value(a_second);
+        if(VALUE != Utilities.ZERO){
+            return VALUE;
+        }
+
+        for(int i = Utilities.ZERO; i < Math.min(a_first.length(), a_second.length()); i++){
+            final int ORDER_INDEX = LETTERS.indexOf(a_second.charAt(i)) - LETTERS.indexOf(a_first.charAt(i));
+            if(ORDER_INDEX != Utilities.ZERO){
+                return ORDER_INDEX;
+            }
+        }
+
+        return a_first.length() - a_second.length();
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Value(final String a_side);
+
+    SYNOPSIS
+        private static int Value(final String a_side);
+
+        String a_side ------------> The letters of one side's pieces.
+
+    DESCRIPTION
+        This method adds up the material of one side.
+
+    RETURNS
+        int: The material.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Value(final String a_side){
+        int value = Utilities.ZERO;
+        for(int i = Utilities.ZERO; i < a_side.length(); i++){
+            value += VALUES[LETTERS.indexOf(a_side.charAt(i))];
+        }
+        return value;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Sort(final int[] a_squares);
+
+    SYNOPSIS
+        private void Sort(final int[] a_squares);
+
+        int[] a_squares ----------> The square of every piece in the order of the name.
+
+    DESCRIPTION
+        This method puts pieces of the same kind on the same side in the order of their squares.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Sort(final int[] a_squares){
+        for(int i = Utilities.TWO; i < a_squares.length; i++){
+            final int SQUARE = a_squares[i];
+            int j = i;
+            while(j > Utilities.ONE && this.m_types[j - Utilities.ONE] == this.m_types[i] && this.m_isStrong[j - Utilities.ONE] == this.m_isStrong[i] && a_squares[j - Utilities.ONE] > SQUARE){
+                a_squares[j] = a_squares[j - Utilities.ONE];
+                j--;
+            }
+            a_squares[j] = SQUARE;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private long Pack(final int[] a_squares);
+
+    SYNOPSIS
+        private long Pack(final int[] a_squares);
+
+        int[] a_squares ----------> The square of every piece on the turned board.
+
+    DESCRIPTION
+        This method combines the slot of the stronger king and the other squares, without the side to move.
+
+    RETURNS
+        long: The index divided by two.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Pack(final int[] a_squares){
+        final int KING = a_squares[Utilities.ZERO];
+        long index = (this.m_hasPawns ? (KING >> Utilities.THREE) * Utilities.FOUR + (KING & Utilities.SEVEN) : PAWNLESS_SLOT[KING]);
+
+        for(int i = Utilities.ONE; i < a_squares.length; i++){
+            index = index * Utilities.SIXTY_FOUR + a_squares[i];
+        }
+
+        return index;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Transpose(final int a_square);
+
+    SYNOPSIS
+        private static int Transpose(final int a_square);
+
+        int a_square -------------> A square, where a1 is 0.
+
+    DESCRIPTION
+        This method mirrors a square across the a1-h8 diagonal.
+
+    RETURNS
+        int: The mirrored square.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Transpose(final int a_square){
+        return (a_square & Utilities.SEVEN) * Utilities.EIGHT + (a_square >> Utilities.THREE);
+    }
+}
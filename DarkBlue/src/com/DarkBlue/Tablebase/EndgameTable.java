@@ -0,0 +1,524 @@
+package com.DarkBlue.Tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class reads one endgame table file.
+ *
+ * A table holds one byte for every index of its EndgameMaterial,
+ * from the point of view of the side to move:
+ *
+ *     0           a draw
+ *     1 to 127    a win, with mate given in that many plies
+ *     -1 to -127  a loss, with mate received in one ply fewer than the negated value,
+ *                 so -1 means the side to move is checkmated
+ *     -128        no position has this index
+ *
+ * Tables assume neither side can castle or capture en passant.
+ *
+ * A file comes in one of two versions. Both start with a big-endian header:
+ *
+ *     int     MAGIC
+ *     int     VERSION or PACKED_VERSION
+ *     u8      the length of the name
+ *     bytes   the name in ASCII, e.g. KQvK
+ *     long    the number of indices
+ *
+ * A file of VERSION, which is made by EndgameTableWriter.Write(), goes on with:
+ *
+ *     int     the number of indices in a block, which is the same for every block but the last
+ *     long    the offset of every block from the start of the file, plus the end of the last block
+ *     bytes   every block compressed with java.util.zip.Deflater
+ *
+ * Only the blocks that are probed are ever decoded, and a decoded block
+ * stays in the shared BlockCache until newer ones push it out.
+ *
+ * A file of PACKED_VERSION, which is made by EndgameTableWriter.WritePacked()
+ * and by the EndgameGenerator, goes on with:
+ *
+ *     u8      how many bits hold a distance to mate
+ *     bytes   every index, uncompressed and bit-packed
+ *
+ * Every index takes WDL_BITS bits for whether it is a draw, a win, a loss, or invalid,
+ * followed by its distance to mate. The bits are little-endian and padded with seven bytes,
+ * so any index is found with a single read of the eight bytes it starts in and no cache at all.
+ *
+ * Either way the file is memory-mapped, and any number of threads may probe the same table.
+ */
+public final class EndgameTable{
+
+    public static final int MAGIC = 0x44425442;
+    public static final int VERSION = Utilities.ONE;
+    public static final int PACKED_VERSION = Utilities.TWO;
+    public static final String EXTENSION = ".dtb";
+
+    public static final byte DRAW = Utilities.ZERO;
+    public static final byte INVALID = Byte.MIN_VALUE;
+    public static final int MAX_DISTANCE = Byte.MAX_VALUE;
+
+    // What the lowest bits of a packed index say it is
+    public static final int WDL_BITS = Utilities.TWO;
+    public static final int PACKED_DRAW = Utilities.ZERO;
+    public static final int PACKED_WIN = Utilities.ONE;
+    public static final int PACKED_LOSS = Utilities.TWO;
+    public static final int PACKED_INVALID = Utilities.THREE;
+
+    private static final AtomicInteger m_tables = new AtomicInteger();
+
+    private final int m_id;
+    private final EndgameMaterial m_material;
+    private final ByteBuffer m_file;
+    private final int m_blockSize;
+    private final long[] m_offsets;
+    private final BlockCache m_cache;
+
+    // Only set for packed files
+    private final ByteBuffer m_packed;
+    private final int m_bits;
+    private final long m_mask;
+
+    /**/
+    /*
+    NAME
+        public EndgameTable(final Path a_path, final BlockCache a_cache) throws IOException;
+
+    SYNOPSIS
+        public EndgameTable(final Path a_path, final BlockCache a_cache) throws IOException;
+
+        Path a_path --------------> The table file.
+
+        BlockCache a_cache -------> Where decoded blocks are kept.
+
+    DESCRIPTION
+        This constructor maps a table file into memory and reads its header.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public EndgameTable(final Path a_path, final BlockCache a_cache) throws IOException{
+        if(a_path == null || a_cache == null){
+            throw new IllegalArgumentException("Invalid argument(s) to EndgameTable constructor");
+        }
+
+        try(final FileChannel CHANNEL = FileChannel.open(a_path, StandardOpenOption.READ)){
+            if(CHANNEL.size() > Integer.MAX_VALUE){
+                throw new IOException(a_path + " is too large to map at once");
+            }
+
+            // The mapping stays valid after the channel is closed
+            this.m_file = CHANNEL.map(FileChannel.MapMode.READ_ONLY, Utilities.ZERO, CHANNEL.size());
+        }
+
+        try{
+            final int MAGIC_READ = this.m_file.getInt(), VERSION_READ = this.m_file.getInt();
+            if(MAGIC_READ != MAGIC || (VERSION_READ != VERSION && VERSION_READ != PACKED_VERSION)){
+                throw new IOException(a_path + " is not an endgame table of this version");
+            }
+
+            final byte[] NAME = new byte[this.m_file.get() & 0xFF];
+            this.m_file.get(NAME);
+            this.m_material = EndgameMaterial.Of(new String(NAME, StandardCharsets.US_ASCII));
+
+            final long SIZE = this.m_file.getLong();
+            if(SIZE != this.m_material.GetSize()){
+                throw new IOException(a_path + " has the wrong number of indices for " + this.m_material.GetName());
+            }
+
+            if(VERSION_READ == PACKED_VERSION){
+                final int DISTANCE_BITS = this.m_file.get();
+                if(DISTANCE_BITS < Utilities.ZERO || DISTANCE_BITS > Integer.SIZE - Integer.numberOfLeadingZeros(MAX_DISTANCE)){
+                    throw new IOException(a_path + " has " + DISTANCE_BITS + " bits for a distance");
+                }
+
+                this.m_bits = WDL_BITS + DISTANCE_BITS;
+                this.m_mask = (Utilities.ONE << this.m_bits) - Utilities.ONE;
+                if(this.m_file.remaining() < PackedLength(SIZE, this.m_bits)){
+                    throw new IOException(a_path + " is shorter than its indices");
+                }
+
+                // Absolute reads of a little-endian view of the packed bits never touch a shared position
+                this.m_packed = this.m_file.slice().order(ByteOrder.LITTLE_ENDIAN);
+                this.m_blockSize = Utilities.ZERO;
+                this.m_offsets = null;
+            }else{
+                this.m_blockSize = this.m_file.getInt();
+                if(this.m_blockSize < Utilities.ONE){
+                    throw new IOException(a_path + " has blocks of " + this.m_blockSize + " indices");
+                }
+
+                this.m_offsets = new long[(int) ((SIZE + this.m_blockSize - Utilities.ONE) / this.m_blockSize) + Utilities.ONE];
+                for(int i = Utilities.ZERO; i < this.m_offsets.length; i++){
+                    this.m_offsets[i] = this.m_file.getLong();
+                    if(this.m_offsets[i] > this.m_file.limit() || (i > Utilities.ZERO && this.m_offsets[i] < this.m_offsets[i - Utilities.ONE])){
+                        throw new IOException(a_path + " has a block outside the file");
+                    }
+                }
+
+                this.m_packed = null;
+                this.m_bits = Utilities.ZERO;
+                this.m_mask = Utilities.ZERO;
+            }
+        }catch(java.nio.BufferUnderflowException | IllegalArgumentException e){
+            throw new IOException(a_path + " is not an endgame table: " + e.getMessage());
+        }
+
+        this.m_id = m_tables.incrementAndGet();
+        this.m_cache = a_cache;
+    }
+
+    /**/
+    /*
+    NAME
+        public final byte Get(final long a_index);
+
+    SYNOPSIS
+        public final byte Get(final long a_index);
+
+        long a_index -------------> An index of the table.
+
+    DESCRIPTION
+        This method looks up the value of an index. A packed table reads it
+        straight out of the file; any other table decodes its block if it is not cached.
+
+    RETURNS
+        byte: The value, as described above.
+
+    AUTHOR
+        Ryan King
+    */
+    public final byte Get(final long a_index){
+        if(a_index < Utilities.ZERO || a_index >= this.m_material.GetSize()){
+            return INVALID;
+        }
+
+        if(this.m_packed != null){
+            final long BIT = a_index * this.m_bits;
+            final int PACKED = (int) ((this.m_packed.getLong((int) (BIT >>> Utilities.THREE)) >>> (BIT & Utilities.SEVEN)) & this.m_mask);
+            return Unpack(PACKED);
+        }
+
+        final int BLOCK = (int) (a_index / this.m_blockSize);
+        byte[] values = this.m_cache.Get(this.m_id, BLOCK);
+        if(values == null){
+            values = this.Decode(BLOCK);
+            this.m_cache.Put(this.m_id, BLOCK, values);
+        }
+
+        return values[(int) (a_index % this.m_blockSize)];
+    }
+
+    /**/
+    /*
+    NAME
+        public final EndgameMaterial GetMaterial();
+
+    SYNOPSIS
+        public final EndgameMaterial GetMaterial();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the pieces of the table.
+
+    RETURNS
+        EndgameMaterial m_material: The description of the table.
+
+    AUTHOR
+        Ryan King
+    */
+    public final EndgameMaterial GetMaterial(){
+        return this.m_material;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsPacked();
+
+    SYNOPSIS
+        public final boolean IsPacked();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the table is bit-packed rather than compressed in blocks.
+
+    RETURNS
+        boolean: True if it is packed, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsPacked(){
+        return this.m_packed != null;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int Pack(final byte a_value);
+
+    SYNOPSIS
+        public static int Pack(final byte a_value);
+
+        byte a_value -------------> A value from a table.
+
+    DESCRIPTION
+        This method splits a value into the bits a packed table holds for it:
+        the kind of result in the lowest WDL_BITS bits and the distance to mate above them.
+
+    RETURNS
+        int: The packed bits.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int Pack(final byte a_value){
+        if(a_value == INVALID){
+            return PACKED_INVALID;
+        }
+
+        final int KIND = (IsWin(a_value) ? PACKED_WIN : (IsLoss(a_value) ? PACKED_LOSS : PACKED_DRAW));
+        return KIND | (GetDistance(a_value) << WDL_BITS);
+    }
+
+    /**/
+    /*
+    NAME
+        public static byte Unpack(final int a_packed);
+
+    SYNOPSIS
+        public static byte Unpack(final int a_packed);
+
+        int a_packed -------------> The bits a packed table holds for an index.
+
+    DESCRIPTION
+        This method turns the bits of a packed table back into a value.
+
+    RETURNS
+        byte: The value, as described above.
+
+    AUTHOR
+        Ryan King
+    */
+    public static byte Unpack(final int a_packed){
+        final int DISTANCE = a_packed >>> WDL_BITS;
+        switch(a_packed & PACKED_INVALID){
+            case PACKED_WIN: return (byte) DISTANCE;
+            case PACKED_LOSS: return (byte) (-DISTANCE - Utilities.ONE);
+            case PACKED_INVALID: return INVALID;
+            default: return DRAW;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static long PackedLength(final long a_size, final int a_bits);
+
+    SYNOPSIS
+        public static long PackedLength(final long a_size, final int a_bits);
+
+        long a_size --------------> The number of indices.
+
+        int a_bits ---------------> The bits of every index.
+
+    DESCRIPTION
+        This method finds how many bytes the packed indices of a table take,
+        including the padding that lets the last one be read eight bytes at a time.
+
+    RETURNS
+        long: The number of bytes.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long PackedLength(final long a_size, final int a_bits){
+        return (a_size * a_bits + Utilities.SEVEN) / Utilities.EIGHT + Utilities.SEVEN;
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsWin(final int a_value);
+
+    SYNOPSIS
+        public static boolean IsWin(final int a_value);
+
+        int a_value --------------> A value from a table.
+
+    DESCRIPTION
+        This method determines if a value is a win for the side to move.
+
+    RETURNS
+        boolean: True if it is a win, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsWin(final int a_value){
+        return a_value > DRAW;
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsLoss(final int a_value);
+
+    SYNOPSIS
+        public static boolean IsLoss(final int a_value);
+
+        int a_value --------------> A value from a table.
+
+    DESCRIPTION
+        This method determines if a value is a loss for the side to move.
+
+    RETURNS
+        boolean: True if it is a loss, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsLoss(final int a_value){
+        return a_value < DRAW && a_value != INVALID;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int GetDistance(final int a_value);
+
+    SYNOPSIS
+        public static int GetDistance(final int a_value);
+
+        int a_value --------------> A value from a table.
+
+    DESCRIPTION
+        This method finds how many plies are left until mate.
+
+    RETURNS
+        int: The number of plies, or 0 for a draw.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int GetDistance(final int a_value){
+        return (IsWin(a_value) ? a_value : (IsLoss(a_value) ? -a_value - Utilities.ONE : Utilities.ZERO));
+    }
+
+    /**/
+    /*
+    NAME
+        public static byte Win(final int a_distance);
+
+    SYNOPSIS
+        public static byte Win(final int a_distance);
+
+        int a_distance -----------> The plies until the side to move gives mate, at least 1.
+
+    DESCRIPTION
+        This method makes the value of a win.
+
+    RETURNS
+        byte: The value.
+
+    AUTHOR
+        Ryan King
+    */
+    public static byte Win(final int a_distance){
+        if(a_distance < Utilities.ONE || a_distance > MAX_DISTANCE){
+            throw new IllegalArgumentException("A win must be mate in 1 to " + MAX_DISTANCE + " plies");
+        }
+        return (byte) a_distance;
+    }
+
+    /**/
+    /*
+    NAME
+        public static byte Loss(final int a_distance);
+
+    SYNOPSIS
+        public static byte Loss(final int a_distance);
+
+        int a_distance -----------> The plies until the side to move is mated, 0 if it already is.
+
+    DESCRIPTION
+        This method makes the value of a loss.
+
+    RETURNS
+        byte: The value.
+
+    AUTHOR
+        Ryan King
+    */
+    public static byte Loss(final int a_distance){
+        if(a_distance < Utilities.ZERO || a_distance >= MAX_DISTANCE){
+            throw new IllegalArgumentException("A loss must be mate in 0 to " + (MAX_DISTANCE - Utilities.ONE) + " plies");
+        }
+        return (byte) (-a_distance - Utilities.ONE);
+    }
+
+    /**/
+    /*
+    NAME
+        private byte[] Decode(final int a_block);
+
+    SYNOPSIS
+        private byte[] Decode(final int a_block);
+
+        int a_block --------------> The number of a block.
+
+    DESCRIPTION
+        This method decompresses a block straight out of the mapped file.
+
+    RETURNS
+        byte[]: The values of the block.
+
+    AUTHOR
+        Ryan King
+    */
+    private byte[] Decode(final int a_block){
+        final long FIRST = (long) a_block * this.m_blockSize;
+        final byte[] VALUES = new byte[(int) Math.min(this.m_blockSize, this.m_material.GetSize() - FIRST)];
+        final int START = (int) this.m_offsets[a_block], END = (int) this.m_offsets[a_block + Utilities.ONE];
+
+        final Inflater INFLATER = new Inflater();
+        try{
+            // A slice has its own position, so threads never disturb each other's reads
+            INFLATER.setInput(this.m_file.slice(START, END - START));
+
+            int length = Utilities.ZERO;
+            while(length < VALUES.length && !INFLATER.finished()){
+                final int READ = INFLATER.inflate(VALUES, length, VALUES.length - length);
+                if(READ == Utilities.ZERO && (INFLATER.needsInput() || INFLATER.needsDictionary())){
+                    break;
+                }
+                length += READ;
+            }
+
+            if(length != VALUES.length){
+                throw new IllegalStateException("Block " + a_block + " of " + this.m_material.GetName() + " is truncated");
+            }
+        }catch(DataFormatException e){
+            throw new IllegalStateException("Block " + a_block + " of " + this.m_material.GetName() + " is corrupt: " + e.getMessage());
+        }finally{
+            INFLATER.end();
+        }
+
+        return VALUES;
+    }
+}
@@ -0,0 +1,187 @@
+package com.DarkBlue.Tablebase;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This interface writes endgame table files in the formats EndgameTable reads:
+ * compressed in blocks, which keeps large tables small on disk, or bit-packed,
+ * which lets every probe read its index straight out of the file.
+ */
+public interface EndgameTableWriter{
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << Utilities.SIXTEEN;
+
+    /**/
+    /*
+    NAME
+        public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException;
+
+    SYNOPSIS
+        public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException;
+
+        Path a_path --------------> Where to write the table.
+
+        EndgameMaterial a_material -> The pieces of the table.
+
+        byte[] a_values ----------> The value of every index of the table.
+
+    DESCRIPTION
+        This method writes a table in blocks of DEFAULT_BLOCK_SIZE indices.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException{
+        Write(a_path, a_material, a_values, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**/
+    /*
+    NAME
+        public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values, final int a_blockSize) throws IOException;
+
+    SYNOPSIS
+        public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values, final int a_blockSize) throws IOException;
+
+        Path a_path --------------> Where to write the table.
+
+        EndgameMaterial a_material -> The pieces of the table.
+
+        byte[] a_values ----------> The value of every index of the table.
+
+        int a_blockSize ----------> How many indices to compress together.
+
+    DESCRIPTION
+        This method writes a table. Smaller blocks make every probe
+        that misses the cache cheaper, and larger ones make the file smaller.
+        The block offsets are only known once every block is compressed,
+        so they go into the space left for them at the start of the file last.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void Write(final Path a_path, final EndgameMaterial a_material, final byte[] a_values, final int a_blockSize) throws IOException{
+        if(a_material == null || a_values == null || a_values.length != a_material.GetSize() || a_blockSize < Utilities.ONE){
+            throw new IllegalArgumentException("Invalid argument(s) to EndgameTableWriter.Write()");
+        }
+
+        final byte[] NAME = a_material.GetName().getBytes(StandardCharsets.US_ASCII);
+        final long[] OFFSETS = new long[(a_values.length + a_blockSize - Utilities.ONE) / a_blockSize + Utilities.ONE];
+        final long HEADER = Integer.BYTES * Utilities.THREE + Byte.BYTES + NAME.length + Long.BYTES * (Utilities.ONE + OFFSETS.length);
+
+        try(final RandomAccessFile FILE = new RandomAccessFile(a_path.toFile(), "rw")){
+            FILE.setLength(Utilities.ZERO);
+            FILE.seek(HEADER);
+
+            final Deflater DEFLATER = new Deflater(Deflater.BEST_COMPRESSION);
+            final byte[] BUFFER = new byte[a_blockSize + (a_blockSize >> Utilities.EIGHT) + 64];
+            try{
+                OFFSETS[Utilities.ZERO] = HEADER;
+                for(int block = Utilities.ZERO; block < OFFSETS.length - Utilities.ONE; block++){
+                    final int START = block * a_blockSize;
+                    DEFLATER.reset();
+                    DEFLATER.setInput(a_values, START, Math.min(a_blockSize, a_values.length - START));
+                    DEFLATER.finish();
+
+                    while(!DEFLATER.finished()){
+                        FILE.write(BUFFER, Utilities.ZERO, DEFLATER.deflate(BUFFER));
+                    }
+
+                    OFFSETS[block + Utilities.ONE] = FILE.getFilePointer();
+                }
+            }finally{
+                DEFLATER.end();
+            }
+
+            final ByteArrayOutputStream BYTES = new ByteArrayOutputStream((int) HEADER);
+            final DataOutputStream OUTPUT = new DataOutputStream(BYTES);
+            OUTPUT.writeInt(EndgameTable.MAGIC);
+            OUTPUT.writeInt(EndgameTable.VERSION);
+            OUTPUT.writeByte(NAME.length);
+            OUTPUT.write(NAME);
+            OUTPUT.writeLong(a_material.GetSize());
+            OUTPUT.writeInt(a_blockSize);
+            for(final long OFFSET : OFFSETS){
+                OUTPUT.writeLong(OFFSET);
+            }
+
+            FILE.seek(Utilities.ZERO);
+            FILE.write(BYTES.toByteArray());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public static void WritePacked(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException;
+
+    SYNOPSIS
+        public static void WritePacked(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException;
+
+        Path a_path --------------> Where to write the table.
+
+        EndgameMaterial a_material -> The pieces of the table.
+
+        byte[] a_values ----------> The value of every index of the table.
+
+    DESCRIPTION
+        This method writes a table uncompressed, with every index in as few bits
+        as its longest distance to mate needs on top of EndgameTable.WDL_BITS.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void WritePacked(final Path a_path, final EndgameMaterial a_material, final byte[] a_values) throws IOException{
+        if(a_material == null || a_values == null || a_values.length != a_material.GetSize()){
+            throw new IllegalArgumentException("Invalid argument(s) to EndgameTableWriter.WritePacked()");
+        }
+
+        int longest = Utilities.ZERO;
+        for(final byte VALUE : a_values){
+            longest = Math.max(longest, EndgameTable.GetDistance(VALUE));
+        }
+
+        final int DISTANCE_BITS = Integer.SIZE - Integer.numberOfLeadingZeros(longest);
+        final int BITS = EndgameTable.WDL_BITS + DISTANCE_BITS;
+        final byte[] PACKED = new byte[(int) EndgameTable.PackedLength(a_values.length, BITS)];
+
+        // An index has at most nine bits and starts at most seven bits into a byte, so it spans two bytes at most
+        for(int i = Utilities.ZERO; i < a_values.length; i++){
+            final long BIT = (long) i * BITS;
+            final int BYTE = (int) (BIT >>> Utilities.THREE);
+            final int SHIFTED = EndgameTable.Pack(a_values[i]) << (BIT & Utilities.SEVEN);
+            PACKED[BYTE] |= (byte) SHIFTED;
+            PACKED[BYTE + Utilities.ONE] |= (byte) (SHIFTED >>> Utilities.EIGHT);
+        }
+
+        final byte[] NAME = a_material.GetName().getBytes(StandardCharsets.US_ASCII);
+        try(final DataOutputStream OUTPUT = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(a_path)))){
+            OUTPUT.writeInt(EndgameTable.MAGIC);
+            OUTPUT.writeInt(EndgameTable.PACKED_VERSION);
+            OUTPUT.writeByte(NAME.length);
+            OUTPUT.write(NAME);
+            OUTPUT.writeLong(a_material.GetSize());
+            OUTPUT.writeByte(DISTANCE_BITS);
+            OUTPUT.write(PACKED);
+        }
+    }
+}
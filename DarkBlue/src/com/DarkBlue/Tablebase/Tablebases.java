@@ -0,0 +1,522 @@
+package com.DarkBlue.Tablebase;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds every endgame table found in a directory
+ * and answers probes from the search.
+ *
+ * Every file ending in EndgameTable.EXTENSION is mapped when the tables are loaded;
+ * nothing else is read until a probe needs it. A position is only probed when no castling
+ * or en passant capture is possible, since the tables assume neither is, and when it has
+ * no more pieces than the probe limit, which starts out as the most pieces of any table.
+ * Positions with bare kings, or a king and one minor piece against a bare king,
+ * are draws that need no table.
+ *
+ * The search asks the tables set with SetActive(), both at the root, where they pick
+ * the move that wins fastest or loses slowest, and at every node it visits.
+ */
+public final class Tablebases{
+
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    // Ranks every win above and every loss below a draw when choosing a move
+    private static final int DECIDED = EndgameTable.MAX_DISTANCE + Utilities.ONE;
+
+    private static volatile Tablebases m_active = null;
+
+    private final HashMap<String, EndgameTable> m_tables;
+    private final BlockCache m_cache;
+    private final int m_maxPieces;
+    private volatile int m_probeLimit;
+
+    /**/
+    /*
+    NAME
+        public Tablebases(final Path a_directory) throws IOException;
+
+    SYNOPSIS
+        public Tablebases(final Path a_directory) throws IOException;
+
+        Path a_directory ---------> The directory the tables are in.
+
+    DESCRIPTION
+        This constructor loads every table in a directory
+        with a cache of BlockCache.DEFAULT_CAPACITY blocks.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Tablebases(final Path a_directory) throws IOException{
+        this(a_directory, BlockCache.DEFAULT_CAPACITY);
+    }
+
+    /**/
+    /*
+    NAME
+        public Tablebases(final Path a_directory, final int a_cacheBlocks) throws IOException;
+
+    SYNOPSIS
+        public Tablebases(final Path a_directory, final int a_cacheBlocks) throws IOException;
+
+        Path a_directory ---------> The directory the tables are in.
+
+        int a_cacheBlocks --------> The most decoded blocks to keep.
+
+    DESCRIPTION
+        This constructor loads every table in a directory.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Tablebases(final Path a_directory, final int a_cacheBlocks) throws IOException{
+        if(a_directory == null){
+            throw new IllegalArgumentException("Invalid argument(s) to Tablebases constructor");
+        }
+
+        this.m_tables = new HashMap<>();
+        this.m_cache = new BlockCache(a_cacheBlocks);
+
+        int maxPieces = Utilities.TWO;
+        try(final DirectoryStream<Path> FILES = Files.newDirectoryStream(a_directory, "*" + EndgameTable.EXTENSION)){
+            for(final Path FILE : FILES){
+                final EndgameTable TABLE = new EndgameTable(FILE, this.m_cache);
+                this.m_tables.put(TABLE.GetMaterial().GetName(), TABLE);
+                maxPieces = Math.max(maxPieces, TABLE.GetMaterial().GetPieceCount());
+            }
+        }
+
+        this.m_maxPieces = maxPieces;
+        this.m_probeLimit = maxPieces;
+    }
+
+    /**/
+    /*
+    NAME
+        public static Tablebases GetActive();
+
+    SYNOPSIS
+        public static Tablebases GetActive();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the tables the search probes.
+
+    RETURNS
+        Tablebases m_active: The tables, or null if the search has none.
+
+    AUTHOR
+        Ryan King
+    */
+    public static Tablebases GetActive(){
+        return m_active;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void SetActive(final Tablebases a_tablebases);
+
+    SYNOPSIS
+        public static void SetActive(final Tablebases a_tablebases);
+
+        Tablebases a_tablebases --> The tables to probe, or null to stop probing.
+
+    DESCRIPTION
+        This method sets the tables the search probes.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void SetActive(final Tablebases a_tablebases){
+        m_active = a_tablebases;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Probe(final Board a_board);
+
+    SYNOPSIS
+        public final int Probe(final Board a_board);
+
+        Board a_board ------------> The board to look up.
+
+    DESCRIPTION
+        This method looks a board up in the tables.
+
+    RETURNS
+        int: The value from the point of view of the side to move, as EndgameTable describes,
+        or NOT_FOUND if the board has too many pieces, no table has it, or castling
+        or an en passant capture is possible.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Probe(final Board a_board){
+        if(a_board == null || a_board.PieceCount() > this.m_probeLimit || CanCastle(a_board) || CanCaptureEnPassant(a_board)){
+            return NOT_FOUND;
+        }
+
+        final byte[] TILES = new byte[Utilities.SIXTY_FOUR];
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final Piece PIECE = a_board.GetTile(row, column).GetPiece();
+                if(PIECE != null){
+                    TILES[row * Utilities.EIGHT + column] = (byte) (Utilities.ONE + PIECE.GetColor().ordinal() * Utilities.SIX + PIECE.GetPieceType().ordinal());
+                }
+            }
+        }
+
+        return this.Probe(TILES, a_board.WhoseTurnIsIt());
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Probe(final byte[] a_tiles, final ChessColor a_turn);
+
+    SYNOPSIS
+        public final int Probe(final byte[] a_tiles, final ChessColor a_turn);
+
+        byte[] a_tiles -----------> The 64 piece codes of a position where neither side can castle or capture en passant.
+
+        ChessColor a_turn --------> The side to move.
+
+    DESCRIPTION
+        This method looks a position up in the tables.
+
+    RETURNS
+        int: The value from the point of view of the side to move, or NOT_FOUND if no table has the position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Probe(final byte[] a_tiles, final ChessColor a_turn){
+        final String NAME = EndgameMaterial.NameOf(a_tiles);
+        if(IsDrawn(NAME)){
+            return EndgameTable.DRAW;
+        }
+
+        final EndgameTable TABLE = this.m_tables.get(NAME);
+        if(TABLE == null){
+            return NOT_FOUND;
+        }
+
+        final long INDEX = TABLE.GetMaterial().Index(a_tiles, a_turn);
+        final byte VALUE = (INDEX < Utilities.ZERO ? EndgameTable.INVALID : TABLE.Get(INDEX));
+        return (VALUE == EndgameTable.INVALID ? NOT_FOUND : VALUE);
+    }
+
+    /**/
+    /*
+    NAME
+        public static boolean IsDrawn(final String a_name);
+
+    SYNOPSIS
+        public static boolean IsDrawn(final String a_name);
+
+        String a_name ------------> The name of a table, as EndgameMaterial writes it.
+
+    DESCRIPTION
+        This method determines if every position of a table is a draw because
+        neither side has enough material to mate, so no file is needed for it.
+
+    RETURNS
+        boolean: True if the table needs no file, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public static boolean IsDrawn(final String a_name){
+        switch(a_name){
+            case "KvK":
+            case "KBvK":
+            case "KNvK":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final Move Choose(final Board a_board, final Player a_player);
+
+    SYNOPSIS
+        public final Move Choose(final Board a_board, final Player a_player);
+
+        Board a_board ------------> The board to move on.
+
+        Player a_player ----------> The side to move, refreshed on the board.
+
+    DESCRIPTION
+        This method looks up the board after every legal move and picks the move
+        that mates soonest, or else draws, or else is mated latest.
+        A pawn that reaches the last rank is looked up as a queen, which is what the computer promotes to.
+        If the board itself is not in the tables, neither is every board after it, so nothing is chosen.
+
+    RETURNS
+        Move: The best move, or null if any of the boards after the moves are not in the tables.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Move Choose(final Board a_board, final Player a_player){
+        if(a_board == null || a_player == null || this.Probe(a_board) == NOT_FOUND){
+            return null;
+        }
+
+        Move bestMove = null;
+        int bestRank = Integer.MIN_VALUE;
+
+        for(final Move MOVE : a_player.UglyMoves()){
+            Board result = MOVE.GetTransitionalBoard();
+
+            final Piece MOVED = result.GetTile(MOVE.GetNewRow(), MOVE.GetNewColumn()).GetPiece();
+            if(MOVED != null && MOVED.IsPawn() && (MOVE.GetNewRow() == Utilities.ZERO || MOVE.GetNewRow() == Utilities.SEVEN)){
+                result = ((Pawn) MOVED).Promote(result, Utilities.ZERO);
+            }
+
+            final int VALUE = this.Probe(result);
+            if(VALUE == NOT_FOUND){
+                return null;
+            }
+
+            // The value is the opponent's, so its loss is this side's win one ply later
+            final int RANK;
+            if(EndgameTable.IsLoss(VALUE)){
+                RANK = DECIDED - EndgameTable.GetDistance(VALUE);
+            }else if(EndgameTable.IsWin(VALUE)){
+                RANK = -DECIDED + EndgameTable.GetDistance(VALUE);
+            }else{
+                RANK = Utilities.ZERO;
+            }
+
+            if(RANK > bestRank){
+                bestRank = RANK;
+                bestMove = MOVE;
+            }
+        }
+
+        return bestMove;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetProbeLimit();
+
+    SYNOPSIS
+        public final int GetProbeLimit();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the most pieces a board may have to be probed.
+
+    RETURNS
+        int m_probeLimit: The number of pieces, kings included.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetProbeLimit(){
+        return this.m_probeLimit;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetProbeLimit(final int a_pieces);
+
+    SYNOPSIS
+        public final void SetProbeLimit(final int a_pieces);
+
+        int a_pieces -------------> The most pieces a board may have to be probed, kings included.
+
+    DESCRIPTION
+        This method sets the most pieces a board may have to be probed.
+        Lowering it keeps the search from probing the largest tables,
+        whose blocks are the most likely to miss the cache.
+        It cannot be raised past the most pieces of any table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetProbeLimit(final int a_pieces){
+        this.m_probeLimit = Math.max(Utilities.TWO, Math.min(a_pieces, this.m_maxPieces));
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetMaxPieces();
+
+    SYNOPSIS
+        public final int GetMaxPieces();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the most pieces of any table.
+
+    RETURNS
+        int m_maxPieces: The number of pieces, kings included.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetMaxPieces(){
+        return this.m_maxPieces;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetTableCount();
+
+    SYNOPSIS
+        public final int GetTableCount();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many tables were loaded.
+
+    RETURNS
+        int: The number of tables.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetTableCount(){
+        return this.m_tables.size();
+    }
+
+    /**/
+    /*
+    NAME
+        public final BlockCache GetCache();
+
+    SYNOPSIS
+        public final BlockCache GetCache();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the cache the tables share.
+
+    RETURNS
+        BlockCache m_cache: The cache.
+
+    AUTHOR
+        Ryan King
+    */
+    public final BlockCache GetCache(){
+        return this.m_cache;
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean CanCastle(final Board a_board);
+
+    SYNOPSIS
+        private static boolean CanCastle(final Board a_board);
+
+        Board a_board ------------> The board.
+
+    DESCRIPTION
+        This method determines if either side still has a castling right,
+        read the same way Zobrist.Hash() reads them.
+
+    RETURNS
+        boolean: True if a castling right remains, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean CanCastle(final Board a_board){
+        for(final ChessColor COLOR : ChessColor.values()){
+            final King KING = a_board.GetKing(COLOR);
+            if(KING != null && !KING.HasMoved() && (KING.HasKingsideCastlingRook(a_board) || KING.HasQueensideCastlingRook(a_board))){
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean CanCaptureEnPassant(final Board a_board);
+
+    SYNOPSIS
+        private static boolean CanCaptureEnPassant(final Board a_board);
+
+        Board a_board ------------> The board.
+
+    DESCRIPTION
+        This method determines if the side to move has a pawn beside
+        the pawn that just advanced two tiles.
+
+    RETURNS
+        boolean: True if an en passant capture may be possible, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean CanCaptureEnPassant(final Board a_board){
+        final Tile EN_PASSANT = a_board.GetEnPassantTile();
+        if(EN_PASSANT == null){
+            return false;
+        }
+
+        final ChessColor TURN = a_board.WhoseTurnIsIt();
+        final int PAWN_ROW = EN_PASSANT.GetRow() + (TURN.IsWhite() ? Utilities.ONE : Utilities.NEGATIVE_ONE);
+
+        for(int side = Utilities.NEGATIVE_ONE; side <= Utilities.ONE; side += Utilities.TWO){
+            final int COLUMN = EN_PASSANT.GetColumn() + side;
+            if(COLUMN < Utilities.ZERO || COLUMN >= Utilities.EIGHT){
+                continue;
+            }
+
+            final Piece PAWN = a_board.GetTile(PAWN_ROW, COLUMN).GetPiece();
+            if(PAWN != null && PAWN.IsPawn() && PAWN.GetColor() == TURN){
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,259 @@
+package com.DarkBlue.Testing;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.GameState;
+import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the draws by the fifty-move rule and by insufficient material.
+ *
+ * Usage: DrawTest
+ *
+ * The fifty-move rule must draw at one hundred halfmoves and not before, but never over
+ * a checkmate, and boards must count one halfmove per move of either side. A material signature must hold every count in four bits, in the order
+ * pawns, rooks, knights, bishops on white tiles, bishops on black tiles, and queens,
+ * white's first, and both ways of finding insufficient material must agree on
+ * positions with and without enough material to checkmate.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class DrawTest{
+
+    // Positions, and if neither side can checkmate in them
+    private static final String[] POSITIONS = {
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/2B1K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/1N2K3 b - - 0 1",
+        "4kb2/8/8/8/8/8/8/2B1K3 w - - 0 1",
+        "2b1k3/8/8/8/8/8/8/2B1K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/1NB1K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/2BBK3 w - - 0 1",
+        "1n2k3/8/8/8/8/8/8/2B1K3 w - - 0 1",
+        "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/R3K3 w - - 0 1",
+        "3qk3/8/8/8/8/8/8/4K3 w - - 0 1",
+        GameRecord.STARTING_FEN,
+    };
+
+    private static final boolean[] INSUFFICIENT = {true, true, true, true, false, false, false, false, false, false, false, false};
+
+    // The counts of each position above, in signature order, white's first
+    private static final int[][] COUNTS = {
+        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 1, 0, 0, 0, 0, 0, 1, 0},
+        {0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0},
+        {0, 0, 1, 0, 1, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 1, 1, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0},
+        {1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+        {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1},
+        {8, 2, 2, 1, 1, 1, 8, 2, 2, 1, 1, 1},
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckFiftyMoveRule();
+            for(int index = Utilities.ZERO; index < POSITIONS.length; index++){
+                CheckMaterial(POSITIONS[index], INSUFFICIENT[index], COUNTS[index]);
+            }
+            CheckOverflow();
+
+            System.out.println("every draw was found");
+        }catch(RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckFiftyMoveRule();
+
+    SYNOPSIS
+        private static void CheckFiftyMoveRule();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks the fifty-move rule on its own, through
+        the game state of a position that could go on and of a checkmate,
+        through the clock of a board a move is played on, and through
+        the halfmove clocks FEN strings may have.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckFiftyMoveRule(){
+        final int LIMIT = GameUtilities.FIFTY_MOVE_RULE_HALFMOVES;
+        if(LIMIT != Utilities.ONE_HUNDRED || GameUtilities.IsDrawByFiftyMoveRule(LIMIT - Utilities.ONE) || !GameUtilities.IsDrawByFiftyMoveRule(LIMIT)){
+            throw new IllegalStateException("The fifty-move rule did not begin at one hundred halfmoves");
+        }
+
+        final Board ROOK = new SanPosition("4k3/8/8/8/8/8/8/R3K3 b - - 0 1").GetBoard();
+        if(State(ROOK, Utilities.FIFTY) != GameState.NORMAL || State(ROOK, LIMIT - Utilities.ONE) != GameState.NORMAL || State(ROOK, LIMIT) != GameState.FIFTY_MOVE_RULE){
+            throw new IllegalStateException("The game state did not follow the fifty-move rule");
+        }
+
+        // The search reads the clock of the board, which must go up by one for every move of either side
+        final SanPosition POSITION = new SanPosition("4k3/8/8/8/8/8/8/R3K3 w - - 98 80");
+        POSITION.Play(POSITION.Parse("Ra7"));
+        if(POSITION.GetBoard().GetHalfmoves() != LIMIT - Utilities.ONE || GameUtilities.IsDrawByFiftyMoveRule(POSITION.GetBoard().GetHalfmoves())){
+            throw new IllegalStateException("A board counted " + POSITION.GetBoard().GetHalfmoves() + " halfmoves after one move from 98");
+        }
+        POSITION.Play(POSITION.Parse("Kf8"));
+        if(!GameUtilities.IsDrawByFiftyMoveRule(POSITION.GetBoard().GetHalfmoves())){
+            throw new IllegalStateException("A board was not drawn after one hundred halfmoves");
+        }
+
+        if(!GameUtilities.IsValidFEN("4k3/8/8/8/8/8/8/R3K3 w - - 100 80") || GameUtilities.IsValidFEN("4k3/8/8/8/8/8/8/R3K3 w - - 101 80")){
+            throw new IllegalStateException("FEN strings did not allow halfmove clocks up to one hundred");
+        }
+
+        final Board MATE = new SanPosition("R5k1/5ppp/8/8/8/8/5PPP/6K1 b - - 100 60").GetBoard();
+        if(State(MATE, LIMIT) != GameState.CHECKMATE){
+            throw new IllegalStateException("The fifty-move rule drew a checkmate");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckMaterial(final String a_fen, final boolean a_isInsufficient, final int[] a_counts);
+
+    SYNOPSIS
+        private static void CheckMaterial(final String a_fen, final boolean a_isInsufficient, final int[] a_counts);
+
+        String a_fen -------------> The position to check.
+
+        boolean a_isInsufficient -> If neither side can checkmate.
+
+        int[] a_counts -----------> The pieces of the position, in signature order.
+
+    DESCRIPTION
+        This method compares the material signature of a position with its counts,
+        and both ways of finding insufficient material with the expected answer.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckMaterial(final String a_fen, final boolean a_isInsufficient, final int[] a_counts){
+        final Board BOARD = new SanPosition(a_fen).GetBoard();
+        final long SIGNATURE = GameUtilities.MaterialSignature(BOARD);
+
+        long expected = Utilities.ZERO;
+        for(int slot = Utilities.ZERO; slot < a_counts.length; slot++){
+            expected |= (long) a_counts[slot] << (slot * Utilities.FOUR);
+        }
+        if(SIGNATURE != expected){
+            throw new IllegalStateException("The signature " + Long.toHexString(SIGNATURE) + " should be " + Long.toHexString(expected) + " in " + a_fen);
+        }
+
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        if(GameUtilities.IsDrawByInsufficientMaterial(SIGNATURE) != a_isInsufficient){
+            throw new IllegalStateException("The signature did not find " + (a_isInsufficient ? "insufficient" : "enough") + " material in " + a_fen);
+        }else if(GameUtilities.IsDrawByInsufficientMaterial(WHITE, BLACK, BOARD) != a_isInsufficient || GameUtilities.IsDrawByInsufficientMaterial(BLACK, WHITE, BOARD) != a_isInsufficient){
+            throw new IllegalStateException("The players did not find " + (a_isInsufficient ? "insufficient" : "enough") + " material in " + a_fen);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckOverflow();
+
+    SYNOPSIS
+        private static void CheckOverflow();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that nine queens, the most a legal game can have,
+        and seven bishops on one tile color stay within their four bits.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckOverflow(){
+        final String FEN = "QQQQQQQQ/Q7/8/k7/7K/8/b1b1b1b1/1b1b1b2 b - - 0 1";
+        final long SIGNATURE = GameUtilities.MaterialSignature(new SanPosition(FEN).GetBoard());
+
+        // Nine white queens in the last white slot, and seven black bishops on white tiles
+        final long EXPECTED = (9L << (Utilities.FIVE * Utilities.FOUR)) | (7L << ((Utilities.SIX + Utilities.THREE) * Utilities.FOUR));
+        if(SIGNATURE != EXPECTED){
+            throw new IllegalStateException("The signature " + Long.toHexString(SIGNATURE) + " should be " + Long.toHexString(EXPECTED) + " in " + FEN);
+        }else if(GameUtilities.IsDrawByInsufficientMaterial(SIGNATURE)){
+            throw new IllegalStateException("Nine queens were not enough material");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static GameState State(final Board a_board, final int a_halfmoves);
+
+    SYNOPSIS
+        private static GameState State(final Board a_board, final int a_halfmoves);
+
+        Board a_board ------------> The board to evaluate.
+
+        int a_halfmoves ----------> The halfmove clock.
+
+    DESCRIPTION
+        This method finds the game state of the player to move.
+
+    RETURNS
+        GameState: The state of the game.
+
+    AUTHOR
+        Ryan King
+    */
+    private static GameState State(final Board a_board, final int a_halfmoves){
+        final Player PLAYER = new Human(a_board.WhoseTurnIsIt(), a_board);
+        final Player OPPONENT = new Human((a_board.WhoseTurnIsIt().IsWhite() ? ChessColor.BLACK : ChessColor.WHITE), a_board);
+        PLAYER.Refresh(a_board);
+        OPPONENT.Refresh(a_board);
+        return GameUtilities.EvaluateGameState(PLAYER, OPPONENT, a_board, a_halfmoves, null);
+    }
+}
@@ -0,0 +1,269 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Tablebase.BlockCache;
+import com.DarkBlue.Tablebase.EndgameGenerator;
+import com.DarkBlue.Tablebase.EndgameMaterial;
+import com.DarkBlue.Tablebase.EndgameTable;
+import com.DarkBlue.Tablebase.Tablebases;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that generated endgame tables agree with the engine's own moves.
+ *
+ * Usage: EndgameGeneratorTest [positions] [KBNvK]
+ *
+ * KQvK, KRvK, and KPvK are generated on two threads, along with KBNvK if it is asked for,
+ * since it takes much longer. Every table must be written bit-packed,
+ * the longest mates must be the known ones, and in random
+ * positions, 2000 by default, the value of every position must follow from the values
+ * of the positions after every legal move the engine finds, promotions included.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class EndgameGeneratorTest{
+
+    private static final int DEFAULT_POSITIONS = 2000;
+    private static final int THREADS = Utilities.TWO;
+
+    // Every ending to generate, and its longest mate in plies
+    private static final String[] ENDINGS = {"KQvK", "KRvK", "KPvK"};
+    private static final int[] LONGEST = {19, 31, 55};
+    private static final String SLOW_ENDING = "KBNvK";
+    private static final int SLOW_LONGEST = 65;
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional number of random positions per ending, and KBNvK to generate it as well.
+
+    DESCRIPTION
+        This method generates the tables and runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int positions = DEFAULT_POSITIONS;
+        boolean isSlow = false;
+
+        try{
+            for(final String ARG : a_args){
+                if(ARG.equals(SLOW_ENDING)){
+                    isSlow = true;
+                }else{
+                    positions = Integer.parseInt(ARG);
+                }
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: EndgameGeneratorTest [positions] [KBNvK]");
+            System.exit(Utilities.ONE);
+        }
+
+        Path directory = null;
+        try{
+            directory = Files.createTempDirectory("darkblue");
+            final Random RANDOM = new Random(Utilities.ONE);
+
+            for(int i = Utilities.ZERO; i <= ENDINGS.length; i++){
+                if(i == ENDINGS.length && !isSlow){
+                    break;
+                }
+
+                final EndgameMaterial MATERIAL = EndgameMaterial.Of(i < ENDINGS.length ? ENDINGS[i] : SLOW_ENDING);
+                final Path FILE = EndgameGenerator.Build(directory, MATERIAL, THREADS);
+                CheckLongest(FILE, (i < ENDINGS.length ? LONGEST[i] : SLOW_LONGEST));
+                CheckMoves(new Tablebases(directory), MATERIAL, RANDOM, positions);
+            }
+
+            System.out.println("every value follows from the engine's moves");
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }finally{
+            Delete(directory);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckLongest(final Path a_file, final int a_longest) throws IOException;
+
+    SYNOPSIS
+        private static void CheckLongest(final Path a_file, final int a_longest) throws IOException;
+
+        Path a_file --------------> A generated table.
+
+        int a_longest ------------> Its longest mate in plies.
+
+    DESCRIPTION
+        This method checks that a table is packed, reads every value of it back, and finds its longest win.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckLongest(final Path a_file, final int a_longest) throws IOException{
+        final EndgameTable TABLE = new EndgameTable(a_file, new BlockCache(Utilities.ONE));
+        if(!TABLE.IsPacked()){
+            throw new IllegalStateException(TABLE.GetMaterial().GetName() + " was not written bit-packed");
+        }
+
+        int longest = Utilities.ZERO, wins = Utilities.ZERO, losses = Utilities.ZERO, draws = Utilities.ZERO;
+
+        for(long index = Utilities.ZERO; index < TABLE.GetMaterial().GetSize(); index++){
+            final byte VALUE = TABLE.Get(index);
+            if(EndgameTable.IsWin(VALUE)){
+                longest = Math.max(longest, EndgameTable.GetDistance(VALUE));
+                wins++;
+            }else if(EndgameTable.IsLoss(VALUE)){
+                losses++;
+            }else if(VALUE == EndgameTable.DRAW){
+                draws++;
+            }
+        }
+
+        System.out.println(TABLE.GetMaterial().GetName() + ": " + wins + " wins, " + losses + " losses, " + draws + " draws, longest mate " + longest + " plies");
+        if(longest != a_longest){
+            throw new IllegalStateException(TABLE.GetMaterial().GetName() + " has a longest mate of " + longest + " plies instead of " + a_longest);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckMoves(final Tablebases a_tablebases, final EndgameMaterial a_material, final Random a_random, final int a_positions);
+
+    SYNOPSIS
+        private static void CheckMoves(final Tablebases a_tablebases, final EndgameMaterial a_material, final Random a_random, final int a_positions);
+
+        Tablebases a_tablebases --> Every table generated so far.
+
+        EndgameMaterial a_material -> The ending to check.
+
+        Random a_random ----------> The source of the positions.
+
+        int a_positions ----------> How many positions to check.
+
+    DESCRIPTION
+        This method checks random positions of an ending against the values after their moves.
+        A position wins in one more ply than the quickest loss it can move into, or else draws
+        if it can move into a draw, or else loses in one more ply than the slowest win it must move into.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckMoves(final Tablebases a_tablebases, final EndgameMaterial a_material, final Random a_random, final int a_positions){
+        final byte[] TILES = new byte[Utilities.SIXTY_FOUR];
+        int checked = Utilities.ZERO;
+
+        while(checked < a_positions){
+            final long INDEX = (long) (a_random.nextDouble() * a_material.GetSize());
+            final ChessColor TURN = (INDEX % Utilities.TWO == Utilities.ZERO ? ChessColor.WHITE : ChessColor.BLACK);
+            if(!a_material.Place(INDEX, TILES) || a_material.Index(TILES, TURN) != INDEX || a_tablebases.Probe(TILES, TURN) == Tablebases.NOT_FOUND){
+                continue;
+            }
+
+            final String FEN = FenWriter.Write(TILES, TURN, Utilities.ZERO, Utilities.NEGATIVE_ONE, Utilities.ZERO, Utilities.ONE, new StringBuilder()).toString();
+            final SanPosition POSITION = new SanPosition(FEN);
+            final int VALUE = a_tablebases.Probe(POSITION.GetBoard());
+
+            int win = Integer.MAX_VALUE, loss = Utilities.NEGATIVE_ONE;
+            boolean canDraw = false;
+
+            for(final Move MOVE : POSITION.GetLegalMoves()){
+                final Board RESULT = MOVE.GetTransitionalBoard();
+                final Piece MOVED = RESULT.GetTile(MOVE.GetNewRow(), MOVE.GetNewColumn()).GetPiece();
+                final boolean PROMOTES = MOVED != null && MOVED.IsPawn() && (MOVE.GetNewRow() == Utilities.ZERO || MOVE.GetNewRow() == Utilities.SEVEN);
+
+                // Queen, rook, bishop, and knight
+                for(int promotion = Utilities.ZERO; promotion < (PROMOTES ? Utilities.FOUR : Utilities.ONE); promotion++){
+                    final int AFTER = a_tablebases.Probe(PROMOTES ? ((Pawn) MOVED).Promote(RESULT, promotion) : RESULT);
+                    if(AFTER == Tablebases.NOT_FOUND){
+                        throw new IllegalStateException("The position after a move from " + FEN + " is not in the tables");
+                    }
+
+                    if(EndgameTable.IsLoss(AFTER)){
+                        win = Math.min(win, EndgameTable.GetDistance(AFTER) + Utilities.ONE);
+                    }else if(EndgameTable.IsWin(AFTER)){
+                        loss = Math.max(loss, EndgameTable.GetDistance(AFTER) + Utilities.ONE);
+                    }else{
+                        canDraw = true;
+                    }
+                }
+            }
+
+            final int EXPECTED;
+            if(win != Integer.MAX_VALUE){
+                EXPECTED = EndgameTable.Win(win);
+            }else if(canDraw || (loss < Utilities.ZERO && !POSITION.IsInCheck())){
+                EXPECTED = EndgameTable.DRAW;
+            }else{
+                EXPECTED = EndgameTable.Loss(Math.max(loss, Utilities.ZERO));
+            }
+
+            if(VALUE != EXPECTED){
+                throw new IllegalStateException(a_material.GetName() + " has " + VALUE + " for " + FEN + " instead of " + EXPECTED);
+            }
+            checked++;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Delete(final Path a_directory);
+
+    SYNOPSIS
+        private static void Delete(final Path a_directory);
+
+        Path a_directory ---------> The directory to delete, or null.
+
+    DESCRIPTION
+        This method deletes the temporary directory and everything in it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Delete(final Path a_directory){
+        if(a_directory == null){
+            return;
+        }
+
+        try(final Stream<Path> PATHS = Files.walk(a_directory)){
+            PATHS.sorted(Comparator.reverseOrder()).forEach(a_path -> a_path.toFile().delete());
+        }catch(IOException e){
+            System.err.println("Could not delete " + a_directory);
+        }
+    }
+}
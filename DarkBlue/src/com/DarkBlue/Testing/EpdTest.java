@@ -0,0 +1,196 @@
+package com.DarkBlue.Testing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.DarkBlue.EPD.EpdPosition;
+import com.DarkBlue.EPD.EpdResult;
+import com.DarkBlue.EPD.EpdRunner;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that EPD lines are read properly and that the runner
+ * judges the engine's moves by them.
+ *
+ * Usage: EpdTest
+ *
+ * Lines must give their position, best moves, moves to avoid, name, and move
+ * counters, and lines with illegal moves or nothing to check must be refused.
+ * Five small tactics, one of them an en passant capture the engine only knows of
+ * from its own board, are then run on two threads, and all five must be solved
+ * with a count of nodes and a time to solution, and appear in the JSON results.
+ * A search with a time limit must still answer with a move.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class EpdTest{
+
+    private static final String[] TACTICS = {
+        "6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - bm Ra8#; id \"back rank mate\";",
+        "4k3/8/8/3q4/8/8/3R4/4K3 w - - bm Rxd5; id \"hanging queen\";",
+        "4k3/8/2p5/3p4/8/8/8/3QK3 w - - am Qxd5; id \"defended pawn\";",
+        "r3k3/8/8/3N4/8/8/8/4K3 w q - bm Nc7+; id \"knight fork\";",
+        "5B2/4N3/8/R4Ppk/8/6PP/8/K7 w - g6 bm fxg6#; id \"en passant mate\";"
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckParse();
+            CheckRun();
+            CheckTimeLimit();
+
+            System.out.println("every position was judged as expected");
+        }catch(InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckParse();
+
+    SYNOPSIS
+        private static void CheckParse();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks what is read from lines of EPD, and that bad lines are refused.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckParse(){
+        final EpdPosition SCHOLAR = new EpdPosition("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - bm Qxf7#; id \"scholar's; mate\"; hmvc 4; fmvn 4; c0 \"ignored\";", Utilities.ONE);
+        if(!SCHOLAR.GetId().equals("scholar's; mate") || !SCHOLAR.GetFEN().equals("r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4")){
+            throw new IllegalStateException("Read " + SCHOLAR.GetId() + " as " + SCHOLAR.GetFEN());
+        }
+
+        final SanPosition POSITION = new SanPosition(SCHOLAR.GetFEN());
+        if(!SCHOLAR.IsSolution(POSITION.Parse("Qxf7")) || SCHOLAR.IsSolution(POSITION.Parse("Qxe5+"))){
+            throw new IllegalStateException("The best move of " + SCHOLAR.GetId() + " is not judged properly");
+        }
+
+        final EpdPosition AVOID = new EpdPosition(TACTICS[Utilities.TWO], Utilities.TWO);
+        final SanPosition PAWN = new SanPosition(AVOID.GetFEN());
+        if(AVOID.IsSolution(PAWN.Parse("Qxd5")) || !AVOID.IsSolution(PAWN.Parse("Kf1")) || !AVOID.Describe().equals("am Qxd5")){
+            throw new IllegalStateException("The move to avoid of " + AVOID.GetId() + " is not judged properly");
+        }
+
+        if(!new EpdPosition("4k3/8/8/8/8/8/8/R3K3 w Q - bm Ra8+;", Utilities.SEVEN).GetId().equals("line 7")){
+            throw new IllegalStateException("A line without an id is not named by its number");
+        }
+
+        for(final String BAD : new String[]{"4k3/8/8/8/8/8/8/R3K3 w Q - bm Ra9;", "4k3/8/8/8/8/8/8/R3K3 w Q - bm Rb2;", "4k3/8/8/8/8/8/8/R3K3 w Q - id \"nothing\";", "4k3/8/8/8 w"}){
+            try{
+                new EpdPosition(BAD, Utilities.ONE);
+                throw new IllegalStateException("Read " + BAD);
+            }catch(IllegalArgumentException e){
+                // Expected
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckRun() throws InterruptedException;
+
+    SYNOPSIS
+        private static void CheckRun() throws InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method runs the small tactics on two threads to depth 3
+        and checks every one is solved and reported.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckRun() throws InterruptedException{
+        final List<EpdPosition> POSITIONS = new ArrayList<>();
+        for(int i = Utilities.ZERO; i < TACTICS.length; i++){
+            POSITIONS.add(new EpdPosition(TACTICS[i], i + Utilities.ONE));
+        }
+
+        final EpdRunner RUNNER = new EpdRunner(Utilities.TWO, Utilities.THREE, Utilities.ZERO);
+        final List<EpdResult> RESULTS = RUNNER.Run(POSITIONS);
+        EpdRunner.Report(RESULTS, System.out);
+
+        for(int i = Utilities.ZERO; i < RESULTS.size(); i++){
+            final EpdResult RESULT = RESULTS.get(i);
+            if(RESULT.GetPosition() != POSITIONS.get(i)){
+                throw new IllegalStateException("The results are not in the order of the positions");
+            }
+            if(!RESULT.IsSolved() || RESULT.GetDepth() != Utilities.THREE || RESULT.GetNodes() <= Utilities.ZERO || RESULT.GetSolutionMilliseconds() < Utilities.ZERO || RESULT.GetSolutionMilliseconds() > RESULT.GetMilliseconds()){
+                throw new IllegalStateException(RESULT.GetPosition().GetId() + " was not solved properly: " + RESULT.GetMove());
+            }
+        }
+
+        final String JSON = RUNNER.ToJSON("tactics", RESULTS);
+        if(!JSON.contains("\"solved\": " + TACTICS.length + ",") || !JSON.contains("{\"id\": \"knight fork\", \"move\": \"Nc7+\", \"solved\": true")){
+            throw new IllegalStateException("The JSON results are wrong:\n" + JSON);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckTimeLimit() throws InterruptedException;
+
+    SYNOPSIS
+        private static void CheckTimeLimit() throws InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that a search cut short still answers, and answers quickly.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckTimeLimit() throws InterruptedException{
+        final List<EpdPosition> POSITIONS = new ArrayList<>();
+        // A quiet position, since the root stops at once on a move that checkmates
+        POSITIONS.add(new EpdPosition("r1bqkbnr/pppp1ppp/2n5/4p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - bm O-O; id \"too deep\";", Utilities.ONE));
+
+        final List<EpdResult> RESULTS = new EpdRunner(Utilities.ONE, Utilities.TEN, 200).Run(POSITIONS);
+        final EpdResult RESULT = RESULTS.get(Utilities.ZERO);
+        if(RESULT.GetMove().equals(EpdRunner.NO_MOVE) || RESULT.GetDepth() >= Utilities.TEN || RESULT.GetMilliseconds() > 10000){
+            throw new IllegalStateException("A search with a time limit answered " + RESULT.GetMove() + " at depth " + RESULT.GetDepth() + " after " + RESULT.GetMilliseconds() + " ms");
+        }
+        System.out.println("with a time limit: " + RESULT.GetMove() + " at depth " + RESULT.GetDepth() + " in " + RESULT.GetMilliseconds() + " ms");
+    }
+}
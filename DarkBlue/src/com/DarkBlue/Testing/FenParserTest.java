@@ -0,0 +1,519 @@
+package com.DarkBlue.Testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the single-pass FEN parser.
+ *
+ * Usage: FenParserTest [serial directory]
+ *
+ * The default directory is src/com/DarkBlue/Serial. Every valid position, including the first
+ * line of every .fen file in the directory but evil.fen, must parse from a string and from the
+ * bytes of a buffer and be written back exactly as it was read. Every kind of error must be
+ * reported at the offset of the character that caused it, prefixes must stop right after the
+ * position with or without their clocks, and a parser that is reused must not allocate.
+ * IsValidFEN() must reject pawns on the first or last rank.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class FenParserTest{
+
+    private static final String DEFAULT_DIRECTORY = "src/com/DarkBlue/Serial";
+    private static final String FEN_EXTENSION = ".fen";
+    private static final String INVALID_FILE = "evil.fen";
+    private static final String PIECES = "PRNBQKprnbqk";
+
+    // Bytes put in front of every position in a buffer, so offsets must be absolute
+    private static final int BUFFER_PREFIX = Utilities.THREE;
+
+    private static final String[] POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "4k3/8/8/8/8/8/8/R3K2R b Q - 49 120",
+    };
+
+    // Strings that must not parse, why, and where
+    private static final String[] ERRORS = {
+        "",
+        "4k3/8/8/8/8/8/8/4K3 w - -",
+        "4k3/8/8/8/8/8/8/4K2X w - - 0 1",
+        "4k4/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k2/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/4K3 w - - 0 1",
+        "4k2P/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/8/8/4K2p w - - 0 1",
+        "4k3/8/8/8/8/P7/PPPPPPPP/4K3 w - - 0 1",
+        "8/8/8/8/8/8/8/4K3 w - - 0 1",
+        "4k3/8/8/8/8/N7/PPPPPPPP/RNBQKBNR w - - 0 1",
+        "4k3/8/8/8/8/8/8/4K3 x - - 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w QK - 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w - e4 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - -1 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 0",
+        "4k3/8/8/8/8/8/8/4K3 wb - - 0 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 1 x",
+    };
+
+    private static final String[] ERROR_MESSAGES = {
+        FenParser.UNEXPECTED_END,
+        FenParser.UNEXPECTED_END,
+        FenParser.INVALID_PIECE,
+        FenParser.RANK_TOO_LONG,
+        FenParser.RANK_TOO_SHORT,
+        FenParser.WRONG_RANK_COUNT,
+        FenParser.WRONG_RANK_COUNT,
+        FenParser.MISPLACED_PAWN,
+        FenParser.MISPLACED_PAWN,
+        FenParser.TOO_MANY_PIECES,
+        FenParser.MISSING_KING,
+        FenParser.TOO_MANY_ON_SIDE,
+        FenParser.INVALID_TURN,
+        FenParser.INVALID_CASTLING,
+        FenParser.INVALID_EN_PASSANT,
+        FenParser.INVALID_CLOCK,
+        FenParser.INVALID_CLOCK,
+        FenParser.EXPECTED_SPACE,
+        FenParser.TRAILING_INPUT,
+    };
+
+    private static final int[] ERROR_OFFSETS = {0, 25, 19, 2, 3, 17, 17, 3, 19, 22, 0, 0, 20, 23, 25, 26, 28, 21, 30};
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional directory to read positions from.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        final File DIRECTORY = new File(a_args.length > Utilities.ZERO ? a_args[Utilities.ZERO] : DEFAULT_DIRECTORY);
+        final File[] FILES = DIRECTORY.listFiles();
+
+        if(FILES == null){
+            System.err.println("Usage: FenParserTest [serial directory]");
+            System.exit(Utilities.ONE);
+        }
+
+        Arrays.sort(FILES);
+
+        try{
+            final List<String> VALID = new ArrayList<>(Arrays.asList(POSITIONS));
+            for(final File FILE : FILES){
+                if(!FILE.getName().endsWith(FEN_EXTENSION)){
+                    continue;
+                }
+
+                final String FEN = Files.readAllLines(FILE.toPath(), StandardCharsets.UTF_8).get(Utilities.ZERO).trim();
+                if(FILE.getName().equals(INVALID_FILE)){
+                    CheckInvalid(FEN);
+                }else{
+                    VALID.add(FEN);
+                }
+            }
+
+            final FenParser PARSER = new FenParser();
+            for(final String FEN : VALID){
+                CheckValid(PARSER, FEN);
+            }
+            for(int index = Utilities.ZERO; index < ERRORS.length; index++){
+                CheckError(PARSER, ERRORS[index], ERROR_MESSAGES[index], ERROR_OFFSETS[index]);
+            }
+            CheckPrefixes(PARSER);
+            CheckAllocations(PARSER, VALID);
+            CheckMisplacedPawns();
+
+            System.out.println(VALID.size() + " positions and " + ERRORS.length + " errors were parsed correctly");
+        }catch(IOException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckValid(final FenParser a_parser, final String a_fen);
+
+    SYNOPSIS
+        private static void CheckValid(final FenParser a_parser, final String a_fen);
+
+        FenParser a_parser -------> The parser to reuse.
+
+        String a_fen -------------> A valid FEN string.
+
+    DESCRIPTION
+        This method parses a valid position as a string and as bytes
+        and writes both results back as FEN strings.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckValid(final FenParser a_parser, final String a_fen){
+        if(!a_parser.Parse(a_fen)){
+            throw new IllegalStateException(a_parser.GetError() + " at " + a_parser.GetErrorOffset() + " in " + a_fen);
+        }else if(!Write(a_parser).equals(a_fen) || a_parser.GetEnd() != a_fen.length() || !a_parser.HasClocks() || a_parser.GetError() != null || a_parser.GetErrorOffset() != Utilities.NEGATIVE_ONE){
+            throw new IllegalStateException("The string was read as " + Write(a_parser) + " instead of " + a_fen);
+        }else if(a_parser.ToBoard() == null){
+            throw new IllegalStateException("No board was built for " + a_fen);
+        }
+
+        final ByteBuffer BYTES = Buffer(a_fen);
+        if(!a_parser.Parse(BYTES)){
+            throw new IllegalStateException(a_parser.GetError() + " at " + a_parser.GetErrorOffset() + " in the bytes of " + a_fen);
+        }else if(!Write(a_parser).equals(a_fen) || a_parser.GetEnd() != BUFFER_PREFIX + a_fen.length() || BYTES.position() != BUFFER_PREFIX){
+            throw new IllegalStateException("The bytes were read as " + Write(a_parser) + " instead of " + a_fen);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckInvalid(final String a_fen);
+
+    SYNOPSIS
+        private static void CheckInvalid(final String a_fen);
+
+        String a_fen -------------> A string that is not a valid position.
+
+    DESCRIPTION
+        This method checks that a string full of mistakes does not parse
+        and that nothing can be read from the failed parse.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckInvalid(final String a_fen){
+        final FenParser PARSER = new FenParser();
+        if(PARSER.Parse(a_fen) || PARSER.GetError() == null || PARSER.GetEnd() != Utilities.NEGATIVE_ONE || PARSER.ToBoard() != null){
+            throw new IllegalStateException("The invalid string " + a_fen + " was parsed");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckError(final FenParser a_parser, final String a_fen, final String a_error, final int a_offset);
+
+    SYNOPSIS
+        private static void CheckError(final FenParser a_parser, final String a_fen, final String a_error, final int a_offset);
+
+        FenParser a_parser -------> The parser to reuse.
+
+        String a_fen -------------> The string that must not parse.
+
+        String a_error -----------> The error it must give.
+
+        int a_offset -------------> The offset it must give.
+
+    DESCRIPTION
+        This method parses a string with one mistake as a string and as bytes.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckError(final FenParser a_parser, final String a_fen, final String a_error, final int a_offset){
+        if(a_parser.Parse(a_fen)){
+            throw new IllegalStateException("The invalid string " + a_fen + " was parsed");
+        }else if(!a_error.equals(a_parser.GetError()) || a_parser.GetErrorOffset() != a_offset){
+            throw new IllegalStateException(a_fen + " gave \"" + a_parser.GetError() + "\" at " + a_parser.GetErrorOffset() + " instead of \"" + a_error + "\" at " + a_offset);
+        }else if(a_parser.ToBoard() != null){
+            throw new IllegalStateException("A board was built for the invalid string " + a_fen);
+        }
+
+        if(a_parser.Parse(Buffer(a_fen))){
+            throw new IllegalStateException("The bytes of the invalid string " + a_fen + " were parsed");
+        }else if(!a_error.equals(a_parser.GetError()) || a_parser.GetErrorOffset() != BUFFER_PREFIX + a_offset){
+            throw new IllegalStateException("The bytes of " + a_fen + " gave \"" + a_parser.GetError() + "\" at " + a_parser.GetErrorOffset() + " instead of \"" + a_error + "\" at " + (BUFFER_PREFIX + a_offset));
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckPrefixes(final FenParser a_parser);
+
+    SYNOPSIS
+        private static void CheckPrefixes(final FenParser a_parser);
+
+        FenParser a_parser -------> The parser to reuse.
+
+    DESCRIPTION
+        This method parses positions that are followed by other text,
+        with their clocks, without them, and with a result that looks like them.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckPrefixes(final FenParser a_parser){
+        final String CLOCKS = "4k3/8/8/8/8/8/8/R3K2R w K - 12 40";
+        final String NO_CLOCKS = "4k3/8/8/8/8/8/8/R3K2R w K -";
+
+        final String[] LINES = {"id " + CLOCKS + " c0 \"label\";", "id " + NO_CLOCKS + " bm Kd2;", "id " + NO_CLOCKS + " 1-0"};
+        final int[] ENDS = {Utilities.THREE + CLOCKS.length(), Utilities.THREE + NO_CLOCKS.length(), Utilities.THREE + NO_CLOCKS.length()};
+
+        for(int index = Utilities.ZERO; index < LINES.length; index++){
+            final boolean HAS_CLOCKS = (index == Utilities.ZERO);
+            final String EXPECTED = (HAS_CLOCKS ? CLOCKS : NO_CLOCKS + " 0 1");
+
+            if(!a_parser.ParsePrefix(LINES[index], Utilities.THREE) || a_parser.GetEnd() != ENDS[index] || a_parser.HasClocks() != HAS_CLOCKS || !Write(a_parser).equals(EXPECTED)){
+                throw new IllegalStateException("The prefix of " + LINES[index] + " was read as " + Write(a_parser) + " ending at " + a_parser.GetEnd());
+            }
+
+            final ByteBuffer BYTES = ByteBuffer.wrap(LINES[index].getBytes(StandardCharsets.US_ASCII));
+            BYTES.position(Utilities.THREE);
+            if(!a_parser.ParsePrefix(BYTES) || a_parser.GetEnd() != ENDS[index] || a_parser.HasClocks() != HAS_CLOCKS || !Write(a_parser).equals(EXPECTED) || BYTES.position() != Utilities.THREE){
+                throw new IllegalStateException("The prefix of the bytes of " + LINES[index] + " was read as " + Write(a_parser) + " ending at " + a_parser.GetEnd());
+            }
+        }
+
+        if(a_parser.ParsePrefix("id 4k3/8/8/8/8/8/8/4K3 w - e4", Utilities.THREE) || !FenParser.INVALID_EN_PASSANT.equals(a_parser.GetError()) || a_parser.GetErrorOffset() != Utilities.THREE + 25){
+            throw new IllegalStateException("An invalid prefix gave \"" + a_parser.GetError() + "\" at " + a_parser.GetErrorOffset());
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckAllocations(final FenParser a_parser, final List<String> a_positions);
+
+    SYNOPSIS
+        private static void CheckAllocations(final FenParser a_parser, final List<String> a_positions);
+
+        FenParser a_parser -------> The parser to reuse.
+
+        List<String> a_positions -> Valid FEN strings.
+
+    DESCRIPTION
+        This method parses every valid position and every error many times,
+        as strings and as bytes, and measures what the current thread allocated
+        once the parser has warmed up. Nothing may be allocated at all.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckAllocations(final FenParser a_parser, final List<String> a_positions){
+        final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long THREAD = Thread.currentThread().getId();
+        if(!THREADS.isThreadAllocatedMemorySupported() || !THREADS.isThreadAllocatedMemoryEnabled()){
+            throw new IllegalStateException("This virtual machine cannot measure what a thread allocates");
+        }
+
+        // Everything parsed is made before the measurement starts
+        final String[] TEXTS = new String[a_positions.size() + ERRORS.length];
+        final ByteBuffer[] BUFFERS = new ByteBuffer[TEXTS.length];
+        for(int index = Utilities.ZERO; index < TEXTS.length; index++){
+            TEXTS[index] = (index < a_positions.size() ? a_positions.get(index) : ERRORS[index - a_positions.size()]);
+            BUFFERS[index] = Buffer(TEXTS[index]);
+        }
+
+        long allocated = Utilities.ZERO;
+        for(int round = Utilities.ZERO; round < Utilities.TEN; round++){
+            final long BEFORE = THREADS.getThreadAllocatedBytes(THREAD);
+            for(int repeat = Utilities.ZERO; repeat < 1000; repeat++){
+                for(int index = Utilities.ZERO; index < TEXTS.length; index++){
+                    a_parser.Parse(TEXTS[index]);
+                    a_parser.Parse(BUFFERS[index]);
+                    a_parser.ParsePrefix(TEXTS[index], Utilities.ZERO);
+                }
+            }
+            allocated = THREADS.getThreadAllocatedBytes(THREAD) - BEFORE;
+        }
+
+        if(allocated != Utilities.ZERO){
+            throw new IllegalStateException("A reused parser allocated " + allocated + " bytes");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckMisplacedPawns();
+
+    SYNOPSIS
+        private static void CheckMisplacedPawns();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that IsValidFEN() rejects pawns on the first
+        or last rank of either color and still accepts the starting position.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckMisplacedPawns(){
+        final String[] MISPLACED = {
+            "4k2P/8/8/8/8/8/8/4K3 w - - 0 1",
+            "4k2p/8/8/8/8/8/8/4K3 w - - 0 1",
+            "4k3/8/8/8/8/8/8/P3K3 w - - 0 1",
+            "4k3/8/8/8/8/8/8/p3K3 b - - 0 1",
+        };
+
+        for(final String FEN : MISPLACED){
+            if(GameUtilities.IsValidFEN(FEN)){
+                throw new IllegalStateException("IsValidFEN() accepted a pawn on the first or last rank in " + FEN);
+            }
+        }
+
+        if(!GameUtilities.IsValidFEN(GameRecord.STARTING_FEN)){
+            throw new IllegalStateException("IsValidFEN() rejected the starting position");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static ByteBuffer Buffer(final String a_fen);
+
+    SYNOPSIS
+        private static ByteBuffer Buffer(final String a_fen);
+
+        String a_fen -------------> The text to put in the buffer.
+
+    DESCRIPTION
+        This method puts a string in a direct buffer after a few other bytes,
+        the way a line sits in a memory-mapped file.
+
+    RETURNS
+        ByteBuffer: The buffer, positioned at the first character of the string.
+
+    AUTHOR
+        Ryan King
+    */
+    private static ByteBuffer Buffer(final String a_fen){
+        final byte[] TEXT = a_fen.getBytes(StandardCharsets.US_ASCII);
+        final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_PREFIX + TEXT.length);
+
+        for(int index = Utilities.ZERO; index < BUFFER_PREFIX; index++){
+            BUFFER.put((byte) '\n');
+        }
+        BUFFER.put(TEXT);
+        BUFFER.flip();
+        BUFFER.position(BUFFER_PREFIX);
+
+        return BUFFER;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Write(final FenParser a_parser);
+
+    SYNOPSIS
+        private static String Write(final FenParser a_parser);
+
+        FenParser a_parser -------> A parser after a successful parse.
+
+    DESCRIPTION
+        This method writes the position a parser read from its fields alone.
+        Clocks that were not read are written with their default values.
+
+    RETURNS
+        String: The position as a FEN string.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Write(final FenParser a_parser){
+        final StringBuilder FEN = new StringBuilder();
+
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            int empty = Utilities.ZERO;
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final byte CODE = a_parser.GetTile(row, column);
+                if(CODE == FenParser.EMPTY){
+                    empty++;
+                    continue;
+                }
+                if(empty != Utilities.ZERO){
+                    FEN.append(empty);
+                    empty = Utilities.ZERO;
+                }
+                for(int index = Utilities.ZERO; index < PIECES.length(); index++){
+                    if(FenParser.Code(PIECES.charAt(index)) == CODE){
+                        FEN.append(PIECES.charAt(index));
+                    }
+                }
+            }
+            if(empty != Utilities.ZERO){
+                FEN.append(empty);
+            }
+            if(row < Utilities.SEVEN){
+                FEN.append('/');
+            }
+        }
+
+        FEN.append(Utilities.SPACE).append(a_parser.WhoseTurnIsIt() == null ? "?" : (a_parser.WhoseTurnIsIt().IsWhite() ? "w" : "b")).append(Utilities.SPACE);
+
+        final int LENGTH = FEN.length();
+        if(a_parser.CanCastle(FenParser.WHITE_KINGSIDE)){
+            FEN.append('K');
+        }
+        if(a_parser.CanCastle(FenParser.WHITE_QUEENSIDE)){
+            FEN.append('Q');
+        }
+        if(a_parser.CanCastle(FenParser.BLACK_KINGSIDE)){
+            FEN.append('k');
+        }
+        if(a_parser.CanCastle(FenParser.BLACK_QUEENSIDE)){
+            FEN.append('q');
+        }
+        if(FEN.length() == LENGTH){
+            FEN.append('-');
+        }
+        FEN.append(Utilities.SPACE);
+
+        if(a_parser.HasEnPassantTile()){
+            FEN.append((char) ('a' + a_parser.GetEnPassantColumn())).append(Utilities.EIGHT - a_parser.GetEnPassantRow());
+        }else{
+            FEN.append('-');
+        }
+
+        return FEN.append(Utilities.SPACE).append(a_parser.GetHalfmoves()).append(Utilities.SPACE).append(a_parser.GetFullmoves()).toString();
+    }
+}
@@ -0,0 +1,303 @@
+package com.DarkBlue.Testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.FenWriter;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that FenWriter writes boards exactly as Board.toString() used to.
+ *
+ * Usage: FenWriterTest [serial directory]
+ *
+ * The default directory is src/com/DarkBlue/Serial. Every valid FEN string in its .fen and .txt
+ * files, including every position of bestgameever.txt, is made into a board. What FenWriter writes
+ * for that board into a builder and into a buffer, with and without the move clocks, must match
+ * what the string concatenation Board.toString() used before FenWriter wrote, kept below, and
+ * Board.toString() itself. The parser's own fields must also be written back as the original string.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class FenWriterTest{
+
+    private static final String DEFAULT_DIRECTORY = "src/com/DarkBlue/Serial";
+    private static final String COMMENT = "//";
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional directory to read positions from.
+
+    DESCRIPTION
+        This method writes every position of every file in the directory.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        final File DIRECTORY = new File(a_args.length > Utilities.ZERO ? a_args[Utilities.ZERO] : DEFAULT_DIRECTORY);
+        final File[] FILES = DIRECTORY.listFiles();
+
+        if(FILES == null){
+            System.err.println("Usage: FenWriterTest [serial directory]");
+            System.exit(Utilities.ONE);
+        }
+
+        Arrays.sort(FILES);
+
+        try{
+            final FenParser PARSER = new FenParser();
+
+            // One builder and one buffer are reused for every position, as the GUI does
+            final StringBuilder BUILDER = new StringBuilder(FenWriter.CAPACITY);
+            final ByteBuffer BUFFER = ByteBuffer.allocate(FenWriter.CAPACITY);
+
+            int positions = Utilities.ZERO;
+            for(final File FILE : FILES){
+                final String NAME = FILE.getName();
+                if(!FILE.isFile() || !(NAME.endsWith(".fen") || NAME.endsWith(".txt"))){
+                    continue;
+                }
+
+                for(final String LINE : Files.readAllLines(FILE.toPath(), StandardCharsets.UTF_8)){
+                    final int START = LINE.indexOf(COMMENT);
+                    final String FEN = (START >= Utilities.ZERO ? LINE.substring(Utilities.ZERO, START) : LINE).trim();
+
+                    if(PARSER.Parse(FEN)){
+                        CheckPosition(PARSER, FEN, NAME, BUILDER, BUFFER);
+                        positions++;
+                    }
+                }
+            }
+
+            if(positions == Utilities.ZERO){
+                throw new IllegalStateException("No positions were found in " + DIRECTORY);
+            }
+
+            System.out.println(positions + " positions were written as they always were");
+        }catch(IOException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckPosition(final FenParser a_parser, final String a_fen, final String a_file, final StringBuilder a_builder, final ByteBuffer a_buffer);
+
+    SYNOPSIS
+        private static void CheckPosition(final FenParser a_parser, final String a_fen, final String a_file, final StringBuilder a_builder, final ByteBuffer a_buffer);
+
+        FenParser a_parser -------> A parser that has just parsed a_fen.
+
+        String a_fen -------------> The position.
+
+        String a_file ------------> The file the position came from, for the messages.
+
+        StringBuilder a_builder --> The builder to reuse.
+
+        ByteBuffer a_buffer ------> The buffer to reuse.
+
+    DESCRIPTION
+        This method writes one position every way FenWriter can write it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckPosition(final FenParser a_parser, final String a_fen, final String a_file, final StringBuilder a_builder, final ByteBuffer a_buffer){
+        final Board BOARD = a_parser.ToBoard();
+        final String EXPECTED = OldToString(BOARD);
+        final String CLOCKS = EXPECTED + Utilities.SPACE + a_parser.GetHalfmoves() + Utilities.SPACE + a_parser.GetFullmoves();
+        final String WHERE = " for " + a_fen + " in " + a_file;
+
+        if(!BOARD.toString().equals(EXPECTED)){
+            throw new IllegalStateException("Board.toString() wrote " + BOARD + " instead of " + EXPECTED + WHERE);
+        }
+
+        a_builder.setLength(Utilities.ZERO);
+        if(!FenWriter.Write(BOARD, a_builder).toString().equals(EXPECTED)){
+            throw new IllegalStateException("The builder held " + a_builder + " instead of " + EXPECTED + WHERE);
+        }
+
+        // Writing after what is already there must leave it alone
+        if(!FenWriter.Write(BOARD, a_parser.GetHalfmoves(), a_parser.GetFullmoves(), a_builder.append(Utilities.SPACE)).toString().equals(EXPECTED + Utilities.SPACE + CLOCKS)){
+            throw new IllegalStateException("The builder held " + a_builder + " instead of " + EXPECTED + Utilities.SPACE + CLOCKS + WHERE);
+        }
+
+        a_buffer.clear();
+        if(!Read(FenWriter.Write(BOARD, a_buffer)).equals(EXPECTED)){
+            throw new IllegalStateException("The buffer held " + Read(a_buffer) + " instead of " + EXPECTED + WHERE);
+        }
+
+        a_buffer.clear();
+        if(!Read(FenWriter.Write(BOARD, a_parser.GetHalfmoves(), a_parser.GetFullmoves(), a_buffer)).equals(CLOCKS)){
+            throw new IllegalStateException("The buffer held " + Read(a_buffer) + " instead of " + CLOCKS + WHERE);
+        }
+
+        // Positions that never become boards must come back exactly as they were read
+        final byte[] TILES = new byte[Utilities.SIXTY_FOUR];
+        a_parser.CopyTiles(TILES);
+        final int EN_PASSANT = (a_parser.HasEnPassantTile() ? a_parser.GetEnPassantRow() * Utilities.EIGHT + a_parser.GetEnPassantColumn() : Utilities.NEGATIVE_ONE);
+
+        a_builder.setLength(Utilities.ZERO);
+        if(!FenWriter.Write(TILES, a_parser.WhoseTurnIsIt(), a_parser.GetCastlingRights(), EN_PASSANT, a_parser.GetHalfmoves(), a_parser.GetFullmoves(), a_builder).toString().equals(a_fen)){
+            throw new IllegalStateException("The parsed fields were written as " + a_builder + WHERE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Read(final ByteBuffer a_buffer);
+
+    SYNOPSIS
+        private static String Read(final ByteBuffer a_buffer);
+
+        ByteBuffer a_buffer ------> A buffer FenWriter has just written to.
+
+    DESCRIPTION
+        This method reads back everything from the start of a buffer to its position.
+
+    RETURNS
+        String: What was written.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Read(final ByteBuffer a_buffer){
+        return new String(a_buffer.array(), Utilities.ZERO, a_buffer.position(), StandardCharsets.US_ASCII);
+    }
+
+    /**/
+    /*
+    NAME
+        private static String OldToString(final Board a_board);
+
+    SYNOPSIS
+        private static String OldToString(final Board a_board);
+
+        Board a_board ------------> The board to serialize.
+
+    DESCRIPTION
+        This method builds the four FEN fields of a board the way Board.toString()
+        did before FenWriter, one string concatenation at a time, including the quirk
+        that a side without a king adds nothing to the castling rights.
+
+    RETURNS
+        String: The board configuration, side to move, castling rights, and en passant tile.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String OldToString(final Board a_board){
+        String board = Utilities.EMPTY_STRING;
+        int emptyTiles = Utilities.ZERO;
+
+        for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
+            final int ROW = index / Utilities.EIGHT;
+            final int COLUMN = index % Utilities.EIGHT;
+
+            if(a_board.GetTile(ROW, COLUMN).IsEmpty()){
+                emptyTiles++;
+            }else{
+                if(emptyTiles > Utilities.ZERO){
+                    board += Integer.toString(emptyTiles);
+                    emptyTiles = Utilities.ZERO;
+                }
+                board += a_board.GetTile(ROW, COLUMN).GetPiece().GetIcon();
+            }
+
+            if(COLUMN == Utilities.SEVEN){
+                if(emptyTiles > Utilities.ZERO){
+                    board += Integer.toString(emptyTiles);
+                }
+                if(ROW < Utilities.SEVEN){
+                    board += Utilities.FORWARD_SLASH;
+                }
+                emptyTiles = Utilities.ZERO;
+            }
+        }
+
+        final String NONE = Character.toString(Utilities.NO_RIGHTS_OR_TILE);
+        final String WHITE_RIGHTS = OldCastlingRights(a_board, a_board.GetKing(ChessColor.WHITE));
+        final String BLACK_RIGHTS = OldCastlingRights(a_board, a_board.GetKing(ChessColor.BLACK));
+
+        String rights;
+        if(WHITE_RIGHTS.equals(NONE) && BLACK_RIGHTS.equals(NONE)){
+            rights = NONE;
+        }else{
+            rights = Utilities.EMPTY_STRING;
+            if(!WHITE_RIGHTS.equals(NONE)){
+                rights += WHITE_RIGHTS;
+            }
+            if(!BLACK_RIGHTS.equals(NONE)){
+                rights += BLACK_RIGHTS;
+            }
+        }
+
+        final String EN_PASSANT = (a_board.GetEnPassantTile() != null ? a_board.GetEnPassantTile().toString() : NONE);
+        final char TURN = Character.toLowerCase(a_board.WhoseTurnIsIt().toString().charAt(Utilities.ZERO));
+
+        return board + Utilities.SPACE + TURN + Utilities.SPACE + rights + Utilities.SPACE + EN_PASSANT;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String OldCastlingRights(final Board a_board, final King a_king);
+
+    SYNOPSIS
+        private static String OldCastlingRights(final Board a_board, final King a_king);
+
+        Board a_board ------------> The board the king is on.
+
+        King a_king --------------> The king whose castling rights must be serialized, or null.
+
+    DESCRIPTION
+        This method builds the castling rights of one side the way Board.toString()
+        did before FenWriter.
+
+    RETURNS
+        String: Some combination of "KQ" or "kq", "-" if there are none,
+        or nothing at all if there is no king.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String OldCastlingRights(final Board a_board, final King a_king){
+        if(a_king == null){
+            return Utilities.EMPTY_STRING;
+        }
+
+        String castlingRights = Utilities.EMPTY_STRING;
+        if(a_king.HasKingsideCastlingRook(a_board) && !a_king.HasMoved()){
+            castlingRights += (a_king.IsWhite() ? Utilities.WHITE_KING_ICON : Utilities.BLACK_KING_ICON);
+        }
+        if(a_king.HasQueensideCastlingRook(a_board) && !a_king.HasMoved()){
+            castlingRights += (a_king.IsWhite() ? Utilities.WHITE_QUEEN_ICON : Utilities.BLACK_QUEEN_ICON);
+        }
+
+        return (castlingRights.isBlank() ? Character.toString(Utilities.NO_RIGHTS_OR_TILE) : castlingRights);
+    }
+}
@@ -0,0 +1,348 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameDatabase;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.MoveStatistics;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Record.PositionMatch;
+import com.DarkBlue.Record.RecordPosition;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This file checks that a GameDatabase finds every game that reached a position.
+ *
+ * Usage: GameDatabaseTest [games] [plies]
+ *
+ * The defaults are 100 games of at most 80 plies each. The games are random,
+ * played by picking any legal move, and are stored in a temporary directory.
+ * Every position of every game must be found under its key, the opening statistics
+ * of the starting position must add up to the number of games, the database must
+ * come back the same after being reopened, and a game cut off halfway through
+ * being written must be dropped when the database is reopened.
+ * The program exits with status 1 if anything does not match.
+ */
+public final class GameDatabaseTest{
+
+    private static final int DEFAULT_GAMES = 100;
+    private static final int DEFAULT_PLIES = 80;
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional number of games and plies per game, in that order.
+
+    DESCRIPTION
+        This method builds the database, checks it, and prints how long lookups take.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int games = DEFAULT_GAMES;
+        int plies = DEFAULT_PLIES;
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                games = Integer.parseInt(a_args[Utilities.ZERO]);
+            }
+            if(a_args.length > Utilities.ONE){
+                plies = Integer.parseInt(a_args[Utilities.ONE]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: GameDatabaseTest [games] [plies]");
+            System.exit(Utilities.ONE);
+        }
+
+        Path directory = null;
+        try{
+            directory = Files.createTempDirectory("darkblue");
+            final Path FILE = directory.resolve("games.dbgr");
+            final Random RANDOM = new Random(Utilities.ONE);
+
+            final List<GameRecord> RECORDS = new ArrayList<>();
+            final List<Long> OFFSETS = new ArrayList<>();
+
+            long start = System.nanoTime();
+            try(final GameDatabase DATABASE = new GameDatabase(FILE)){
+                for(int i = Utilities.ZERO; i < games; i++){
+                    final GameRecord RECORD = RandomGame(RANDOM, plies);
+                    RECORDS.add(RECORD);
+                    OFFSETS.add(DATABASE.Add(RECORD));
+                }
+            }
+            System.out.println(String.format(Locale.ROOT, "stored %d games in %.0f ms", games, (System.nanoTime() - start) / 1e6));
+
+            try(final GameDatabase DATABASE = new GameDatabase(FILE)){
+                start = System.nanoTime();
+                final int LOOKUPS = Check(DATABASE, RECORDS, OFFSETS);
+                final double MILLISECONDS = (System.nanoTime() - start) / 1e6;
+
+                System.out.println(String.format(Locale.ROOT, "%d positions indexed, %d bytes of games", DATABASE.GetEntryCount(), DATABASE.GetGameFileSize()));
+                System.out.println(String.format(Locale.ROOT, "%d lookups in %.0f ms, %.3f ms each", LOOKUPS, MILLISECONDS, MILLISECONDS / LOOKUPS));
+
+                final ArrayList<MoveStatistics> OPENING = DATABASE.GetStatistics(GameDatabase.Hash(GameRecord.STARTING_FEN));
+                int total = Utilities.ZERO;
+                for(final MoveStatistics STATISTICS : OPENING){
+                    total += STATISTICS.GetGames();
+                }
+                if(total != games){
+                    throw new IOException("Opening statistics count " + total + " games instead of " + games);
+                }
+
+                final MoveStatistics BEST = OPENING.get(Utilities.ZERO);
+                System.out.println(String.format(Locale.ROOT, "most played first move: %s in %d games, scoring %.2f",
+                    PackedMove.Append(BEST.GetMove(), new StringBuilder()), BEST.GetGames(), BEST.GetScore()));
+            }
+
+            CheckTornAppend(FILE, RECORDS, OFFSETS, RANDOM, plies);
+            System.out.println("a partly written game is dropped on reopening");
+        }catch(IOException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }finally{
+            Delete(directory);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Check(final GameDatabase a_database, final List<GameRecord> a_records, final List<Long> a_offsets) throws IOException;
+
+    SYNOPSIS
+        private static int Check(final GameDatabase a_database, final List<GameRecord> a_records, final List<Long> a_offsets) throws IOException;
+
+        GameDatabase a_database --> The database to check.
+
+        List<GameRecord> a_records --> The games that were stored.
+
+        List<Long> a_offsets -----> Where each game was stored.
+
+    DESCRIPTION
+        This method looks up every position of every game and makes sure the game is among the matches.
+
+    RETURNS
+        int: The number of lookups made.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Check(final GameDatabase a_database, final List<GameRecord> a_records, final List<Long> a_offsets) throws IOException{
+        int lookups = Utilities.ZERO;
+
+        for(int game = Utilities.ZERO; game < a_records.size(); game++){
+            final GameRecord RECORD = a_records.get(game);
+            final long OFFSET = a_offsets.get(game);
+            final long[] KEYS = RECORD.ComputeKeys();
+
+            for(int ply = Utilities.ZERO; ply < KEYS.length; ply++){
+                boolean found = false;
+                for(final PositionMatch MATCH : a_database.Find(KEYS[ply])){
+                    if(MATCH.GetOffset() == OFFSET){
+                        found = MATCH.GetPly() <= ply && MATCH.GetResult() == RECORD.GetResult();
+                        break;
+                    }
+                }
+                lookups++;
+
+                if(!found){
+                    throw new IOException("Game " + game + " is not found at ply " + ply);
+                }
+            }
+
+            final List<String> POSITIONS = RECORD.ToPositions();
+            final String LAST = POSITIONS.get(POSITIONS.size() - Utilities.ONE);
+            final PositionMatch MATCH = a_database.Find(LAST).stream().filter(a_match -> a_match.GetOffset() == OFFSET).findFirst().orElse(null);
+            if(MATCH == null || (MATCH.GetPly() == RECORD.GetMoveCount() && !a_database.GetFEN(MATCH).equals(LAST))){
+                throw new IOException("Game " + game + " does not replay to its last position");
+            }
+        }
+
+        return lookups;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckTornAppend(final Path a_file, final List<GameRecord> a_records, final List<Long> a_offsets, final Random a_random, final int a_plies) throws IOException;
+
+    SYNOPSIS
+        private static void CheckTornAppend(final Path a_file, final List<GameRecord> a_records, final List<Long> a_offsets, final Random a_random, final int a_plies) throws IOException;
+
+        Path a_file --------------> The game file.
+
+        List<GameRecord> a_records --> The games that were stored.
+
+        List<Long> a_offsets -----> Where each game was stored.
+
+        Random a_random ----------> The random number generator to play with.
+
+        int a_plies --------------> The most plies a game can have.
+
+    DESCRIPTION
+        This method adds one game without flushing the index, appends half of another
+        by hand, and makes sure reopening keeps the first and drops the second.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckTornAppend(final Path a_file, final List<GameRecord> a_records, final List<Long> a_offsets, final Random a_random, final int a_plies) throws IOException{
+        final GameRecord KEPT = RandomGame(a_random, a_plies);
+        final GameRecord TORN = RandomGame(a_random, a_plies);
+        final long SIZE;
+
+        // Write the kept game straight to the file so the index does not cover it
+        try(final FileChannel CHANNEL = FileChannel.open(a_file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)){
+            final ByteBuffer BUFFER = ByteBuffer.allocate(KEPT.EncodedSize(false) + TORN.EncodedSize(false));
+            KEPT.Encode(BUFFER, false);
+            final int KEPT_SIZE = BUFFER.position();
+            TORN.Encode(BUFFER, false);
+            BUFFER.flip();
+            BUFFER.limit(KEPT_SIZE + (BUFFER.limit() - KEPT_SIZE) / Utilities.TWO);
+            a_offsets.add(CHANNEL.size());
+            a_records.add(KEPT);
+            CHANNEL.write(BUFFER);
+            SIZE = CHANNEL.size() - (BUFFER.limit() - KEPT_SIZE);
+        }
+
+        try(final GameDatabase DATABASE = new GameDatabase(a_file)){
+            if(DATABASE.GetGameFileSize() != SIZE){
+                throw new IOException("The partly written game was not cut off");
+            }
+            Check(DATABASE, a_records, a_offsets);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static GameRecord RandomGame(final Random a_random, final int a_plies);
+
+    SYNOPSIS
+        private static GameRecord RandomGame(final Random a_random, final int a_plies);
+
+        Random a_random ----------> The random number generator to play with.
+
+        int a_plies --------------> The most plies the game can have.
+
+    DESCRIPTION
+        This method plays random legal moves from the starting position.
+        Every position without an en passant tile is also hashed as a Board,
+        which has to give the same key the record does.
+
+    RETURNS
+        GameRecord: The game.
+
+    AUTHOR
+        Ryan King
+    */
+    private static GameRecord RandomGame(final Random a_random, final int a_plies){
+        final GameRecord RECORD = new GameRecord(GameRecord.STARTING_FEN);
+        final RecordPosition POSITION = RECORD.Start();
+        Board board = Board.GetStartingPosition();
+
+        for(int ply = Utilities.ZERO; ply < a_plies; ply++){
+            final Player WHITE = new Human(ChessColor.WHITE, board);
+            final Player BLACK = new Human(ChessColor.BLACK, board);
+            WHITE.Refresh(board);
+            BLACK.Refresh(board);
+
+            final Player CURRENT = (board.WhoseTurnIsIt().IsWhite() ? WHITE : BLACK);
+            final ArrayList<Move> MOVES = CURRENT.UglyMoves();
+
+            if(MOVES.isEmpty()){
+                RECORD.SetResult(CURRENT.IsInCheckmate(board) ? (CURRENT.IsWhite() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS) : GameRecord.DRAW);
+                return RECORD;
+            }
+
+            final Move MOVE = MOVES.get(a_random.nextInt(MOVES.size()));
+            board = MOVE.GetTransitionalBoard();
+
+            int promotion = PackedMove.NO_PROMOTION;
+            if(MOVE.GetPiece().IsPawn() && (MOVE.GetNewRow() == Utilities.ZERO || MOVE.GetNewRow() == Utilities.SEVEN)){
+                final int BUTTON = a_random.nextInt(Utilities.FOUR);
+                board = ((Pawn) board.GetTile(MOVE.GetNewRow(), MOVE.GetNewColumn()).GetPiece()).Promote(board, BUTTON);
+                promotion = BUTTON + Utilities.ONE;
+            }
+
+            final short PACKED = PackedMove.FromMove(MOVE, promotion);
+            RECORD.Add(PACKED);
+            if(!POSITION.Apply(PACKED)){
+                throw new IllegalStateException("A legal move could not be replayed");
+            }
+
+            if(POSITION.GetEnPassantTile() < Utilities.ZERO && Zobrist.Hash(board) != POSITION.Hash()){
+                throw new IllegalStateException("A board and its record disagree on the key after " + board);
+            }
+
+            if(board.GetKing(ChessColor.WHITE) == null || board.GetKing(ChessColor.BLACK) == null){
+                break;
+            }
+        }
+
+        RECORD.SetResult(a_random.nextInt(GameRecord.RESULTS.length));
+        return RECORD;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Delete(final Path a_directory);
+
+    SYNOPSIS
+        private static void Delete(final Path a_directory);
+
+        Path a_directory ---------> The temporary directory, or null if it was never created.
+
+    DESCRIPTION
+        This method deletes the temporary directory and everything in it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Delete(final Path a_directory){
+        if(a_directory == null){
+            return;
+        }
+
+        try(final Stream<Path> PATHS = Files.walk(a_directory)){
+            PATHS.sorted(Comparator.reverseOrder()).forEach(a_path -> a_path.toFile().delete());
+        }catch(IOException e){
+            System.err.println("Could not delete " + a_directory);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.DarkBlue.Testing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.GameRecordReader;
+import com.DarkBlue.Record.GameRecordWriter;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that games survive a trip through the compact record format.
+ *
+ * Usage: GameRecordTest [serial directory]
+ *
+ * The default directory is src/com/DarkBlue/Serial. Every .fen file in it becomes
+ * a game with no moves, and every .txt file that holds one FEN string per line,
+ * like bestgameever.txt, becomes a game whose moves are worked out from its positions.
+ * Where a position does not follow from the one before it, as happens in bestgameever.txt
+ * when the GUI gave black back a castling right it had lost, the file is split into two games.
+ * All of them are written with and without keys, read back, and replayed, and every
+ * replayed position must match its original FEN string exactly.
+ * The program exits with status 1 if anything does not match.
+ */
+public final class GameRecordTest{
+
+    private static final String DEFAULT_DIRECTORY = "src/com/DarkBlue/Serial";
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional directory to read games from.
+
+    DESCRIPTION
+        This method runs the round trip and prints how much smaller the records are than the FEN text.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        final File DIRECTORY = new File(a_args.length > Utilities.ZERO ? a_args[Utilities.ZERO] : DEFAULT_DIRECTORY);
+        final File[] FILES = DIRECTORY.listFiles();
+
+        if(FILES == null){
+            System.err.println("Usage: GameRecordTest [serial directory]");
+            System.exit(Utilities.ONE);
+        }
+
+        Arrays.sort(FILES);
+
+        final List<List<String>> GAMES = new ArrayList<>();
+        final List<GameRecord> RECORDS = new ArrayList<>();
+        long textSize = Utilities.ZERO;
+
+        try{
+            for(final File FILE : FILES){
+                final List<String> POSITIONS = ReadPositions(FILE);
+                if(POSITIONS.isEmpty()){
+                    continue;
+                }
+
+                for(final List<String> GAME : Split(POSITIONS)){
+                    GAMES.add(GAME);
+                    RECORDS.add(GameRecord.FromPositions(GAME));
+                    for(final String POSITION : GAME){
+                        textSize += POSITION.length() + Utilities.ONE;
+                    }
+                    System.out.println(FILE.getName() + ": " + (GAME.size() - Utilities.ONE) + " moves");
+                }
+            }
+
+            final int WITHOUT_KEYS = RoundTrip(GAMES, RECORDS, false);
+            final int WITH_KEYS = RoundTrip(GAMES, RECORDS, true);
+
+            System.out.println(String.format(Locale.ROOT, "%d games: %d bytes of FEN text, %d bytes as records, %d bytes with keys", GAMES.size(), textSize, WITHOUT_KEYS, WITH_KEYS));
+        }catch(IOException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int RoundTrip(final List<List<String>> a_games, final List<GameRecord> a_records, final boolean a_withKeys) throws IOException;
+
+    SYNOPSIS
+        private static int RoundTrip(final List<List<String>> a_games, final List<GameRecord> a_records, final boolean a_withKeys) throws IOException;
+
+        List<List<String>> a_games --> The positions of every game.
+
+        List<GameRecord> a_records --> The records of the same games.
+
+        boolean a_withKeys ----------> If keys should be written.
+
+    DESCRIPTION
+        This method writes every record, reads them back, and compares the replayed positions with the originals.
+
+    RETURNS
+        int: The number of bytes written.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int RoundTrip(final List<List<String>> a_games, final List<GameRecord> a_records, final boolean a_withKeys) throws IOException{
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+        try(final GameRecordWriter WRITER = new GameRecordWriter(BYTES, a_withKeys)){
+            for(final GameRecord RECORD : a_records){
+                WRITER.Write(RECORD);
+            }
+        }
+
+        try(final GameRecordReader READER = new GameRecordReader(new ByteArrayInputStream(BYTES.toByteArray()))){
+            for(int i = Utilities.ZERO; i < a_games.size(); i++){
+                final GameRecord RECORD = READER.Next();
+                if(RECORD == null){
+                    throw new IOException("Game " + i + " is missing");
+                }
+
+                final List<String> EXPECTED = a_games.get(i);
+                final List<String> ACTUAL = RECORD.ToPositions();
+                if(!EXPECTED.equals(ACTUAL)){
+                    throw new IOException("Game " + i + " does not replay to the same positions");
+                }
+
+                if(a_withKeys != (RECORD.GetKeys() != null) || (a_withKeys && !Arrays.equals(RECORD.GetKeys(), RECORD.ComputeKeys()))){
+                    throw new IOException("Game " + i + " has the wrong keys");
+                }
+            }
+
+            if(READER.Next() != null){
+                throw new IOException("Unexpected game after the last one");
+            }
+        }
+
+        return BYTES.size();
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<List<String>> Split(final List<String> a_positions);
+
+    SYNOPSIS
+        private static List<List<String>> Split(final List<String> a_positions);
+
+        List<String> a_positions -> The positions read from a file.
+
+    DESCRIPTION
+        This method splits the positions of a file wherever one of them
+        cannot be reached from the one before it by a single move.
+
+    RETURNS
+        List<List<String>> games: The positions of each game, in order.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<List<String>> Split(final List<String> a_positions){
+        final List<List<String>> GAMES = new ArrayList<>();
+        int start = Utilities.ZERO;
+
+        for(int i = Utilities.ONE; i <= a_positions.size(); i++){
+            if(i < a_positions.size()){
+                try{
+                    GameRecord.FromPositions(a_positions.subList(i - Utilities.ONE, i + Utilities.ONE));
+                    continue;
+                }catch(IllegalArgumentException e){
+                    System.out.println("Position " + i + " does not follow from the one before it; starting a new game");
+                }
+            }
+            GAMES.add(new ArrayList<>(a_positions.subList(start, i)));
+            start = i;
+        }
+
+        return GAMES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<String> ReadPositions(final File a_file) throws IOException;
+
+    SYNOPSIS
+        private static List<String> ReadPositions(final File a_file) throws IOException;
+
+        File a_file ----------> A .fen file or a file with one FEN string per line.
+
+    DESCRIPTION
+        This method reads the positions of a game, ignoring comments after "//"
+        and any line that is not a FEN string.
+
+    RETURNS
+        List<String> positions: The positions in the order they appear in the file.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<String> ReadPositions(final File a_file) throws IOException{
+        final List<String> POSITIONS = new ArrayList<>();
+        final String NAME = a_file.getName();
+
+        if(!a_file.isFile() || !(NAME.endsWith(".fen") || NAME.endsWith(".txt"))){
+            return POSITIONS;
+        }
+
+        final FenParser PARSER = new FenParser();
+        for(final String LINE : Files.readAllLines(a_file.toPath(), StandardCharsets.UTF_8)){
+            final int COMMENT = LINE.indexOf("//");
+            final String FEN = (COMMENT >= Utilities.ZERO ? LINE.substring(Utilities.ZERO, COMMENT) : LINE).trim();
+
+            if(PARSER.Parse(FEN)){
+                POSITIONS.add(FEN);
+            }
+        }
+
+        return POSITIONS;
+    }
+}
@@ -133,7 +133,7 @@ public class GameTest{
                     JOptionPane.showMessageDialog(null, "That tile is empty", DarkBlue.TITLE, JOptionPane.ERROR_MESSAGE);
                 }else if(mover.GetColor().IsEnemy(m_currentPlayer.GetColor())){
                     JOptionPane.showMessageDialog(null, "That piece is not your color", DarkBlue.TITLE, JOptionPane.ERROR_MESSAGE);
-                }else if(mover.GetColor().IsAlly(m_currentPlayer.GetColor()) && !mover.CanMove()){
+                }else if(mover.GetColor().IsAlly(m_currentPlayer.GetColor()) && !mover.CanMove(m_board)){
                     JOptionPane.showMessageDialog(null, "That piece has no legal moves", DarkBlue.TITLE, JOptionPane.ERROR_MESSAGE);
                 }
                 
@@ -182,7 +182,7 @@ public class GameTest{
                     Piece mover = m_board.GetTile(m_sourceRow, m_sourceColumn).GetPiece();
                     Piece victim = m_board.GetTile(m_destinationRow, m_destinationColumn).GetPiece();
             
-                    if(!Utilities.IsLegal(mover, m_destinationRow, m_destinationColumn)){
+                    if(!Utilities.IsLegal(mover, m_destinationRow, m_destinationColumn, m_board)){
                         JOptionPane.showMessageDialog(null, "That move is illegal", DarkBlue.TITLE, JOptionPane.ERROR_MESSAGE);
                     }else if(victim != null && victim.IsAlly(mover)){
                         JOptionPane.showMessageDialog(null, "You cannot capture a piece of your own color", DarkBlue.TITLE, JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,270 @@
+package com.DarkBlue.Testing;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Move.IntMoveList;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.MovePicker;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks moves packed into ints and the lists that hold them.
+ *
+ * Usage: IntMoveTest
+ *
+ * Every legal move of a few positions with captures, castling, en passant, and
+ * promotion must unpack to its own tiles, pieces, and flags, keep the low 16 bits
+ * of a PackedMove, and be found again on its board, apart from the en passant
+ * captures SanPosition makes itself, and the board must make the packed move into
+ * the same board the move makes. A list must grow past its first array, skip
+ * moves it already has, and keep its room when cleared. The search's ordering must
+ * hold every move of the player exactly once, with checkmates first, and so must
+ * the move picker, which must hand out the move from the table first, then
+ * captures, then a killer, and then the other quiet moves.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class IntMoveTest{
+
+    private static final String[] POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "3k4/4P3/8/8/8/8/8/4K3 w - - 0 1",
+        "6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1",
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            for(final String FEN : POSITIONS){
+                CheckMoves(new SanPosition(FEN));
+            }
+            CheckList();
+
+            System.out.println("every packed move matched");
+        }catch(RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckMoves(final SanPosition a_position);
+
+    SYNOPSIS
+        private static void CheckMoves(final SanPosition a_position);
+
+        SanPosition a_position ---> The position whose moves are packed.
+
+    DESCRIPTION
+        This method packs and unpacks every legal move of a position and orders them for the search.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckMoves(final SanPosition a_position){
+        final Board BOARD = a_position.GetBoard();
+
+        for(final Move MOVE : a_position.GetLegalMoves()){
+            final int PROMOTION = (SanPosition.IsPromotion(MOVE) ? PackedMove.KNIGHT : PackedMove.NO_PROMOTION);
+            final int PACKED = IntMove.FromMove(MOVE, PROMOTION);
+            final String NAME = a_position.ToFEN() + " " + PackedMove.Append(IntMove.ToPacked(PACKED), new StringBuilder());
+
+            if(IntMove.ToPacked(PACKED) != PackedMove.FromMove(MOVE, PROMOTION) || IntMove.Promotion(PACKED) != PROMOTION){
+                throw new IllegalStateException("The low bits are not a PackedMove: " + NAME);
+            }else if(IntMove.From(PACKED) != MOVE.GetOldRow() * Utilities.EIGHT + MOVE.GetOldColumn() || IntMove.To(PACKED) != MOVE.GetNewRow() * Utilities.EIGHT + MOVE.GetNewColumn()){
+                throw new IllegalStateException("The tiles did not unpack: " + NAME);
+            }else if(IntMove.Piece(PACKED) != MOVE.GetPiece().GetPieceType() || IntMove.IsWhite(PACKED) != MOVE.GetPiece().IsWhite()){
+                throw new IllegalStateException("The piece did not unpack: " + NAME);
+            }else if(IntMove.IsCapture(PACKED) != MOVE.HasVictim() || (MOVE.HasVictim() && IntMove.Captured(PACKED) != MOVE.GetVictim().GetPieceType())){
+                throw new IllegalStateException("The captured piece did not unpack: " + NAME);
+            }else if(IntMove.IsCastling(PACKED) != MOVE.IsCastling() || IntMove.IsEnPassant(PACKED) != MOVE.IsEnPassant()){
+                throw new IllegalStateException("The flags did not unpack: " + NAME);
+            }else if(!MOVE.IsEnPassant() && IntMove.ToMove(PACKED, BOARD) != MOVE){
+                // SanPosition finds en passant captures itself rather than through the pawns, so only the others can be found again
+                throw new IllegalStateException("The move was not found again: " + NAME);
+            }
+
+            // The board must make the packed move the way the Move object does, clock included
+            final Board EXPECTED = MOVE.GetTransitionalBoard();
+            final Board RESULT = BOARD.Transition(PACKED);
+            if(!RESULT.toString().equals(EXPECTED.toString()) || RESULT.GetHalfmoves() != EXPECTED.GetHalfmoves()){
+                throw new IllegalStateException("The packed move made " + RESULT + " instead of " + EXPECTED + ": " + NAME);
+            }
+        }
+
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        final Player MOVER = (BOARD.WhoseTurnIsIt().IsWhite() ? WHITE : BLACK);
+        final IntMoveList ORDERED = Minimax.Order(MOVER, new IntMoveList());
+        final IntMoveList ALL = new IntMoveList();
+        for(final Move MOVE : MOVER.UglyMoves()){
+            ALL.Add(IntMove.FromMove(MOVE, PackedMove.NO_PROMOTION));
+        }
+        if(ORDERED.Size() != ALL.Size()){
+            throw new IllegalStateException("The search ordered " + ORDERED.Size() + " of " + ALL.Size() + " moves in " + a_position.ToFEN());
+        }
+
+        boolean isPastCheckmates = false;
+        for(int i = Utilities.ZERO; i < ORDERED.Size(); i++){
+            final Move MOVE = IntMove.ToMove(ORDERED.Get(i), BOARD);
+            if(MOVE == null || !ALL.Contains(ORDERED.Get(i))){
+                throw new IllegalStateException("The search ordered a move the player does not have in " + a_position.ToFEN());
+            }else if(MOVE.PlacesOpponentIntoCheckmate() && isPastCheckmates){
+                throw new IllegalStateException("A checkmate was not ordered first in " + a_position.ToFEN());
+            }
+            isPastCheckmates |= !MOVE.PlacesOpponentIntoCheckmate();
+        }
+        
+        CheckPicker(BOARD, MOVER, ALL, a_position.ToFEN());
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckPicker(final Board a_board, final Player a_mover, final IntMoveList a_all, final String a_fen);
+
+    SYNOPSIS
+        private static void CheckPicker(final Board a_board, final Player a_mover, final IntMoveList a_all, final String a_fen);
+
+        Board a_board ------------> The board whose moves are picked.
+
+        Player a_mover -----------> The player to move, refreshed on the board.
+
+        IntMoveList a_all --------> Every move of the player, packed.
+
+        String a_fen -------------> The board in FEN, for the messages.
+
+    DESCRIPTION
+        This method picks every move of a board with the last move as the move from the table
+        and the last quiet move before it as a killer, and checks the order they come in.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckPicker(final Board a_board, final Player a_mover, final IntMoveList a_all, final String a_fen){
+        final int HASH = a_all.Get(a_all.Size() - Utilities.ONE);
+        
+        int killer = IntMove.NONE;
+        for(int i = a_all.Size() - Utilities.TWO; i >= Utilities.ZERO && killer == IntMove.NONE; i--){
+            if(!IntMove.IsCapture(a_all.Get(i)) && !IntMove.IsEnPassant(a_all.Get(i))){
+                killer = a_all.Get(i);
+            }
+        }
+        
+        final MovePicker PICKER = new MovePicker();
+        if(killer != IntMove.NONE){
+            PICKER.AddKiller(killer);
+        }
+        PICKER.Begin(a_board, a_mover, HASH);
+        
+        final IntMoveList PICKED = new IntMoveList();
+        for(int move = PICKER.Next(); move != IntMove.NONE; move = PICKER.Next()){
+            if(!PICKED.AddIfAbsent(move)){
+                throw new IllegalStateException("The picker handed out a move twice in " + a_fen);
+            }
+        }
+        
+        if(PICKED.Size() != a_all.Size()){
+            throw new IllegalStateException("The picker handed out " + PICKED.Size() + " of " + a_all.Size() + " moves in " + a_fen);
+        }else if(PICKED.Get(Utilities.ZERO) != HASH){
+            throw new IllegalStateException("The move from the table was not picked first in " + a_fen);
+        }
+        
+        // After the move from the table come the captures, and the killer leads the quiet moves
+        boolean isPastCaptures = false;
+        for(int i = Utilities.ONE; i < PICKED.Size(); i++){
+            final int MOVE = PICKED.Get(i);
+            final boolean IS_CAPTURE = IntMove.IsCapture(MOVE) || IntMove.IsEnPassant(MOVE);
+            
+            if(!a_all.Contains(MOVE)){
+                throw new IllegalStateException("The picker handed out a move the player does not have in " + a_fen);
+            }else if(IS_CAPTURE && isPastCaptures){
+                throw new IllegalStateException("A capture was picked after a quiet move in " + a_fen);
+            }else if(!IS_CAPTURE && !isPastCaptures && killer != IntMove.NONE && killer != HASH && MOVE != killer){
+                throw new IllegalStateException("The killer was not the first quiet move picked in " + a_fen);
+            }
+            isPastCaptures |= !IS_CAPTURE;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckList();
+
+    SYNOPSIS
+        private static void CheckList();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks growing, looking up, and clearing a list.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckList(){
+        final IntMoveList LIST = new IntMoveList();
+        final int COUNT = IntMoveList.DEFAULT_CAPACITY * Utilities.FOUR + Utilities.ONE;
+
+        for(int i = Utilities.ZERO; i < COUNT; i++){
+            LIST.Add(i);
+        }
+        if(LIST.Size() != COUNT || LIST.Get(COUNT - Utilities.ONE) != COUNT - Utilities.ONE || LIST.AddIfAbsent(Utilities.SEVEN) || !LIST.AddIfAbsent(COUNT)){
+            throw new IllegalStateException("The list did not grow or find its moves");
+        }
+
+        LIST.Clear();
+        if(!LIST.IsEmpty() || LIST.Contains(Utilities.SEVEN) || LIST.ToArray().length != Utilities.ZERO){
+            throw new IllegalStateException("The list was not cleared");
+        }
+
+        try{
+            LIST.Get(Utilities.ZERO);
+            throw new IllegalStateException("An empty list returned a move");
+        }catch(IndexOutOfBoundsException e){
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.DarkBlue.Testing;
+
+import java.util.List;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.LegalMoveSet;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the legal moves the GUI keeps for the board it shows.
+ *
+ * Usage: LegalMoveSetTest
+ *
+ * For a few positions with castling, en passant, check, checkmate, and stalemate,
+ * the set must hold exactly the moves of each player and of each piece, in the same
+ * order, agree with the players about check, checkmate, and stalemate, and give the
+ * same game state. Nothing it hands out may be changed, by its caller or by the pieces.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class LegalMoveSetTest{
+
+    private static final String[] POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "4k3/4r3/8/8/8/8/8/R3K2R w KQ - 0 1",
+        "R5k1/5ppp/8/8/8/8/5PPP/6K1 b - - 1 1",
+        "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1",
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            for(final String FEN : POSITIONS){
+                CheckSet(new SanPosition(FEN).GetBoard(), FEN);
+            }
+
+            System.out.println("every legal move set matched");
+        }catch(RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSet(final Board a_board, final String a_fen);
+
+    SYNOPSIS
+        private static void CheckSet(final Board a_board, final String a_fen);
+
+        Board a_board ------------> The board whose moves are kept.
+
+        String a_fen -------------> The board in FEN, for the messages.
+
+    DESCRIPTION
+        This method compares the set of a board with the players refreshed on it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSet(final Board a_board, final String a_fen){
+        final Player WHITE = new Human(ChessColor.WHITE, a_board);
+        final Player BLACK = new Human(ChessColor.BLACK, a_board);
+        WHITE.Refresh(a_board);
+        BLACK.Refresh(a_board);
+
+        final LegalMoveSet MOVES = new LegalMoveSet(a_board, WHITE, BLACK);
+
+        for(final Player PLAYER : new Player[]{WHITE, BLACK}){
+            final ChessColor COLOR = PLAYER.GetColor();
+            final Player OPPONENT = (COLOR.IsWhite() ? BLACK : WHITE);
+
+            if(!MOVES.GetMoves(COLOR).equals(PLAYER.UglyMoves())){
+                throw new IllegalStateException("The moves of " + COLOR + " did not match in " + a_fen);
+            }else if(MOVES.IsInCheck(COLOR) != PLAYER.IsInCheck(a_board) || MOVES.IsInCheckmate(COLOR) != PLAYER.IsInCheckmate(a_board) || MOVES.IsInStalemate(COLOR) != PLAYER.IsInStalemate(a_board)){
+                throw new IllegalStateException("The status of " + COLOR + " did not match in " + a_fen);
+            }else if(GameUtilities.EvaluateGameState(MOVES, PLAYER, OPPONENT, Utilities.ZERO, null) != GameUtilities.EvaluateGameState(PLAYER, OPPONENT, a_board, Utilities.ZERO, null)){
+                throw new IllegalStateException("The game state of " + COLOR + " did not match in " + a_fen);
+            }
+
+            for(final Piece PIECE : PLAYER.GetActivePieces()){
+                final int ROW = PIECE.GetCurrentRow(), COLUMN = PIECE.GetCurrentColumn();
+                if(!MOVES.GetMoves(ROW, COLUMN).equals(PIECE.GetCurrentLegalMoves(a_board)) || MOVES.CanMove(ROW, COLUMN) != PIECE.CanMove(a_board)){
+                    throw new IllegalStateException("The moves of the piece on " + ROW + ", " + COLUMN + " did not match in " + a_fen);
+                }
+                for(final Move MOVE : PIECE.GetCurrentLegalMoves(a_board)){
+                    if(!MOVES.IsLegal(ROW, COLUMN, MOVE.GetNewRow(), MOVE.GetNewColumn())){
+                        throw new IllegalStateException("A legal move was not found in " + a_fen);
+                    }
+                }
+            }
+        }
+
+        if(!MOVES.GetMoves(Utilities.NEGATIVE_ONE, Utilities.ZERO).isEmpty() || MOVES.IsLegal(Utilities.NEGATIVE_ONE, Utilities.ZERO, Utilities.ZERO, Utilities.ZERO)){
+            throw new IllegalStateException("A tile off the board had moves in " + a_fen);
+        }
+
+        CheckUnmodifiable(MOVES, a_board, WHITE, a_fen);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckUnmodifiable(final LegalMoveSet a_moves, final Board a_board, final Player a_player, final String a_fen);
+
+    SYNOPSIS
+        private static void CheckUnmodifiable(final LegalMoveSet a_moves, final Board a_board, final Player a_player, final String a_fen);
+
+        LegalMoveSet a_moves -----> The set to change.
+
+        Board a_board ------------> The board the set was made from.
+
+        Player a_player ----------> A player the set was made from.
+
+        String a_fen -------------> The board in FEN, for the messages.
+
+    DESCRIPTION
+        This method tries to change the lists of the set directly and through the board,
+        whose list of the king's moves anyone can clear.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckUnmodifiable(final LegalMoveSet a_moves, final Board a_board, final Player a_player, final String a_fen){
+        final List<Move> ALL = a_moves.GetMoves(a_player.GetColor());
+        final int ROW = a_player.GetKing().GetCurrentRow(), COLUMN = a_player.GetKing().GetCurrentColumn();
+        final List<Move> KING_MOVES = a_moves.GetMoves(ROW, COLUMN);
+        final int SIZE = ALL.size(), KING_SIZE = KING_MOVES.size();
+
+        for(final List<Move> LIST : List.of(ALL, KING_MOVES)){
+            try{
+                LIST.add(null);
+                throw new IllegalStateException("A list of the set was changed in " + a_fen);
+            }catch(UnsupportedOperationException e){
+                // Expected
+            }
+        }
+
+        a_player.GetKing().GetCurrentLegalMoves(a_board).clear();
+        if(ALL.size() != SIZE || a_moves.GetMoves(ROW, COLUMN).size() != KING_SIZE){
+            throw new IllegalStateException("Changing the board changed the set in " + a_fen);
+        }
+    }
+}
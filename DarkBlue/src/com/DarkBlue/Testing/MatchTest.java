@@ -0,0 +1,342 @@
+package com.DarkBlue.Testing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.DarkBlue.Match.MatchPlayer;
+import com.DarkBlue.Match.MatchResult;
+import com.DarkBlue.Match.MatchRunner;
+import com.DarkBlue.Match.Sprt;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.GameRecordReader;
+import com.DarkBlue.Record.GameRecordWriter;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This file checks the SPRT's arithmetic and plays a few small matches.
+ *
+ * Usage: MatchTest
+ *
+ * The Elo estimate, its margin, and the log-likelihood ratio must match values
+ * worked out by hand, and one-sided results must make the test decide. Games must
+ * be adjudicated by the rules: checkmate wins, a bare king draws, and a game that
+ * reaches the ply limit is a draw. Matches on two threads must score an opening that
+ * whoever moves first wins as one win and one loss per pair, and every game must come
+ * back whole from the compact game record format.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class MatchTest{
+
+    private static final String BACK_RANK = "6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1";
+    private static final String BARE_KINGS = "4k3/8/8/8/8/8/3r4/4K3 w - - 0 1";
+    private static final double TOLERANCE = 0.01;
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckSprt();
+            CheckAdjudication();
+            CheckMatch();
+            CheckPlyLimit();
+
+            System.out.println("every match was played and scored as expected");
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSprt();
+
+    SYNOPSIS
+        private static void CheckSprt();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks the SPRT against values worked out by hand.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSprt(){
+        final Sprt SPRT = new Sprt(0.0, 5.0, 0.05, 0.05);
+        CheckClose("the upper bound", SPRT.GetUpperBound(), Math.log(19.0));
+        CheckClose("the lower bound", SPRT.GetLowerBound(), -Math.log(19.0));
+
+        // 60 wins, 20 draws, 20 losses score 0.7, or 147.2 Elo
+        CheckClose("the Elo of 60/20/20", Sprt.Elo(60, 20, 20), 147.19);
+        CheckClose("the Elo of an even score", Sprt.Elo(30, 40, 30), 0.0);
+        CheckClose("the margin of 60/20/20", Sprt.EloError(60, 20, 20), 66.01);
+        CheckClose("the ratio of 60/20/20", SPRT.LogLikelihoodRatio(60, 20, 20), 0.8832);
+        CheckClose("the ratio of no games", SPRT.LogLikelihoodRatio(0, 0, 0), 0.0);
+
+        if(SPRT.Decide(60, 20, 20) != Sprt.CONTINUE || SPRT.Decide(600, 200, 200) != Sprt.ACCEPT_H1 || SPRT.Decide(200, 200, 600) != Sprt.ACCEPT_H0){
+            throw new IllegalStateException("The SPRT decided wrongly");
+        }
+
+        try{
+            new Sprt(5.0, 0.0, 0.05, 0.05);
+            throw new IllegalStateException("An SPRT with elo1 below elo0 was created");
+        }catch(IllegalArgumentException e){
+            // Expected
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckAdjudication();
+
+    SYNOPSIS
+        private static void CheckAdjudication();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that finished games are adjudicated by the rules.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckAdjudication(){
+        final SanPosition MATE = new SanPosition(BACK_RANK);
+        if(Adjudicate(MATE) != GameRecord.RESULT_UNKNOWN){
+            throw new IllegalStateException("A game that is not over was adjudicated");
+        }
+        MATE.Play(MATE.Parse("Ra8#"));
+        if(Adjudicate(MATE) != GameRecord.WHITE_WINS){
+            throw new IllegalStateException("Checkmate was not adjudicated as a win");
+        }
+
+        final SanPosition BARE = new SanPosition(BARE_KINGS);
+        BARE.Play(BARE.Parse("Kxd2"));
+        if(Adjudicate(BARE) != GameRecord.DRAW){
+            throw new IllegalStateException("Bare kings were not adjudicated as a draw");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckMatch() throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static void CheckMatch() throws IOException, InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method plays matches on two threads, writes them to the compact
+        format, and checks the score and the games read back.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckMatch() throws IOException, InterruptedException{
+        // A mate in one is only seen from depth 2
+        final MatchRunner RUNNER = new MatchRunner(new MatchPlayer("candidate", Utilities.TWO, null), new MatchPlayer("baseline", Utilities.TWO, null),
+                                                   Utilities.TWO, MatchRunner.DEFAULT_MAX_PLIES, new Sprt(0.0, 5.0, 0.05, 0.05));
+
+        final List<GameRecord> MATES = PlayAndRead(RUNNER, Arrays.asList(BACK_RANK), Utilities.FOUR, Utilities.TWO, Utilities.ZERO, Utilities.TWO);
+        for(final GameRecord RECORD : MATES){
+            if(RECORD.GetMoveCount() != Utilities.ONE || RECORD.GetResult() != GameRecord.WHITE_WINS || !RECORD.GetStartingFEN().equals(BACK_RANK)){
+                throw new IllegalStateException("A back rank mate was recorded as " + RECORD.GetMoveCount() + " moves ending " + GameRecord.RESULTS[RECORD.GetResult()]);
+            }
+        }
+
+        final List<GameRecord> DRAWS = PlayAndRead(RUNNER, Arrays.asList(BARE_KINGS), Utilities.TWO, Utilities.ZERO, Utilities.TWO, Utilities.ZERO);
+        for(final GameRecord RECORD : DRAWS){
+            if(RECORD.GetMoveCount() != Utilities.ONE || RECORD.GetResult() != GameRecord.DRAW){
+                throw new IllegalStateException("Bare kings were recorded as " + RECORD.GetMoveCount() + " moves ending " + GameRecord.RESULTS[RECORD.GetResult()]);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckPlyLimit() throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static void CheckPlyLimit() throws IOException, InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that games from the start stop at the ply limit as draws.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckPlyLimit() throws IOException, InterruptedException{
+        final MatchRunner RUNNER = new MatchRunner(new MatchPlayer("candidate", Utilities.ONE, null), new MatchPlayer("baseline", Utilities.ONE, null),
+                                                   Utilities.TWO, Utilities.SIX, new Sprt(0.0, 5.0, 0.05, 0.05));
+
+        for(final GameRecord RECORD : PlayAndRead(RUNNER, Arrays.asList(GameRecord.STARTING_FEN), Utilities.TWO, Utilities.ZERO, Utilities.TWO, Utilities.ZERO)){
+            if(RECORD.GetMoveCount() != Utilities.SIX || RECORD.GetResult() != GameRecord.DRAW){
+                throw new IllegalStateException("A game from the start was recorded as " + RECORD.GetMoveCount() + " moves ending " + GameRecord.RESULTS[RECORD.GetResult()]);
+            }
+
+            // Every move must replay legally
+            final SanPosition POSITION = new SanPosition(RECORD.GetStartingFEN());
+            for(int i = Utilities.ZERO; i < RECORD.GetMoveCount(); i++){
+                if(POSITION.Find(RECORD.GetMove(i)) == null){
+                    throw new IllegalStateException("Move " + (i + Utilities.ONE) + " of a game from the start is illegal");
+                }
+                POSITION.Play(RECORD.GetMove(i));
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static List<GameRecord> PlayAndRead(final MatchRunner a_runner, final List<String> a_openings, final int a_games,
+                                                    final long a_wins, final long a_draws, final long a_losses) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static List<GameRecord> PlayAndRead(final MatchRunner a_runner, final List<String> a_openings, final int a_games,
+                                                    final long a_wins, final long a_draws, final long a_losses) throws IOException, InterruptedException;
+
+        MatchRunner a_runner -----> The runner to play with.
+
+        List<String> a_openings --> The openings.
+
+        int a_games --------------> The number of games, all of which must be played.
+
+        long a_wins --------------> The candidate's wins expected.
+
+        long a_draws -------------> The draws expected.
+
+        long a_losses ------------> The candidate's losses expected.
+
+    DESCRIPTION
+        This method plays a match, checks its score, and reads its games back.
+
+    RETURNS
+        List<GameRecord>: The games read back from the compact format.
+
+    AUTHOR
+        Ryan King
+    */
+    private static List<GameRecord> PlayAndRead(final MatchRunner a_runner, final List<String> a_openings, final int a_games,
+                                                final long a_wins, final long a_draws, final long a_losses) throws IOException, InterruptedException{
+        final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+        final MatchResult RESULT;
+        try(final GameRecordWriter WRITER = new GameRecordWriter(BYTES, false)){
+            RESULT = a_runner.Run(a_openings, a_games, WRITER, null);
+        }
+
+        if(RESULT.GetWins() != a_wins || RESULT.GetDraws() != a_draws || RESULT.GetLosses() != a_losses || RESULT.GetDecision() != Sprt.CONTINUE){
+            throw new IllegalStateException("A match scored +" + RESULT.GetWins() + " =" + RESULT.GetDraws() + " -" + RESULT.GetLosses() + " instead of +" + a_wins + " =" + a_draws + " -" + a_losses);
+        }
+
+        final List<GameRecord> RECORDS = new ArrayList<>();
+        try(final GameRecordReader READER = new GameRecordReader(new ByteArrayInputStream(BYTES.toByteArray()))){
+            for(GameRecord record = READER.Next(); record != null; record = READER.Next()){
+                RECORDS.add(record);
+            }
+        }
+
+        if(RECORDS.size() != a_games){
+            throw new IllegalStateException(RECORDS.size() + " of " + a_games + " games were read back");
+        }
+        return RECORDS;
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Adjudicate(final SanPosition a_position);
+
+    SYNOPSIS
+        private static int Adjudicate(final SanPosition a_position);
+
+        SanPosition a_position ---> A position.
+
+    DESCRIPTION
+        This method adjudicates a position with a history of itself alone.
+
+    RETURNS
+        int: The result as MatchRunner.Adjudicate() returns it.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Adjudicate(final SanPosition a_position){
+        final PositionHistory HISTORY = new PositionHistory();
+        HISTORY.Push(Zobrist.Hash(a_position.GetBoard()), a_position.GetBoard().GetHalfmoves());
+        return MatchRunner.Adjudicate(a_position, HISTORY);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckClose(final String a_name, final double a_actual, final double a_expected);
+
+    SYNOPSIS
+        private static void CheckClose(final String a_name, final double a_actual, final double a_expected);
+
+        String a_name ------------> What is being checked.
+
+        double a_actual ----------> The value computed.
+
+        double a_expected --------> The value worked out by hand.
+
+    DESCRIPTION
+        This method checks that two values agree to within a hundredth.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckClose(final String a_name, final double a_actual, final double a_expected){
+        if(Math.abs(a_actual - a_expected) > TOLERANCE){
+            throw new IllegalStateException("Expected " + a_expected + " for " + a_name + " but computed " + a_actual);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.IntMove;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.NNUE.Accumulator;
+import com.DarkBlue.NNUE.AccumulatorStack;
+import com.DarkBlue.NNUE.Kernel;
+import com.DarkBlue.NNUE.Network;
+import com.DarkBlue.NNUE.ScalarKernel;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the neural network evaluator with a small network of random weights.
+ *
+ * Usage: NetworkTest
+ *
+ * After every legal move of a few positions with captures, castling, en passant,
+ * promotion, and king moves, the accumulator updated from its parent must equal one
+ * refreshed from the new board, and the accumulator stack must evaluate the new board,
+ * and the boards after a promotion, the same way a fresh accumulator does. ScalarKernel and
+ * VectorKernel must compute the same values, which is only checked when VectorKernel
+ * can be loaded, i.e. when it is on the class path and the program is run with
+ * "--add-modules jdk.incubator.vector". A saved network must load back the same.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class NetworkTest{
+
+    private static final int HIDDEN = 37;
+    private static final int CLIP = 127;
+    private static final int DIVISOR = 64;
+    private static final long SEED = 20240613L;
+
+    private static final String VECTOR_KERNEL = "com.DarkBlue.NNUE.VectorKernel";
+
+    private static final String[] POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 0 1",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "rnbqkbnr/pppp1ppp/8/8/3Pp3/8/PPP1PPPP/RNBQKBNR b KQkq d3 0 3",
+        "2r1k3/1P6/8/8/8/8/6p1/4K2R w K - 0 1",
+        "4k3/8/8/8/8/8/1p6/R3K3 b Q - 0 1",
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        final Random RANDOM = new Random(SEED);
+        final Network NETWORK = RandomNetwork(RANDOM);
+
+        try{
+            final int[] SEEN = new int[Utilities.FIVE];
+            Network.SetActive(NETWORK);
+            for(final String FEN : POSITIONS){
+                CheckUpdates(NETWORK, new SanPosition(FEN), SEEN);
+            }
+            if(SEEN[Utilities.ZERO] == Utilities.ZERO || SEEN[Utilities.ONE] == Utilities.ZERO || SEEN[Utilities.TWO] == Utilities.ZERO || SEEN[Utilities.THREE] == Utilities.ZERO || SEEN[Utilities.FOUR] == Utilities.ZERO){
+                throw new IllegalStateException("Not every kind of move was updated: " + Arrays.toString(SEEN));
+            }
+
+            CheckKernels(RANDOM);
+            CheckSave(NETWORK);
+
+            System.out.println("every accumulator, kernel, and network matched");
+        }catch(RuntimeException | IOException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }finally{
+            Network.SetActive(null);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static Network RandomNetwork(final Random a_random);
+
+    SYNOPSIS
+        private static Network RandomNetwork(final Random a_random);
+
+        Random a_random ----------> Where the weights come from.
+
+    DESCRIPTION
+        This method makes a network with weights small enough that
+        no accumulator of a legal board can overflow.
+
+    RETURNS
+        Network: The network.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Network RandomNetwork(final Random a_random){
+        final short[] BIASES = RandomShorts(a_random, HIDDEN, Utilities.SIXTY_FOUR);
+        final short[] FEATURE_WEIGHTS = RandomShorts(a_random, Network.INPUTS * HIDDEN, Utilities.SIXTY_FOUR);
+        final short[] OUTPUT_WEIGHTS = RandomShorts(a_random, Utilities.TWO * HIDDEN, Utilities.SIXTY_FOUR);
+
+        return new Network(HIDDEN, CLIP, DIVISOR, BIASES, FEATURE_WEIGHTS, OUTPUT_WEIGHTS, a_random.nextInt(1000));
+    }
+
+    /**/
+    /*
+    NAME
+        private static short[] RandomShorts(final Random a_random, final int a_length, final int a_bound);
+
+    SYNOPSIS
+        private static short[] RandomShorts(final Random a_random, final int a_length, final int a_bound);
+
+        Random a_random ----------> Where the values come from.
+
+        int a_length -------------> How many values to make.
+
+        int a_bound --------------> The values are greater than -a_bound and less than a_bound.
+
+    DESCRIPTION
+        This method makes an array of random values.
+
+    RETURNS
+        short[]: The values.
+
+    AUTHOR
+        Ryan King
+    */
+    private static short[] RandomShorts(final Random a_random, final int a_length, final int a_bound){
+        final short[] VALUES = new short[a_length];
+        for(int i = Utilities.ZERO; i < a_length; i++){
+            VALUES[i] = (short)(a_random.nextInt(Utilities.TWO * a_bound - Utilities.ONE) - a_bound + Utilities.ONE);
+        }
+        return VALUES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckUpdates(final Network a_network, final SanPosition a_position, final int[] a_seen);
+
+    SYNOPSIS
+        private static void CheckUpdates(final Network a_network, final SanPosition a_position, final int[] a_seen);
+
+        Network a_network --------> The active network.
+
+        SanPosition a_position ---> The position whose moves are made, en passant captures included.
+
+        int[] a_seen -------------> How many captures, castling moves, en passant captures,
+                                    promotions, and king moves were checked, in that order.
+
+    DESCRIPTION
+        This method updates an accumulator of the board with every legal move and compares
+        it with one refreshed on the new board. Moves that promote a pawn are followed by every
+        promotion and every reply to it, which the stack must refresh for rather than update.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckUpdates(final Network a_network, final SanPosition a_position, final int[] a_seen){
+        final Board BOARD = a_position.GetBoard();
+        final String FEN = a_position.ToFEN();
+        final Accumulator PARENT = new Accumulator(HIDDEN);
+        final Accumulator CHILD = new Accumulator(HIDDEN);
+        final Accumulator FRESH = new Accumulator(HIDDEN);
+        PARENT.Refresh(a_network, BOARD);
+
+        for(final Move MOVE : a_position.GetLegalMoves()){
+            final String NAME = FEN + " " + MOVE.GetPiece().GetPieceType() + " " + MOVE.GetOldRow() + "," + MOVE.GetOldColumn() + " to " + MOVE.GetNewRow() + "," + MOVE.GetNewColumn();
+            final Board RESULT = MOVE.GetTransitionalBoard();
+            final int PACKED = IntMove.FromMove(MOVE, PackedMove.NO_PROMOTION);
+
+            CHILD.Update(a_network, PARENT, PACKED, RESULT);
+            FRESH.Refresh(a_network, RESULT);
+            Compare(CHILD, FRESH, NAME);
+
+            // The stack must give the same evaluation after tracking the move
+            AccumulatorStack.Track(Utilities.ONE, BOARD, PACKED, RESULT);
+            CompareEvaluations(a_network, RESULT, NAME);
+
+            a_seen[Utilities.ZERO] += (MOVE.HasVictim() && !MOVE.IsEnPassant() ? Utilities.ONE : Utilities.ZERO);
+            a_seen[Utilities.ONE] += (MOVE.IsCastling() ? Utilities.ONE : Utilities.ZERO);
+            a_seen[Utilities.TWO] += (MOVE.IsEnPassant() ? Utilities.ONE : Utilities.ZERO);
+            a_seen[Utilities.FOUR] += (MOVE.GetPiece().IsKing() ? Utilities.ONE : Utilities.ZERO);
+
+            final Pawn PROMOTED_PAWN = Refreshed(RESULT, MOVE.GetPiece().GetColor()).GetPromotedPawn(RESULT);
+            if(PROMOTED_PAWN == null){
+                continue;
+            }
+
+            for(int i = Utilities.ZERO; i < Utilities.FOUR; i++){
+                final Board PROMOTION = PROMOTED_PAWN.Promote(RESULT, i);
+                CompareEvaluations(a_network, PROMOTION, NAME + " promoted");
+
+                for(final Move REPLY : Refreshed(PROMOTION, PROMOTION.WhoseTurnIsIt()).UglyMoves()){
+                    final Board REPLY_RESULT = REPLY.GetTransitionalBoard();
+                    AccumulatorStack.Track(Utilities.ONE, PROMOTION, IntMove.FromMove(REPLY, PackedMove.NO_PROMOTION), REPLY_RESULT);
+                    CompareEvaluations(a_network, REPLY_RESULT, NAME + " promoted and answered");
+                }
+                a_seen[Utilities.THREE]++;
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static Player Refreshed(final Board a_board, final ChessColor a_color);
+
+    SYNOPSIS
+        private static Player Refreshed(final Board a_board, final ChessColor a_color);
+
+        Board a_board ------------> The board.
+
+        ChessColor a_color -------> The color of the player.
+
+    DESCRIPTION
+        This method makes both players and refreshes them on the board, as the search does.
+
+    RETURNS
+        Player: The player of the color.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Player Refreshed(final Board a_board, final ChessColor a_color){
+        final Player WHITE = new Human(ChessColor.WHITE, a_board);
+        final Player BLACK = new Human(ChessColor.BLACK, a_board);
+        WHITE.Refresh(a_board);
+        BLACK.Refresh(a_board);
+
+        return (a_color.IsWhite() ? WHITE : BLACK);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Compare(final Accumulator a_updated, final Accumulator a_fresh, final String a_name);
+
+    SYNOPSIS
+        private static void Compare(final Accumulator a_updated, final Accumulator a_fresh, final String a_name);
+
+        Accumulator a_updated ----> The accumulator updated from its parent.
+
+        Accumulator a_fresh ------> The accumulator refreshed on the same board.
+
+        String a_name ------------> The move, for the messages.
+
+    DESCRIPTION
+        This method compares both perspectives of two accumulators.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Compare(final Accumulator a_updated, final Accumulator a_fresh, final String a_name){
+        if(!Arrays.equals(a_updated.GetValues(ChessColor.WHITE), a_fresh.GetValues(ChessColor.WHITE))
+                || !Arrays.equals(a_updated.GetValues(ChessColor.BLACK), a_fresh.GetValues(ChessColor.BLACK))){
+            throw new IllegalStateException("The updated accumulator did not match a refreshed one after " + a_name);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CompareEvaluations(final Network a_network, final Board a_board, final String a_name);
+
+    SYNOPSIS
+        private static void CompareEvaluations(final Network a_network, final Board a_board, final String a_name);
+
+        Network a_network --------> The active network.
+
+        Board a_board ------------> The board to evaluate.
+
+        String a_name ------------> The move, for the messages.
+
+    DESCRIPTION
+        This method compares the stack's evaluation of a board with that of a fresh accumulator.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CompareEvaluations(final Network a_network, final Board a_board, final String a_name){
+        final Accumulator FRESH = new Accumulator(HIDDEN);
+        FRESH.Refresh(a_network, a_board);
+
+        if(AccumulatorStack.Evaluate(a_network, a_board) != a_network.Evaluate(FRESH, a_board.WhoseTurnIsIt())){
+            throw new IllegalStateException("The stack evaluated the board differently after " + a_name);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckKernels(final Random a_random);
+
+    SYNOPSIS
+        private static void CheckKernels(final Random a_random);
+
+        Random a_random ----------> Where the values come from.
+
+    DESCRIPTION
+        This method runs both kernels on the same values, with lengths that
+        fill whole vectors and lengths that leave some over.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckKernels(final Random a_random){
+        final Kernel SCALAR = new ScalarKernel();
+        final Kernel VECTOR;
+        try{
+            VECTOR = (Kernel)Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        }catch(ReflectiveOperationException | LinkageError e){
+            System.out.println("VectorKernel could not be loaded, so only ScalarKernel was used");
+            return;
+        }
+
+        for(final int LENGTH : new int[]{Utilities.ONE, Utilities.SEVEN, Utilities.SIXTEEN, HIDDEN, Utilities.SIXTY_FOUR, 256, 259}){
+            final short[] ACCUMULATOR = RandomShorts(a_random, LENGTH, 1000);
+            final short[] WEIGHTS = RandomShorts(a_random, LENGTH * Utilities.THREE, 1000);
+            final short[] OUTPUT = RandomShorts(a_random, LENGTH * Utilities.TWO, 1000);
+
+            for(int offset = Utilities.ZERO; offset <= LENGTH * Utilities.TWO; offset += LENGTH){
+                final short[] SCALAR_VALUES = ACCUMULATOR.clone();
+                final short[] VECTOR_VALUES = ACCUMULATOR.clone();
+
+                SCALAR.Add(SCALAR_VALUES, WEIGHTS, offset);
+                VECTOR.Add(VECTOR_VALUES, WEIGHTS, offset);
+                if(!Arrays.equals(SCALAR_VALUES, VECTOR_VALUES)){
+                    throw new IllegalStateException("The kernels added " + LENGTH + " values differently");
+                }
+
+                SCALAR.Subtract(SCALAR_VALUES, WEIGHTS, offset);
+                VECTOR.Subtract(VECTOR_VALUES, WEIGHTS, offset);
+                if(!Arrays.equals(SCALAR_VALUES, VECTOR_VALUES) || !Arrays.equals(SCALAR_VALUES, ACCUMULATOR)){
+                    throw new IllegalStateException("The kernels subtracted " + LENGTH + " values differently");
+                }
+            }
+
+            final short[] THEM = RandomShorts(a_random, LENGTH, 1000);
+            if(SCALAR.Forward(ACCUMULATOR, THEM, OUTPUT, CLIP) != VECTOR.Forward(ACCUMULATOR, THEM, OUTPUT, CLIP)){
+                throw new IllegalStateException("The kernels ran the output layer of " + LENGTH + " values differently");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSave(final Network a_network) throws IOException;
+
+    SYNOPSIS
+        private static void CheckSave(final Network a_network) throws IOException;
+
+        Network a_network --------> The network to save.
+
+    DESCRIPTION
+        This method saves a network, loads it back, and saves that again,
+        and the two files and the evaluations of both networks must be the same.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSave(final Network a_network) throws IOException{
+        final Path FIRST = Files.createTempFile("network", ".nnue");
+        final Path SECOND = Files.createTempFile("network", ".nnue");
+
+        try{
+            a_network.Save(FIRST);
+            final Network LOADED = Network.Load(FIRST);
+            LOADED.Save(SECOND);
+
+            if(LOADED.GetHiddenSize() != a_network.GetHiddenSize() || !Arrays.equals(Files.readAllBytes(FIRST), Files.readAllBytes(SECOND))){
+                throw new IllegalStateException("The network did not load back the way it was saved");
+            }
+
+            for(final String FEN : POSITIONS){
+                final Board BOARD = new SanPosition(FEN).GetBoard();
+                final Accumulator SAVED = new Accumulator(HIDDEN);
+                final Accumulator READ = new Accumulator(HIDDEN);
+                SAVED.Refresh(a_network, BOARD);
+                READ.Refresh(LOADED, BOARD);
+
+                Compare(SAVED, READ, FEN + " with the loaded network");
+                if(a_network.Evaluate(SAVED, BOARD.WhoseTurnIsIt()) != LOADED.Evaluate(READ, BOARD.WhoseTurnIsIt())){
+                    throw new IllegalStateException("The loaded network evaluated " + FEN + " differently");
+                }
+            }
+        }finally{
+            Files.deleteIfExists(FIRST);
+            Files.deleteIfExists(SECOND);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.DarkBlue.Testing;
+
+import java.util.LinkedHashMap;
+
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Perft.Perft;
+import com.DarkBlue.Perft.PerftCache;
+import com.DarkBlue.Perft.PerftPosition;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the legal moves against the known perft counts of the reference positions.
+ *
+ * Usage: PerftTest [most leaves]
+ *
+ * Every reference position is counted at every depth with no more than the given
+ * number of leaves, 100000 by default, once on one thread with nothing cached and once
+ * on two threads with a cache, and every count must be the known one. The counts below
+ * the moves of Kiwipete must add up to its count and include both of its castling moves.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class PerftTest{
+
+    private static final long DEFAULT_MOST_LEAVES = 100000;
+    private static final int CACHE_MEGABYTES = Utilities.SIXTEEN;
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional largest count to check.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        long mostLeaves = DEFAULT_MOST_LEAVES;
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                mostLeaves = Long.parseLong(a_args[Utilities.ZERO]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: PerftTest [most leaves]");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            System.out.println("one thread, no cache:");
+            if(new Perft(Utilities.ONE, null).CheckReference(mostLeaves, System.out) > Utilities.ZERO){
+                throw new IllegalStateException("Some counts without a cache are wrong");
+            }
+
+            System.out.println("two threads, " + CACHE_MEGABYTES + " MB cache:");
+            final PerftCache CACHE = new PerftCache(CACHE_MEGABYTES);
+            if(new Perft(Utilities.TWO, CACHE).CheckReference(mostLeaves, System.out) > Utilities.ZERO){
+                throw new IllegalStateException("Some counts with a cache are wrong");
+            }
+            if(CACHE.GetHits() == Utilities.ZERO){
+                throw new IllegalStateException("The cache was never hit");
+            }
+
+            CheckDivide();
+
+            System.out.println("every count is the known one");
+        }catch(InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckDivide() throws InterruptedException;
+
+    SYNOPSIS
+        private static void CheckDivide() throws InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks the counts below the moves of Kiwipete at depth 2.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckDivide() throws InterruptedException{
+        final PerftPosition KIWIPETE = PerftPosition.REFERENCE[Utilities.ONE];
+        final LinkedHashMap<String, Long> COUNTS = new Perft(Utilities.ONE, null).Divide(new SanPosition(KIWIPETE.GetFEN()), Utilities.TWO);
+
+        long leaves = Utilities.ZERO;
+        for(final long COUNT : COUNTS.values()){
+            leaves += COUNT;
+        }
+
+        if(COUNTS.size() != KIWIPETE.GetCount(Utilities.ONE) || leaves != KIWIPETE.GetCount(Utilities.TWO)){
+            throw new IllegalStateException("Kiwipete divides into " + COUNTS.size() + " moves and " + leaves + " leaves");
+        }
+        if(!COUNTS.containsKey("e1g1") || !COUNTS.containsKey("e1c1")){
+            throw new IllegalStateException("Kiwipete divides without both castling moves: " + COUNTS.keySet());
+        }
+    }
+}
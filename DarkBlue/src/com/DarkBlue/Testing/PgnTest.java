@@ -0,0 +1,352 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.ParallelPgnReader;
+import com.DarkBlue.PGN.PgnGame;
+import com.DarkBlue.PGN.PgnReader;
+import com.DarkBlue.PGN.PgnWriter;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks standard algebraic notation and PGN reading and writing.
+ *
+ * Usage: PgnTest [games] [threads]
+ *
+ * A handful of positions check the harder parts of SAN: disambiguation,
+ * castling, en passant, promotion, check, and checkmate. Then random games,
+ * 50 of at most 120 plies by default, are played by picking any legal move;
+ * every move's SAN must parse back to the same move. The games are written
+ * as PGN and read back both one at a time and on several threads, and must
+ * come back with the same moves, results, and tags, in the same order.
+ * The program exits with status 1 if anything does not match.
+ */
+public final class PgnTest{
+
+    private static final int DEFAULT_GAMES = 50;
+    private static final int PLIES = 120;
+
+    // A position, a move in it, and the SAN that move must have
+    private static final String[][] CASES = {
+        {GameRecord.STARTING_FEN, "Nf3", "Nf3"},
+        {"rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq g3 0 2", "Qh4", "Qh4#"},
+        {"4k3/8/8/8/8/5N2/8/1N2K3 w - - 0 1", "Nbd2", "Nbd2"},
+        {"4k3/8/8/R7/8/8/8/R3K3 w - - 0 1", "Ra3", null},
+        {"4k3/8/8/R7/8/8/8/R3K3 w - - 0 1", "R1a3", "R1a3"},
+        {"4k3/8/8/8/8/Q1Q5/8/Q1Q1K3 w - - 0 1", "Qa1-b2", "Qa1b2"},
+        {"r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "0-0", "O-O"},
+        {"r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1", "O-O-O", "O-O-O"},
+        {"4r1k1/8/8/8/8/8/8/R3K2R w KQ - 0 1", "O-O", null},
+        {"4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2", "exd6 e.p.", "exd6"},
+        {"4k3/8/8/3pP3/8/8/8/4K3 w - - 0 2", "exd6", null},
+        {"3k4/4P3/8/8/8/8/8/4K3 w - - 0 1", "e8Q", "e8=Q+"},
+        {"3k4/4P3/8/8/8/8/8/4K3 w - - 0 1", "e8=N!?", "e8=N"},
+        {"4k3/8/8/8/8/8/8/4K3 w - - 0 1", "Ke3", null},
+    };
+
+    // A game with the things a reader has to skip
+    private static final String ANNOTATED =
+        "% A line the reader has to ignore\n" +
+        "[Event \"Test \\\"quoted\\\"\"]\n" +
+        "[White \"A\"]\n" +
+        "[Black \"B\"]\n" +
+        "[Result \"1-0\"]\n" +
+        "\n" +
+        "1. e4 {A comment that runs\n" +
+        "[over a line that looks like a tag]} e5 $1 2.Nf3 (2. f4 exf4 (2... d5) 3. Nf3) 2... Nc6 ; to the end of the line\n" +
+        "3. Bb5 a6! 1-0\n" +
+        "\n" +
+        "[Event \"Second\"]\n" +
+        "[SetUp \"1\"]\n" +
+        "[FEN \"4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2\"]\n" +
+        "\n" +
+        "2. exd6 Kd7 *\n";
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional number of games and threads, in that order.
+
+    DESCRIPTION
+        This method runs every check and prints how fast games are read.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                games = Integer.parseInt(a_args[Utilities.ZERO]);
+            }
+            if(a_args.length > Utilities.ONE){
+                threads = Integer.parseInt(a_args[Utilities.ONE]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: PgnTest [games] [threads]");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            CheckCases();
+            System.out.println(CASES.length + " SAN cases passed");
+
+            CheckAnnotated();
+            System.out.println("comments, variations, and annotations are skipped");
+
+            final Random RANDOM = new Random(Utilities.ONE);
+            final List<PgnGame> GAMES = new ArrayList<>();
+            for(int i = Utilities.ZERO; i < games; i++){
+                GAMES.add(RandomGame(RANDOM, i));
+            }
+
+            final StringWriter TEXT = new StringWriter();
+            try(final PgnWriter WRITER = new PgnWriter(TEXT)){
+                for(final PgnGame GAME : GAMES){
+                    WRITER.Write(GAME);
+                }
+            }
+            System.out.println(String.format(Locale.ROOT, "wrote %d games in %d characters", games, TEXT.getBuffer().length()));
+
+            long start = System.nanoTime();
+            final List<PgnGame> SEQUENTIAL = new ArrayList<>();
+            try(final PgnReader READER = new PgnReader(new StringReader(TEXT.toString()))){
+                PgnGame game;
+                while((game = READER.Next()) != null){
+                    SEQUENTIAL.add(game);
+                }
+            }
+            System.out.println(String.format(Locale.ROOT, "read them back on one thread in %.0f ms", (System.nanoTime() - start) / 1e6));
+            Compare(GAMES, SEQUENTIAL);
+
+            start = System.nanoTime();
+            final List<PgnGame> PARALLEL = new ArrayList<>();
+            final List<String> ERRORS = new ArrayList<>();
+            try(final ParallelPgnReader READER = new ParallelPgnReader(new StringReader(TEXT.toString()), threads)){
+                READER.ReadAll(PARALLEL::add, (number, message) -> ERRORS.add("Game " + number + ": " + message));
+            }
+            System.out.println(String.format(Locale.ROOT, "read them back on %d threads in %.0f ms", threads, (System.nanoTime() - start) / 1e6));
+            if(!ERRORS.isEmpty()){
+                throw new IOException(ERRORS.get(Utilities.ZERO));
+            }
+            Compare(GAMES, PARALLEL);
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckCases();
+
+    SYNOPSIS
+        private static void CheckCases();
+
+        No parameters.
+
+    DESCRIPTION
+        This method parses every move in CASES and writes it back out.
+        A case without an expected SAN must fail to parse.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckCases(){
+        for(final String[] CASE : CASES){
+            final SanPosition POSITION = new SanPosition(CASE[Utilities.ZERO]);
+            String san;
+            try{
+                san = POSITION.ToSAN(POSITION.Parse(CASE[Utilities.ONE]));
+            }catch(IllegalArgumentException e){
+                san = null;
+            }
+
+            if(san == null ? CASE[Utilities.TWO] != null : !san.equals(CASE[Utilities.TWO])){
+                throw new IllegalStateException(CASE[Utilities.ONE] + " in " + CASE[Utilities.ZERO] + " gave " + san + " instead of " + CASE[Utilities.TWO]);
+            }
+        }
+
+        // The captured pawn must leave the board along with the capturing pawn's old square
+        final SanPosition EN_PASSANT = new SanPosition("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+        EN_PASSANT.Play(EN_PASSANT.Parse("exd6"));
+        if(!EN_PASSANT.ToFEN().equals("4k3/8/3P4/8/8/8/8/4K3 b - - 0 2")){
+            throw new IllegalStateException("En passant left " + EN_PASSANT.ToFEN());
+        }
+
+        final SanPosition MATE = new SanPosition();
+        for(final String SAN : new String[]{"f3", "e5", "g4", "Qh4#"}){
+            MATE.Play(MATE.Parse(SAN));
+        }
+        if(!MATE.IsCheckmate()){
+            throw new IllegalStateException("Fool's mate is not checkmate");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckAnnotated() throws IOException;
+
+    SYNOPSIS
+        private static void CheckAnnotated() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads ANNOTATED and checks what comes out.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckAnnotated() throws IOException{
+        try(final PgnReader READER = new PgnReader(new StringReader(ANNOTATED))){
+            final PgnGame FIRST = READER.Next(), SECOND = READER.Next();
+
+            if(FIRST == null || SECOND == null || READER.Next() != null){
+                throw new IllegalStateException("The annotated file did not hold exactly two games");
+            }
+            if(FIRST.GetRecord().GetMoveCount() != Utilities.SIX || FIRST.GetRecord().GetResult() != GameRecord.WHITE_WINS || !FIRST.GetTag("Event").equals("Test \"quoted\"")){
+                throw new IllegalStateException("The first annotated game was read wrongly");
+            }
+            if(SECOND.GetRecord().GetMoveCount() != Utilities.TWO || !SECOND.GetRecord().GetStartingFEN().equals("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2")){
+                throw new IllegalStateException("The second annotated game was read wrongly");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static PgnGame RandomGame(final Random a_random, final int a_number);
+
+    SYNOPSIS
+        private static PgnGame RandomGame(final Random a_random, final int a_number);
+
+        Random a_random ----------> The source of the moves.
+
+        int a_number -------------> The number of the game, which goes into its tags.
+
+    DESCRIPTION
+        This method plays random legal moves, checking that the SAN of every
+        move parses back to the same move. Every fourth game starts with
+        black to move after 1. e4, so the writer has to number it properly.
+
+    RETURNS
+        PgnGame: The game.
+
+    AUTHOR
+        Ryan King
+    */
+    private static PgnGame RandomGame(final Random a_random, final int a_number){
+        final String START = (a_number % Utilities.FOUR == Utilities.THREE ? "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1" : GameRecord.STARTING_FEN);
+        final GameRecord RECORD = new GameRecord(START);
+        final SanPosition POSITION = new SanPosition(START);
+
+        for(int ply = Utilities.ZERO; ply < PLIES; ply++){
+            final ArrayList<Move> MOVES = POSITION.GetLegalMoves();
+            if(MOVES.isEmpty()){
+                break;
+            }
+
+            final Move MOVE = MOVES.get(a_random.nextInt(MOVES.size()));
+            int promotion = PackedMove.NO_PROMOTION;
+            if(MOVE.GetPiece().IsPawn() && (MOVE.GetNewRow() == Utilities.ZERO || MOVE.GetNewRow() == Utilities.SEVEN)){
+                promotion = a_random.nextInt(Utilities.FOUR) + Utilities.ONE;
+            }
+
+            final short PACKED = PackedMove.FromMove(MOVE, promotion);
+            final String SAN = POSITION.ToSAN(PACKED);
+            if(POSITION.Parse(SAN) != PACKED){
+                throw new IllegalStateException(SAN + " does not parse back to itself in " + POSITION.ToFEN());
+            }
+
+            POSITION.Play(PACKED);
+            RECORD.Add(PACKED);
+        }
+
+        if(POSITION.IsCheckmate()){
+            RECORD.SetResult(POSITION.WhoseTurnIsIt().IsWhite() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+        }else{
+            RECORD.SetResult(POSITION.IsStalemate() ? GameRecord.DRAW : a_random.nextInt(GameRecord.RESULTS.length));
+        }
+
+        final PgnGame GAME = new PgnGame(RECORD);
+        GAME.SetTag("Event", "PgnTest");
+        GAME.SetTag("Site", "?");
+        GAME.SetTag("Date", "2026.10.18");
+        GAME.SetTag("Round", Integer.toString(a_number + Utilities.ONE));
+        GAME.SetTag("White", "Random");
+        GAME.SetTag("Black", "Random");
+        GAME.SetTag("Annotator", "\\ \"");
+        return GAME;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Compare(final List<PgnGame> a_expected, final List<PgnGame> a_actual);
+
+    SYNOPSIS
+        private static void Compare(final List<PgnGame> a_expected, final List<PgnGame> a_actual);
+
+        List<PgnGame> a_expected --------> The games that were written.
+
+        List<PgnGame> a_actual ----------> The games that were read back.
+
+    DESCRIPTION
+        This method checks that games came back the same as they were written.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Compare(final List<PgnGame> a_expected, final List<PgnGame> a_actual){
+        if(a_expected.size() != a_actual.size()){
+            throw new IllegalStateException(a_actual.size() + " games were read back instead of " + a_expected.size());
+        }
+
+        for(int i = Utilities.ZERO; i < a_expected.size(); i++){
+            final GameRecord EXPECTED = a_expected.get(i).GetRecord(), ACTUAL = a_actual.get(i).GetRecord();
+            boolean same = EXPECTED.GetMoveCount() == ACTUAL.GetMoveCount() && EXPECTED.GetResult() == ACTUAL.GetResult()
+                && EXPECTED.GetStartingFEN().equals(ACTUAL.GetStartingFEN()) && a_expected.get(i).GetTags().equals(a_actual.get(i).GetTags());
+
+            for(int j = Utilities.ZERO; same && j < EXPECTED.GetMoveCount(); j++){
+                same = EXPECTED.GetMove(j) == ACTUAL.GetMove(j);
+            }
+
+            if(!same){
+                throw new IllegalStateException("Game " + (i + Utilities.ONE) + " did not come back the same");
+            }
+        }
+    }
+}
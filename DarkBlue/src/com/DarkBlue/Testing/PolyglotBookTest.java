@@ -0,0 +1,523 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.DarkBlue.Book.BookEntry;
+import com.DarkBlue.Book.PolyglotBook;
+import com.DarkBlue.Book.PolyglotBookBuilder;
+import com.DarkBlue.Book.PolyglotKeys;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.PgnGame;
+import com.DarkBlue.PGN.PgnWriter;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Record.RecordPosition;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that opening books are built and read back correctly.
+ *
+ * Usage: PolyglotBookTest [games]
+ *
+ * Random games, 200 by default, are written to a PGN file and built into a book
+ * from their first 8 plies. Every position of every game must then be found in the
+ * book with the move that was played from it, every move the book chooses must be
+ * legal, and the weights of the starting position must add up to the points scored.
+ * Castling must survive being converted to Polyglot's king-takes-rook form, the
+ * en passant file must only be hashed when a capture is possible, the keys of the positions
+ * in Polyglot's own documentation must come out the same, a table of keys must load back
+ * the same as it was written, and the search must answer from the book.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class PolyglotBookTest{
+
+    private static final int DEFAULT_GAMES = 200;
+    private static final int PLIES = Utilities.EIGHT;
+
+    // The positions Polyglot's documentation gives the keys of, and their keys
+    private static final String[] STANDARD_POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+        "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2",
+        "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3",
+        "rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4",
+        "rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3",
+        "rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4"
+    };
+
+    // The moves that lead to the first seven of them
+    private static final String[] STANDARD_LINE = {"start", "e4", "d5", "e5", "f5", "Ke2", "Kf7"};
+
+    private static final long[] STANDARD_KEYS = {
+        0x463B96181691FC9CL,
+        0x823C9B50FD114196L,
+        0x0756B94461C50FB0L,
+        0x662FAFB965DB29D4L,
+        0x22A48B5A8E47FF78L,
+        0x652A607CA3F242C1L,
+        0x00FDD303C946BDD9L,
+        0x3C8123EA7B067637L,
+        0x5C3F9B829B279560L
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional number of games.
+
+    DESCRIPTION
+        This method builds the book, checks it, and prints how long lookups take.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int games = DEFAULT_GAMES;
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                games = Integer.parseInt(a_args[Utilities.ZERO]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: PolyglotBookTest [games]");
+            System.exit(Utilities.ONE);
+        }
+
+        Path directory = null;
+        try{
+            directory = Files.createTempDirectory("darkblue");
+
+            CheckStandardKeys();
+            CheckKeys(directory);
+            CheckConversions();
+            System.out.println("keys, castling, and en passant check out");
+
+            final Random RANDOM = new Random(Utilities.ONE);
+            final List<GameRecord> RECORDS = new ArrayList<>();
+            final Path PGN = directory.resolve("games.pgn");
+            try(final Writer WRITER = Files.newBufferedWriter(PGN, StandardCharsets.ISO_8859_1);
+                final PgnWriter PGN_WRITER = new PgnWriter(WRITER)){
+                for(int i = Utilities.ZERO; i < games; i++){
+                    final GameRecord RECORD = RandomGame(RANDOM);
+                    RECORDS.add(RECORD);
+                    PGN_WRITER.Write(new PgnGame(RECORD));
+                }
+            }
+
+            final Path FILE = directory.resolve("book.bin");
+            final PolyglotBookBuilder BUILDER = new PolyglotBookBuilder(PolyglotKeys.GetDefault(), PLIES);
+            if(BUILDER.AddPgn(PGN, Runtime.getRuntime().availableProcessors()) != Utilities.ZERO){
+                throw new IOException("Some games could not be read");
+            }
+            final int ENTRIES = BUILDER.Write(FILE, Utilities.ONE);
+            System.out.println(String.format(Locale.ROOT, "built %d entries from %d games", ENTRIES, BUILDER.GetGameCount()));
+
+            final PolyglotBook BOOK = new PolyglotBook(FILE);
+            final long START = System.nanoTime();
+            final int LOOKUPS = Check(BOOK, RECORDS);
+            System.out.println(String.format(Locale.ROOT, "%d lookups in %.3f ms each", LOOKUPS, (System.nanoTime() - START) / 1e6 / LOOKUPS));
+
+            CheckSearch(BOOK);
+            System.out.println("the search plays from the book");
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }finally{
+            PolyglotBook.SetActive(null);
+            Delete(directory);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckStandardKeys();
+
+    SYNOPSIS
+        private static void CheckStandardKeys();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks the default table against the keys Polyglot's
+        documentation gives, so books from other programs can be read.
+        Boards are checked on the ones reached by playing 1.e4 d5 2.e5 f5 3.Ke2 Kf7.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckStandardKeys(){
+        final PolyglotKeys KEYS = PolyglotKeys.GetDefault();
+        for(int i = Utilities.ZERO; i < STANDARD_POSITIONS.length; i++){
+            final long KEY = KEYS.Hash(Position(STANDARD_POSITIONS[i]));
+            if(KEY != STANDARD_KEYS[i]){
+                throw new IllegalStateException(String.format(Locale.ROOT, "The key of %s was %016X instead of %016X", STANDARD_POSITIONS[i], KEY, STANDARD_KEYS[i]));
+            }
+        }
+
+        // Boards get their en passant tiles and castling rights from the moves played
+        final SanPosition POSITION = new SanPosition();
+        for(int i = Utilities.ZERO; i < STANDARD_LINE.length; i++){
+            if(i > Utilities.ZERO){
+                POSITION.Play(POSITION.Parse(STANDARD_LINE[i]));
+            }
+            if(KEYS.Hash(POSITION.GetBoard()) != STANDARD_KEYS[i]){
+                throw new IllegalStateException("The board after " + STANDARD_LINE[i] + " did not have Polyglot's key");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckKeys(final Path a_directory) throws IOException;
+
+    SYNOPSIS
+        private static void CheckKeys(final Path a_directory) throws IOException;
+
+        Path a_directory ---------> Where to write the table.
+
+    DESCRIPTION
+        This method writes the default table the way Polyglot's C source has it
+        and checks that it loads back to the same table.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckKeys(final Path a_directory) throws IOException{
+        final StringBuilder SOURCE = new StringBuilder("const uint64 Random64[781] = {\n");
+        for(int i = Utilities.ZERO; i < PolyglotKeys.KEY_COUNT; i++){
+            SOURCE.append(String.format(Locale.ROOT, "   U64(0x%016X),\n", PolyglotKeys.GetDefault().GetKey(i)));
+        }
+        SOURCE.append("};\n");
+
+        final Path FILE = a_directory.resolve("keys.c");
+        Files.write(FILE, SOURCE.toString().getBytes(StandardCharsets.US_ASCII));
+
+        final PolyglotKeys KEYS = PolyglotKeys.Load(FILE);
+        for(int i = Utilities.ZERO; i < PolyglotKeys.KEY_COUNT; i++){
+            if(KEYS.GetKey(i) != PolyglotKeys.GetDefault().GetKey(i)){
+                throw new IllegalStateException("Key " + i + " did not load back the same");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckConversions();
+
+    SYNOPSIS
+        private static void CheckConversions();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks castling moves and en passant hashing.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckConversions(){
+        final RecordPosition CASTLING = Position("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        final short KINGSIDE = PackedMove.Encode(60, 62, PackedMove.NO_PROMOTION), QUEENSIDE = PackedMove.Encode(60, 58, PackedMove.NO_PROMOTION);
+
+        // e1h1 and e1a1 in Polyglot's encoding
+        if(PolyglotBook.ToPolyglotMove(KINGSIDE, CASTLING) != 0x107 || PolyglotBook.ToPolyglotMove(QUEENSIDE, CASTLING) != 0x100){
+            throw new IllegalStateException("Castling is not written as the king taking its rook");
+        }
+        if(PolyglotBook.ToPackedMove(0x107, CASTLING) != KINGSIDE || PolyglotBook.ToPackedMove(0x100, CASTLING) != QUEENSIDE){
+            throw new IllegalStateException("The king taking its rook is not read as castling");
+        }
+
+        final short PROMOTION = PackedMove.Encode(12, 4, PackedMove.KNIGHT);
+        final RecordPosition PROMOTING = Position("3k4/4P3/8/8/8/8/8/4K3 w - - 0 1");
+        if(PolyglotBook.ToPackedMove(PolyglotBook.ToPolyglotMove(PROMOTION, PROMOTING), PROMOTING) != PROMOTION){
+            throw new IllegalStateException("A promotion did not convert back to itself");
+        }
+
+        // No black pawn can take on e3, so the en passant tile must not change the key
+        final PolyglotKeys KEYS = PolyglotKeys.GetDefault();
+        if(KEYS.Hash(Position("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"))
+            != KEYS.Hash(Position("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"))){
+            throw new IllegalStateException("An en passant tile nobody can capture on changed the key");
+        }
+        if(KEYS.Hash(Position("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"))
+            == KEYS.Hash(Position("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"))){
+            throw new IllegalStateException("An en passant tile that can be captured on did not change the key");
+        }
+
+        // A board and a record must agree on the key of the same position
+        final SanPosition START = new SanPosition();
+        if(KEYS.Hash(START.GetBoard()) != KEYS.Hash(Position(GameRecord.STARTING_FEN))){
+            throw new IllegalStateException("A board and a record disagree on the starting key");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Check(final PolyglotBook a_book, final List<GameRecord> a_records);
+
+    SYNOPSIS
+        private static int Check(final PolyglotBook a_book, final List<GameRecord> a_records);
+
+        PolyglotBook a_book ------> The book built from the games.
+
+        List<GameRecord> a_records -> The games.
+
+    DESCRIPTION
+        This method looks up every position of the book's plies of every game.
+
+    RETURNS
+        int: The number of lookups made.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Check(final PolyglotBook a_book, final List<GameRecord> a_records){
+        int lookups = Utilities.ZERO;
+        long points = Utilities.ZERO;
+
+        for(final GameRecord RECORD : a_records){
+            final RecordPosition POSITION = RECORD.Start();
+            points += (RECORD.GetResult() == GameRecord.WHITE_WINS ? Utilities.TWO : (RECORD.GetResult() == GameRecord.DRAW ? Utilities.ONE : Utilities.ZERO));
+
+            for(int ply = Utilities.ZERO; ply < Math.min(PLIES, RECORD.GetMoveCount()); ply++){
+                final short MOVE = RECORD.GetMove(ply);
+                final ArrayList<BookEntry> ENTRIES = a_book.Probe(a_book.GetKeys().Hash(POSITION));
+                lookups++;
+
+                final Set<Short> MOVES = new HashSet<>();
+                for(final BookEntry ENTRY : ENTRIES){
+                    MOVES.add(PolyglotBook.ToPackedMove(ENTRY.GetMove(), POSITION));
+                }
+
+                // A move that only ever lost is left out of the book
+                if(!MOVES.contains(MOVE) && LosesFor(RECORD, POSITION) == false){
+                    throw new IllegalStateException("Ply " + (ply + Utilities.ONE) + " of a game is not in the book");
+                }
+
+                final short CHOSEN = a_book.Choose(POSITION);
+                if(!ENTRIES.isEmpty() && !MOVES.contains(CHOSEN)){
+                    throw new IllegalStateException("The book chose a move it does not have");
+                }
+
+                POSITION.Apply(MOVE);
+            }
+        }
+
+        long weights = Utilities.ZERO;
+        for(final BookEntry ENTRY : a_book.Probe(a_book.GetKeys().Hash(Position(GameRecord.STARTING_FEN)))){
+            weights += ENTRY.GetWeight();
+        }
+        if(weights != points){
+            throw new IllegalStateException("The first moves weigh " + weights + " instead of " + points);
+        }
+
+        return lookups;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSearch(final PolyglotBook a_book);
+
+    SYNOPSIS
+        private static void CheckSearch(final PolyglotBook a_book);
+
+        PolyglotBook a_book ------> The book built from the games.
+
+    DESCRIPTION
+        This method makes the book active and checks that the search
+        answers the starting position with a legal move from the book.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSearch(final PolyglotBook a_book){
+        final SanPosition START = new SanPosition();
+        final Player WHITE = new Human(ChessColor.WHITE, START.GetBoard());
+        final Player BLACK = new Human(ChessColor.BLACK, START.GetBoard());
+        WHITE.Refresh(START.GetBoard());
+        BLACK.Refresh(START.GetBoard());
+
+        PolyglotBook.SetActive(a_book);
+        final Move MOVE = Minimax.MinimaxRoot(Utilities.THREE, START.GetBoard(), WHITE, BLACK, true, ChessColor.WHITE, null);
+
+        final Set<Short> MOVES = new HashSet<>();
+        final RecordPosition POSITION = Position(GameRecord.STARTING_FEN);
+        for(final BookEntry ENTRY : a_book.Probe(a_book.GetKeys().Hash(POSITION))){
+            MOVES.add(PolyglotBook.ToPackedMove(ENTRY.GetMove(), POSITION));
+        }
+
+        if(MOVE == null || !MOVES.contains(PackedMove.FromMove(MOVE, PackedMove.NO_PROMOTION))){
+            throw new IllegalStateException("The search did not play a book move");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean LosesFor(final GameRecord a_record, final RecordPosition a_position);
+
+    SYNOPSIS
+        private static boolean LosesFor(final GameRecord a_record, final RecordPosition a_position);
+
+        GameRecord a_record ------> A game.
+
+        RecordPosition a_position -> A position of the game.
+
+    DESCRIPTION
+        This method determines if the side to move lost the game.
+
+    RETURNS
+        boolean: True if the side to move lost, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean LosesFor(final GameRecord a_record, final RecordPosition a_position){
+        return a_record.GetResult() == (a_position.WhoseTurnIsIt().IsWhite() ? GameRecord.BLACK_WINS : GameRecord.WHITE_WINS);
+    }
+
+    /**/
+    /*
+    NAME
+        private static GameRecord RandomGame(final Random a_random);
+
+    SYNOPSIS
+        private static GameRecord RandomGame(final Random a_random);
+
+        Random a_random ----------> The source of the moves and the result.
+
+    DESCRIPTION
+        This method plays the book's plies of random legal moves and gives the game a random result.
+        Only the first four legal moves are picked from, so the games share many positions.
+
+    RETURNS
+        GameRecord: The game.
+
+    AUTHOR
+        Ryan King
+    */
+    private static GameRecord RandomGame(final Random a_random){
+        final GameRecord RECORD = new GameRecord(GameRecord.STARTING_FEN);
+        final SanPosition POSITION = new SanPosition();
+
+        for(int ply = Utilities.ZERO; ply < PLIES; ply++){
+            final ArrayList<Move> MOVES = POSITION.GetLegalMoves();
+            if(MOVES.isEmpty()){
+                break;
+            }
+
+            final short MOVE = PackedMove.FromMove(MOVES.get(a_random.nextInt(Math.min(Utilities.FOUR, MOVES.size()))), PackedMove.NO_PROMOTION);
+            POSITION.Play(MOVE);
+            RECORD.Add(MOVE);
+        }
+
+        RECORD.SetResult(a_random.nextInt(GameRecord.RESULTS.length - Utilities.ONE) + Utilities.ONE);
+        return RECORD;
+    }
+
+    /**/
+    /*
+    NAME
+        private static RecordPosition Position(final String a_fen);
+
+    SYNOPSIS
+        private static RecordPosition Position(final String a_fen);
+
+        String a_fen -------------> A FEN string.
+
+    DESCRIPTION
+        This method parses a position.
+
+    RETURNS
+        RecordPosition: The position.
+
+    AUTHOR
+        Ryan King
+    */
+    private static RecordPosition Position(final String a_fen){
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_fen)){
+            throw new IllegalArgumentException(PARSER.GetError() + " in " + a_fen);
+        }
+        final RecordPosition POSITION = new RecordPosition();
+        POSITION.Load(PARSER);
+        return POSITION;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Delete(final Path a_directory);
+
+    SYNOPSIS
+        private static void Delete(final Path a_directory);
+
+        Path a_directory ---------> The temporary directory, or null if it was never created.
+
+    DESCRIPTION
+        This method deletes the temporary directory and everything in it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Delete(final Path a_directory){
+        if(a_directory == null){
+            return;
+        }
+
+        try(final Stream<Path> PATHS = Files.walk(a_directory)){
+            PATHS.sorted(Comparator.reverseOrder()).forEach(a_path -> a_path.toFile().delete());
+        }catch(IOException e){
+            System.err.println("Could not delete " + a_directory);
+        }
+    }
+}
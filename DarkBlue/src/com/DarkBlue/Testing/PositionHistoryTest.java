@@ -0,0 +1,281 @@
+package com.DarkBlue.Testing;
+
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks the positions the GUI and the search keep to find repetitions.
+ *
+ * Usage: PositionHistoryTest
+ *
+ * Moving the knights out and back must repeat the starting position once, then a
+ * second time for threefold repetition. Positions whose pieces match but whose castling
+ * rights, en passant tiles, or sides to move differ must not repeat, and no position may
+ * repeat one from before a capture or a pawn move. Taking back a move must take back
+ * its repetition, and a copy must not change with the history it was copied from.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class PositionHistoryTest{
+
+    // Both knights out and back
+    private static final String[] SHUFFLE = {"Nf3", "Nf6", "Ng1", "Ng8"};
+
+    // Pairs of positions with the same pieces that are still different positions
+    private static final String[][] DIFFERENT = {
+        {"r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "r3k2r/8/8/8/8/8/8/R3K2R w Kkq - 0 1"},
+        {"r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1", "r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1"},
+        {"rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3", "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3"},
+        {"4k3/8/8/8/8/8/8/4K2R w - - 0 1", "4k3/8/8/8/8/8/8/4K2R b - - 0 1"},
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckShuffle();
+            CheckDifferent();
+            CheckWindow();
+            CheckUndo();
+
+            System.out.println("every repetition was found");
+        }catch(RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckShuffle();
+
+    SYNOPSIS
+        private static void CheckShuffle();
+
+        No parameters.
+
+    DESCRIPTION
+        This method moves the knights out and back twice from the starting position,
+        pushing every position along the way.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckShuffle(){
+        final SanPosition POSITION = new SanPosition(GameRecord.STARTING_FEN);
+        final PositionHistory HISTORY = new PositionHistory();
+        Push(HISTORY, POSITION);
+
+        for(int cycle = Utilities.ONE; cycle <= Utilities.TWO; cycle++){
+            for(int index = Utilities.ZERO; index < SHUFFLE.length; index++){
+                POSITION.Play(POSITION.Parse(SHUFFLE[index]));
+                Push(HISTORY, POSITION);
+
+                // The knights are only home after the last move of a cycle
+                final int EXPECTED = (index == SHUFFLE.length - Utilities.ONE ? cycle : cycle - Utilities.ONE);
+                if(HISTORY.CountRepetitions() != EXPECTED){
+                    throw new IllegalStateException("Found " + HISTORY.CountRepetitions() + " repetitions instead of " + EXPECTED + " after " + SHUFFLE[index] + " in cycle " + cycle);
+                }
+            }
+        }
+
+        if(!HISTORY.IsThreefoldRepetition() || HISTORY.Size() != Utilities.ONE + Utilities.TWO * SHUFFLE.length || HISTORY.GetHalfmoves() != Utilities.TWO * SHUFFLE.length){
+            throw new IllegalStateException("The knight shuffle was not a threefold repetition");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckDifferent();
+
+    SYNOPSIS
+        private static void CheckDifferent();
+
+        No parameters.
+
+    DESCRIPTION
+        This method pushes positions with the same pieces two plies apart, which must
+        not repeat when their castling rights, en passant tiles, or sides to move differ.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckDifferent(){
+        for(final String[] PAIR : DIFFERENT){
+            final long FIRST = new SanPosition(PAIR[Utilities.ZERO]).Hash();
+            final long SECOND = new SanPosition(PAIR[Utilities.ONE]).Hash();
+
+            final PositionHistory HISTORY = new PositionHistory();
+            HISTORY.Push(FIRST, Utilities.ZERO);
+            HISTORY.Push(Utilities.ZERO, Utilities.ONE);
+            HISTORY.Push(SECOND, Utilities.TWO);
+            if(FIRST == SECOND || HISTORY.IsRepetition()){
+                throw new IllegalStateException(PAIR[Utilities.ONE] + " repeated " + PAIR[Utilities.ZERO]);
+            }
+
+            // The same position must still repeat itself
+            HISTORY.Push(Utilities.ZERO, Utilities.THREE);
+            HISTORY.Push(FIRST, Utilities.FOUR);
+            if(HISTORY.CountRepetitions() != Utilities.ONE){
+                throw new IllegalStateException(PAIR[Utilities.ZERO] + " did not repeat itself");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckWindow();
+
+    SYNOPSIS
+        private static void CheckWindow();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that a position never repeats one from before
+        the halfmove clock was last reset by a capture or a pawn move.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckWindow(){
+        final SanPosition POSITION = new SanPosition(GameRecord.STARTING_FEN);
+        final PositionHistory HISTORY = new PositionHistory();
+        Push(HISTORY, POSITION);
+
+        // Shuffle once, push both kings' pawns a single tile, and shuffle again
+        for(final String SAN : new String[]{"Nf3", "Nf6", "Ng1", "Ng8", "e3", "e6", "Nf3", "Nf6", "Ng1", "Ng8"}){
+            POSITION.Play(POSITION.Parse(SAN));
+            Push(HISTORY, POSITION);
+        }
+        if(HISTORY.GetHalfmoves() != SHUFFLE.length || HISTORY.CountRepetitions() != Utilities.ONE){
+            throw new IllegalStateException("The position after the pawn moves repeated " + HISTORY.CountRepetitions() + " times instead of once");
+        }
+
+        // A key from before the reset must not count, even when it matches
+        final long KEY = new SanPosition(GameRecord.STARTING_FEN).Hash();
+        final PositionHistory RESET = new PositionHistory();
+        RESET.Push(KEY, Utilities.FIVE);
+        RESET.Push(KEY, Utilities.SIX);
+        RESET.Push(KEY, Utilities.ZERO);
+        if(RESET.IsRepetition()){
+            throw new IllegalStateException("A position repeated one from before a capture or a pawn move");
+        }
+        RESET.Push(KEY, Utilities.ONE);
+        RESET.Push(KEY, Utilities.TWO);
+        if(RESET.CountRepetitions() != Utilities.ONE){
+            throw new IllegalStateException("A position after a capture or a pawn move did not repeat");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckUndo();
+
+    SYNOPSIS
+        private static void CheckUndo();
+
+        No parameters.
+
+    DESCRIPTION
+        This method takes back the move that made a threefold repetition,
+        as the GUI does when a move is undone, and plays it again. A copy,
+        like the one the GUI hands to the search, must not change with it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckUndo(){
+        final SanPosition POSITION = new SanPosition(GameRecord.STARTING_FEN);
+        final PositionHistory HISTORY = new PositionHistory();
+        Push(HISTORY, POSITION);
+        for(int cycle = Utilities.ZERO; cycle < Utilities.TWO; cycle++){
+            for(final String SAN : SHUFFLE){
+                POSITION.Play(POSITION.Parse(SAN));
+                Push(HISTORY, POSITION);
+            }
+        }
+
+        final int SIZE = HISTORY.Size();
+        final long KEY = HISTORY.Peek();
+        final PositionHistory COPY = new PositionHistory(HISTORY);
+
+        // The position before the last move was seen once before, a cycle earlier
+        HISTORY.Pop();
+        if(HISTORY.Size() != SIZE - Utilities.ONE || HISTORY.IsThreefoldRepetition() || HISTORY.CountRepetitions() != Utilities.ONE || HISTORY.GetHalfmoves() != Utilities.TWO * SHUFFLE.length - Utilities.ONE){
+            throw new IllegalStateException("Taking back a move did not take back its repetition");
+        }else if(COPY.Size() != SIZE || !COPY.IsThreefoldRepetition()){
+            throw new IllegalStateException("A copy of the positions changed when a move was taken back");
+        }
+
+        HISTORY.Push(KEY, Utilities.TWO * SHUFFLE.length);
+        if(!HISTORY.IsThreefoldRepetition()){
+            throw new IllegalStateException("Playing a move again did not repeat the position again");
+        }
+
+        HISTORY.Truncate(Utilities.ONE);
+        if(HISTORY.Size() != Utilities.ONE || HISTORY.IsRepetition() || COPY.Size() != SIZE){
+            throw new IllegalStateException("Truncating the positions did not leave only the first");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Push(final PositionHistory a_history, final SanPosition a_position);
+
+    SYNOPSIS
+        private static void Push(final PositionHistory a_history, final SanPosition a_position);
+
+        PositionHistory a_history -> The positions so far.
+
+        SanPosition a_position ---> The position to add.
+
+    DESCRIPTION
+        This method adds a position with its halfmove clock, as the GUI does after every move.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Push(final PositionHistory a_history, final SanPosition a_position){
+        a_history.Push(a_position.Hash(), a_position.GetBoard().GetHalfmoves());
+    }
+}
@@ -0,0 +1,247 @@
+package com.DarkBlue.Testing;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Server.SearchScheduler;
+import com.DarkBlue.Server.SearchTask;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This file checks the order a search scheduler runs searches in and what it counts.
+ *
+ * Usage: SchedulerTest
+ *
+ * With one thread, a long search must be set aside after a depth for a search of
+ * higher priority that comes in meanwhile, and then wait for one of equal priority
+ * with less time, while keeping the depths it already finished. A search must stop once
+ * its time is up or it is cancelled, the counts must add up and be shown through JMX,
+ * and a scheduler that was shut down must refuse searches.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class SchedulerTest{
+
+    // How long any check may take, in milliseconds
+    private static final long PATIENCE = 120000;
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckOrder();
+            CheckStopping();
+
+            System.out.println("every search was scheduled as expected");
+        }catch(InterruptedException | JMException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckOrder() throws InterruptedException, JMException;
+
+    SYNOPSIS
+        private static void CheckOrder() throws InterruptedException, JMException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks preemption, the order of the queue, and the counts.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckOrder() throws InterruptedException, JMException{
+        final SearchScheduler SCHEDULER = new SearchScheduler(Utilities.ONE);
+        SearchScheduler.Show(SCHEDULER);
+
+        final List<String> FINISHED = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch DONE = new CountDownLatch(Utilities.THREE);
+
+        try{
+            final SearchTask LONG = Task("long", Utilities.THREE, 4000, Utilities.ZERO, FINISHED, DONE);
+            SCHEDULER.Submit(LONG);
+
+            // Wait until the long search is partway into its second depth
+            final long DEADLINE = System.currentTimeMillis() + PATIENCE;
+            while(LONG.GetDepthFinished() < Utilities.ONE && System.currentTimeMillis() < DEADLINE){
+                Thread.sleep(Utilities.ONE);
+            }
+
+            SCHEDULER.Submit(Task("low", Utilities.ONE, 1000, Utilities.ZERO, FINISHED, DONE));
+            SCHEDULER.Submit(Task("high", Utilities.ONE, 5000, Utilities.ONE, FINISHED, DONE));
+            if(!DONE.await(PATIENCE, TimeUnit.MILLISECONDS)){
+                throw new IllegalStateException("The searches never finished");
+            }
+
+            if(!FINISHED.equals(List.of("high", "low", "long"))){
+                throw new IllegalStateException("The searches finished in the order " + FINISHED);
+            }else if(LONG.GetDepthFinished() < Utilities.TWO){
+                throw new IllegalStateException("The long search lost its depths when set aside");
+            }
+
+            // The counts are taken after Done(), so give the thread a moment to catch up
+            while(SCHEDULER.getRunning() != Utilities.ZERO && System.currentTimeMillis() < DEADLINE){
+                Thread.sleep(Utilities.ONE);
+            }
+
+            if(SCHEDULER.getSubmitted() != Utilities.THREE || SCHEDULER.getCompleted() != Utilities.THREE || SCHEDULER.getPreemptions() != Utilities.ONE){
+                throw new IllegalStateException("The scheduler counted " + SCHEDULER.getSubmitted() + " submitted, " + SCHEDULER.getCompleted() + " completed, and " + SCHEDULER.getPreemptions() + " preempted");
+            }else if(SCHEDULER.getQueueDepth() != Utilities.ZERO || SCHEDULER.getMaxWaitMilliseconds() <= Utilities.ZERO || SCHEDULER.getMeanWaitMilliseconds() <= 0.0){
+                throw new IllegalStateException("The scheduler counted the waits wrongly");
+            }
+
+            final Object QUEUE_DEPTH = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(SearchScheduler.OBJECT_NAME), "QueueDepth");
+            if(!Integer.valueOf(Utilities.ZERO).equals(QUEUE_DEPTH)){
+                throw new IllegalStateException("JMX showed a queue depth of " + QUEUE_DEPTH);
+            }
+
+            SCHEDULER.reset();
+            if(SCHEDULER.getSubmitted() != Utilities.ZERO || SCHEDULER.getPreemptions() != Utilities.ZERO || SCHEDULER.getMaxWaitMilliseconds() != Utilities.ZERO){
+                throw new IllegalStateException("The counts were not reset");
+            }
+        }finally{
+            SCHEDULER.Shutdown();
+        }
+
+        if(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(SearchScheduler.OBJECT_NAME))){
+            throw new IllegalStateException("A scheduler that was shut down was still shown through JMX");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckStopping() throws InterruptedException;
+
+    SYNOPSIS
+        private static void CheckStopping() throws InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that searches stop on time or when cancelled.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckStopping() throws InterruptedException{
+        final SearchScheduler SCHEDULER = new SearchScheduler(Utilities.ONE);
+        final List<String> FINISHED = Collections.synchronizedList(new ArrayList<>());
+
+        try{
+            final CountDownLatch TIMED = new CountDownLatch(Utilities.ONE);
+            final SearchTask SHORT = Task("short", Utilities.TEN, 300, Utilities.ZERO, FINISHED, TIMED);
+            SCHEDULER.Submit(SHORT);
+            if(!TIMED.await(PATIENCE, TimeUnit.MILLISECONDS) || SHORT.GetRemaining() > TimeUnit.MILLISECONDS.toNanos(50) || SHORT.GetDepthFinished() >= Utilities.TEN){
+                throw new IllegalStateException("A search ran past its time");
+            }
+
+            final CountDownLatch CANCELLED = new CountDownLatch(Utilities.ONE);
+            final SearchTask ENDLESS = Task("endless", Utilities.TEN, PATIENCE * Utilities.TEN, Utilities.ZERO, FINISHED, CANCELLED);
+            SCHEDULER.Submit(ENDLESS);
+            Thread.sleep(100);
+            ENDLESS.Cancel();
+            if(!CANCELLED.await(PATIENCE, TimeUnit.MILLISECONDS)){
+                throw new IllegalStateException("A cancelled search went on");
+            }
+
+            if(!FINISHED.equals(List.of("short", "endless"))){
+                throw new IllegalStateException("A stopped search did not hand back a move: " + FINISHED);
+            }
+        }finally{
+            SCHEDULER.Shutdown();
+        }
+
+        try{
+            SCHEDULER.Submit(Task("late", Utilities.ONE, 100, Utilities.ZERO, FINISHED, new CountDownLatch(Utilities.ONE)));
+            throw new IllegalArgumentException("A scheduler that was shut down took a search");
+        }catch(IllegalStateException e){
+            // Expected
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static SearchTask Task(final String a_name, final int a_depth, final long a_milliseconds, final int a_priority, final List<String> a_finished, final CountDownLatch a_done);
+
+    SYNOPSIS
+        private static SearchTask Task(final String a_name, final int a_depth, final long a_milliseconds, final int a_priority, final List<String> a_finished, final CountDownLatch a_done);
+
+        String a_name ------------> What the search is called in a_finished.
+
+        int a_depth --------------> The deepest to search.
+
+        long a_milliseconds ------> The longest to search.
+
+        int a_priority -----------> How urgent the search is.
+
+        List<String> a_finished --> Where the search adds its name once it found a move.
+
+        CountDownLatch a_done ----> What the search counts down once it is over.
+
+    DESCRIPTION
+        This method creates a search from the starting position.
+
+    RETURNS
+        SearchTask: The search.
+
+    AUTHOR
+        Ryan King
+    */
+    private static SearchTask Task(final String a_name, final int a_depth, final long a_milliseconds, final int a_priority, final List<String> a_finished, final CountDownLatch a_done){
+        final SanPosition POSITION = new SanPosition(GameRecord.STARTING_FEN);
+        final PositionHistory HISTORY = new PositionHistory();
+        HISTORY.Push(Zobrist.Hash(POSITION.GetBoard()), POSITION.GetBoard().GetHalfmoves());
+
+        return new SearchTask(POSITION, HISTORY, a_depth, a_milliseconds, a_priority){
+            @Override
+            protected void Done(final Move a_move){
+                if(a_move != null){
+                    a_finished.add(a_name);
+                }
+                a_done.countDown();
+            }
+        };
+    }
+}
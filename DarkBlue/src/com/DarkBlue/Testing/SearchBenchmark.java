@@ -0,0 +1,235 @@
+package com.DarkBlue.Testing;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.Player.EvaluationWeights;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * This file measures how many nodes per second the minimax search visits
+ * with the full evaluation and with material and positional tables only,
+ * and fails if the full evaluation costs more than a given share of the speed.
+ *
+ * Usage: SearchBenchmark [depth] [budget percent] [rounds]
+ *
+ * The defaults are a depth of 3, a budget of 10 percent, and 3 rounds.
+ * Each round searches every benchmark position once with each evaluation,
+ * alternating between them so neither one gets all of the warmed-up code.
+ * The program exits with status 1 if the budget is exceeded.
+ */
+public final class SearchBenchmark{
+
+    private static final int DEFAULT_DEPTH = Utilities.THREE;
+    private static final double DEFAULT_BUDGET = 10;
+    private static final int DEFAULT_ROUNDS = Utilities.THREE;
+
+    // Opening lines played out from the starting position to get the benchmark positions
+    private static final String[][] LINES = {
+        {},
+        {"e4", "e5", "Nf3", "Nc6", "Bc4", "Bc5"},
+        {"d4", "d5", "c4", "e6", "Nc3", "Nf6", "Bg5", "Be7"},
+        {"e4", "c5", "Nf3", "d6", "d4", "cxd4", "Nxd4", "Nf6", "Nc3", "a6"}
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional depth, budget, and number of rounds, in that order.
+
+    DESCRIPTION
+        This method runs the benchmark and prints the nodes per second of both evaluations.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int depth = DEFAULT_DEPTH;
+        double budget = DEFAULT_BUDGET;
+        int rounds = DEFAULT_ROUNDS;
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                depth = Integer.parseInt(a_args[Utilities.ZERO]);
+            }
+            if(a_args.length > Utilities.ONE){
+                budget = Double.parseDouble(a_args[Utilities.ONE]);
+            }
+            if(a_args.length > Utilities.TWO){
+                rounds = Integer.parseInt(a_args[Utilities.TWO]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: SearchBenchmark [depth] [budget percent] [rounds]");
+            System.exit(Utilities.ONE);
+        }
+
+        final ArrayList<Board> POSITIONS = new ArrayList<>();
+        for(final String[] LINE : LINES){
+            final Board POSITION = Play(LINE);
+            if(POSITION == null){
+                System.exit(Utilities.ONE);
+            }
+            POSITIONS.add(POSITION);
+        }
+
+        final EvaluationWeights FULL = EvaluationWeights.GetActive();
+        final EvaluationWeights TABLES_ONLY = FULL.WithoutActivityTerms();
+
+        long[] tablesOnly = new long[Utilities.TWO];
+        long[] full = new long[Utilities.TWO];
+
+        for(int round = Utilities.ZERO; round <= rounds; round++){
+            final long[] TABLES_ONLY_ROUND = Run(POSITIONS, depth, TABLES_ONLY);
+            final long[] FULL_ROUND = Run(POSITIONS, depth, FULL);
+
+            // The first round only warms up the compiler
+            if(round == Utilities.ZERO){
+                continue;
+            }
+
+            for(int i = Utilities.ZERO; i < Utilities.TWO; i++){
+                tablesOnly[i] += TABLES_ONLY_ROUND[i];
+                full[i] += FULL_ROUND[i];
+            }
+        }
+
+        EvaluationWeights.SetActive(FULL);
+
+        final double TABLES_ONLY_NPS = NodesPerSecond(tablesOnly);
+        final double FULL_NPS = NodesPerSecond(full);
+        final double LOSS = (Utilities.ONE - FULL_NPS / TABLES_ONLY_NPS) * 100;
+
+        System.out.println(String.format(Locale.ROOT, "tables only: %d nodes, %.0f nodes/s", tablesOnly[Utilities.ZERO], TABLES_ONLY_NPS));
+        System.out.println(String.format(Locale.ROOT, "full:        %d nodes, %.0f nodes/s", full[Utilities.ZERO], FULL_NPS));
+        System.out.println(String.format(Locale.ROOT, "slowdown:    %.1f%% (budget %.1f%%)", LOSS, budget));
+
+        if(LOSS > budget){
+            System.err.println("The full evaluation is over its speed budget.");
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static long[] Run(final ArrayList<Board> a_positions, final int a_depth, final EvaluationWeights a_weights);
+
+    SYNOPSIS
+        private static long[] Run(final ArrayList<Board> a_positions, final int a_depth, final EvaluationWeights a_weights);
+
+        ArrayList<Board> a_positions -> The positions to search.
+
+        int a_depth --------------------> The search depth.
+
+        EvaluationWeights a_weights ----> The weights to evaluate with.
+
+    DESCRIPTION
+        This method searches every position once with the given weights.
+
+    RETURNS
+        long[]: The number of nodes visited and the number of nanoseconds it took, in that order.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long[] Run(final ArrayList<Board> a_positions, final int a_depth, final EvaluationWeights a_weights){
+        EvaluationWeights.SetActive(a_weights);
+        Minimax.NODES.reset();
+
+        final long START = System.nanoTime();
+        for(final Board POSITION : a_positions){
+            final Player WHITE = new Human(ChessColor.WHITE, POSITION);
+            final Player BLACK = new Human(ChessColor.BLACK, POSITION);
+            WHITE.Refresh(POSITION);
+            BLACK.Refresh(POSITION);
+            Minimax.MinimaxRoot(a_depth, POSITION, WHITE, BLACK, true, POSITION.WhoseTurnIsIt());
+        }
+        final long ELAPSED = System.nanoTime() - START;
+
+        return new long[]{Minimax.NODES.sum(), ELAPSED};
+    }
+
+    /**/
+    /*
+    NAME
+        private static double NodesPerSecond(final long[] a_totals);
+
+    SYNOPSIS
+        private static double NodesPerSecond(final long[] a_totals);
+
+        long[] a_totals ----------> The number of nodes and nanoseconds as returned by Run().
+
+    DESCRIPTION
+        This method converts a node count and a duration into a speed.
+
+    RETURNS
+        double: The number of nodes visited per second.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double NodesPerSecond(final long[] a_totals){
+        return a_totals[Utilities.ZERO] * 1e9 / Math.max(Utilities.ONE, a_totals[Utilities.ONE]);
+    }
+
+    /**/
+    /*
+    NAME
+        private static Board Play(final String[] a_line);
+
+    SYNOPSIS
+        private static Board Play(final String[] a_line);
+
+        String[] a_line ----------> The moves to play from the starting position, in algebraic notation.
+
+    DESCRIPTION
+        This method plays a line of moves from the starting position.
+
+    RETURNS
+        Board: The board at the end of the line, or null if one of the moves was illegal.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Board Play(final String[] a_line){
+        Board board = Board.GetStartingPosition();
+
+        for(final String NOTATION : a_line){
+            final Player WHITE = new Human(ChessColor.WHITE, board);
+            final Player BLACK = new Human(ChessColor.BLACK, board);
+            WHITE.Refresh(board);
+            BLACK.Refresh(board);
+
+            Move found = null;
+            for(final Move MOVE : (board.WhoseTurnIsIt().IsWhite() ? WHITE : BLACK).UglyMoves()){
+                if(MOVE.toString().trim().equals(NOTATION)){
+                    found = MOVE;
+                    break;
+                }
+            }
+
+            if(found == null){
+                System.err.println(NOTATION + " is not a legal move in " + board.toString());
+                return null;
+            }
+
+            board = found.GetTransitionalBoard();
+        }
+
+        return board;
+    }
+}
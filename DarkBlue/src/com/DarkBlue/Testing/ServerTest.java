@@ -0,0 +1,295 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Server.GameServer;
+import com.DarkBlue.Server.GameSession;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks games played against the engine alone and through the server.
+ *
+ * Usage: ServerTest
+ *
+ * A session must take moves in UCI and algebraic notation, refuse illegal moves
+ * and moves out of turn, and end as a loss when the person resigns. A server with
+ * two search threads must then play a mate in one for the engine, answer twenty games
+ * at once, refuse moves after the end and a game more than it has room for, and
+ * forget a game once it is resigned.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class ServerTest{
+
+    private static final String BACK_RANK = "6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1";
+    private static final int GAMES = 20;
+
+    // How long a game may take to show the engine's move, in milliseconds
+    private static final long PATIENCE = 120000;
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckSession();
+            CheckServer();
+
+            System.out.println("every game was served as expected");
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSession();
+
+    SYNOPSIS
+        private static void CheckSession();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks a session without any search or server.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSession(){
+        final GameSession SESSION = new GameSession(Utilities.ONE, GameRecord.STARTING_FEN, ChessColor.WHITE, Utilities.ONE, 100, Utilities.ZERO);
+        SESSION.Play("e2e4");
+
+        try{
+            SESSION.Play("d2d4");
+            throw new IllegalStateException("A move out of turn was played");
+        }catch(IllegalStateException e){
+            if(!e.getMessage().equals("It is not your turn")){
+                throw e;
+            }
+        }
+
+        final GameSession OTHER = new GameSession(Utilities.TWO, GameRecord.STARTING_FEN, ChessColor.WHITE, Utilities.ONE, 100, Utilities.ZERO);
+        OTHER.Play("Nf3");
+        if(!OTHER.ToJSON().contains("\"moves\": \"Nf3\"") || !OTHER.ToJSON().contains("\"turn\": \"black\"")){
+            throw new IllegalStateException("A move in algebraic notation was not played: " + OTHER.ToJSON());
+        }
+
+        for(final String ILLEGAL : new String[]{"e2e5", "Ke2", "zz"}){
+            try{
+                new GameSession(Utilities.THREE, GameRecord.STARTING_FEN, ChessColor.WHITE, Utilities.ONE, 100, Utilities.ZERO).Play(ILLEGAL);
+                throw new IllegalStateException("The illegal move " + ILLEGAL + " was played");
+            }catch(IllegalArgumentException e){
+                // Expected
+            }
+        }
+
+        SESSION.Close();
+        if(SESSION.GetResult() != GameRecord.BLACK_WINS || SESSION.ToRecord().GetMoveCount() != Utilities.ONE){
+            throw new IllegalStateException("Resigning as white did not lose the game");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckServer() throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static void CheckServer() throws IOException, InterruptedException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method plays games through a server on a free port.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckServer() throws IOException, InterruptedException{
+        final GameServer SERVER = new GameServer(Utilities.ZERO, Utilities.TWO, GAMES + Utilities.ONE, Utilities.ONE);
+        final String BASE = "http://localhost:" + SERVER.GetPort() + "/games";
+
+        try{
+            // The engine plays white and mates at once
+            final String MATE = Send("POST", BASE + "?color=black&depth=2&ms=60000&fen=" + URLEncoder.encode(BACK_RANK, StandardCharsets.UTF_8), 201).body();
+            final String MATE_GAME = BASE + "/" + Field(MATE, "id");
+            final String MATED = WaitForTurn(MATE_GAME, "black");
+            if(!Field(MATED, "moves").equals("Ra8#") || !Field(MATED, "result").equals("1-0")){
+                throw new IllegalStateException("The engine did not mate: " + MATED);
+            }
+            Send("POST", MATE_GAME + "/move?move=Kh8", 409);
+
+            // Twenty games from the start, all waiting on the engine at once
+            final List<String> GAME_URLS = new ArrayList<>();
+            for(int i = Utilities.ZERO; i < GAMES; i++){
+                GAME_URLS.add(BASE + "/" + Field(Send("POST", BASE + "?color=white&depth=2&ms=500", 201).body(), "id"));
+            }
+            for(final String GAME : GAME_URLS){
+                Send("POST", GAME + "/move?move=e2e4", 200);
+            }
+            for(final String GAME : GAME_URLS){
+                final String STATE = WaitForTurn(GAME, "white");
+                if(!Field(STATE, "moves").startsWith("e4 ") || Field(STATE, "moves").split(" ").length != Utilities.TWO){
+                    throw new IllegalStateException("The engine did not answer e4: " + STATE);
+                }
+            }
+
+            Send("POST", BASE, 503);
+            Send("POST", GAME_URLS.get(Utilities.ZERO) + "/move?move=e4e6", 400);
+            Send("GET", BASE + "/999999", 404);
+            Send("GET", BASE + "/x", 404);
+
+            final String RESIGNED = Send("DELETE", GAME_URLS.get(Utilities.ZERO), 200).body();
+            if(!Field(RESIGNED, "result").equals("0-1") || SERVER.GetSessionCount() != GAMES){
+                throw new IllegalStateException("Resigning did not end and forget the game: " + RESIGNED);
+            }
+            Send("GET", GAME_URLS.get(Utilities.ZERO), 404);
+        }finally{
+            SERVER.Stop();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static String WaitForTurn(final String a_game, final String a_turn) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static String WaitForTurn(final String a_game, final String a_turn) throws IOException, InterruptedException;
+
+        String a_game ------------> The address of a game.
+
+        String a_turn ------------> The side whose turn is awaited.
+
+    DESCRIPTION
+        This method asks for a game until the engine has moved and it is the given side's turn.
+
+    RETURNS
+        String: The game as JSON.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String WaitForTurn(final String a_game, final String a_turn) throws IOException, InterruptedException{
+        final long DEADLINE = System.currentTimeMillis() + PATIENCE;
+
+        while(System.currentTimeMillis() < DEADLINE){
+            final String STATE = Send("GET", a_game, 200).body();
+            if(Field(STATE, "thinking").equals("false") && Field(STATE, "turn").equals(a_turn)){
+                return STATE;
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("The engine never moved in " + a_game);
+    }
+
+    /**/
+    /*
+    NAME
+        private static HttpResponse<String> Send(final String a_method, final String a_url, final int a_status) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static HttpResponse<String> Send(final String a_method, final String a_url, final int a_status) throws IOException, InterruptedException;
+
+        String a_method ----------> The HTTP method.
+
+        String a_url -------------> The address.
+
+        int a_status -------------> The status the answer must have.
+
+    DESCRIPTION
+        This method sends a request without a body and checks the status of its answer.
+
+    RETURNS
+        HttpResponse<String>: The answer.
+
+    AUTHOR
+        Ryan King
+    */
+    private static HttpResponse<String> Send(final String a_method, final String a_url, final int a_status) throws IOException, InterruptedException{
+        final HttpRequest REQUEST = HttpRequest.newBuilder(URI.create(a_url)).method(a_method, HttpRequest.BodyPublishers.noBody()).build();
+        final HttpResponse<String> RESPONSE = CLIENT.send(REQUEST, HttpResponse.BodyHandlers.ofString());
+
+        if(RESPONSE.statusCode() != a_status){
+            throw new IllegalStateException(a_method + " " + a_url + " answered " + RESPONSE.statusCode() + " instead of " + a_status + ": " + RESPONSE.body());
+        }
+        return RESPONSE;
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Field(final String a_json, final String a_name);
+
+    SYNOPSIS
+        private static String Field(final String a_json, final String a_name);
+
+        String a_json ------------> A game as JSON.
+
+        String a_name ------------> The field to read.
+
+    DESCRIPTION
+        This method reads a field of the flat JSON a session writes.
+
+    RETURNS
+        String: The field's value without quotes.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Field(final String a_json, final String a_name){
+        final String KEY = "\"" + a_name + "\": ";
+        final int START = a_json.indexOf(KEY);
+        if(START < Utilities.ZERO){
+            throw new IllegalStateException("There is no " + a_name + " in " + a_json);
+        }
+
+        final int VALUE = START + KEY.length();
+        if(a_json.charAt(VALUE) == '"'){
+            return a_json.substring(VALUE + Utilities.ONE, a_json.indexOf('"', VALUE + Utilities.ONE));
+        }
+
+        int end = VALUE;
+        while(end < a_json.length() && a_json.charAt(end) != ',' && a_json.charAt(end) != '}'){
+            end++;
+        }
+        return a_json.substring(VALUE, end);
+    }
+}
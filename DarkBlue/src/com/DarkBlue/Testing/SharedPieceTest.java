@@ -0,0 +1,295 @@
+package com.DarkBlue.Testing;
+
+import java.util.ArrayList;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Record.GameRecord;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Factory;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that boards share their tiles and pieces.
+ *
+ * Usage: SharedPieceTest
+ *
+ * A copy of a board must hold the same tiles as the board, apart from the tiles of
+ * kings that could castle, and find its own moves, which must match those of the board.
+ * Every board a legal move makes must hold only shared pieces, and share every tile
+ * the move did not change. The factories must hand out the same piece every time they
+ * are asked for the same type, color, tile, whether it has moved, and castling rights.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class SharedPieceTest{
+
+    private static final String[] POSITIONS = {
+        GameRecord.STARTING_FEN,
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+        "3k4/4P3/8/8/8/8/8/4K3 w - - 0 1",
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            int boards = Utilities.ZERO;
+            for(final String FEN : POSITIONS){
+                final Board BOARD = new SanPosition(FEN).GetBoard();
+                CheckCopy(BOARD, FEN);
+                boards += CheckMoves(BOARD, FEN);
+            }
+            CheckFactories();
+
+            System.out.println(boards + " boards shared their tiles and pieces");
+        }catch(RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckCopy(final Board a_board, final String a_fen);
+
+    SYNOPSIS
+        private static void CheckCopy(final Board a_board, final String a_fen);
+
+        Board a_board ------------> The board to copy.
+
+        String a_fen -------------> The board in FEN, for the messages.
+
+    DESCRIPTION
+        This method compares a copy of the board with the board, tile by tile.
+        A king that could castle is copied without his rights, so his tile is new
+        and his moves may differ.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckCopy(final Board a_board, final String a_fen){
+        final Board COPY = Board.GetDeepCopy(a_board);
+
+        for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
+            final int ROW = index / Utilities.EIGHT, COLUMN = index % Utilities.EIGHT;
+            final Tile TILE = a_board.GetTile(ROW, COLUMN), COPY_TILE = COPY.GetTile(ROW, COLUMN);
+
+            if(CanCastle(TILE.GetPiece())){
+                if(COPY_TILE.GetPiece() != King.GetShared(TILE.GetPiece().GetColor(), ROW, COLUMN, false, false, false)){
+                    throw new IllegalStateException("The copied king on " + ROW + ", " + COLUMN + " was not shared in " + a_fen);
+                }
+                continue;
+            }else if(COPY_TILE != TILE){
+                throw new IllegalStateException("The tile " + ROW + ", " + COLUMN + " was copied in " + a_fen);
+            }
+
+            final ArrayList<Move> MOVES = a_board.GetLegalMoves(ROW, COLUMN);
+            final ArrayList<Move> COPY_MOVES = COPY.GetLegalMoves(ROW, COLUMN);
+            if(TILE.IsOccupied() && (MOVES != TILE.GetPiece().GetCurrentLegalMoves(a_board) || MOVES == COPY_MOVES)){
+                throw new IllegalStateException("The moves of the piece on " + ROW + ", " + COLUMN + " were not kept by each board in " + a_fen);
+            }else if(!Destinations(MOVES).equals(Destinations(COPY_MOVES))){
+                throw new IllegalStateException("The copy found other moves for the piece on " + ROW + ", " + COLUMN + " in " + a_fen);
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int CheckMoves(final Board a_board, final String a_fen);
+
+    SYNOPSIS
+        private static int CheckMoves(final Board a_board, final String a_fen);
+
+        Board a_board ------------> The board to move on.
+
+        String a_fen -------------> The board in FEN, for the messages.
+
+    DESCRIPTION
+        This method makes every legal move of the side to move and checks
+        the pieces and tiles of the board each one makes.
+
+    RETURNS
+        int: How many boards were checked.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int CheckMoves(final Board a_board, final String a_fen){
+        final Player PLAYER = new Human(a_board.WhoseTurnIsIt(), a_board);
+        PLAYER.Refresh(a_board);
+
+        int boards = Utilities.ZERO;
+        for(final Move MOVE : PLAYER.UglyMoves()){
+            final Board NEXT = MOVE.GetTransitionalBoard();
+
+            for(int index = Utilities.ZERO; index < Utilities.SIXTY_FOUR; index++){
+                final int ROW = index / Utilities.EIGHT, COLUMN = index % Utilities.EIGHT;
+                final Tile TILE = NEXT.GetTile(ROW, COLUMN);
+                final Piece PIECE = TILE.GetPiece();
+
+                if(PIECE == null && TILE != Tile.GetEmpty(ROW, COLUMN)){
+                    throw new IllegalStateException("An empty tile was not shared after " + MOVE + " in " + a_fen);
+                }else if(PIECE != null && PIECE != Shared(PIECE)){
+                    throw new IllegalStateException("The piece on " + ROW + ", " + COLUMN + " was not shared after " + MOVE + " in " + a_fen);
+                }else if(PIECE == a_board.GetTile(ROW, COLUMN).GetPiece() && TILE != a_board.GetTile(ROW, COLUMN)){
+                    throw new IllegalStateException("The tile " + ROW + ", " + COLUMN + " was copied after " + MOVE + " in " + a_fen);
+                }
+            }
+            boards++;
+        }
+        return boards;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckFactories();
+
+    SYNOPSIS
+        private static void CheckFactories();
+
+        No parameters.
+
+    DESCRIPTION
+        This method asks the factories for the same pieces from different pieces.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckFactories(){
+        final Piece E2 = Piece.GetShared(PieceType.PAWN, ChessColor.WHITE, Utilities.SIX, Utilities.FOUR, false);
+        final Piece E3 = new Pawn(ChessColor.WHITE, Utilities.FIVE, Utilities.FOUR);
+
+        final Piece MOVED = Factory.MovedPieceFactory(E2, Utilities.FOUR, Utilities.FOUR);
+        if(MOVED != Factory.MovedPieceFactory(E3, Utilities.FOUR, Utilities.FOUR) || !MOVED.HasMoved() || MOVED.HowManyMoves() != Utilities.ONE){
+            throw new IllegalStateException("A moved pawn was not shared");
+        }else if(Factory.PieceFactory(new Pawn(ChessColor.WHITE, Utilities.SIX, Utilities.FOUR)) != E2){
+            throw new IllegalStateException("An unmoved pawn was not shared");
+        }else if(Factory.PromotedPieceFactory(ChessColor.BLACK, Utilities.SEVEN, Utilities.ZERO, Utilities.ZERO) != Factory.PromotedPieceFactory(ChessColor.BLACK, Utilities.SEVEN, Utilities.ZERO, Utilities.ZERO)){
+            throw new IllegalStateException("A promoted queen was not shared");
+        }
+
+        final King CASTLING = Factory.KingFactory(ChessColor.WHITE, Utilities.SEVEN, Utilities.FOUR, true, false);
+        final King STUCK = Factory.KingFactory(ChessColor.WHITE, Utilities.SEVEN, Utilities.FOUR, false, false);
+        if(CASTLING != King.GetShared(ChessColor.WHITE, Utilities.SEVEN, Utilities.FOUR, false, true, false) || !CASTLING.CanKingsideCastle() || CASTLING.CanQueensideCastle()){
+            throw new IllegalStateException("A king that can castle was not shared");
+        }else if(STUCK == CASTLING || !STUCK.HasMoved() || STUCK.CanKingsideCastle()){
+            throw new IllegalStateException("A king that cannot castle was not told apart");
+        }else if(Factory.MovedPieceFactory(CASTLING, Utilities.SEVEN, Utilities.FIVE) != King.GetShared(ChessColor.WHITE, Utilities.SEVEN, Utilities.FIVE, true, true, true)){
+            throw new IllegalStateException("A king kept his castling rights after moving");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static Piece Shared(final Piece a_piece);
+
+    SYNOPSIS
+        private static Piece Shared(final Piece a_piece);
+
+        Piece a_piece ------------> A piece on a board.
+
+    DESCRIPTION
+        This method finds the shared piece that should stand for a piece.
+
+    RETURNS
+        Piece: The shared piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Piece Shared(final Piece a_piece){
+        if(a_piece.IsKing()){
+            final King KING = (King) a_piece;
+            return King.GetShared(KING.GetColor(), KING.GetCurrentRow(), KING.GetCurrentColumn(), KING.HasMoved(), KING.CanKingsideCastle(), KING.CanQueensideCastle());
+        }
+        return Piece.GetShared(a_piece.GetPieceType(), a_piece.GetColor(), a_piece.GetCurrentRow(), a_piece.GetCurrentColumn(), a_piece.HasMoved());
+    }
+
+    /**/
+    /*
+    NAME
+        private static boolean CanCastle(final Piece a_piece);
+
+    SYNOPSIS
+        private static boolean CanCastle(final Piece a_piece);
+
+        Piece a_piece ------------> A piece on a board, or null.
+
+    DESCRIPTION
+        This method determines if a piece is a king with any castling rights.
+
+    RETURNS
+        boolean: True if the piece is a king that could castle, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private static boolean CanCastle(final Piece a_piece){
+        return a_piece != null && a_piece.IsKing() && (((King) a_piece).CanKingsideCastle() || ((King) a_piece).CanQueensideCastle());
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Destinations(final ArrayList<Move> a_moves);
+
+    SYNOPSIS
+        private static String Destinations(final ArrayList<Move> a_moves);
+
+        ArrayList<Move> a_moves --> The moves of a piece.
+
+    DESCRIPTION
+        This method lists where the moves go, in order, since moves found
+        on different boards are different objects.
+
+    RETURNS
+        String: The destinations of the moves.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Destinations(final ArrayList<Move> a_moves){
+        final StringBuilder DESTINATIONS = new StringBuilder();
+        for(final Move MOVE : a_moves){
+            DESTINATIONS.append(MOVE.GetNewRow()).append(MOVE.GetNewColumn()).append(Utilities.SPACE);
+        }
+        return DESTINATIONS.toString();
+    }
+}
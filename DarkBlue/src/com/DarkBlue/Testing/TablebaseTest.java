@@ -0,0 +1,495 @@
+package com.DarkBlue.Testing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Tablebase.EndgameMaterial;
+import com.DarkBlue.Tablebase.EndgameTable;
+import com.DarkBlue.Tablebase.EndgameTableWriter;
+import com.DarkBlue.Tablebase.Tablebases;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.FenParser;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that endgame tables are indexed, written, and probed correctly.
+ *
+ * Usage: TablebaseTest [positions]
+ *
+ * Random positions, 20000 by default, of several endings must have the same index
+ * as their mirror images and as their color-swapped twins, and the index every position
+ * turns into must stand for that position. A table of random values is written in small
+ * blocks and read back through a cache too small to hold it, from several threads at once,
+ * and the same table written bit-packed must read back the same without the cache.
+ * Finally, a table that only knows one winning move must make the search play that move
+ * and must replace the evaluation of the positions it has.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class TablebaseTest{
+
+    private static final int DEFAULT_POSITIONS = 20000;
+    private static final String[] ENDINGS = {"KQvK", "KRvK", "KBNvK", "KPvK", "KRvKP", "KPvKP", "KQvKR", "KNNvK"};
+
+    private static final int BLOCK_SIZE = 4096;
+    private static final int CACHE_BLOCKS = Utilities.FOUR;
+
+    // White mates with Qa8, which is the only move the table written for it knows is decisive
+    private static final String ONE_WIN = "7k/8/6K1/8/8/8/8/Q7 w - - 0 1";
+    private static final String AFTER_WIN = "Q6k/8/6K1/8/8/8/8/8 b - - 1 1";
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional number of random positions per ending.
+
+    DESCRIPTION
+        This method runs every check and prints how long probes take.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        int positions = DEFAULT_POSITIONS;
+
+        try{
+            if(a_args.length > Utilities.ZERO){
+                positions = Integer.parseInt(a_args[Utilities.ZERO]);
+            }
+        }catch(NumberFormatException e){
+            System.err.println("Usage: TablebaseTest [positions]");
+            System.exit(Utilities.ONE);
+        }
+
+        Path directory = null;
+        try{
+            final Random RANDOM = new Random(Utilities.ONE);
+            for(final String ENDING : ENDINGS){
+                CheckIndex(EndgameMaterial.Of(ENDING), RANDOM, positions);
+            }
+            System.out.println("indices agree across mirror images, colors, and their positions");
+
+            directory = Files.createTempDirectory("darkblue");
+            CheckTable(directory, RANDOM);
+
+            Files.createDirectory(directory.resolve("search"));
+            CheckSearch(directory.resolve("search"));
+            System.out.println("the search plays and scores from the tables");
+        }catch(IOException | InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }finally{
+            Tablebases.SetActive(null);
+            Delete(directory);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckIndex(final EndgameMaterial a_material, final Random a_random, final int a_positions);
+
+    SYNOPSIS
+        private static void CheckIndex(final EndgameMaterial a_material, final Random a_random, final int a_positions);
+
+        EndgameMaterial a_material -> The ending to check.
+
+        Random a_random ----------> The source of the positions.
+
+        int a_positions ----------> How many positions to check.
+
+    DESCRIPTION
+        This method indexes random positions in every orientation the table treats as the same,
+        and places random indices and indexes the positions they stand for.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckIndex(final EndgameMaterial a_material, final Random a_random, final int a_positions){
+        final byte[] TILES = new byte[Utilities.SIXTY_FOUR];
+
+        for(int i = Utilities.ZERO; i < a_positions; i++){
+            // Any index whose position exists will do as a random position
+            final long RANDOM_INDEX = (long) (a_random.nextDouble() * a_material.GetSize());
+            if(!a_material.Place(RANDOM_INDEX, TILES)){
+                continue;
+            }
+
+            final ChessColor TURN = (RANDOM_INDEX % Utilities.TWO == Utilities.ZERO ? ChessColor.WHITE : ChessColor.BLACK);
+            final long INDEX = a_material.Index(TILES, TURN);
+
+            // The index a position turns into must hold that position, with the stronger side as white
+            final ChessColor STRONG_TURN = (INDEX % Utilities.TWO == Utilities.ZERO ? ChessColor.WHITE : ChessColor.BLACK);
+            if(!a_material.Place(INDEX, TILES) || a_material.Index(TILES, STRONG_TURN) != INDEX){
+                throw new IllegalStateException(a_material.GetName() + " index " + INDEX + " does not index back to itself");
+            }
+
+            // Files can always be mirrored; ranks and the diagonal only without pawns
+            Expect(a_material, Turn(TILES, Utilities.SEVEN, false), STRONG_TURN, INDEX, "with its files mirrored");
+            Expect(a_material, Swap(TILES), (STRONG_TURN.IsWhite() ? ChessColor.BLACK : ChessColor.WHITE), INDEX, "with its colors swapped");
+            if(!a_material.HasPawns()){
+                Expect(a_material, Turn(TILES, 56, false), STRONG_TURN, INDEX, "with its ranks mirrored");
+                Expect(a_material, Turn(TILES, Utilities.ZERO, true), STRONG_TURN, INDEX, "mirrored across the diagonal");
+            }
+
+            if(!EndgameMaterial.NameOf(Swap(TILES)).equals(a_material.GetName())){
+                throw new IllegalStateException(a_material.GetName() + " is named differently with its colors swapped");
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckTable(final Path a_directory, final Random a_random) throws IOException, InterruptedException;
+
+    SYNOPSIS
+        private static void CheckTable(final Path a_directory, final Random a_random) throws IOException, InterruptedException;
+
+        Path a_directory ---------> Where to write the table.
+
+        Random a_random ----------> The source of the values.
+
+    DESCRIPTION
+        This method writes a table of random values and reads every one of them
+        back on several threads through a cache that cannot hold the whole table.
+        The same values are then written bit-packed and read back the same way.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckTable(final Path a_directory, final Random a_random) throws IOException, InterruptedException{
+        final EndgameMaterial MATERIAL = EndgameMaterial.Of("KRvK");
+        final byte[] VALUES = new byte[(int) MATERIAL.GetSize()];
+
+        // Long runs of the same value, as real tables have, with some noise that includes invalid indices
+        for(int i = Utilities.ZERO; i < VALUES.length; i++){
+            VALUES[i] = (i % 97 == Utilities.ZERO || a_random.nextInt(Utilities.EIGHT) == Utilities.ZERO ? (byte) (a_random.nextInt(256) - 128) : (i > Utilities.ZERO ? VALUES[i - Utilities.ONE] : EndgameTable.DRAW));
+        }
+
+        final Path FILE = a_directory.resolve(MATERIAL.GetName() + EndgameTable.EXTENSION);
+        EndgameTableWriter.Write(FILE, MATERIAL, VALUES, BLOCK_SIZE);
+
+        final Tablebases TABLES = new Tablebases(a_directory, CACHE_BLOCKS);
+        if(TABLES.GetTableCount() != Utilities.ONE || TABLES.GetMaxPieces() != Utilities.THREE){
+            throw new IllegalStateException("The table was not loaded");
+        }
+
+        final EndgameTable TABLE = new EndgameTable(FILE, TABLES.GetCache());
+        final double BLOCK_TIME = ReadBack(TABLE, VALUES);
+        System.out.println(String.format(Locale.ROOT, "read %d values back in %.1f ns each, %d cache misses, %d bytes on disk",
+            VALUES.length, BLOCK_TIME, TABLES.GetCache().GetMisses(), Files.size(FILE)));
+
+        if(TABLES.GetCache().GetSize() > CACHE_BLOCKS){
+            throw new IllegalStateException("The cache holds more blocks than it may");
+        }
+
+        Files.delete(FILE);
+
+        EndgameTableWriter.WritePacked(FILE, MATERIAL, VALUES);
+        final long MISSES = TABLES.GetCache().GetMisses();
+        final EndgameTable PACKED = new EndgameTable(FILE, TABLES.GetCache());
+        if(!PACKED.IsPacked()){
+            throw new IllegalStateException("The packed table was not read as one");
+        }
+
+        final double PACKED_TIME = ReadBack(PACKED, VALUES);
+        if(TABLES.GetCache().GetMisses() != MISSES){
+            throw new IllegalStateException("The packed table went through the cache");
+        }
+        System.out.println(String.format(Locale.ROOT, "read %d packed values back in %.1f ns each, %d bytes on disk",
+            VALUES.length, PACKED_TIME, Files.size(FILE)));
+
+        Files.delete(FILE);
+    }
+
+    /**/
+    /*
+    NAME
+        private static double ReadBack(final EndgameTable a_table, final byte[] a_values) throws InterruptedException;
+
+    SYNOPSIS
+        private static double ReadBack(final EndgameTable a_table, final byte[] a_values) throws InterruptedException;
+
+        EndgameTable a_table -----> The table to read.
+
+        byte[] a_values ----------> The values the table was written with.
+
+    DESCRIPTION
+        This method reads every value of a table back on several threads,
+        each walking the table in a different order.
+
+    RETURNS
+        double: How many nanoseconds each value took to read.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double ReadBack(final EndgameTable a_table, final byte[] a_values) throws InterruptedException{
+        final int THREADS = Utilities.FOUR;
+        final ExecutorService POOL = Executors.newFixedThreadPool(THREADS);
+        try{
+            final long START = System.nanoTime();
+            final Future<?>[] READERS = new Future<?>[THREADS];
+
+            for(int thread = Utilities.ZERO; thread < THREADS; thread++){
+                final int FIRST = thread;
+                READERS[thread] = POOL.submit(() -> {
+                    // Each thread walks the table in a different order, so blocks keep being pushed out
+                    for(int i = FIRST; i < a_values.length; i += THREADS){
+                        final int INDEX = (FIRST % Utilities.TWO == Utilities.ZERO ? i : a_values.length - Utilities.ONE - i);
+                        if(a_table.Get(INDEX) != a_values[INDEX]){
+                            throw new IllegalStateException("Index " + INDEX + " did not read back the same");
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            for(final Future<?> READER : READERS){
+                READER.get();
+            }
+
+            return (System.nanoTime() - START) / (double) a_values.length;
+        }catch(java.util.concurrent.ExecutionException e){
+            throw new IllegalStateException(e.getCause().getMessage());
+        }finally{
+            POOL.shutdownNow();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckSearch(final Path a_directory) throws IOException;
+
+    SYNOPSIS
+        private static void CheckSearch(final Path a_directory) throws IOException;
+
+        Path a_directory ---------> Where to write the table.
+
+    DESCRIPTION
+        This method writes a KQvK table where every position is a draw except the one after Qa8,
+        which is a loss for black. The root must play Qa8 without searching, and a search
+        of a drawn position must score it as a draw no matter how much material is on the board.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckSearch(final Path a_directory) throws IOException{
+        final EndgameMaterial MATERIAL = EndgameMaterial.Of("KQvK");
+        final byte[] VALUES = new byte[(int) MATERIAL.GetSize()];
+        VALUES[(int) MATERIAL.Index(Tiles(AFTER_WIN), ChessColor.BLACK)] = EndgameTable.Loss(Utilities.ZERO);
+        EndgameTableWriter.Write(a_directory.resolve(MATERIAL.GetName() + EndgameTable.EXTENSION), MATERIAL, VALUES);
+
+        final Board BOARD = new SanPosition(ONE_WIN).GetBoard();
+        final Player WHITE = new Human(ChessColor.WHITE, BOARD);
+        final Player BLACK = new Human(ChessColor.BLACK, BOARD);
+        WHITE.Refresh(BOARD);
+        BLACK.Refresh(BOARD);
+
+        final double UNKNOWN = Minimax.Recurse(Utilities.ONE, BOARD, WHITE, BLACK, Integer.MIN_VALUE, Integer.MAX_VALUE, false, ChessColor.WHITE);
+
+        Tablebases.SetActive(new Tablebases(a_directory));
+        final Move MOVE = Minimax.MinimaxRoot(Utilities.THREE, BOARD, WHITE, BLACK, true, ChessColor.WHITE, null);
+        if(MOVE == null || MOVE.GetNewRow() != Utilities.ZERO || MOVE.GetNewColumn() != Utilities.ZERO){
+            throw new IllegalStateException("The search did not play the move the table knows wins");
+        }
+
+        final double KNOWN = Minimax.Recurse(Utilities.ONE, BOARD, WHITE, BLACK, Integer.MIN_VALUE, Integer.MAX_VALUE, false, ChessColor.WHITE);
+        if(KNOWN != Utilities.ZERO || UNKNOWN == Utilities.ZERO){
+            throw new IllegalStateException("The search scored a drawn position " + KNOWN + " instead of 0");
+        }
+
+        final Board AFTER = new SanPosition(AFTER_WIN).GetBoard();
+        if(Tablebases.GetActive().Probe(AFTER) != EndgameTable.Loss(Utilities.ZERO) || Minimax.TablebaseScore(EndgameTable.Loss(Utilities.ZERO), ChessColor.BLACK, ChessColor.WHITE) <= Minimax.TABLEBASE_WIN - Utilities.ONE){
+            throw new IllegalStateException("Black is not lost after Qa8");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Expect(final EndgameMaterial a_material, final byte[] a_tiles, final ChessColor a_turn, final long a_index, final String a_how);
+
+    SYNOPSIS
+        private static void Expect(final EndgameMaterial a_material, final byte[] a_tiles, final ChessColor a_turn, final long a_index, final String a_how);
+
+        EndgameMaterial a_material -> The ending.
+
+        byte[] a_tiles -----------> A position that should have the index.
+
+        ChessColor a_turn --------> The side to move.
+
+        long a_index -------------> The index.
+
+        String a_how -------------> How the position was turned, for the error message.
+
+    DESCRIPTION
+        This method checks that a position has the index it should have.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Expect(final EndgameMaterial a_material, final byte[] a_tiles, final ChessColor a_turn, final long a_index, final String a_how){
+        final long INDEX = a_material.Index(a_tiles, a_turn);
+        if(INDEX != a_index){
+            throw new IllegalStateException(a_material.GetName() + " index " + a_index + " became " + INDEX + " " + a_how);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static byte[] Turn(final byte[] a_tiles, final int a_flip, final boolean a_isTransposed);
+
+    SYNOPSIS
+        private static byte[] Turn(final byte[] a_tiles, final int a_flip, final boolean a_isTransposed);
+
+        byte[] a_tiles -----------> A position.
+
+        int a_flip ---------------> 7 to mirror the files, 56 to mirror the ranks, or 0.
+
+        boolean a_isTransposed ---> If the position should be mirrored across the a8-h1 diagonal as well.
+
+    DESCRIPTION
+        This method turns a position over. Mirroring tile numbers across
+        the a8-h1 diagonal is the same as mirroring squares across a1-h8.
+
+    RETURNS
+        byte[]: The turned position.
+
+    AUTHOR
+        Ryan King
+    */
+    private static byte[] Turn(final byte[] a_tiles, final int a_flip, final boolean a_isTransposed){
+        final byte[] TURNED = new byte[Utilities.SIXTY_FOUR];
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            final int TO = (a_isTransposed ? (tile % Utilities.EIGHT) * Utilities.EIGHT + tile / Utilities.EIGHT : tile) ^ a_flip;
+            TURNED[TO] = a_tiles[tile];
+        }
+        return TURNED;
+    }
+
+    /**/
+    /*
+    NAME
+        private static byte[] Swap(final byte[] a_tiles);
+
+    SYNOPSIS
+        private static byte[] Swap(final byte[] a_tiles);
+
+        byte[] a_tiles -----------> A position.
+
+    DESCRIPTION
+        This method mirrors a position's ranks and swaps the colors of its pieces.
+
+    RETURNS
+        byte[]: The swapped position.
+
+    AUTHOR
+        Ryan King
+    */
+    private static byte[] Swap(final byte[] a_tiles){
+        final byte[] SWAPPED = new byte[Utilities.SIXTY_FOUR];
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            final byte CODE = a_tiles[tile];
+            SWAPPED[tile ^ 56] = (CODE == FenParser.EMPTY ? CODE : (byte) (CODE > Utilities.SIX ? CODE - Utilities.SIX : CODE + Utilities.SIX));
+        }
+        return SWAPPED;
+    }
+
+    /**/
+    /*
+    NAME
+        private static byte[] Tiles(final String a_fen);
+
+    SYNOPSIS
+        private static byte[] Tiles(final String a_fen);
+
+        String a_fen -------------> A FEN string.
+
+    DESCRIPTION
+        This method parses the pieces of a position.
+
+    RETURNS
+        byte[]: The 64 piece codes.
+
+    AUTHOR
+        Ryan King
+    */
+    private static byte[] Tiles(final String a_fen){
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_fen)){
+            throw new IllegalArgumentException(PARSER.GetError() + " in " + a_fen);
+        }
+        final byte[] TILES = new byte[Utilities.SIXTY_FOUR];
+        PARSER.CopyTiles(TILES);
+        return TILES;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Delete(final Path a_directory);
+
+    SYNOPSIS
+        private static void Delete(final Path a_directory);
+
+        Path a_directory ---------> The temporary directory, or null if it was never created.
+
+    DESCRIPTION
+        This method deletes the temporary directory and everything in it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Delete(final Path a_directory){
+        if(a_directory == null){
+            return;
+        }
+
+        try(final Stream<Path> PATHS = Files.walk(a_directory)){
+            PATHS.sorted(Comparator.reverseOrder()).forEach(a_path -> a_path.toFile().delete());
+        }catch(IOException e){
+            System.err.println("Could not delete " + a_directory);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.DarkBlue.Testing;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.EvaluationWeights;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Tuning.TexelTuner;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.GameUtilities;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that the tuner reads positions and results as the engine sees them.
+ *
+ * Usage: TexelTunerTest [serial directory]
+ *
+ * The default directory is src/com/DarkBlue/Serial. For the first line of every .fen file,
+ * the features TexelTuner.ExtractFeatures() writes, multiplied by the weights, must equal
+ * the negation of Minimax.Evaluate(board, ChessColor.WHITE). TexelTuner.ParseResult() must
+ * read every label the tuner supports and nothing else, and one epoch over a small labelled
+ * file must lower the loss the epoch before it reported.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class TexelTunerTest{
+
+    private static final String DEFAULT_DIRECTORY = "src/com/DarkBlue/Serial";
+    private static final double TOLERANCE = 1e-9;
+
+    // The most features one position can have, two per piece
+    private static final int MAX_FEATURES = Utilities.TWO * Utilities.SIXTY_FOUR;
+
+    private static final double WHITE_WIN = 1.0;
+    private static final double DRAW = 0.5;
+    private static final double BLACK_WIN = 0.0;
+    private static final double NO_RESULT = -1.0;
+
+    // Lines, and the results the tuner must read from them
+    private static final String[] LABELS = {
+        "4k3/8/8/8/8/8/8/Q3K3 w - - 0 1 [1.0]",
+        "4k3/8/8/8/8/8/8/Q3K3 w - - 0 1 [1]",
+        "4k3/8/8/8/8/8/8/Q3K3 w - - 0 1 c9 \"1-0\";",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 1 [0.5]",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 1 c9 \"1/2-1/2\";",
+        "q3k3/8/8/8/8/8/8/4K3 b - - 0 1 [0.0]",
+        "q3k3/8/8/8/8/8/8/4K3 b - - 0 1 [0]",
+        "q3k3/8/8/8/8/8/8/4K3 b - - 0 1 c9 \"0-1\";",
+        "q3k3/8/8/8/8/8/8/4K3 b - - 10 1",
+        "4k3/8/8/8/8/8/8/4K3 w - - 0 1 // [1.0]",
+        "4k3/8/8/8/8/8/8/4K3",
+        "",
+    };
+
+    private static final double[] RESULTS = {WHITE_WIN, WHITE_WIN, WHITE_WIN, DRAW, DRAW, BLACK_WIN, BLACK_WIN, BLACK_WIN, NO_RESULT, NO_RESULT, NO_RESULT, NO_RESULT};
+
+    // A small dataset the default weights do not fit perfectly
+    private static final String[] DATASET = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 [0.5]",
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNB1KBNR w KQkq - 0 1 [0.0]",
+        "rnb1kbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1 [1.0]",
+        "4k3/8/8/8/8/8/4P3/4K3 w - - 0 1 [1.0]",
+        "4k3/4p3/8/8/8/8/8/4K3 b - - 0 1 [0.0]",
+        "4k3/8/8/8/8/8/8/R3K3 w - - 0 1 [1.0]",
+        "r3k3/8/8/8/8/8/8/4K3 b - - 0 1 [0.0]",
+        "4k3/8/8/3n4/8/8/8/4KB2 w - - 0 1 [0.5]",
+    };
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> The optional directory to read positions from.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        final File DIRECTORY = new File(a_args.length > Utilities.ZERO ? a_args[Utilities.ZERO] : DEFAULT_DIRECTORY);
+        final File[] FILES = DIRECTORY.listFiles();
+
+        if(FILES == null){
+            System.err.println("Usage: TexelTunerTest [serial directory]");
+            System.exit(Utilities.ONE);
+        }
+
+        Arrays.sort(FILES);
+
+        try{
+            final int POSITIONS = CheckFeatures(FILES);
+            CheckResults();
+            final double[] LOSSES = CheckEpoch();
+
+            System.out.println(POSITIONS + " positions were evaluated as the engine evaluates them; the loss went from " + LOSSES[Utilities.ZERO] + " to " + LOSSES[Utilities.ONE]);
+        }catch(IOException | InterruptedException | ExecutionException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int CheckFeatures(final File[] a_files) throws IOException;
+
+    SYNOPSIS
+        private static int CheckFeatures(final File[] a_files) throws IOException;
+
+        File[] a_files -----------> The files to read positions from.
+
+    DESCRIPTION
+        This method compares the dot product of the features of the first
+        position of every .fen file and the active weights with the negation
+        of the engine's own evaluation for white.
+
+    RETURNS
+        int: The number of positions compared.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int CheckFeatures(final File[] a_files) throws IOException{
+        final double[] WEIGHTS = EvaluationWeights.GetActive().ToVector();
+        final int[] INDICES = new int[MAX_FEATURES];
+        final double[] COEFFICIENTS = new double[MAX_FEATURES];
+
+        int positions = Utilities.ZERO;
+        for(final File FILE : a_files){
+            if(!FILE.isFile() || !FILE.getName().endsWith(".fen")){
+                continue;
+            }
+
+            final List<String> LINES = Files.readAllLines(FILE.toPath(), StandardCharsets.UTF_8);
+            if(LINES.isEmpty() || !GameUtilities.IsValidFEN(LINES.get(Utilities.ZERO).trim())){
+                continue;
+            }
+
+            final String FEN = LINES.get(Utilities.ZERO).trim();
+            final Board BOARD = new SanPosition(FEN).GetBoard();
+
+            final int FEATURES = TexelTuner.ExtractFeatures(FEN, INDICES, COEFFICIENTS);
+            if(FEATURES < Utilities.ZERO){
+                throw new IllegalStateException("The features of " + FILE.getName() + " could not be read");
+            }
+
+            double dot = Utilities.ZERO;
+            for(int feature = Utilities.ZERO; feature < FEATURES; feature++){
+                dot += WEIGHTS[INDICES[feature]] * COEFFICIENTS[feature];
+            }
+
+            final double EXPECTED = -Minimax.Evaluate(BOARD, ChessColor.WHITE);
+            if(Math.abs(dot - EXPECTED) > TOLERANCE){
+                throw new IllegalStateException("The features of " + FILE.getName() + " came to " + dot + " instead of " + EXPECTED);
+            }
+            positions++;
+        }
+
+        if(positions == Utilities.ZERO){
+            throw new IllegalStateException("No positions were found");
+        }
+
+        return positions;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckResults();
+
+    SYNOPSIS
+        private static void CheckResults();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks the result read from every labelled line,
+        including lines whose only label is commented out or missing.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckResults(){
+        for(int index = Utilities.ZERO; index < LABELS.length; index++){
+            final double RESULT = TexelTuner.ParseResult(LABELS[index]);
+            if(RESULT != RESULTS[index]){
+                throw new IllegalStateException("The result of \"" + LABELS[index] + "\" was " + RESULT + " instead of " + RESULTS[index]);
+            }
+        }
+
+        if(TexelTuner.ParseResult(null) != NO_RESULT){
+            throw new IllegalStateException("A missing line had a result");
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static double[] CheckEpoch() throws IOException, InterruptedException, ExecutionException;
+
+    SYNOPSIS
+        private static double[] CheckEpoch() throws IOException, InterruptedException, ExecutionException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method tunes the default weights over a small labelled file
+        in one batch. The first epoch reports the loss of the default weights
+        and takes one step, so the second epoch must report a lower loss.
+
+    RETURNS
+        double[]: The losses the two epochs reported.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double[] CheckEpoch() throws IOException, InterruptedException, ExecutionException{
+        final Path FILE = Files.createTempFile("texel", ".epd");
+        final TexelTuner TUNER = new TexelTuner(List.of(FILE), EvaluationWeights.GetDefault(), Utilities.ONE, DATASET.length, TexelTuner.DEFAULT_LEARNING_RATE);
+
+        try{
+            Files.write(FILE, Arrays.asList(DATASET), StandardCharsets.UTF_8);
+            TUNER.FitK();
+
+            final double BEFORE = TUNER.RunEpoch();
+            final double AFTER = TUNER.RunEpoch();
+            if(!(AFTER < BEFORE)){
+                throw new IllegalStateException("One epoch took the loss from " + BEFORE + " to " + AFTER);
+            }
+
+            return new double[]{BEFORE, AFTER};
+        }finally{
+            TUNER.Shutdown();
+            Files.deleteIfExists(FILE);
+        }
+    }
+}
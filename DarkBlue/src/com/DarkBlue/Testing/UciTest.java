@@ -0,0 +1,318 @@
+package com.DarkBlue.Testing;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.UCI.UCI;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This file checks that the UCI front end answers a GUI the way the protocol says.
+ *
+ * Usage: UciTest
+ *
+ * The front end is given commands one at a time and its answers are read back
+ * as they are written. It must identify itself and its options, answer isready,
+ * play a legal move for every kind of go command, including after moves, options,
+ * and a ponderhit, keep searching go infinite until it is told to stop and then
+ * answer at once, and leave the position alone when a move in it is not legal.
+ * With the Statistics option on, a search must report what it counted,
+ * with every depth it searched, before its best move.
+ *
+ * The program exits with status 1 if anything does not match.
+ */
+public final class UciTest{
+
+    // How long any search may take before the test gives up on it, in milliseconds
+    private static final long TIMEOUT = 60000;
+
+    // How long the front end may take to answer a stop command, in milliseconds
+    private static final long STOP_TIME = 2000;
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**/
+    /*
+    NAME
+        public static final void main(final String[] a_args);
+
+    SYNOPSIS
+        public static final void main(final String[] a_args);
+
+        String[] a_args ------> Not used.
+
+    DESCRIPTION
+        This method runs every check.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static final void main(final String[] a_args){
+        try{
+            CheckParse();
+
+            final ByteArrayOutputStream BYTES = new ByteArrayOutputStream();
+            final PrintStream OUTPUT = new PrintStream(BYTES, true, StandardCharsets.UTF_8);
+            final UCI ENGINE = new UCI(new BufferedReader(new StringReader("")), OUTPUT);
+
+            ENGINE.Execute("uci");
+            Expect(BYTES, "option name Hash type spin");
+            Expect(BYTES, "option name Threads type spin");
+            Expect(BYTES, "option name Statistics type check");
+            Expect(BYTES, "uciok");
+
+            ENGINE.Execute("isready");
+            Expect(BYTES, "readyok");
+
+            ENGINE.Execute("ucinewgame");
+            ENGINE.Execute("position startpos moves e2e4 e7e5 g1f3");
+            final SanPosition AFTER_MOVES = new SanPosition();
+            for(final String MOVE : new String[]{"e2e4", "e7e5", "g1f3"}){
+                AFTER_MOVES.Play(PackedMove.Parse(MOVE));
+            }
+            ENGINE.Execute("go depth 2");
+            Expect(BYTES, "info depth 2 ");
+            CheckBestMove(BYTES, AFTER_MOVES, "go depth 2");
+
+            ENGINE.Execute("position fen " + KIWIPETE);
+            ENGINE.Execute("go movetime 300");
+            CheckBestMove(BYTES, new SanPosition(KIWIPETE), "go movetime");
+
+            ENGINE.Execute("position startpos");
+            ENGINE.Execute("go wtime 2000 btime 2000 winc 100 binc 100");
+            CheckBestMove(BYTES, new SanPosition(), "go wtime");
+
+            ENGINE.Execute("go nodes 500");
+            CheckBestMove(BYTES, new SanPosition(), "go nodes");
+
+            ENGINE.Execute("setoption name Hash value 1");
+            ENGINE.Execute("setoption name Threads value 2");
+            ENGINE.Execute("go movetime 300");
+            CheckBestMove(BYTES, new SanPosition(), "two threads");
+            ENGINE.Execute("setoption name Threads value 1");
+
+            // A pondering search only goes on the clock after the ponderhit
+            ENGINE.Execute("go ponder movetime 100");
+            Thread.sleep(500);
+            if(BYTES.toString(StandardCharsets.UTF_8).contains("bestmove")){
+                throw new IllegalStateException("go ponder answered before the ponderhit");
+            }
+            ENGINE.Execute("ponderhit");
+            CheckBestMove(BYTES, new SanPosition(), "ponderhit");
+
+            // An infinite search must not answer until it is stopped, and then right away
+            ENGINE.Execute("go infinite");
+            Thread.sleep(500);
+            if(BYTES.toString(StandardCharsets.UTF_8).contains("bestmove")){
+                throw new IllegalStateException("go infinite answered before it was stopped");
+            }
+            final long START = System.currentTimeMillis();
+            ENGINE.Execute("stop");
+            final long STOPPED = System.currentTimeMillis() - START;
+            if(STOPPED > STOP_TIME){
+                throw new IllegalStateException("stop took " + STOPPED + " ms");
+            }
+            CheckBestMove(BYTES, new SanPosition(), "stop");
+            System.out.println("stop answered in " + STOPPED + " ms");
+
+            // A bad move leaves the last position in place
+            ENGINE.Execute("position startpos moves e2e5");
+            Expect(BYTES, "info string ");
+            ENGINE.Execute("go depth 1");
+            CheckBestMove(BYTES, new SanPosition(), "position with an illegal move");
+
+            // The earlier searches of the starting position would answer every board from the table
+            ENGINE.Execute("ucinewgame");
+            ENGINE.Execute("setoption name Statistics value true");
+            ENGINE.Execute("position startpos");
+            ENGINE.Execute("go depth 3");
+            CheckStatistics(Expect(BYTES, "info string search "));
+            CheckBestMove(BYTES, new SanPosition(), "statistics");
+            ENGINE.Execute("setoption name Statistics value false");
+
+            if(ENGINE.Execute("quit")){
+                throw new IllegalStateException("quit did not end the loop");
+            }
+
+            System.out.println("every command was answered");
+        }catch(InterruptedException | RuntimeException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckParse();
+
+    SYNOPSIS
+        private static void CheckParse();
+
+        No parameters.
+
+    DESCRIPTION
+        This method checks that every move written in UCI notation reads back the same,
+        and that moves that are not written properly are refused.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckParse(){
+        for(int from = Utilities.ZERO; from < Utilities.SIXTY_FOUR; from++){
+            for(int to = Utilities.ZERO; to < Utilities.SIXTY_FOUR; to++){
+                for(int promotion = PackedMove.NO_PROMOTION; promotion <= PackedMove.KNIGHT; promotion++){
+                    final short MOVE = PackedMove.Encode(from, to, promotion);
+                    if(PackedMove.Parse(PackedMove.Append(MOVE, new StringBuilder()).toString()) != MOVE){
+                        throw new IllegalStateException(PackedMove.Append(MOVE, new StringBuilder()) + " does not read back");
+                    }
+                }
+            }
+        }
+
+        for(final String BAD : new String[]{"", "e2", "e2e9", "i2e4", "e7e8k", "e2e4qq"}){
+            try{
+                PackedMove.Parse(BAD);
+                throw new IllegalStateException(BAD + " was read as a move");
+            }catch(IllegalArgumentException e){
+                // Expected
+            }
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckStatistics(final String a_line);
+
+    SYNOPSIS
+        private static void CheckStatistics(final String a_line);
+
+        String a_line ------------> The statistics a depth 3 search of the starting position reported.
+
+    DESCRIPTION
+        This method checks that the search counted boards, leaves, probes, and cutoffs,
+        that no more cutoffs came from first moves than there were, and that all three
+        depths were timed and have a branching factor.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckStatistics(final String a_line){
+        final HashMap<String, String> VALUES = new HashMap<>();
+        for(final String PAIR : a_line.substring("info string search ".length()).split(" ")){
+            final int EQUALS = PAIR.indexOf('=');
+            if(EQUALS > Utilities.ZERO){
+                VALUES.put(PAIR.substring(Utilities.ZERO, EQUALS), PAIR.substring(EQUALS + Utilities.ONE));
+            }
+        }
+
+        for(final String KEY : new String[]{"nodes", "leaves", "tt_probes", "cutoffs"}){
+            if(!VALUES.containsKey(KEY) || Long.parseLong(VALUES.get(KEY)) <= Utilities.ZERO){
+                throw new IllegalStateException("The statistics counted no " + KEY + ": " + a_line);
+            }
+        }
+        if(Long.parseLong(VALUES.get("first_move_cutoffs")) > Long.parseLong(VALUES.get("cutoffs"))){
+            throw new IllegalStateException("The statistics have more first move cutoffs than cutoffs: " + a_line);
+        }
+        if(VALUES.get("iterations").split(",").length != Utilities.THREE || VALUES.get("branching").split(",").length != Utilities.THREE){
+            throw new IllegalStateException("The statistics do not cover every depth: " + a_line);
+        }
+
+        System.out.println(a_line);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void CheckBestMove(final ByteArrayOutputStream a_bytes, final SanPosition a_position, final String a_what) throws InterruptedException;
+
+    SYNOPSIS
+        private static void CheckBestMove(final ByteArrayOutputStream a_bytes, final SanPosition a_position, final String a_what) throws InterruptedException;
+
+        ByteArrayOutputStream a_bytes -> What the front end has written.
+
+        SanPosition a_position ---> The position that was searched.
+
+        String a_what ------------> What is being checked, for the message.
+
+    DESCRIPTION
+        This method waits for a search to answer and checks its move is legal.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void CheckBestMove(final ByteArrayOutputStream a_bytes, final SanPosition a_position, final String a_what) throws InterruptedException{
+        final String LINE = Expect(a_bytes, "bestmove ");
+        final String MOVE = LINE.substring("bestmove ".length()).trim().split(" ")[Utilities.ZERO];
+
+        if(a_position.Find(PackedMove.Parse(MOVE)) == null){
+            throw new IllegalStateException(a_what + " answered with " + MOVE + ", which is not legal in " + a_position.ToFEN());
+        }
+        System.out.println(a_what + ": " + MOVE);
+    }
+
+    /**/
+    /*
+    NAME
+        private static String Expect(final ByteArrayOutputStream a_bytes, final String a_start) throws InterruptedException;
+
+    SYNOPSIS
+        private static String Expect(final ByteArrayOutputStream a_bytes, final String a_start) throws InterruptedException;
+
+        ByteArrayOutputStream a_bytes -> What the front end has written.
+
+        String a_start -----------> What the line to wait for starts with.
+
+    DESCRIPTION
+        This method waits for a line and then forgets everything written up to and including it,
+        so the next wait only sees what comes after.
+
+    RETURNS
+        String: The line.
+
+    AUTHOR
+        Ryan King
+    */
+    private static String Expect(final ByteArrayOutputStream a_bytes, final String a_start) throws InterruptedException{
+        final long DEADLINE = System.currentTimeMillis() + TIMEOUT;
+
+        while(System.currentTimeMillis() < DEADLINE){
+            synchronized(a_bytes){
+                final String TEXT = a_bytes.toString(StandardCharsets.UTF_8);
+                int start = Utilities.ZERO;
+                for(int end = TEXT.indexOf('\n'); end >= Utilities.ZERO; end = TEXT.indexOf('\n', start)){
+                    final String LINE = TEXT.substring(start, end).trim();
+                    start = end + Utilities.ONE;
+                    if(LINE.startsWith(a_start)){
+                        final String REST = TEXT.substring(start);
+                        a_bytes.reset();
+                        a_bytes.writeBytes(REST.getBytes(StandardCharsets.UTF_8));
+                        return LINE;
+                    }
+                }
+            }
+            Thread.sleep(Utilities.TEN);
+        }
+
+        throw new IllegalStateException("Nothing starting with \"" + a_start + "\" was written");
+    }
+}
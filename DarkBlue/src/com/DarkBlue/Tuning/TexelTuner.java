@@ -0,0 +1,854 @@
+package com.DarkBlue.Tuning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.DarkBlue.Piece.PieceType;
+import com.DarkBlue.Player.EvaluationWeights;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class is an offline tool that tunes the weights used by
+ * Minimax.Evaluate() with the method popularized by the Texel engine.
+ *
+ * Every line of a dataset holds a position in FEN and the result of the game
+ * the position was taken from. The result may be written as "[1.0]", "[0.5]", "[0.0]",
+ * "1-0", "1/2-1/2", "0-1", or as an EPD opcode such as c9 "1-0";. Anything following
+ * "//" is treated as a comment, like in bestgameever.txt. Lines without a result are skipped.
+ *
+ * Since the evaluation is a sum of material and positional values, it is linear in its
+ * weights. Each position is turned into a handful of sparse features, i.e. +1 for every
+ * white piece and -1 for every black piece, and the evaluation from white's point of view
+ * is the dot product of those features and the weights. The predicted score is the logistic
+ * function of the evaluation scaled by K, and the weights are adjusted with the Adam optimizer
+ * to minimize the logistic (cross-entropy) loss between the prediction and the actual result.
+ *
+ * Datasets are never loaded into memory. Each epoch streams the files batch by batch:
+ * while the worker pool computes the gradient of one batch across every core, the main
+ * thread reads the next one. Only a bounded sample is kept around for fitting K.
+ *
+ * The tuned weights are written after every epoch in the format read by
+ * EvaluationWeights.Load(), so they can be handed to the engine right away.
+ *
+ * Usage:
+ * java com.DarkBlue.Tuning.TexelTuner [options] dataset...
+ *     -o file ----> The weights file to write (default: tuned.weights)
+ *     -w file ----> The weights file to start from (default: the engine's built-in weights)
+ *     -e n -------> The number of epochs (default: 10)
+ *     -r rate ----> The learning rate (default: 0.1)
+ *     -k value ---> The scaling constant K; it is fitted to the data if this is left out
+ *     -b n -------> The number of positions per batch (default: 16384)
+ *     -t n -------> The number of worker threads (default: every available core)
+ */
+public final class TexelTuner{
+
+    // Default settings
+    public static final String DEFAULT_OUTPUT = "tuned.weights";
+    public static final int DEFAULT_EPOCHS = Utilities.TEN;
+    public static final double DEFAULT_LEARNING_RATE = 0.1;
+    public static final int DEFAULT_BATCH_SIZE = 16384;
+    public static final int K_SAMPLE_SIZE = 100000;
+
+    // Adam optimizer settings
+    private static final double BETA_ONE = 0.9;
+    private static final double BETA_TWO = 0.999;
+    private static final double EPSILON = 1e-8;
+
+    // The most features any one position can have: two for each piece on the board
+    private static final int MAX_FEATURES = Utilities.TWO * Utilities.SIXTY_FOUR;
+
+    // Results of a game
+    private static final double WHITE_WIN = 1.0;
+    private static final double DRAW = 0.5;
+    private static final double BLACK_WIN = 0.0;
+    private static final double NO_RESULT = -1.0;
+
+    private static final String COMMENT = "//";
+
+    private final List<Path> m_datasets;
+    private final EvaluationWeights m_weights;
+    private final int m_threads;
+    private final int m_batchSize;
+    private final double m_learningRate;
+    private final ExecutorService m_pool;
+
+    // The flattened weights being tuned and the optimizer's state
+    private final double[] m_vector;
+    private final double[] m_firstMoment;
+    private final double[] m_secondMoment;
+    private long m_step = Utilities.ZERO;
+
+    // Weights that never change during tuning
+    private final boolean[] m_frozen;
+
+    private double m_k;
+
+    /**/
+    /*
+    NAME
+        public TexelTuner(final List<Path> a_datasets, final EvaluationWeights a_initial, final int a_threads, final int a_batchSize, final double a_learningRate);
+
+    SYNOPSIS
+        public TexelTuner(final List<Path> a_datasets, final EvaluationWeights a_initial, final int a_threads, final int a_batchSize, final double a_learningRate);
+
+        List<Path> a_datasets ----------> The labelled FEN files to tune on.
+
+        EvaluationWeights a_initial ----> The weights to start from.
+
+        int a_threads ------------------> The number of worker threads.
+
+        int a_batchSize ----------------> The number of positions per optimizer step.
+
+        double a_learningRate ----------> The optimizer's learning rate.
+
+    DESCRIPTION
+        This constructor creates a new tuner and its worker pool.
+        The king's material value is frozen since both sides always have exactly one king,
+        which means the data cannot say anything about it.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public TexelTuner(final List<Path> a_datasets, final EvaluationWeights a_initial, final int a_threads, final int a_batchSize, final double a_learningRate){
+        if(a_datasets == null || a_datasets.isEmpty() || a_initial == null || a_threads < Utilities.ONE || a_batchSize < Utilities.ONE || a_learningRate <= Utilities.ZERO){
+            throw new IllegalArgumentException("Invalid argument(s) to TexelTuner constructor");
+        }
+
+        this.m_datasets = new ArrayList<>(a_datasets);
+        this.m_weights = new EvaluationWeights(a_initial);
+        this.m_threads = a_threads;
+        this.m_batchSize = a_batchSize;
+        this.m_learningRate = a_learningRate;
+        this.m_pool = Executors.newFixedThreadPool(a_threads);
+
+        this.m_vector = this.m_weights.ToVector();
+        this.m_firstMoment = new double[EvaluationWeights.SIZE];
+        this.m_secondMoment = new double[EvaluationWeights.SIZE];
+
+        this.m_frozen = new boolean[EvaluationWeights.SIZE];
+        this.m_frozen[EvaluationWeights.MaterialIndex(PieceType.KING)] = true;
+
+        this.m_k = Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> The command line arguments described above.
+
+    DESCRIPTION
+        This method runs the tuner from the command line.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        Path output = Paths.get(DEFAULT_OUTPUT);
+        Path initial = null;
+        int epochs = DEFAULT_EPOCHS;
+        double learningRate = DEFAULT_LEARNING_RATE;
+        double k = Double.NaN;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        final List<Path> DATASETS = new ArrayList<>();
+
+        try{
+            for(int i = Utilities.ZERO; i < a_args.length; i++){
+                switch(a_args[i]){
+                    case "-o": output = Paths.get(a_args[++i]); break;
+                    case "-w": initial = Paths.get(a_args[++i]); break;
+                    case "-e": epochs = Integer.parseInt(a_args[++i]); break;
+                    case "-r": learningRate = Double.parseDouble(a_args[++i]); break;
+                    case "-k": k = Double.parseDouble(a_args[++i]); break;
+                    case "-b": batchSize = Integer.parseInt(a_args[++i]); break;
+                    case "-t": threads = Integer.parseInt(a_args[++i]); break;
+                    default: DATASETS.add(Paths.get(a_args[i]));
+                }
+            }
+        }catch(ArrayIndexOutOfBoundsException | NumberFormatException e){
+            DATASETS.clear();
+        }
+
+        if(DATASETS.isEmpty()){
+            System.err.println("Usage: TexelTuner [-o out] [-w initial] [-e epochs] [-r rate] [-k K] [-b batch] [-t threads] dataset...");
+            System.exit(Utilities.ONE);
+        }
+
+        try{
+            final EvaluationWeights START = (initial == null ? EvaluationWeights.GetDefault() : EvaluationWeights.Load(initial));
+            final TexelTuner TUNER = new TexelTuner(DATASETS, START, threads, batchSize, learningRate);
+
+            try{
+                if(Double.isNaN(k)){
+                    k = TUNER.FitK();
+                }
+                TUNER.SetK(k);
+                System.out.println("K = " + k);
+
+                for(int epoch = Utilities.ONE; epoch <= epochs; epoch++){
+                    final long START_TIME = System.nanoTime();
+                    final double LOSS = TUNER.RunEpoch();
+                    final double SECONDS = (System.nanoTime() - START_TIME) / 1e9;
+                    System.out.println("Epoch " + epoch + ": loss " + LOSS + " (" + SECONDS + " s)");
+
+                    // Write after every epoch so a long run can be stopped at any time
+                    TUNER.GetWeights().Save(output, "Texel-tuned weights after epoch " + epoch + ", K = " + k + ", loss = " + LOSS);
+                }
+            }finally{
+                TUNER.Shutdown();
+            }
+        }catch(IOException | InterruptedException | ExecutionException e){
+            System.err.println("Tuning failed: " + e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final EvaluationWeights GetWeights();
+
+    SYNOPSIS
+        public final EvaluationWeights GetWeights();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns a copy of the weights as they stand after the latest step.
+
+    RETURNS
+        EvaluationWeights: The current weights.
+
+    AUTHOR
+        Ryan King
+    */
+    public final EvaluationWeights GetWeights(){
+        final EvaluationWeights WEIGHTS = new EvaluationWeights(this.m_weights);
+        WEIGHTS.SetVector(this.m_vector);
+        return WEIGHTS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void SetK(final double a_k);
+
+    SYNOPSIS
+        public final void SetK(final double a_k);
+
+        double a_k --------------> The new scaling constant.
+
+    DESCRIPTION
+        This method sets the constant that scales evaluations before
+        they are turned into expected scores.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void SetK(final double a_k){
+        this.m_k = a_k;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Shutdown();
+
+    SYNOPSIS
+        public final void Shutdown();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops the worker pool once tuning is done.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Shutdown(){
+        this.m_pool.shutdown();
+    }
+
+    /**/
+    /*
+    NAME
+        public final double FitK() throws IOException;
+
+    SYNOPSIS
+        public final double FitK() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method finds the scaling constant K that minimizes the loss
+        of the current weights with a golden-section search. Only the first
+        K_SAMPLE_SIZE positions of the datasets are used so that memory stays bounded.
+
+    RETURNS
+        double: The best value of K found.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double FitK() throws IOException{
+        // Keep the evaluation and result of a bounded sample of positions
+        final double[] EVALUATIONS = new double[K_SAMPLE_SIZE];
+        final double[] RESULTS = new double[K_SAMPLE_SIZE];
+        final int[] INDICES = new int[MAX_FEATURES];
+        final double[] COEFFICIENTS = new double[MAX_FEATURES];
+        int count = Utilities.ZERO;
+
+        sampling:
+        for(final Path DATASET : this.m_datasets){
+            try(final BufferedReader READER = Files.newBufferedReader(DATASET, StandardCharsets.UTF_8)){
+                String line;
+                while((line = READER.readLine()) != null){
+                    final double RESULT = ParseResult(line);
+                    if(RESULT == NO_RESULT){
+                        continue;
+                    }
+                    final int FEATURES = ExtractFeatures(line, INDICES, COEFFICIENTS);
+                    if(FEATURES < Utilities.ZERO){
+                        continue;
+                    }
+                    EVALUATIONS[count] = Dot(this.m_vector, INDICES, COEFFICIENTS, FEATURES);
+                    RESULTS[count] = RESULT;
+                    if(++count == K_SAMPLE_SIZE){
+                        break sampling;
+                    }
+                }
+            }
+        }
+
+        if(count == Utilities.ZERO){
+            throw new IOException("No labelled positions were found");
+        }
+
+        // Golden-section search over a range wide enough for any sensible scale
+        final double RATIO = (Math.sqrt(Utilities.FIVE) - Utilities.ONE) / Utilities.TWO;
+        double low = 1e-4, high = Utilities.TWO;
+        double left = high - RATIO * (high - low), right = low + RATIO * (high - low);
+        double leftLoss = SampleLoss(left, EVALUATIONS, RESULTS, count), rightLoss = SampleLoss(right, EVALUATIONS, RESULTS, count);
+
+        for(int i = Utilities.ZERO; i < Utilities.ONE_HUNDRED; i++){
+            if(leftLoss < rightLoss){
+                high = right;
+                right = left;
+                rightLoss = leftLoss;
+                left = high - RATIO * (high - low);
+                leftLoss = SampleLoss(left, EVALUATIONS, RESULTS, count);
+            }else{
+                low = left;
+                left = right;
+                leftLoss = rightLoss;
+                right = low + RATIO * (high - low);
+                rightLoss = SampleLoss(right, EVALUATIONS, RESULTS, count);
+            }
+        }
+
+        return (low + high) / Utilities.TWO;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double SampleLoss(final double a_k, final double[] a_evaluations, final double[] a_results, final int a_count);
+
+    SYNOPSIS
+        private static double SampleLoss(final double a_k, final double[] a_evaluations, final double[] a_results, final int a_count);
+
+        double a_k ---------------> The scaling constant to try.
+
+        double[] a_evaluations ---> The evaluations of the sampled positions.
+
+        double[] a_results -------> The results of the sampled positions.
+
+        int a_count --------------> How many positions were sampled.
+
+    DESCRIPTION
+        This method computes the mean logistic loss of the sample for a given K.
+
+    RETURNS
+        double: The mean loss.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double SampleLoss(final double a_k, final double[] a_evaluations, final double[] a_results, final int a_count){
+        double loss = Utilities.ZERO;
+        for(int i = Utilities.ZERO; i < a_count; i++){
+            loss += Loss(Sigmoid(a_k * a_evaluations[i]), a_results[i]);
+        }
+        return loss / a_count;
+    }
+
+    /**/
+    /*
+    NAME
+        public final double RunEpoch() throws IOException, InterruptedException, ExecutionException;
+
+    SYNOPSIS
+        public final double RunEpoch() throws IOException, InterruptedException, ExecutionException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method streams every dataset once. Lines are collected into batches;
+        while the worker pool computes the gradient of one batch, the next one is read.
+        The weights take one optimizer step per batch.
+
+    RETURNS
+        double: The mean loss over every position seen during the epoch.
+
+    AUTHOR
+        Ryan King
+    */
+    public final double RunEpoch() throws IOException, InterruptedException, ExecutionException{
+        double totalLoss = Utilities.ZERO;
+        long totalPositions = Utilities.ZERO;
+
+        List<Future<double[]>> pending = null;
+        String[] batch = new String[this.m_batchSize];
+        int size = Utilities.ZERO;
+
+        for(final Path DATASET : this.m_datasets){
+            try(final BufferedReader READER = Files.newBufferedReader(DATASET, StandardCharsets.UTF_8)){
+                String line;
+                while((line = READER.readLine()) != null){
+                    batch[size++] = line;
+                    if(size == this.m_batchSize){
+                        // Finish the batch in flight before starting this one so that every step sees fresh weights
+                        if(pending != null){
+                            final double[] SUMMARY = this.Step(pending);
+                            totalLoss += SUMMARY[Utilities.ZERO];
+                            totalPositions += (long)SUMMARY[Utilities.ONE];
+                        }
+                        pending = this.Submit(batch, size);
+                        batch = new String[this.m_batchSize];
+                        size = Utilities.ZERO;
+                    }
+                }
+            }
+        }
+
+        // Flush whatever is left over
+        if(pending != null){
+            final double[] SUMMARY = this.Step(pending);
+            totalLoss += SUMMARY[Utilities.ZERO];
+            totalPositions += (long)SUMMARY[Utilities.ONE];
+        }
+        if(size > Utilities.ZERO){
+            final double[] SUMMARY = this.Step(this.Submit(batch, size));
+            totalLoss += SUMMARY[Utilities.ZERO];
+            totalPositions += (long)SUMMARY[Utilities.ONE];
+        }
+
+        return (totalPositions == Utilities.ZERO ? Utilities.ZERO : totalLoss / totalPositions);
+    }
+
+    /**/
+    /*
+    NAME
+        private List<Future<double[]>> Submit(final String[] a_batch, final int a_size);
+
+    SYNOPSIS
+        private List<Future<double[]>> Submit(final String[] a_batch, final int a_size);
+
+        String[] a_batch ---------> The lines of the batch.
+
+        int a_size ---------------> How many lines of the batch are filled.
+
+    DESCRIPTION
+        This method splits a batch into one slice per worker thread and hands them to the pool.
+        The weights are snapshotted so the workers never see a half-finished step.
+        Each worker returns its own gradient followed by its loss and position count.
+
+    RETURNS
+        List<Future<double[]>>: The pending results of every slice.
+
+    AUTHOR
+        Ryan King
+    */
+    private List<Future<double[]>> Submit(final String[] a_batch, final int a_size){
+        final double[] SNAPSHOT = this.m_vector.clone();
+        final double K = this.m_k;
+        final List<Future<double[]>> FUTURES = new ArrayList<>(this.m_threads);
+        final int SLICE = (a_size + this.m_threads - Utilities.ONE) / this.m_threads;
+
+        for(int start = Utilities.ZERO; start < a_size; start += SLICE){
+            final int FROM = start;
+            final int TO = Math.min(a_size, start + SLICE);
+            FUTURES.add(this.m_pool.submit(() -> Gradient(a_batch, FROM, TO, SNAPSHOT, K)));
+        }
+
+        return FUTURES;
+    }
+
+    /**/
+    /*
+    NAME
+        private double[] Step(final List<Future<double[]>> a_futures) throws InterruptedException, ExecutionException;
+
+    SYNOPSIS
+        private double[] Step(final List<Future<double[]>> a_futures) throws InterruptedException, ExecutionException;
+
+        List<Future<double[]>> a_futures ------> The pending results of every slice of one batch.
+
+    DESCRIPTION
+        This method waits for every slice of a batch, merges their gradients,
+        and moves the weights one Adam step against the mean gradient.
+
+    RETURNS
+        double[]: The summed loss of the batch followed by its number of positions.
+
+    AUTHOR
+        Ryan King
+    */
+    private double[] Step(final List<Future<double[]>> a_futures) throws InterruptedException, ExecutionException{
+        final double[] GRADIENT = new double[EvaluationWeights.SIZE];
+        double loss = Utilities.ZERO;
+        double positions = Utilities.ZERO;
+
+        for(final Future<double[]> FUTURE : a_futures){
+            final double[] PARTIAL = FUTURE.get();
+            for(int i = Utilities.ZERO; i < EvaluationWeights.SIZE; i++){
+                GRADIENT[i] += PARTIAL[i];
+            }
+            loss += PARTIAL[EvaluationWeights.SIZE];
+            positions += PARTIAL[EvaluationWeights.SIZE + Utilities.ONE];
+        }
+
+        if(positions > Utilities.ZERO){
+            this.m_step++;
+            final double CORRECTION_ONE = Utilities.ONE - Math.pow(BETA_ONE, this.m_step);
+            final double CORRECTION_TWO = Utilities.ONE - Math.pow(BETA_TWO, this.m_step);
+
+            for(int i = Utilities.ZERO; i < EvaluationWeights.SIZE; i++){
+                if(this.m_frozen[i]){
+                    continue;
+                }
+                final double G = GRADIENT[i] / positions;
+                this.m_firstMoment[i] = BETA_ONE * this.m_firstMoment[i] + (Utilities.ONE - BETA_ONE) * G;
+                this.m_secondMoment[i] = BETA_TWO * this.m_secondMoment[i] + (Utilities.ONE - BETA_TWO) * G * G;
+                this.m_vector[i] -= this.m_learningRate * (this.m_firstMoment[i] / CORRECTION_ONE) / (Math.sqrt(this.m_secondMoment[i] / CORRECTION_TWO) + EPSILON);
+            }
+        }
+
+        return new double[]{loss, positions};
+    }
+
+    /**/
+    /*
+    NAME
+        private static double[] Gradient(final String[] a_lines, final int a_from, final int a_to, final double[] a_weights, final double a_k);
+
+    SYNOPSIS
+        private static double[] Gradient(final String[] a_lines, final int a_from, final int a_to, final double[] a_weights, final double a_k);
+
+        String[] a_lines ---------> The lines of the batch.
+
+        int a_from ---------------> The first line of this slice.
+
+        int a_to -----------------> One past the last line of this slice.
+
+        double[] a_weights -------> The snapshot of the weights.
+
+        double a_k ---------------> The scaling constant.
+
+    DESCRIPTION
+        This method computes the summed gradient of the logistic loss over one slice of a batch.
+        For a sigmoid prediction p and result r, the derivative of the loss with
+        respect to each weight is K * (p - r) times that weight's feature.
+        Unlabelled and malformed lines are skipped.
+
+    RETURNS
+        double[]: The gradient, followed by the summed loss and the number of positions used.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double[] Gradient(final String[] a_lines, final int a_from, final int a_to, final double[] a_weights, final double a_k){
+        final double[] RESULT = new double[EvaluationWeights.SIZE + Utilities.TWO];
+        final int[] INDICES = new int[MAX_FEATURES];
+        final double[] COEFFICIENTS = new double[MAX_FEATURES];
+
+        for(int line = a_from; line < a_to; line++){
+            final double ACTUAL = ParseResult(a_lines[line]);
+            if(ACTUAL == NO_RESULT){
+                continue;
+            }
+
+            final int FEATURES = ExtractFeatures(a_lines[line], INDICES, COEFFICIENTS);
+            if(FEATURES < Utilities.ZERO){
+                continue;
+            }
+
+            final double PREDICTED = Sigmoid(a_k * Dot(a_weights, INDICES, COEFFICIENTS, FEATURES));
+            final double ERROR = a_k * (PREDICTED - ACTUAL);
+
+            for(int i = Utilities.ZERO; i < FEATURES; i++){
+                RESULT[INDICES[i]] += ERROR * COEFFICIENTS[i];
+            }
+
+            RESULT[EvaluationWeights.SIZE] += Loss(PREDICTED, ACTUAL);
+            RESULT[EvaluationWeights.SIZE + Utilities.ONE]++;
+        }
+
+        return RESULT;
+    }
+
+    /**/
+    /*
+    NAME
+        public static int ExtractFeatures(final String a_line, final int[] a_indices, final double[] a_coefficients);
+
+    SYNOPSIS
+        public static int ExtractFeatures(final String a_line, final int[] a_indices, final double[] a_coefficients);
+
+        String a_line ------------> A line beginning with a FEN string.
+
+        int[] a_indices ----------> Receives the weight index of every feature.
+
+        double[] a_coefficients --> Receives the value of every feature.
+
+    DESCRIPTION
+        This method reads the piece placement field of a FEN string directly,
+        without building a Board, and writes two features per piece:
+        one for its material value and one for its positional value.
+        White pieces count as +1 and black pieces as -1, which makes the
+        dot product of the features and the weights equal to the negation of
+        Minimax.Evaluate(board, ChessColor.WHITE). Coordinates are passed to
+        the weights the same way Minimax.Evaluate() passes them.
+
+    RETURNS
+        int: The number of features written, or -1 if the placement field is malformed.
+
+    AUTHOR
+        Ryan King
+    */
+    public static int ExtractFeatures(final String a_line, final int[] a_indices, final double[] a_coefficients){
+        int count = Utilities.ZERO;
+        int row = Utilities.ZERO, column = Utilities.ZERO;
+
+        for(int i = Utilities.ZERO; i < a_line.length(); i++){
+            final char CHARACTER = a_line.charAt(i);
+
+            if(CHARACTER == Utilities.SPACE){
+                break;
+            }else if(CHARACTER == Utilities.FORWARD_SLASH){
+                if(column != Utilities.EIGHT){
+                    return Utilities.NEGATIVE_ONE;
+                }
+                row++;
+                column = Utilities.ZERO;
+            }else if(CHARACTER >= Utilities.ONE_CHAR && CHARACTER <= Utilities.EIGHT_CHAR){
+                column += CHARACTER - '0';
+            }else{
+                final PieceType TYPE = ToPieceType(CHARACTER);
+                if(TYPE == null || row > Utilities.SEVEN || column > Utilities.SEVEN){
+                    return Utilities.NEGATIVE_ONE;
+                }
+                final ChessColor COLOR = (Character.isUpperCase(CHARACTER) ? ChessColor.WHITE : ChessColor.BLACK);
+                final double SIGN = (COLOR.IsWhite() ? Utilities.ONE : Utilities.NEGATIVE_ONE);
+
+                a_indices[count] = EvaluationWeights.MaterialIndex(TYPE);
+                a_coefficients[count++] = SIGN;
+                a_indices[count] = EvaluationWeights.PositionIndex(COLOR, TYPE, row, column);
+                a_coefficients[count++] = SIGN;
+                column++;
+            }
+        }
+
+        return (row == Utilities.SEVEN && column == Utilities.EIGHT ? count : Utilities.NEGATIVE_ONE);
+    }
+
+    /**/
+    /*
+    NAME
+        public static double ParseResult(final String a_line);
+
+    SYNOPSIS
+        public static double ParseResult(final String a_line);
+
+        String a_line ------------> A labelled line from a dataset.
+
+    DESCRIPTION
+        This method finds the game result on a dataset line.
+        Results are searched for after the first space so that the
+        piece placement field is never mistaken for one.
+
+    RETURNS
+        double: 1.0 for a white win, 0.5 for a draw, 0.0 for a black win, or -1.0 if there is no result.
+
+    AUTHOR
+        Ryan King
+    */
+    public static double ParseResult(final String a_line){
+        if(a_line == null){
+            return NO_RESULT;
+        }
+
+        // Ignore comments
+        final int COMMENT_START = a_line.indexOf(COMMENT);
+        final String LINE = (COMMENT_START >= Utilities.ZERO ? a_line.substring(Utilities.ZERO, COMMENT_START) : a_line);
+
+        final int FIELDS = LINE.indexOf(Utilities.SPACE);
+        if(FIELDS < Utilities.ZERO){
+            return NO_RESULT;
+        }
+        final String REST = LINE.substring(FIELDS);
+
+        // Check for the three usual notations
+        if(REST.contains("1/2-1/2") || REST.contains("[0.5]")){
+            return DRAW;
+        }else if(REST.contains("1-0") || REST.contains("[1.0]") || REST.contains("[1]")){
+            return WHITE_WIN;
+        }else if(REST.contains("0-1") || REST.contains("[0.0]") || REST.contains("[0]")){
+            return BLACK_WIN;
+        }
+
+        return NO_RESULT;
+    }
+
+    /**/
+    /*
+    NAME
+        private static PieceType ToPieceType(final char a_character);
+
+    SYNOPSIS
+        private static PieceType ToPieceType(final char a_character);
+
+        char a_character ---------> A FEN piece letter.
+
+    DESCRIPTION
+        This method converts a FEN piece letter of either case into a piece type.
+
+    RETURNS
+        PieceType: The piece type, or null if the letter is not a piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private static PieceType ToPieceType(final char a_character){
+        switch(Character.toUpperCase(a_character)){
+            case Utilities.WHITE_PAWN_ICON: return PieceType.PAWN;
+            case Utilities.WHITE_ROOK_ICON: return PieceType.ROOK;
+            case Utilities.WHITE_KNIGHT_ICON: return PieceType.KNIGHT;
+            case Utilities.WHITE_BISHOP_ICON: return PieceType.BISHOP;
+            case Utilities.WHITE_QUEEN_ICON: return PieceType.QUEEN;
+            case Utilities.WHITE_KING_ICON: return PieceType.KING;
+            default: return null;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Dot(final double[] a_weights, final int[] a_indices, final double[] a_coefficients, final int a_count);
+
+    SYNOPSIS
+        private static double Dot(final double[] a_weights, final int[] a_indices, final double[] a_coefficients, final int a_count);
+
+        double[] a_weights -------> The flattened weights.
+
+        int[] a_indices ----------> The weight index of every feature.
+
+        double[] a_coefficients --> The value of every feature.
+
+        int a_count --------------> The number of features.
+
+    DESCRIPTION
+        This method evaluates a position from white's point of view.
+
+    RETURNS
+        double: The sparse dot product of the features and the weights.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Dot(final double[] a_weights, final int[] a_indices, final double[] a_coefficients, final int a_count){
+        double sum = Utilities.ZERO;
+        for(int i = Utilities.ZERO; i < a_count; i++){
+            sum += a_weights[a_indices[i]] * a_coefficients[i];
+        }
+        return sum;
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Sigmoid(final double a_value);
+
+    SYNOPSIS
+        private static double Sigmoid(final double a_value);
+
+        double a_value -----------> The scaled evaluation.
+
+    DESCRIPTION
+        This method turns a scaled evaluation into an expected score between 0 and 1.
+
+    RETURNS
+        double: The logistic function of the value.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Sigmoid(final double a_value){
+        return Utilities.ONE / (Utilities.ONE + Math.exp(-a_value));
+    }
+
+    /**/
+    /*
+    NAME
+        private static double Loss(final double a_predicted, final double a_actual);
+
+    SYNOPSIS
+        private static double Loss(final double a_predicted, final double a_actual);
+
+        double a_predicted -------> The expected score.
+
+        double a_actual ----------> The actual result.
+
+    DESCRIPTION
+        This method computes the logistic loss of one prediction.
+        The prediction is clamped away from 0 and 1 so the logarithm stays finite.
+
+    RETURNS
+        double: The cross-entropy between the prediction and the result.
+
+    AUTHOR
+        Ryan King
+    */
+    private static double Loss(final double a_predicted, final double a_actual){
+        final double P = Math.min(Utilities.ONE - EPSILON, Math.max(EPSILON, a_predicted));
+        return -(a_actual * Math.log(P) + (Utilities.ONE - a_actual) * Math.log(Utilities.ONE - P));
+    }
+}
@@ -0,0 +1,262 @@
+package com.DarkBlue.UCI;
+
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class holds the limits of one search as a UCI go command gives them.
+ *
+ * A search stops at the first limit it reaches: a depth, a number of nodes,
+ * or a time that is either given exactly by movetime or worked out from the clock.
+ * From the clock, a search takes an even share of the time left for the moves
+ * still to be played before the next time control, or 30 if there is none,
+ * plus most of the increment, but never more than half of what is left.
+ * A few milliseconds are always held back for the GUI to receive the move.
+ *
+ * A search that is infinite or pondering ignores every limit until it is
+ * told to stop, or in the case of pondering, until the opponent plays the move it expected.
+ */
+public final class SearchLimits{
+
+    public static final int MAX_DEPTH = Utilities.SIXTY_FOUR;
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long OVERHEAD = Utilities.TEN;
+
+    private int m_depth;
+    private long m_nodes;
+    private long m_moveTime;
+    private final long[] m_time;
+    private final long[] m_increment;
+    private int m_movesToGo;
+    private boolean m_isInfinite;
+    private boolean m_isPonder;
+
+    /**/
+    /*
+    NAME
+        public SearchLimits();
+
+    SYNOPSIS
+        public SearchLimits();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates limits that allow a full search to MAX_DEPTH.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public SearchLimits(){
+        this.m_depth = MAX_DEPTH;
+        this.m_nodes = NO_LIMIT;
+        this.m_moveTime = Utilities.ZERO;
+        this.m_time = new long[Utilities.TWO];
+        this.m_increment = new long[Utilities.TWO];
+        this.m_movesToGo = Utilities.ZERO;
+        this.m_isInfinite = false;
+        this.m_isPonder = false;
+    }
+
+    /**/
+    /*
+    NAME
+        public static SearchLimits Parse(final String[] a_tokens, final int a_start);
+
+    SYNOPSIS
+        public static SearchLimits Parse(final String[] a_tokens, final int a_start);
+
+        String[] a_tokens --------> The words of a go command.
+
+        int a_start --------------> Where the words after "go" start.
+
+    DESCRIPTION
+        This method reads the limits of a go command. Words it does not
+        know, such as searchmoves and the moves after it, are skipped.
+
+    RETURNS
+        SearchLimits: The limits.
+
+    AUTHOR
+        Ryan King
+    */
+    public static SearchLimits Parse(final String[] a_tokens, final int a_start){
+        final SearchLimits LIMITS = new SearchLimits();
+
+        try{
+            for(int i = a_start; i < a_tokens.length; i++){
+                switch(a_tokens[i]){
+                    case "depth":
+                        LIMITS.m_depth = Math.max(Utilities.ONE, Math.min(MAX_DEPTH, Integer.parseInt(a_tokens[++i])));
+                        break;
+                    case "nodes":
+                        LIMITS.m_nodes = Math.max(Utilities.ONE, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "movetime":
+                        LIMITS.m_moveTime = Math.max(Utilities.ONE, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "wtime":
+                        LIMITS.m_time[Utilities.ZERO] = Math.max(Utilities.ONE, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "btime":
+                        LIMITS.m_time[Utilities.ONE] = Math.max(Utilities.ONE, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "winc":
+                        LIMITS.m_increment[Utilities.ZERO] = Math.max(Utilities.ZERO, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "binc":
+                        LIMITS.m_increment[Utilities.ONE] = Math.max(Utilities.ZERO, Long.parseLong(a_tokens[++i]));
+                        break;
+                    case "movestogo":
+                        LIMITS.m_movesToGo = Math.max(Utilities.ZERO, Integer.parseInt(a_tokens[++i]));
+                        break;
+                    case "infinite":
+                        LIMITS.m_isInfinite = true;
+                        break;
+                    case "ponder":
+                        LIMITS.m_isPonder = true;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }catch(NumberFormatException | ArrayIndexOutOfBoundsException e){
+            throw new IllegalArgumentException("Invalid go command");
+        }
+
+        return LIMITS;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Budget(final ChessColor a_turn);
+
+    SYNOPSIS
+        public final long Budget(final ChessColor a_turn);
+
+        ChessColor a_turn --------> The side the search is for.
+
+    DESCRIPTION
+        This method works out how long the search may take once it is on the clock.
+
+    RETURNS
+        long: The time in milliseconds, or NO_LIMIT if there is no time limit.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Budget(final ChessColor a_turn){
+        if(this.m_moveTime > Utilities.ZERO){
+            return Math.max(Utilities.ONE, this.m_moveTime - OVERHEAD);
+        }
+
+        final int SIDE = (a_turn.IsWhite() ? Utilities.ZERO : Utilities.ONE);
+        final long TIME = this.m_time[SIDE];
+        if(TIME == Utilities.ZERO){
+            return NO_LIMIT;
+        }
+
+        final int MOVES_TO_GO = (this.m_movesToGo > Utilities.ZERO ? this.m_movesToGo : DEFAULT_MOVES_TO_GO);
+        final long SHARE = TIME / MOVES_TO_GO + this.m_increment[SIDE] * Utilities.THREE / Utilities.FOUR;
+
+        return Math.max(Utilities.ONE, Math.min(SHARE, TIME / Utilities.TWO) - OVERHEAD);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetDepth();
+
+    SYNOPSIS
+        public final int GetDepth();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the deepest the search may go.
+
+    RETURNS
+        int m_depth: The depth, which is MAX_DEPTH if none was given.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetDepth(){
+        return this.m_depth;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long GetNodes();
+
+    SYNOPSIS
+        public final long GetNodes();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the most nodes the search may visit.
+
+    RETURNS
+        long m_nodes: The number of nodes, or NO_LIMIT if none was given.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long GetNodes(){
+        return this.m_nodes;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsInfinite();
+
+    SYNOPSIS
+        public final boolean IsInfinite();
+
+        No parameters.
+
+    DESCRIPTION
+        This method tells if the search must go on until it is told to stop.
+
+    RETURNS
+        boolean m_isInfinite: If the search is infinite.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsInfinite(){
+        return this.m_isInfinite;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsPonder();
+
+    SYNOPSIS
+        public final boolean IsPonder();
+
+        No parameters.
+
+    DESCRIPTION
+        This method tells if the search starts on the opponent's time.
+
+    RETURNS
+        boolean m_isPonder: If the search is pondering.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsPonder(){
+        return this.m_isPonder;
+    }
+}
@@ -0,0 +1,602 @@
+package com.DarkBlue.UCI;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Move.Move;
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Player.Human;
+import com.DarkBlue.Player.Minimax;
+import com.DarkBlue.Player.Player;
+import com.DarkBlue.Player.SearchStatistics;
+import com.DarkBlue.Player.TranspositionTable;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.ChessColor;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+
+/**
+ * This class runs the searches of the UCI front end on threads of their own,
+ * so the front end can go on reading commands and stop a search at any time.
+ *
+ * A search deepens one ply at a time and reports every depth it finishes.
+ * Only finished depths count: once a search is stopped, the move of the
+ * deepest finished depth is played, or if none finished, the best move the
+ * first depth had found so far. A new depth is not started once half of
+ * the time is gone, since it would almost never finish.
+ *
+ * With more than one thread, the extra threads search the same position on
+ * their own and share what they find through the transposition table, half of
+ * them one ply deeper, so the main thread finds more of its boards already searched.
+ * A watchdog thread stops every thread when the time or the nodes run out.
+ *
+ * If search statistics are active, each search ends by reporting them
+ * in an info string just before its best move.
+ */
+public final class Searcher{
+
+    // How often the watchdog checks the limits, in milliseconds
+    private static final long POLL = Utilities.FIVE;
+
+    private static final String NO_MOVE = "0000";
+
+    private final PrintStream m_output;
+
+    // The flag Minimax checks on every searching thread of the current search
+    private final AtomicBoolean m_stop;
+
+    private volatile Thread m_thread;
+    private volatile boolean m_isPondering;
+    private volatile long m_start;
+
+    /**/
+    /*
+    NAME
+        public Searcher(final PrintStream a_output);
+
+    SYNOPSIS
+        public Searcher(final PrintStream a_output);
+
+        PrintStream a_output -----> Where to write info and bestmove.
+
+    DESCRIPTION
+        This constructor creates a searcher that is not searching.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public Searcher(final PrintStream a_output){
+        this.m_output = a_output;
+        this.m_stop = new AtomicBoolean();
+        this.m_thread = null;
+        this.m_isPondering = false;
+        this.m_start = System.nanoTime();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Start(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads);
+
+    SYNOPSIS
+        public final synchronized void Start(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads);
+
+        SanPosition a_position ---> The position to search, which is copied.
+
+        PositionHistory a_history -> The positions of the game up to and including it, which is copied.
+
+        SearchLimits a_limits ----> When to stop.
+
+        int a_threads ------------> How many threads to search with.
+
+    DESCRIPTION
+        This method stops any search already running and starts a new one in the background.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Start(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads){
+        this.Stop();
+
+        final SanPosition POSITION = a_position.Copy();
+        final PositionHistory HISTORY = new PositionHistory(a_history);
+
+        this.m_stop.set(false);
+        this.m_isPondering = a_limits.IsPonder();
+        this.m_start = System.nanoTime();
+
+        final Thread THREAD = new Thread(() -> this.Run(POSITION, HISTORY, a_limits, Math.max(Utilities.ONE, a_threads)), "search");
+        THREAD.setDaemon(true);
+        this.m_thread = THREAD;
+        THREAD.start();
+    }
+
+    /**/
+    /*
+    NAME
+        public final synchronized void Stop();
+
+    SYNOPSIS
+        public final synchronized void Stop();
+
+        No parameters.
+
+    DESCRIPTION
+        This method stops the search, if any, and waits until it has written its best move.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final synchronized void Stop(){
+        this.m_isPondering = false;
+        this.m_stop.set(true);
+        this.Join();
+    }
+
+    /**/
+    /*
+    NAME
+        public final void PonderHit();
+
+    SYNOPSIS
+        public final void PonderHit();
+
+        No parameters.
+
+    DESCRIPTION
+        This method tells a pondering search the opponent played the move
+        it expected, so it goes on searching, now on its own clock.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void PonderHit(){
+        this.m_start = System.nanoTime();
+        this.m_isPondering = false;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Join();
+
+    SYNOPSIS
+        public final void Join();
+
+        No parameters.
+
+    DESCRIPTION
+        This method waits for the search, if any, to finish on its own.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Join(){
+        final Thread THREAD = this.m_thread;
+        if(THREAD == null){
+            return;
+        }
+
+        try{
+            THREAD.join();
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsSearching();
+
+    SYNOPSIS
+        public final boolean IsSearching();
+
+        No parameters.
+
+    DESCRIPTION
+        This method tells if a search is still running.
+
+    RETURNS
+        boolean: If a search has not written its best move yet.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsSearching(){
+        final Thread THREAD = this.m_thread;
+        return THREAD != null && THREAD.isAlive();
+    }
+
+    /**/
+    /*
+    NAME
+        private void Run(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads);
+
+    SYNOPSIS
+        private void Run(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads);
+
+        SanPosition a_position ---> The position to search.
+
+        PositionHistory a_history -> The positions of the game.
+
+        SearchLimits a_limits ----> When to stop.
+
+        int a_threads ------------> How many threads to search with.
+
+    DESCRIPTION
+        This method deepens the search on the main search thread, with the helpers
+        and the watchdog beside it, and writes the best move once it is done.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Run(final SanPosition a_position, final PositionHistory a_history, final SearchLimits a_limits, final int a_threads){
+        final Board BOARD = a_position.GetBoard();
+        final ChessColor TURN = BOARD.WhoseTurnIsIt();
+        final long BUDGET = a_limits.Budget(TURN);
+
+        Minimax.NODES.reset();
+        Minimax.STOP.set(this.m_stop);
+
+        final SearchStatistics STATISTICS = SearchStatistics.GetActive();
+        if(STATISTICS != null){
+            STATISTICS.Begin();
+        }
+
+        final ArrayList<Thread> HELPERS = new ArrayList<>();
+        for(int i = Utilities.ONE; i < a_threads; i++){
+            final int OFFSET = i % Utilities.TWO;
+            HELPERS.add(this.Launch(() -> this.Help(BOARD, a_history, a_limits.GetDepth(), OFFSET), "search helper " + i));
+        }
+        HELPERS.add(this.Launch(() -> this.Watch(a_limits, BUDGET), "search watchdog"));
+
+        final Player[] PLAYERS = Players(BOARD);
+        Move bestMove = null;
+        for(int depth = Utilities.ONE; depth <= a_limits.GetDepth(); depth++){
+            if(depth > Utilities.ONE && !this.m_isPondering && !a_limits.IsInfinite() && this.Elapsed() * Utilities.TWO >= BUDGET){
+                break;
+            }
+
+            Minimax.ROOT_VALUE.remove();
+            final Move MOVE = Minimax.MinimaxRoot(depth, BOARD, PLAYERS[Utilities.ZERO], PLAYERS[Utilities.ONE], true, TURN, a_history);
+
+            if(this.m_stop.get()){
+                if(bestMove == null){
+                    bestMove = MOVE;
+                }
+                break;
+            }
+
+            bestMove = MOVE;
+
+            // A move from the opening book or the endgame tables is played without searching any deeper
+            final Double VALUE = Minimax.ROOT_VALUE.get();
+            if(VALUE == null){
+                break;
+            }
+            this.Info(depth, VALUE, bestMove);
+        }
+
+        // An infinite or pondering search must not answer before it is told to
+        while(!this.m_stop.get() && (this.m_isPondering || a_limits.IsInfinite())){
+            Sleep();
+        }
+
+        this.m_stop.set(true);
+        for(final Thread HELPER : HELPERS){
+            try{
+                HELPER.join();
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if(STATISTICS != null){
+            this.Send("info string " + STATISTICS.End());
+        }
+
+        this.Send("bestmove " + this.ToUCI(bestMove, a_position));
+    }
+
+    /**/
+    /*
+    NAME
+        private void Help(final Board a_board, final PositionHistory a_history, final int a_depth, final int a_offset);
+
+    SYNOPSIS
+        private void Help(final Board a_board, final PositionHistory a_history, final int a_depth, final int a_offset);
+
+        Board a_board ------------> The position to search.
+
+        PositionHistory a_history -> The positions of the game.
+
+        int a_depth --------------> The deepest the search may go.
+
+        int a_offset -------------> How many plies deeper than the main thread to search.
+
+    DESCRIPTION
+        This method deepens the same search as the main thread until it is stopped,
+        only to fill the transposition table. Its moves are never played.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Help(final Board a_board, final PositionHistory a_history, final int a_depth, final int a_offset){
+        Minimax.STOP.set(this.m_stop);
+        final Player[] PLAYERS = Players(a_board);
+
+        for(int depth = Utilities.ONE + a_offset; depth <= a_depth && !this.m_stop.get(); depth++){
+            Minimax.MinimaxRoot(depth, a_board, PLAYERS[Utilities.ZERO], PLAYERS[Utilities.ONE], true, a_board.WhoseTurnIsIt(), a_history);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Watch(final SearchLimits a_limits, final long a_budget);
+
+    SYNOPSIS
+        private void Watch(final SearchLimits a_limits, final long a_budget);
+
+        SearchLimits a_limits ----> When to stop.
+
+        long a_budget ------------> The time the search may take once it is on the clock.
+
+    DESCRIPTION
+        This method stops the search once it runs out of time or nodes.
+        An infinite search is only ever stopped by a stop command, and
+        a pondering one only runs out of time after the ponderhit.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Watch(final SearchLimits a_limits, final long a_budget){
+        while(!this.m_stop.get()){
+            if(!a_limits.IsInfinite() && !this.m_isPondering && (this.Elapsed() >= a_budget || Minimax.NODES.sum() >= a_limits.GetNodes())){
+                this.m_stop.set(true);
+                return;
+            }
+            Sleep();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Info(final int a_depth, final double a_value, final Move a_move);
+
+    SYNOPSIS
+        private void Info(final int a_depth, final double a_value, final Move a_move);
+
+        int a_depth --------------> The depth just finished.
+
+        double a_value -----------> The value of the best move for the side to move.
+
+        Move a_move --------------> The best move.
+
+    DESCRIPTION
+        This method reports a finished depth. The engine counts a pawn as 10,
+        so its values are multiplied by 10 to get centipawns.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Info(final int a_depth, final double a_value, final Move a_move){
+        final long NODES = Minimax.NODES.sum();
+        final long TIME = this.Elapsed();
+        final TranspositionTable TABLE = TranspositionTable.GetActive();
+
+        final StringBuilder LINE = new StringBuilder("info depth ").append(a_depth);
+        LINE.append(" score cp ").append(Math.round(a_value * Utilities.TEN));
+        LINE.append(" nodes ").append(NODES);
+        LINE.append(" nps ").append(NODES * 1000 / Math.max(Utilities.ONE, TIME));
+        LINE.append(" time ").append(TIME);
+        if(TABLE != null){
+            LINE.append(" hashfull ").append(TABLE.Hashfull());
+        }
+        if(a_move != null){
+            LINE.append(" pv ").append(this.ToUCI(a_move, null));
+        }
+
+        this.Send(LINE.toString());
+    }
+
+    /**/
+    /*
+    NAME
+        private String ToUCI(final Move a_move, final SanPosition a_position);
+
+    SYNOPSIS
+        private String ToUCI(final Move a_move, final SanPosition a_position);
+
+        Move a_move --------------> The move, or null if the search found none.
+
+        SanPosition a_position ---> The position to take any legal move from if there is no move, or null.
+
+    DESCRIPTION
+        This method writes a move in UCI notation. The computer always promotes
+        to a queen. A search stopped before it found any move still has to answer,
+        so it answers with the first legal move, or with 0000 if there is none.
+
+    RETURNS
+        String: The move.
+
+    AUTHOR
+        Ryan King
+    */
+    private String ToUCI(final Move a_move, final SanPosition a_position){
+        Move move = a_move;
+        if(move == null && a_position != null && !a_position.GetLegalMoves().isEmpty()){
+            move = a_position.GetLegalMoves().get(Utilities.ZERO);
+        }
+        if(move == null){
+            return NO_MOVE;
+        }
+
+        final Piece PIECE = move.GetPiece();
+        final boolean PROMOTES = PIECE.IsPawn() && (move.GetNewRow() == Utilities.ZERO || move.GetNewRow() == Utilities.SEVEN);
+        return PackedMove.Append(PackedMove.FromMove(move, (PROMOTES ? PackedMove.QUEEN : PackedMove.NO_PROMOTION)), new StringBuilder()).toString();
+    }
+
+    /**/
+    /*
+    NAME
+        private Thread Launch(final Runnable a_task, final String a_name);
+
+    SYNOPSIS
+        private Thread Launch(final Runnable a_task, final String a_name);
+
+        Runnable a_task ----------> What the thread runs.
+
+        String a_name ------------> The thread's name.
+
+    DESCRIPTION
+        This method starts a thread that does not keep the program alive.
+
+    RETURNS
+        Thread: The thread.
+
+    AUTHOR
+        Ryan King
+    */
+    private Thread Launch(final Runnable a_task, final String a_name){
+        final Thread THREAD = new Thread(a_task, a_name);
+        THREAD.setDaemon(true);
+        THREAD.start();
+        return THREAD;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Send(final String a_line);
+
+    SYNOPSIS
+        private void Send(final String a_line);
+
+        String a_line ------------> The line to write.
+
+    DESCRIPTION
+        This method writes a line to the GUI right away.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Send(final String a_line){
+        synchronized(this.m_output){
+            this.m_output.println(a_line);
+            this.m_output.flush();
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private long Elapsed();
+
+    SYNOPSIS
+        private long Elapsed();
+
+        No parameters.
+
+    DESCRIPTION
+        This method finds how long the search has been on the clock.
+
+    RETURNS
+        long: The time in milliseconds.
+
+    AUTHOR
+        Ryan King
+    */
+    private long Elapsed(){
+        return (System.nanoTime() - this.m_start) / 1_000_000;
+    }
+
+    /**/
+    /*
+    NAME
+        private static Player[] Players(final Board a_board);
+
+    SYNOPSIS
+        private static Player[] Players(final Board a_board);
+
+        Board a_board ------------> The board to search.
+
+    DESCRIPTION
+        This method creates the two players a search of a board needs.
+
+    RETURNS
+        Player[]: The white player and the black player, in that order.
+
+    AUTHOR
+        Ryan King
+    */
+    private static Player[] Players(final Board a_board){
+        final Player WHITE = new Human(ChessColor.WHITE, a_board);
+        final Player BLACK = new Human(ChessColor.BLACK, a_board);
+        WHITE.Refresh(a_board);
+        BLACK.Refresh(a_board);
+        return new Player[]{WHITE, BLACK};
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Sleep();
+
+    SYNOPSIS
+        private static void Sleep();
+
+        No parameters.
+
+    DESCRIPTION
+        This method waits a moment before a limit is checked again.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Sleep(){
+        try{
+            Thread.sleep(POLL);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
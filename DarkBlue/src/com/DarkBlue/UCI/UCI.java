@@ -0,0 +1,378 @@
+package com.DarkBlue.UCI;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import com.DarkBlue.PGN.SanPosition;
+import com.DarkBlue.Player.SearchStatistics;
+import com.DarkBlue.Player.TranspositionTable;
+import com.DarkBlue.Record.PackedMove;
+import com.DarkBlue.Utilities.PositionHistory;
+import com.DarkBlue.Utilities.Utilities;
+import com.DarkBlue.Utilities.Zobrist;
+
+/**
+ * This class lets a chess GUI play against the engine without the engine's own GUI,
+ * by speaking the Universal Chess Interface over standard input and output.
+ *
+ * Usage: UCI
+ *
+ * The commands understood are uci, isready, ucinewgame, setoption, position,
+ * go, stop, ponderhit, and quit; anything else is ignored, as the protocol asks.
+ * The options are Hash, the size of the transposition table in megabytes,
+ * Threads, the number of threads to search with, Ponder, which only tells
+ * the GUI that go ponder is understood, and Statistics, which counts what every
+ * search does, shows the counts through JMX, and reports them after every search.
+ *
+ * Searches run in the background on a Searcher, so stop and ponderhit are
+ * read and acted on while the engine thinks. Commands that change the position
+ * or the options wait for any search to finish first.
+ */
+public final class UCI{
+
+    public static final String NAME = "DarkBlue";
+    public static final String AUTHOR = "Ryan King";
+    public static final int MAX_THREADS = Utilities.SIXTY_FOUR;
+
+    private final BufferedReader m_input;
+    private final PrintStream m_output;
+    private final Searcher m_searcher;
+
+    private SanPosition m_position;
+    private PositionHistory m_history;
+    private int m_threads;
+
+    /**/
+    /*
+    NAME
+        public UCI(final BufferedReader a_input, final PrintStream a_output);
+
+    SYNOPSIS
+        public UCI(final BufferedReader a_input, final PrintStream a_output);
+
+        BufferedReader a_input ---> Where the GUI's commands come from.
+
+        PrintStream a_output -----> Where the engine's answers go.
+
+    DESCRIPTION
+        This constructor sets up the starting position, one search thread,
+        and a transposition table of the default size, which it makes the active one.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public UCI(final BufferedReader a_input, final PrintStream a_output){
+        this.m_input = a_input;
+        this.m_output = a_output;
+        this.m_searcher = new Searcher(a_output);
+        this.m_threads = Utilities.ONE;
+        this.SetPosition(new SanPosition(), new String[]{}, Utilities.ZERO);
+        TranspositionTable.SetActive(new TranspositionTable(TranspositionTable.DEFAULT_MEGABYTES));
+    }
+
+    /**/
+    /*
+    NAME
+        public static void main(final String[] a_args);
+
+    SYNOPSIS
+        public static void main(final String[] a_args);
+
+        String[] a_args ---------> Not used.
+
+    DESCRIPTION
+        This method speaks UCI over standard input and output until told to quit.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public static void main(final String[] a_args){
+        final BufferedReader INPUT = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+
+        try{
+            new UCI(INPUT, System.out).Run();
+        }catch(IOException e){
+            System.err.println(e.getMessage());
+            System.exit(Utilities.ONE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Run() throws IOException;
+
+    SYNOPSIS
+        public final void Run() throws IOException;
+
+        No parameters.
+
+    DESCRIPTION
+        This method reads commands until quit or the end of the input,
+        and stops any search still running before it returns.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Run() throws IOException{
+        String line;
+        while((line = this.m_input.readLine()) != null){
+            if(!this.Execute(line.trim())){
+                break;
+            }
+        }
+
+        this.m_searcher.Stop();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Execute(final String a_command);
+
+    SYNOPSIS
+        public final boolean Execute(final String a_command);
+
+        String a_command ---------> One line from the GUI.
+
+    DESCRIPTION
+        This method carries out a single command. A command that cannot
+        be carried out is answered with an info string saying why.
+
+    RETURNS
+        boolean: False if the command was quit, or true otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Execute(final String a_command){
+        final String[] TOKENS = a_command.split("\\s+");
+
+        try{
+            switch(TOKENS[Utilities.ZERO]){
+                case "uci":
+                    this.Send("id name " + NAME);
+                    this.Send("id author " + AUTHOR);
+                    this.Send("option name Hash type spin default " + TranspositionTable.DEFAULT_MEGABYTES + " min 1 max " + TranspositionTable.MAX_MEGABYTES);
+                    this.Send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+                    this.Send("option name Ponder type check default false");
+                    this.Send("option name Statistics type check default false");
+                    this.Send("uciok");
+                    break;
+                case "isready":
+                    this.Send("readyok");
+                    break;
+                case "ucinewgame":
+                    this.m_searcher.Stop();
+                    TranspositionTable.GetActive().Clear();
+                    break;
+                case "setoption":
+                    this.m_searcher.Stop();
+                    this.SetOption(TOKENS);
+                    break;
+                case "position":
+                    this.m_searcher.Stop();
+                    this.Position(TOKENS);
+                    break;
+                case "go":
+                    this.m_searcher.Start(this.m_position, this.m_history, SearchLimits.Parse(TOKENS, Utilities.ONE), this.m_threads);
+                    break;
+                case "stop":
+                    this.m_searcher.Stop();
+                    break;
+                case "ponderhit":
+                    this.m_searcher.PonderHit();
+                    break;
+                case "quit":
+                    return false;
+                default:
+                    break;
+            }
+        }catch(IllegalArgumentException e){
+            this.Send("info string " + e.getMessage());
+        }
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Position(final String[] a_tokens);
+
+    SYNOPSIS
+        private void Position(final String[] a_tokens);
+
+        String[] a_tokens --------> The words of a position command.
+
+    DESCRIPTION
+        This method sets up the position of "position startpos [moves ...]"
+        or "position fen <fen> [moves ...]". The position is left alone
+        if the FEN or any of the moves is not valid.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Position(final String[] a_tokens){
+        int next = Utilities.ONE;
+        final SanPosition POSITION;
+
+        if(a_tokens.length > next && a_tokens[next].equals("startpos")){
+            POSITION = new SanPosition();
+            next++;
+        }else if(a_tokens.length > next && a_tokens[next].equals("fen")){
+            final StringBuilder FEN = new StringBuilder();
+            for(next++; next < a_tokens.length && !a_tokens[next].equals("moves"); next++){
+                FEN.append(FEN.length() == Utilities.ZERO ? "" : " ").append(a_tokens[next]);
+            }
+            POSITION = new SanPosition(FEN.toString());
+        }else{
+            throw new IllegalArgumentException("Invalid position command");
+        }
+
+        if(next < a_tokens.length && a_tokens[next].equals("moves")){
+            next++;
+        }
+
+        this.SetPosition(POSITION, a_tokens, next);
+    }
+
+    /**/
+    /*
+    NAME
+        private void SetPosition(final SanPosition a_position, final String[] a_moves, final int a_start);
+
+    SYNOPSIS
+        private void SetPosition(final SanPosition a_position, final String[] a_moves, final int a_start);
+
+        SanPosition a_position ---> The position the moves start from.
+
+        String[] a_moves ---------> The moves in UCI notation.
+
+        int a_start --------------> Where the moves start.
+
+    DESCRIPTION
+        This method plays the moves and keeps the key of every position
+        along the way so the search can see repetitions of them.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void SetPosition(final SanPosition a_position, final String[] a_moves, final int a_start){
+        final PositionHistory HISTORY = new PositionHistory();
+        HISTORY.Push(Zobrist.Hash(a_position.GetBoard()), a_position.GetBoard().GetHalfmoves());
+
+        for(int i = a_start; i < a_moves.length; i++){
+            a_position.Play(PackedMove.Parse(a_moves[i]));
+            HISTORY.Push(Zobrist.Hash(a_position.GetBoard()), a_position.GetBoard().GetHalfmoves());
+        }
+
+        this.m_position = a_position;
+        this.m_history = HISTORY;
+    }
+
+    /**/
+    /*
+    NAME
+        private void SetOption(final String[] a_tokens);
+
+    SYNOPSIS
+        private void SetOption(final String[] a_tokens);
+
+        String[] a_tokens --------> The words of a setoption command.
+
+    DESCRIPTION
+        This method sets an option from "setoption name <name> value <value>".
+        Option names are not case sensitive, and values out of range are clamped.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void SetOption(final String[] a_tokens){
+        final StringBuilder NAME = new StringBuilder();
+        String value = null;
+
+        for(int i = Utilities.ONE; i < a_tokens.length; i++){
+            if(a_tokens[i].equals("name")){
+                continue;
+            }else if(a_tokens[i].equals("value")){
+                value = (i + Utilities.ONE < a_tokens.length ? a_tokens[i + Utilities.ONE] : null);
+                break;
+            }
+            NAME.append(NAME.length() == Utilities.ZERO ? "" : " ").append(a_tokens[i]);
+        }
+
+        try{
+            switch(NAME.toString().toLowerCase()){
+                case "hash":
+                    final int MEGABYTES = Math.max(Utilities.ONE, Math.min(TranspositionTable.MAX_MEGABYTES, Integer.parseInt(value)));
+                    // Let go of the old table before the new one is allocated
+                    TranspositionTable.SetActive(null);
+                    TranspositionTable.SetActive(new TranspositionTable(MEGABYTES));
+                    break;
+                case "threads":
+                    this.m_threads = Math.max(Utilities.ONE, Math.min(MAX_THREADS, Integer.parseInt(value)));
+                    break;
+                case "ponder":
+                    break;
+                case "statistics":
+                    if(!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)){
+                        throw new IllegalArgumentException("Invalid value for option " + NAME);
+                    }
+                    SearchStatistics.SetActive(Boolean.parseBoolean(value) ? new SearchStatistics() : null);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + NAME);
+            }
+        }catch(NumberFormatException e){
+            throw new IllegalArgumentException("Invalid value for option " + NAME);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private void Send(final String a_line);
+
+    SYNOPSIS
+        private void Send(final String a_line);
+
+        String a_line ------------> The line to write.
+
+    DESCRIPTION
+        This method writes a line to the GUI right away.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Send(final String a_line){
+        synchronized(this.m_output){
+            this.m_output.println(a_line);
+            this.m_output.flush();
+        }
+    }
+}
@@ -1,12 +1,9 @@
 package com.DarkBlue.Utilities;
 
-import com.DarkBlue.Piece.Bishop;
 import com.DarkBlue.Piece.King;
-import com.DarkBlue.Piece.Knight;
 import com.DarkBlue.Piece.Pawn;
 import com.DarkBlue.Piece.Piece;
 import com.DarkBlue.Piece.PieceType;
-import com.DarkBlue.Piece.Queen;
 import com.DarkBlue.Piece.Rook;
 import com.DarkBlue.Board.Tile;
 import com.DarkBlue.Board.Board;
@@ -20,6 +17,8 @@ import com.DarkBlue.Move.RegularMove;
  * This interface contains constructor-like methods that are used in multiple classes
  * to instantiate objects in a controlled way. This is done in order to deny
  * the user control of instantiating an overpowered or otherwise invalid piece or move. 
+ * 
+ * Pieces are immutable, so the piece factories return the pieces every board shares.
  */
 public interface Factory{
 	
@@ -34,10 +33,11 @@ public interface Factory{
         Piece a_candidate ---------------> The piece to be duplicated.
     
     DESCRIPTION
-        This method duplicates the given piece and does not change its current number of moves.
+        This method duplicates the given piece as one that has not moved.
+        A king keeps his castling rights.
     
     RETURNS
-        Piece: The new pawn, rook, knight, bishop, queen, or king with its move count increased by 1, or null on error.
+        Piece: The shared pawn, rook, knight, bishop, queen, or king that has not moved, or null on error.
         One of these two options will always occur.
     
     AUTHOR
@@ -49,16 +49,12 @@ public interface Factory{
     		return null;
     	}
     	
-    	// Make a deep copy of the piece
-        switch(a_candidate.GetPieceType()){
-            case PAWN: return new Pawn(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn());
-            case ROOK: return new Rook(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn());
-            case KNIGHT: return new Knight(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn());
-            case BISHOP: return new Bishop(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn());
-            case QUEEN: return new Queen(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn());
-            case KING: return new King(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), ((King)a_candidate).CanKingsideCastle(), ((King)a_candidate).CanQueensideCastle());
-            default: return null;
+    	// Find the same piece that has not moved
+        if(a_candidate.IsKing()){
+            return King.GetShared(a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), false, ((King)a_candidate).CanKingsideCastle(), ((King)a_candidate).CanQueensideCastle());
         }
+        
+        return Piece.GetShared(a_candidate.GetPieceType(), a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), false);
     }
     
     /**/
@@ -72,10 +68,11 @@ public interface Factory{
         Piece a_candidate ---------------> The piece to be duplicated.
     
     DESCRIPTION
-        This method duplicates the given piece and adds 1 to its current number of moves.
+        This method duplicates the given piece as one that has moved.
+        A king that has moved loses his castling rights.
     
     RETURNS
-        Piece: The new pawn, rook, knight, bishop, queen, or king with its move count increased by 1, or null on error.
+        Piece: The shared pawn, rook, knight, bishop, queen, or king that has moved, or null on error.
         One of these two options will always occur.
     
     AUTHOR
@@ -87,16 +84,8 @@ public interface Factory{
             return null;
         }
     	
-    	// Make a deep copy of the piece that just moved
-        switch(a_candidate.GetPieceType()){
-            case PAWN: return new Pawn(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            case ROOK: return new Rook(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            case KNIGHT: return new Knight(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            case BISHOP: return new Bishop(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            case QUEEN: return new Queen(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            case KING: return new King(a_candidate, a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), a_candidate.HowManyMoves() + Utilities.ONE);
-            default: return null;
-        }
+    	// Find the same piece that has moved
+        return Piece.GetShared(a_candidate.GetPieceType(), a_candidate.GetColor(), a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn(), true);
     }
     
     /**/
@@ -114,10 +103,11 @@ public interface Factory{
         int a_newColumn -----------------> The new column this piece will be moving to.
     
     DESCRIPTION
-        This method duplicates the given piece, places it onto a new tile, and adds 1 to its current number of moves.
+        This method duplicates the given piece as one that has moved onto a new tile.
+        A king that has moved loses his castling rights.
     
     RETURNS
-        Piece: The new pawn, rook, knight, bishop, queen, or king with its move count increased by 1, or null on error.
+        Piece: The shared pawn, rook, knight, bishop, queen, or king that has moved, or null on error.
         One of these two options will always occur.
     
     AUTHOR
@@ -129,16 +119,8 @@ public interface Factory{
     		return null;
     	}
 
-    	// Make a deep copy of the piece that just moved
-        switch(a_candidate.GetPieceType()){
-            case PAWN: return new Pawn(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            case ROOK: return new Rook(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            case KNIGHT: return new Knight(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            case BISHOP: return new Bishop(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            case QUEEN: return new Queen(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            case KING: return new King(a_candidate, a_newRow, a_newColumn, a_candidate.HowManyMoves() + Utilities.ONE);
-            default: return null;
-        }
+    	// Find the same piece that has moved on its new tile
+        return Piece.GetShared(a_candidate.GetPieceType(), a_candidate.GetColor(), a_newRow, a_newColumn, true);
     }
     
     /**/
@@ -182,10 +164,10 @@ public interface Factory{
         
     	// Instantiate the chosen piece
     	switch(a_buttonInt){
-        	case Utilities.ZERO: return new Queen(a_color, a_row, a_column);
-        	case Utilities.ONE: return new Rook(a_color, a_row, a_column);
-        	case Utilities.TWO: return new Bishop(a_color, a_row, a_column);
-        	case Utilities.THREE: return new Knight(a_color, a_row, a_column);
+        	case Utilities.ZERO: return Piece.GetShared(PieceType.QUEEN, a_color, a_row, a_column, false);
+        	case Utilities.ONE: return Piece.GetShared(PieceType.ROOK, a_color, a_row, a_column, false);
+        	case Utilities.TWO: return Piece.GetShared(PieceType.BISHOP, a_color, a_row, a_column, false);
+        	case Utilities.THREE: return Piece.GetShared(PieceType.KNIGHT, a_color, a_row, a_column, false);
         	default: return null;
     	}
     }
@@ -210,11 +192,10 @@ public interface Factory{
 
     DESCRIPTION
         This method creates a king with the given coordinates.
-        A king with the given castling rights and zero moves made is instantiated initially.
-        If he can't castle on either side given the input, a new King object
-        with one move already made and false castling flags for both sides will be 
-        created and returned so that there will be no ambiguities about this king not being able to castle. 
-        Otherwise, the initial king with the given rights will be returned instead.
+        A shared king with the given castling rights and zero moves made is returned.
+        If he can't castle on either side given the input, the shared king
+        with one move already made and false castling flags for both sides
+        is returned instead so that there will be no ambiguities about this king not being able to castle.
     
     RETURNS
         King: A king with the proper castling rights.
@@ -228,17 +209,9 @@ public interface Factory{
             return null;
         }
         
-        // Make a fresh king with the given rights and 0 moves
-        final King KING = new King(a_color, a_row, a_column, a_kingside, a_queenside);
-        
-        // Make a king that has at least 1 move if he can't castle on either side
+        // Use a king that has moved if he can't castle on either side
         // in order to make it unambiguous when the observer reassigns castling rights
-        // The constructor I'm using here automatically sets both castling rights to false
-        if(!a_kingside && !a_queenside){           
-            return new King(KING, a_row, a_column, Utilities.ONE);
-        }else{
-            return KING;
-        }
+        return King.GetShared(a_color, a_row, a_column, !a_kingside && !a_queenside, a_kingside, a_queenside);
     }
     
     /**/
@@ -277,26 +250,12 @@ public interface Factory{
             return null;
         }
         
-        // Make a fresh rook with castling rights
-        final Rook ROOK = new Rook(a_color, a_row, a_column);
-        
-        // Make a rook that has at least 1 move so that it can't castle
+        // Use a rook that has moved so that it can't castle
         // This makes it unambiguous when the observer reassigns castling rights
-        if(BoardUtilities.IsKingsRook(a_color, a_row, a_column) || BoardUtilities.IsQueensRook(a_color, a_row, a_column)){
-            if(BoardUtilities.IsKingsRook(a_color, a_row, a_column)){
-                if(!a_kingside){
-                    return new Rook(ROOK, a_row, a_column, Utilities.ONE);
-                }else{
-                    return ROOK;
-                }
-            }else if(BoardUtilities.IsQueensRook(a_color, a_row, a_column) && !a_queenside){
-                return new Rook(ROOK, a_row, a_column, Utilities.ONE);
-            }else{
-                return ROOK;
-            }
-        }else{
-            return ROOK;
-        }
+        final boolean HAS_MOVED = (BoardUtilities.IsKingsRook(a_color, a_row, a_column) && !a_kingside)
+                || (!BoardUtilities.IsKingsRook(a_color, a_row, a_column) && BoardUtilities.IsQueensRook(a_color, a_row, a_column) && !a_queenside);
+        
+        return (Rook) Piece.GetShared(PieceType.ROOK, a_color, a_row, a_column, HAS_MOVED);
     }
     
     /**/
@@ -379,15 +338,8 @@ public interface Factory{
                 }
             }else{// This could be a regular move, an attacking move, or an en passant move
                 if(MoveEvaluation.IsEnPassantMove(a_candidate, a_destinationRow, a_destinationColumn, a_board)){
-                    // This is an en passant move
-                    final Pawn VICTIM;
-                    
-                    if(BoardUtilities.HasValidCoordinates(a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn() + Utilities.ONE)
-                            && a_board.GetTile(a_candidate.GetCurrentRow(), a_candidate.GetCurrentColumn() + Utilities.ONE).IsOccupied()){
-                        VICTIM = (Pawn) a_board.GetTile(SOURCE_ROW, SOURCE_COLUMN + Utilities.ONE).GetPiece();
-                    }else{
-                        VICTIM = (Pawn) a_board.GetTile(SOURCE_ROW, SOURCE_COLUMN - Utilities.ONE).GetPiece();
-                    }
+                    // This is an en passant move; the victim stands beside the pawn on the destination column
+                    final Pawn VICTIM = (Pawn) a_board.GetTile(SOURCE_ROW, a_destinationColumn).GetPiece();
                     
                     return new EnPassantMove((Pawn)a_candidate, a_destinationRow, a_destinationColumn, VICTIM, a_board);
                 }else{// This isn't an en passant move
@@ -0,0 +1,1297 @@
+package com.DarkBlue.Utilities;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Board.BoardBuilder;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+
+/**
+ * This class parses a string in Forsyth-Edwards Notation (FEN) in a single pass,
+ * validating every field as it reads it.
+ *
+ * The parsed position is kept in primitive fields: one byte per tile,
+ * the side to move, the castling rights as bits, the en passant tile, and both clocks.
+ * A parser can be reused for any number of strings, and once it exists, parsing
+ * allocates nothing, so it can be run over millions of dataset lines without
+ * putting any pressure on the garbage collector. Callers that need the object board
+ * the rest of the engine works with can ask for one with ToBoard() after a successful parse.
+ *
+ * Input can be any CharSequence or the bytes of a ByteBuffer, e.g. a memory-mapped file.
+ * A failed parse never throws; it returns false and records the offset of the
+ * first offending character along with a short description of the problem.
+ *
+ * The same rules as GameUtilities.IsValidFEN() apply:
+ * eight ranks of exactly eight tiles, no pawns on the first or last rank,
+ * exactly one king and at most sixteen pieces per side with no more of each kind
+ * than PieceType.GetLimit() allows, "w" or "b" to move, castling rights
+ * in "KQkq" order or "-", an en passant tile on the third or sixth rank or "-",
+ * a nonnegative halfmove clock, and a positive fullmove clock.
+ * Fields must be separated by exactly one space.
+ */
+public final class FenParser{
+
+    // Castling rights as bits, in the order they are written
+    public static final int WHITE_KINGSIDE = Utilities.ONE;
+    public static final int WHITE_QUEENSIDE = Utilities.TWO;
+    public static final int BLACK_KINGSIDE = Utilities.FOUR;
+    public static final int BLACK_QUEENSIDE = Utilities.EIGHT;
+
+    // The code of an empty tile; a piece is 1 + its color * 6 + its type
+    public static final byte EMPTY = Utilities.ZERO;
+
+    // Cached once, since values() copies the array on every call
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final ChessColor[] COLORS = ChessColor.values();
+
+    // The longest clock that will be read, which keeps the value within an int
+    private static final int MAX_CLOCK_DIGITS = Utilities.NINE;
+
+    // Every problem the parser can report
+    public static final String UNEXPECTED_END = "Unexpected end of input";
+    public static final String INVALID_PIECE = "Invalid piece or digit";
+    public static final String RANK_TOO_LONG = "Rank has more than eight tiles";
+    public static final String RANK_TOO_SHORT = "Rank has fewer than eight tiles";
+    public static final String WRONG_RANK_COUNT = "Board does not have eight ranks";
+    public static final String MISPLACED_PAWN = "Pawn on the first or last rank";
+    public static final String TOO_MANY_PIECES = "Too many pieces of one kind";
+    public static final String MISSING_KING = "Each side must have exactly one king";
+    public static final String TOO_MANY_ON_SIDE = "One side has more than sixteen pieces";
+    public static final String INVALID_TURN = "Side to move must be w or b";
+    public static final String INVALID_CASTLING = "Invalid castling rights";
+    public static final String INVALID_EN_PASSANT = "Invalid en passant tile";
+    public static final String INVALID_CLOCK = "Invalid move clock";
+    public static final String EXPECTED_SPACE = "Expected a single space";
+    public static final String TRAILING_INPUT = "Unexpected input after the fullmove clock";
+
+    // The input being parsed; exactly one of these is set during a parse
+    private CharSequence m_text;
+    private ByteBuffer m_bytes;
+    private int m_limit;
+
+    // The parsed position
+    private final byte[] m_tiles = new byte[Utilities.SIXTY_FOUR];
+    private final int[] m_counts = new int[Utilities.TWO * Utilities.SIX];
+    private ChessColor m_turn;
+    private int m_castling;
+    private int m_enPassantRow;
+    private int m_enPassantColumn;
+    private int m_halfmoves;
+    private int m_fullmoves;
+    private boolean m_hasClocks;
+
+    // The outcome of the last parse
+    private int m_end;
+    private int m_errorOffset;
+    private String m_error;
+
+    /**/
+    /*
+    NAME
+        public FenParser();
+
+    SYNOPSIS
+        public FenParser();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates a parser that has not parsed anything yet.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public FenParser(){
+        this.Reset();
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Parse(final CharSequence a_text);
+
+    SYNOPSIS
+        public final boolean Parse(final CharSequence a_text);
+
+        CharSequence a_text ------> The text to parse.
+
+    DESCRIPTION
+        This method parses a whole string as one FEN string.
+        All six fields are required, and nothing but whitespace may follow them.
+
+    RETURNS
+        boolean: True if the text is a valid FEN string, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Parse(final CharSequence a_text){
+        if(a_text == null){
+            return this.Fail(Utilities.ZERO, UNEXPECTED_END);
+        }
+        this.m_text = a_text;
+        this.m_bytes = null;
+        this.m_limit = a_text.length();
+        return this.Run(Utilities.ZERO, true);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean ParsePrefix(final CharSequence a_text, final int a_start);
+
+    SYNOPSIS
+        public final boolean ParsePrefix(final CharSequence a_text, final int a_start);
+
+        CharSequence a_text ------> The text to parse.
+
+        int a_start --------------> The offset of the first character of the FEN string.
+
+    DESCRIPTION
+        This method parses the FEN string that starts at a_start and stops right after it,
+        which is what dataset lines that put a label after the position need.
+        The move clocks are optional here; they are only read if both of them
+        are whole numbers followed by whitespace or the end of the text.
+        GetEnd() tells where the FEN string stopped.
+
+    RETURNS
+        boolean: True if a valid FEN string starts at a_start, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean ParsePrefix(final CharSequence a_text, final int a_start){
+        if(a_text == null){
+            return this.Fail(a_start, UNEXPECTED_END);
+        }
+        this.m_text = a_text;
+        this.m_bytes = null;
+        this.m_limit = a_text.length();
+        return this.Run(a_start, false);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean Parse(final ByteBuffer a_bytes);
+
+    SYNOPSIS
+        public final boolean Parse(final ByteBuffer a_bytes);
+
+        ByteBuffer a_bytes -------> The bytes to parse, from their position to their limit.
+
+    DESCRIPTION
+        This method parses the remaining bytes of a buffer as one FEN string,
+        one byte per character. The buffer's position is not changed.
+        Offsets are absolute indices into the buffer.
+
+    RETURNS
+        boolean: True if the bytes are a valid FEN string, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean Parse(final ByteBuffer a_bytes){
+        if(a_bytes == null){
+            return this.Fail(Utilities.ZERO, UNEXPECTED_END);
+        }
+        this.m_text = null;
+        this.m_bytes = a_bytes;
+        this.m_limit = a_bytes.limit();
+        return this.Run(a_bytes.position(), true);
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean ParsePrefix(final ByteBuffer a_bytes);
+
+    SYNOPSIS
+        public final boolean ParsePrefix(final ByteBuffer a_bytes);
+
+        ByteBuffer a_bytes -------> The bytes to parse, starting at their position.
+
+    DESCRIPTION
+        This method is the ByteBuffer equivalent of ParsePrefix(CharSequence, int).
+        The buffer's position is not changed.
+
+    RETURNS
+        boolean: True if a valid FEN string starts at the buffer's position, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean ParsePrefix(final ByteBuffer a_bytes){
+        if(a_bytes == null){
+            return this.Fail(Utilities.ZERO, UNEXPECTED_END);
+        }
+        this.m_text = null;
+        this.m_bytes = a_bytes;
+        this.m_limit = a_bytes.limit();
+        return this.Run(a_bytes.position(), false);
+    }
+
+    /**/
+    /*
+    NAME
+        private int At(final int a_index);
+
+    SYNOPSIS
+        private int At(final int a_index);
+
+        int a_index --------------> The offset of the character.
+
+    DESCRIPTION
+        This method reads one character of the input without allocating.
+
+    RETURNS
+        int: The character, or -1 past the end of the input.
+
+    AUTHOR
+        Ryan King
+    */
+    private int At(final int a_index){
+        if(a_index >= this.m_limit){
+            return Utilities.NEGATIVE_ONE;
+        }
+        return (this.m_text != null ? this.m_text.charAt(a_index) : this.m_bytes.get(a_index) & 0xFF);
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean Run(final int a_start, final boolean a_whole);
+
+    SYNOPSIS
+        private boolean Run(final int a_start, final boolean a_whole);
+
+        int a_start --------------> The offset of the first character.
+
+        boolean a_whole ----------> If the input must be nothing but one complete FEN string.
+
+    DESCRIPTION
+        This method walks the input once, field by field, and stops at the first problem.
+
+    RETURNS
+        boolean: True if the parse succeeded, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean Run(final int a_start, final boolean a_whole){
+        this.Reset();
+
+        int i = this.ParsePlacement(a_start);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        i = this.Separator(i);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        // Side to move
+        final int TURN = this.At(i);
+        if(TURN == 'w'){
+            this.m_turn = ChessColor.WHITE;
+        }else if(TURN == 'b'){
+            this.m_turn = ChessColor.BLACK;
+        }else{
+            return this.Fail(i, (TURN < Utilities.ZERO ? UNEXPECTED_END : INVALID_TURN));
+        }
+        i++;
+
+        i = this.Separator(i);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        i = this.ParseCastling(i);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        i = this.Separator(i);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        i = this.ParseEnPassant(i);
+        if(i < Utilities.ZERO){
+            return false;
+        }
+
+        // Both clocks are required in a whole string but optional in a prefix
+        if(a_whole || (this.At(i) == Utilities.SPACE && this.IsClockPair(i + Utilities.ONE))){
+            i = this.Separator(i);
+            if(i < Utilities.ZERO){
+                return false;
+            }
+
+            i = this.ParseClock(i, false);
+            if(i < Utilities.ZERO){
+                return false;
+            }
+
+            i = this.Separator(i);
+            if(i < Utilities.ZERO){
+                return false;
+            }
+
+            i = this.ParseClock(i, true);
+            if(i < Utilities.ZERO){
+                return false;
+            }
+
+            this.m_hasClocks = true;
+        }
+
+        this.m_end = i;
+
+        if(a_whole){
+            for(int j = i; j < this.m_limit; j++){
+                if(!Character.isWhitespace(this.At(j))){
+                    return this.Fail(j, TRAILING_INPUT);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**/
+    /*
+    NAME
+        private int ParsePlacement(final int a_start);
+
+    SYNOPSIS
+        private int ParsePlacement(final int a_start);
+
+        int a_start --------------> The offset of the first rank.
+
+    DESCRIPTION
+        This method reads the piece placement field rank by rank, checking
+        the length of every rank, where pawns stand, and how many of each piece there are.
+
+    RETURNS
+        int: The offset right after the field, or -1 if it is invalid.
+
+    AUTHOR
+        Ryan King
+    */
+    private int ParsePlacement(final int a_start){
+        int row = Utilities.ZERO, column = Utilities.ZERO;
+        int i = a_start;
+
+        while(true){
+            final int CHARACTER = this.At(i);
+
+            if(CHARACTER >= '1' && CHARACTER <= '8'){
+                column += CHARACTER - '0';
+                if(column > Utilities.EIGHT){
+                    return this.FailAt(i, RANK_TOO_LONG);
+                }
+            }else if(CHARACTER == Utilities.FORWARD_SLASH){
+                if(column != Utilities.EIGHT){
+                    return this.FailAt(i, RANK_TOO_SHORT);
+                }
+                if(++row == Utilities.EIGHT){
+                    return this.FailAt(i, WRONG_RANK_COUNT);
+                }
+                column = Utilities.ZERO;
+            }else if(CHARACTER == Utilities.SPACE || CHARACTER < Utilities.ZERO){
+                break;
+            }else{
+                final byte CODE = Code(CHARACTER);
+                if(CODE == EMPTY){
+                    return this.FailAt(i, INVALID_PIECE);
+                }
+                if(column == Utilities.EIGHT){
+                    return this.FailAt(i, RANK_TOO_LONG);
+                }
+
+                final int TYPE = (CODE - Utilities.ONE) % Utilities.SIX;
+                if(TYPE == PieceType.PAWN.ordinal() && (row == Utilities.ZERO || row == Utilities.SEVEN)){
+                    return this.FailAt(i, MISPLACED_PAWN);
+                }
+                if(++this.m_counts[CODE - Utilities.ONE] > TYPES[TYPE].GetLimit()){
+                    return this.FailAt(i, TOO_MANY_PIECES);
+                }
+
+                this.m_tiles[row * Utilities.EIGHT + column] = CODE;
+                column++;
+            }
+
+            i++;
+        }
+
+        if(column != Utilities.EIGHT){
+            return this.FailAt(i, (column == Utilities.ZERO && row == Utilities.ZERO && this.At(i) < Utilities.ZERO ? UNEXPECTED_END : RANK_TOO_SHORT));
+        }
+        if(row != Utilities.SEVEN){
+            return this.FailAt(i, WRONG_RANK_COUNT);
+        }
+
+        // Kings and the total number of pieces can only be checked once the whole board is known
+        for(final ChessColor COLOR : COLORS){
+            final int OFFSET = COLOR.ordinal() * Utilities.SIX;
+            if(this.m_counts[OFFSET + PieceType.KING.ordinal()] != Utilities.ONE){
+                return this.FailAt(a_start, MISSING_KING);
+            }
+
+            int total = Utilities.ZERO;
+            for(int type = Utilities.ZERO; type < Utilities.SIX; type++){
+                total += this.m_counts[OFFSET + type];
+            }
+            if(total > Utilities.SIXTEEN){
+                return this.FailAt(a_start, TOO_MANY_ON_SIDE);
+            }
+        }
+
+        return i;
+    }
+
+    /**/
+    /*
+    NAME
+        private int ParseCastling(final int a_start);
+
+    SYNOPSIS
+        private int ParseCastling(final int a_start);
+
+        int a_start --------------> The offset of the castling rights.
+
+    DESCRIPTION
+        This method reads the castling rights, which must be "-" or
+        a nonempty subset of "KQkq" written in that order.
+
+    RETURNS
+        int: The offset right after the field, or -1 if it is invalid.
+
+    AUTHOR
+        Ryan King
+    */
+    private int ParseCastling(final int a_start){
+        if(this.At(a_start) == Utilities.NO_RIGHTS_OR_TILE){
+            return a_start + Utilities.ONE;
+        }
+
+        int i = a_start;
+        while(true){
+            final int BIT;
+            switch(this.At(i)){
+                case Utilities.WHITE_KING_ICON:  BIT = WHITE_KINGSIDE;
+                break;
+                case Utilities.WHITE_QUEEN_ICON: BIT = WHITE_QUEENSIDE;
+                break;
+                case Utilities.BLACK_KING_ICON:  BIT = BLACK_KINGSIDE;
+                break;
+                case Utilities.BLACK_QUEEN_ICON: BIT = BLACK_QUEENSIDE;
+                break;
+                default: BIT = Utilities.ZERO;
+            }
+
+            if(BIT == Utilities.ZERO){
+                break;
+            }
+
+            // Each right may only appear once and only after the ones before it
+            if(BIT <= this.m_castling){
+                return this.FailAt(i, INVALID_CASTLING);
+            }
+
+            this.m_castling |= BIT;
+            i++;
+        }
+
+        if(i == a_start){
+            return this.FailAt(i, (this.At(i) < Utilities.ZERO ? UNEXPECTED_END : INVALID_CASTLING));
+        }
+
+        return i;
+    }
+
+    /**/
+    /*
+    NAME
+        private int ParseEnPassant(final int a_start);
+
+    SYNOPSIS
+        private int ParseEnPassant(final int a_start);
+
+        int a_start --------------> The offset of the en passant tile.
+
+    DESCRIPTION
+        This method reads the en passant tile, which must be "-" or
+        a file from a to h followed by 3 or 6.
+
+    RETURNS
+        int: The offset right after the field, or -1 if it is invalid.
+
+    AUTHOR
+        Ryan King
+    */
+    private int ParseEnPassant(final int a_start){
+        final int FILE = this.At(a_start);
+
+        if(FILE == Utilities.NO_RIGHTS_OR_TILE){
+            return a_start + Utilities.ONE;
+        }
+
+        if(FILE < 'a' || FILE > 'h'){
+            return this.FailAt(a_start, (FILE < Utilities.ZERO ? UNEXPECTED_END : INVALID_EN_PASSANT));
+        }
+
+        final int RANK = this.At(a_start + Utilities.ONE);
+        if(RANK != '3' && RANK != '6'){
+            return this.FailAt(a_start + Utilities.ONE, (RANK < Utilities.ZERO ? UNEXPECTED_END : INVALID_EN_PASSANT));
+        }
+
+        this.m_enPassantRow = Utilities.EIGHT - (RANK - '0');
+        this.m_enPassantColumn = FILE - 'a';
+
+        return a_start + Utilities.TWO;
+    }
+
+    /**/
+    /*
+    NAME
+        private int ParseClock(final int a_start, final boolean a_isFullmoveClock);
+
+    SYNOPSIS
+        private int ParseClock(final int a_start, final boolean a_isFullmoveClock);
+
+        int a_start --------------> The offset of the first digit.
+
+        boolean a_isFullmoveClock -> If this is the fullmove clock, which must be positive.
+
+    DESCRIPTION
+        This method reads one move clock. It must be a whole number that
+        ends at whitespace or at the end of the input.
+
+    RETURNS
+        int: The offset right after the clock, or -1 if it is invalid.
+
+    AUTHOR
+        Ryan King
+    */
+    private int ParseClock(final int a_start, final boolean a_isFullmoveClock){
+        final int END = this.ClockEnd(a_start);
+
+        if(END < Utilities.ZERO){
+            return this.FailAt(a_start, (this.At(a_start) < Utilities.ZERO ? UNEXPECTED_END : INVALID_CLOCK));
+        }
+
+        int value = Utilities.ZERO;
+        for(int i = a_start; i < END; i++){
+            value = value * Utilities.TEN + (this.At(i) - '0');
+        }
+
+        if(a_isFullmoveClock){
+            if(value < Utilities.ONE){
+                return this.FailAt(a_start, INVALID_CLOCK);
+            }
+            this.m_fullmoves = value;
+        }else{
+            this.m_halfmoves = value;
+        }
+
+        return END;
+    }
+
+    /**/
+    /*
+    NAME
+        private int ClockEnd(final int a_start);
+
+    SYNOPSIS
+        private int ClockEnd(final int a_start);
+
+        int a_start --------------> The offset of the first digit.
+
+    DESCRIPTION
+        This method finds where a clock that starts at a_start ends,
+        without reading its value.
+
+    RETURNS
+        int: The offset right after the last digit, or -1 if there is no valid clock there.
+
+    AUTHOR
+        Ryan King
+    */
+    private int ClockEnd(final int a_start){
+        int i = a_start;
+        while(this.At(i) >= '0' && this.At(i) <= '9'){
+            i++;
+        }
+
+        final int DIGITS = i - a_start;
+        final int NEXT = this.At(i);
+        if(DIGITS == Utilities.ZERO || DIGITS > MAX_CLOCK_DIGITS || (NEXT >= Utilities.ZERO && !Character.isWhitespace(NEXT))){
+            return Utilities.NEGATIVE_ONE;
+        }
+
+        return i;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean IsClockPair(final int a_start);
+
+    SYNOPSIS
+        private boolean IsClockPair(final int a_start);
+
+        int a_start --------------> The offset of the first digit of the halfmove clock.
+
+    DESCRIPTION
+        This method looks ahead to see if two valid clocks separated
+        by one space start at a_start.
+
+    RETURNS
+        boolean: True if both clocks are there, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean IsClockPair(final int a_start){
+        final int END = this.ClockEnd(a_start);
+        return END >= Utilities.ZERO && this.At(END) == Utilities.SPACE && this.ClockEnd(END + Utilities.ONE) >= Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        private int Separator(final int a_index);
+
+    SYNOPSIS
+        private int Separator(final int a_index);
+
+        int a_index --------------> The offset where a space is expected.
+
+    DESCRIPTION
+        This method checks for the single space that separates two fields.
+
+    RETURNS
+        int: The offset right after the space, or -1 if there is none.
+
+    AUTHOR
+        Ryan King
+    */
+    private int Separator(final int a_index){
+        final int CHARACTER = this.At(a_index);
+        if(CHARACTER != Utilities.SPACE){
+            return this.FailAt(a_index, (CHARACTER < Utilities.ZERO ? UNEXPECTED_END : EXPECTED_SPACE));
+        }
+        return a_index + Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        private void Reset();
+
+    SYNOPSIS
+        private void Reset();
+
+        No parameters.
+
+    DESCRIPTION
+        This method clears the result of the previous parse.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private void Reset(){
+        Arrays.fill(this.m_tiles, EMPTY);
+        Arrays.fill(this.m_counts, Utilities.ZERO);
+        this.m_turn = null;
+        this.m_castling = Utilities.ZERO;
+        this.m_enPassantRow = Utilities.NEGATIVE_ONE;
+        this.m_enPassantColumn = Utilities.NEGATIVE_ONE;
+        this.m_halfmoves = Utilities.ZERO;
+        this.m_fullmoves = Utilities.ONE;
+        this.m_hasClocks = false;
+        this.m_end = Utilities.NEGATIVE_ONE;
+        this.m_errorOffset = Utilities.NEGATIVE_ONE;
+        this.m_error = null;
+    }
+
+    /**/
+    /*
+    NAME
+        private boolean Fail(final int a_offset, final String a_error);
+
+    SYNOPSIS
+        private boolean Fail(final int a_offset, final String a_error);
+
+        int a_offset -------------> The offset of the offending character.
+
+        String a_error -----------> The description of the problem.
+
+    DESCRIPTION
+        This method records why and where a parse failed.
+
+    RETURNS
+        boolean: Always false.
+
+    AUTHOR
+        Ryan King
+    */
+    private boolean Fail(final int a_offset, final String a_error){
+        this.m_errorOffset = a_offset;
+        this.m_error = a_error;
+        return false;
+    }
+
+    /**/
+    /*
+    NAME
+        private int FailAt(final int a_offset, final String a_error);
+
+    SYNOPSIS
+        private int FailAt(final int a_offset, final String a_error);
+
+        int a_offset -------------> The offset of the offending character.
+
+        String a_error -----------> The description of the problem.
+
+    DESCRIPTION
+        This method is Fail() for the field readers, which return offsets.
+
+    RETURNS
+        int: Always -1.
+
+    AUTHOR
+        Ryan King
+    */
+    private int FailAt(final int a_offset, final String a_error){
+        this.Fail(a_offset, a_error);
+        return Utilities.NEGATIVE_ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public static byte Code(final int a_character);
+
+    SYNOPSIS
+        public static byte Code(final int a_character);
+
+        int a_character ----------> A FEN piece letter.
+
+    DESCRIPTION
+        This method converts a FEN piece letter into the code of that piece.
+
+    RETURNS
+        byte: 1 + color * 6 + type, or EMPTY if the character is not a piece.
+
+    AUTHOR
+        Ryan King
+    */
+    public static byte Code(final int a_character){
+        switch(a_character){
+            case Utilities.WHITE_PAWN_ICON:   return (byte)(Utilities.ONE + PieceType.PAWN.ordinal());
+            case Utilities.WHITE_ROOK_ICON:   return (byte)(Utilities.ONE + PieceType.ROOK.ordinal());
+            case Utilities.WHITE_KNIGHT_ICON: return (byte)(Utilities.ONE + PieceType.KNIGHT.ordinal());
+            case Utilities.WHITE_BISHOP_ICON: return (byte)(Utilities.ONE + PieceType.BISHOP.ordinal());
+            case Utilities.WHITE_QUEEN_ICON:  return (byte)(Utilities.ONE + PieceType.QUEEN.ordinal());
+            case Utilities.WHITE_KING_ICON:   return (byte)(Utilities.ONE + PieceType.KING.ordinal());
+            case Utilities.BLACK_PAWN_ICON:   return (byte)(Utilities.SEVEN + PieceType.PAWN.ordinal());
+            case Utilities.BLACK_ROOK_ICON:   return (byte)(Utilities.SEVEN + PieceType.ROOK.ordinal());
+            case Utilities.BLACK_KNIGHT_ICON: return (byte)(Utilities.SEVEN + PieceType.KNIGHT.ordinal());
+            case Utilities.BLACK_BISHOP_ICON: return (byte)(Utilities.SEVEN + PieceType.BISHOP.ordinal());
+            case Utilities.BLACK_QUEEN_ICON:  return (byte)(Utilities.SEVEN + PieceType.QUEEN.ordinal());
+            case Utilities.BLACK_KING_ICON:   return (byte)(Utilities.SEVEN + PieceType.KING.ordinal());
+            default:                          return EMPTY;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final byte GetTile(final int a_row, final int a_column);
+
+    SYNOPSIS
+        public final byte GetTile(final int a_row, final int a_column);
+
+        int a_row ----------------> The row of the tile, where 0 is the eighth rank.
+
+        int a_column -------------> The column of the tile, where 0 is the a-file.
+
+    DESCRIPTION
+        This method returns what stands on a tile of the parsed board.
+
+    RETURNS
+        byte: The code of the piece as returned by Code(), or EMPTY.
+
+    AUTHOR
+        Ryan King
+    */
+    public final byte GetTile(final int a_row, final int a_column){
+        return this.m_tiles[a_row * Utilities.EIGHT + a_column];
+    }
+
+    /**/
+    /*
+    NAME
+        public final void CopyTiles(final byte[] a_destination);
+
+    SYNOPSIS
+        public final void CopyTiles(final byte[] a_destination);
+
+        byte[] a_destination -----> An array of at least 64 bytes.
+
+    DESCRIPTION
+        This method copies every tile of the parsed board, starting from a8,
+        for callers that keep positions in the same primitive form.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void CopyTiles(final byte[] a_destination){
+        System.arraycopy(this.m_tiles, Utilities.ZERO, a_destination, Utilities.ZERO, Utilities.SIXTY_FOUR);
+    }
+
+    /**/
+    /*
+    NAME
+        public static ChessColor ColorOf(final byte a_code);
+
+    SYNOPSIS
+        public static ChessColor ColorOf(final byte a_code);
+
+        byte a_code --------------> A piece code that is not EMPTY.
+
+    DESCRIPTION
+        This method returns the color of a coded piece.
+
+    RETURNS
+        ChessColor: The color of the piece.
+
+    AUTHOR
+        Ryan King
+    */
+    public static ChessColor ColorOf(final byte a_code){
+        return (a_code > Utilities.SIX ? ChessColor.BLACK : ChessColor.WHITE);
+    }
+
+    /**/
+    /*
+    NAME
+        public static PieceType TypeOf(final byte a_code);
+
+    SYNOPSIS
+        public static PieceType TypeOf(final byte a_code);
+
+        byte a_code --------------> A piece code that is not EMPTY.
+
+    DESCRIPTION
+        This method returns the type of a coded piece.
+
+    RETURNS
+        PieceType: The type of the piece.
+
+    AUTHOR
+        Ryan King
+    */
+    public static PieceType TypeOf(final byte a_code){
+        return TYPES[(a_code - Utilities.ONE) % Utilities.SIX];
+    }
+
+    /**/
+    /*
+    NAME
+        public final ChessColor WhoseTurnIsIt();
+
+    SYNOPSIS
+        public final ChessColor WhoseTurnIsIt();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the side to move of the parsed position.
+
+    RETURNS
+        ChessColor m_turn: The side to move, or null if the last parse failed before reading it.
+
+    AUTHOR
+        Ryan King
+    */
+    public final ChessColor WhoseTurnIsIt(){
+        return this.m_turn;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetCastlingRights();
+
+    SYNOPSIS
+        public final int GetCastlingRights();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the castling rights of the parsed position.
+
+    RETURNS
+        int m_castling: A combination of WHITE_KINGSIDE, WHITE_QUEENSIDE, BLACK_KINGSIDE, and BLACK_QUEENSIDE.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetCastlingRights(){
+        return this.m_castling;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean CanCastle(final int a_right);
+
+    SYNOPSIS
+        public final boolean CanCastle(final int a_right);
+
+        int a_right --------------> One of WHITE_KINGSIDE, WHITE_QUEENSIDE, BLACK_KINGSIDE, or BLACK_QUEENSIDE.
+
+    DESCRIPTION
+        This method determines if the parsed position grants a castling right.
+
+    RETURNS
+        boolean: True if the right was given, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean CanCastle(final int a_right){
+        return (this.m_castling & a_right) != Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean HasEnPassantTile();
+
+    SYNOPSIS
+        public final boolean HasEnPassantTile();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the parsed position has an en passant tile.
+
+    RETURNS
+        boolean: True if an en passant tile was given, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean HasEnPassantTile(){
+        return this.m_enPassantRow >= Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetEnPassantRow();
+
+    SYNOPSIS
+        public final int GetEnPassantRow();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the row of the en passant tile.
+
+    RETURNS
+        int m_enPassantRow: The row, or -1 if there is no en passant tile.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetEnPassantRow(){
+        return this.m_enPassantRow;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetEnPassantColumn();
+
+    SYNOPSIS
+        public final int GetEnPassantColumn();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the column of the en passant tile.
+
+    RETURNS
+        int m_enPassantColumn: The column, or -1 if there is no en passant tile.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetEnPassantColumn(){
+        return this.m_enPassantColumn;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetHalfmoves();
+
+    SYNOPSIS
+        public final int GetHalfmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the halfmove clock of the parsed position.
+
+    RETURNS
+        int m_halfmoves: The halfmove clock, which is 0 if the clocks were left out.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetHalfmoves(){
+        return this.m_halfmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetFullmoves();
+
+    SYNOPSIS
+        public final int GetFullmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the fullmove clock of the parsed position.
+
+    RETURNS
+        int m_fullmoves: The fullmove clock, which is 1 if the clocks were left out.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetFullmoves(){
+        return this.m_fullmoves;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean HasClocks();
+
+    SYNOPSIS
+        public final boolean HasClocks();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the move clocks were part of the parsed string.
+
+    RETURNS
+        boolean m_hasClocks: True if both clocks were read, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean HasClocks(){
+        return this.m_hasClocks;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetEnd();
+
+    SYNOPSIS
+        public final int GetEnd();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns where the last successfully parsed FEN string ended.
+
+    RETURNS
+        int m_end: The offset right after the last field, or -1 if the last parse failed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetEnd(){
+        return this.m_end;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetErrorOffset();
+
+    SYNOPSIS
+        public final int GetErrorOffset();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns where the last parse failed.
+
+    RETURNS
+        int m_errorOffset: The offset of the offending character, or -1 if the last parse succeeded.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetErrorOffset(){
+        return this.m_errorOffset;
+    }
+
+    /**/
+    /*
+    NAME
+        public final String GetError();
+
+    SYNOPSIS
+        public final String GetError();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns why the last parse failed.
+
+    RETURNS
+        String m_error: One of the error constants of this class, or null if the last parse succeeded.
+
+    AUTHOR
+        Ryan King
+    */
+    public final String GetError(){
+        return this.m_error;
+    }
+
+    /**/
+    /*
+    NAME
+        public final BoardBuilder ToBuilder();
+
+    SYNOPSIS
+        public final BoardBuilder ToBuilder();
+
+        No parameters.
+
+    DESCRIPTION
+        This method sets up a BoardBuilder with the parsed position.
+        Kings and rooks get their castling flags from the parsed rights
+        the same way GameUtilities.ParseRank() gives them theirs,
+        and the builder gets the en passant tile, if any.
+
+    RETURNS
+        BoardBuilder: The builder, or null if the last parse failed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final BoardBuilder ToBuilder(){
+        if(this.m_error != null || this.m_turn == null){
+            return null;
+        }
+
+        final BoardBuilder BUILDER = new BoardBuilder();
+        BUILDER.SetWhoseTurn(this.m_turn);
+        BUILDER.SetHalfmoves(this.m_halfmoves);
+        if(this.HasEnPassantTile()){
+            BUILDER.SetEnPassantTile(this.GetEnPassantRow(), this.GetEnPassantColumn());
+        }
+
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final byte CODE = this.GetTile(row, column);
+                if(CODE != EMPTY){
+                    BUILDER.SetPiece(this.CreatePiece(CODE, row, column));
+                }
+            }
+        }
+
+        return BUILDER;
+    }
+
+    /**/
+    /*
+    NAME
+        public final Board ToBoard();
+
+    SYNOPSIS
+        public final Board ToBoard();
+
+        No parameters.
+
+    DESCRIPTION
+        This method builds the board of the parsed position.
+
+    RETURNS
+        Board: The board, or null if the last parse failed.
+
+    AUTHOR
+        Ryan King
+    */
+    public final Board ToBoard(){
+        final BoardBuilder BUILDER = this.ToBuilder();
+        return (BUILDER == null ? null : BUILDER.Build());
+    }
+
+    /**/
+    /*
+    NAME
+        private Piece CreatePiece(final byte a_code, final int a_row, final int a_column);
+
+    SYNOPSIS
+        private Piece CreatePiece(final byte a_code, final int a_row, final int a_column);
+
+        byte a_code --------------> The code of the piece.
+
+        int a_row ----------------> The row of the piece.
+
+        int a_column -------------> The column of the piece.
+
+    DESCRIPTION
+        This method returns the shared piece for a code.
+
+    RETURNS
+        Piece: The piece.
+
+    AUTHOR
+        Ryan King
+    */
+    private Piece CreatePiece(final byte a_code, final int a_row, final int a_column){
+        final ChessColor COLOR = ColorOf(a_code);
+        final boolean KINGSIDE = this.CanCastle(COLOR.IsWhite() ? WHITE_KINGSIDE : BLACK_KINGSIDE);
+        final boolean QUEENSIDE = this.CanCastle(COLOR.IsWhite() ? WHITE_QUEENSIDE : BLACK_QUEENSIDE);
+
+        switch(TypeOf(a_code)){
+            case PAWN:   return Piece.GetShared(PieceType.PAWN, COLOR, a_row, a_column, false);
+            case ROOK:   return Factory.RookFactory(COLOR, a_row, a_column, KINGSIDE, QUEENSIDE);
+            case KNIGHT: return Piece.GetShared(PieceType.KNIGHT, COLOR, a_row, a_column, false);
+            case BISHOP: return Piece.GetShared(PieceType.BISHOP, COLOR, a_row, a_column, false);
+            case QUEEN:  return Piece.GetShared(PieceType.QUEEN, COLOR, a_row, a_column, false);
+            default:     return Factory.KingFactory(COLOR, a_row, a_column, KINGSIDE, QUEENSIDE);
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package com.DarkBlue.Utilities;
+
+import java.nio.ByteBuffer;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Piece.King;
+
+/**
+ * This interface writes a board in Forsyth-Edwards Notation (FEN)
+ * into a StringBuilder or a ByteBuffer supplied by the caller.
+ *
+ * Nothing is built up out of intermediate strings: every character goes
+ * straight into the destination, so a caller that reuses one builder or buffer
+ * can serialize every position of every game without creating any garbage.
+ * The output is exactly what Board.toString() has always produced, which is
+ * now implemented with this interface, optionally followed by both move clocks.
+ * ByteBuffers receive one byte per character, since FEN is plain ASCII.
+ */
+public interface FenWriter{
+
+    // Enough room for any FEN string, so a fresh builder never has to grow
+    public static final int CAPACITY = 96;
+
+    // The letter of every FenParser piece code, indexed by the code
+    public static final String PIECE_LETTERS = " PRNBQKprnbqk";
+
+    /**/
+    /*
+    NAME
+        public static StringBuilder Write(final Board a_board, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public static StringBuilder Write(final Board a_board, final StringBuilder a_builder);
+
+        Board a_board ------------> The board to serialize.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method appends the board configuration, side to move, castling rights,
+        and en passant tile of a board, the same four fields Board.toString() returns.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static StringBuilder Write(final Board a_board, final StringBuilder a_builder){
+        Fields(a_board, a_builder, null);
+        return a_builder;
+    }
+
+    /**/
+    /*
+    NAME
+        public static StringBuilder Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public static StringBuilder Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder);
+
+        Board a_board ------------> The board to serialize.
+
+        int a_halfmoves ----------> The halfmove clock.
+
+        int a_fullmoves ----------> The fullmove clock.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method appends a complete six-field FEN string.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static StringBuilder Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder){
+        Fields(a_board, a_builder, null);
+        a_builder.append(Utilities.SPACE).append(a_halfmoves).append(Utilities.SPACE).append(a_fullmoves);
+        return a_builder;
+    }
+
+    /**/
+    /*
+    NAME
+        public static ByteBuffer Write(final Board a_board, final ByteBuffer a_buffer);
+
+    SYNOPSIS
+        public static ByteBuffer Write(final Board a_board, final ByteBuffer a_buffer);
+
+        Board a_board ------------> The board to serialize.
+
+        ByteBuffer a_buffer ------> The buffer to write to, starting at its position.
+
+    DESCRIPTION
+        This method is the ByteBuffer equivalent of Write(Board, StringBuilder).
+        The buffer's position is advanced past the written bytes.
+
+    RETURNS
+        ByteBuffer a_buffer: The buffer, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static ByteBuffer Write(final Board a_board, final ByteBuffer a_buffer){
+        Fields(a_board, null, a_buffer);
+        return a_buffer;
+    }
+
+    /**/
+    /*
+    NAME
+        public static ByteBuffer Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final ByteBuffer a_buffer);
+
+    SYNOPSIS
+        public static ByteBuffer Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final ByteBuffer a_buffer);
+
+        Board a_board ------------> The board to serialize.
+
+        int a_halfmoves ----------> The halfmove clock.
+
+        int a_fullmoves ----------> The fullmove clock.
+
+        ByteBuffer a_buffer ------> The buffer to write to, starting at its position.
+
+    DESCRIPTION
+        This method is the ByteBuffer equivalent of Write(Board, int, int, StringBuilder).
+
+    RETURNS
+        ByteBuffer a_buffer: The buffer, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static ByteBuffer Write(final Board a_board, final int a_halfmoves, final int a_fullmoves, final ByteBuffer a_buffer){
+        Fields(a_board, null, a_buffer);
+        Put(null, a_buffer, Utilities.SPACE);
+        PutNumber(a_buffer, a_halfmoves);
+        Put(null, a_buffer, Utilities.SPACE);
+        PutNumber(a_buffer, a_fullmoves);
+        return a_buffer;
+    }
+
+    /**/
+    /*
+    NAME
+        public static StringBuilder Write(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder);
+
+    SYNOPSIS
+        public static StringBuilder Write(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder);
+
+        byte[] a_tiles -----------> The 64 tiles as FenParser piece codes, starting from a8.
+
+        ChessColor a_turn --------> The side to move.
+
+        int a_castling -----------> The castling rights as FenParser castling bits.
+
+        int a_enPassant ----------> The index of the en passant tile, or -1 if there is none.
+
+        int a_halfmoves ----------> The halfmove clock.
+
+        int a_fullmoves ----------> The fullmove clock.
+
+        StringBuilder a_builder --> The builder to append to.
+
+    DESCRIPTION
+        This method appends a complete six-field FEN string of a position
+        held in the primitive form FenParser produces, so that positions that
+        never become Board objects are written exactly like the ones that do.
+
+    RETURNS
+        StringBuilder a_builder: The builder, for chaining.
+
+    AUTHOR
+        Ryan King
+    */
+    public static StringBuilder Write(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant, final int a_halfmoves, final int a_fullmoves, final StringBuilder a_builder){
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            int emptyTiles = Utilities.ZERO;
+
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final byte CODE = a_tiles[row * Utilities.EIGHT + column];
+                if(CODE == FenParser.EMPTY){
+                    emptyTiles++;
+                }else{
+                    if(emptyTiles > Utilities.ZERO){
+                        a_builder.append((char)('0' + emptyTiles));
+                        emptyTiles = Utilities.ZERO;
+                    }
+                    a_builder.append(PIECE_LETTERS.charAt(CODE));
+                }
+            }
+
+            if(emptyTiles > Utilities.ZERO){
+                a_builder.append((char)('0' + emptyTiles));
+            }
+
+            if(row < Utilities.SEVEN){
+                a_builder.append(Utilities.FORWARD_SLASH);
+            }
+        }
+
+        a_builder.append(Utilities.SPACE).append(a_turn.IsWhite() ? 'w' : 'b').append(Utilities.SPACE);
+
+        if(a_castling == Utilities.ZERO){
+            a_builder.append(Utilities.NO_RIGHTS_OR_TILE);
+        }else{
+            PutRights(a_builder, null, a_castling & (FenParser.WHITE_KINGSIDE | FenParser.WHITE_QUEENSIDE), Utilities.WHITE_KING_ICON, Utilities.WHITE_QUEEN_ICON);
+            PutRights(a_builder, null, (a_castling & (FenParser.BLACK_KINGSIDE | FenParser.BLACK_QUEENSIDE)) >> Utilities.TWO, Utilities.BLACK_KING_ICON, Utilities.BLACK_QUEEN_ICON);
+        }
+
+        a_builder.append(Utilities.SPACE);
+        if(a_enPassant >= Utilities.ZERO){
+            a_builder.append((char)(Utilities.A + a_enPassant % Utilities.EIGHT)).append((char)('0' + Utilities.EIGHT - a_enPassant / Utilities.EIGHT));
+        }else{
+            a_builder.append(Utilities.NO_RIGHTS_OR_TILE);
+        }
+
+        return a_builder.append(Utilities.SPACE).append(a_halfmoves).append(Utilities.SPACE).append(a_fullmoves);
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Fields(final Board a_board, final StringBuilder a_builder, final ByteBuffer a_buffer);
+
+    SYNOPSIS
+        private static void Fields(final Board a_board, final StringBuilder a_builder, final ByteBuffer a_buffer);
+
+        Board a_board ------------> The board to serialize.
+
+        StringBuilder a_builder --> The builder to append to, or null.
+
+        ByteBuffer a_buffer ------> The buffer to write to if there is no builder.
+
+    DESCRIPTION
+        This method writes the first four fields of a FEN string.
+
+        White pieces are written with capital letters and black pieces with lowercase ones.
+        Consecutive empty tiles on a rank are written as one digit, and ranks are separated by
+        forward slashes, starting from the eighth rank. The side to move is "w" or "b".
+        A side's castling rights come from an unmoved king with an unmoved rook on that side,
+        white's before black's and kingside before queenside. A side without a king contributes
+        nothing, and if neither side has any rights a hyphen-minus is written instead,
+        which is what Board.toString() has always done. The en passant tile is written
+        in algebraic notation, or as a hyphen-minus if there is none.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Fields(final Board a_board, final StringBuilder a_builder, final ByteBuffer a_buffer){
+        // Board configuration
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            int emptyTiles = Utilities.ZERO;
+
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final Tile TILE = a_board.GetTile(row, column);
+                if(TILE.IsEmpty()){
+                    emptyTiles++;
+                }else{
+                    if(emptyTiles > Utilities.ZERO){
+                        Put(a_builder, a_buffer, (char)('0' + emptyTiles));
+                        emptyTiles = Utilities.ZERO;
+                    }
+                    Put(a_builder, a_buffer, TILE.GetPiece().GetIcon());
+                }
+            }
+
+            if(emptyTiles > Utilities.ZERO){
+                Put(a_builder, a_buffer, (char)('0' + emptyTiles));
+            }
+
+            if(row < Utilities.SEVEN){
+                Put(a_builder, a_buffer, Utilities.FORWARD_SLASH);
+            }
+        }
+
+        // Side to move
+        Put(a_builder, a_buffer, Utilities.SPACE);
+        Put(a_builder, a_buffer, (a_board.WhoseTurnIsIt().IsWhite() ? 'w' : 'b'));
+
+        // Castling rights
+        Put(a_builder, a_buffer, Utilities.SPACE);
+        final King WHITE_KING = a_board.GetKing(ChessColor.WHITE);
+        final King BLACK_KING = a_board.GetKing(ChessColor.BLACK);
+        final int WHITE_RIGHTS = Rights(a_board, WHITE_KING);
+        final int BLACK_RIGHTS = Rights(a_board, BLACK_KING);
+
+        // A missing king is not the same as a king without rights here
+        if(WHITE_RIGHTS == Utilities.ZERO && WHITE_KING != null && BLACK_RIGHTS == Utilities.ZERO && BLACK_KING != null){
+            Put(a_builder, a_buffer, Utilities.NO_RIGHTS_OR_TILE);
+        }else{
+            PutRights(a_builder, a_buffer, WHITE_RIGHTS, Utilities.WHITE_KING_ICON, Utilities.WHITE_QUEEN_ICON);
+            PutRights(a_builder, a_buffer, BLACK_RIGHTS, Utilities.BLACK_KING_ICON, Utilities.BLACK_QUEEN_ICON);
+        }
+
+        // En passant tile
+        Put(a_builder, a_buffer, Utilities.SPACE);
+        final Tile EN_PASSANT = a_board.GetEnPassantTile();
+        if(EN_PASSANT != null){
+            Put(a_builder, a_buffer, (char)(Utilities.A + EN_PASSANT.GetColumn()));
+            Put(a_builder, a_buffer, (char)('0' + Utilities.EIGHT - EN_PASSANT.GetRow()));
+        }else{
+            Put(a_builder, a_buffer, Utilities.NO_RIGHTS_OR_TILE);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Rights(final Board a_board, final King a_king);
+
+    SYNOPSIS
+        private static int Rights(final Board a_board, final King a_king);
+
+        Board a_board ------------> The board the king is on.
+
+        King a_king --------------> The king, which may be null.
+
+    DESCRIPTION
+        This method determines which sides a king can still castle on.
+
+    RETURNS
+        int: 1 for kingside plus 2 for queenside, or 0 if there are no rights or no king.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Rights(final Board a_board, final King a_king){
+        if(a_king == null || a_king.HasMoved()){
+            return Utilities.ZERO;
+        }
+        int rights = Utilities.ZERO;
+        if(a_king.HasKingsideCastlingRook(a_board)){
+            rights |= Utilities.ONE;
+        }
+        if(a_king.HasQueensideCastlingRook(a_board)){
+            rights |= Utilities.TWO;
+        }
+        return rights;
+    }
+
+    /**/
+    /*
+    NAME
+        private static void PutRights(final StringBuilder a_builder, final ByteBuffer a_buffer, final int a_rights, final char a_kingside, final char a_queenside);
+
+    SYNOPSIS
+        private static void PutRights(final StringBuilder a_builder, final ByteBuffer a_buffer, final int a_rights, final char a_kingside, final char a_queenside);
+
+        StringBuilder a_builder --> The builder to append to, or null.
+
+        ByteBuffer a_buffer ------> The buffer to write to if there is no builder.
+
+        int a_rights -------------> The rights as returned by Rights().
+
+        char a_kingside ----------> The letter of a kingside right.
+
+        char a_queenside ---------> The letter of a queenside right.
+
+    DESCRIPTION
+        This method writes the castling rights of one side.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void PutRights(final StringBuilder a_builder, final ByteBuffer a_buffer, final int a_rights, final char a_kingside, final char a_queenside){
+        if((a_rights & Utilities.ONE) != Utilities.ZERO){
+            Put(a_builder, a_buffer, a_kingside);
+        }
+        if((a_rights & Utilities.TWO) != Utilities.ZERO){
+            Put(a_builder, a_buffer, a_queenside);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void Put(final StringBuilder a_builder, final ByteBuffer a_buffer, final char a_character);
+
+    SYNOPSIS
+        private static void Put(final StringBuilder a_builder, final ByteBuffer a_buffer, final char a_character);
+
+        StringBuilder a_builder --> The builder to append to, or null.
+
+        ByteBuffer a_buffer ------> The buffer to write to if there is no builder.
+
+        char a_character ---------> The character to write.
+
+    DESCRIPTION
+        This method writes one character to whichever destination was given.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void Put(final StringBuilder a_builder, final ByteBuffer a_buffer, final char a_character){
+        if(a_builder != null){
+            a_builder.append(a_character);
+        }else{
+            a_buffer.put((byte)a_character);
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        private static void PutNumber(final ByteBuffer a_buffer, final int a_number);
+
+    SYNOPSIS
+        private static void PutNumber(final ByteBuffer a_buffer, final int a_number);
+
+        ByteBuffer a_buffer ------> The buffer to write to.
+
+        int a_number -------------> The number to write.
+
+    DESCRIPTION
+        This method writes a number in decimal without converting it to a string first.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    private static void PutNumber(final ByteBuffer a_buffer, final int a_number){
+        if(a_number < Utilities.ZERO){
+            a_buffer.put((byte)'-');
+        }
+
+        // Work with the negative value so the smallest int does not overflow
+        final int NEGATIVE = (a_number < Utilities.ZERO ? a_number : -a_number);
+
+        int divisor = Utilities.ONE;
+        while(NEGATIVE / divisor <= -Utilities.TEN){
+            divisor *= Utilities.TEN;
+        }
+
+        for(; divisor > Utilities.ZERO; divisor /= Utilities.TEN){
+            a_buffer.put((byte)('0' - (NEGATIVE / divisor) % Utilities.TEN));
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.DarkBlue.Utilities;
 
-import java.util.HashMap;
-import java.util.Iterator;
-
 import com.DarkBlue.Board.Board;
 import com.DarkBlue.Board.Board.BoardBuilder;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Move.LegalMoveSet;
 import com.DarkBlue.Piece.Bishop;
 import com.DarkBlue.Piece.King;
 import com.DarkBlue.Piece.Knight;
 import com.DarkBlue.Piece.Pawn;
+import com.DarkBlue.Piece.Piece;
 import com.DarkBlue.Piece.PieceType;
 import com.DarkBlue.Piece.Queen;
 import com.DarkBlue.Piece.Rook;
@@ -39,6 +39,18 @@ public final class GameUtilities{
     public static final String VALID_PIECES = "PpRrNnBbQqKk";
     public static final String[] VALID_CASTLING_RIGHTS_COMBINATIONS = {"KQkq", "KQk", "KQq", "Kkq", "Qkq", "KQ", "Kk", "Kq", "Qk", "Qq", "kq", "K", "Q", "k", "q", "-"};
     
+    // Fifty moves by each side, counted the way the halfmove clock counts them
+    public static final int FIFTY_MOVE_RULE_HALFMOVES = Utilities.ONE_HUNDRED;
+    
+    // Slots of each kind of piece in a material signature, per color
+    private static final int SIGNATURE_PAWNS = Utilities.ZERO;
+    private static final int SIGNATURE_ROOKS = Utilities.ONE;
+    private static final int SIGNATURE_KNIGHTS = Utilities.TWO;
+    private static final int SIGNATURE_WHITE_TILE_BISHOPS = Utilities.THREE;
+    private static final int SIGNATURE_BLACK_TILE_BISHOPS = Utilities.FOUR;
+    private static final int SIGNATURE_QUEENS = Utilities.FIVE;
+    private static final int SIGNATURE_SLOTS = Utilities.SIX;
+    
     private static Board m_board = null;
     private static BoardBuilder m_builder = null;
     private static boolean m_canWhiteKingsideCastle = false, m_canWhiteQueensideCastle = false, m_canBlackKingsideCastle = false, m_canBlackQueensideCastle = false;
@@ -64,6 +76,9 @@ public final class GameUtilities{
         a valid part of a FEN string will be found and the method
         will return false. If no problems were found, the method
         will return true.
+        
+        The layout of the string is checked by FenParser in a single pass;
+        the castling rights are then checked against the rooks on the board.
     
     RETURNS
         boolean: True if this string is a valid FEN string and false otherwise.
@@ -79,66 +94,16 @@ public final class GameUtilities{
             return false;
         }
         
-        // Separate all parts of the string
-        final String[] PARTS = a_string.split(Character.toString(Utilities.SPACE));
-        
-        // All FEN strings must have six distinct parts
-        if(PARTS.length != Utilities.SIX){
-            return false;
-        }
-        
-        // The first part contains the board configuration delimited by forward slashes
-        final String[] RANKS = PARTS[Utilities.ZERO].split(Character.toString(Utilities.FORWARD_SLASH));
-        
-        // All FEN boards must have exactly eight ranks
-        if(RANKS == null || RANKS.length != Utilities.EIGHT){
-            return false;
-        }
-        
-        // board will hold the board configuration as a single string with no delimiters
-        String board = Utilities.EMPTY_STRING;
-
-        // Check if each rank is valid
-        for(int i = Utilities.ZERO; i < RANKS.length; i++){
-            final String RANK = RANKS[i];
-            if(HasIncorrectlyPlacedPawns(i, RANK) || !IsValidRank(RANK)){
-                return false;
-            }
-            board += RANK;
-        }
-
-        // Make sure both sides have the correct number of pieces
-        if(!HasValidPieces(board)){
-            return false;
-        }
-        
-        // The second part contains the side to move next
-        // Check if the side to move next is either a lowercase "w" or "b"
-        if(!(PARTS[Utilities.ONE].equals("w") || PARTS[Utilities.ONE].equals("b"))){
-            return false;
-        }
-        
-        // The third part contains the castling rights, if any
-        // Check if castling privileges have any of "KQkq" or is only "-"
-        if(!HasValidCastlingRights(PARTS[Utilities.TWO])){
-            return false;
-        }
-        
-        // The fourth part contains the en passant tile, if any
-        // Check if the en passant tile has a lowercase letter from a-h followed by 2 or 7, or is a "-"
-        if(!((BoardUtilities.IsValidTile(PARTS[Utilities.THREE]) && (Integer.parseInt(Character.toString(PARTS[Utilities.THREE].charAt(Utilities.ONE))) == Utilities.THREE || Integer.parseInt(Character.toString(PARTS[Utilities.THREE].charAt(Utilities.ONE))) == Utilities.SIX)) || PARTS[Utilities.THREE].equals("-"))){
+        // Check the layout of all six parts of the string in one pass:
+        // the board configuration, the side to move, the castling rights,
+        // the en passant tile, and both move clocks
+        final FenParser PARSER = new FenParser();
+        if(!PARSER.Parse(a_string)){
             return false;
         }
         
-        // The fifth part contains the number of halfmoves made since the last capture or pawn movement
-        // Check if the halfmove clock is a nonnegative integer (the value must be 0 or above)
-        if(!HasValidClock(PARTS[Utilities.FOUR], false)){
-            return false;
-        }
-        
-        // The sixth part contains the number of fullmoves made during the entire game, which starts at 1 before the first move is made
-        // Check if the fullmove clock is a positive integer (the value must be 1 or above)
-        if(!HasValidClock(PARTS[Utilities.FIVE], true)){
+        // Any halfmove clock past the fifty-move rule is also invalid
+        if(PARSER.GetHalfmoves() > FIFTY_MOVE_RULE_HALFMOVES){
             return false;
         }
         
@@ -151,35 +116,6 @@ public final class GameUtilities{
         return true;
     }
     
-    /**/
-    /*
-    NAME
-        private static final boolean HasIncorrectlyPlacedPawns(final int a_index, final String a_rank);
-    
-    SYNOPSIS
-        private static final boolean HasIncorrectlyPlacedPawns(final int a_index, final String a_rank);
-    
-        int a_index --------------> The index from 0 to 7 that represents the board rank.
-    
-        String a_rank ------------> The string representing the rank configuration.
-
-    DESCRIPTION
-        This method parses the FEN rank string with its corresponding index
-        to determine if any pawns are on the first or last rank of the board.
-        Pawns can only be placed between the first and last ranks until they get
-        moved onto one of the outer ranks to get promoted.
-    
-    RETURNS
-        boolean: True if is the first or last rank with at least one pawn and false otherwise.
-        One of these two options will always occur.
-    
-    AUTHOR
-        Ryan King
-    */
-    private static final boolean HasIncorrectlyPlacedPawns(final int a_index, final String a_rank){
-        return ((a_index == Utilities.ZERO || a_index == Utilities.SEVEN) && (a_rank.contains(Character.toString(Utilities.WHITE_PAWN_BOARD_ICON))  || a_rank.contains(Character.toString(Utilities.BLACK_PAWN_BOARD_ICON))));
-    }
-    
     /**/
     /*
     NAME
@@ -322,8 +258,8 @@ public final class GameUtilities{
             final int LIMIT = (a_isFullmoveClock ? Utilities.ONE : Utilities.ZERO);
             
             // Any clock value that lies below the limit is invalid
-            // Any halfmove clock above fifty is also invalid
-            if(CLOCK < LIMIT || (!a_isFullmoveClock && CLOCK > Utilities.FIFTY)){
+            // Any halfmove clock past the fifty-move rule is also invalid
+            if(CLOCK < LIMIT || (!a_isFullmoveClock && CLOCK > FIFTY_MOVE_RULE_HALFMOVES)){
                 return false;
             }
             
@@ -809,10 +745,10 @@ public final class GameUtilities{
     /**/
     /*
     NAME
-        public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final HashMap<String, Integer> a_positions);
+        public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final PositionHistory a_positions);
     
     SYNOPSIS
-        public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final HashMap<String, Integer> a_positions);
+        public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final PositionHistory a_positions);
         
         Player a_player --------------------------> The player to evaluate.
         
@@ -822,7 +758,7 @@ public final class GameUtilities{
         
         int a_halfmoves --------------------------> The number of one-sided moves since the last capture or pawn movement.
         
-        HashMap<String, Integer> a_positions -----> Every unique position of the board that has occurred during the game and how many times each position has occurred.
+        PositionHistory a_positions --------------> The Zobrist key of every position that has occurred during the game.
     
     DESCRIPTION
         This method determines the state of the game given the two players and the board.
@@ -857,12 +793,12 @@ public final class GameUtilities{
             4. Both players have a king and a bishop and both bishops 
                move on the same tile color.
                 
-        GameState.FIFTY_MOVE_RULE: Fifty halfmoves have been made with no capture or pawn movement.
+        GameState.FIFTY_MOVE_RULE: Fifty moves by each side, or one hundred halfmoves, have been made with no capture or pawn movement.
         The game ends in a draw.
         
         GameState.THREEFOLD_REPETITION: The same configuration of the board has been repeated three times.
         However many times this happens need not be consecutive. The game ends in a draw.
-        This will not be evaluated if the HashMap is passed in as null.
+        This will not be evaluated if the history is passed in as null.
 
         GameState.NORMAL: The game proceeds as normal.
         
@@ -875,7 +811,7 @@ public final class GameUtilities{
     AUTHOR
         Ryan King
     */
-    public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final HashMap<String, Integer> a_positions){
+    public static final GameState EvaluateGameState(final Player a_player, final Player a_opponent, final Board a_board, final int a_halfmoves, final PositionHistory a_positions){
         // Check for every game state described above except for EMPTY
         if(a_player.IsInCheckmate(a_board)){
             return GameState.CHECKMATE;
@@ -894,6 +830,54 @@ public final class GameUtilities{
         }
     }
     
+    /**/
+    /*
+    NAME
+        public static final GameState EvaluateGameState(final LegalMoveSet a_moves, final Player a_player, final Player a_opponent, final int a_halfmoves, final PositionHistory a_positions);
+    
+    SYNOPSIS
+        public static final GameState EvaluateGameState(final LegalMoveSet a_moves, final Player a_player, final Player a_opponent, final int a_halfmoves, final PositionHistory a_positions);
+        
+        LegalMoveSet a_moves ---------------------> The legal moves of both players on the board to evaluate.
+        
+        Player a_player --------------------------> The player to evaluate.
+        
+        Player a_opponent ------------------------> The opponent, used to evaluate insufficient material.
+        
+        int a_halfmoves --------------------------> The number of one-sided moves since the last capture or pawn movement.
+        
+        PositionHistory a_positions --------------> The Zobrist key of every position that has occurred during the game.
+    
+    DESCRIPTION
+        This method determines the state of the game the same way the method above does,
+        but takes check, checkmate, and stalemate from moves that have already been found.
+    
+    RETURNS
+        GameState: One of the GameState variables described above.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static final GameState EvaluateGameState(final LegalMoveSet a_moves, final Player a_player, final Player a_opponent, final int a_halfmoves, final PositionHistory a_positions){
+        final ChessColor COLOR = a_player.GetColor();
+        
+        if(a_moves.IsInCheckmate(COLOR)){
+            return GameState.CHECKMATE;
+        }else if(a_moves.IsInStalemate(COLOR)){
+            return GameState.STALEMATE;
+        }else if(GameUtilities.IsDrawByInsufficientMaterial(a_player, a_opponent, a_moves.GetBoard())){
+            return GameState.INSUFFICIENT_MATERIAL;
+        }else if(GameUtilities.IsDrawByFiftyMoveRule(a_halfmoves)){
+            return GameState.FIFTY_MOVE_RULE;
+        }else if(a_positions != null && GameUtilities.IsDrawByThreefoldRepetition(a_positions)){
+            return GameState.THREEFOLD_REPETITION;
+        }else if(a_moves.IsInCheck(COLOR)){
+            return GameState.CHECK;
+        }else{
+            return GameState.NORMAL;
+        }
+    }
+    
     /**/
     /*
     NAME
@@ -977,18 +961,171 @@ public final class GameUtilities{
     /**/
     /*
     NAME
-        public static final boolean IsDrawByThreefoldRepetition(final HashMap<String, Integer> a_positions);
+        public static final long MaterialSignature(final Board a_board);
     
     SYNOPSIS
-        public static final boolean IsDrawByThreefoldRepetition(final HashMap<String, Integer> a_positions);
+        public static final long MaterialSignature(final Board a_board);
     
-        HashMap<String, Integer> a_positions ------> The FEN positions of the board and how many times an individual position has occurred.
+        Board a_board ------------> The board whose pieces are counted.
+    
+    DESCRIPTION
+        This method counts every piece on the board other than the kings
+        and packs the counts into one number, four bits per count.
+        Each color has six counts: pawns, rooks, knights, bishops on white tiles,
+        bishops on black tiles, and queens, in that order, white's first.
+        Bishops are split by tile color so that IsDrawByInsufficientMaterial()
+        can tell whether two bishops move on the same color without looking at the board again.
+        This makes no allocations, so the search can call it on every node.
+    
+    RETURNS
+        long signature: The packed piece counts.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static final long MaterialSignature(final Board a_board){
+        long signature = Utilities.ZERO;
+        
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final Tile TILE = a_board.GetTile(row, column);
+                final Piece PIECE = TILE.GetPiece();
+                
+                if(PIECE == null || PIECE.IsKing()){
+                    continue;
+                }
+                
+                final int SLOT;
+                switch(PIECE.GetPieceType()){
+                    case PAWN: SLOT = SIGNATURE_PAWNS; break;
+                    case ROOK: SLOT = SIGNATURE_ROOKS; break;
+                    case KNIGHT: SLOT = SIGNATURE_KNIGHTS; break;
+                    case BISHOP: SLOT = (TILE.GetColor().IsWhite() ? SIGNATURE_WHITE_TILE_BISHOPS : SIGNATURE_BLACK_TILE_BISHOPS); break;
+                    default: SLOT = SIGNATURE_QUEENS; break;
+                }
+                
+                // Counts never get anywhere near sixteen in a legal game, so they cannot overflow into each other
+                signature += 1L << ((PIECE.GetColor().ordinal() * SIGNATURE_SLOTS + SLOT) * Utilities.FOUR);
+            }
+        }
+        
+        return signature;
+    }
+    
+    /**/
+    /*
+    NAME
+        private static final int SignatureCount(final long a_signature, final ChessColor a_color, final int a_slot);
+    
+    SYNOPSIS
+        private static final int SignatureCount(final long a_signature, final ChessColor a_color, final int a_slot);
+    
+        long a_signature ---------> A signature made by MaterialSignature().
+        
+        ChessColor a_color -------> The color of the pieces to count.
+        
+        int a_slot ---------------> Which kind of piece to count.
+    
+    DESCRIPTION
+        This method unpacks one count from a material signature.
+    
+    RETURNS
+        int: How many such pieces of that color are on the board.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static final int SignatureCount(final long a_signature, final ChessColor a_color, final int a_slot){
+        return (int)((a_signature >>> ((a_color.ordinal() * SIGNATURE_SLOTS + a_slot) * Utilities.FOUR)) & 0xF);
+    }
+    
+    /**/
+    /*
+    NAME
+        private static final boolean HasPawnOrMajorPiece(final long a_signature, final ChessColor a_color);
+    
+    SYNOPSIS
+        private static final boolean HasPawnOrMajorPiece(final long a_signature, final ChessColor a_color);
+    
+        long a_signature ---------> A signature made by MaterialSignature().
+        
+        ChessColor a_color -------> The color of the pieces to look for.
+    
+    DESCRIPTION
+        This method determines if a material signature gives one color
+        any pawn, rook, or queen.
+    
+    RETURNS
+        boolean: True if the color has a pawn, rook, or queen, and false otherwise.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static final boolean HasPawnOrMajorPiece(final long a_signature, final ChessColor a_color){
+        return SignatureCount(a_signature, a_color, SIGNATURE_PAWNS) != Utilities.ZERO || SignatureCount(a_signature, a_color, SIGNATURE_ROOKS) != Utilities.ZERO || SignatureCount(a_signature, a_color, SIGNATURE_QUEENS) != Utilities.ZERO;
+    }
+    
+    /**/
+    /*
+    NAME
+        public static final boolean IsDrawByInsufficientMaterial(final long a_signature);
+    
+    SYNOPSIS
+        public static final boolean IsDrawByInsufficientMaterial(final long a_signature);
+    
+        long a_signature ---------> A signature made by MaterialSignature().
+    
+    DESCRIPTION
+        This method applies the same four conditions as the method above,
+        but to the piece counts of a material signature instead of the players' piece lists:
+        bare kings, a king and a bishop against a king, a king and a knight against a king,
+        and a king and a bishop each where both bishops move on the same tile color.
+    
+    RETURNS
+        boolean: True if neither side can checkmate, and false otherwise.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static final boolean IsDrawByInsufficientMaterial(final long a_signature){
+        // Any pawn, rook, or queen is enough material
+        if(HasPawnOrMajorPiece(a_signature, ChessColor.WHITE) || HasPawnOrMajorPiece(a_signature, ChessColor.BLACK)){
+            return false;
+        }
+        
+        final int WHITE_MINORS = SignatureCount(a_signature, ChessColor.WHITE, SIGNATURE_KNIGHTS) + SignatureCount(a_signature, ChessColor.WHITE, SIGNATURE_WHITE_TILE_BISHOPS) + SignatureCount(a_signature, ChessColor.WHITE, SIGNATURE_BLACK_TILE_BISHOPS);
+        final int BLACK_MINORS = SignatureCount(a_signature, ChessColor.BLACK, SIGNATURE_KNIGHTS) + SignatureCount(a_signature, ChessColor.BLACK, SIGNATURE_WHITE_TILE_BISHOPS) + SignatureCount(a_signature, ChessColor.BLACK, SIGNATURE_BLACK_TILE_BISHOPS);
+        
+        // Bare kings, or one side has a lone minor piece
+        if(WHITE_MINORS + BLACK_MINORS <= Utilities.ONE){
+            return true;
+        }
+        
+        // Each side has exactly one bishop and both move on the same tile color
+        if(WHITE_MINORS == Utilities.ONE && BLACK_MINORS == Utilities.ONE && SignatureCount(a_signature, ChessColor.WHITE, SIGNATURE_KNIGHTS) == Utilities.ZERO && SignatureCount(a_signature, ChessColor.BLACK, SIGNATURE_KNIGHTS) == Utilities.ZERO){
+            return SignatureCount(a_signature, ChessColor.WHITE, SIGNATURE_WHITE_TILE_BISHOPS) == SignatureCount(a_signature, ChessColor.BLACK, SIGNATURE_WHITE_TILE_BISHOPS);
+        }
+        
+        return false;
+    }
+    
+    /**/
+    /*
+    NAME
+        public static final boolean IsDrawByThreefoldRepetition(final PositionHistory a_positions);
+    
+    SYNOPSIS
+        public static final boolean IsDrawByThreefoldRepetition(final PositionHistory a_positions);
+    
+        PositionHistory a_positions ------> The Zobrist keys of every position of the game, newest last.
     
     DESCRIPTION
         This method checks to see if any draw condition by
-        threefold repetition exists. If a configuration is found
+        threefold repetition exists. If the current configuration is found
         to be repeated three times, regardless of whether or not
         this was consecutive, a draw can be claimed.
+        Only positions since the last capture or pawn move are compared,
+        since no earlier position can ever come back.
         
         Typically this happens when one player's
         king is put into check many times.
@@ -1000,24 +1137,13 @@ public final class GameUtilities{
     AUTHOR
         Ryan King
     */
-    public static final boolean IsDrawByThreefoldRepetition(final HashMap<String, Integer> a_positions){
+    public static final boolean IsDrawByThreefoldRepetition(final PositionHistory a_positions){
         // Idiot proofing
-        if(a_positions == null || a_positions.isEmpty()){
+        if(a_positions == null){
             return false;
         }
         
-        // Make the hashmap iterable
-        final Iterator<String> POSITION_ITERATION = a_positions.keySet().iterator();
-        
-        // Look through every position in the hash
-        while(POSITION_ITERATION.hasNext()){
-            final String CURRENT = POSITION_ITERATION.next();
-            if(a_positions.get(CURRENT) == Utilities.THREE){
-                return true;
-            }
-        }
-        
-        return false;
+        return a_positions.IsThreefoldRepetition();
     }
     
     /**/
@@ -1034,21 +1160,22 @@ public final class GameUtilities{
         This method checks to see if any draw condition by
         the fifty-move rule exists.
         
-        This occurs when fifty moves have been made without a 
-        single pawn movement or capture of any kind.
+        This occurs when fifty moves have been made by each side,
+        one hundred halfmoves in all, without a single pawn movement
+        or capture of any kind.
         
         If this condition is met, the method returns true.
         If not, it returns false.
     
     RETURNS
-        boolean: True if the halfmove clock is at least fifty and false otherwise.
+        boolean: True if the halfmove clock is at least one hundred and false otherwise.
         One of these two options will always occur.
     
     AUTHOR
         Ryan King
     */
     public static final boolean IsDrawByFiftyMoveRule(int a_currentHalfmoves){
-        return a_currentHalfmoves >= Utilities.FIFTY;
+        return a_currentHalfmoves >= FIFTY_MOVE_RULE_HALFMOVES;
     }
     
     /**/
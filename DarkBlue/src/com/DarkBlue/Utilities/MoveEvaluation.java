@@ -4,18 +4,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 
 import com.DarkBlue.Board.Board;
-import com.DarkBlue.GUI.DarkBlue;
+import com.DarkBlue.Board.Tile;
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Move.RegularMove;
 import com.DarkBlue.Move.AttackingMove;
 import com.DarkBlue.Move.CastlingMove;
 import com.DarkBlue.Move.EnPassantMove;
 import com.DarkBlue.Move.Delta;
+import com.DarkBlue.Move.IntMove;
 import com.DarkBlue.Piece.Piece;
 import com.DarkBlue.Piece.Pawn;
 import com.DarkBlue.Piece.King;
-import com.DarkBlue.Player.Player;
-import com.DarkBlue.Player.Human;
+import com.DarkBlue.Record.PackedMove;
 
 /**
  * This interface is used to evaluate move legality
@@ -31,6 +31,9 @@ import com.DarkBlue.Player.Human;
  * Kings and knights use the AddCurrentSpectrumMoves() method for evaluating move
  * legality because all spots must be checked every time in sequence.
  * 
+ * The same pieces find their captures alone with AddCurrentDirectionalCaptures()
+ * and AddCurrentSpectrumCaptures(), which only test the tiles with pieces on them.
+ * 
  * Pawns use the AddCurrentRegularMoves() and AddCurrentAttackingMoves() methods
  * because they move and attack differently. They can also use AddCurrentEnPassantMoves()
  * if they are on their fifth rank, though it will not always lead to any moves getting added.
@@ -185,6 +188,92 @@ public interface MoveEvaluation{
         new Delta(Utilities.ZERO, Utilities.NEGATIVE_ONE)
     };
     
+    // The tiles attacked from every tile, as row * 8 + column, in each direction of the deltas, nearest first;
+    // the king's deltas hold the four diagonals at even indices and the four straight lines at odd ones
+    public static final int[][][] KNIGHT_ATTACKS = Attacks(KNIGHT_MOVES, Utilities.ONE);
+    public static final int[][][] KING_ATTACKS = Attacks(KING_MOVES, Utilities.ONE);
+    public static final int[][][] SLIDING_ATTACKS = Attacks(KING_MOVES, Utilities.SEVEN);
+    
+    // The tiles around every tile and the tile itself, one bit for each
+    public static final long[] KING_ZONES = Zones();
+    
+    /**/
+    /*
+    NAME
+        private static int[][][] Attacks(final Delta[] a_deltas, final int a_range);
+    
+    SYNOPSIS
+        private static int[][][] Attacks(final Delta[] a_deltas, final int a_range);
+    
+        Delta[] a_deltas ---------> The directions to go in.
+        
+        int a_range --------------> How many tiles to go in one direction.
+    
+    DESCRIPTION
+        This method finds the tiles on the board a piece could reach from every tile
+        if nothing stood in its way, so looking along the board only has to read them.
+    
+    RETURNS
+        int[][][] ATTACKS: The tiles, indexed by tile and then by direction.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static int[][][] Attacks(final Delta[] a_deltas, final int a_range){
+        final int[][][] ATTACKS = new int[Utilities.SIXTY_FOUR][a_deltas.length][];
+        
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            for(int direction = Utilities.ZERO; direction < a_deltas.length; direction++){
+                int length = Utilities.ZERO;
+                while(length < a_range && BoardUtilities.HasValidCoordinates(tile / Utilities.EIGHT + a_deltas[direction].GetRowDelta() * (length + Utilities.ONE), tile % Utilities.EIGHT + a_deltas[direction].GetColumnDelta() * (length + Utilities.ONE))){
+                    length++;
+                }
+                
+                ATTACKS[tile][direction] = new int[length];
+                for(int distance = Utilities.ZERO; distance < length; distance++){
+                    ATTACKS[tile][direction][distance] = (tile / Utilities.EIGHT + a_deltas[direction].GetRowDelta() * (distance + Utilities.ONE)) * Utilities.EIGHT
+                            + tile % Utilities.EIGHT + a_deltas[direction].GetColumnDelta() * (distance + Utilities.ONE);
+                }
+            }
+        }
+        
+        return ATTACKS;
+    }
+    
+    /**/
+    /*
+    NAME
+        private static long[] Zones();
+    
+    SYNOPSIS
+        private static long[] Zones();
+    
+        No parameters.
+    
+    DESCRIPTION
+        This method finds the tiles a king on every tile touches, along with its own.
+    
+    RETURNS
+        long[] ZONES: The tiles, one bit for each, indexed by tile.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static long[] Zones(){
+        final long[] ZONES = new long[Utilities.SIXTY_FOUR];
+        
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            ZONES[tile] = 1L << tile;
+            for(final int[] DIRECTION : KING_ATTACKS[tile]){
+                for(final int NEIGHBOR : DIRECTION){
+                    ZONES[tile] |= 1L << NEIGHBOR;
+                }
+            }
+        }
+        
+        return ZONES;
+    }
+    
     /**/
     /*
     NAME
@@ -224,29 +313,11 @@ public interface MoveEvaluation{
         int index = Utilities.ZERO, newRow = Utilities.ZERO, newColumn = Utilities.ZERO;
         final ArrayList<Move> DIRECTIONAL_MOVES = new ArrayList<>();
         
+        // Find the king this side must keep safe
+        final King KING = a_board.GetKing(a_piece.GetColor());
+        
         // Loop through all possible tiles going out in this direction
         while(index < a_allDirectionalMoves.length){
-            
-            // Initialize a deep copy of the players and their board
-            Board clone = null;
-            final Human WHITE = new Human(ChessColor.WHITE, a_board);
-            final Human BLACK = new Human(ChessColor.BLACK, a_board);
-            
-            try{
-            	WHITE.InitializePieces(a_board);
-            	BLACK.InitializePieces(a_board);
-            }catch(Exception e){
-            	e.printStackTrace();
-            }
-            
-            // Assign an alias to the moving player
-            final Player MOVER;
-            
-            if(a_piece.IsWhite()){
-                MOVER = WHITE;
-            }else{
-                MOVER = BLACK;
-            }
 
             // Find the destination coordinates
             newRow = a_piece.GetCurrentRow() + a_allDirectionalMoves[index].GetRowDelta();
@@ -254,40 +325,18 @@ public interface MoveEvaluation{
             if(BoardUtilities.HasValidCoordinates(newRow, newColumn)){
 
                 // Determine what type of move this is
-                final Move MOVE;
                 if(a_board.GetTile(newRow, newColumn).IsEmpty()){
-                    MOVE = new RegularMove(a_piece, newRow, newColumn, a_board);
-
-                    clone = MOVE.GetTransitionalBoard();
-                    try{
-                    	WHITE.InitializePieces(clone);
-                    	BLACK.InitializePieces(clone);
-                    }catch(Exception e){
-                    	e.printStackTrace();
-                    }
-
                     // Only add this move if it is safe for this side's king
-                    if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), a_piece.GetColor())){
-                        DIRECTIONAL_MOVES.add(MOVE);
+                    if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                        DIRECTIONAL_MOVES.add(new RegularMove(a_piece, newRow, newColumn, a_board));
                     }
                 }else{
                     final Piece VICTIM = a_board.GetTile(newRow, newColumn).GetPiece();
                     if(a_board.GetTile(newRow, newColumn).IsOccupied() && VICTIM.IsEnemy(a_piece) && !VICTIM.IsKing()){
                         
                         // Only add this last move and no more; this is as far as the piece can go in this direction
-                        MOVE = new AttackingMove(a_piece, newRow, newColumn, a_board);
-                        
-                        clone = MOVE.GetTransitionalBoard();
-                        try {
-                        	WHITE.InitializePieces(clone);
-                        	BLACK.InitializePieces(clone);
-                        }catch(Exception e){
-                        	e.printStackTrace();
-                        }
-
-                        // Only add if safe
-                        if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), a_piece.GetColor())){
-                            DIRECTIONAL_MOVES.add(MOVE);
+                        if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                            DIRECTIONAL_MOVES.add(new AttackingMove(a_piece, newRow, newColumn, a_board));
                         }
                     }
                     return DIRECTIONAL_MOVES;
@@ -344,60 +393,25 @@ public interface MoveEvaluation{
         // Declare an ArrayList to hold the legal moves
         final ArrayList<Move> SPECTRUM_MOVES = new ArrayList<>();
         
+        // Find the king this side must keep safe
+        final King KING = a_board.GetKing(a_piece.GetColor());
+        
         // Iterate through all of the spectrum moves
         for(int index = Utilities.ZERO; index < a_allSpectrumMoves.length; index++){
             
-            // Make a deep copy of the current board and players
-            Board clone = null;
-            final Human WHITE = new Human(ChessColor.WHITE, a_board);
-            final Human BLACK = new Human(ChessColor.BLACK, a_board);
-            
-            // Find all pieces for both sides
-            try{
-            	WHITE.InitializePieces(a_board);
-            	BLACK.InitializePieces(a_board);
-            }catch(Exception e){
-            	e.printStackTrace();
-            }
-            
-            // Assign an alias to the moving player
-            final Player MOVER;
-            
-            if(a_piece.IsWhite()){
-                MOVER = WHITE;
-            }else{
-                MOVER = BLACK;
-            }
-            
             // Find the destination tile using the piece's current coordinates and the deltas
             newRow = a_piece.GetCurrentRow() + a_allSpectrumMoves[index].GetRowDelta();
             newColumn = a_piece.GetCurrentColumn() + a_allSpectrumMoves[index].GetColumnDelta();
             
             // Do not continue evaluating this move if the destination tile is invalid
             if(BoardUtilities.HasValidCoordinates(newRow, newColumn)){
-
-                // Instantiate a candidate move (This could be turned into a regular or attacking move)
-                final Move MOVE;
                 
                 // If the tile is empty, this move is a regular move
                 if(a_board.GetTile(newRow, newColumn).IsEmpty()){
                     
-                    // Instantiate the candidate move as a member of the RegularMove subclass
-                    MOVE = new RegularMove(a_piece, newRow, newColumn, a_board);
-                    
-                    // Make the move on the deep copy of the board (This may not be a legal move)
-                    clone = MOVE.GetTransitionalBoard();
-                    
-                    try{
-                    	WHITE.InitializePieces(clone);
-                    	BLACK.InitializePieces(clone);
-                    }catch(Exception e){
-                    	e.printStackTrace();
-                    }
-                    
-                    // Do not add the move if this side's king is not safe
-                    if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), a_piece.GetColor())){ // bp
-                        SPECTRUM_MOVES.add(MOVE);
+                    // Do not add the move if this side's king is not safe once it is made
+                    if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                        SPECTRUM_MOVES.add(new RegularMove(a_piece, newRow, newColumn, a_board));
                     }
                 }else{
                     // Find the victim of this attacking move
@@ -405,21 +419,10 @@ public interface MoveEvaluation{
                     
                     // Only allow further evaluation if the victim is an enemy piece that is not the king
                     if(a_board.GetTile(newRow, newColumn).IsOccupied() && VICTIM.IsEnemy(a_piece) && !VICTIM.IsKing()){
-                        MOVE = new AttackingMove(a_piece, newRow, newColumn, a_board);
-                        
-                        // Make the move
-                        clone = MOVE.GetTransitionalBoard();
-                        
-                        try{
-                        	WHITE.InitializePieces(clone);
-                        	BLACK.InitializePieces(clone);
-                        }catch(Exception e){
-                        	e.printStackTrace();
-                        }
                         
                         // Determine if this move is safe. If so, add it.
-                        if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), a_piece.GetColor())){
-                            SPECTRUM_MOVES.add(MOVE);
+                        if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                            SPECTRUM_MOVES.add(new AttackingMove(a_piece, newRow, newColumn, a_board));
                         }
                     }
                 }
@@ -430,6 +433,189 @@ public interface MoveEvaluation{
         return SPECTRUM_MOVES;
     }
     
+    /**/
+    /*
+    NAME
+        public static ArrayList<Move> AddCurrentDirectionalCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allDirectionalMoves);
+
+    SYNOPSIS
+        public static ArrayList<Move> AddCurrentDirectionalCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allDirectionalMoves);
+    
+        Piece a_piece ------------------> The piece to be evaluated.
+    
+        Board a_board ------------------> The chessboard on which the game is being played.
+        
+        Delta[] a_allDirectionalMoves --> All possible moves in this direction.
+
+    DESCRIPTION
+        This method determines the legal capture available in one direction, if there is one.
+        It walks over the empty tiles without making any moves on them
+        and only tests the tile of the first piece it reaches.
+        The capture is not added if the side's king is threatened because of it.
+    
+    RETURNS
+        ArrayList<Move> DIRECTIONAL_CAPTURES: The capture currently legal in this direction, if any.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static ArrayList<Move> AddCurrentDirectionalCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allDirectionalMoves){
+        // Idiot proofing
+        if(a_piece == null || !BoardUtilities.HasValidCoordinates(a_piece.GetCurrentRow(), a_piece.GetCurrentColumn()) || a_board == null || a_allDirectionalMoves == null){
+            return null;
+        }
+        
+        final ArrayList<Move> DIRECTIONAL_CAPTURES = new ArrayList<>();
+        
+        // Skip the empty tiles until the first piece in this direction
+        for(int index = Utilities.ZERO; index < a_allDirectionalMoves.length; index++){
+            final int NEW_ROW = a_piece.GetCurrentRow() + a_allDirectionalMoves[index].GetRowDelta();
+            final int NEW_COLUMN = a_piece.GetCurrentColumn() + a_allDirectionalMoves[index].GetColumnDelta();
+            
+            if(!BoardUtilities.HasValidCoordinates(NEW_ROW, NEW_COLUMN)){
+                break;
+            }else if(a_board.GetTile(NEW_ROW, NEW_COLUMN).IsOccupied()){
+                MoveEvaluation.AddCurrentCapture(a_piece, a_board, NEW_ROW, NEW_COLUMN, DIRECTIONAL_CAPTURES);
+                break;
+            }
+        }
+        
+        return DIRECTIONAL_CAPTURES;
+    }
+    
+    /**/
+    /*
+    NAME
+        public static ArrayList<Move> AddCurrentSpectrumCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allSpectrumMoves);
+    
+    SYNOPSIS
+        public static ArrayList<Move> AddCurrentSpectrumCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allSpectrumMoves);
+    
+        Piece a_piece ------------------> The piece to be evaluated.
+    
+        Board a_board ------------------> The chessboard on which the game is being played.
+        
+        Delta[] a_allSpectrumMoves -----> All possible moves in this spectrum.
+
+    DESCRIPTION
+        This method determines the legal captures available in this spectrum.
+        Only the tiles with pieces on them are tested, so the empty tiles
+        a king or knight could go to are never tried.
+        Any capture that is otherwise valid will not be added if
+        the side's king is threatened because of it.
+    
+    RETURNS
+        ArrayList<Move> SPECTRUM_CAPTURES: The captures currently legal in this spectrum.
+    
+    AUTHOR
+        Ryan King
+    */
+    public static ArrayList<Move> AddCurrentSpectrumCaptures(final Piece a_piece, final Board a_board, final Delta[] a_allSpectrumMoves){
+        // Idiot proofing
+        if(a_piece == null || !BoardUtilities.HasValidCoordinates(a_piece.GetCurrentRow(), a_piece.GetCurrentColumn()) || a_board == null || a_allSpectrumMoves == null){
+            return null;
+        }
+        
+        final ArrayList<Move> SPECTRUM_CAPTURES = new ArrayList<>();
+        
+        for(int index = Utilities.ZERO; index < a_allSpectrumMoves.length; index++){
+            final int NEW_ROW = a_piece.GetCurrentRow() + a_allSpectrumMoves[index].GetRowDelta();
+            final int NEW_COLUMN = a_piece.GetCurrentColumn() + a_allSpectrumMoves[index].GetColumnDelta();
+            
+            if(BoardUtilities.HasValidCoordinates(NEW_ROW, NEW_COLUMN) && a_board.GetTile(NEW_ROW, NEW_COLUMN).IsOccupied()){
+                MoveEvaluation.AddCurrentCapture(a_piece, a_board, NEW_ROW, NEW_COLUMN, SPECTRUM_CAPTURES);
+            }
+        }
+        
+        return SPECTRUM_CAPTURES;
+    }
+    
+    /**/
+    /*
+    NAME
+        public static void AddCurrentCapture(final Piece a_piece, final Board a_board, final int a_destinationRow, final int a_destinationColumn, final ArrayList<Move> a_captures);
+    
+    SYNOPSIS
+        public static void AddCurrentCapture(final Piece a_piece, final Board a_board, final int a_destinationRow, final int a_destinationColumn, final ArrayList<Move> a_captures);
+    
+        Piece a_piece ------------------> The piece to be evaluated.
+    
+        Board a_board ------------------> The chessboard on which the game is being played.
+        
+        int a_destinationRow -----------> The row of the occupied tile.
+        
+        int a_destinationColumn --------> The column of the occupied tile.
+        
+        ArrayList<Move> a_captures -----> The list the capture is added to.
+
+    DESCRIPTION
+        This method adds the capture of the piece on an occupied tile to the list
+        if that piece is an enemy other than the king
+        and the capture keeps the side's king safe.
+    
+    RETURNS
+        Nothing
+    
+    AUTHOR
+        Ryan King
+    */
+    public static void AddCurrentCapture(final Piece a_piece, final Board a_board, final int a_destinationRow, final int a_destinationColumn, final ArrayList<Move> a_captures){
+        final Piece VICTIM = a_board.GetTile(a_destinationRow, a_destinationColumn).GetPiece();
+        if(VICTIM == null || !VICTIM.IsEnemy(a_piece) || VICTIM.IsKing()){
+            return;
+        }
+        
+        if(MoveEvaluation.IsSafeAfter(a_piece, a_board, a_board.GetKing(a_piece.GetColor()), a_destinationRow, a_destinationColumn, IntMove.NONE)){
+            a_captures.add(new AttackingMove(a_piece, a_destinationRow, a_destinationColumn, a_board));
+        }
+    }
+    
+    /**/
+    /*
+    NAME
+        private static boolean IsSafeAfter(final Piece a_piece, final Board a_board, final King a_king, final int a_destinationRow, final int a_destinationColumn, final int a_flags);
+    
+    SYNOPSIS
+        private static boolean IsSafeAfter(final Piece a_piece, final Board a_board, final King a_king, final int a_destinationRow, final int a_destinationColumn, final int a_flags);
+    
+        Piece a_piece ------------------> The piece to be moved.
+    
+        Board a_board ------------------> The chessboard on which the game is being played.
+        
+        King a_king --------------------> The king of the piece's side on a_board.
+        
+        int a_destinationRow -----------> The row the piece moves to.
+        
+        int a_destinationColumn --------> The column the piece moves to.
+        
+        int a_flags --------------------> IntMove.EN_PASSANT for an en passant capture, or IntMove.NONE.
+
+    DESCRIPTION
+        This method determines if the side's king is safe once a candidate move is made.
+        The move is packed and made with Board.Transition(), so no Move object
+        is created for a candidate that turns out to be illegal, and the king is
+        found once by the caller instead of by new players on every board tried.
+        A king that moves is looked for on its destination.
+    
+    RETURNS
+        boolean: True if the king is safe after the move, and false otherwise.
+    
+    AUTHOR
+        Ryan King
+    */
+    private static boolean IsSafeAfter(final Piece a_piece, final Board a_board, final King a_king, final int a_destinationRow, final int a_destinationColumn, final int a_flags){
+        final Piece VICTIM = a_board.GetTile(a_destinationRow, a_destinationColumn).GetPiece();
+        final int MOVE = IntMove.Encode(a_piece.GetCurrentRow() * Utilities.EIGHT + a_piece.GetCurrentColumn(), a_destinationRow * Utilities.EIGHT + a_destinationColumn,
+                                        a_piece.GetPieceType(), (VICTIM == null ? null : VICTIM.GetPieceType()), (a_piece.IsWhite() ? IntMove.WHITE : IntMove.NONE) | a_flags, PackedMove.NO_PROMOTION);
+        final Board CLONE = a_board.Transition(MOVE);
+        
+        if(a_piece.IsKing()){
+            return MoveEvaluation.IsKingSafe(CLONE, a_destinationRow, a_destinationColumn, a_piece.GetColor());
+        }
+        
+        return MoveEvaluation.IsKingSafe(CLONE, a_king.GetCurrentRow(), a_king.GetCurrentColumn(), a_piece.GetColor());
+    }
+    
     /**/
     /*
     NAME
@@ -489,26 +675,11 @@ public interface MoveEvaluation{
             LIMIT = Utilities.ONE;
         }        
         
+        // Find the king this side must keep safe
+        final King KING = a_board.GetKing(a_piece.GetColor());
+        
         // Check that many tiles in front of the pawn to calculate move legality
         for(int index = Utilities.ZERO; index < LIMIT; index++){
-            Board clone = null;
-            final Human WHITE = new Human(ChessColor.WHITE, a_board);
-            final Human BLACK = new Human(ChessColor.BLACK, a_board);
-            
-            try{
-            	WHITE.InitializePieces(a_board);
-            	BLACK.InitializePieces(a_board);
-            }catch(Exception e){
-            	e.printStackTrace();
-            }
-            
-            final Player MOVER;
-            
-            if(a_piece.IsWhite()){
-                MOVER = WHITE;
-            }else{
-                MOVER = BLACK;
-            }
             
             // Reach the coordinates of the new move
             newRow = a_piece.GetCurrentRow() + a_allRegularMoves[index].GetRowDelta();
@@ -516,23 +687,12 @@ public interface MoveEvaluation{
             
             // Do not allow this move if it is not to a valid tile
             if(BoardUtilities.HasValidCoordinates(newRow, newColumn)){
-                final RegularMove MOVE = new RegularMove(a_piece, newRow, newColumn, a_board);
-                                
                 // Only proceed if this move goes to an empty tile
-                if(a_board.GetTile(MOVE.GetNewRow(), MOVE.GetNewColumn()).IsEmpty()){
-                    
-                    clone = MOVE.GetTransitionalBoard();
-                    
-                    try{
-                    	WHITE.InitializePieces(clone);
-                    	BLACK.InitializePieces(clone);
-                    }catch(Exception e){
-                    	e.printStackTrace();
-                    }
+                if(a_board.GetTile(newRow, newColumn).IsEmpty()){
                     
                     // Only add this move if it keeps the player's king safe
-                    if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), MOVER.GetColor())){
-                        REGULAR_MOVES.add(MOVE);
+                    if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                        REGULAR_MOVES.add(new RegularMove(a_piece, newRow, newColumn, a_board));
                     }
                 }
             }else{
@@ -580,28 +740,11 @@ public interface MoveEvaluation{
         int newRow, newColumn;
         final ArrayList<Move> ATTACKING_MOVES = new ArrayList<>();
         
+        // Find the king this side must keep safe
+        final King KING = a_board.GetKing(a_piece.GetColor());
+        
         // Check both diagonals
         for(int index = Utilities.ZERO; index < a_allAttackingMoves.length; index++){
-            // Make deep copies of board and players
-            Board clone = null;
-            final Human WHITE = new Human(ChessColor.WHITE, a_board);
-            final Human BLACK = new Human(ChessColor.BLACK, a_board);
-            
-            try{
-            	WHITE.InitializePieces(a_board);
-            	BLACK.InitializePieces(a_board);
-            }catch(Exception e){
-            	e.printStackTrace();
-            }
-            
-            // Assign an alias to the moving player
-            final Player MOVER;
-            
-            if(a_piece.IsWhite()){
-                MOVER = WHITE;
-            }else{
-                MOVER = BLACK;
-            }
             
             // Reach the current diagonal
             newRow = a_piece.GetCurrentRow() + a_allAttackingMoves[index].GetRowDelta();
@@ -615,20 +758,10 @@ public interface MoveEvaluation{
                 
                 // Instantiate the move if the victim is a non-null enemy piece
                 if(VICTIM != null && a_piece.IsEnemy(VICTIM) && !VICTIM.IsKing()){
-                    final AttackingMove MOVE = new AttackingMove(a_piece, newRow, newColumn, a_board);
-                    
-                    clone = MOVE.GetTransitionalBoard();
-                    
-                    try{
-                    	WHITE.InitializePieces(clone);
-                    	BLACK.InitializePieces(clone);
-                    }catch(Exception e){
-                    	e.printStackTrace();
-                    }
                     
                     // If this move keeps the player's king safe, add it.
-                    if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), a_piece.GetColor())){
-                        ATTACKING_MOVES.add(MOVE);
+                    if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, newRow, newColumn, IntMove.NONE)){
+                        ATTACKING_MOVES.add(new AttackingMove(a_piece, newRow, newColumn, a_board));
                     }
                 }
             }else{
@@ -656,9 +789,9 @@ public interface MoveEvaluation{
         This method populates the current en passant move array. This will only get
         executed if the pawn is on the enemy pawn's rank where it would move out two
         squares on its initial move. It checks (up to) two spots to its side and determines
-        if a freshly-moved enemy pawn has moved two spaces there. If so, this move is added
-        for the current turn only. It will expire if the player does not use it on his/her
-        next turn.
+        if a freshly-moved enemy pawn has moved two spaces there, which the board knows
+        from its en passant tile. If so, this move is added for the current turn only.
+        It will expire if the player does not use it on his/her next turn.
     
     RETURNS
         ArrayList<Move> EN_PASSANT_MOVES: The ArrayList of this pawn's current en passant moves.
@@ -675,31 +808,20 @@ public interface MoveEvaluation{
         // This will hold the pawn's en passant moves
         final ArrayList<Move> EN_PASSANT_MOVES = new ArrayList<>();
         
+        // Only a pawn right beside the pawn that just moved two tiles can capture it
+        final Tile EN_PASSANT = a_board.GetEnPassantTile();
+        if(EN_PASSANT == null || Math.abs(EN_PASSANT.GetColumn() - a_piece.GetCurrentColumn()) != Utilities.ONE){
+            return EN_PASSANT_MOVES;
+        }
+        
         // Eligibility criteria vary between colors
         if((a_piece.IsWhite() && a_piece.GetCurrentRow() == Utilities.THREE) || (a_piece.IsBlack() && a_piece.GetCurrentRow() == Utilities.FOUR)){        
 
-            for(int index = Utilities.ZERO; index < MoveEvaluation.EN_PASSANT_MOVES.length; index++){
             
-                // Copy the board and players
-                Board clone = null;
-                final Human WHITE = new Human(ChessColor.WHITE, a_board);
-                final Human BLACK = new Human(ChessColor.BLACK, a_board);
-                
-                try{
-                	WHITE.InitializePieces(a_board);
-                	BLACK.InitializePieces(a_board);
-                }catch(Exception e){
-                	e.printStackTrace();
-                }
-                
-                // Make an alias for the moving player
-                final Player MOVER;
-                
-                if(a_piece.IsWhite()){
-                    MOVER = WHITE;
-                }else{
-                    MOVER = BLACK;
-                }
+            // Find the king this side must keep safe
+            final King KING = a_board.GetKing(a_piece.GetColor());
+            
+            for(int index = Utilities.ZERO; index < MoveEvaluation.EN_PASSANT_MOVES.length; index++){
                 
                 // Declare variables to hold both victim and destination coordinates
                 final int VICTIM_ROW = a_piece.GetCurrentRow() + MoveEvaluation.EN_PASSANT_MOVES[index].GetRowDelta();
@@ -722,20 +844,13 @@ public interface MoveEvaluation{
                     
                     try{
                         // Do not add the move unless the victim is an opposing pawn next to this one that moved 2 spaces on the previous move
-                        if(VICTIM.Equals(DarkBlue.GetPreviouslyMoved())
-                                && ((VICTIM.IsBlack() && VICTIM_ROW == DarkBlue.GetOriginalRow() + Utilities.TWO && DarkBlue.GetOriginalColumn() == VICTIM_COLUMN)
-                                        || (VICTIM.IsWhite() && VICTIM_ROW == DarkBlue.GetOriginalRow() - Utilities.TWO && DarkBlue.GetOriginalColumn() == VICTIM_COLUMN))){
+                        if(VICTIM != null && VICTIM.IsPawn() && VICTIM.IsEnemy(a_piece)
+                                && EN_PASSANT.GetRow() == DESTINATION_ROW && EN_PASSANT.GetColumn() == DESTINATION_COLUMN){
                         
-                            final EnPassantMove MOVE = new EnPassantMove((Pawn)a_piece, DESTINATION_ROW, DESTINATION_COLUMN, (Pawn)VICTIM, a_board);
-                            
-                            // Make the move and reinitialize the pieces
-                            clone = MOVE.GetTransitionalBoard();
-                            WHITE.InitializePieces(clone);
-                            WHITE.InitializePieces(clone);
                             
                             // Do not allow this move unless the player's king is safe after executing it
-                            if(MoveEvaluation.IsKingSafe(clone, MOVER.GetKing().GetCurrentRow(), MOVER.GetKing().GetCurrentColumn(), MOVER.GetColor())){
-                                EN_PASSANT_MOVES.add(MOVE);
+                            if(MoveEvaluation.IsSafeAfter(a_piece, a_board, KING, DESTINATION_ROW, DESTINATION_COLUMN, IntMove.EN_PASSANT)){
+                                EN_PASSANT_MOVES.add(new EnPassantMove((Pawn)a_piece, DESTINATION_ROW, DESTINATION_COLUMN, (Pawn)VICTIM, a_board));
                             }
                         }
                     }catch(Exception e){
@@ -883,31 +998,15 @@ public interface MoveEvaluation{
             return false;
         }
         
-        int candidateRow, candidateColumn;
-        
-        // Knight's moves
-        candidateRow = a_row;
-        candidateColumn = a_column;
-
-        // Check all knight's moves
-        try{
-            for(int index = Utilities.ZERO; index < MoveEvaluation.KNIGHT_MOVES.length; index++){        
-                
-                candidateRow = a_row + MoveEvaluation.KNIGHT_MOVES[index].GetRowDelta();
-                candidateColumn = a_column + MoveEvaluation.KNIGHT_MOVES[index].GetColumnDelta();    
-                
-                // This king is not safe if an enemy knight is threatening him from an L-shape away
-                if(BoardUtilities.HasValidCoordinates(candidateRow, candidateColumn)){
-                        if(a_board.GetTile(candidateRow, candidateColumn).IsOccupied()
-                                && a_board.GetTile(candidateRow, candidateColumn).GetPiece().IsKnight() 
-                                && a_board.GetTile(candidateRow, candidateColumn).GetPiece().GetColor().IsEnemy(a_color)){
-                        return false;
-                    }
-                }else{
-                    continue;
+        // This king is not safe if an enemy knight is threatening him from an L-shape away
+        for(final int[] DIRECTION : MoveEvaluation.KNIGHT_ATTACKS[a_row * Utilities.EIGHT + a_column]){
+            for(final int TILE : DIRECTION){
+                final Piece CANDIDATE = a_board.GetTile(TILE / Utilities.EIGHT, TILE % Utilities.EIGHT).GetPiece();
+                if(CANDIDATE != null && CANDIDATE.IsKnight() && CANDIDATE.GetColor().IsEnemy(a_color)){
+                    return false;
                 }
-            }        
-        }catch(Exception e){}
+            }
+        }
         
         return true;
     }
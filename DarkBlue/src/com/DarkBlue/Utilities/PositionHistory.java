@@ -0,0 +1,339 @@
+package com.DarkBlue.Utilities;
+
+import java.util.Arrays;
+
+/**
+ * This class records the Zobrist key of every position of a game
+ * in the order they occurred, along with the halfmove clock of each one.
+ *
+ * It is used to detect threefold repetition both in the GUI and in the search.
+ * Since a position can never repeat one from before a capture or a pawn move,
+ * a repetition check only looks back as many entries as the halfmove clock of
+ * the newest position allows, and only at every other entry, since a position
+ * can only repeat when the same side is to move.
+ */
+public final class PositionHistory{
+
+    private static final int INITIAL_CAPACITY = Utilities.SIXTY_FOUR;
+
+    // The key of every recorded position, oldest first
+    private long[] m_keys;
+
+    // The halfmove clock of every recorded position
+    private int[] m_halfmoves;
+
+    // The number of recorded positions
+    private int m_size;
+
+    /**/
+    /*
+    NAME
+        public PositionHistory();
+
+    SYNOPSIS
+        public PositionHistory();
+
+        No parameters.
+
+    DESCRIPTION
+        This constructor creates an empty history.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PositionHistory(){
+        this.m_keys = new long[INITIAL_CAPACITY];
+        this.m_halfmoves = new int[INITIAL_CAPACITY];
+        this.m_size = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public PositionHistory(final PositionHistory a_history);
+
+    SYNOPSIS
+        public PositionHistory(final PositionHistory a_history);
+
+        PositionHistory a_history --> The history to copy.
+
+    DESCRIPTION
+        This copy constructor creates a deep copy of a_history.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public PositionHistory(final PositionHistory a_history){
+        this.m_keys = Arrays.copyOf(a_history.m_keys, Math.max(INITIAL_CAPACITY, a_history.m_keys.length));
+        this.m_halfmoves = Arrays.copyOf(a_history.m_halfmoves, this.m_keys.length);
+        this.m_size = a_history.m_size;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Push(final long a_key, final int a_halfmoves);
+
+    SYNOPSIS
+        public final void Push(final long a_key, final int a_halfmoves);
+
+        long a_key ---------------> The Zobrist key of the new position.
+
+        int a_halfmoves ----------> The halfmove clock of the new position.
+
+    DESCRIPTION
+        This method records a new position, growing the history if needed.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Push(final long a_key, final int a_halfmoves){
+        if(this.m_size == this.m_keys.length){
+            this.m_keys = Arrays.copyOf(this.m_keys, this.m_size * Utilities.TWO);
+            this.m_halfmoves = Arrays.copyOf(this.m_halfmoves, this.m_size * Utilities.TWO);
+        }
+        this.m_keys[this.m_size] = a_key;
+        this.m_halfmoves[this.m_size] = a_halfmoves;
+        this.m_size++;
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Pop();
+
+    SYNOPSIS
+        public final void Pop();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets the newest position. Nothing happens if the history is empty.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Pop(){
+        if(this.m_size > Utilities.ZERO){
+            this.m_size--;
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Truncate(final int a_size);
+
+    SYNOPSIS
+        public final void Truncate(final int a_size);
+
+        int a_size ---------------> The number of positions to keep.
+
+    DESCRIPTION
+        This method forgets every position after the first a_size.
+        The search uses this to go back to a parent position without
+        having to pop once for every way a child search can return.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Truncate(final int a_size){
+        this.m_size = Math.max(Utilities.ZERO, Math.min(this.m_size, a_size));
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Clear();
+
+    SYNOPSIS
+        public final void Clear();
+
+        No parameters.
+
+    DESCRIPTION
+        This method forgets every position.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    public final void Clear(){
+        this.m_size = Utilities.ZERO;
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Size();
+
+    SYNOPSIS
+        public final int Size();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns how many positions have been recorded.
+
+    RETURNS
+        int m_size: The number of recorded positions.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int Size(){
+        return this.m_size;
+    }
+
+    /**/
+    /*
+    NAME
+        public final long Peek();
+
+    SYNOPSIS
+        public final long Peek();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the key of the newest position.
+
+    RETURNS
+        long: The key of the newest position, or 0 if the history is empty.
+
+    AUTHOR
+        Ryan King
+    */
+    public final long Peek(){
+        return (this.m_size == Utilities.ZERO ? Utilities.ZERO : this.m_keys[this.m_size - Utilities.ONE]);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int GetHalfmoves();
+
+    SYNOPSIS
+        public final int GetHalfmoves();
+
+        No parameters.
+
+    DESCRIPTION
+        This method returns the halfmove clock of the newest position.
+
+    RETURNS
+        int: The halfmove clock of the newest position, or 0 if the history is empty.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int GetHalfmoves(){
+        return (this.m_size == Utilities.ZERO ? Utilities.ZERO : this.m_halfmoves[this.m_size - Utilities.ONE]);
+    }
+
+    /**/
+    /*
+    NAME
+        public final int CountRepetitions();
+
+    SYNOPSIS
+        public final int CountRepetitions();
+
+        No parameters.
+
+    DESCRIPTION
+        This method counts how many earlier positions are the same as the newest one.
+        Only positions since the last capture or pawn move are looked at,
+        and only those with the same side to move.
+
+    RETURNS
+        int count: The number of earlier occurrences of the newest position.
+
+    AUTHOR
+        Ryan King
+    */
+    public final int CountRepetitions(){
+        int count = Utilities.ZERO;
+
+        if(this.m_size == Utilities.ZERO){
+            return count;
+        }
+
+        final int NEWEST = this.m_size - Utilities.ONE;
+        final long KEY = this.m_keys[NEWEST];
+        final int OLDEST = NEWEST - Math.min(this.m_halfmoves[NEWEST], NEWEST);
+
+        for(int i = NEWEST - Utilities.TWO; i >= OLDEST; i -= Utilities.TWO){
+            if(this.m_keys[i] == KEY){
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsRepetition();
+
+    SYNOPSIS
+        public final boolean IsRepetition();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the newest position has occurred at least once before.
+        The search scores such positions as draws, since a side that could
+        avoid the repetition would have done so the first time.
+
+    RETURNS
+        boolean: True if the newest position is a repetition, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsRepetition(){
+        return this.CountRepetitions() >= Utilities.ONE;
+    }
+
+    /**/
+    /*
+    NAME
+        public final boolean IsThreefoldRepetition();
+
+    SYNOPSIS
+        public final boolean IsThreefoldRepetition();
+
+        No parameters.
+
+    DESCRIPTION
+        This method determines if the newest position has occurred three times in total.
+
+    RETURNS
+        boolean: True if the game is drawn by threefold repetition, and false otherwise.
+
+    AUTHOR
+        Ryan King
+    */
+    public final boolean IsThreefoldRepetition(){
+        return this.CountRepetitions() >= Utilities.TWO;
+    }
+}
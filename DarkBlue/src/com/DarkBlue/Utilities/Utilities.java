@@ -6,6 +6,7 @@ import javax.swing.JComponent;
 
 import com.DarkBlue.Move.Move;
 import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Board.Board;
 
 /**
  * This interface contains symbolic constants for
@@ -51,6 +52,9 @@ public interface Utilities{
     public static final char BLACK_QUEEN_BOARD_ICON = '♛';
     public static final char BLACK_KING_BOARD_ICON = '♚';
     
+    // The name shown on every window and dialog
+    public static final String TITLE = "Dark Blue";
+    
     public static final String EMPTY_STRING = "";
     public static final String CAPTURE = "x";
     public static final String ELLIPSIS = "...\n";
@@ -127,16 +131,18 @@ public interface Utilities{
     /**/
     /*
     NAME
-        public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn);
+        public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn, final Board a_board);
     
     SYNOPSIS
-        public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn);
+        public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn, final Board a_board);
     
         Piece a_piece ---------> The candidate piece to move.
         
         int a_destRow ---------> The row where the piece wishes to move.
         
         int a_destCol ---------> The column where the piece wishes to move.
+        
+        Board a_board ---------> The board the piece is on.
     
     DESCRIPTION
         This method determines if a given move is legal by iterating through
@@ -151,14 +157,14 @@ public interface Utilities{
     AUTHOR
         Ryan King
     */
-    public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn){   
+    public static boolean IsLegal(final Piece a_piece, final int a_destinationRow, final int a_destinationColumn, final Board a_board){   
         // Idiot proofing
         if(a_piece == null || !BoardUtilities.HasValidCoordinates(a_piece.GetCurrentRow(), a_piece.GetCurrentColumn()) || !BoardUtilities.HasValidCoordinates(a_destinationRow, a_destinationColumn)){
             return false;
         }
         
         // Check for move legality by examining destination coordinates
-        for(final Move MOVE : a_piece.GetCurrentLegalMoves()){
+        for(final Move MOVE : a_piece.GetCurrentLegalMoves(a_board)){
             if(MOVE.GetNewRow() == a_destinationRow && MOVE.GetNewColumn() == a_destinationColumn){
                 return true;
             }
@@ -0,0 +1,215 @@
+package com.DarkBlue.Utilities;
+
+import com.DarkBlue.Board.Board;
+import com.DarkBlue.Board.Tile;
+import com.DarkBlue.Piece.King;
+import com.DarkBlue.Piece.Piece;
+import com.DarkBlue.Piece.PieceType;
+
+/**
+ * This interface contains the random keys used to hash a board into
+ * a single 64-bit number and the method that does the hashing.
+ *
+ * A board's key is the exclusive or of one key for every piece on its tile,
+ * one key if black is to move, one key for each castling right, and one key
+ * for the file of the en passant tile, if any. Two boards with the same key are
+ * assumed to be the same position, which is what repetition detection needs.
+ *
+ * The keys come from a fixed seed so every run of the engine
+ * hashes the same position to the same number.
+ */
+public interface Zobrist{
+
+    // Offsets of each group of keys in the KEYS array
+    public static final int PIECE_KEYS = Utilities.ZERO;
+    public static final int TURN_KEY = ChessColor.values().length * PieceType.values().length * Utilities.SIXTY_FOUR;
+    public static final int CASTLING_KEYS = TURN_KEY + Utilities.ONE;
+    public static final int EN_PASSANT_KEYS = CASTLING_KEYS + Utilities.FOUR;
+    public static final int KEY_COUNT = EN_PASSANT_KEYS + Utilities.EIGHT;
+
+    // Every key, generated once from a fixed seed
+    public static final long[] KEYS = Generate(KEY_COUNT, 0x9E3779B97F4A7C15L);
+
+    /**/
+    /*
+    NAME
+        private static long[] Generate(final int a_count, final long a_seed);
+
+    SYNOPSIS
+        private static long[] Generate(final int a_count, final long a_seed);
+
+        int a_count --------------> The number of keys to generate.
+
+        long a_seed --------------> The seed of the generator.
+
+    DESCRIPTION
+        This method generates pseudorandom keys with the SplitMix64 generator,
+        which is small, fast, and gives the same numbers on every Java platform.
+
+    RETURNS
+        long[] KEYS: The generated keys.
+
+    AUTHOR
+        Ryan King
+    */
+    private static long[] Generate(final int a_count, final long a_seed){
+        final long[] KEYS = new long[a_count];
+        long state = a_seed;
+        for(int i = Utilities.ZERO; i < a_count; i++){
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            KEYS[i] = z ^ (z >>> 31);
+        }
+        return KEYS;
+    }
+
+    /**/
+    /*
+    NAME
+        public static long PieceKey(final Piece a_piece, final int a_row, final int a_column);
+
+    SYNOPSIS
+        public static long PieceKey(final Piece a_piece, final int a_row, final int a_column);
+
+        Piece a_piece ------------> The piece.
+
+        int a_row ----------------> The row of the tile it is on.
+
+        int a_column -------------> The column of the tile it is on.
+
+    DESCRIPTION
+        This method returns the key of a piece standing on a tile.
+
+    RETURNS
+        long: The key of the piece on that tile.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long PieceKey(final Piece a_piece, final int a_row, final int a_column){
+        final int INDEX = (a_piece.GetColor().ordinal() * PieceType.values().length + a_piece.GetPieceType().ordinal()) * Utilities.SIXTY_FOUR;
+        return KEYS[PIECE_KEYS + INDEX + a_row * Utilities.EIGHT + a_column];
+    }
+
+    /**/
+    /*
+    NAME
+        public static long Hash(final Board a_board);
+
+    SYNOPSIS
+        public static long Hash(final Board a_board);
+
+        Board a_board ------------> The board to hash.
+
+    DESCRIPTION
+        This method computes the key of a board from scratch.
+        Castling rights are read the same way Board.toString() reads them,
+        so two boards with the same key also have the same FEN string
+        apart from the move clocks.
+
+    RETURNS
+        long key: The Zobrist key of the board, or 0 if the board is null.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long Hash(final Board a_board){
+        long key = Utilities.ZERO;
+
+        if(a_board == null){
+            return key;
+        }
+
+        for(int row = Utilities.ZERO; row < Utilities.EIGHT; row++){
+            for(int column = Utilities.ZERO; column < Utilities.EIGHT; column++){
+                final Piece PIECE = a_board.GetTile(row, column).GetPiece();
+                if(PIECE != null){
+                    key ^= PieceKey(PIECE, row, column);
+                }
+            }
+        }
+
+        if(a_board.WhoseTurnIsIt().IsBlack()){
+            key ^= KEYS[TURN_KEY];
+        }
+
+        // White's rights come first, then black's; kingside before queenside
+        for(final ChessColor COLOR : ChessColor.values()){
+            final King KING = a_board.GetKing(COLOR);
+            if(KING == null || KING.HasMoved()){
+                continue;
+            }
+            final int OFFSET = CASTLING_KEYS + COLOR.ordinal() * Utilities.TWO;
+            if(KING.HasKingsideCastlingRook(a_board)){
+                key ^= KEYS[OFFSET];
+            }
+            if(KING.HasQueensideCastlingRook(a_board)){
+                key ^= KEYS[OFFSET + Utilities.ONE];
+            }
+        }
+
+        final Tile EN_PASSANT = a_board.GetEnPassantTile();
+        if(EN_PASSANT != null){
+            key ^= KEYS[EN_PASSANT_KEYS + EN_PASSANT.GetColumn()];
+        }
+
+        return key;
+    }
+
+    /**/
+    /*
+    NAME
+        public static long Hash(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant);
+
+    SYNOPSIS
+        public static long Hash(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant);
+
+        byte[] a_tiles -----------> The 64 tiles as FenParser piece codes, starting from a8.
+
+        ChessColor a_turn --------> The side to move.
+
+        int a_castling -----------> The castling rights as FenParser castling bits.
+
+        int a_enPassant ----------> The index of the en passant tile, or -1 if there is none.
+
+    DESCRIPTION
+        This method computes the key of a position held in the primitive form
+        FenParser produces. It uses the same keys as Hash(Board), so a position
+        gets the same key either way as long as both agree on the en passant tile.
+
+    RETURNS
+        long key: The Zobrist key of the position.
+
+    AUTHOR
+        Ryan King
+    */
+    public static long Hash(final byte[] a_tiles, final ChessColor a_turn, final int a_castling, final int a_enPassant){
+        long key = Utilities.ZERO;
+
+        for(int tile = Utilities.ZERO; tile < Utilities.SIXTY_FOUR; tile++){
+            final byte CODE = a_tiles[tile];
+            if(CODE != FenParser.EMPTY){
+                key ^= KEYS[PIECE_KEYS + (CODE - Utilities.ONE) * Utilities.SIXTY_FOUR + tile];
+            }
+        }
+
+        if(a_turn.IsBlack()){
+            key ^= KEYS[TURN_KEY];
+        }
+
+        // The castling bits are in the same order as the castling keys
+        for(int right = Utilities.ZERO; right < Utilities.FOUR; right++){
+            if((a_castling & (Utilities.ONE << right)) != Utilities.ZERO){
+                key ^= KEYS[CASTLING_KEYS + right];
+            }
+        }
+
+        if(a_enPassant >= Utilities.ZERO){
+            key ^= KEYS[EN_PASSANT_KEYS + a_enPassant % Utilities.EIGHT];
+        }
+
+        return key;
+    }
+}
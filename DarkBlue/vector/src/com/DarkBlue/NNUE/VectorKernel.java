@@ -0,0 +1,181 @@
+package com.DarkBlue.NNUE;
+
+import com.DarkBlue.Utilities.Utilities;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class implements the network's arithmetic with the incubating
+ * Java Vector API, using the widest vectors the processor supports.
+ *
+ * It must be compiled and run with "--add-modules jdk.incubator.vector",
+ * so it is kept apart from the engine's sources and built by the vector module.
+ * The network only ever loads this class reflectively, so if this class or the
+ * module is missing at run time the engine quietly uses ScalarKernel instead.
+ */
+public final class VectorKernel implements Kernel{
+
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    /**/
+    /*
+    NAME
+        public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being added starts.
+
+    DESCRIPTION
+        This method adds one feature's column of weights to the accumulator,
+        one full vector at a time, finishing any remainder with scalar code.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void Add(final short[] a_accumulator, final short[] a_weights, final int a_offset){
+        final int BOUND = SHORTS.loopBound(a_accumulator.length);
+        int i = Utilities.ZERO;
+        for(; i < BOUND; i += SHORTS.length()){
+            ShortVector.fromArray(SHORTS, a_accumulator, i).add(ShortVector.fromArray(SHORTS, a_weights, a_offset + i)).intoArray(a_accumulator, i);
+        }
+        for(; i < a_accumulator.length; i++){
+            a_accumulator[i] += a_weights[a_offset + i];
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+    SYNOPSIS
+        public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset);
+
+        short[] a_accumulator ------> One perspective of an accumulator.
+
+        short[] a_weights ----------> The feature weights of the network.
+
+        int a_offset ---------------> Where the column of the feature being removed starts.
+
+    DESCRIPTION
+        This method subtracts one feature's column of weights from the accumulator,
+        one full vector at a time, finishing any remainder with scalar code.
+
+    RETURNS
+        Nothing
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final void Subtract(final short[] a_accumulator, final short[] a_weights, final int a_offset){
+        final int BOUND = SHORTS.loopBound(a_accumulator.length);
+        int i = Utilities.ZERO;
+        for(; i < BOUND; i += SHORTS.length()){
+            ShortVector.fromArray(SHORTS, a_accumulator, i).sub(ShortVector.fromArray(SHORTS, a_weights, a_offset + i)).intoArray(a_accumulator, i);
+        }
+        for(; i < a_accumulator.length; i++){
+            a_accumulator[i] -= a_weights[a_offset + i];
+        }
+    }
+
+    /**/
+    /*
+    NAME
+        public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+    SYNOPSIS
+        public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip);
+
+        short[] a_us ---------------> The accumulator from the point of view of the side to move.
+
+        short[] a_them -------------> The accumulator from the point of view of the other side.
+
+        short[] a_output -----------> The output weights; the first half belong to a_us and the second to a_them.
+
+        int a_clip -----------------> The ceiling of the clipped ReLU activation.
+
+    DESCRIPTION
+        This method clamps both accumulators between 0 and a_clip and
+        returns their dot product with the output weights.
+        The products do not fit into 16 bits, so each half of a vector
+        of shorts is widened into a vector of ints before multiplying.
+
+    RETURNS
+        int: The raw output of the network before its bias and scaling.
+
+    AUTHOR
+        Ryan King
+    */
+    @Override
+    public final int Forward(final short[] a_us, final short[] a_them, final short[] a_output, final int a_clip){
+        final int HIDDEN = a_us.length;
+        return Half(a_us, a_output, Utilities.ZERO, HIDDEN, a_clip) + Half(a_them, a_output, HIDDEN, HIDDEN, a_clip);
+    }
+
+    /**/
+    /*
+    NAME
+        private static int Half(final short[] a_values, final short[] a_output, final int a_offset, final int a_length, final int a_clip);
+
+    SYNOPSIS
+        private static int Half(final short[] a_values, final short[] a_output, final int a_offset, final int a_length, final int a_clip);
+
+        short[] a_values -----------> One perspective of the accumulator.
+
+        short[] a_output -----------> The output weights.
+
+        int a_offset ---------------> Where this perspective's output weights start.
+
+        int a_length ---------------> The number of hidden neurons.
+
+        int a_clip -----------------> The ceiling of the clipped ReLU activation.
+
+    DESCRIPTION
+        This method computes the contribution of one perspective to the output.
+
+    RETURNS
+        int: The dot product of the clamped perspective and its output weights.
+
+    AUTHOR
+        Ryan King
+    */
+    private static int Half(final short[] a_values, final short[] a_output, final int a_offset, final int a_length, final int a_clip){
+        final ShortVector ZERO = ShortVector.zero(SHORTS);
+        final ShortVector CLIP = ShortVector.broadcast(SHORTS, (short)a_clip);
+        final int PARTS = SHORTS.length() / INTS.length();
+        final int BOUND = (PARTS == Utilities.ZERO ? Utilities.ZERO : SHORTS.loopBound(a_length));
+
+        IntVector sum = IntVector.zero(INTS);
+        int i = Utilities.ZERO;
+        for(; i < BOUND; i += SHORTS.length()){
+            final ShortVector ACTIVATION = ShortVector.fromArray(SHORTS, a_values, i).max(ZERO).min(CLIP);
+            final ShortVector WEIGHTS = ShortVector.fromArray(SHORTS, a_output, a_offset + i);
+            for(int part = Utilities.ZERO; part < PARTS; part++){
+                final IntVector A = (IntVector)ACTIVATION.convertShape(VectorOperators.S2I, INTS, part);
+                final IntVector W = (IntVector)WEIGHTS.convertShape(VectorOperators.S2I, INTS, part);
+                sum = sum.add(A.mul(W));
+            }
+        }
+
+        int total = sum.reduceLanes(VectorOperators.ADD);
+        for(; i < a_length; i++){
+            total += Math.min(a_clip, Math.max(Utilities.ZERO, a_values[i])) * a_output[a_offset + i];
+        }
+        return total;
+    }
+}